@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.beta.paths.astar.config.ShortestPathAStarBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.BidirectionalDijkstra;
 import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
 import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -37,9 +38,9 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public final class AStar extends Algorithm<AStar, DijkstraResult> {
 
-    private final Dijkstra dijkstra;
+    private final Algorithm<?, DijkstraResult> dijkstra;
 
-    private AStar(Dijkstra dijkstra) {
+    private AStar(Algorithm<?, DijkstraResult> dijkstra) {
         this.dijkstra = dijkstra;
     }
 
@@ -49,6 +50,56 @@ public final class AStar extends Algorithm<AStar, DijkstraResult> {
         ProgressLogger progressLogger,
         AllocationTracker tracker
     ) {
+        validateProperties(graph, config);
+
+        var latitudeProperties = graph.nodeProperties(config.latitudeProperty());
+        var longitudeProperties = graph.nodeProperties(config.longitudeProperty());
+        var targetNode = graph.toMappedNodeId(config.targetNode());
+
+        var heuristic = new HaversineHeuristic(latitudeProperties, longitudeProperties, targetNode, tracker);
+
+        // Init dijkstra algorithm for computing shortest paths
+        var dijkstra = Dijkstra.sourceTarget(graph, config, Optional.of(heuristic), progressLogger, tracker);
+        return new AStar(dijkstra);
+    }
+
+    /**
+     * Computes the shortest path with a bidirectional search, where the backward search
+     * runs from the target over {@code backwardGraph}, which contains the relationships of
+     * {@code forwardGraph} in reverse direction. The backward search is guided by the
+     * distance to the source node.
+     */
+    public static AStar bidirectional(
+        Graph forwardGraph,
+        Graph backwardGraph,
+        ShortestPathAStarBaseConfig config,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        validateProperties(forwardGraph, config);
+
+        var latitudeProperties = forwardGraph.nodeProperties(config.latitudeProperty());
+        var longitudeProperties = forwardGraph.nodeProperties(config.longitudeProperty());
+        var sourceNode = forwardGraph.toMappedNodeId(config.sourceNode());
+        var targetNode = forwardGraph.toMappedNodeId(config.targetNode());
+
+        var heuristics = new BidirectionalDijkstra.HeuristicFunctions(
+            new HaversineHeuristic(latitudeProperties, longitudeProperties, targetNode, tracker),
+            new HaversineHeuristic(latitudeProperties, longitudeProperties, sourceNode, tracker)
+        );
+
+        var dijkstra = BidirectionalDijkstra.sourceTarget(
+            forwardGraph,
+            backwardGraph,
+            config,
+            Optional.of(heuristics),
+            progressLogger,
+            tracker
+        );
+        return new AStar(dijkstra);
+    }
+
+    private static void validateProperties(Graph graph, ShortestPathAStarBaseConfig config) {
         var latitudeProperty = config.latitudeProperty();
         var longitudeProperty = config.longitudeProperty();
 
@@ -64,16 +115,6 @@ public final class AStar extends Algorithm<AStar, DijkstraResult> {
                 longitudeProperty
             ));
         }
-
-        var latitudeProperties = graph.nodeProperties(latitudeProperty);
-        var longitudeProperties = graph.nodeProperties(longitudeProperty);
-        var targetNode = graph.toMappedNodeId(config.targetNode());
-
-        var heuristic = new HaversineHeuristic(latitudeProperties, longitudeProperties, targetNode, tracker);
-
-        // Init dijkstra algorithm for computing shortest paths
-        var dijkstra = Dijkstra.sourceTarget(graph, config, Optional.of(heuristic), progressLogger, tracker);
-        return new AStar(dijkstra);
     }
 
     public static MemoryEstimation memoryEstimation() {
@@ -83,6 +124,14 @@ public final class AStar extends Algorithm<AStar, DijkstraResult> {
             .build();
     }
 
+    public static MemoryEstimation bidirectionalMemoryEstimation() {
+        return MemoryEstimations.builder(AStar.class)
+            .add("BidirectionalDijkstra", BidirectionalDijkstra.memoryEstimation())
+            .add("distanceCache to target", HugeLongDoubleMap.memoryEstimation())
+            .add("distanceCache to source", HugeLongDoubleMap.memoryEstimation())
+            .build();
+    }
+
     @Override
     public DijkstraResult compute() {
         return dijkstra.compute();
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * The graph of the nodes that have not been contracted yet, including the shortcuts between them.
+ * <p>
+ * Relationships are kept in growing arrays per node, so that shortcuts can be added and relationships
+ * to contracted nodes can be removed. Parallel relationships are merged into the one with the smallest
+ * weight and self loops are dropped. For undirected graphs, the incoming relationships are the outgoing ones.
+ * <p>
+ * Nodes can be read concurrently, but every node must only be modified by a single thread at a time.
+ */
+final class ContractionGraph {
+
+    private final Adjacency outgoing;
+    private final Adjacency incoming;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ContractionGraph.class)
+            .add("outgoing", Adjacency.memoryEstimation())
+            .add("incoming", Adjacency.memoryEstimation())
+            .build();
+    }
+
+    static ContractionGraph of(
+        Graph graph,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        var nodeCount = graph.nodeCount();
+        var outgoing = new Adjacency(nodeCount, tracker);
+
+        var tasks = PartitionUtils
+            .rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var localGraph = graph.concurrentCopy();
+                var end = partition.startNode() + partition.nodeCount();
+                for (long node = partition.startNode(); node < end; node++) {
+                    outgoing.allocate(node, localGraph.degree(node));
+                    localGraph.forEachRelationship(node, 1.0D, (source, target, weight) -> {
+                        if (source != target) {
+                            outgoing.add(source, target, weight);
+                        }
+                        return true;
+                    });
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        var incoming = graph.isUndirected() ? outgoing : outgoing.reverse(tracker);
+        return new ContractionGraph(outgoing, incoming);
+    }
+
+    private ContractionGraph(Adjacency outgoing, Adjacency incoming) {
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+    }
+
+    boolean isUndirected() {
+        return outgoing == incoming;
+    }
+
+    int outDegree(long node) {
+        return outgoing.degree(node);
+    }
+
+    long[] outTargets(long node) {
+        return outgoing.targets(node);
+    }
+
+    double[] outWeights(long node) {
+        return outgoing.weights(node);
+    }
+
+    int inDegree(long node) {
+        return incoming.degree(node);
+    }
+
+    long[] inTargets(long node) {
+        return incoming.targets(node);
+    }
+
+    double[] inWeights(long node) {
+        return incoming.weights(node);
+    }
+
+    /**
+     * Adds the relationship, or decreases the weight of an existing relationship
+     * between the two nodes. Undirected graphs also get the reverse relationship.
+     */
+    void addRelationship(long source, long target, double weight) {
+        outgoing.add(source, target, weight);
+        incoming.add(target, source, weight);
+    }
+
+    /**
+     * Drops the relationships of the node to the given nodes.
+     */
+    void removeRelationships(long node, BitSet nodes) {
+        outgoing.removeAll(node, nodes);
+        if (incoming != outgoing) {
+            incoming.removeAll(node, nodes);
+        }
+    }
+
+    /**
+     * Drops all relationships of the node, without updating its neighbours.
+     */
+    void clear(long node) {
+        outgoing.clear(node);
+        if (incoming != outgoing) {
+            incoming.clear(node);
+        }
+    }
+
+    void release() {
+        outgoing.release();
+        if (incoming != outgoing) {
+            incoming.release();
+        }
+    }
+
+    private static final class Adjacency {
+        private static final long[] NO_TARGETS = new long[0];
+        private static final double[] NO_WEIGHTS = new double[0];
+
+        private final long nodeCount;
+        private final HugeObjectArray<long[]> targets;
+        private final HugeObjectArray<double[]> weights;
+        private final HugeIntArray degrees;
+
+        static MemoryEstimation memoryEstimation() {
+            return MemoryEstimations.builder(Adjacency.class)
+                .add("targets", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfLongArray(0)))
+                .add("weights", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfDoubleArray(0)))
+                .perNode("degrees", HugeIntArray::memoryEstimation)
+                .rangePerGraphDimension("relationships", (dimensions, concurrency) -> {
+                    // shortcuts add about as many relationships as the graph has
+                    var relationships = dimensions.maxRelCount() * (Long.BYTES + Double.BYTES);
+                    return MemoryRange.of(relationships, 2 * relationships);
+                })
+                .build();
+        }
+
+        Adjacency(long nodeCount, AllocationTracker tracker) {
+            this.nodeCount = nodeCount;
+            this.targets = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+            this.weights = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+            this.degrees = HugeIntArray.newArray(nodeCount, tracker);
+        }
+
+        int degree(long node) {
+            return degrees.get(node);
+        }
+
+        long[] targets(long node) {
+            return targets.get(node);
+        }
+
+        double[] weights(long node) {
+            return weights.get(node);
+        }
+
+        void allocate(long node, int capacity) {
+            targets.set(node, capacity == 0 ? NO_TARGETS : new long[capacity]);
+            weights.set(node, capacity == 0 ? NO_WEIGHTS : new double[capacity]);
+        }
+
+        void add(long node, long target, double weight) {
+            var nodeTargets = targets.get(node);
+            var degree = degrees.get(node);
+            for (int i = 0; i < degree; i++) {
+                if (nodeTargets[i] == target) {
+                    var nodeWeights = weights.get(node);
+                    nodeWeights[i] = Math.min(nodeWeights[i], weight);
+                    return;
+                }
+            }
+            append(node, target, weight);
+        }
+
+        void append(long node, long target, double weight) {
+            var nodeTargets = targets.get(node);
+            var nodeWeights = weights.get(node);
+            var degree = degrees.get(node);
+            if (degree == nodeTargets.length) {
+                var newLength = Math.max(4, degree + (degree >> 1));
+                nodeTargets = Arrays.copyOf(nodeTargets, newLength);
+                nodeWeights = Arrays.copyOf(nodeWeights, newLength);
+                targets.set(node, nodeTargets);
+                weights.set(node, nodeWeights);
+            }
+            nodeTargets[degree] = target;
+            nodeWeights[degree] = weight;
+            degrees.set(node, degree + 1);
+        }
+
+        void removeAll(long node, BitSet nodes) {
+            var nodeTargets = targets.get(node);
+            var nodeWeights = weights.get(node);
+            var degree = degrees.get(node);
+            var newDegree = 0;
+            for (int i = 0; i < degree; i++) {
+                if (!nodes.get(nodeTargets[i])) {
+                    nodeTargets[newDegree] = nodeTargets[i];
+                    nodeWeights[newDegree] = nodeWeights[i];
+                    newDegree++;
+                }
+            }
+            degrees.set(node, newDegree);
+        }
+
+        void clear(long node) {
+            allocate(node, 0);
+            degrees.set(node, 0);
+        }
+
+        Adjacency reverse(AllocationTracker tracker) {
+            var reverse = new Adjacency(nodeCount, tracker);
+            for (long node = 0; node < nodeCount; node++) {
+                var nodeTargets = targets.get(node);
+                for (int i = 0; i < degrees.get(node); i++) {
+                    reverse.degrees.addTo(nodeTargets[i], 1);
+                }
+            }
+            for (long node = 0; node < nodeCount; node++) {
+                reverse.allocate(node, reverse.degrees.get(node));
+                reverse.degrees.set(node, 0);
+            }
+            for (long node = 0; node < nodeCount; node++) {
+                var nodeTargets = targets.get(node);
+                var nodeWeights = weights.get(node);
+                for (int i = 0; i < degrees.get(node); i++) {
+                    reverse.append(nodeTargets[i], node, nodeWeights[i]);
+                }
+            }
+            return reverse;
+        }
+
+        void release() {
+            targets.release();
+            weights.release();
+            degrees.release();
+        }
+    }
+}
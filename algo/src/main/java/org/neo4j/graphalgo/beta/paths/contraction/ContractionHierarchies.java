@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.contraction.config.ContractionHierarchiesBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a contraction hierarchy, an index that answers shortest path queries with two small
+ * searches, see {@link org.neo4j.graphalgo.beta.paths.dijkstra.BidirectionalDijkstra#contractionHierarchy}.
+ * <p>
+ * Nodes are contracted one after another in the order of their importance. Contracting a node
+ * removes it from the graph and adds a shortcut between two of its neighbours, if the path through
+ * the node is the only shortest path between them. The rank of a node is its position in that order.
+ * The importance of a node is the number of shortcuts its contraction adds minus the number of
+ * relationships it removes, plus the number of already contracted neighbours, which spreads the
+ * contraction evenly across the graph.
+ * <p>
+ * The contraction runs in rounds. Every round, all nodes whose importance is smaller than the
+ * importance of their neighbours are contracted in parallel. Those nodes are not adjacent, but
+ * witness searches of one node must not use another node of the same round, as both could
+ * rely on the other one to keep a path. Shortcuts are added after the round, in the order of the
+ * node ids, so the result does not depend on the concurrency.
+ * <p>
+ * Robert Geisberger, Peter Sanders, Dominik Schultes, Daniel Delling:
+ * "Contraction Hierarchies: Faster and Simpler Hierarchical Routing in Road Networks", 2008
+ */
+public final class ContractionHierarchies extends Algorithm<ContractionHierarchies, ContractionHierarchies.ContractionResult> {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final Graph graph;
+    private final int concurrency;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    private final HugeLongArray ranks;
+    private final HugeDoubleArray priorities;
+    private final HugeIntArray contractedNeighbours;
+    // contracted nodes and the nodes that are contracted in the current round
+    private final BitSet contracted;
+    // nodes that lost a neighbour or got a shortcut in the last round
+    private final BitSet dirty;
+
+    private ContractionGraph contractionGraph;
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ContractionHierarchies.class)
+            .perNode("ranks", HugeLongArray::memoryEstimation)
+            .perNode("priorities", HugeDoubleArray::memoryEstimation)
+            .perNode("contracted neighbours", HugeIntArray::memoryEstimation)
+            .perNode("remaining nodes", HugeLongArray::memoryEstimation)
+            .perNode("contracted", MemoryUsage::sizeOfBitset)
+            .perNode("dirty", MemoryUsage::sizeOfBitset)
+            .add("contraction graph", ContractionGraph.memoryEstimation())
+            .rangePerGraphDimension("shortcuts", (dimensions, concurrency) -> {
+                // there are usually fewer shortcuts than relationships
+                var shortcuts = dimensions.maxRelCount();
+                var perShortcut = MemoryUsage.sizeOfLongArray(shortcuts) * 2 + MemoryUsage.sizeOfDoubleArray(shortcuts);
+                return MemoryRange.of(0, perShortcut);
+            })
+            .perThread("witness search", WitnessSearch.memoryEstimation())
+            .build();
+    }
+
+    public ContractionHierarchies(
+        Graph graph,
+        ContractionHierarchiesBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.concurrency = config.concurrency();
+        this.executorService = executorService;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+
+        var nodeCount = graph.nodeCount();
+        this.ranks = HugeLongArray.newArray(nodeCount, tracker);
+        this.priorities = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.contractedNeighbours = HugeIntArray.newArray(nodeCount, tracker);
+        this.contracted = new BitSet(nodeCount);
+        this.dirty = new BitSet(nodeCount);
+    }
+
+    @Override
+    public ContractionResult compute() {
+        progressLogger.logStart();
+
+        var nodeCount = graph.nodeCount();
+        contractionGraph = ContractionGraph.of(graph, concurrency, executorService, tracker);
+
+        var contractors = new ArrayList<Contractor>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            contractors.add(new Contractor());
+        }
+
+        var remaining = HugeLongArray.newArray(nodeCount, tracker);
+        remaining.setAll(node -> node);
+        var remainingCount = nodeCount;
+        dirty.set(0, nodeCount);
+
+        var shortcuts = new Shortcuts();
+        var nextRank = 0L;
+
+        while (remainingCount > 0) {
+            terminationFlag.assertRunning();
+
+            // drop the relationships to the nodes contracted in the last round
+            forEachNode(remaining, remainingCount, contractors, (contractor, node) -> {
+                if (dirty.get(node)) {
+                    contractionGraph.removeRelationships(node, contracted);
+                }
+            });
+            forEachNode(remaining, remainingCount, contractors, (contractor, node) -> {
+                if (dirty.get(node)) {
+                    priorities.set(node, contractor.priority(node));
+                }
+            });
+            dirty.clear();
+
+            var selected = selectIndependentNodes(remaining, remainingCount);
+            for (int i = 0; i < selected.size(); i++) {
+                contracted.set(selected.get(i));
+            }
+
+            var selectedShortcuts = new Shortcuts[selected.size()];
+            forEachIndex(selected.size(), contractors, (contractor, index) -> {
+                var selectedIndex = (int) index;
+                contractor.contract(selected.get(selectedIndex), (source, target, weight) -> {
+                    if (selectedShortcuts[selectedIndex] == null) {
+                        selectedShortcuts[selectedIndex] = new Shortcuts();
+                    }
+                    selectedShortcuts[selectedIndex].add(source, target, weight);
+                });
+            });
+
+            for (int i = 0; i < selected.size(); i++) {
+                var node = selected.get(i);
+                ranks.set(node, nextRank++);
+                markNeighbours(node);
+                contractionGraph.clear(node);
+                if (selectedShortcuts[i] != null) {
+                    selectedShortcuts[i].forEach((source, target, weight) -> {
+                        contractionGraph.addRelationship(source, target, weight);
+                        shortcuts.add(source, target, weight);
+                        dirty.set(source);
+                        dirty.set(target);
+                    });
+                }
+            }
+            progressLogger.logProgress(selected.size());
+
+            var newRemainingCount = 0L;
+            for (long i = 0; i < remainingCount; i++) {
+                var node = remaining.get(i);
+                if (!contracted.get(node)) {
+                    remaining.set(newRemainingCount++, node);
+                }
+            }
+            remainingCount = newRemainingCount;
+        }
+
+        remaining.release();
+        contractors.forEach(Contractor::release);
+        contractionGraph.release();
+
+        progressLogger.logFinish();
+        return new ContractionResult(ranks, shortcuts);
+    }
+
+    /**
+     * Nodes that are more important than all of their neighbours, ties are broken by node id.
+     * The returned nodes are sorted by node id.
+     */
+    private LongArrayList selectIndependentNodes(HugeLongArray remaining, long remainingCount) {
+        var partitions = PartitionUtils.rangePartition(concurrency, remainingCount);
+        var selected = partitions.stream().map(ignore -> new LongArrayList()).collect(Collectors.toList());
+        var tasks = new ArrayList<Runnable>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            var partition = partitions.get(i);
+            var partitionSelected = selected.get(i);
+            tasks.add(() -> {
+                var end = partition.startNode() + partition.nodeCount();
+                for (long index = partition.startNode(); index < end; index++) {
+                    var node = remaining.get(index);
+                    if (isLocalMinimum(node)) {
+                        partitionSelected.add(node);
+                    }
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        var result = new LongArrayList();
+        selected.forEach(result::addAll);
+        return result;
+    }
+
+    private boolean isLocalMinimum(long node) {
+        return isLocalMinimum(node, contractionGraph.outTargets(node), contractionGraph.outDegree(node))
+               && isLocalMinimum(node, contractionGraph.inTargets(node), contractionGraph.inDegree(node));
+    }
+
+    private boolean isLocalMinimum(long node, long[] neighbours, int degree) {
+        var priority = priorities.get(node);
+        for (int i = 0; i < degree; i++) {
+            var neighbour = neighbours[i];
+            var neighbourPriority = priorities.get(neighbour);
+            if (neighbourPriority < priority || (neighbourPriority == priority && neighbour < node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markNeighbours(long node) {
+        markNeighbours(contractionGraph.outTargets(node), contractionGraph.outDegree(node));
+        if (!contractionGraph.isUndirected()) {
+            markNeighbours(contractionGraph.inTargets(node), contractionGraph.inDegree(node));
+        }
+    }
+
+    private void markNeighbours(long[] neighbours, int degree) {
+        for (int i = 0; i < degree; i++) {
+            contractedNeighbours.addTo(neighbours[i], 1);
+            dirty.set(neighbours[i]);
+        }
+    }
+
+    private void forEachNode(HugeLongArray nodes, long nodeCount, List<Contractor> contractors, NodeTask task) {
+        forEachIndex(nodeCount, contractors, (contractor, index) -> task.apply(contractor, nodes.get(index)));
+    }
+
+    /**
+     * Runs the task for all indices, the workload is balanced by handing out small batches.
+     */
+    private void forEachIndex(long count, List<Contractor> contractors, NodeTask task) {
+        var nextBatch = new AtomicLong();
+        var tasks = contractors.stream().map(contractor -> (Runnable) () -> {
+            long start;
+            while ((start = nextBatch.getAndAdd(BATCH_SIZE)) < count) {
+                var end = Math.min(count, start + BATCH_SIZE);
+                for (long index = start; index < end; index++) {
+                    task.apply(contractor, index);
+                }
+            }
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+    }
+
+    @Override
+    public ContractionHierarchies me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        priorities.release();
+        contractedNeighbours.release();
+    }
+
+    @FunctionalInterface
+    private interface NodeTask {
+        void apply(Contractor contractor, long value);
+    }
+
+    @FunctionalInterface
+    public interface ShortcutConsumer {
+        void accept(long source, long target, double weight);
+    }
+
+    /**
+     * Computes the shortcuts of a node, every thread needs its own instance.
+     */
+    private final class Contractor {
+        private final WitnessSearch witnessSearch;
+
+        Contractor() {
+            this.witnessSearch = new WitnessSearch(contractionGraph, contracted);
+        }
+
+        double priority(long node) {
+            var shortcutCount = new MutableInt();
+            contract(node, (source, target, weight) -> shortcutCount.increment());
+            var removedRelationships = contractionGraph.isUndirected()
+                ? contractionGraph.outDegree(node)
+                : contractionGraph.outDegree(node) + contractionGraph.inDegree(node);
+            return shortcutCount.intValue() - removedRelationships + contractedNeighbours.get(node);
+        }
+
+        /**
+         * Passes the shortcuts that replace the paths through the node to the consumer.
+         * For undirected graphs, every shortcut is passed once, from the smaller to the larger node id.
+         */
+        void contract(long node, ShortcutConsumer consumer) {
+            var undirected = contractionGraph.isUndirected();
+            var inTargets = contractionGraph.inTargets(node);
+            var inWeights = contractionGraph.inWeights(node);
+            var inDegree = contractionGraph.inDegree(node);
+            var outTargets = contractionGraph.outTargets(node);
+            var outWeights = contractionGraph.outWeights(node);
+            var outDegree = contractionGraph.outDegree(node);
+
+            for (int i = 0; i < inDegree; i++) {
+                var source = inTargets[i];
+                var sourceWeight = inWeights[i];
+
+                var maxCost = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < outDegree; j++) {
+                    var target = outTargets[j];
+                    if (target != source && (!undirected || source < target)) {
+                        maxCost = Math.max(maxCost, sourceWeight + outWeights[j]);
+                    }
+                }
+                if (maxCost == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+
+                witnessSearch.run(source, node, maxCost);
+                for (int j = 0; j < outDegree; j++) {
+                    var target = outTargets[j];
+                    if (target != source && (!undirected || source < target)) {
+                        var cost = sourceWeight + outWeights[j];
+                        if (witnessSearch.distance(target) > cost) {
+                            consumer.accept(source, target, cost);
+                        }
+                    }
+                }
+            }
+        }
+
+        void release() {
+            witnessSearch.release();
+        }
+    }
+
+    private static final class Shortcuts {
+        private final LongArrayList sources = new LongArrayList();
+        private final LongArrayList targets = new LongArrayList();
+        private final DoubleArrayList weights = new DoubleArrayList();
+
+        void add(long source, long target, double weight) {
+            sources.add(source);
+            targets.add(target);
+            weights.add(weight);
+        }
+
+        int size() {
+            return sources.size();
+        }
+
+        void forEach(ShortcutConsumer consumer) {
+            for (int i = 0; i < sources.size(); i++) {
+                consumer.accept(sources.get(i), targets.get(i), weights.get(i));
+            }
+        }
+    }
+
+    public static final class ContractionResult {
+        private final HugeLongArray ranks;
+        private final Shortcuts shortcuts;
+
+        ContractionResult(HugeLongArray ranks, Shortcuts shortcuts) {
+            this.ranks = ranks;
+            this.shortcuts = shortcuts;
+        }
+
+        /**
+         * The position of every node in the contraction order.
+         */
+        public HugeLongArray ranks() {
+            return ranks;
+        }
+
+        public long shortcutCount() {
+            return shortcuts.size();
+        }
+
+        /**
+         * Passes all shortcuts with internal node ids to the consumer. For undirected graphs,
+         * every shortcut is passed once and needs to be added in both directions.
+         */
+        public void forEachShortcut(ShortcutConsumer consumer) {
+            shortcuts.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.queue.LazyLongPriorityQueue;
+
+/**
+ * Looks for paths between the neighbours of a node that is about to be contracted, which do not
+ * pass the node and are not longer than the paths through it. Such a path is a witness that the
+ * path through the node does not need a shortcut.
+ * <p>
+ * The search is a Dijkstra search that stops at the cost of the longest path through the node
+ * or after settling {@link #SETTLED_NODES_LIMIT} nodes, whatever happens first. Neighbours without
+ * a witness within these bounds get a shortcut, which might not be necessary but is never wrong.
+ * <p>
+ * Every thread needs its own instance.
+ */
+final class WitnessSearch {
+
+    static final int SETTLED_NODES_LIMIT = 256;
+
+    private final ContractionGraph graph;
+    private final BitSet contracted;
+    private final LongDoubleHashMap distances;
+    private final LazyLongPriorityQueue queue;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(WitnessSearch.class)
+            .fixed("distances", MemoryUsage.sizeOfLongDoubleHashMap(SETTLED_NODES_LIMIT))
+            .build();
+    }
+
+    WitnessSearch(ContractionGraph graph, BitSet contracted) {
+        this.graph = graph;
+        this.contracted = contracted;
+        this.distances = new LongDoubleHashMap();
+        this.queue = new LazyLongPriorityQueue();
+    }
+
+    /**
+     * Computes the distances from the source node to all nodes that are at most {@code maxCost} away,
+     * without passing {@code excludedNode} or any contracted node.
+     */
+    void run(long sourceNode, long excludedNode, double maxCost) {
+        distances.clear();
+        queue.clear();
+        distances.put(sourceNode, 0.0);
+        queue.add(sourceNode, 0.0);
+
+        var settledNodes = 0;
+        while (!queue.isEmpty() && settledNodes < SETTLED_NODES_LIMIT) {
+            var cost = queue.topPriority();
+            var node = queue.pop();
+            if (cost > distances.get(node)) {
+                // outdated entry
+                continue;
+            }
+            settledNodes++;
+
+            var targets = graph.outTargets(node);
+            var weights = graph.outWeights(node);
+            var degree = graph.outDegree(node);
+            for (int i = 0; i < degree; i++) {
+                var target = targets[i];
+                if (target == excludedNode || contracted.get(target)) {
+                    continue;
+                }
+                var newCost = cost + weights[i];
+                if (newCost <= maxCost && newCost < distance(target)) {
+                    distances.put(target, newCost);
+                    queue.add(target, newCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * The length of the shortest witness path to the node found by the last search.
+     */
+    double distance(long node) {
+        return distances.getOrDefault(node, Double.POSITIVE_INFINITY);
+    }
+
+    void release() {
+        distances.release();
+        queue.release();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction.config;
+
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig;
+
+public interface ContractionHierarchiesQueryConfig extends ShortestPathBaseConfig {
+
+    String NODE_RANK_PROPERTY_KEY = "nodeRankProperty";
+
+    /**
+     * The node property that holds the contraction order of the nodes.
+     */
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    @Configuration.Key(NODE_RANK_PROPERTY_KEY)
+    String nodeRankProperty();
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.DoubleArrayDeque;
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongArrayList;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
+import org.neo4j.graphalgo.beta.paths.dijkstra.ImmutableDijkstraResult;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ArrayUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.DoublePageCreator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Parallel single-source shortest paths for non-negative relationship weights.
+ * Negative weights are rejected when they are encountered.
+ * <p>
+ * Nodes are kept in buckets of width {@code delta} according to their tentative distance.
+ * The buckets are processed in increasing order: the light relationships (weight at most {@code delta})
+ * of the nodes in the current bucket are relaxed until the bucket stays empty, after which the heavy
+ * relationships of all nodes that have been in the bucket are relaxed once.
+ * <p>
+ * Every task keeps its relaxations and its future buckets in local buffers. Distances are updated with
+ * an atomic min operation, the predecessor of a node is written by the single task whose relaxation
+ * produced the final distance of the phase, after all tasks have finished relaxing.
+ * <p>
+ * Ulrich Meyer, Peter Sanders: "Δ-stepping: a parallelizable shortest path algorithm", 2003
+ */
+public final class DeltaStepping extends Algorithm<DeltaStepping, DijkstraResult> {
+
+    private static final long NO_PREDECESSOR = -1L;
+    // number of frontier nodes a task claims at once
+    private static final int CHUNK_SIZE = 64;
+    private static final int INITIAL_BUCKET_COUNT = 16;
+
+    private final Graph graph;
+    private final long sourceNode;
+    private final double delta;
+    private final int concurrency;
+    private final boolean trackRelationships;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    private final HugeAtomicDoubleArray distances;
+    private final HugeLongArray predecessors;
+    // index of the relationship in the adjacency list of the predecessor (null, if trackRelationships is false)
+    private final @Nullable HugeLongArray relationshipIds;
+
+    // nodes of the current bucket, may contain duplicates
+    private HugeLongArray frontier;
+    private long frontierSize;
+    private final AtomicLong frontierIndex;
+    private final AtomicLong frontierTail;
+
+    private final List<DeltaSteppingTask> tasks;
+
+    public static DeltaStepping of(
+        Graph graph,
+        AllShortestPathsDeltaBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new DeltaStepping(
+            graph,
+            graph.toMappedNodeId(config.sourceNode()),
+            config.delta(),
+            config.concurrency(),
+            config.trackRelationships(),
+            executorService,
+            progressLogger,
+            tracker
+        );
+    }
+
+    /**
+     * Configure delta-stepping for an internal source node id without tracking relationships.
+     * The distances can be read through {@link #distance(long)} after {@link #compute()}.
+     */
+    public static DeltaStepping of(
+        Graph graph,
+        long sourceNode,
+        double delta,
+        int concurrency,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new DeltaStepping(
+            graph,
+            sourceNode,
+            delta,
+            concurrency,
+            false,
+            executorService,
+            progressLogger,
+            tracker
+        );
+    }
+
+    public static MemoryEstimation memoryEstimation(boolean trackRelationships) {
+        var builder = MemoryEstimations.builder(DeltaStepping.class)
+            .perNode("distances", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("predecessors", HugeLongArray::memoryEstimation);
+        if (trackRelationships) {
+            builder.perNode("relationship ids", HugeLongArray::memoryEstimation);
+        }
+        return builder
+            .perNode("frontier", HugeLongArray::memoryEstimation)
+            // every reached node is stored about once in the bucket of one of the tasks
+            .perNode("buckets", MemoryUsage::sizeOfLongArray)
+            .build();
+    }
+
+    DeltaStepping(
+        Graph graph,
+        long sourceNode,
+        double delta,
+        int concurrency,
+        boolean trackRelationships,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        if (!(delta > 0)) {
+            throw new IllegalArgumentException(formatWithLocale("Delta must be positive, got %f.", delta));
+        }
+        this.graph = graph;
+        this.sourceNode = sourceNode;
+        this.delta = delta;
+        this.concurrency = concurrency;
+        this.trackRelationships = trackRelationships;
+        this.executorService = executorService;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+
+        long nodeCount = graph.nodeCount();
+        this.distances = HugeAtomicDoubleArray.newArray(
+            nodeCount,
+            DoublePageCreator.of(concurrency, index -> Double.POSITIVE_INFINITY),
+            tracker
+        );
+        // predecessors are only read for reached nodes and do not need to be initialized
+        this.predecessors = HugeLongArray.newArray(nodeCount, tracker);
+        this.relationshipIds = trackRelationships ? HugeLongArray.newArray(nodeCount, tracker) : null;
+        this.frontier = HugeLongArray.newArray(nodeCount, tracker);
+        this.frontierIndex = new AtomicLong();
+        this.frontierTail = new AtomicLong();
+        this.tasks = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(new DeltaSteppingTask(graph.concurrentCopy()));
+        }
+    }
+
+    @Override
+    public DijkstraResult compute() {
+        progressLogger.logStart();
+
+        distances.set(sourceNode, 0.0);
+        predecessors.set(sourceNode, NO_PREDECESSOR);
+        frontier.set(0, sourceNode);
+        frontierSize = 1;
+        long bucket = 0;
+
+        while (running()) {
+            // Heavy relationships can only lead to later buckets, unless rounding errors put
+            // a node into the current bucket, in which case its light relationships are relaxed as well.
+            do {
+                while (frontierSize > 0 && running()) {
+                    run(Phase.RELAX_LIGHT, bucket);
+                    run(Phase.SYNC, bucket);
+                }
+                run(Phase.RELAX_HEAVY, bucket);
+                run(Phase.SYNC, bucket);
+            } while (frontierSize > 0 && running());
+
+            bucket = nextBucket();
+            if (bucket == Long.MAX_VALUE) {
+                break;
+            }
+            fillFrontier(bucket);
+        }
+
+        progressLogger.logFinish();
+
+        var pathResultBuilder = ImmutablePathResult.builder().sourceNode(sourceNode);
+        var pathIndex = new AtomicLong();
+        var paths = LongStream
+            .range(0, graph.nodeCount())
+            .filter(node -> distances.get(node) < Double.POSITIVE_INFINITY)
+            .mapToObj(node -> pathResult(node, pathIndex.getAndIncrement(), pathResultBuilder));
+
+        return ImmutableDijkstraResult
+            .builder()
+            .paths(paths)
+            .build();
+    }
+
+    /**
+     * Returns the distance from the source node after {@link #compute()}
+     * or {@code Double.POSITIVE_INFINITY} if the node has not been reached.
+     */
+    public double distance(long nodeId) {
+        return distances.get(nodeId);
+    }
+
+    private void run(Phase phase, long bucket) {
+        frontierIndex.set(0);
+        if (phase == Phase.SYNC) {
+            frontierTail.set(0);
+        }
+        tasks.forEach(task -> task.prepare(phase, bucket));
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+        if (phase == Phase.SYNC) {
+            frontierSize = frontierTail.get();
+        }
+    }
+
+    private long nextBucket() {
+        long nextBucket = Long.MAX_VALUE;
+        for (DeltaSteppingTask task : tasks) {
+            nextBucket = Math.min(nextBucket, task.firstBucket());
+        }
+        return nextBucket;
+    }
+
+    private void fillFrontier(long bucket) {
+        long size = 0;
+        for (DeltaSteppingTask task : tasks) {
+            size += task.bucketSize(bucket);
+        }
+        if (size > frontier.size()) {
+            frontier.release();
+            frontier = HugeLongArray.newArray(size, tracker);
+        }
+        frontierTail.set(0);
+        tasks.forEach(task -> task.prepare(Phase.FILL, bucket));
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+        frontierSize = frontierTail.get();
+    }
+
+    private long bucketOf(double distance) {
+        return (long) (distance / delta);
+    }
+
+    private PathResult pathResult(long target, long index, ImmutablePathResult.Builder pathResultBuilder) {
+        var pathNodeIds = new LongArrayDeque();
+        var pathRelationshipIds = new LongArrayDeque();
+        var costs = new DoubleArrayDeque();
+
+        for (long node = target; node != NO_PREDECESSOR; node = predecessors.get(node)) {
+            pathNodeIds.addFirst(node);
+            costs.addFirst(distances.get(node));
+            if (trackRelationships && node != sourceNode) {
+                pathRelationshipIds.addFirst(relationshipIds.get(node));
+            }
+        }
+
+        return pathResultBuilder
+            .index(index)
+            .targetNode(target)
+            .nodeIds(pathNodeIds.toArray())
+            .relationshipIds(pathRelationshipIds.toArray())
+            .costs(costs.toArray())
+            .build();
+    }
+
+    @Override
+    public DeltaStepping me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        // We do not release, since the result
+        // is lazily computed when the consumer
+        // iterates over the stream.
+    }
+
+    private enum Phase {
+        // relax the light relationships of the frontier nodes
+        RELAX_LIGHT,
+        // relax the heavy relationships of all nodes that have been relaxed in the current bucket
+        RELAX_HEAVY,
+        // apply the relaxations of the previous phase and collect the nodes of the current bucket
+        SYNC,
+        // collect the nodes of the next bucket
+        FILL,
+    }
+
+    private final class DeltaSteppingTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final Graph graph;
+
+        // successful relaxations of the current phase
+        private final LongArrayList relaxedNodes;
+        private final LongArrayList relaxedPredecessors;
+        private final LongArrayList relaxedRelationshipIds;
+        private final DoubleArrayList relaxedDistances;
+
+        // nodes that have been in the current bucket, their heavy relationships are relaxed last
+        private final LongArrayList bucketNodes;
+        // nodes of the current bucket that have been found in the previous phase
+        private final LongArrayList currentBucket;
+        // future buckets by index, buckets before the current one are empty
+        private LongArrayList[] buckets;
+
+        private Phase phase;
+        private long bucket;
+
+        private double sourceDistance;
+        private long relationshipId;
+
+        DeltaSteppingTask(Graph graph) {
+            this.graph = graph;
+            this.relaxedNodes = new LongArrayList();
+            this.relaxedPredecessors = new LongArrayList();
+            this.relaxedRelationshipIds = new LongArrayList();
+            this.relaxedDistances = new DoubleArrayList();
+            this.bucketNodes = new LongArrayList();
+            this.currentBucket = new LongArrayList();
+            this.buckets = new LongArrayList[INITIAL_BUCKET_COUNT];
+        }
+
+        void prepare(Phase phase, long bucket) {
+            this.phase = phase;
+            this.bucket = bucket;
+        }
+
+        long firstBucket() {
+            for (int index = (int) bucket; index < buckets.length; index++) {
+                if (buckets[index] != null && !buckets[index].isEmpty()) {
+                    return index;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        long bucketSize(long bucket) {
+            return bucket < buckets.length && buckets[(int) bucket] != null ? buckets[(int) bucket].size() : 0;
+        }
+
+        private void addToBucket(long nodeBucket, long node) {
+            if (nodeBucket >= buckets.length) {
+                if (nodeBucket >= ArrayUtil.MAX_ARRAY_LENGTH) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Delta %f is too small for a distance of %f, use a larger delta.",
+                        delta,
+                        distances.get(node)
+                    ));
+                }
+                buckets = Arrays.copyOf(buckets, (int) Math.min(ArrayUtil.MAX_ARRAY_LENGTH, Math.max(nodeBucket + 1, 2L * buckets.length)));
+            }
+            if (buckets[(int) nodeBucket] == null) {
+                buckets[(int) nodeBucket] = new LongArrayList();
+            }
+            buckets[(int) nodeBucket].add(node);
+        }
+
+        @Override
+        public void run() {
+            switch (phase) {
+                case RELAX_LIGHT:
+                    relaxLight();
+                    break;
+                case RELAX_HEAVY:
+                    relaxHeavy();
+                    break;
+                case SYNC:
+                    sync();
+                    break;
+                case FILL:
+                    fill();
+                    break;
+                default:
+                    throw new IllegalStateException(formatWithLocale("Unexpected phase %s", phase));
+            }
+        }
+
+        private void relaxLight() {
+            long size = frontierSize;
+            long start;
+            while ((start = frontierIndex.getAndAdd(CHUNK_SIZE)) < size) {
+                long end = Math.min(size, start + CHUNK_SIZE);
+                for (long index = start; index < end; index++) {
+                    long node = frontier.get(index);
+                    relax(node);
+                    bucketNodes.add(node);
+                    progressLogger.logProgress(graph.degree(node));
+                }
+            }
+        }
+
+        private void relaxHeavy() {
+            for (int i = 0; i < bucketNodes.size(); i++) {
+                relax(bucketNodes.get(i));
+            }
+            bucketNodes.clear();
+        }
+
+        private void relax(long node) {
+            sourceDistance = distances.get(node);
+            relationshipId = 0;
+            graph.forEachRelationship(node, 1.0D, this);
+        }
+
+        @Override
+        public boolean accept(long source, long target, double weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Delta-stepping requires non-negative relationship weights, got %f for the relationship from node %d to node %d.",
+                    weight,
+                    graph.toOriginalNodeId(source),
+                    graph.toOriginalNodeId(target)
+                ));
+            }
+            if ((weight <= delta) == (phase == Phase.RELAX_LIGHT)) {
+                double newDistance = sourceDistance + weight;
+                double oldDistance = distances.get(target);
+                while (newDistance < oldDistance) {
+                    double witness = distances.compareAndExchange(target, oldDistance, newDistance);
+                    if (witness == oldDistance) {
+                        relaxedNodes.add(target);
+                        relaxedPredecessors.add(source);
+                        relaxedRelationshipIds.add(relationshipId);
+                        relaxedDistances.add(newDistance);
+                        break;
+                    }
+                    oldDistance = witness;
+                }
+            }
+            relationshipId++;
+            return true;
+        }
+
+        private void sync() {
+            // Distances only decrease, so exactly one relaxation of a node matches its distance
+            // after the phase. This task is the only one that writes the predecessor of that node.
+            for (int i = 0; i < relaxedNodes.size(); i++) {
+                long node = relaxedNodes.get(i);
+                double distance = relaxedDistances.get(i);
+                if (distances.get(node) != distance) {
+                    continue;
+                }
+                predecessors.set(node, relaxedPredecessors.get(i));
+                if (trackRelationships) {
+                    relationshipIds.set(node, relaxedRelationshipIds.get(i));
+                }
+                long nodeBucket = bucketOf(distance);
+                if (nodeBucket <= bucket) {
+                    currentBucket.add(node);
+                } else {
+                    addToBucket(nodeBucket, node);
+                }
+            }
+            relaxedNodes.clear();
+            relaxedPredecessors.clear();
+            relaxedRelationshipIds.clear();
+            relaxedDistances.clear();
+
+            copyToFrontier(currentBucket);
+            currentBucket.clear();
+        }
+
+        private void fill() {
+            if (bucket >= buckets.length || buckets[(int) bucket] == null) {
+                return;
+            }
+            LongArrayList nodes = buckets[(int) bucket];
+            // skip nodes whose distance has decreased into an earlier bucket after they were added
+            int valid = 0;
+            for (int i = 0; i < nodes.size(); i++) {
+                long node = nodes.get(i);
+                if (bucketOf(distances.get(node)) == bucket) {
+                    nodes.set(valid++, node);
+                }
+            }
+            nodes.elementsCount = valid;
+            copyToFrontier(nodes);
+            // release the nodes of the processed bucket
+            buckets[(int) bucket] = null;
+        }
+
+        private void copyToFrontier(LongArrayList nodes) {
+            long offset = frontierTail.getAndAdd(nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                frontier.set(offset + i, nodes.get(i));
+            }
+        }
+    }
+}
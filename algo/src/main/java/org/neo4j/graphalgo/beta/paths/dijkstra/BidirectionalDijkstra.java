@@ -0,0 +1,608 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.dijkstra;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.DoubleStack;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongStack;
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra.HeuristicFunction;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongDoubleMap;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.graphalgo.core.utils.queue.LazyLongPriorityQueue;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Computes a single source-target shortest path by running a forward search
+ * from the source and a backward search from the target at the same time.
+ * <p>
+ * The backward search traverses {@code backwardGraph}, which must contain the
+ * relationships of {@code forwardGraph} in reverse direction, e.g. a projection
+ * of the same relationship type with {@code REVERSE} orientation. For undirected
+ * graphs, both graphs can be the same.
+ * <p>
+ * If a heuristic is given for both directions, the searches are guided like A*
+ * using the average potential {@code (toTarget(v) - fromSource(v)) / 2}, which keeps
+ * the reduced costs of both directions consistent with each other. Both
+ * heuristics need to be consistent lower bounds of the relationship weights.
+ * <p>
+ * The search stops as soon as the sum of the smallest keys of both queues is
+ * at least the cost of the best path found so far.
+ * <p>
+ * On a contraction hierarchy, both searches only follow relationships to nodes of a higher
+ * rank and each search stops on its own once its smallest key is at least the cost of the
+ * best path found so far. Shortcuts on the found path are unpacked into the relationships
+ * they replace, see {@link #contractionHierarchy}.
+ * <p>
+ * In contrast to {@link Dijkstra}, all search state is kept in hash maps and
+ * growing heaps which are sized by the number of visited nodes, not by the
+ * number of nodes in the graph.
+ */
+public final class BidirectionalDijkstra extends Algorithm<BidirectionalDijkstra, DijkstraResult> {
+    private static final long PATH_END = -1;
+    private static final long[] EMPTY_ARRAY = new long[0];
+
+    private final Graph forwardGraph;
+    private final Graph backwardGraph;
+    private final long sourceNode;
+    private final long targetNode;
+    private final boolean trackRelationships;
+    private final Optional<Potential> potential;
+    private final Optional<NodeProperties> nodeRanks;
+
+    private final SearchSpace forward;
+    private final SearchSpace backward;
+
+    // cost of the best path found so far
+    private double bestCost;
+    // the best path found so far uses the relationship (meetingSource)-[meetingWeight]->(meetingTarget)
+    private long meetingSource;
+    private long meetingTarget;
+    private double meetingWeight;
+
+    public static BidirectionalDijkstra sourceTarget(
+        Graph forwardGraph,
+        Graph backwardGraph,
+        ShortestPathBaseConfig config,
+        Optional<HeuristicFunctions> heuristicFunctions,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new BidirectionalDijkstra(
+            forwardGraph,
+            backwardGraph,
+            forwardGraph.toMappedNodeId(config.sourceNode()),
+            forwardGraph.toMappedNodeId(config.targetNode()),
+            config.trackRelationships(),
+            heuristicFunctions,
+            Optional.empty(),
+            progressLogger,
+            tracker
+        );
+    }
+
+    /**
+     * Runs the query on a contraction hierarchy. Both graphs need to contain the shortcuts
+     * next to the original relationships and {@code nodeRanks} is the order in which the
+     * nodes have been contracted, e.g. as computed by
+     * {@link org.neo4j.graphalgo.beta.paths.contraction.ContractionHierarchies}.
+     */
+    public static BidirectionalDijkstra contractionHierarchy(
+        Graph forwardGraph,
+        Graph backwardGraph,
+        NodeProperties nodeRanks,
+        ShortestPathBaseConfig config,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new BidirectionalDijkstra(
+            forwardGraph,
+            backwardGraph,
+            forwardGraph.toMappedNodeId(config.sourceNode()),
+            forwardGraph.toMappedNodeId(config.targetNode()),
+            config.trackRelationships(),
+            Optional.empty(),
+            Optional.of(nodeRanks),
+            progressLogger,
+            tracker
+        );
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return memoryEstimation(false);
+    }
+
+    public static MemoryEstimation memoryEstimation(boolean trackRelationships) {
+        return MemoryEstimations.builder(BidirectionalDijkstra.class)
+            .add("forward search", SearchSpace.memoryEstimation(trackRelationships))
+            .add("backward search", SearchSpace.memoryEstimation(false))
+            .build();
+    }
+
+    private BidirectionalDijkstra(
+        Graph forwardGraph,
+        Graph backwardGraph,
+        long sourceNode,
+        long targetNode,
+        boolean trackRelationships,
+        Optional<HeuristicFunctions> heuristicFunctions,
+        Optional<NodeProperties> nodeRanks,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.forwardGraph = forwardGraph;
+        this.backwardGraph = backwardGraph;
+        this.sourceNode = sourceNode;
+        this.targetNode = targetNode;
+        this.trackRelationships = trackRelationships;
+        this.potential = heuristicFunctions.map(Potential::new);
+        this.nodeRanks = nodeRanks;
+        this.forward = new SearchSpace(trackRelationships, tracker);
+        this.backward = new SearchSpace(false, tracker);
+        this.bestCost = Double.POSITIVE_INFINITY;
+        this.meetingSource = PATH_END;
+        this.meetingTarget = PATH_END;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public DijkstraResult compute() {
+        progressLogger.logStart();
+
+        if (sourceNode == targetNode) {
+            progressLogger.logFinish();
+            return result(Stream.of(ImmutablePathResult.builder()
+                .index(0)
+                .sourceNode(sourceNode)
+                .targetNode(targetNode)
+                .nodeIds(sourceNode)
+                .relationshipIds(EMPTY_ARRAY)
+                .costs(0.0)
+                .build()));
+        }
+
+        forward.update(sourceNode, PATH_END, PATH_END, 0.0, forwardKey(sourceNode, 0.0));
+        backward.update(targetNode, PATH_END, PATH_END, 0.0, backwardKey(targetNode, 0.0));
+
+        while (running()) {
+            boolean expandForward;
+            if (nodeRanks.isPresent()) {
+                // the searches meet at the highest node of the path, which can be close to either end
+                var forwardActive = !forward.isEmpty() && forward.minKey() < bestCost;
+                var backwardActive = !backward.isEmpty() && backward.minKey() < bestCost;
+                if (!forwardActive && !backwardActive) {
+                    break;
+                }
+                expandForward = forwardActive && (!backwardActive || forward.queueSize() <= backward.queueSize());
+            } else {
+                if (forward.isEmpty() || backward.isEmpty() || forward.minKey() + backward.minKey() >= bestCost) {
+                    break;
+                }
+                // expand the smaller search front first
+                expandForward = forward.queueSize() <= backward.queueSize();
+            }
+            if (expandForward) {
+                expandForward();
+            } else {
+                expandBackward();
+            }
+        }
+
+        progressLogger.logFinish();
+
+        if (bestCost == Double.POSITIVE_INFINITY) {
+            return result(Stream.empty());
+        }
+        return result(Stream.of(pathResult()));
+    }
+
+    private void expandForward() {
+        var node = forward.pop();
+        var cost = forward.distance(node);
+        var relationshipId = new MutableLong();
+
+        progressLogger.logProgress(forwardGraph.degree(node));
+
+        forwardGraph.forEachRelationship(node, 1.0D, (source, target, weight) -> {
+            if (isUpward(source, target)) {
+                var newCost = cost + weight;
+                if (!forward.isSettled(target) && newCost < forward.distanceOrInfinity(target)) {
+                    forward.update(target, source, relationshipId.longValue(), newCost, forwardKey(target, newCost));
+                }
+                var backwardCost = backward.distanceOrInfinity(target);
+                if (newCost + backwardCost < bestCost) {
+                    meet(source, target, weight, newCost + backwardCost);
+                }
+            }
+            relationshipId.increment();
+            return true;
+        });
+    }
+
+    private void expandBackward() {
+        var node = backward.pop();
+        var cost = backward.distance(node);
+
+        progressLogger.logProgress(backwardGraph.degree(node));
+
+        // the backward graph traverses (target)<-[weight]-(source) as (node)-[weight]->(other)
+        backwardGraph.forEachRelationship(node, 1.0D, (ignored, other, weight) -> {
+            if (isUpward(node, other)) {
+                var newCost = cost + weight;
+                if (!backward.isSettled(other) && newCost < backward.distanceOrInfinity(other)) {
+                    backward.update(other, node, PATH_END, newCost, backwardKey(other, newCost));
+                }
+                var forwardCost = forward.distanceOrInfinity(other);
+                if (forwardCost + newCost < bestCost) {
+                    meet(other, node, weight, forwardCost + newCost);
+                }
+            }
+            return true;
+        });
+    }
+
+    private void meet(long source, long target, double weight, double cost) {
+        bestCost = cost;
+        meetingSource = source;
+        meetingTarget = target;
+        meetingWeight = weight;
+    }
+
+    private boolean isUpward(long node, long other) {
+        return nodeRanks.isEmpty() || nodeRanks.get().longValue(other) > nodeRanks.get().longValue(node);
+    }
+
+    private double forwardKey(long node, double distance) {
+        return potential.isPresent() ? distance + potential.get().applyAsDouble(node) : distance;
+    }
+
+    private double backwardKey(long node, double distance) {
+        return potential.isPresent() ? distance - potential.get().applyAsDouble(node) : distance;
+    }
+
+    private PathResult pathResult() {
+        var nodeIds = new LongArrayList();
+        var relationshipIds = new LongArrayList();
+        var costs = new DoubleArrayList();
+
+        // forward part: source ... meetingSource
+        var node = meetingSource;
+        while (node != PATH_END) {
+            nodeIds.add(node);
+            costs.add(forward.distance(node));
+            if (trackRelationships && node != sourceNode) {
+                relationshipIds.add(forward.relationshipId(node));
+            }
+            node = forward.predecessor(node);
+        }
+        reverse(nodeIds.buffer, nodeIds.size());
+        reverse(relationshipIds.buffer, relationshipIds.size());
+        reverse(costs.buffer, costs.size());
+
+        // backward part: meetingTarget ... target
+        // the distances of the backward search are relative to the target
+        var meetingCost = forward.distance(meetingSource) + meetingWeight;
+        var meetingDistance = backward.distance(meetingTarget);
+        var previous = meetingSource;
+        node = meetingTarget;
+        while (node != PATH_END) {
+            nodeIds.add(node);
+            costs.add(meetingCost + meetingDistance - backward.distance(node));
+            if (trackRelationships && nodeRanks.isEmpty()) {
+                relationshipIds.add(relationshipId(previous, node, costs.get(costs.size() - 1) - costs.get(costs.size() - 2)));
+            }
+            previous = node;
+            node = backward.predecessor(node);
+        }
+
+        if (nodeRanks.isPresent()) {
+            return unpackedPathResult(nodeIds.toArray());
+        }
+
+        return ImmutablePathResult.builder()
+            .index(0)
+            .sourceNode(sourceNode)
+            .targetNode(targetNode)
+            .nodeIds(nodeIds.toArray())
+            .relationshipIds(trackRelationships ? relationshipIds.toArray() : EMPTY_ARRAY)
+            .costs(costs.toArray())
+            .build();
+    }
+
+    /**
+     * Replaces every shortcut on the path with the relationships it has been created from.
+     * A shortcut {@code (u)-[w]->(v)} replaces a path {@code (u)-[w1]->(m)-[w2]->(v)} with
+     * {@code w1 + w2 = w}, where {@code m} has a lower rank than {@code u} and {@code v}.
+     * Relationships without such a node {@code m} are not shortcuts.
+     */
+    private PathResult unpackedPathResult(long[] hierarchyPath) {
+        var nodeIds = new LongArrayList();
+        var relationshipIds = new LongArrayList();
+        var costs = new DoubleArrayList();
+        nodeIds.add(sourceNode);
+        costs.add(0.0);
+
+        // relationships that are not unpacked yet, the top one starts at the last node of the path
+        var pendingTargets = new LongStack();
+        var pendingWeights = new DoubleStack();
+        for (int i = hierarchyPath.length - 1; i > 0; i--) {
+            pendingTargets.push(hierarchyPath[i]);
+            pendingWeights.push(minWeight(hierarchyPath[i - 1], hierarchyPath[i]));
+        }
+
+        var candidates = new LongArrayList();
+        var candidateWeights = new DoubleArrayList();
+        while (!pendingTargets.isEmpty()) {
+            var source = nodeIds.get(nodeIds.size() - 1);
+            var target = pendingTargets.pop();
+            var weight = pendingWeights.pop();
+
+            // the candidates are collected first, a nested traversal would reuse the adjacency cursor of the graph
+            var maxRank = Math.min(nodeRanks.get().longValue(source), nodeRanks.get().longValue(target));
+            candidates.clear();
+            candidateWeights.clear();
+            forwardGraph.forEachRelationship(source, 1.0D, (s, m, w1) -> {
+                if (nodeRanks.get().longValue(m) < maxRank) {
+                    candidates.add(m);
+                    candidateWeights.add(w1);
+                }
+                return true;
+            });
+
+            var middle = PATH_END;
+            var firstWeight = 0D;
+            var secondWeight = 0D;
+            for (int i = 0; i < candidates.size(); i++) {
+                var w2 = minWeight(candidates.get(i), target);
+                if (candidateWeights.get(i) + w2 == weight) {
+                    middle = candidates.get(i);
+                    firstWeight = candidateWeights.get(i);
+                    secondWeight = w2;
+                    break;
+                }
+            }
+
+            if (middle == PATH_END) {
+                nodeIds.add(target);
+                costs.add(costs.get(costs.size() - 1) + weight);
+                if (trackRelationships) {
+                    relationshipIds.add(relationshipId(source, target, weight));
+                }
+            } else {
+                pendingTargets.push(target, middle);
+                pendingWeights.push(secondWeight, firstWeight);
+            }
+        }
+
+        return ImmutablePathResult.builder()
+            .index(0)
+            .sourceNode(sourceNode)
+            .targetNode(targetNode)
+            .nodeIds(nodeIds.toArray())
+            .relationshipIds(trackRelationships ? relationshipIds.toArray() : EMPTY_ARRAY)
+            .costs(costs.toArray())
+            .build();
+    }
+
+    private double minWeight(long source, long target) {
+        var minWeight = new MutableDouble(Double.POSITIVE_INFINITY);
+        forwardGraph.forEachRelationship(source, 1.0D, (s, t, weight) -> {
+            if (t == target && weight < minWeight.doubleValue()) {
+                minWeight.setValue(weight);
+            }
+            return true;
+        });
+        return minWeight.doubleValue();
+    }
+
+    /**
+     * The backward search does not know the relationship ids of the forward graph.
+     * We pick the first relationship between the two nodes that has the smallest
+     * difference to the expected weight, which is the one that {@link Dijkstra} picks.
+     */
+    private long relationshipId(long source, long target, double expectedWeight) {
+        var relationshipId = new MutableLong();
+        var bestId = new MutableLong(PATH_END);
+        var bestDifference = new MutableDouble(Double.POSITIVE_INFINITY);
+        forwardGraph.forEachRelationship(source, 1.0D, (s, t, weight) -> {
+            var difference = Math.abs(weight - expectedWeight);
+            if (t == target && difference < bestDifference.doubleValue()) {
+                bestDifference.setValue(difference);
+                bestId.setValue(relationshipId.longValue());
+            }
+            relationshipId.increment();
+            return true;
+        });
+        return bestId.longValue();
+    }
+
+    private static void reverse(long[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            var tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void reverse(double[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            var tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static DijkstraResult result(Stream<PathResult> paths) {
+        return ImmutableDijkstraResult.builder().paths(paths).build();
+    }
+
+    @Override
+    public BidirectionalDijkstra me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        forward.release();
+        backward.release();
+    }
+
+    /**
+     * Heuristics for both search directions, {@code toTarget} estimates the
+     * distance from a node to the target, {@code fromSource} estimates the
+     * distance from the source to a node.
+     */
+    public static final class HeuristicFunctions {
+        private final HeuristicFunction toTarget;
+        private final HeuristicFunction fromSource;
+
+        public HeuristicFunctions(HeuristicFunction toTarget, HeuristicFunction fromSource) {
+            this.toTarget = toTarget;
+            this.fromSource = fromSource;
+        }
+    }
+
+    private static final class Potential implements HeuristicFunction {
+        private final HeuristicFunctions heuristicFunctions;
+
+        Potential(HeuristicFunctions heuristicFunctions) {
+            this.heuristicFunctions = heuristicFunctions;
+        }
+
+        @Override
+        public double applyAsDouble(long node) {
+            return (heuristicFunctions.toTarget.applyAsDouble(node) - heuristicFunctions.fromSource.applyAsDouble(node)) / 2.0;
+        }
+    }
+
+    /**
+     * State of a single search direction. The queue uses lazy deletion, i.e. decreasing
+     * the key of a node adds another entry and outdated entries are skipped when they
+     * reach the top.
+     */
+    private static final class SearchSpace {
+        private final HugeLongDoubleMap distances;
+        private final HugeLongLongMap predecessors;
+        private final HugeLongLongMap relationships;
+        private final LongHashSet settled;
+        private final LazyLongPriorityQueue queue;
+
+        static MemoryEstimation memoryEstimation(boolean trackRelationships) {
+            var builder = MemoryEstimations.builder(SearchSpace.class)
+                .add("distances", HugeLongDoubleMap.memoryEstimation())
+                .add("reverse path", HugeLongLongMap.memoryEstimation());
+            if (trackRelationships) {
+                builder.add("relationship ids", HugeLongLongMap.memoryEstimation());
+            }
+            return builder.build();
+        }
+
+        SearchSpace(boolean trackRelationships, AllocationTracker tracker) {
+            this.distances = new HugeLongDoubleMap(tracker);
+            this.predecessors = new HugeLongLongMap(tracker);
+            this.relationships = trackRelationships ? new HugeLongLongMap(tracker) : null;
+            this.settled = new LongHashSet();
+            this.queue = new LazyLongPriorityQueue();
+        }
+
+        void update(long node, long predecessor, long relationshipId, double distance, double key) {
+            distances.put(node, distance);
+            if (predecessor != PATH_END) {
+                predecessors.put(node, predecessor);
+                if (relationships != null) {
+                    relationships.put(node, relationshipId);
+                }
+            }
+            queue.add(node, key);
+        }
+
+        double distance(long node) {
+            return distances.getOrDefault(node, Double.NaN);
+        }
+
+        double distanceOrInfinity(long node) {
+            return distances.getOrDefault(node, Double.POSITIVE_INFINITY);
+        }
+
+        long predecessor(long node) {
+            return predecessors.getOrDefault(node, PATH_END);
+        }
+
+        long relationshipId(long node) {
+            return relationships.getOrDefault(node, PATH_END);
+        }
+
+        boolean isSettled(long node) {
+            return settled.contains(node);
+        }
+
+        boolean isEmpty() {
+            skipSettled();
+            return queue.isEmpty();
+        }
+
+        int queueSize() {
+            return queue.size();
+        }
+
+        double minKey() {
+            skipSettled();
+            return queue.topPriority();
+        }
+
+        long pop() {
+            skipSettled();
+            var node = queue.pop();
+            settled.add(node);
+            return node;
+        }
+
+        void release() {
+            distances.release();
+            predecessors.release();
+            if (relationships != null) {
+                relationships.release();
+            }
+            settled.release();
+            queue.release();
+        }
+
+        private void skipSettled() {
+            while (!queue.isEmpty() && settled.contains(queue.top())) {
+                queue.pop();
+            }
+        }
+    }
+}
@@ -23,7 +23,9 @@ import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.paths.AllShortestPathsBaseConfig;
+import org.neo4j.graphalgo.beta.paths.LandmarkHeuristicConfig;
 import org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig;
+import org.neo4j.graphalgo.beta.paths.landmarks.LandmarkHeuristic;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
@@ -56,7 +58,7 @@ public abstract class DijkstraFactory<T extends AlgoBaseConfig & RelationshipWei
         );
     }
 
-    public static <T extends ShortestPathBaseConfig> DijkstraFactory<T> sourceTarget() {
+    public static <T extends ShortestPathBaseConfig & LandmarkHeuristicConfig> DijkstraFactory<T> sourceTarget() {
         return new DijkstraFactory<T>() {
             @Override
             public Dijkstra build(
@@ -66,10 +68,14 @@ public abstract class DijkstraFactory<T extends AlgoBaseConfig & RelationshipWei
                 Log log,
                 ProgressEventTracker eventTracker
             ) {
+                var targetNode = graph.toMappedNodeId(configuration.targetNode());
+                Optional<Dijkstra.HeuristicFunction> heuristicFunction = configuration
+                    .landmarkProperty()
+                    .map(landmarkProperty -> LandmarkHeuristic.toTarget(graph, landmarkProperty, targetNode));
                 return Dijkstra.sourceTarget(
                     graph,
                     configuration,
-                    Optional.empty(),
+                    heuristicFunction,
                     progressLogger(graph, log, eventTracker),
                     tracker
                 );
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.beta.paths.dijkstra.config;
 
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.beta.paths.LandmarkHeuristicConfig;
 import org.neo4j.graphalgo.beta.paths.ReturnsPathConfig;
 import org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
@@ -31,7 +32,7 @@ import java.util.Optional;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface ShortestPathDijkstraStreamConfig extends ShortestPathBaseConfig, ReturnsPathConfig {
+public interface ShortestPathDijkstraStreamConfig extends ShortestPathBaseConfig, ReturnsPathConfig, LandmarkHeuristicConfig {
 
     static ShortestPathDijkstraStreamConfig of(
         String username,
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.landmarks;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A* heuristic based on the landmark distances computed by {@link Landmarks}.
+ * <p>
+ * By the triangle inequality, {@code d(L, t) - d(L, v)} is a lower bound of the
+ * distance from {@code v} to {@code t} for every landmark {@code L}, and
+ * {@code d(L, v) - d(L, s)} is a lower bound of the distance from {@code s} to {@code v}.
+ * The heuristic is the largest of these bounds, it is consistent and can be used with
+ * {@link Dijkstra} and, one instance per direction, with
+ * {@link org.neo4j.graphalgo.beta.paths.dijkstra.BidirectionalDijkstra}.
+ */
+public final class LandmarkHeuristic implements Dijkstra.HeuristicFunction {
+
+    private final NodeProperties landmarkDistances;
+    private final double[] fixedNodeDistances;
+    // true, iff the heuristic estimates the distance from the fixed node
+    private final boolean fromFixedNode;
+
+    /**
+     * Estimates the distance from a node to the target node.
+     */
+    public static LandmarkHeuristic toTarget(Graph graph, String landmarkProperty, long targetNode) {
+        return toTarget(landmarkProperties(graph, landmarkProperty), targetNode);
+    }
+
+    public static LandmarkHeuristic toTarget(NodeProperties landmarkDistances, long targetNode) {
+        return new LandmarkHeuristic(landmarkDistances, targetNode, false);
+    }
+
+    /**
+     * Estimates the distance from the source node to a node.
+     */
+    public static LandmarkHeuristic fromSource(Graph graph, String landmarkProperty, long sourceNode) {
+        return fromSource(landmarkProperties(graph, landmarkProperty), sourceNode);
+    }
+
+    public static LandmarkHeuristic fromSource(NodeProperties landmarkDistances, long sourceNode) {
+        return new LandmarkHeuristic(landmarkDistances, sourceNode, true);
+    }
+
+    private static NodeProperties landmarkProperties(Graph graph, String landmarkProperty) {
+        if (!graph.availableNodeProperties().contains(landmarkProperty)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The property `%s` has not been loaded",
+                landmarkProperty
+            ));
+        }
+        var properties = graph.nodeProperties(landmarkProperty);
+        if (properties.valueType() != ValueType.DOUBLE_ARRAY) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The landmark property `%s` must be of type %s, but was %s",
+                landmarkProperty,
+                ValueType.DOUBLE_ARRAY.cypherName(),
+                properties.valueType().cypherName()
+            ));
+        }
+        return properties;
+    }
+
+    private LandmarkHeuristic(NodeProperties landmarkDistances, long fixedNode, boolean fromFixedNode) {
+        this.landmarkDistances = landmarkDistances;
+        this.fixedNodeDistances = landmarkDistances.doubleArrayValue(fixedNode);
+        this.fromFixedNode = fromFixedNode;
+    }
+
+    @Override
+    public double applyAsDouble(long nodeId) {
+        var nodeDistances = landmarkDistances.doubleArrayValue(nodeId);
+        var estimate = 0D;
+        for (int i = 0; i < nodeDistances.length; i++) {
+            var bound = fromFixedNode
+                ? nodeDistances[i] - fixedNodeDistances[i]
+                : fixedNodeDistances[i] - nodeDistances[i];
+            // landmarks that do not reach both nodes give no bound
+            if (bound > estimate && bound != Double.POSITIVE_INFINITY) {
+                estimate = bound;
+            }
+        }
+        return estimate;
+    }
+}
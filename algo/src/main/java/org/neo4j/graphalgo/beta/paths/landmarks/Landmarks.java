@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.landmarks;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.landmarks.config.LandmarksBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Selects landmarks and computes the distances from every landmark to every node,
+ * which are used by {@link LandmarkHeuristic} to guide A* searches (ALT).
+ * <p>
+ * Landmarks are selected with the farthest heuristic: the first landmark is the node
+ * farthest away from node 0, every further landmark is the node farthest away from its
+ * closest landmark. Nodes that are not reachable from any landmark are preferred, so that
+ * every component that is reachable from some node gets a landmark first.
+ * <p>
+ * Distances are computed with {@link DeltaStepping}. Unreachable nodes have an infinite distance.
+ * <p>
+ * Andrew V. Goldberg, Chris Harrelson: "Computing the Shortest Path: A* Search Meets Graph Theory", 2005
+ */
+public final class Landmarks extends Algorithm<Landmarks, Landmarks.LandmarksResult> {
+
+    private static final long NO_NODE = -1L;
+
+    private final Graph graph;
+    private final int landmarkCount;
+    private final double delta;
+    private final int concurrency;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    // distance from each node to its closest landmark
+    private final HugeDoubleArray coverage;
+
+    public static MemoryEstimation memoryEstimation(LandmarksBaseConfig config) {
+        return MemoryEstimations.builder(Landmarks.class)
+            .add(
+                "distances",
+                HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfDoubleArray(config.landmarkCount()))
+            )
+            .perNode("coverage", HugeDoubleArray::memoryEstimation)
+            .add("shortest paths", DeltaStepping.memoryEstimation(false))
+            .build();
+    }
+
+    public Landmarks(
+        Graph graph,
+        LandmarksBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.landmarkCount = (int) Math.min(config.landmarkCount(), graph.nodeCount());
+        this.delta = config.delta();
+        this.concurrency = config.concurrency();
+        this.executorService = executorService;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+        this.coverage = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+    }
+
+    @Override
+    public LandmarksResult compute() {
+        progressLogger.logStart();
+
+        var nodeCount = graph.nodeCount();
+        var landmarks = new long[landmarkCount];
+        var distances = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+        tracker.add(nodeCount * MemoryUsage.sizeOfDoubleArray(landmarkCount));
+        ParallelUtil.parallelForEachNode(nodeCount, concurrency, node -> distances.set(node, new double[landmarkCount]));
+        coverage.fill(Double.POSITIVE_INFINITY);
+
+        var partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+
+        // the first landmark is far away from an arbitrary node
+        var next = 0L;
+        if (landmarkCount > 0) {
+            var farthest = select(partitions, shortestPaths(0), -1, distances);
+            next = farthest == NO_NODE ? 0L : farthest;
+        }
+        for (int i = 0; i < landmarkCount; i++) {
+            terminationFlag.assertRunning();
+            landmarks[i] = next;
+            next = select(partitions, shortestPaths(next), i, distances);
+            if (next == NO_NODE) {
+                next = anyNodeExcept(landmarks, i + 1);
+            }
+        }
+
+        progressLogger.logFinish();
+        return new LandmarksResult(landmarks, distances);
+    }
+
+    private DeltaStepping shortestPaths(long sourceNode) {
+        var deltaStepping = DeltaStepping.of(
+            graph,
+            sourceNode,
+            delta,
+            concurrency,
+            executorService,
+            ProgressLogger.NULL_LOGGER,
+            tracker
+        ).withTerminationFlag(terminationFlag);
+        deltaStepping.compute();
+        progressLogger.logProgress(graph.relationshipCount());
+        return deltaStepping;
+    }
+
+    /**
+     * Stores the distances of the given landmark and returns the next landmark.
+     * A negative landmark index selects the node farthest away from the source without storing distances.
+     */
+    private long select(
+        List<Partition> partitions,
+        DeltaStepping shortestPaths,
+        int landmarkIndex,
+        HugeObjectArray<double[]> distances
+    ) {
+        var tasks = partitions
+            .stream()
+            .map(partition -> new SelectionTask(partition, shortestPaths, landmarkIndex, distances))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        // prefer nodes that are not reachable from any landmark
+        for (SelectionTask task : tasks) {
+            if (task.unreached != NO_NODE) {
+                return task.unreached;
+            }
+        }
+        var farthest = NO_NODE;
+        var farthestDistance = 0D;
+        for (SelectionTask task : tasks) {
+            if (task.farthestDistance > farthestDistance) {
+                farthest = task.farthest;
+                farthestDistance = task.farthestDistance;
+            }
+        }
+        return farthest;
+    }
+
+    // all nodes have distance 0 to some landmark, any other node is as good as the next
+    private long anyNodeExcept(long[] landmarks, int length) {
+        var selected = Arrays.copyOf(landmarks, length);
+        Arrays.sort(selected);
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            if (Arrays.binarySearch(selected, node) < 0) {
+                return node;
+            }
+        }
+        return NO_NODE;
+    }
+
+    @Override
+    public Landmarks me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        coverage.release();
+    }
+
+    private final class SelectionTask implements Runnable {
+        private final Partition partition;
+        private final DeltaStepping shortestPaths;
+        private final int landmarkIndex;
+        private final HugeObjectArray<double[]> distances;
+
+        private long unreached;
+        private long farthest;
+        private double farthestDistance;
+
+        SelectionTask(
+            Partition partition,
+            DeltaStepping shortestPaths,
+            int landmarkIndex,
+            HugeObjectArray<double[]> distances
+        ) {
+            this.partition = partition;
+            this.shortestPaths = shortestPaths;
+            this.landmarkIndex = landmarkIndex;
+            this.distances = distances;
+            this.unreached = NO_NODE;
+            this.farthest = NO_NODE;
+            this.farthestDistance = 0D;
+        }
+
+        @Override
+        public void run() {
+            var end = partition.startNode() + partition.nodeCount();
+            for (long node = partition.startNode(); node < end; node++) {
+                var distance = shortestPaths.distance(node);
+                if (landmarkIndex >= 0) {
+                    distances.get(node)[landmarkIndex] = distance;
+                    distance = Math.min(distance, coverage.get(node));
+                    coverage.set(node, distance);
+                    if (distance == Double.POSITIVE_INFINITY) {
+                        if (unreached == NO_NODE) {
+                            unreached = node;
+                        }
+                        continue;
+                    }
+                }
+                if (distance != Double.POSITIVE_INFINITY && distance > farthestDistance) {
+                    farthest = node;
+                    farthestDistance = distance;
+                }
+            }
+        }
+    }
+
+    public static final class LandmarksResult {
+        private final long[] landmarks;
+        private final HugeObjectArray<double[]> distances;
+
+        public LandmarksResult(long[] landmarks, HugeObjectArray<double[]> distances) {
+            this.landmarks = landmarks;
+            this.distances = distances;
+        }
+
+        /**
+         * The selected landmarks as internal node ids.
+         */
+        public long[] landmarks() {
+            return landmarks;
+        }
+
+        /**
+         * For every node, the distances from each landmark to the node, in the order of {@link #landmarks()}.
+         */
+        public HugeObjectArray<double[]> distances() {
+            return distances;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.yens;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
+
+/**
+ * The shortest path tree towards the target node of an undirected graph.
+ * For every node, it stores the distance to the target and the next node on a shortest path to the target.
+ *
+ * The distances are lower bounds for the spur searches, which only traverse a subgraph.
+ */
+final class TargetTree {
+
+    static final long PATH_END = -1;
+
+    private final HugeDoubleArray distances;
+    private final HugeLongArray nextNodes;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(TargetTree.class)
+            .perNode("distances", HugeDoubleArray::memoryEstimation)
+            .perNode("next nodes", HugeLongArray::memoryEstimation)
+            .build();
+    }
+
+    static TargetTree of(Graph graph, long targetNode, AllocationTracker tracker) {
+        var nodeCount = graph.nodeCount();
+        var distances = HugeDoubleArray.newArray(nodeCount, tracker);
+        distances.fill(Double.POSITIVE_INFINITY);
+        var nextNodes = HugeLongArray.newArray(nodeCount, tracker);
+        nextNodes.fill(PATH_END);
+
+        var queue = HugeLongPriorityQueue.min(nodeCount);
+        var settled = new BitSet(nodeCount);
+
+        distances.set(targetNode, 0.0);
+        queue.add(targetNode, 0.0);
+
+        while (!queue.isEmpty()) {
+            var node = queue.pop();
+            var distance = distances.get(node);
+            settled.set(node);
+
+            // the graph is undirected, so the relationship (node)-[weight]->(neighbour)
+            // can be traversed backwards on a path from neighbour to the target
+            graph.forEachRelationship(node, 1.0D, (source, neighbour, weight) -> {
+                var newDistance = distance + weight;
+                if (!settled.get(neighbour) && newDistance < distances.get(neighbour)) {
+                    if (queue.containsElement(neighbour)) {
+                        queue.set(neighbour, newDistance);
+                    } else {
+                        queue.add(neighbour, newDistance);
+                    }
+                    distances.set(neighbour, newDistance);
+                    nextNodes.set(neighbour, node);
+                }
+                return true;
+            });
+        }
+        queue.release();
+
+        return new TargetTree(distances, nextNodes);
+    }
+
+    private TargetTree(HugeDoubleArray distances, HugeLongArray nextNodes) {
+        this.distances = distances;
+        this.nextNodes = nextNodes;
+    }
+
+    /**
+     * The shortest distance from the node to the target, or infinity if the target is not reachable.
+     */
+    double distance(long node) {
+        return distances.get(node);
+    }
+
+    /**
+     * The next node on a shortest path to the target, or {@link #PATH_END} for the target and unreachable nodes.
+     */
+    long nextNode(long node) {
+        return nextNodes.get(node);
+    }
+
+    void release() {
+        distances.release();
+        nextNodes.release();
+    }
+}
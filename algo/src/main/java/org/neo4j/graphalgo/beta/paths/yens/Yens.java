@@ -19,18 +19,25 @@
  */
 package org.neo4j.graphalgo.beta.paths.yens;
 
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
 import com.carrotsearch.hppc.LongHashSet;
 import com.carrotsearch.hppc.LongObjectScatterMap;
 import com.carrotsearch.hppc.LongScatterSet;
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.apache.commons.lang3.mutable.MutableLong;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
 import org.neo4j.graphalgo.beta.paths.PathResult;
 import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
 import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
 import org.neo4j.graphalgo.beta.paths.dijkstra.ImmutableDijkstraResult;
 import org.neo4j.graphalgo.beta.paths.yens.config.ImmutableShortestPathYensBaseConfig;
 import org.neo4j.graphalgo.beta.paths.yens.config.ShortestPathYensBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -39,22 +46,40 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static org.neo4j.graphalgo.beta.paths.yens.TargetTree.PATH_END;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
+/**
+ * Yen's k shortest paths algorithm.
+ *
+ * The spur searches of an iteration are independent of each other and run in parallel,
+ * every thread owns a {@link SpurSearch} with its own Dijkstra state and filters.
+ * For undirected graphs, the shortest path tree towards the target is computed once.
+ * Its distances guide the spur searches as an A* heuristic and nodes that cannot reach
+ * the target are never traversed. A spur search is skipped entirely if the best
+ * relationship leaving the spur node leads into a tree path that avoids the root path.
+ */
 public final class Yens extends Algorithm<Yens, DijkstraResult> {
 
     private static final LongHashSet EMPTY_SET = new LongHashSet(0);
+    private static final long[] EMPTY_ARRAY = new long[0];
 
     private final Graph graph;
     private final ShortestPathYensBaseConfig config;
     private final Dijkstra dijkstra;
-
-    private final LongScatterSet nodeBlackList;
-    private final LongObjectScatterMap<LongHashSet> relationshipBlackList;
+    private final Optional<TargetTree> targetTree;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
 
     /**
      * Configure Yens to compute at most one source-target shortest path.
@@ -62,6 +87,7 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
     public static Yens sourceTarget(
         Graph graph,
         ShortestPathYensBaseConfig config,
+        ExecutorService executorService,
         ProgressLogger progressLogger,
         AllocationTracker tracker
     ) {
@@ -73,9 +99,20 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
             .from(config)
             .trackRelationships(graph.isMultiGraph())
             .build();
-        // Init dijkstra algorithm for computing shortest paths
-        var dijkstra = Dijkstra.sourceTarget(graph, newConfig, Optional.empty(), progressLogger, tracker);
-        return new Yens(graph, dijkstra, newConfig, progressLogger);
+        // The tree is computed from the target, which traverses the relationships
+        // backwards. This is only possible if the graph is undirected.
+        var targetTree = graph.isUndirected()
+            ? Optional.of(TargetTree.of(graph, graph.toMappedNodeId(config.targetNode()), tracker))
+            : Optional.<TargetTree>empty();
+        // Init dijkstra algorithm for computing the first shortest path
+        var dijkstra = Dijkstra.sourceTarget(
+            graph,
+            newConfig,
+            targetTree.map(tree -> tree::distance),
+            progressLogger,
+            tracker
+        );
+        return new Yens(graph, dijkstra, newConfig, targetTree, executorService, progressLogger, tracker);
     }
 
     // The blacklists contain nodes and relationships that are
@@ -87,25 +124,30 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
     public static MemoryEstimation memoryEstimation() {
         return MemoryEstimations.builder(Yens.class)
             .add("Dijkstra", Dijkstra.memoryEstimation())
-            .fixed("nodeBlackList", MemoryUsage.sizeOfLongArray(AVERAGE_BLACKLIST_SIZE))
-            .fixed("relationshipBlackList", MemoryUsage.sizeOfLongArray(AVERAGE_BLACKLIST_SIZE * 2))
+            .add("target tree", TargetTree.memoryEstimation())
+            .perThread("spur search", MemoryEstimations.builder(SpurSearch.class)
+                .add("Dijkstra", Dijkstra.memoryEstimation())
+                .fixed("nodeBlackList", MemoryUsage.sizeOfLongArray(AVERAGE_BLACKLIST_SIZE))
+                .fixed("relationshipBlackList", MemoryUsage.sizeOfLongArray(AVERAGE_BLACKLIST_SIZE * 2))
+                .build())
             .build();
     }
 
-    private Yens(Graph graph, Dijkstra dijkstra, ShortestPathYensBaseConfig config, ProgressLogger progressLogger) {
+    private Yens(
+        Graph graph,
+        Dijkstra dijkstra,
+        ShortestPathYensBaseConfig config,
+        Optional<TargetTree> targetTree,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
         this.graph = graph;
         this.config = config;
-        // Track nodes and relationships that are skipped in a single iteration.
-        // The content of these data structures is reset after each of k iterations.
-        this.nodeBlackList = new LongScatterSet();
-        this.relationshipBlackList = new LongObjectScatterMap<>();
-        // set filter in Dijkstra to respect our blacklists
         this.dijkstra = dijkstra;
-        dijkstra.withRelationshipFilter((source, target, relationshipId) ->
-            !nodeBlackList.contains(target) &&
-            !(relationshipBlackList.getOrDefault(source, EMPTY_SET).contains(relationshipId))
-        );
-
+        this.targetTree = targetTree;
+        this.executorService = executorService;
+        this.tracker = tracker;
         this.progressLogger = progressLogger;
     }
 
@@ -126,55 +168,28 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
         kShortestPaths.add(MutablePathResult.of(shortestPath.get()));
 
         PriorityQueue<MutablePathResult> candidates = initCandidatesQueue();
+        // Mirrors the content of the heap for constant time duplicate checks.
+        var candidateSet = new HashSet<MutablePathResult>();
+
+        // The spur searches are only needed from the second path on.
+        var spurSearches = IntStream
+            .range(0, config.k() > 1 ? config.concurrency() : 0)
+            .mapToObj(i -> new SpurSearch())
+            .collect(Collectors.toList());
 
         for (int i = 1; i < config.k(); i++) {
             logStart(i + 1);
             var prevPath = kShortestPaths.get(i - 1);
 
-            for (int n = 0; n < prevPath.nodeCount() - 1; n++) {
-                var spurNode = prevPath.node(n);
-                var rootPath = prevPath.subPath(n + 1);
+            // Every node of the previous path, except for the target, is a spur node.
+            var spurPaths = computeSpurPaths(spurSearches, prevPath, kShortestPaths);
 
-                for (var path : kShortestPaths) {
-                    // Filter relationships that are part of the previous
-                    // shortest paths which share the same root path.
-                    if (rootPath.matches(path, n + 1)) {
-                        var relationshipId = path.relationship(n);
-
-                        var neighbors = relationshipBlackList.get(spurNode);
-
-                        if (neighbors == null) {
-                            neighbors = new LongHashSet();
-                            relationshipBlackList.put(spurNode, neighbors);
-                        }
-                        neighbors.add(relationshipId);
-                    }
-                }
-
-                // Filter nodes from root path to avoid cyclic path searches.
-                for (int j = 0; j < n; j++) {
-                    nodeBlackList.add(rootPath.node(j));
-                }
-
-                // Calculate the spur path from the spur node to the sink.
-                dijkstra.clear();
-                dijkstra.withSourceNode(spurNode);
-                var spurPath = computeDijkstra(graph.toOriginalNodeId(spurNode));
-
-                // Clear filters for next spur node
-                nodeBlackList.clear();
-                relationshipBlackList.clear();
-
-                // No new candidate from this spur node, continue with next node.
-                if (spurPath.isEmpty()) {
-                    continue;
-                }
-
-                // Entire path is made up of the root path and spur path.
-                rootPath.append(MutablePathResult.of(spurPath.get()));
+            // Candidates are added in the order of their spur nodes,
+            // which keeps the result independent of the concurrency.
+            for (var spurPath : spurPaths) {
                 // Add the potential k-shortest path to the heap.
-                if (!candidates.contains(rootPath)) {
-                    candidates.add(rootPath);
+                if (spurPath != null && candidateSet.add(spurPath)) {
+                    candidates.add(spurPath);
                 }
             }
 
@@ -182,10 +197,13 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
                 break;
             }
 
-            kShortestPaths.add(candidates.poll().withIndex(i));
+            var nextPath = candidates.poll();
+            candidateSet.remove(nextPath);
+            kShortestPaths.add(nextPath.withIndex(i));
             logFinish(i + 1);
         }
 
+        spurSearches.forEach(SpurSearch::release);
         progressLogger.logFinish();
 
         return ImmutableDijkstraResult
@@ -194,6 +212,42 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
             .build();
     }
 
+    private MutablePathResult[] computeSpurPaths(
+        List<SpurSearch> spurSearches,
+        MutablePathResult prevPath,
+        List<MutablePathResult> kShortestPaths
+    ) {
+        var spurNodeCount = prevPath.nodeCount() - 1;
+        var spurPaths = new MutablePathResult[spurNodeCount];
+        progressLogger.reset(spurNodeCount);
+
+        // Spur searches differ a lot in their runtime,
+        // so the spur nodes are handed out one at a time.
+        var nextSpurNode = new AtomicInteger();
+        var tasks = spurSearches.stream().map(spurSearch -> (Runnable) () -> {
+            int n;
+            while ((n = nextSpurNode.getAndIncrement()) < spurNodeCount) {
+                spurPaths[n] = spurSearch.compute(prevPath, n, kShortestPaths);
+            }
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executorService);
+
+        // The workers only count, logging happens on this thread once the batch is done.
+        var dijkstraCount = 0;
+        for (var spurSearch : spurSearches) {
+            dijkstraCount += spurSearch.dijkstraCount;
+            spurSearch.dijkstraCount = 0;
+        }
+        progressLogger.logMessage(formatWithLocale(
+            ":: Ran Dijkstra for %d of %d spur nodes",
+            dijkstraCount,
+            spurNodeCount
+        ));
+        progressLogger.logProgress(spurNodeCount);
+
+        return spurPaths;
+    }
+
     @NotNull
     private PriorityQueue<MutablePathResult> initCandidatesQueue() {
         return new PriorityQueue<>(Comparator
@@ -209,8 +263,7 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
     @Override
     public void release() {
         dijkstra.release();
-        nodeBlackList.release();
-        relationshipBlackList.release();
+        targetTree.ifPresent(TargetTree::release);
     }
 
     private void logStart(int iteration) {
@@ -226,8 +279,196 @@ public final class Yens extends Algorithm<Yens, DijkstraResult> {
         progressLogger.setTask("Dijkstra");
         progressLogger.reset(graph.relationshipCount());
         var pathResult = dijkstra.compute().paths().findFirst();
+        // Dijkstra only logs its finish if it runs out of nodes before it finds the target.
+        if (pathResult.isPresent()) {
+            progressLogger.logFinish();
+        }
         progressLogger.setTask("Yens");
         return pathResult;
     }
 
+    /**
+     * Computes the spur paths of single spur nodes, every thread needs its own instance.
+     */
+    private final class SpurSearch {
+        private final Graph graph;
+        private final Dijkstra dijkstra;
+        // Track nodes and relationships that are skipped for a single spur node.
+        // The content of these data structures is reset after each spur search.
+        private final LongScatterSet nodeBlackList;
+        private final LongObjectScatterMap<LongHashSet> relationshipBlackList;
+        private final MutableDouble treeWeight;
+        // Number of spur nodes that needed a Dijkstra run, read by the coordinating thread after each batch.
+        private int dijkstraCount;
+
+        SpurSearch() {
+            this.graph = Yens.this.graph.concurrentCopy();
+            this.nodeBlackList = new LongScatterSet();
+            this.relationshipBlackList = new LongObjectScatterMap<>();
+            this.treeWeight = new MutableDouble();
+            // The progress of spur searches is logged per spur node.
+            this.dijkstra = Dijkstra.sourceTarget(
+                graph,
+                config,
+                targetTree.map(tree -> tree::distance),
+                ProgressLogger.NULL_LOGGER,
+                tracker
+            );
+            // set filter in Dijkstra to respect our blacklists,
+            // nodes that cannot reach the target are skipped as well
+            var tree = targetTree.orElse(null);
+            dijkstra.withRelationshipFilter((source, target, relationshipId) ->
+                !nodeBlackList.contains(target) &&
+                !(relationshipBlackList.getOrDefault(source, EMPTY_SET).contains(relationshipId)) &&
+                (tree == null || tree.distance(target) < Double.POSITIVE_INFINITY)
+            );
+        }
+
+        /**
+         * Returns the candidate path that branches off the previous path at the spur node with the given index,
+         * or null if there is no such path.
+         */
+        @Nullable MutablePathResult compute(
+            MutablePathResult prevPath,
+            int n,
+            List<MutablePathResult> kShortestPaths
+        ) {
+            var spurNode = prevPath.node(n);
+            var rootPath = prevPath.subPath(n + 1);
+
+            for (var path : kShortestPaths) {
+                // Filter relationships that are part of the previous
+                // shortest paths which share the same root path.
+                if (rootPath.matches(path, n + 1)) {
+                    var relationshipId = path.relationship(n);
+
+                    var neighbors = relationshipBlackList.get(spurNode);
+
+                    if (neighbors == null) {
+                        neighbors = new LongHashSet();
+                        relationshipBlackList.put(spurNode, neighbors);
+                    }
+                    neighbors.add(relationshipId);
+                }
+            }
+
+            // Filter nodes from root path to avoid cyclic path searches.
+            for (int j = 0; j < n; j++) {
+                nodeBlackList.add(rootPath.node(j));
+            }
+
+            // Calculate the spur path from the spur node to the sink.
+            var spurPath = targetTree
+                .flatMap(tree -> treePath(tree, spurNode))
+                .or(() -> computeDijkstra(spurNode));
+
+            // Clear filters for next spur node
+            nodeBlackList.clear();
+            relationshipBlackList.clear();
+
+            // No new candidate from this spur node.
+            if (spurPath.isEmpty()) {
+                return null;
+            }
+
+            // Entire path is made up of the root path and spur path.
+            rootPath.append(MutablePathResult.of(spurPath.get()));
+            return rootPath;
+        }
+
+        private Optional<PathResult> computeDijkstra(long spurNode) {
+            dijkstraCount++;
+            dijkstra.clear();
+            dijkstra.withSourceNode(spurNode);
+            return dijkstra.compute().paths().findFirst();
+        }
+
+        /**
+         * Returns the spur path that leaves the spur node over the unfiltered relationship with the smallest
+         * sum of its weight and the tree distance of its target, and then follows the target tree.
+         * Every spur path costs at least that sum, so the path is a shortest spur path as long as
+         * it does not run into the root path, otherwise the spur search has to fall back to Dijkstra.
+         */
+        private Optional<PathResult> treePath(TargetTree tree, long spurNode) {
+            var filteredIds = relationshipBlackList.getOrDefault(spurNode, EMPTY_SET);
+            var relationshipId = new MutableLong();
+            var firstRelationshipId = new MutableLong(PATH_END);
+            var firstNode = new MutableLong(PATH_END);
+            var firstWeight = new MutableDouble();
+            var bestCost = new MutableDouble(Double.POSITIVE_INFINITY);
+            graph.forEachRelationship(spurNode, 1.0D, (source, target, weight) -> {
+                var cost = weight + tree.distance(target);
+                // A self-loop would make the spur node appear twice in the path.
+                if (cost < bestCost.doubleValue() &&
+                    target != spurNode &&
+                    !nodeBlackList.contains(target) &&
+                    !filteredIds.contains(relationshipId.longValue())) {
+                    bestCost.setValue(cost);
+                    firstRelationshipId.setValue(relationshipId.longValue());
+                    firstNode.setValue(target);
+                    firstWeight.setValue(weight);
+                }
+                relationshipId.increment();
+                return true;
+            });
+
+            if (firstNode.longValue() == PATH_END) {
+                return Optional.empty();
+            }
+
+            var nodeIds = new LongArrayList();
+            var relationshipIds = new LongArrayList();
+            var costs = new DoubleArrayList();
+            nodeIds.add(spurNode, firstNode.longValue());
+            relationshipIds.add(firstRelationshipId.longValue());
+            costs.add(0.0, firstWeight.doubleValue());
+
+            var node = firstNode.longValue();
+            var nextNode = tree.nextNode(node);
+            while (nextNode != PATH_END) {
+                if (nextNode == spurNode || nodeBlackList.contains(nextNode)) {
+                    return Optional.empty();
+                }
+                nodeIds.add(nextNode);
+                relationshipIds.add(treeRelationship(tree, node, nextNode));
+                costs.add(costs.get(costs.size() - 1) + treeWeight.doubleValue());
+                node = nextNode;
+                nextNode = tree.nextNode(node);
+            }
+
+            return Optional.of(ImmutablePathResult.builder()
+                .index(0)
+                .sourceNode(spurNode)
+                .targetNode(node)
+                .nodeIds(nodeIds.toArray())
+                .relationshipIds(config.trackRelationships() ? relationshipIds.toArray() : EMPTY_ARRAY)
+                .costs(costs.toArray())
+                .build());
+        }
+
+        /**
+         * Returns the id of the first relationship between the nodes that lies on the tree.
+         * The weight of the returned relationship is stored in {@link #treeWeight}.
+         */
+        private long treeRelationship(TargetTree tree, long node, long nextNode) {
+            var relationshipId = new MutableLong();
+            var treeRelationshipId = new MutableLong(PATH_END);
+            graph.forEachRelationship(node, 1.0D, (source, target, weight) -> {
+                if (target == nextNode && tree.distance(nextNode) + weight == tree.distance(node)) {
+                    treeRelationshipId.setValue(relationshipId.longValue());
+                    treeWeight.setValue(weight);
+                    return false;
+                }
+                relationshipId.increment();
+                return true;
+            });
+            return treeRelationshipId.longValue();
+        }
+
+        void release() {
+            dijkstra.release();
+            nodeBlackList.release();
+            relationshipBlackList.release();
+        }
+    }
 }
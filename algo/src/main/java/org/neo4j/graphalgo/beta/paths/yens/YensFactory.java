@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.paths.yens.config.ShortestPathYensBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -59,6 +60,12 @@ public class YensFactory<CONFIG extends ShortestPathYensBaseConfig> implements A
         Log log,
         ProgressEventTracker eventTracker
     ) {
-        return Yens.sourceTarget(graph, configuration, progressLogger(graph, log, eventTracker), tracker);
+        return Yens.sourceTarget(
+            graph,
+            configuration,
+            Pools.DEFAULT,
+            progressLogger(graph, log, eventTracker),
+            tracker
+        );
     }
 }
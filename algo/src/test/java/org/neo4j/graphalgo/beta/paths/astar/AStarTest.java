@@ -43,6 +43,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.Orientation.REVERSE;
 import static org.neo4j.graphalgo.beta.paths.PathTestUtil.expected;
 
 @GdlExtension
@@ -82,6 +83,7 @@ class AStarTest {
      * Distance = 2979 NM
      * */
     @GdlGraph
+    @GdlGraph(graphNamePrefix = "reverse", orientation = REVERSE)
     private static final String DB_CYPHER =
         "CREATE" +
         "  (nA:Node {latitude: 1.304444,    longitude: 103.717373})" + // name: 'SINGAPORE'
@@ -122,6 +124,9 @@ class AStarTest {
     @Inject
     Graph graph;
 
+    @Inject
+    Graph reverseGraph;
+
     @Inject
     IdFunction idFunction;
 
@@ -149,6 +154,30 @@ class AStarTest {
         assertEquals(expected, path);
     }
 
+    @Test
+    void bidirectional() {
+        var expected = expected(
+            idFunction,
+            0,
+            new double[]{0.0, 29.0, 723.0, 895.0, 996.0, 1353.0, 1652.0, 2392.0, 2979.0},
+            "nA", "nB", "nC", "nD", "nE", "nF", "nG", "nH", "nX"
+        );
+
+        var config = defaultSourceTargetConfigBuilder()
+            .sourceNode(idFunction.of("nA"))
+            .targetNode(idFunction.of("nX"))
+            .build();
+
+        var path = AStar
+            .bidirectional(graph, reverseGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(expected, path);
+    }
+
     @Test
     void shouldLogProgress() {
         var testLogger = new TestProgressLogger(graph.relationshipCount(), "AStar", 1);
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.contraction.config.ImmutableContractionHierarchiesMutateConfig;
+import org.neo4j.graphalgo.beta.paths.contraction.config.ImmutableContractionHierarchiesStreamConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.BidirectionalDijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableShortestPathDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.progress.EmptyProgressEventTracker;
+import org.neo4j.graphalgo.extension.GdlSupportExtension;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.gdl.ImmutableGraphCreateFromGdlConfig;
+import org.neo4j.logging.NullLog;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+final class ContractionHierarchiesTest {
+
+    private static final RelationshipType TYPE = RelationshipType.of("TYPE");
+    private static final RelationshipType SHORTCUT = RelationshipType.of("SHORTCUT");
+
+    private static final String GRAPH1 =
+        "CREATE" +
+        "  (a:Label)" +
+        ", (b:Label)" +
+        ", (c:Label)" +
+        ", (d:Label)" +
+        ", (e:Label)" +
+        ", (f:Label)" +
+
+        ", (a)-[:TYPE {cost: 4}]->(b)" +
+        ", (a)-[:TYPE {cost: 2}]->(c)" +
+        ", (b)-[:TYPE {cost: 5}]->(c)" +
+        ", (b)-[:TYPE {cost: 10}]->(d)" +
+        ", (c)-[:TYPE {cost: 3}]->(e)" +
+        ", (d)-[:TYPE {cost: 11}]->(f)" +
+        ", (e)-[:TYPE {cost: 4}]->(d)";
+
+    static ImmutableContractionHierarchiesMutateConfig.Builder defaultConfigBuilder() {
+        return ImmutableContractionHierarchiesMutateConfig.builder()
+            .relationshipWeightProperty("cost")
+            .mutateProperty("rank")
+            .mutateRelationshipType(SHORTCUT.name)
+            .concurrency(1);
+    }
+
+    static Stream<Arguments> expectedMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1_000, 4_000, 1, 250128L, 474176L),
+            Arguments.of(1_000, 4_000, 4, 265848L, 489896L),
+            Arguments.of(1_000_000, 4_000_000, 4, 244271592L, 468271640L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedMemoryEstimation")
+    void shouldComputeMemoryEstimation(
+        int nodeCount,
+        int relationshipCount,
+        int concurrency,
+        long expectedMinBytes,
+        long expectedMaxBytes
+    ) {
+        TestSupport.assertMemoryEstimation(
+            ContractionHierarchies::memoryEstimation,
+            nodeCount,
+            relationshipCount,
+            concurrency,
+            expectedMinBytes,
+            expectedMaxBytes
+        );
+    }
+
+    @Test
+    void shouldRankAllNodes() {
+        var graph = graphStore(GRAPH1, Orientation.NATURAL).getGraph(TYPE, Optional.of("cost"));
+
+        var result = contract(graph, 1);
+
+        var ranks = new HashSet<Long>();
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            ranks.add(result.ranks().get(node));
+        }
+        assertThat(ranks).containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void shouldFindShortestPathOnDirectedGraph() {
+        var gdlFactory = gdlFactory(GRAPH1, Orientation.NATURAL);
+        var graph = gdlFactory.build().graphStore().getGraph(TYPE, Optional.of("cost"));
+
+        var result = contract(graph, 1);
+        var path = query(
+            hierarchyGraph(GRAPH1, Orientation.NATURAL, result),
+            hierarchyGraph(GRAPH1, Orientation.REVERSE, result),
+            result,
+            gdlFactory.nodeId("a"),
+            gdlFactory.nodeId("f")
+        ).orElseThrow();
+
+        assertThat(path.nodeIds()).containsExactly(
+            graph.toMappedNodeId(gdlFactory.nodeId("a")),
+            graph.toMappedNodeId(gdlFactory.nodeId("c")),
+            graph.toMappedNodeId(gdlFactory.nodeId("e")),
+            graph.toMappedNodeId(gdlFactory.nodeId("d")),
+            graph.toMappedNodeId(gdlFactory.nodeId("f"))
+        );
+        assertThat(path.costs()).containsExactly(0.0, 2.0, 5.0, 9.0, 20.0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchDijkstraOnUndirectedGraph(int concurrency) {
+        var gdl = randomGraph(300, 900, 42);
+        var graph = graphStore(gdl, Orientation.UNDIRECTED).getGraph(TYPE, Optional.of("cost"));
+
+        var result = contract(graph, concurrency);
+        var hierarchyGraph = hierarchyGraph(gdl, Orientation.UNDIRECTED, result);
+        assertMatchesDijkstra(graph, hierarchyGraph, hierarchyGraph, result, 42);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchDijkstraOnDirectedGraph(int concurrency) {
+        var gdl = randomGraph(300, 1200, 1337);
+        var graph = graphStore(gdl, Orientation.NATURAL).getGraph(TYPE, Optional.of("cost"));
+
+        var result = contract(graph, concurrency);
+        assertMatchesDijkstra(
+            graph,
+            hierarchyGraph(gdl, Orientation.NATURAL, result),
+            hierarchyGraph(gdl, Orientation.REVERSE, result),
+            result,
+            1337
+        );
+    }
+
+    @Test
+    void shouldNotDependOnConcurrency() {
+        var graph = graphStore(randomGraph(500, 1500, 7), Orientation.UNDIRECTED).getGraph(TYPE, Optional.of("cost"));
+
+        var sequential = contract(graph, 1);
+        var parallel = contract(graph, 4);
+
+        assertThat(parallel.shortcutCount()).isEqualTo(sequential.shortcutCount());
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            assertThat(parallel.ranks().get(node)).isEqualTo(sequential.ranks().get(node));
+        }
+    }
+
+    @Test
+    void shouldFailOnDirectedGraphInQueryMode() {
+        var graph = graphStore(GRAPH1, Orientation.NATURAL).getGraph(TYPE, Optional.of("cost"));
+        var config = ImmutableContractionHierarchiesStreamConfig.builder()
+            .sourceNode(0)
+            .targetNode(1)
+            .nodeRankProperty("rank")
+            .build();
+
+        assertThatThrownBy(() -> new ContractionHierarchiesQueryFactory<>().build(
+            graph,
+            config,
+            AllocationTracker.empty(),
+            NullLog.getInstance(),
+            EmptyProgressEventTracker.INSTANCE
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("require an undirected graph");
+    }
+
+    @Test
+    void shouldRequireRelationshipWeightProperty() {
+        assertThatThrownBy(() -> defaultConfigBuilder().relationshipWeightProperty(null).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("`relationshipWeightProperty`");
+    }
+
+    private static void assertMatchesDijkstra(
+        Graph graph,
+        Graph forwardGraph,
+        Graph backwardGraph,
+        ContractionHierarchies.ContractionResult result,
+        long seed
+    ) {
+        var random = new Random(seed);
+        for (int i = 0; i < 50; i++) {
+            var sourceNode = graph.toOriginalNodeId(random.nextInt((int) graph.nodeCount()));
+            var targetNode = graph.toOriginalNodeId(random.nextInt((int) graph.nodeCount()));
+
+            var pathConfig = ImmutableShortestPathDijkstraStreamConfig.builder()
+                .sourceNode(sourceNode)
+                .targetNode(targetNode)
+                .build();
+            var expected = Dijkstra
+                .sourceTarget(graph, pathConfig, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst();
+
+            var actual = query(forwardGraph, backwardGraph, result, sourceNode, targetNode);
+
+            assertThat(actual.isPresent()).isEqualTo(expected.isPresent());
+            if (expected.isPresent()) {
+                var path = actual.get();
+                assertThat(path.totalCost()).isCloseTo(expected.get().totalCost(), within(1E-9));
+                // the unpacked path consists of relationships of the original graph
+                var nodeIds = path.nodeIds();
+                var costs = path.costs();
+                assertThat(nodeIds[0]).isEqualTo(graph.toMappedNodeId(sourceNode));
+                assertThat(nodeIds[nodeIds.length - 1]).isEqualTo(graph.toMappedNodeId(targetNode));
+                for (int j = 1; j < nodeIds.length; j++) {
+                    assertThat(minWeight(graph, nodeIds[j - 1], nodeIds[j])).isCloseTo(costs[j] - costs[j - 1], within(1E-9));
+                }
+            }
+        }
+    }
+
+    private static double minWeight(Graph graph, long source, long target) {
+        var minWeight = new double[]{Double.POSITIVE_INFINITY};
+        graph.forEachRelationship(source, 1.0D, (s, t, weight) -> {
+            if (t == target) {
+                minWeight[0] = Math.min(minWeight[0], weight);
+            }
+            return true;
+        });
+        return minWeight[0];
+    }
+
+    private static ContractionHierarchies.ContractionResult contract(Graph graph, int concurrency) {
+        var config = defaultConfigBuilder().concurrency(concurrency).build();
+        return new ContractionHierarchies(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+    }
+
+    private static Optional<PathResult> query(
+        Graph forwardGraph,
+        Graph backwardGraph,
+        ContractionHierarchies.ContractionResult result,
+        long sourceNode,
+        long targetNode
+    ) {
+        var config = ImmutableContractionHierarchiesStreamConfig.builder()
+            .sourceNode(sourceNode)
+            .targetNode(targetNode)
+            .nodeRankProperty("rank")
+            .build();
+        LongNodeProperties ranks = result.ranks()::get;
+
+        return BidirectionalDijkstra
+            .contractionHierarchy(forwardGraph, backwardGraph, ranks, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst();
+    }
+
+    /**
+     * The graph with the shortcuts, loaded with the given orientation.
+     */
+    private static Graph hierarchyGraph(String gdl, Orientation orientation, ContractionHierarchies.ContractionResult result) {
+        var graphStore = graphStore(gdl, orientation);
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(graphStore.nodes())
+            .orientation(orientation)
+            .loadRelationshipProperty(true)
+            .build();
+        result.forEachShortcut(relationshipsBuilder::addFromInternal);
+        graphStore.addRelationshipType(
+            SHORTCUT,
+            Optional.of("cost"),
+            Optional.of(NumberType.FLOATING_POINT),
+            relationshipsBuilder.build()
+        );
+        return graphStore.getGraph(List.of(TYPE, SHORTCUT), Optional.of("cost"));
+    }
+
+    private static GraphStore graphStore(String gdl, Orientation orientation) {
+        return gdlFactory(gdl, orientation).build().graphStore();
+    }
+
+    private static GdlFactory gdlFactory(String gdl, Orientation orientation) {
+        var config = ImmutableGraphCreateFromGdlConfig.builder()
+            .gdlGraph(gdl)
+            .graphName("graph")
+            .orientation(orientation)
+            .build();
+        return GdlFactory.of(config, GdlSupportExtension.DATABASE_ID);
+    }
+
+    private static String randomGraph(int nodeCount, int relationshipCount, long seed) {
+        var random = new Random(seed);
+        var gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < nodeCount; i++) {
+            gdl.append(i == 0 ? "" : ", ").append("(n").append(i).append(")");
+        }
+        for (int i = 0; i < relationshipCount; i++) {
+            var source = random.nextInt(nodeCount);
+            var target = random.nextInt(nodeCount);
+            gdl.append(", (n").append(source).append(")-[:TYPE {cost: ")
+                .append(0.1 + 10 * random.nextDouble())
+                .append("}]->(n").append(target).append(")");
+        }
+        return gdl.toString();
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.delta.config.ImmutableAllShortestPathsDeltaStreamConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableAllShortestPathsDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.beta.paths.PathTestUtil.expected;
+
+@GdlExtension
+final class DeltaSteppingTest {
+
+    @GdlGraph
+    private static final String DUMMY = "()";
+
+    static ImmutableAllShortestPathsDeltaStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableAllShortestPathsDeltaStreamConfig.builder()
+            .path(true)
+            .concurrency(1);
+    }
+
+    static Stream<Arguments> deltaAndConcurrency() {
+        return TestSupport.crossArguments(
+            () -> Stream.of(Arguments.of(0.5), Arguments.of(3.0), Arguments.of(100.0)),
+            () -> Stream.of(Arguments.of(1), Arguments.of(4))
+        );
+    }
+
+    static Stream<Arguments> expectedMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1_000, false, 32_232L),
+            Arguments.of(1_000_000, false, 32_000_232L),
+            Arguments.of(1_000, true, 40_272L),
+            Arguments.of(1_000_000, true, 40_000_272L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedMemoryEstimation")
+    void shouldComputeMemoryEstimation(int nodeCount, boolean trackRelationships, long expectedBytes) {
+        TestSupport.assertMemoryEstimation(
+            () -> DeltaStepping.memoryEstimation(trackRelationships),
+            nodeCount,
+            1,
+            expectedBytes,
+            expectedBytes
+        );
+    }
+
+    @Test
+    void shouldRejectNegativeWeights() {
+        var graph = TestSupport.fromGdl("(a)-[:TYPE {cost: 1.0}]->(b)-[:TYPE {cost: -1.0}]->(c)");
+        var config = defaultConfigBuilder()
+            .sourceNode(graph.toMappedNodeId("a"))
+            .delta(1.0)
+            .build();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> DeltaStepping
+                .of(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+        );
+        assertThat(exception).hasMessageContaining("requires non-negative relationship weights, got -1.000000");
+    }
+
+    @Nested
+    class Graph1 {
+
+        // https://www.cise.ufl.edu/~sahni/cop3530/slides/lec326.pdf without relationship id 14
+        @GdlGraph
+        private static final String DB_CYPHER =
+            "CREATE" +
+            "  (n1:Label)" +
+            ", (n2:Label)" +
+            ", (n3:Label)" +
+            ", (n4:Label)" +
+            ", (n5:Label)" +
+            ", (n6:Label)" +
+            ", (n7:Label)" +
+
+            ", (n1)-[:TYPE {cost: 6}]->(n2)" +
+            ", (n1)-[:TYPE {cost: 2}]->(n3)" +
+            ", (n1)-[:TYPE {cost: 16}]->(n4)" +
+            ", (n2)-[:TYPE {cost: 4}]->(n5)" +
+            ", (n2)-[:TYPE {cost: 5}]->(n4)" +
+            ", (n3)-[:TYPE {cost: 7}]->(n2)" +
+            ", (n3)-[:TYPE {cost: 3}]->(n5)" +
+            ", (n3)-[:TYPE {cost: 8}]->(n6)" +
+            ", (n4)-[:TYPE {cost: 7}]->(n3)" +
+            ", (n5)-[:TYPE {cost: 4}]->(n4)" +
+            ", (n5)-[:TYPE {cost: 10}]->(n7)" +
+            ", (n6)-[:TYPE {cost: 1}]->(n7)";
+
+        @Inject
+        private Graph graph;
+
+        @Inject
+        private IdFunction idFunction;
+
+        @Test
+        void shouldRejectNonPositiveDelta() {
+            var exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new DeltaStepping(
+                    graph,
+                    0,
+                    0.0,
+                    1,
+                    false,
+                    Pools.DEFAULT,
+                    ProgressLogger.NULL_LOGGER,
+                    AllocationTracker.empty()
+                )
+            );
+            assertThat(exception).hasMessage("Delta must be positive, got 0.000000.");
+        }
+
+        @ParameterizedTest
+        @MethodSource("org.neo4j.graphalgo.beta.paths.delta.DeltaSteppingTest#deltaAndConcurrency")
+        void singleSource(double delta, int concurrency) {
+            // paths are emitted in order of their target node id
+            var expected = Set.of(
+                expected(idFunction, 0, new double[]{0.0}, "n1"),
+                expected(idFunction, 1, new double[]{0.0, 6.0}, "n1", "n2"),
+                expected(idFunction, 2, new double[]{0.0, 2.0}, "n1", "n3"),
+                expected(idFunction, 3, new double[]{0.0, 2.0, 5.0, 9.0}, "n1", "n3", "n5", "n4"),
+                expected(idFunction, 4, new double[]{0.0, 2.0, 5.0}, "n1", "n3", "n5"),
+                expected(idFunction, 5, new double[]{0.0, 2.0, 10.0}, "n1", "n3", "n6"),
+                expected(idFunction, 6, new double[]{0.0, 2.0, 10.0, 11.0}, "n1", "n3", "n6", "n7")
+            );
+
+            var config = defaultConfigBuilder()
+                .sourceNode(idFunction.of("n1"))
+                .delta(delta)
+                .concurrency(concurrency)
+                .build();
+
+            var paths = DeltaStepping
+                .of(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .pathSet();
+
+            assertEquals(expected, paths);
+        }
+
+        @Test
+        void singleSourceFromDisconnectedNode() {
+            var expected = Set.of(
+                expected(idFunction, 0, new double[]{0.0}, "n6"),
+                expected(idFunction, 1, new double[]{0.0, 1.0}, "n6", "n7")
+            );
+
+            var config = defaultConfigBuilder()
+                .sourceNode(idFunction.of("n6"))
+                .build();
+
+            var paths = DeltaStepping
+                .of(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .pathSet();
+
+            assertEquals(expected, paths);
+        }
+
+        @Test
+        void singleSourceWithRelationshipIds() {
+            var expected = ImmutablePathResult
+                .builder()
+                .from(expected(idFunction, 6, new double[]{0.0, 2.0, 10.0, 11.0}, "n1", "n3", "n6", "n7"))
+                .relationshipIds(1, 2, 0)
+                .build();
+
+            var config = defaultConfigBuilder()
+                .sourceNode(idFunction.of("n1"))
+                .trackRelationships(true)
+                .build();
+
+            var path = DeltaStepping
+                .of(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .filter(pathResult -> pathResult.targetNode() == idFunction.of("n7"))
+                .findFirst()
+                .get();
+
+            assertEquals(expected, path);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("deltaAndConcurrency")
+    void shouldComputeSameDistancesAsDijkstra(double delta, int concurrency) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(20_000)
+            .averageDegree(8)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .relationshipPropertyProducer(PropertyProducer.random("cost", 0, 10))
+            .seed(42L)
+            .build()
+            .generate();
+
+        var dijkstraConfig = ImmutableAllShortestPathsDijkstraStreamConfig.builder()
+            .sourceNode(0)
+            .concurrency(1)
+            .build();
+        Map<Long, Double> expected = Dijkstra
+            .singleSource(graph, dijkstraConfig, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .collect(Collectors.toMap(PathResult::targetNode, PathResult::totalCost));
+
+        var config = defaultConfigBuilder()
+            .sourceNode(0)
+            .delta(delta)
+            .concurrency(concurrency)
+            .build();
+        Map<Long, PathResult> actual = DeltaStepping
+            .of(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .collect(Collectors.toMap(PathResult::targetNode, Function.identity()));
+
+        assertThat(actual.keySet()).isEqualTo(expected.keySet());
+        actual.forEach((target, path) -> {
+            assertThat(path.totalCost()).isEqualTo(expected.get(target));
+
+            // every path follows existing relationships with matching costs
+            long[] nodeIds = path.nodeIds();
+            double[] costs = path.costs();
+            assertThat(nodeIds[0]).isEqualTo(0L);
+            for (int i = 1; i < nodeIds.length; i++) {
+                assertThat(graph.exists(nodeIds[i - 1], nodeIds[i])).isTrue();
+                assertThat(costs[i]).isGreaterThanOrEqualTo(costs[i - 1]);
+            }
+        });
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.dijkstra;
+
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableShortestPathDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.Orientation.REVERSE;
+import static org.neo4j.graphalgo.beta.paths.PathTestUtil.expected;
+
+@GdlExtension
+final class BidirectionalDijkstraTest {
+
+    @GdlGraph
+    private static final String DUMMY = "()";
+
+    static ImmutableShortestPathDijkstraStreamConfig.Builder defaultSourceTargetConfigBuilder() {
+        return ImmutableShortestPathDijkstraStreamConfig.builder()
+            .path(true)
+            .concurrency(1);
+    }
+
+    static Stream<Arguments> expectedMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1_000, false, 65_024L),
+            Arguments.of(1_000_000, false, 64_001_024L),
+            Arguments.of(1_000, true, 81_240L),
+            Arguments.of(1_000_000, true, 80_001_240L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedMemoryEstimation")
+    void shouldComputeMemoryEstimation(int nodeCount, boolean trackRelationships, long expectedBytes) {
+        TestSupport.assertMemoryEstimation(
+            () -> BidirectionalDijkstra.memoryEstimation(trackRelationships),
+            nodeCount,
+            1,
+            expectedBytes,
+            expectedBytes
+        );
+    }
+
+    @Nested
+    class Graph1 {
+
+        // https://en.wikipedia.org/wiki/Shortest_path_problem#/media/File:Shortest_path_with_direct_weights.svg
+        @GdlGraph
+        @GdlGraph(graphNamePrefix = "reverse", orientation = REVERSE)
+        private static final String DB_CYPHER =
+            "CREATE" +
+            "  (a:Label { distance: 1.0 })" +
+            ", (b:Label { distance: 42.0 })" +
+            ", (c:Label { distance: 1.0 })" +
+            ", (d:Label { distance: 1.0 })" +
+            ", (e:Label { distance: 1.0 })" +
+            ", (f:Label { distance: 0.0 })" +
+
+            ", (a)-[:TYPE {cost: 4}]->(b)" +
+            ", (a)-[:TYPE {cost: 2}]->(c)" +
+            ", (b)-[:TYPE {cost: 5}]->(c)" +
+            ", (b)-[:TYPE {cost: 10}]->(d)" +
+            ", (c)-[:TYPE {cost: 3}]->(e)" +
+            ", (d)-[:TYPE {cost: 11}]->(f)" +
+            ", (e)-[:TYPE {cost: 4}]->(d)";
+
+        @Inject
+        private Graph graph;
+
+        @Inject
+        private Graph reverseGraph;
+
+        @Inject
+        private IdFunction idFunction;
+
+        @Test
+        void nonExisting() {
+            var config = defaultSourceTargetConfigBuilder()
+                .sourceNode(idFunction.of("f"))
+                .targetNode(idFunction.of("a"))
+                .build();
+
+            var paths = BidirectionalDijkstra
+                .sourceTarget(graph, reverseGraph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .pathSet();
+
+            assertTrue(paths.isEmpty());
+        }
+
+        @Test
+        void sourceEqualsTarget() {
+            var expected = expected(idFunction, 0, new double[]{0.0}, "c");
+
+            var config = defaultSourceTargetConfigBuilder()
+                .sourceNode(idFunction.of("c"))
+                .targetNode(idFunction.of("c"))
+                .build();
+
+            var path = BidirectionalDijkstra
+                .sourceTarget(graph, reverseGraph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst()
+                .get();
+
+            assertEquals(expected, path);
+        }
+
+        @Test
+        void sourceTarget() {
+            var expected = expected(idFunction, 0, new double[]{0.0, 2.0, 5.0, 9.0, 20.0}, "a", "c", "e", "d", "f");
+
+            var config = defaultSourceTargetConfigBuilder()
+                .sourceNode(idFunction.of("a"))
+                .targetNode(idFunction.of("f"))
+                .build();
+
+            var path = BidirectionalDijkstra
+                .sourceTarget(graph, reverseGraph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst()
+                .get();
+
+            assertEquals(expected, path);
+        }
+
+        @Test
+        void sourceTargetWithRelationshipIds() {
+            var expected = ImmutablePathResult
+                .builder()
+                .from(expected(idFunction, 0, new double[]{0.0, 2.0, 5.0, 9.0, 20.0}, "a", "c", "e", "d", "f"))
+                .relationshipIds(1, 0, 0, 0)
+                .build();
+
+            var config = defaultSourceTargetConfigBuilder()
+                .sourceNode(idFunction.of("a"))
+                .targetNode(idFunction.of("f"))
+                .trackRelationships(true)
+                .build();
+
+            var path = BidirectionalDijkstra
+                .sourceTarget(graph, reverseGraph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst()
+                .get();
+
+            assertEquals(expected, path);
+        }
+
+        @Test
+        void sourceTargetWithHeuristics() {
+            var expected = expected(idFunction, 0, new double[]{0.0, 2.0, 5.0, 9.0, 20.0}, "a", "c", "e", "d", "f");
+
+            var config = defaultSourceTargetConfigBuilder()
+                .sourceNode(idFunction.of("a"))
+                .targetNode(idFunction.of("f"))
+                .build();
+
+            var heuristics = new BidirectionalDijkstra.HeuristicFunctions(
+                nodeId -> graph.nodeProperties("distance").doubleValue(nodeId),
+                nodeId -> 0.0
+            );
+
+            var path = BidirectionalDijkstra
+                .sourceTarget(graph, reverseGraph, config, Optional.of(heuristics), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst()
+                .get();
+
+            assertEquals(expected, path);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 7L, 42L, 1337L, 4711L})
+    void shouldComputeSameCostsAsDijkstra(long targetNode) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(4)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .relationshipPropertyProducer(PropertyProducer.random("cost", 0, 10))
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .build()
+            .generate();
+
+        var config = defaultSourceTargetConfigBuilder()
+            .sourceNode(0)
+            .targetNode(targetNode)
+            .trackRelationships(true)
+            .build();
+
+        var expected = Dijkstra
+            .sourceTarget(graph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst();
+
+        var actual = BidirectionalDijkstra
+            .sourceTarget(graph, graph, config, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst();
+
+        assertThat(actual.isPresent()).isEqualTo(expected.isPresent());
+        actual.ifPresent(path -> {
+            assertThat(path.totalCost()).isCloseTo(expected.get().totalCost(), within(1E-9));
+
+            // every path follows existing relationships with matching costs
+            long[] nodeIds = path.nodeIds();
+            long[] relationshipIds = path.relationshipIds();
+            double[] costs = path.costs();
+            assertThat(nodeIds[0]).isEqualTo(0L);
+            assertThat(nodeIds[nodeIds.length - 1]).isEqualTo(targetNode);
+            assertThat(relationshipIds).hasSize(nodeIds.length - 1);
+            for (int i = 1; i < nodeIds.length; i++) {
+                var relationshipId = relationshipIds[i - 1];
+                var target = new MutableLong(-1);
+                var weight = new MutableDouble(Double.NaN);
+                var index = new MutableLong();
+                graph.forEachRelationship(nodeIds[i - 1], 1.0D, (s, t, w) -> {
+                    if (index.getAndIncrement() == relationshipId) {
+                        target.setValue(t);
+                        weight.setValue(w);
+                    }
+                    return true;
+                });
+                assertThat(target.longValue()).isEqualTo(nodeIds[i]);
+                assertThat(weight.doubleValue()).isCloseTo(costs[i] - costs[i - 1], within(1E-9));
+            }
+        });
+    }
+}
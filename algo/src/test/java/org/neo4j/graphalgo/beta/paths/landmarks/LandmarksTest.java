@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.landmarks;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.beta.paths.dijkstra.BidirectionalDijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableShortestPathDijkstraStreamConfig;
+import org.neo4j.graphalgo.beta.paths.landmarks.config.ImmutableLandmarksMutateConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@GdlExtension
+final class LandmarksTest {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    @GdlGraph
+    private static final String DUMMY = "()";
+
+    static ImmutableLandmarksMutateConfig.Builder defaultConfigBuilder() {
+        return ImmutableLandmarksMutateConfig.builder()
+            .mutateProperty("landmarks")
+            .concurrency(1);
+    }
+
+    static Stream<Arguments> expectedMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1_000, 4, 92_368L),
+            Arguments.of(1_000_000, 4, 92_000_368L),
+            Arguments.of(1_000, 16, 188_368L),
+            Arguments.of(1_000_000, 16, 188_000_368L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedMemoryEstimation")
+    void shouldComputeMemoryEstimation(int nodeCount, int landmarkCount, long expectedBytes) {
+        var config = defaultConfigBuilder().landmarkCount(landmarkCount).build();
+        TestSupport.assertMemoryEstimation(
+            () -> Landmarks.memoryEstimation(config),
+            nodeCount,
+            1,
+            expectedBytes,
+            expectedBytes
+        );
+    }
+
+    @Nested
+    class Graph1 {
+
+        @GdlGraph
+        private static final String DB_CYPHER =
+            "CREATE" +
+            "  (a:Label)" +
+            ", (b:Label)" +
+            ", (c:Label)" +
+            ", (d:Label)" +
+            ", (e:Label)" +
+            ", (f:Label)" +
+
+            ", (a)-[:TYPE {cost: 4}]->(b)" +
+            ", (a)-[:TYPE {cost: 2}]->(c)" +
+            ", (b)-[:TYPE {cost: 5}]->(c)" +
+            ", (b)-[:TYPE {cost: 10}]->(d)" +
+            ", (c)-[:TYPE {cost: 3}]->(e)" +
+            ", (d)-[:TYPE {cost: 11}]->(f)" +
+            ", (e)-[:TYPE {cost: 4}]->(d)";
+
+        @Inject
+        private Graph graph;
+
+        @Inject
+        private IdFunction idFunction;
+
+        @Test
+        void selectsFarthestLandmarks() {
+            var config = defaultConfigBuilder().landmarkCount(2).build();
+
+            var result = new Landmarks(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute();
+
+            // f is farthest away from a, a is not reachable from f
+            assertThat(result.landmarks()).containsExactly(
+                graph.toMappedNodeId(idFunction.of("f")),
+                graph.toMappedNodeId(idFunction.of("a"))
+            );
+
+            assertThat(distances(result, "a")).containsExactly(INF, 0.0);
+            assertThat(distances(result, "b")).containsExactly(INF, 4.0);
+            assertThat(distances(result, "c")).containsExactly(INF, 2.0);
+            assertThat(distances(result, "d")).containsExactly(INF, 9.0);
+            assertThat(distances(result, "e")).containsExactly(INF, 5.0);
+            assertThat(distances(result, "f")).containsExactly(0.0, 20.0);
+        }
+
+        @Test
+        void selectsAtMostNodeCountLandmarks() {
+            var config = defaultConfigBuilder().landmarkCount(42).build();
+
+            var result = new Landmarks(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute();
+
+            assertThat(result.landmarks()).hasSize(6).doesNotHaveDuplicates();
+            assertThat(distances(result, "a")).hasSize(6);
+        }
+
+        @Test
+        void heuristicIsALowerBound() {
+            var config = defaultConfigBuilder().landmarkCount(3).build();
+            var result = new Landmarks(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute();
+            DoubleArrayNodeProperties landmarkDistances = result.distances()::get;
+
+            var target = graph.toMappedNodeId(idFunction.of("f"));
+            var heuristic = LandmarkHeuristic.toTarget(landmarkDistances, target);
+
+            assertThat(heuristic.applyAsDouble(graph.toMappedNodeId(idFunction.of("a")))).isEqualTo(20.0);
+            assertThat(heuristic.applyAsDouble(graph.toMappedNodeId(idFunction.of("c")))).isEqualTo(18.0);
+            assertThat(heuristic.applyAsDouble(target)).isEqualTo(0.0);
+        }
+
+        @Test
+        void shouldFailOnMissingLandmarkProperty() {
+            assertThatThrownBy(() -> LandmarkHeuristic.toTarget(graph, "landmarks", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The property `landmarks` has not been loaded");
+        }
+
+        private double[] distances(Landmarks.LandmarksResult result, String variable) {
+            return result.distances().get(graph.toMappedNodeId(idFunction.of(variable)));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldExploreFewerNodesThanDijkstra(int concurrency) {
+        // a grid of unit weight roads
+        int width = 40;
+        var gdl = new StringBuilder("CREATE ");
+        for (int i = 0; i < width * width; i++) {
+            gdl.append(i == 0 ? "" : ", ").append("(n").append(i).append(")");
+        }
+        for (int i = 0; i < width * width; i++) {
+            if (i % width != width - 1) {
+                gdl.append(", (n").append(i).append(")-[:R {cost: 1.0}]->(n").append(i + 1).append(")");
+            }
+            if (i + width < width * width) {
+                gdl.append(", (n").append(i).append(")-[:R {cost: 1.0}]->(n").append(i + width).append(")");
+            }
+        }
+        Graph graph = TestSupport.fromGdl(gdl.toString(), Orientation.UNDIRECTED);
+
+        var config = defaultConfigBuilder().landmarkCount(8).concurrency(concurrency).build();
+        var result = new Landmarks(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+        DoubleArrayNodeProperties landmarkDistances = result.distances()::get;
+
+        var sourceNode = graph.toOriginalNodeId(width / 2);
+        var targetNode = graph.toOriginalNodeId(width * (width - 1) + width / 2);
+        var pathConfig = ImmutableShortestPathDijkstraStreamConfig.builder()
+            .sourceNode(sourceNode)
+            .targetNode(targetNode)
+            .concurrency(1)
+            .build();
+
+        var dijkstraNodes = new LongHashSet();
+        var dijkstraCost = Dijkstra
+            .sourceTarget(graph, pathConfig, Optional.of(node -> {
+                dijkstraNodes.add(node);
+                return 0.0;
+            }), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get()
+            .totalCost();
+
+        var altNodes = new LongHashSet();
+        var altHeuristic = LandmarkHeuristic.toTarget(landmarkDistances, graph.toMappedNodeId(targetNode));
+        var altCost = Dijkstra
+            .sourceTarget(graph, pathConfig, Optional.of(node -> {
+                altNodes.add(node);
+                return altHeuristic.applyAsDouble(node);
+            }), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get()
+            .totalCost();
+
+        var bidirectionalCost = BidirectionalDijkstra
+            .sourceTarget(
+                graph,
+                graph,
+                pathConfig,
+                Optional.of(new BidirectionalDijkstra.HeuristicFunctions(
+                    altHeuristic,
+                    LandmarkHeuristic.fromSource(landmarkDistances, graph.toMappedNodeId(sourceNode))
+                )),
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+            .compute()
+            .paths()
+            .findFirst()
+            .get()
+            .totalCost();
+
+        assertThat(altCost).isCloseTo(dijkstraCost, within(1E-9));
+        assertThat(bidirectionalCost).isCloseTo(dijkstraCost, within(1E-9));
+        assertThat(altNodes.size()).isLessThan(dijkstraNodes.size() / 4);
+    }
+}
@@ -27,31 +27,49 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
 import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
 import org.neo4j.graphalgo.beta.paths.yens.config.ImmutableShortestPathYensStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.GdlSupportExtension;
 import org.neo4j.graphalgo.extension.IdFunction;
 import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.gdl.ImmutableGraphCreateFromGdlConfig;
 import org.s1ck.gdl.GDLHandler;
 import org.s1ck.gdl.model.Edge;
 import org.s1ck.gdl.model.Vertex;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.Orientation.NATURAL;
+import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @GdlExtension
@@ -65,9 +83,9 @@ class YensTest {
 
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1_000, 33_056L),
-            Arguments.of(1_000_000, 32_250_800L),
-            Arguments.of(1_000_000_000, 32_254_883_712L)
+            Arguments.of(1_000, 81_952L),
+            Arguments.of(1_000_000, 80_501_440L),
+            Arguments.of(1_000_000_000, 80_512_208_720L)
         );
     }
 
@@ -85,6 +103,7 @@ class YensTest {
 
     // https://en.wikipedia.org/wiki/Yen%27s_algorithm#/media/File:Yen's_K-Shortest_Path_Algorithm,_K=3,_A_to_F.gif
     @GdlGraph
+    @GdlGraph(graphNamePrefix = "undirected", orientation = UNDIRECTED)
     private static final String DB_CYPHER =
         "CREATE" +
         "  (c {id: 0})" +
@@ -106,6 +125,9 @@ class YensTest {
     @Inject
     private Graph graph;
 
+    @Inject
+    private Graph undirectedGraph;
+
     @Inject
     private IdFunction idFunction;
 
@@ -179,11 +201,16 @@ class YensTest {
             .build();
 
         var ignored = Yens
-            .sourceTarget(graph, config, testLogger, AllocationTracker.empty())
+            .sourceTarget(graph, config, Pools.DEFAULT, testLogger, AllocationTracker.empty())
             .compute()
             .pathSet();
 
-        assertEquals(8, testLogger.getProgresses().size());
+        // once for the first path and once for each further path
+        var progresses = testLogger.getProgresses();
+        assertEquals(k + 1, progresses.size());
+        // one progress for each spur node of the previous path
+        assertEquals(3, progresses.get(2).get());
+        assertEquals(3, progresses.get(3).get());
 
         // once
         assertTrue(testLogger.containsMessage(TestLog.INFO, "Yens :: Start"));
@@ -202,10 +229,193 @@ class YensTest {
         }
         // multiple times within each k
         assertTrue(testLogger.containsMessage(TestLog.INFO, formatWithLocale("Yens :: Start Dijkstra for spur node")));
+        // once within each further k, logged after the spur searches of that k have finished
+        assertTrue(testLogger.containsMessage(TestLog.INFO, "Yens :: Ran Dijkstra for"));
         assertTrue(testLogger.containsMessage(TestLog.INFO, formatWithLocale("Dijkstra :: Start")));
         assertTrue(testLogger.containsMessage(TestLog.INFO, formatWithLocale("Dijkstra :: Finished")));
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldNotDependOnConcurrency(int concurrency) {
+        for (var inputGraph : List.of(graph, undirectedGraph)) {
+            var expected = yens(inputGraph, 7, 1).pathSet();
+            var actual = yens(inputGraph, 7, concurrency).pathSet();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldFindShortestSimplePathsOnUndirectedGraph(int concurrency) {
+        int k = 10;
+        var paths = yens(undirectedGraph, k, concurrency).pathSet();
+
+        var expectedCosts = new ArrayList<Double>();
+        collectSimplePathCosts(
+            undirectedGraph,
+            undirectedGraph.toMappedNodeId(idFunction.of("h")),
+            new LinkedList<>(List.of(undirectedGraph.toMappedNodeId(idFunction.of("c")))),
+            0.0,
+            expectedCosts
+        );
+        Collections.sort(expectedCosts);
+
+        var actualCosts = paths.stream()
+            .sorted(Comparator.comparingLong(PathResult::index))
+            .map(PathResult::totalCost)
+            .collect(Collectors.toList());
+        assertThat(actualCosts).containsExactlyElementsOf(expectedCosts.subList(0, k));
+
+        for (var path : paths) {
+            assertThat(Arrays.stream(path.nodeIds()).distinct().count()).isEqualTo(path.nodeIds().length);
+        }
+        assertThat(paths.stream().map(path -> Arrays.toString(path.nodeIds()) + Arrays.toString(path.relationshipIds())))
+            .doesNotHaveDuplicates();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchDirectedSearchOnUndirectedGraph(int concurrency) {
+        int k = 20;
+        var relationships = randomRelationships(40, 120, 42L);
+        // the same graph, once undirected and once with explicit relationships in both directions
+        var undirected = gdlGraph(relationships, false, UNDIRECTED);
+        var directed = gdlGraph(relationships, true, NATURAL);
+
+        var expectedCosts = totalCosts(directed, k, concurrency);
+        var actualCosts = totalCosts(undirected, k, concurrency);
+
+        assertThat(expectedCosts).hasSize(k);
+        assertThat(actualCosts).containsExactlyElementsOf(expectedCosts);
+    }
+
+    @Test
+    void shouldNotFollowZeroWeightSelfLoopsOnUndirectedGraph() {
+        int k = 20;
+        var relationships = new ArrayList<>(randomRelationships(40, 120, 1337L));
+        // a self-loop has the same tree distance as its node and would be the cheapest first relationship
+        for (int i = 0; i < 40; i++) {
+            relationships.add(formatWithLocale("(n%d)-[:REL {cost: 0.0}]->(n%d)", i, i));
+        }
+        var undirected = gdlGraph(relationships, false, UNDIRECTED);
+
+        var config = defaultSourceTargetConfigBuilder()
+            .sourceNode(undirected.toOriginalNodeId(0))
+            .targetNode(undirected.toOriginalNodeId(1))
+            .k(k)
+            .build();
+        var paths = Yens
+            .sourceTarget(undirected, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .pathSet();
+
+        assertThat(paths).hasSize(k);
+        for (var path : paths) {
+            assertThat(Arrays.stream(path.nodeIds()).distinct().count()).isEqualTo(path.nodeIds().length);
+        }
+    }
+
+    private static List<Double> totalCosts(Graph graph, int k, int concurrency) {
+        var config = defaultSourceTargetConfigBuilder()
+            .sourceNode(graph.toOriginalNodeId(0))
+            .targetNode(graph.toOriginalNodeId(1))
+            .k(k)
+            .concurrency(concurrency)
+            .build();
+
+        return Yens
+            .sourceTarget(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .map(PathResult::totalCost)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> randomRelationships(int nodeCount, int relationshipCount, long seed) {
+        var random = new Random(seed);
+        var relationships = new ArrayList<String>();
+        while (relationships.size() < relationshipCount) {
+            var source = random.nextInt(nodeCount);
+            var target = random.nextInt(nodeCount);
+            if (source != target) {
+                relationships.add(formatWithLocale(
+                    "(n%d)-[:REL {cost: %f}]->(n%d)",
+                    source,
+                    0.1 + 10 * random.nextDouble(),
+                    target
+                ));
+            }
+        }
+        return relationships;
+    }
+
+    private static Graph gdlGraph(List<String> relationships, boolean bothDirections, Orientation orientation) {
+        var gdl = new StringBuilder("CREATE (n0), (n1)");
+        for (var relationship : relationships) {
+            gdl.append(", ").append(relationship);
+            if (bothDirections) {
+                // swap source and target, the weight stays the same
+                var reversed = relationship.replaceFirst("^\\((n\\d+)\\)(-\\[.*\\]->)\\((n\\d+)\\)$", "($3)$2($1)");
+                gdl.append(", ").append(reversed);
+            }
+        }
+        var config = ImmutableGraphCreateFromGdlConfig.builder()
+            .gdlGraph(gdl.toString())
+            .graphName("graph")
+            .orientation(orientation)
+            .build();
+        return GdlFactory.of(config, GdlSupportExtension.DATABASE_ID)
+            .build()
+            .graphStore()
+            .getGraph(RelationshipType.of("REL"), Optional.of("cost"));
+    }
+
+    private DijkstraResult yens(Graph graph, int k, int concurrency) {
+        var config = defaultSourceTargetConfigBuilder()
+            .sourceNode(idFunction.of("c"))
+            .targetNode(idFunction.of("h"))
+            .k(k)
+            .concurrency(concurrency)
+            .build();
+
+        return Yens
+            .sourceTarget(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+    }
+
+    // Enumerates all simple paths, every relationship between two nodes counts as a separate path.
+    private static void collectSimplePathCosts(
+        Graph graph,
+        long targetNode,
+        LinkedList<Long> path,
+        double cost,
+        List<Double> costs
+    ) {
+        var node = path.getLast();
+        if (node == targetNode) {
+            costs.add(cost);
+            return;
+        }
+
+        var neighbours = new ArrayList<Long>();
+        var weights = new ArrayList<Double>();
+        graph.forEachRelationship(node, 1.0D, (source, target, weight) -> {
+            neighbours.add(target);
+            weights.add(weight);
+            return true;
+        });
+
+        for (int i = 0; i < neighbours.size(); i++) {
+            var neighbour = neighbours.get(i);
+            if (!path.contains(neighbour)) {
+                path.addLast(neighbour);
+                collectSimplePathCosts(graph, targetNode, path, cost + weights.get(i), costs);
+                path.removeLast();
+            }
+        }
+    }
+
     private static void assertResult(Graph graph, IdFunction idFunction, Collection<String> expectedPaths) {
         var expectedPathResults = expectedPathResults(idFunction, expectedPaths);
 
@@ -227,7 +437,7 @@ class YensTest {
             .build();
 
         var actualPathResults = Yens
-            .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .sourceTarget(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
             .compute()
             .pathSet();
 
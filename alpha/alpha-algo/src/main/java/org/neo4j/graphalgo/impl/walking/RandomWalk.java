@@ -21,13 +21,18 @@ package org.neo4j.graphalgo.impl.walking;
 
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.mutable.MutableLong;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IntBinaryPredicate;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
+import org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +49,8 @@ import static org.neo4j.graphalgo.impl.walking.RandomWalk.NextNodeStrategy.NO_NE
 
 public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
 
+    private static final int QUEUE_SIZE = 1000;
+
     private final Graph graph;
     private final int steps;
     private final NextNodeStrategy strategy;
@@ -67,15 +74,26 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         this.idStream = idStream;
     }
 
+    public static MemoryEstimation memoryEstimation(RandomWalkConfig config) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(RandomWalk.class)
+            .fixed("walk queue", QUEUE_SIZE * MemoryUsage.sizeOfLongArray(config.steps() + 1));
+        if (config.useSamplingIndex()) {
+            builder.add(
+                "sampling index",
+                NeighbourSamplingIndex.memoryEstimation(config.relationshipWeightProperty() != null)
+            );
+        }
+        return builder.build();
+    }
+
     @Override
     public Stream<long[]> compute() {
         int timeout = 100;
-        int queueSize = 1000;
 
         int batchSize = ParallelUtil.adjustedBatchSize(limit, concurrency, 100);
         Collection<Runnable> tasks = new ArrayList<>((limit / batchSize) + 1);
 
-        ArrayBlockingQueue<long[]> queue = new ArrayBlockingQueue<>(queueSize);
+        ArrayBlockingQueue<long[]> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
         long[] TOMB = new long[0];
 
         while (idStream.hasNext()) {
@@ -154,12 +172,26 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
 
     public static class RandomNextNodeStrategy extends NextNodeStrategy {
 
+        private final @Nullable NeighbourSamplingIndex samplingIndex;
+
         public RandomNextNodeStrategy(Graph graph, Degrees degrees) {
+            this(graph, degrees, null);
+        }
+
+        /**
+         * If a sampling index is given, the next node is drawn in constant time,
+         * proportional to the relationship weights if the index is weighted.
+         */
+        public RandomNextNodeStrategy(Graph graph, Degrees degrees, @Nullable NeighbourSamplingIndex samplingIndex) {
             super(graph, degrees);
+            this.samplingIndex = samplingIndex;
         }
 
         @Override
         public long getNextNode(long currentNodeId, long previousNodeId) {
+            if (samplingIndex != null) {
+                return samplingIndex.sample(currentNodeId, ThreadLocalRandom.current());
+            }
             int degree = degrees.degree(currentNodeId);
             if (degree == 0) {
                 return NO_NEXT_NODE;
@@ -184,15 +216,43 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
     public static class Node2VecStrategy extends NextNodeStrategy {
         private final double returnParam;
         private final double inOutParam;
-
+        private final @Nullable NeighbourSamplingIndex samplingIndex;
 
         public Node2VecStrategy(Graph graph, Degrees degrees, double returnParam, double inOutParam) {
+            this(graph, degrees, returnParam, inOutParam, null);
+        }
+
+        /**
+         * If a sampling index is given, the next node is drawn by rejection
+         * sampling in expected constant time instead of computing the
+         * probability distribution over all neighbours of the current node.
+         */
+        public Node2VecStrategy(
+            Graph graph,
+            Degrees degrees,
+            double returnParam,
+            double inOutParam,
+            @Nullable NeighbourSamplingIndex samplingIndex
+        ) {
             super(graph, degrees);
             this.returnParam = returnParam;
             this.inOutParam = inOutParam;
+            this.samplingIndex = samplingIndex;
+            if (samplingIndex != null) {
+                NeighbourSamplingIndex.validateNode2VecParameters(returnParam, inOutParam);
+            }
         }
 
         public long getNextNode(long currentNode, long previousNode) {
+            if (samplingIndex != null) {
+                return samplingIndex.sampleNode2Vec(
+                    currentNode,
+                    previousNode,
+                    returnParam,
+                    inOutParam,
+                    ThreadLocalRandom.current()
+                );
+            }
             int currentNodeId = Math.toIntExact(currentNode);
             int previousNodeId = Math.toIntExact(previousNode);
 
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 
 import java.util.Optional;
@@ -32,7 +33,7 @@ import java.util.Optional;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface RandomWalkConfig extends AlgoBaseConfig {
+public interface RandomWalkConfig extends AlgoBaseConfig, RelationshipWeightConfig {
 
     @Value.Default
     default @Nullable Object start() {
@@ -65,6 +66,22 @@ public interface RandomWalkConfig extends AlgoBaseConfig {
         return 1.0D;
     }
 
+    /**
+     * Whether walk steps are sampled from a precomputed {@link org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex}.
+     * Neighbours are sampled uniformly, unless a {@link #relationshipWeightProperty()} is given.
+     */
+    @Value.Default
+    default boolean useSamplingIndex() {
+        return false;
+    }
+
+    @Value.Check
+    default void validateWeightedSampling() {
+        if (relationshipWeightProperty() != null && !useSamplingIndex()) {
+            throw new IllegalArgumentException("Sampling by `relationshipWeightProperty` requires `useSamplingIndex` to be enabled.");
+        }
+    }
+
     @Value.Default
     default boolean path() {
         return false;
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.walking;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A precomputed index to sample a neighbour of a node in constant time.
+ * <p>
+ * The neighbours of all nodes are copied into a single array, sorted by
+ * target id. Neighbours are sampled uniformly, unless the index is
+ * weighted. A weighted index samples neighbours proportionally to the
+ * relationship property values using one alias table per node (Vose's method).
+ * <p>
+ * Second-order node2vec steps are sampled by rejection: a neighbour is
+ * proposed from the first-order distribution and accepted with its
+ * node2vec bias relative to the largest possible bias. Each proposal
+ * needs a single binary search in the neighbours of the previous node.
+ * If the biases are far apart and too many proposals are rejected, the
+ * step falls back to computing the distribution over all neighbours.
+ */
+public final class NeighbourSamplingIndex {
+
+    public static final long NO_NEIGHBOUR = -1L;
+
+    // after that many rejected proposals, a node2vec step is sampled exactly
+    static final int MAX_PROPOSALS = 32;
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+    private final @Nullable HugeDoubleArray probabilities;
+    private final @Nullable HugeIntArray aliases;
+
+    public static MemoryEstimation memoryEstimation(boolean weighted) {
+        return MemoryEstimations.builder(NeighbourSamplingIndex.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension("targets", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .perGraphDimension("alias tables", (dimensions, concurrency) -> weighted
+                ? MemoryRange.of(
+                    HugeDoubleArray.memoryEstimation(dimensions.maxRelCount()) +
+                    HugeIntArray.memoryEstimation(dimensions.maxRelCount())
+                )
+                : MemoryRange.empty()
+            )
+            .build();
+    }
+
+    /**
+     * @param weighted whether neighbours are sampled proportionally to the relationship property of the graph,
+     *                 instead of uniformly
+     * @param executor   runs the tasks that copy the neighbours and build the alias tables
+     */
+    public static NeighbourSamplingIndex create(
+        Graph graph,
+        boolean weighted,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (weighted && !graph.hasRelationshipProperty()) {
+            throw new IllegalArgumentException("Weighted neighbour sampling requires a graph with a relationship property.");
+        }
+        long nodeCount = graph.nodeCount();
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += graph.degree(nodeId);
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+        HugeDoubleArray probabilities = weighted ? HugeDoubleArray.newArray(offset, tracker) : null;
+        HugeIntArray aliases = weighted ? HugeIntArray.newArray(offset, tracker) : null;
+
+        var tasks = PartitionUtils
+            .rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> new IndexTask(
+                graph.concurrentCopy(),
+                partition,
+                offsets,
+                targets,
+                probabilities,
+                aliases
+            ))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        return new NeighbourSamplingIndex(offsets, targets, probabilities, aliases);
+    }
+
+    private NeighbourSamplingIndex(
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        @Nullable HugeDoubleArray probabilities,
+        @Nullable HugeIntArray aliases
+    ) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    public int degree(long nodeId) {
+        return (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    /**
+     * Samples a neighbour of the given node, proportional to the
+     * relationship weights if the index is weighted.
+     *
+     * @return the sampled neighbour or {@link #NO_NEIGHBOUR} if the node has no neighbours
+     */
+    public long sample(long nodeId, Random random) {
+        long offset = offsets.get(nodeId);
+        int degree = (int) (offsets.get(nodeId + 1) - offset);
+        if (degree == 0) {
+            return NO_NEIGHBOUR;
+        }
+        long index = offset + random.nextInt(degree);
+        if (probabilities != null && random.nextDouble() >= probabilities.get(index)) {
+            index = offset + aliases.get(index);
+        }
+        return targets.get(index);
+    }
+
+    /**
+     * Rejection sampling needs a finite bias for every neighbour.
+     *
+     * @throws IllegalArgumentException if the return or in-out parameter is not positive
+     */
+    public static void validateNode2VecParameters(double returnParam, double inOutParam) {
+        if (returnParam <= 0 || inOutParam <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Sampling node2vec walks requires positive return and in-out parameters, got %f and %f.",
+                returnParam,
+                inOutParam
+            ));
+        }
+    }
+
+    /**
+     * Samples the next node of a second-order node2vec walk that
+     * moved from {@code previousNodeId} to {@code currentNodeId}.
+     * The parameters must have been checked with {@link #validateNode2VecParameters(double, double)}.
+     *
+     * @return the sampled neighbour or {@link #NO_NEIGHBOUR} if the current node has no neighbours
+     */
+    public long sampleNode2Vec(
+        long currentNodeId,
+        long previousNodeId,
+        double returnParam,
+        double inOutParam,
+        Random random
+    ) {
+        double returnBias = 1D / returnParam;
+        double inOutBias = 1D / inOutParam;
+        double maxBias = Math.max(1D, inOutBias);
+        if (exists(currentNodeId, previousNodeId)) {
+            maxBias = Math.max(maxBias, returnBias);
+        }
+
+        for (int proposal = 0; proposal < MAX_PROPOSALS; proposal++) {
+            long candidate = sample(currentNodeId, random);
+            if (candidate == NO_NEIGHBOUR) {
+                return NO_NEIGHBOUR;
+            }
+            if (random.nextDouble() * maxBias < node2VecBias(previousNodeId, candidate, returnBias, inOutBias)) {
+                return candidate;
+            }
+        }
+
+        // Too many rejections, the biases of the current neighbours are far apart.
+        // Every proposal round and this fallback sample from the same distribution,
+        // so falling back does not change the distribution of the walk.
+        return sampleNode2VecExactly(currentNodeId, previousNodeId, returnBias, inOutBias, random);
+    }
+
+    private long sampleNode2VecExactly(
+        long currentNodeId,
+        long previousNodeId,
+        double returnBias,
+        double inOutBias,
+        Random random
+    ) {
+        long offset = offsets.get(currentNodeId);
+        int degree = degree(currentNodeId);
+
+        double[] masses = new double[degree];
+        if (probabilities == null) {
+            Arrays.fill(masses, 1D);
+        } else {
+            // recover the first-order probabilities from the alias table
+            for (int i = 0; i < degree; i++) {
+                double probability = probabilities.get(offset + i);
+                masses[i] += probability;
+                masses[aliases.get(offset + i)] += 1D - probability;
+            }
+        }
+
+        double sum = 0D;
+        for (int i = 0; i < degree; i++) {
+            masses[i] *= node2VecBias(previousNodeId, targets.get(offset + i), returnBias, inOutBias);
+            sum += masses[i];
+        }
+
+        double threshold = random.nextDouble() * sum;
+        double cumulativeMass = 0D;
+        for (int i = 0; i < degree - 1; i++) {
+            cumulativeMass += masses[i];
+            if (threshold < cumulativeMass) {
+                return targets.get(offset + i);
+            }
+        }
+        return targets.get(offset + degree - 1);
+    }
+
+    private double node2VecBias(long previousNodeId, long candidate, double returnBias, double inOutBias) {
+        if (candidate == previousNodeId) {
+            return returnBias;
+        } else if (exists(previousNodeId, candidate)) {
+            // the candidate is also adjacent to the previous node
+            return 1D;
+        } else {
+            return inOutBias;
+        }
+    }
+
+    /**
+     * Checks whether {@code targetNodeId} is a neighbour of {@code sourceNodeId}
+     * using a binary search in the sorted neighbours of the source node.
+     */
+    public boolean exists(long sourceNodeId, long targetNodeId) {
+        long low = offsets.get(sourceNodeId);
+        long high = offsets.get(sourceNodeId + 1) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long target = targets.get(mid);
+            if (target < targetNodeId) {
+                low = mid + 1;
+            } else if (target > targetNodeId) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class IndexTask implements Runnable {
+
+        private final Graph graph;
+        private final Partition partition;
+        private final HugeLongArray offsets;
+        private final HugeLongArray targets;
+        private final @Nullable HugeDoubleArray probabilities;
+        private final @Nullable HugeIntArray aliases;
+
+        private long[] neighbours;
+        private double[] weights;
+        private int degree;
+
+        private double[] scaledWeights;
+        private int[] small;
+        private int[] large;
+
+        IndexTask(
+            Graph graph,
+            Partition partition,
+            HugeLongArray offsets,
+            HugeLongArray targets,
+            @Nullable HugeDoubleArray probabilities,
+            @Nullable HugeIntArray aliases
+        ) {
+            this.graph = graph;
+            this.partition = partition;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.probabilities = probabilities;
+            this.aliases = aliases;
+            this.neighbours = new long[0];
+            this.weights = new double[0];
+        }
+
+        @Override
+        public void run() {
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                indexNode(nodeId);
+            }
+        }
+
+        private void indexNode(long nodeId) {
+            int capacity = graph.degree(nodeId);
+            if (neighbours.length < capacity) {
+                neighbours = new long[capacity];
+                weights = new double[capacity];
+            }
+            degree = 0;
+            graph.forEachRelationship(nodeId, 1D, (source, target, weight) -> {
+                neighbours[degree] = target;
+                weights[degree] = weight;
+                degree++;
+                return true;
+            });
+
+            long offset = offsets.get(nodeId);
+            int[] order = isSorted() ? null : IndirectSort.mergesort(0, degree, new AscendingLongComparator(neighbours));
+            for (int i = 0; i < degree; i++) {
+                targets.set(offset + i, neighbours[order == null ? i : order[i]]);
+            }
+
+            if (probabilities != null) {
+                if (order != null) {
+                    double[] sortedWeights = new double[degree];
+                    for (int i = 0; i < degree; i++) {
+                        sortedWeights[i] = weights[order[i]];
+                    }
+                    System.arraycopy(sortedWeights, 0, weights, 0, degree);
+                }
+                buildAliasTable(nodeId, offset);
+            }
+        }
+
+        private boolean isSorted() {
+            for (int i = 1; i < degree; i++) {
+                if (neighbours[i - 1] > neighbours[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void buildAliasTable(long nodeId, long offset) {
+            if (scaledWeights == null || scaledWeights.length < degree) {
+                scaledWeights = new double[degree];
+                small = new int[degree];
+                large = new int[degree];
+            }
+
+            double sum = 0D;
+            for (int i = 0; i < degree; i++) {
+                if (weights[i] < 0 || Double.isNaN(weights[i])) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Sampling neighbours requires non-negative relationship weights, got %f for a relationship of node %d.",
+                        weights[i],
+                        graph.toOriginalNodeId(nodeId)
+                    ));
+                }
+                sum += weights[i];
+            }
+
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < degree; i++) {
+                // without any weight all neighbours are equally likely
+                scaledWeights[i] = sum > 0 ? weights[i] * degree / sum : 1D;
+                if (scaledWeights[i] < 1D) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+
+                probabilities.set(offset + less, scaledWeights[less]);
+                aliases.set(offset + less, more);
+
+                scaledWeights[more] = (scaledWeights[more] + scaledWeights[less]) - 1D;
+                if (scaledWeights[more] < 1D) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+
+            // the remaining entries are only left due to rounding errors
+            while (largeCount > 0) {
+                int index = large[--largeCount];
+                probabilities.set(offset + index, 1D);
+                aliases.set(offset + index, index);
+            }
+            while (smallCount > 0) {
+                int index = small[--smallCount];
+                probabilities.set(offset + index, 1D);
+                aliases.set(offset + index, index);
+            }
+        }
+    }
+}
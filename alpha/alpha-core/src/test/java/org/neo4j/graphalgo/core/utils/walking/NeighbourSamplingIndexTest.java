@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.walking;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class NeighbourSamplingIndexTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void samplesNeighboursUniformly() {
+        TestGraph graph = fromGdl("(a)-->(b), (a)-->(c), (a)-->(d), (e)");
+        var index = NeighbourSamplingIndex.create(graph, false, 2, Pools.DEFAULT, AllocationTracker.empty());
+
+        var frequencies = sample(graph, index, "a");
+
+        assertThat(frequencies).containsOnlyKeys("b", "c", "d");
+        frequencies.values().forEach(frequency -> assertThat(frequency).isCloseTo(1D / 3, within(0.01)));
+    }
+
+    @Test
+    void buildsTheIndexOnTheGivenExecutor() throws InterruptedException {
+        TestGraph graph = fromGdl("(a)-->(b), (a)-->(c), (b)-->(c), (c)-->(a), (d)");
+        var startedThreads = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(2, runnable -> {
+            startedThreads.incrementAndGet();
+            return new Thread(runnable);
+        });
+        try {
+            var index = NeighbourSamplingIndex.create(graph, false, 2, executor, AllocationTracker.empty());
+
+            assertThat(startedThreads.get()).isPositive();
+            assertEquals(2, index.degree(graph.toMappedNodeId("a")));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void samplesNeighboursProportionallyToWeights() {
+        TestGraph graph = fromGdl(
+            "  (a)-[{w: 1.0}]->(b)" +
+            ", (a)-[{w: 2.0}]->(c)" +
+            ", (a)-[{w: 7.0}]->(d)" +
+            ", (a)-[{w: 0.0}]->(e)"
+        );
+        var index = NeighbourSamplingIndex.create(graph, true, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        var frequencies = sample(graph, index, "a");
+
+        assertThat(frequencies).doesNotContainKey("e");
+        assertThat(frequencies.get("b")).isCloseTo(0.1, within(0.01));
+        assertThat(frequencies.get("c")).isCloseTo(0.2, within(0.01));
+        assertThat(frequencies.get("d")).isCloseTo(0.7, within(0.01));
+    }
+
+    @Test
+    void ignoresWeightsOfUnweightedIndex() {
+        TestGraph graph = fromGdl("(a)-[{w: 1.0}]->(b), (a)-[{w: 9.0}]->(c)");
+        var index = NeighbourSamplingIndex.create(graph, false, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        var frequencies = sample(graph, index, "a");
+
+        assertThat(frequencies.get("b")).isCloseTo(0.5, within(0.01));
+        assertThat(frequencies.get("c")).isCloseTo(0.5, within(0.01));
+    }
+
+    @Test
+    void rejectsWeightedIndexWithoutRelationshipProperty() {
+        TestGraph graph = fromGdl("(a)-->(b)");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> NeighbourSamplingIndex.create(graph, true, 1, Pools.DEFAULT, AllocationTracker.empty())
+        );
+    }
+
+    @Test
+    void estimatesAliasTablesOnlyForWeightedIndex() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(1_000)
+            .maxRelCount(10_000)
+            .build();
+
+        long unweighted = NeighbourSamplingIndex.memoryEstimation(false).estimate(dimensions, 1).memoryUsage().min;
+        long weighted = NeighbourSamplingIndex.memoryEstimation(true).estimate(dimensions, 1).memoryUsage().min;
+
+        long offsets = HugeLongArray.memoryEstimation(1_001);
+        long targets = HugeLongArray.memoryEstimation(10_000);
+        long aliasTables = HugeDoubleArray.memoryEstimation(10_000) + HugeIntArray.memoryEstimation(10_000);
+        assertEquals(offsets + targets, unweighted - MemoryUsage.sizeOfInstance(NeighbourSamplingIndex.class));
+        assertEquals(aliasTables, weighted - unweighted);
+    }
+
+    @Test
+    void returnsNoNeighbourForIsolatedNodes() {
+        TestGraph graph = fromGdl("(a)-->(b), (c)");
+        var index = NeighbourSamplingIndex.create(graph, false, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        assertEquals(0, index.degree(graph.toMappedNodeId("c")));
+        assertEquals(NeighbourSamplingIndex.NO_NEIGHBOUR, index.sample(graph.toMappedNodeId("c"), new Random(42)));
+        assertEquals(NeighbourSamplingIndex.NO_NEIGHBOUR, index.sample(graph.toMappedNodeId("b"), new Random(42)));
+    }
+
+    @Test
+    void findsExistingRelationships() {
+        TestGraph graph = fromGdl("(a)-->(b), (a)-->(c), (a)-->(d), (b)-->(c)");
+        var index = NeighbourSamplingIndex.create(graph, false, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        assertTrue(index.exists(graph.toMappedNodeId("a"), graph.toMappedNodeId("b")));
+        assertTrue(index.exists(graph.toMappedNodeId("a"), graph.toMappedNodeId("d")));
+        assertTrue(index.exists(graph.toMappedNodeId("b"), graph.toMappedNodeId("c")));
+        assertFalse(index.exists(graph.toMappedNodeId("b"), graph.toMappedNodeId("a")));
+        assertFalse(index.exists(graph.toMappedNodeId("d"), graph.toMappedNodeId("a")));
+    }
+
+    @Test
+    void samplesNode2VecStepsByBias() {
+        // walking from p to c, x is adjacent to p and y is not
+        TestGraph graph = fromGdl("(p)-->(c), (p)-->(x), (c)-->(x), (c)-->(y)", Orientation.UNDIRECTED);
+        var index = NeighbourSamplingIndex.create(graph, false, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        long previous = graph.toMappedNodeId("p");
+        long current = graph.toMappedNodeId("c");
+        var random = new Random(42);
+        var frequencies = new HashMap<Long, Double>();
+        for (int i = 0; i < SAMPLES; i++) {
+            // biases are 1/2 for p, 1 for x and 2 for y
+            long next = index.sampleNode2Vec(current, previous, 2.0, 0.5, random);
+            frequencies.merge(next, 1D / SAMPLES, Double::sum);
+        }
+
+        assertThat(frequencies.get(previous)).isCloseTo(1D / 7, within(0.01));
+        assertThat(frequencies.get(graph.toMappedNodeId("x"))).isCloseTo(2D / 7, within(0.01));
+        assertThat(frequencies.get(graph.toMappedNodeId("y"))).isCloseTo(4D / 7, within(0.01));
+    }
+
+    @Test
+    void samplesNode2VecStepsExactlyAfterTooManyRejections() {
+        // neither x nor y are adjacent to p, their biases are tiny compared to the envelope
+        TestGraph graph = fromGdl("(p)-[{w: 1.0}]->(c), (c)-[{w: 1.0}]->(x), (c)-[{w: 3.0}]->(y)");
+        var index = NeighbourSamplingIndex.create(graph, true, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        long previous = graph.toMappedNodeId("p");
+        long current = graph.toMappedNodeId("c");
+        var random = new Random(42);
+        var frequencies = new HashMap<Long, Double>();
+        for (int i = 0; i < SAMPLES; i++) {
+            long next = index.sampleNode2Vec(current, previous, 1.0, 10_000, random);
+            frequencies.merge(next, 1D / SAMPLES, Double::sum);
+        }
+
+        assertThat(frequencies.get(graph.toMappedNodeId("x"))).isCloseTo(0.25, within(0.01));
+        assertThat(frequencies.get(graph.toMappedNodeId("y"))).isCloseTo(0.75, within(0.01));
+    }
+
+    @Test
+    void rejectsNegativeWeights() {
+        TestGraph graph = fromGdl("(a)-[{w: 1.0}]->(b), (a)-[{w: -1.0}]->(c)");
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> NeighbourSamplingIndex.create(graph, true, 1, Pools.DEFAULT, AllocationTracker.empty())
+        );
+
+        assertThat(exception).hasMessageContaining("requires non-negative relationship weights");
+    }
+
+    @Test
+    void rejectsNonPositiveNode2VecParameters() {
+        assertThrows(IllegalArgumentException.class, () -> NeighbourSamplingIndex.validateNode2VecParameters(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> NeighbourSamplingIndex.validateNode2VecParameters(1, 0));
+    }
+
+    private static Map<String, Double> sample(TestGraph graph, NeighbourSamplingIndex index, String variable) {
+        var random = new Random(42);
+        var frequencies = new HashMap<String, Double>();
+        for (int i = 0; i < SAMPLES; i++) {
+            long neighbour = index.sample(graph.toMappedNodeId(variable), random);
+            frequencies.merge(variableOf(graph, neighbour), 1D / SAMPLES, Double::sum);
+        }
+        return frequencies;
+    }
+
+    private static String variableOf(TestGraph graph, long nodeId) {
+        for (String variable : new String[]{"a", "b", "c", "d", "e"}) {
+            if (graph.toMappedNodeId(variable) == nodeId) {
+                return variable;
+            }
+        }
+        throw new IllegalArgumentException("Unknown node " + nodeId);
+    }
+}
@@ -22,9 +22,11 @@ package org.neo4j.gds.embeddings.node2vec;
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex;
 
 public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
 
@@ -44,7 +46,20 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            new RandomWalk.NextNodeStrategy(
+                graph,
+                config.returnFactor(),
+                config.inOutFactor(),
+                config.useSamplingIndex()
+                    ? NeighbourSamplingIndex.create(
+                        graph,
+                        config.relationshipWeightProperty() != null,
+                        config.concurrency(),
+                        Pools.DEFAULT,
+                        tracker
+                    )
+                    : null
+            ),
             config.concurrency(),
             config.walksPerNode(),
             config.walkBufferSize()
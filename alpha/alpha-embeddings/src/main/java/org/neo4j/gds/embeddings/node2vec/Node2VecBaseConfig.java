@@ -23,8 +23,9 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.EmbeddingDimensionConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 
-public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig {
+public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig, RelationshipWeightConfig {
 
     @Value.Default
     @Configuration.IntegerRange(min = 1)
@@ -62,6 +63,22 @@ public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionCo
         return 1.0;
     }
 
+    /**
+     * Whether walk steps are sampled from a precomputed {@link org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex}.
+     * Neighbours are sampled uniformly, unless a {@link #relationshipWeightProperty()} is given.
+     */
+    @Value.Default
+    default boolean useSamplingIndex() {
+        return false;
+    }
+
+    @Value.Check
+    default void validateWeightedSampling() {
+        if (relationshipWeightProperty() != null && !useSamplingIndex()) {
+            throw new IllegalArgumentException("Sampling by `relationshipWeightProperty` requires `useSamplingIndex` to be enabled.");
+        }
+    }
+
     @Value.Default
     @Configuration.IntegerRange(min = 1)
     default int negativeSamplingRate() {
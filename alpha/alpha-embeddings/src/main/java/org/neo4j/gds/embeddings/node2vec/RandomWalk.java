@@ -19,12 +19,14 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
+import org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -127,15 +129,43 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         private final Graph graph;
         private final double returnParam;
         private final double inOutParam;
-
+        private final @Nullable NeighbourSamplingIndex samplingIndex;
 
         public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
+            this(graph, returnParam, inOutParam, null);
+        }
+
+        /**
+         * If a sampling index is given, each step is sampled in expected
+         * constant time instead of computing the probability distribution
+         * over all neighbours of the current node.
+         */
+        public NextNodeStrategy(
+            Graph graph,
+            double returnParam,
+            double inOutParam,
+            @Nullable NeighbourSamplingIndex samplingIndex
+        ) {
             this.graph = graph;
             this.returnParam = returnParam;
             this.inOutParam = inOutParam;
+            this.samplingIndex = samplingIndex;
+            if (samplingIndex != null) {
+                NeighbourSamplingIndex.validateNode2VecParameters(returnParam, inOutParam);
+            }
         }
 
         public long getNextNode(long currentNode, long previousNode) {
+            if (samplingIndex != null) {
+                return samplingIndex.sampleNode2Vec(
+                    currentNode,
+                    previousNode,
+                    returnParam,
+                    inOutParam,
+                    ThreadLocalRandom.current()
+                );
+            }
+
             Graph threadLocalGraph = graph.concurrentCopy();
 
             int degree = threadLocalGraph.degree(currentNode);
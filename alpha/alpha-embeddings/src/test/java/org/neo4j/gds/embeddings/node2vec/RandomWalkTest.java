@@ -19,10 +19,16 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.TestGraphLoader;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.walking.NeighbourSamplingIndex;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -95,8 +101,9 @@ class RandomWalkTest extends AlgoTestBase {
         assertEquals(expectedStepsInWalkForNode0, walkForNodeZero.length);
     }
 
-    @Test
-    void returnFactorShouldMakeWalksIncludeStartNodeMoreOften() {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void returnFactorShouldMakeWalksIncludeStartNodeMoreOften(boolean useSamplingIndex) {
         runQuery("CREATE (a:Node)" +
                  ", (a)-[:REL]->(b:Node)-[:REL]->(a)" +
                  ", (b)-[:REL]->(c:Node)-[:REL]->(a)" +
@@ -110,7 +117,7 @@ class RandomWalkTest extends AlgoTestBase {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             10,
-            new RandomWalk.NextNodeStrategy(graph, 0.01, 1),
+            new RandomWalk.NextNodeStrategy(graph, 0.01, 1, samplingIndex(graph, useSamplingIndex)),
             4,
             100,
             1000
@@ -148,8 +155,9 @@ class RandomWalkTest extends AlgoTestBase {
         |                     |
         +---------------------+
      */
-    @Test
-    void largeInOutFactorShouldMakeTheWalkKeepTheSameDistance() {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void largeInOutFactorShouldMakeTheWalkKeepTheSameDistance(boolean useSamplingIndex) {
         runQuery("CREATE " +
                  "  (a:Node)" +
                  ", (b:Node)" +
@@ -176,7 +184,7 @@ class RandomWalkTest extends AlgoTestBase {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             10,
-            new RandomWalk.NextNodeStrategy(graph, 0.01, 100000),
+            new RandomWalk.NextNodeStrategy(graph, 0.01, 100000, samplingIndex(graph, useSamplingIndex)),
             4,
             1000,
             1000
@@ -202,4 +210,10 @@ class RandomWalkTest extends AlgoTestBase {
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(4L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(5L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
     }
+
+    private static @Nullable NeighbourSamplingIndex samplingIndex(Graph graph, boolean useSamplingIndex) {
+        return useSamplingIndex
+            ? NeighbourSamplingIndex.create(graph, false, 4, Pools.DEFAULT, AllocationTracker.empty())
+            : null;
+    }
 }
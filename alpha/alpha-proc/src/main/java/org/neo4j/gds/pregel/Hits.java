@@ -48,25 +48,40 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
     static final String AUTH_PROPERTY = "auth";
     private static final String NEIGHBOR_IDS = "neighborIds";
 
+    private static final PregelSchema SCHEMA = new PregelSchema.Builder()
+        .add(AUTH_PROPERTY, ValueType.DOUBLE)
+        .add(HUB_PROPERTY, ValueType.DOUBLE)
+        .add(NEIGHBOR_IDS, ValueType.LONG_ARRAY, PregelSchema.Visibility.PRIVATE)
+        .build();
+
+    private static final PregelSchema.DoubleSlot AUTH = SCHEMA.doubleSlot(AUTH_PROPERTY);
+    private static final PregelSchema.DoubleSlot HUB = SCHEMA.doubleSlot(HUB_PROPERTY);
+    private static final PregelSchema.LongArraySlot NEIGHBORS = SCHEMA.longArraySlot(NEIGHBOR_IDS);
+
     // Global norm aggregator shared by all workers
     private final DoubleAdder globalNorm = new DoubleAdder();
+    // Norm of the values computed in the previous superstep
+    private double previousNorm = Double.NaN;
     private HitsState state = HitsState.SEND_IDS;
 
     @Override
     public PregelSchema schema() {
-        return new PregelSchema.Builder()
-            .add(AUTH_PROPERTY, ValueType.DOUBLE)
-            .add(HUB_PROPERTY, ValueType.DOUBLE)
-            .add(NEIGHBOR_IDS, ValueType.LONG_ARRAY, PregelSchema.Visibility.PRIVATE)
-            .build();
+        return SCHEMA;
     }
 
     @Override
     public void init(InitContext<HitsConfig> context) {
-        context.setNodeValue(AUTH_PROPERTY, 1D);
-        context.setNodeValue(HUB_PROPERTY, 1D);
+        context.setNodeValue(AUTH, 1D);
+        context.setNodeValue(HUB, 1D);
     }
 
+    /**
+     * Nodes send their unnormalized values and normalize them one superstep
+     * later, once the global norm is known. Receivers normalize each message
+     * before summing them up. That way, computing a value and normalizing the
+     * value of the previous superstep share a superstep and each HITS iteration
+     * takes two supersteps instead of four.
+     */
     @Override
     public void compute(ComputeContext<HitsConfig> context, Messages messages) {
         switch (state) {
@@ -76,30 +91,25 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
             case RECEIVE_IDS:
                 receiveIds(context, messages);
                 break;
-            case CALCULATE_AUTHS:
-                calculateValue(context, messages, AUTH_PROPERTY);
-                break;
-            case NORMALIZE_AUTHS:
-                normalizeAuthValue(context);
-                break;
             case CALCULATE_HUBS:
-                calculateValue(context, messages, HUB_PROPERTY);
+                normalize(context, AUTH);
+                // send hubs to outgoing neighbors
+                context.sendToNeighbors(calculateValue(context, messages, HUB));
+                break;
+            case CALCULATE_AUTHS:
+                normalize(context, HUB);
+                sendToIncomingNeighbors(context, calculateValue(context, messages, AUTH));
                 break;
             case NORMALIZE_HUBS:
-                normalizeHubValue(context);
+                normalize(context, HUB);
                 break;
         }
     }
 
     @Override
     public void masterCompute(MasterComputeContext<HitsConfig> context) {
-        if (state == HitsState.RECEIVE_IDS || state == HitsState.CALCULATE_AUTHS || state == HitsState.CALCULATE_HUBS) {
-            var norm = globalNorm.sumThenReset();
-            globalNorm.add(Math.sqrt(norm));
-        } else if (state == HitsState.NORMALIZE_AUTHS || state == HitsState.NORMALIZE_HUBS) {
-            globalNorm.reset();
-        }
-        state = state.advance();
+        previousNorm = Math.sqrt(globalNorm.sumThenReset());
+        state = state.advance(context.superstep() + 2 >= context.config().maxIterations());
     }
 
     private void receiveIds(ComputeContext<HitsConfig> context, Messages messages) {
@@ -108,36 +118,29 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
             .stream(messages.spliterator(), false)
             .mapToLong(Double::longValue)
             .toArray();
-        context.setNodeValue(NEIGHBOR_IDS, neighborIds);
+        context.setNodeValue(NEIGHBORS, neighborIds);
 
         // compute auths
         var auth = neighborIds.length;
-        context.setNodeValue(AUTH_PROPERTY, (double) auth);
+        context.setNodeValue(AUTH, (double) auth);
         updateGlobalNorm(auth);
+        sendToIncomingNeighbors(context, auth);
     }
 
-    private void calculateValue(ComputeContext<HitsConfig> context, Messages messages, String authProperty) {
-        var auth = 0D;
-        for (Double message : messages) {
-            auth += message;
+    private double calculateValue(ComputeContext<HitsConfig> context, Messages messages, PregelSchema.DoubleSlot slot) {
+        var value = 0D;
+        var iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            value += iterator.nextDouble() / previousNorm;
         }
-        context.setNodeValue(authProperty, auth);
-        updateGlobalNorm(auth);
-    }
-
-    private void normalizeHubValue(ComputeContext<HitsConfig> context) {
-        // normalise hub
-        var normalizedValue = normalize(context, HUB_PROPERTY);
-        // send normalised hubs to outgoing neighbors
-        context.sendToNeighbors(normalizedValue);
+        context.setNodeValue(slot, value);
+        updateGlobalNorm(value);
+        return value;
     }
 
-    private void normalizeAuthValue(ComputeContext<HitsConfig> context) {
-        // normalise auth
-        var normalizedValue = normalize(context, AUTH_PROPERTY);
-        // send normalised auths to incoming neighbors
-        for (long neighbor : context.longArrayNodeValue(NEIGHBOR_IDS)) {
-            context.sendTo(neighbor, normalizedValue);
+    private void sendToIncomingNeighbors(ComputeContext<HitsConfig> context, double value) {
+        for (long neighbor : context.longArrayNodeValue(NEIGHBORS)) {
+            context.sendTo(neighbor, value);
         }
     }
 
@@ -145,12 +148,8 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
         globalNorm.add(Math.pow(value, 2));
     }
 
-    private double normalize(ComputeContext<HitsConfig> context, String property) {
-        var value = context.doubleNodeValue(property);
-        var norm = globalNorm.sum();
-        var normalizedValue = value / norm;
-        context.setNodeValue(property, normalizedValue);
-        return normalizedValue;
+    private void normalize(ComputeContext<HitsConfig> context, PregelSchema.DoubleSlot slot) {
+        context.setNodeValue(slot, context.doubleNodeValue(slot) / previousNorm);
     }
 
     @ValueClass
@@ -163,7 +162,7 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
         @Value.Derived
         @Configuration.Ignore
         default int maxIterations() {
-            return hitsIterations() * 4 + 1;
+            return hitsIterations() * 2 + 2;
         }
 
         @Override
@@ -191,42 +190,35 @@ public class Hits implements PregelComputation<Hits.HitsConfig> {
     private enum HitsState {
         SEND_IDS {
             @Override
-            HitsState advance() {
+            HitsState advance(boolean lastSuperstepFollows) {
                 return RECEIVE_IDS;
             }
         },
         RECEIVE_IDS {
             @Override
-            HitsState advance() {
-                return NORMALIZE_AUTHS;
+            HitsState advance(boolean lastSuperstepFollows) {
+                return CALCULATE_HUBS;
             }
         },
-        CALCULATE_AUTHS {
+        CALCULATE_HUBS {
             @Override
-            HitsState advance() {
-                return NORMALIZE_AUTHS;
+            HitsState advance(boolean lastSuperstepFollows) {
+                return lastSuperstepFollows ? NORMALIZE_HUBS : CALCULATE_AUTHS;
             }
         },
-        NORMALIZE_AUTHS {
+        CALCULATE_AUTHS {
             @Override
-            HitsState advance() {
+            HitsState advance(boolean lastSuperstepFollows) {
                 return CALCULATE_HUBS;
             }
         },
-        CALCULATE_HUBS {
-            @Override
-            public HitsState advance() {
-                return NORMALIZE_HUBS;
-            }
-        },
         NORMALIZE_HUBS {
             @Override
-            HitsState advance() {
-                return CALCULATE_AUTHS;
+            HitsState advance(boolean lastSuperstepFollows) {
+                return NORMALIZE_HUBS;
             }
         };
 
-        abstract HitsState advance();
+        abstract HitsState advance(boolean lastSuperstepFollows);
     }
 }
-
@@ -99,8 +99,9 @@ public class SpeakerListenerLPA implements PregelComputation<SpeakerListenerLPA.
             var labelVotes = new LongIntScatterMap();
             long winningLabel = 0;
             int maxFrequency = Integer.MIN_VALUE;
-            for (Double message : messages) {
-                var currentLabel = message.longValue();
+            var iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                var currentLabel = (long) iterator.nextDouble();
                 var updatedFrequency = labelVotes.addTo(currentLabel, 1);
 
                 if (updatedFrequency > maxFrequency) {
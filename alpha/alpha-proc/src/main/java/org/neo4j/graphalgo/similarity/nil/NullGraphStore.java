@@ -28,12 +28,14 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.loading.DeletionResult;
 import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.values.storable.NumberType;
 
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -186,6 +188,42 @@ public class NullGraphStore implements GraphStore {
         return DeletionResult.of(c -> {});
     }
 
+    @Override
+    public void addIndex(Collection<String> nodePropertyKeys, Collection<RelationshipType> relationshipTypes) {}
+
+    @Override
+    public long addNodes(
+        long[] originalNodeIds,
+        List<Set<NodeLabel>> nodeLabels,
+        Map<String, double[]> nodeProperties,
+        int concurrency
+    ) {
+        return 0;
+    }
+
+    @Override
+    public long addRelationships(
+        RelationshipType relationshipType,
+        long[] sourceNodeIds,
+        long[] targetNodeIds,
+        Map<String, double[]> relationshipProperties,
+        int concurrency
+    ) {
+        return 0;
+    }
+
+    @Override
+    public double appendedRelationshipRatio(RelationshipType relationshipType) {
+        return 0;
+    }
+
+    @Override
+    public void compactRelationships(
+        RelationshipType relationshipType,
+        GraphCreateConfig createConfig,
+        int concurrency
+    ) {}
+
     @Override
     public Graph getGraph(
         Collection<NodeLabel> nodeLabels,
@@ -200,6 +238,9 @@ public class NullGraphStore implements GraphStore {
         return new NullGraph();
     }
 
+    @Override
+    public void addModificationListener(Runnable listener) {}
+
     @Override
     public void canRelease(boolean canRelease) {}
 
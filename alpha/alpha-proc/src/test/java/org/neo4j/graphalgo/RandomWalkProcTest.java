@@ -21,6 +21,8 @@ package org.neo4j.graphalgo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.walking.RandomWalkProc;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Path;
@@ -29,8 +31,10 @@ import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.graphdb.Result;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -206,6 +210,88 @@ class RandomWalkProcTest extends BaseProcTest {
         });
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"random", "node2vec"})
+    void shouldWalkAlongRelationshipsWithSamplingIndex(String mode) {
+        Map<Long, Set<Long>> neighbours = new HashMap<>();
+        runQueryWithRowConsumer("MATCH (a)--(b) RETURN id(a) AS a, id(b) AS b", row -> neighbours
+            .computeIfAbsent(row.getNumber("a").longValue(), ignore -> new HashSet<>())
+            .add(row.getNumber("b").longValue()));
+
+        String query = GdsCypher.call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("steps", 5)
+            .addParameter("walks", 100)
+            .addParameter("mode", mode)
+            .addParameter("return", 0.5)
+            .addParameter("inOut", 2)
+            .addParameter("useSamplingIndex", true)
+            .yields();
+
+        runQueryWithResultConsumer(query, r -> {
+            ResourceIterator<List<Long>> results = r.columnAs("nodeIds");
+            int walkCount = 0;
+            while (results.hasNext()) {
+                List<Long> walk = results.next();
+                // walks from isolated nodes end right away
+                assertEquals(neighbours.containsKey(walk.get(0)) ? 6 : 1, walk.size());
+                for (int i = 1; i < walk.size(); i++) {
+                    assertTrue(neighbours.get(walk.get(i - 1)).contains(walk.get(i)), "Walk must follow relationships: " + walk);
+                }
+                walkCount++;
+            }
+            assertEquals(100, walkCount);
+        });
+    }
+
+    @Test
+    void shouldSampleByRelationshipWeightWithSamplingIndex() {
+        long a = runQuery("MATCH (a {name: 'a'}) RETURN id(a) AS id", r -> r.<Long>columnAs("id").next());
+        long c = runQuery("MATCH (c {name: 'c'}) RETURN id(c) AS id", r -> r.<Long>columnAs("id").next());
+
+        String query = GdsCypher.call()
+            .withNodeLabel(ALL_NODES.name)
+            .withRelationshipType("OF_TYPE")
+            .withRelationshipProperty("cost")
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("start", a)
+            .addParameter("steps", 1)
+            .addParameter("walks", 1000)
+            .addParameter("useSamplingIndex", true)
+            .addParameter("relationshipWeightProperty", "cost")
+            .yields();
+
+        int[] walksToC = new int[1];
+        runQueryWithResultConsumer(query, r -> {
+            ResourceIterator<List<Long>> results = r.columnAs("nodeIds");
+            while (results.hasNext()) {
+                if (results.next().get(1) == c) {
+                    walksToC[0]++;
+                }
+            }
+        });
+
+        // the relationship to c has twice the cost of the one to b
+        assertEquals(2D / 3, walksToC[0] / 1000D, 0.08);
+    }
+
+    @Test
+    void shouldRequireSamplingIndexForRelationshipWeights() {
+        String query = GdsCypher.call()
+            .withNodeLabel(ALL_NODES.name)
+            .withRelationshipType("OF_TYPE")
+            .withRelationshipProperty("cost")
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("relationshipWeightProperty", "cost")
+            .yields();
+
+        assertError(query, "requires `useSamplingIndex` to be enabled");
+    }
+
     @Test
     void shouldHaveStartedFromEveryNodeN2V() {
         String query = GdsCypher.call()
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.api;
 
+import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
@@ -28,10 +29,14 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.CSRGraphStore;
 import org.neo4j.graphalgo.core.loading.IdsAndProperties;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
+import org.neo4j.graphalgo.core.loading.NodeReordering;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.values.storable.NumberType;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -48,7 +53,7 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphCreateConfig> ext
         super(graphCreateConfig, loadingContext, dimensions);
     }
 
-    protected CSRGraphStore createGraphStore(
+    protected ImportResult<CSRGraphStore> createGraphStore(
         IdsAndProperties idsAndProperties,
         RelationshipImportResult relationshipImportResult,
         AllocationTracker tracker,
@@ -88,15 +93,56 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphCreateConfig> ext
             }
         });
 
-        return CSRGraphStore.of(
-            loadingContext.api().databaseId(),
-            idsAndProperties.idMap(),
-            idsAndProperties.properties(),
+        double bytesBefore = compressedBytesPerRelationship(relationshipImportResult.builders().values());
+        double bytesAfter = bytesBefore;
+
+        NodeMapping nodes = idsAndProperties.idMap();
+        Map<NodeLabel, NodePropertyStore> nodePropertyStores = idsAndProperties.properties();
+        if (graphCreateConfig.nodeOrdering() != NodeOrdering.NONE) {
+            NodeReordering reordering = NodeReordering.of(graphCreateConfig, nodes, relationships.values(), tracker);
+            nodes = reordering.nodes();
+            nodePropertyStores = reordering.relabel(nodePropertyStores);
+            reordering.relabel(relationships, relationshipPropertyStores);
+
+            bytesAfter = compressedBytesPerRelationship(reordering.relationshipsBuilders());
+            progressLogger.logMessage(formatWithLocale(
+                "Reordered nodes by %s, compressed relationships take %.2f bytes per relationship before and %.2f bytes after",
+                graphCreateConfig.nodeOrdering(),
+                bytesBefore,
+                bytesAfter
+            ));
+        }
+
+        CSRGraphStore graphStore = CSRGraphStore.of(
+            databaseId(),
+            nodes,
+            nodePropertyStores,
             relationships,
             relationshipPropertyStores,
             graphCreateConfig.readConcurrency(),
             tracker
         );
+        return ImportResult.of(dimensions, graphStore, bytesBefore, bytesAfter);
+    }
+
+    private static double compressedBytesPerRelationship(
+        Collection<org.neo4j.graphalgo.core.loading.RelationshipsBuilder> relationshipsBuilders
+    ) {
+        long bytes = 0L;
+        long relationshipCount = 0L;
+        for (var relationshipsBuilder : relationshipsBuilders) {
+            bytes += relationshipsBuilder.compressedAdjacencyBytes();
+            relationshipCount += relationshipsBuilder.compressedRelationshipCount();
+        }
+        return relationshipCount == 0L ? 0D : (double) bytes / relationshipCount;
+    }
+
+    /**
+     * The database the created graph store belongs to.
+     * Factories that do not read from a database override this.
+     */
+    protected NamedDatabaseId databaseId() {
+        return loadingContext.api().databaseId();
     }
 
     private RelationshipPropertyStore constructRelationshipPropertyStore(
@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.loading.DeletionResult;
 import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.values.storable.NumberType;
@@ -133,6 +134,61 @@ public interface GraphStore {
 
     DeletionResult deleteRelationships(RelationshipType relationshipType);
 
+    /**
+     * Marks node properties and relationship types as indexes that have been computed from the relationships of the graph,
+     * such as shortest path landmark distances or contraction hierarchy shortcuts.
+     * Indexes are removed when nodes or relationships are appended, since they would no longer match the graph.
+     */
+    void addIndex(Collection<String> nodePropertyKeys, Collection<RelationshipType> relationshipTypes);
+
+    /**
+     * Appends nodes to the graph without re-importing it.
+     * Appended nodes are mapped to consecutive ids after the existing nodes and have no relationships,
+     * relationships to appended nodes can be added with {@link #addRelationships}.
+     * Node property values that are missing or {@code NaN} are set to the default value of the property.
+     * Graphs that are created afterwards observe the appended nodes,
+     * graphs that have been created before keep their nodes.
+     * Indexes that have been added with {@link #addIndex} are removed.
+     *
+     * @param nodeLabels the labels of each appended node, which are ignored if the graph has no node labels
+     * @return the number of appended nodes
+     */
+    long addNodes(
+        long[] originalNodeIds,
+        List<Set<NodeLabel>> nodeLabels,
+        Map<String, double[]> nodeProperties,
+        int concurrency
+    );
+
+    /**
+     * Appends relationships to an existing relationship type without re-importing it.
+     * Nodes are identified by their mapped ids, missing properties are set to their default value.
+     * Graphs that are created afterwards observe the appended relationships,
+     * graphs that have been created before keep their relationships and relationship count.
+     * Indexes that have been added with {@link #addIndex} are removed, relationships cannot be appended to them.
+     *
+     * @return the number of stored relationships, which is twice the given number for undirected relationships
+     */
+    long addRelationships(
+        RelationshipType relationshipType,
+        long[] sourceNodeIds,
+        long[] targetNodeIds,
+        Map<String, double[]> relationshipProperties,
+        int concurrency
+    );
+
+    /**
+     * The ratio of appended to imported relationships of the given relationship type.
+     */
+    double appendedRelationshipRatio(RelationshipType relationshipType);
+
+    /**
+     * Imports the appended relationships of the given relationship type
+     * together with its existing relationships into a new adjacency list.
+     * The adjacency list is stored and encoded as configured by the config the graph was created with.
+     */
+    void compactRelationships(RelationshipType relationshipType, GraphCreateConfig createConfig, int concurrency);
+
     default Graph getGraph(RelationshipType... relationshipType) {
         return getGraph(nodeLabels(), Arrays.asList(relationshipType), Optional.empty());
     }
@@ -167,8 +223,28 @@ public interface GraphStore {
         Optional<String> maybeRelationshipProperty
     );
 
+    /**
+     * If {@code materializeNodeFilter} is set and the node labels filter out nodes, the returned graph is a copy
+     * of the filtered nodes and their relationships, which does not translate node ids on every access.
+     * Graph stores may cache the copy for subsequent calls with the same arguments.
+     */
+    default Graph getGraph(
+        Collection<NodeLabel> nodeLabels,
+        Collection<RelationshipType> relationshipTypes,
+        Optional<String> maybeRelationshipProperty,
+        boolean materializeNodeFilter
+    ) {
+        return getGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty);
+    }
+
     Graph getUnion();
 
+    /**
+     * Registers a listener that is run after each modification of the graph store,
+     * i.e. whenever its {@link #modificationTime()} changes. Listeners run outside of the lock of the graph store.
+     */
+    void addModificationListener(Runnable listener);
+
     void canRelease(boolean canRelease);
 
     void release();
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.api;
 
 import com.carrotsearch.hppc.ObjectLongMap;
+import org.immutables.value.Value;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
@@ -81,12 +82,43 @@ public abstract class GraphStoreFactory<STORE extends GraphStore, CONFIG extends
 
         STORE graphStore();
 
+        /**
+         * The average number of bytes that the compressed adjacency lists took per relationship when they were imported.
+         */
+        @Value.Default
+        default double bytesPerRelationshipBeforeReordering() {
+            return 0D;
+        }
+
+        /**
+         * The average number of bytes that the compressed adjacency lists of the graph store take per relationship.
+         * Differs from {@link #bytesPerRelationshipBeforeReordering()} only if the nodes have been reordered.
+         */
+        @Value.Default
+        default double bytesPerRelationshipAfterReordering() {
+            return bytesPerRelationshipBeforeReordering();
+        }
+
         static <STORE extends GraphStore> ImportResult<STORE> of(GraphDimensions dimensions, STORE graphStore) {
             return ImmutableImportResult.<STORE>builder()
                 .dimensions(dimensions)
                 .graphStore(graphStore)
                 .build();
         }
+
+        static <STORE extends GraphStore> ImportResult<STORE> of(
+            GraphDimensions dimensions,
+            STORE graphStore,
+            double bytesPerRelationshipBeforeReordering,
+            double bytesPerRelationshipAfterReordering
+        ) {
+            return ImmutableImportResult.<STORE>builder()
+                .dimensions(dimensions)
+                .graphStore(graphStore)
+                .bytesPerRelationshipBeforeReordering(bytesPerRelationshipBeforeReordering)
+                .bytesPerRelationshipAfterReordering(bytesPerRelationshipAfterReordering)
+                .build();
+        }
     }
 
     @ValueClass
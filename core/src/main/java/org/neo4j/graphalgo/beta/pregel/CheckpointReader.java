@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads the values written by a {@link CheckpointWriter} in the same order
+ * through a read-only, memory-mapped window that slides over the file.
+ */
+final class CheckpointReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    CheckpointReader(Path file) {
+        try {
+            this.channel = FileChannel.open(file, READ);
+            this.size = channel.size();
+            this.windowStart = 0L;
+            this.window = map(windowStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long readLong() {
+        ensureRemaining();
+        return window.getLong();
+    }
+
+    double readDouble() {
+        ensureRemaining();
+        return window.getDouble();
+    }
+
+    void readLongs(long[] values, int offset, int length) {
+        while (length > 0) {
+            ensureRemaining();
+            int count = Math.min(length, window.remaining() / Long.BYTES);
+            window.asLongBuffer().get(values, offset, count);
+            window.position(window.position() + count * Long.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readDoubles(double[] values, int offset, int length) {
+        while (length > 0) {
+            ensureRemaining();
+            int count = Math.min(length, window.remaining() / Double.BYTES);
+            window.asDoubleBuffer().get(values, offset, count);
+            window.position(window.position() + count * Double.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void readLongs(HugeLongArray values) {
+        if (values.size() == 0) {
+            return;
+        }
+        try (var cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    void readDoubles(HugeDoubleArray values) {
+        if (values.size() == 0) {
+            return;
+        }
+        try (var cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureRemaining() {
+        if (!window.hasRemaining()) {
+            windowStart += window.capacity();
+            if (windowStart >= size) {
+                throw new IllegalStateException("The checkpoint file ended unexpectedly.");
+            }
+            try {
+                window = map(windowStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        var buffer = channel.map(
+            FileChannel.MapMode.READ_ONLY,
+            position,
+            Math.min(CheckpointWriter.WINDOW_SIZE, size - position)
+        );
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes a sequence of 8-byte values to a file through a memory-mapped window
+ * that slides over the file. Primitive arrays are copied in bulk into the
+ * mapping, so there is no intermediate buffer and no system call per value.
+ *
+ * @see CheckpointReader
+ */
+final class CheckpointWriter implements AutoCloseable {
+
+    // Bytes mapped at once, a multiple of the value size.
+    static final int WINDOW_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    CheckpointWriter(Path file) {
+        try {
+            this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+            this.windowStart = 0L;
+            this.window = map(windowStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeLong(long value) {
+        ensureRemaining();
+        window.putLong(value);
+    }
+
+    void writeDouble(double value) {
+        ensureRemaining();
+        window.putDouble(value);
+    }
+
+    void writeLongs(long[] values, int offset, int length) {
+        while (length > 0) {
+            ensureRemaining();
+            int count = Math.min(length, window.remaining() / Long.BYTES);
+            window.asLongBuffer().put(values, offset, count);
+            window.position(window.position() + count * Long.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeDoubles(double[] values, int offset, int length) {
+        while (length > 0) {
+            ensureRemaining();
+            int count = Math.min(length, window.remaining() / Double.BYTES);
+            window.asDoubleBuffer().put(values, offset, count);
+            window.position(window.position() + count * Double.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void writeLongs(HugeLongArray values) {
+        if (values.size() == 0) {
+            return;
+        }
+        try (var cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                writeLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    void writeDoubles(HugeDoubleArray values) {
+        if (values.size() == 0) {
+            return;
+        }
+        try (var cursor = values.initCursor(values.newCursor())) {
+            while (cursor.next()) {
+                writeDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+    }
+
+    /**
+     * Flushes the written values to disk and cuts the file to the written size.
+     */
+    @Override
+    public void close() {
+        try {
+            window.force();
+            channel.truncate(windowStart + window.position());
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureRemaining() {
+        if (!window.hasRemaining()) {
+            // Flush the full window before moving on, so dirty pages never pile up.
+            window.force();
+            windowStart += WINDOW_SIZE;
+            try {
+                window = map(windowStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        var buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, WINDOW_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A messenger implementation for synchronous computations that is
+ * backed by primitive buffers only.
+ *
+ * Every compute step writes its outgoing messages as (target, value)
+ * pairs into its own send buffer. The send buffer is split into target
+ * partitions, i.e. contiguous, power-of-two sized node ranges.
+ * At the superstep barrier, the send buffers are compacted partition by
+ * partition into a CSR-style inbox: a single message array and the
+ * exclusive end offset of each node's messages within that array.
+ *
+ * Pages of the send buffers and the inbox are reused across supersteps,
+ * sending a message does not allocate once the buffers have grown.
+ */
+class CompactingMessenger implements Messenger<CompactingMessenger.InboxIterator> {
+
+    // Number of messages stored in a single send buffer page.
+    static final int PAGE_SIZE = 1 << 10;
+    private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Partitions must be addressable by an int offset.
+    private static final int MAX_PARTITION_SHIFT = 30;
+
+    private final long nodeCount;
+    private final int concurrency;
+    private final int partitionShift;
+    private final int partitionCount;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private final List<SendBuffer> sendBuffers;
+    private final long[] partitionOffsets;
+
+    // The exclusive end of the messages of node `n` in the inbox.
+    // The inclusive start is the end of node `n - 1` or `0` for the first node.
+    private final HugeLongArray inboxEnds;
+    private HugeDoubleArray inbox;
+    private boolean inboxIsEmpty;
+
+    CompactingMessenger(Graph graph, PregelConfig config, ExecutorService executor, AllocationTracker tracker) {
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = config.concurrency();
+        this.executor = executor;
+        this.tracker = tracker;
+        this.partitionShift = partitionShift(nodeCount, concurrency);
+        this.partitionCount = partitionCount(nodeCount, partitionShift);
+        this.sendBuffers = new ArrayList<>(concurrency);
+        this.partitionOffsets = new long[partitionCount + 1];
+        this.inboxEnds = HugeLongArray.newArray(nodeCount, tracker);
+        this.inbox = HugeDoubleArray.newArray(0, tracker);
+        this.inboxIsEmpty = true;
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return memoryEstimation(1);
+    }
+
+    /**
+     * Messages with multiple lanes are buffered as one entry per lane.
+     */
+    static MemoryEstimation memoryEstimation(int messageWidth) {
+        return MemoryEstimations.setup("", (dimensions, concurrency) -> {
+            var nodeCount = dimensions.nodeCount();
+            var messageCount = dimensions.maxRelCount() * messageWidth;
+            var partitionCount = partitionCount(nodeCount, partitionShift(nodeCount, concurrency));
+
+            return MemoryEstimations.builder(CompactingMessenger.class)
+                .fixed("partition offsets", MemoryUsage.sizeOfLongArray(partitionCount + 1))
+                .perNode("inbox ends", HugeLongArray::memoryEstimation)
+                .fixed("inbox", MemoryRange.of(
+                    HugeDoubleArray.memoryEstimation(messageCount),
+                    HugeDoubleArray.memoryEstimation(grownInboxSize(messageCount))
+                ))
+                .fixed("buffered messages", MemoryRange.of(
+                    SendBuffer.memoryEstimation(messageCount, 0),
+                    SendBuffer.memoryEstimation(messageCount, (long) concurrency * partitionCount)
+                ))
+                .perThread("send buffer", SendBuffer.memoryEstimation(partitionCount))
+                .build();
+        });
+    }
+
+    static int partitionShift(long nodeCount, int concurrency) {
+        var partitionSize = BitUtil.nextHighestPowerOfTwo(Math.max(1L, BitUtil.ceilDiv(nodeCount, concurrency)));
+        return Math.min(MAX_PARTITION_SHIFT, Long.numberOfTrailingZeros(partitionSize));
+    }
+
+    static int partitionCount(long nodeCount, int partitionShift) {
+        return Math.max(1, Math.toIntExact(BitUtil.ceilDiv(nodeCount, 1L << partitionShift)));
+    }
+
+    private static long grownInboxSize(long messageCount) {
+        return messageCount + (messageCount >>> 3);
+    }
+
+    @Override
+    public MessageSender sender(int computeStepId) {
+        return sendBuffer(computeStepId);
+    }
+
+    private SendBuffer sendBuffer(int computeStepId) {
+        while (sendBuffers.size() <= computeStepId) {
+            sendBuffers.add(new SendBuffer(partitionCount, partitionShift, tracker));
+        }
+        return sendBuffers.get(computeStepId);
+    }
+
+    /**
+     * Writes the buffered messages grouped by target partition. Within a partition,
+     * messages keep the order in which they are compacted into the inbox.
+     */
+    @Override
+    public void writeCheckpoint(CheckpointWriter writer) {
+        long messageCount = 0L;
+        for (SendBuffer sendBuffer : sendBuffers) {
+            for (int partition = 0; partition < partitionCount; partition++) {
+                messageCount += sendBuffer.size(partition);
+            }
+        }
+        writer.writeLong(messageCount);
+
+        for (int partition = 0; partition < partitionCount; partition++) {
+            long partitionStart = (long) partition << partitionShift;
+            for (SendBuffer sendBuffer : sendBuffers) {
+                var buffer = sendBuffer.partitions[partition];
+                for (long i = 0; i < buffer.size; i++) {
+                    writer.writeLong(partitionStart + buffer.target(i));
+                    writer.writeDouble(buffer.value(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores all messages into the send buffer of the first compute step.
+     */
+    @Override
+    public void readCheckpoint(CheckpointReader reader) {
+        var sendBuffer = sendBuffer(0);
+        long messageCount = reader.readLong();
+        for (long i = 0; i < messageCount; i++) {
+            long target = reader.readLong();
+            sendBuffer.add(target, reader.readDouble());
+        }
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        // Synchronization barrier:
+        // Move the messages sent in the previous iteration into the inbox.
+        long messageCount = 0L;
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitionOffsets[partition] = messageCount;
+            for (SendBuffer sendBuffer : sendBuffers) {
+                messageCount += sendBuffer.size(partition);
+            }
+        }
+        partitionOffsets[partitionCount] = messageCount;
+
+        inboxIsEmpty = messageCount == 0;
+        if (inboxIsEmpty) {
+            return;
+        }
+
+        if (inbox.size() < messageCount) {
+            tracker.remove(inbox.release());
+            inbox = HugeDoubleArray.newArray(grownInboxSize(messageCount), tracker);
+        }
+
+        var tasks = new ArrayList<Runnable>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            int finalPartition = partition;
+            tasks.add(() -> compact(finalPartition));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    private void compact(int partition) {
+        long partitionStart = (long) partition << partitionShift;
+        long partitionEnd = Math.min(nodeCount, partitionStart + (1L << partitionShift));
+
+        for (long nodeId = partitionStart; nodeId < partitionEnd; nodeId++) {
+            inboxEnds.set(nodeId, 0L);
+        }
+
+        // count messages per target
+        for (SendBuffer sendBuffer : sendBuffers) {
+            var buffer = sendBuffer.partitions[partition];
+            for (long i = 0; i < buffer.size; i++) {
+                inboxEnds.addTo(partitionStart + buffer.target(i), 1L);
+            }
+        }
+
+        // turn counts into start offsets
+        long offset = partitionOffsets[partition];
+        for (long nodeId = partitionStart; nodeId < partitionEnd; nodeId++) {
+            long count = inboxEnds.get(nodeId);
+            inboxEnds.set(nodeId, offset);
+            offset += count;
+        }
+
+        // scatter messages, afterwards each offset points to the end of the node's messages
+        for (SendBuffer sendBuffer : sendBuffers) {
+            var buffer = sendBuffer.partitions[partition];
+            for (long i = 0; i < buffer.size; i++) {
+                long target = partitionStart + buffer.target(i);
+                long position = inboxEnds.get(target);
+                inbox.set(position, buffer.value(i));
+                inboxEnds.set(target, position + 1);
+            }
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public InboxIterator messageIterator() {
+        return new InboxIterator();
+    }
+
+    @Override
+    public void initMessageIterator(InboxIterator messageIterator, long nodeId, boolean isFirstIteration) {
+        if (isFirstIteration || inboxIsEmpty) {
+            messageIterator.init(inbox, 0L, 0L);
+        } else {
+            long start = nodeId == 0 ? 0L : inboxEnds.get(nodeId - 1);
+            messageIterator.init(inbox, start, inboxEnds.get(nodeId));
+        }
+    }
+
+    @Override
+    public void release() {
+        inboxEnds.release();
+        inbox.release();
+        sendBuffers.forEach(SendBuffer::release);
+        sendBuffers.clear();
+    }
+
+    /**
+     * Outgoing messages of a single compute step, grouped by target partition.
+     */
+    static final class SendBuffer implements MessageSender {
+
+        private final int partitionShift;
+        private final long partitionMask;
+        private final MessageBuffer[] partitions;
+
+        SendBuffer(int partitionCount, int partitionShift, AllocationTracker tracker) {
+            this.partitionShift = partitionShift;
+            this.partitionMask = (1L << partitionShift) - 1;
+            this.partitions = new MessageBuffer[partitionCount];
+            Arrays.setAll(partitions, ignore -> new MessageBuffer(tracker));
+        }
+
+        static long memoryEstimation(int partitionCount) {
+            return MemoryUsage.sizeOfInstance(SendBuffer.class) +
+                   MemoryUsage.sizeOfObjectArray(partitionCount) +
+                   partitionCount * MessageBuffer.memoryEstimation();
+        }
+
+        /**
+         * Memory needed to hold the given number of messages,
+         * assuming that each of the given number of buffers wastes at most one page.
+         */
+        static long memoryEstimation(long messageCount, long bufferCount) {
+            long pageCount = BitUtil.ceilDiv(messageCount, PAGE_SIZE) + bufferCount;
+            return pageCount * (MemoryUsage.sizeOfIntArray(PAGE_SIZE) + MemoryUsage.sizeOfDoubleArray(PAGE_SIZE));
+        }
+
+        @Override
+        public void sendTo(long targetNodeId, double message) {
+            add(targetNodeId, message);
+        }
+
+        /**
+         * Lanes are buffered as consecutive messages, which keeps them in order during compaction.
+         */
+        @Override
+        public void sendTo(long targetNodeId, double[] message) {
+            var buffer = partitions[(int) (targetNodeId >>> partitionShift)];
+            int target = (int) (targetNodeId & partitionMask);
+            for (double lane : message) {
+                buffer.add(target, lane);
+            }
+        }
+
+        void add(long targetNodeId, double message) {
+            partitions[(int) (targetNodeId >>> partitionShift)].add((int) (targetNodeId & partitionMask), message);
+        }
+
+        long size(int partition) {
+            return partitions[partition].size;
+        }
+
+        void release() {
+            for (MessageBuffer partition : partitions) {
+                partition.release();
+            }
+        }
+    }
+
+    /**
+     * Paged, append-only buffer of (target offset, value) pairs.
+     * Pages are kept when the buffer is cleared and reused in the next superstep.
+     */
+    static final class MessageBuffer {
+
+        private static final int[][] EMPTY_TARGETS = new int[0][];
+        private static final double[][] EMPTY_VALUES = new double[0][];
+
+        private final AllocationTracker tracker;
+
+        private int[][] targetPages;
+        private double[][] valuePages;
+        private int pageCount;
+        private long size;
+
+        MessageBuffer(AllocationTracker tracker) {
+            this.tracker = tracker;
+            this.targetPages = EMPTY_TARGETS;
+            this.valuePages = EMPTY_VALUES;
+        }
+
+        static long memoryEstimation() {
+            return MemoryUsage.sizeOfInstance(MessageBuffer.class);
+        }
+
+        void add(int target, double value) {
+            long size = this.size;
+            int pageIndex = (int) (size >>> PAGE_SHIFT);
+            int indexInPage = (int) (size & PAGE_MASK);
+            if (pageIndex == pageCount) {
+                grow();
+            }
+            targetPages[pageIndex][indexInPage] = target;
+            valuePages[pageIndex][indexInPage] = value;
+            this.size = size + 1;
+        }
+
+        int target(long index) {
+            return targetPages[(int) (index >>> PAGE_SHIFT)][(int) (index & PAGE_MASK)];
+        }
+
+        double value(long index) {
+            return valuePages[(int) (index >>> PAGE_SHIFT)][(int) (index & PAGE_MASK)];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void release() {
+            tracker.remove(pageCount * pageSizeInBytes());
+            targetPages = EMPTY_TARGETS;
+            valuePages = EMPTY_VALUES;
+            pageCount = 0;
+            size = 0;
+        }
+
+        private void grow() {
+            if (pageCount == targetPages.length) {
+                int newLength = pageCount + (pageCount >> 1) + 1;
+                targetPages = Arrays.copyOf(targetPages, newLength);
+                valuePages = Arrays.copyOf(valuePages, newLength);
+            }
+            targetPages[pageCount] = new int[PAGE_SIZE];
+            valuePages[pageCount] = new double[PAGE_SIZE];
+            pageCount++;
+            tracker.add(pageSizeInBytes());
+        }
+
+        private static long pageSizeInBytes() {
+            return MemoryUsage.sizeOfIntArray(PAGE_SIZE) + MemoryUsage.sizeOfDoubleArray(PAGE_SIZE);
+        }
+    }
+
+    static final class InboxIterator implements Messages.MessageIterator {
+
+        private HugeDoubleArray inbox;
+        private long next;
+        private long end;
+
+        void init(HugeDoubleArray inbox, long start, long end) {
+            this.inbox = inbox;
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return next >= end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public double nextDouble() {
+            return inbox.get(next++);
+        }
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
@@ -29,6 +30,8 @@ import org.neo4j.graphalgo.core.utils.partition.Partition;
 
 import java.util.stream.LongStream;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Messages.MessageIterator> implements Runnable {
 
     private final long nodeCount;
@@ -36,13 +39,21 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     private final boolean isMultiGraph;
     private final InitContext<CONFIG> initContext;
     private final ComputeContext<CONFIG> computeContext;
-    private final Partition nodeBatch;
     private final Degrees degrees;
     private final NodeValue nodeValue;
     private final HugeAtomicBitSet voteBits;
     private final Messenger<ITERATOR> messenger;
+    private final MessageSender sender;
     private final PregelComputation<CONFIG> computation;
     private final RelationshipIterator relationshipIterator;
+    private final PartitionQueue partitionQueue;
+    @Nullable
+    private final Frontier frontier;
+    private final int messageWidth;
+    private final double[] messageBuffer;
+    // views on the fixed-dimension node values, indexed by slot and re-pointed on every access
+    private final DoubleVector[] doubleVectors;
+    private final LongVector[] longVectors;
 
     private int iteration;
     private boolean hasSendMessage;
@@ -52,23 +63,31 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
         PregelComputation<CONFIG> computation,
         CONFIG config,
         int iteration,
-        Partition nodeBatch,
+        PartitionQueue partitionQueue,
         NodeValue nodeValue,
         Messenger<ITERATOR> messenger,
+        MessageSender sender,
         HugeAtomicBitSet voteBits,
-        RelationshipIterator relationshipIterator
+        RelationshipIterator relationshipIterator,
+        @Nullable Frontier frontier
     ) {
         this.iteration = iteration;
         this.nodeCount = graph.nodeCount();
         this.relationshipCount = graph.relationshipCount();
         this.computation = computation;
         this.voteBits = voteBits;
-        this.nodeBatch = nodeBatch;
+        this.partitionQueue = partitionQueue;
         this.degrees = graph;
         this.isMultiGraph = graph.isMultiGraph();
         this.nodeValue = nodeValue;
         this.relationshipIterator = relationshipIterator.concurrentCopy();
         this.messenger = messenger;
+        this.sender = sender;
+        this.frontier = frontier;
+        this.messageWidth = computation.messageSchema().width();
+        this.messageBuffer = new double[messageWidth];
+        this.doubleVectors = new DoubleVector[nodeValue.slotCount()];
+        this.longVectors = new LongVector[nodeValue.slotCount()];
         this.computeContext = new ComputeContext<>(this, config);
         this.initContext = new InitContext<>(this, config, graph);
     }
@@ -76,24 +95,62 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     @Override
     public void run() {
         var messageIterator = messenger.messageIterator();
-        var messages = new Messages(messageIterator);
+        var messages = new Messages(messageIterator, messageWidth);
+
+        int partitionIndex;
+        while ((partitionIndex = partitionQueue.next()) != PartitionQueue.NO_PARTITION) {
+            long start = System.nanoTime();
+
+            if (frontier != null && frontier.isSparse() && !computeContext.isInitialSuperstep()) {
+                computeFrontierBatch(
+                    frontier.batch(partitionIndex, partitionQueue.partitionCount()),
+                    messageIterator,
+                    messages
+                );
+            } else {
+                computePartition(partitionQueue.partition(partitionIndex), messageIterator, messages);
+            }
 
-        long batchStart = nodeBatch.startNode();
-        long batchEnd = batchStart + nodeBatch.nodeCount();
+            partitionQueue.recordNanos(partitionIndex, System.nanoTime() - start);
+        }
+    }
+
+    private void computeFrontierBatch(Partition frontierBatch, ITERATOR messageIterator, Messages messages) {
+        long batchStart = frontierBatch.startNode();
+        long batchEnd = batchStart + frontierBatch.nodeCount();
+
+        for (long index = batchStart; index < batchEnd; index++) {
+            computeNode(frontier.nodeAt(index), messageIterator, messages);
+        }
+    }
+
+    private void computePartition(Partition partition, ITERATOR messageIterator, Messages messages) {
+        long batchStart = partition.startNode();
+        long batchEnd = batchStart + partition.nodeCount();
 
         for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
 
             if (computeContext.isInitialSuperstep()) {
                 initContext.setNodeId(nodeId);
                 computation.init(initContext);
+            } else if (frontier != null && !frontier.isActive(nodeId)) {
+                continue;
             }
 
-            messenger.initMessageIterator(messageIterator, nodeId, computeContext.isInitialSuperstep());
-            
-            if (!messages.isEmpty() || !voteBits.get(nodeId)) {
-                voteBits.clear(nodeId);
-                computeContext.setNodeId(nodeId);
-                computation.compute(computeContext, messages);
+            computeNode(nodeId, messageIterator, messages);
+        }
+    }
+
+    private void computeNode(long nodeId, ITERATOR messageIterator, Messages messages) {
+        messenger.initMessageIterator(messageIterator, nodeId, computeContext.isInitialSuperstep());
+
+        if (!messages.isEmpty() || !voteBits.get(nodeId)) {
+            voteBits.clear(nodeId);
+            computeContext.setNodeId(nodeId);
+            computation.compute(computeContext, messages);
+
+            if (frontier != null && !voteBits.get(nodeId)) {
+                frontier.activate(nodeId);
             }
         }
     }
@@ -130,10 +187,64 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     }
 
     public void sendTo(long targetNodeId, double message) {
-        messenger.sendTo(targetNodeId, message);
+        if (messageWidth != 1) {
+            throw invalidMessageWidth(1);
+        }
+        sender.sendTo(targetNodeId, message);
+        messageSent(targetNodeId);
+    }
+
+    public void sendTo(long targetNodeId, double[] message) {
+        if (message.length != messageWidth) {
+            throw invalidMessageWidth(message.length);
+        }
+        sender.sendTo(targetNodeId, message);
+        messageSent(targetNodeId);
+    }
+
+    public void sendTo(long targetNodeId, long first, double second) {
+        sendTo(targetNodeId, pack(first, second));
+    }
+
+    public void sendToNeighbors(long sourceNodeId, double[] message) {
+        if (message.length != messageWidth) {
+            throw invalidMessageWidth(message.length);
+        }
+        relationshipIterator.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
+            sender.sendTo(targetNodeId, message);
+            messageSent(targetNodeId);
+            return true;
+        });
+    }
+
+    public void sendToNeighbors(long sourceNodeId, long first, double second) {
+        sendToNeighbors(sourceNodeId, pack(first, second));
+    }
+
+    private double[] pack(long first, double second) {
+        if (messageWidth != 2) {
+            throw invalidMessageWidth(2);
+        }
+        messageBuffer[0] = Double.longBitsToDouble(first);
+        messageBuffer[1] = second;
+        return messageBuffer;
+    }
+
+    private void messageSent(long targetNodeId) {
+        if (frontier != null) {
+            frontier.activate(targetNodeId);
+        }
         hasSendMessage = true;
     }
 
+    private IllegalArgumentException invalidMessageWidth(int actualWidth) {
+        return new IllegalArgumentException(formatWithLocale(
+            "The message schema expects messages with %d lanes, got %d.",
+            messageWidth,
+            actualWidth
+        ));
+    }
+
     public void sendToNeighbors(long sourceNodeId, double message) {
         relationshipIterator.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
             sendTo(targetNodeId, message);
@@ -189,6 +300,48 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
         nodeValue.set(key, nodeId, value);
     }
 
+    public double doubleNodeValue(PregelSchema.DoubleSlot slot, long nodeId) {
+        return nodeValue.doubleValue(slot, nodeId);
+    }
+
+    public long longNodeValue(PregelSchema.LongSlot slot, long nodeId) {
+        return nodeValue.longValue(slot, nodeId);
+    }
+
+    public long[] longArrayNodeValue(PregelSchema.LongArraySlot slot, long nodeId) {
+        return nodeValue.longArrayValue(slot, nodeId);
+    }
+
+    public double[] doubleArrayNodeValue(PregelSchema.DoubleArraySlot slot, long nodeId) {
+        return nodeValue.doubleArrayValue(slot, nodeId);
+    }
+
+    public DoubleVector doubleVector(PregelSchema.DoubleVectorSlot slot, long nodeId) {
+        int index = slot.index();
+        return doubleVectors[index] = nodeValue.doubleVector(slot, nodeId, doubleVectors[index]);
+    }
+
+    public LongVector longVector(PregelSchema.LongVectorSlot slot, long nodeId) {
+        int index = slot.index();
+        return longVectors[index] = nodeValue.longVector(slot, nodeId, longVectors[index]);
+    }
+
+    public void setNodeValue(PregelSchema.DoubleSlot slot, long nodeId, double value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    public void setNodeValue(PregelSchema.LongSlot slot, long nodeId, long value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    public void setNodeValue(PregelSchema.LongArraySlot slot, long nodeId, long[] value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    public void setNodeValue(PregelSchema.DoubleArraySlot slot, long nodeId, double[] value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
     boolean hasSendMessage() {
         return hasSendMessage;
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * A view on the fixed-dimension double vector of a single node.
+ * The view reads from and writes to the underlying node value
+ * storage directly, no values are copied.
+ */
+public final class DoubleVector {
+
+    private double[] page;
+    private int offset;
+    private final int dimension;
+
+    DoubleVector(double[] page, int offset, int dimension) {
+        this.page = page;
+        this.offset = offset;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Points this view to the vector at the given offset of the given page.
+     */
+    DoubleVector moveTo(double[] page, int offset) {
+        this.page = page;
+        this.offset = offset;
+        return this;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public double get(int index) {
+        assert index >= 0 && index < dimension;
+        return page[offset + index];
+    }
+
+    public void set(int index, double value) {
+        assert index >= 0 && index < dimension;
+        page[offset + index] = value;
+    }
+
+    /**
+     * Overwrites all values of the vector with the given values.
+     */
+    public void setAll(double[] values) {
+        assert values.length == dimension;
+        System.arraycopy(values, 0, page, offset, dimension);
+    }
+
+    /**
+     * Copies the values of the vector into the given target array.
+     */
+    public void copyTo(double[] target) {
+        assert target.length >= dimension;
+        System.arraycopy(page, offset, target, 0, dimension);
+    }
+
+    public double[] toArray() {
+        var values = new double[dimension];
+        copyTo(values);
+        return values;
+    }
+}
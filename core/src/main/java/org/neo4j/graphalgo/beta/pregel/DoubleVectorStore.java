@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Stores a double vector of a fixed dimension for each node in one flat,
+ * paged double store. The vector of a node starts at {@code nodeId * dimension}.
+ * Pages hold a power of two number of vectors, so a vector never spans two pages
+ * and can be accessed via a {@link DoubleVector} view without copying.
+ */
+final class DoubleVectorStore {
+
+    private static final int PAGE_SIZE = PageUtil.pageSizeFor(Double.BYTES);
+
+    private final long nodeCount;
+    private final int dimension;
+    private final int pageShift;
+    private final long pageMask;
+    private final double[][] pages;
+
+    static DoubleVectorStore of(long nodeCount, int dimension, AllocationTracker tracker) {
+        int pageShift = pageShift(dimension);
+        int pageCount = pageCount(nodeCount, pageShift);
+        var pages = new double[pageCount][];
+        tracker.add(MemoryUsage.sizeOfObjectArray(pageCount));
+
+        long vectorsPerPage = 1L << pageShift;
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            long vectorsInPage = Math.min(vectorsPerPage, nodeCount - pageIndex * vectorsPerPage);
+            pages[pageIndex] = new double[Math.toIntExact(vectorsInPage * dimension)];
+            tracker.add(MemoryUsage.sizeOfDoubleArray(pages[pageIndex].length));
+        }
+
+        return new DoubleVectorStore(nodeCount, dimension, pageShift, pages);
+    }
+
+    static long memoryEstimation(long nodeCount, int dimension) {
+        int pageShift = pageShift(dimension);
+        int pageCount = pageCount(nodeCount, pageShift);
+        long vectorsPerPage = 1L << pageShift;
+        long fullPages = nodeCount / vectorsPerPage;
+        long lastPageVectors = nodeCount % vectorsPerPage;
+
+        return MemoryUsage.sizeOfInstance(DoubleVectorStore.class) +
+               MemoryUsage.sizeOfObjectArray(pageCount) +
+               fullPages * MemoryUsage.sizeOfDoubleArray(vectorsPerPage * dimension) +
+               (lastPageVectors > 0 ? MemoryUsage.sizeOfDoubleArray(lastPageVectors * dimension) : 0);
+    }
+
+    private static int pageShift(int dimension) {
+        return Integer.numberOfTrailingZeros(BitUtil.previousPowerOfTwo(Math.max(1, PAGE_SIZE / dimension)));
+    }
+
+    private static int pageCount(long nodeCount, int pageShift) {
+        return Math.toIntExact(BitUtil.ceilDiv(nodeCount, 1L << pageShift));
+    }
+
+    private DoubleVectorStore(long nodeCount, int dimension, int pageShift, double[][] pages) {
+        this.nodeCount = nodeCount;
+        this.dimension = dimension;
+        this.pageShift = pageShift;
+        this.pageMask = (1L << pageShift) - 1;
+        this.pages = pages;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    long size() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns a view on the vector of the given node.
+     * Writes to the view are visible to all readers.
+     */
+    DoubleVector vector(long nodeId) {
+        return new DoubleVector(pages[(int) (nodeId >>> pageShift)], offset(nodeId), dimension);
+    }
+
+    /**
+     * Points the given view, which must have been created by this store, to the vector of the given node.
+     * Creates a new view if none is given.
+     */
+    DoubleVector vector(long nodeId, @Nullable DoubleVector view) {
+        if (view == null) {
+            return vector(nodeId);
+        }
+        return view.moveTo(pages[(int) (nodeId >>> pageShift)], offset(nodeId));
+    }
+
+    /**
+     * Returns a copy of the vector of the given node.
+     */
+    double[] copyOf(long nodeId) {
+        int offset = offset(nodeId);
+        return Arrays.copyOfRange(pages[(int) (nodeId >>> pageShift)], offset, offset + dimension);
+    }
+
+    void set(long nodeId, double[] values) {
+        if (values.length != dimension) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected an array of length %d but got length %d",
+                dimension,
+                values.length
+            ));
+        }
+        System.arraycopy(values, 0, pages[(int) (nodeId >>> pageShift)], offset(nodeId), dimension);
+    }
+
+    void writeTo(CheckpointWriter writer) {
+        for (double[] page : pages) {
+            writer.writeDoubles(page, 0, page.length);
+        }
+    }
+
+    void readFrom(CheckpointReader reader) {
+        for (double[] page : pages) {
+            reader.readDoubles(page, 0, page.length);
+        }
+    }
+
+    private int offset(long nodeId) {
+        return (int) (nodeId & pageMask) * dimension;
+    }
+}
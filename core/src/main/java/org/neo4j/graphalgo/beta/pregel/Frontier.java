@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tracks the nodes that need to be visited in the next superstep,
+ * i.e. nodes that received a message or did not vote to halt.
+ *
+ * If only a small fraction of all nodes is active, the active nodes
+ * are compacted into a worklist and compute steps iterate that list
+ * (sparse mode). Otherwise, compute steps iterate their node range
+ * and skip inactive nodes (dense mode). Similar to direction-optimizing
+ * BFS, the mode is chosen anew for every superstep.
+ */
+final class Frontier {
+
+    // A superstep runs in sparse mode if at most 1 / SPARSE_RATIO of all nodes are active.
+    static final int SPARSE_RATIO = 16;
+
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final List<Partition> wordAlignedPartitions;
+    private final long[] partitionOffsets;
+    private final HugeLongArray worklist;
+
+    private HugeAtomicBitSet current;
+    private HugeAtomicBitSet next;
+    private long size;
+    private boolean isSparse;
+
+    Frontier(long nodeCount, int concurrency, ExecutorService executor, AllocationTracker tracker) {
+        this.nodeCount = nodeCount;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.wordAlignedPartitions = PartitionUtils.numberAlignedPartitioning(concurrency, nodeCount, Long.SIZE);
+        this.partitionOffsets = new long[wordAlignedPartitions.size()];
+        this.worklist = HugeLongArray.newArray(maxWorklistSize(nodeCount), tracker);
+        this.current = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.next = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.size = nodeCount;
+        this.isSparse = false;
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(Frontier.class)
+            .perNode("current frontier", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("next frontier", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("worklist", nodeCount -> HugeLongArray.memoryEstimation(maxWorklistSize(nodeCount)))
+            .build();
+    }
+
+    private static long maxWorklistSize(long nodeCount) {
+        return nodeCount / SPARSE_RATIO;
+    }
+
+    /**
+     * Marks the node as active in the next superstep.
+     */
+    void activate(long nodeId) {
+        next.set(nodeId);
+    }
+
+    /**
+     * Marks all nodes as active in the next superstep.
+     */
+    void activateAll() {
+        if (nodeCount > 0) {
+            next.set(0, nodeCount);
+        }
+    }
+
+    boolean isActive(long nodeId) {
+        return current.get(nodeId);
+    }
+
+    boolean isSparse() {
+        return isSparse;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long nodeAt(long index) {
+        return worklist.get(index);
+    }
+
+    /**
+     * Returns the slice of the worklist that belongs to the given partition.
+     */
+    Partition batch(int partitionIndex, int partitionCount) {
+        long start = size * partitionIndex / partitionCount;
+        long end = size * (partitionIndex + 1) / partitionCount;
+        return Partition.of(start, end - start);
+    }
+
+    /**
+     * Makes the nodes activated during the previous superstep the current frontier.
+     * Must be called at the synchronization barrier between two supersteps.
+     */
+    void advance() {
+        var tmp = current;
+        current = next;
+        next = tmp;
+        next.clear();
+
+        var tasks = new ArrayList<Runnable>(wordAlignedPartitions.size());
+        for (int i = 0; i < wordAlignedPartitions.size(); i++) {
+            var partition = wordAlignedPartitions.get(i);
+            int partitionIndex = i;
+            tasks.add(() -> partitionOffsets[partitionIndex] = current.cardinality(
+                partition.startNode(),
+                partition.startNode() + partition.nodeCount()
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        long activeNodes = 0;
+        for (int i = 0; i < partitionOffsets.length; i++) {
+            long partitionSize = partitionOffsets[i];
+            partitionOffsets[i] = activeNodes;
+            activeNodes += partitionSize;
+        }
+
+        size = activeNodes;
+        isSparse = activeNodes <= maxWorklistSize(nodeCount);
+
+        if (isSparse) {
+            tasks.clear();
+            for (int i = 0; i < wordAlignedPartitions.size(); i++) {
+                var partition = wordAlignedPartitions.get(i);
+                long offset = partitionOffsets[i];
+                tasks.add(() -> {
+                    var index = new MutableLong(offset);
+                    current.forEachSetBit(
+                        partition.startNode(),
+                        partition.startNode() + partition.nodeCount(),
+                        nodeId -> worklist.set(index.getAndIncrement(), nodeId)
+                    );
+                });
+            }
+            ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+        }
+    }
+}
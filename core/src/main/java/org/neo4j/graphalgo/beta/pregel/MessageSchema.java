@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Describes the layout of the messages sent by a Pregel computation.
+ * A message consists of a fixed number of lanes and each lane holds
+ * either a double or a long value.
+ * <br>
+ * Example:
+ * <pre>
+ * public MessageSchema messageSchema() {
+ *      // a node id and a distance
+ *      return MessageSchema.of(ValueType.LONG, ValueType.DOUBLE);
+ * }
+ * </pre>
+ *
+ * Messages are stored as consecutive doubles, long lanes are stored
+ * by their raw bits. Messengers never allocate per message, no matter
+ * how many lanes a message has.
+ *
+ * @see org.neo4j.graphalgo.beta.pregel.PregelComputation#messageSchema()
+ */
+public final class MessageSchema {
+
+    /**
+     * The default schema, every message is a single double.
+     */
+    public static final MessageSchema DOUBLE = new MessageSchema(List.of(ValueType.DOUBLE));
+
+    private final List<ValueType> lanes;
+
+    private MessageSchema(List<ValueType> lanes) {
+        this.lanes = lanes;
+    }
+
+    /**
+     * Creates a schema with one lane per given type.
+     *
+     * @throws IllegalArgumentException if no lane is given or a lane is neither double nor long
+     */
+    public static MessageSchema of(ValueType... lanes) {
+        if (lanes.length == 0) {
+            throw new IllegalArgumentException("A message must have at least one lane.");
+        }
+        for (ValueType lane : lanes) {
+            if (lane != ValueType.DOUBLE && lane != ValueType.LONG) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Message lanes must be of type %s or %s, got %s.",
+                    ValueType.DOUBLE,
+                    ValueType.LONG,
+                    lane
+                ));
+            }
+        }
+        return new MessageSchema(List.of(lanes));
+    }
+
+    /**
+     * Creates a schema where every message is a double array of the given dimension.
+     *
+     * @throws IllegalArgumentException if the dimension is not positive
+     */
+    public static MessageSchema doubleArray(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The message dimension must be positive, got %d.",
+                dimension
+            ));
+        }
+        var lanes = new ValueType[dimension];
+        Arrays.fill(lanes, ValueType.DOUBLE);
+        return new MessageSchema(List.of(lanes));
+    }
+
+    public List<ValueType> lanes() {
+        return lanes;
+    }
+
+    /**
+     * The number of lanes of a single message.
+     */
+    public int width() {
+        return lanes.size();
+    }
+
+    public ValueType laneType(int lane) {
+        return lanes.get(lane);
+    }
+
+    boolean hasOnlyDoubleLanes() {
+        return lanes.stream().allMatch(lane -> lane == ValueType.DOUBLE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return lanes.equals(((MessageSchema) o).lanes);
+    }
+
+    @Override
+    public int hashCode() {
+        return lanes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MessageSchema" + lanes;
+    }
+}
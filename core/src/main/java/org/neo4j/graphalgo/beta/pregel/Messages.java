@@ -21,27 +21,80 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Iterator;
+import java.util.PrimitiveIterator;
 
+/**
+ * The messages a node received in the current superstep.
+ *
+ * Single-value messages are read by iterating over the messages.
+ * Messages of a computation with a wider {@link MessageSchema}
+ * are read one at a time via {@link #next()} and the lane accessors:
+ * <pre>
+ * while (messages.next()) {
+ *     long source = messages.longValue(0);
+ *     double distance = messages.doubleValue(1);
+ * }
+ * </pre>
+ * Iterating over multi-value messages yields all lanes of all messages
+ * in order, long lanes are returned as their raw bits.
+ * The {@link #iterator() iterator} reads values without boxing via
+ * {@link PrimitiveIterator.OfDouble#nextDouble()}.
+ */
 public final class Messages implements Iterable<Double> {
 
-    interface MessageIterator extends Iterator<Double> {
+    interface MessageIterator extends PrimitiveIterator.OfDouble {
         boolean isEmpty();
     }
 
     private final MessageIterator iterator;
+    private final double[] message;
 
     Messages(MessageIterator iterator) {
+        this(iterator, 1);
+    }
+
+    Messages(MessageIterator iterator, int messageWidth) {
         this.iterator = iterator;
+        this.message = new double[messageWidth];
     }
 
     @NotNull
     @Override
-    public Iterator<Double> iterator() {
+    public PrimitiveIterator.OfDouble iterator() {
         return iterator;
     }
 
     public boolean isEmpty() {
         return iterator.isEmpty();
     }
+
+    /**
+     * Advances to the next message, whose lanes can then be read
+     * via {@link #doubleValue(int)} and {@link #longValue(int)}.
+     *
+     * @return false if all messages have been read
+     */
+    public boolean next() {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        for (int lane = 0; lane < message.length; lane++) {
+            message[lane] = iterator.nextDouble();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the double lane of the current message.
+     */
+    public double doubleValue(int lane) {
+        return message[lane];
+    }
+
+    /**
+     * Returns the long lane of the current message.
+     */
+    public long longValue(int lane) {
+        return Double.doubleToRawLongBits(message[lane]);
+    }
 }
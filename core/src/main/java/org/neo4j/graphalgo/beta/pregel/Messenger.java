@@ -19,15 +19,45 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 public interface Messenger<ITERATOR extends Messages.MessageIterator> {
 
     void initIteration(int iteration);
 
-    void sendTo(long targetNodeId, double message);
-
     ITERATOR messageIterator();
 
     void initMessageIterator(ITERATOR messageIterator, long nodeId, boolean isFirstIteration);
 
+    /**
+     * Returns the sender that is used by the compute step with the given id.
+     * Messengers that buffer outgoing messages per compute step return a
+     * dedicated sender, shared messengers return the same sender for all steps.
+     */
+    MessageSender sender(int computeStepId);
+
+    /**
+     * Writes the messages that have been sent during the current superstep
+     * and are received in the next one. Called at the superstep barrier,
+     * before the next call to {@link #initIteration(int)}.
+     */
+    default void writeCheckpoint(CheckpointWriter writer) {
+        throw new UnsupportedOperationException(formatWithLocale(
+            "%s does not support checkpoints.",
+            getClass().getSimpleName()
+        ));
+    }
+
+    /**
+     * Restores the messages written by {@link #writeCheckpoint(CheckpointWriter)},
+     * they are received in the superstep following the next call to {@link #initIteration(int)}.
+     */
+    default void readCheckpoint(CheckpointReader reader) {
+        throw new UnsupportedOperationException(formatWithLocale(
+            "%s does not support checkpoints.",
+            getClass().getSimpleName()
+        ));
+    }
+
     void release();
 }
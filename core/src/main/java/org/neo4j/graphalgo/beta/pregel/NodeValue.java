@@ -21,6 +21,8 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -32,6 +34,7 @@ import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.utils.StringJoining;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -43,11 +46,67 @@ public abstract class NodeValue {
     private final PregelSchema pregelSchema;
     private final Map<String, ValueType> propertyTypes;
 
-    NodeValue(PregelSchema pregelSchema) {
+    // node value arrays indexed by slot, see PregelSchema#slots
+    private final HugeDoubleArray[] doubleSlots;
+    private final HugeLongArray[] longSlots;
+    private final HugeObjectArray<double[]>[] doubleArraySlots;
+    private final HugeObjectArray<long[]>[] longArraySlots;
+    private final DoubleVectorStore[] doubleVectorSlots;
+    private final LongVectorStore[] longVectorSlots;
+
+    // fixed-dimension array properties by key
+    private final Map<String, Object> vectorStores;
+
+    @SuppressWarnings("unchecked")
+    NodeValue(PregelSchema pregelSchema, Map<String, Object> properties) {
         this.pregelSchema = pregelSchema;
         this.propertyTypes = pregelSchema.elements()
             .stream()
             .collect(Collectors.toMap(Element::propertyKey, Element::propertyType));
+
+        var slots = PregelSchema.slots(pregelSchema);
+        this.doubleSlots = new HugeDoubleArray[slots.size()];
+        this.longSlots = new HugeLongArray[slots.size()];
+        this.doubleArraySlots = new HugeObjectArray[slots.size()];
+        this.longArraySlots = new HugeObjectArray[slots.size()];
+        this.doubleVectorSlots = new DoubleVectorStore[slots.size()];
+        this.longVectorSlots = new LongVectorStore[slots.size()];
+        this.vectorStores = new HashMap<>();
+
+        for (int index = 0; index < slots.size(); index++) {
+            var element = slots.get(index);
+            var property = properties.get(element.propertyKey());
+            if (element.isFixedDimension()) {
+                vectorStores.put(element.propertyKey(), property);
+            }
+            switch (element.propertyType()) {
+                case DOUBLE:
+                    doubleSlots[index] = (HugeDoubleArray) property;
+                    break;
+                case LONG:
+                    longSlots[index] = (HugeLongArray) property;
+                    break;
+                case DOUBLE_ARRAY:
+                    if (element.isFixedDimension()) {
+                        doubleVectorSlots[index] = (DoubleVectorStore) property;
+                    } else {
+                        doubleArraySlots[index] = (HugeObjectArray<double[]>) property;
+                    }
+                    break;
+                case LONG_ARRAY:
+                    if (element.isFixedDimension()) {
+                        longVectorSlots[index] = (LongVectorStore) property;
+                    } else {
+                        longArraySlots[index] = (HugeObjectArray<long[]>) property;
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Unsupported value type: %s",
+                        element.propertyType()
+                    ));
+            }
+        }
     }
 
     static NodeValue of(PregelSchema schema, long nodeCount, int concurrency, AllocationTracker tracker) {
@@ -82,6 +141,13 @@ public abstract class NodeValue {
                         builder.fixed(entry, HugeDoubleArray.memoryEstimation(dimensions.nodeCount()));
                         break;
                     case LONG_ARRAY:
+                        if (element.isFixedDimension()) {
+                            builder.fixed(
+                                entry,
+                                LongVectorStore.memoryEstimation(dimensions.nodeCount(), element.dimension())
+                            );
+                            break;
+                        }
                         builder.add(entry, MemoryEstimations.builder()
                             .fixed(
                                 HugeObjectArray.class.getSimpleName(),
@@ -91,6 +157,13 @@ public abstract class NodeValue {
                             .build());
                         break;
                     case DOUBLE_ARRAY:
+                        if (element.isFixedDimension()) {
+                            builder.fixed(
+                                entry,
+                                DoubleVectorStore.memoryEstimation(dimensions.nodeCount(), element.dimension())
+                            );
+                            break;
+                        }
                         builder.add(entry, MemoryEstimations.builder()
                             .fixed(
                                 HugeObjectArray.class.getSimpleName(),
@@ -128,16 +201,60 @@ public abstract class NodeValue {
         return longProperties(key).get(nodeId);
     }
 
+    /**
+     * Returns the node value for the given key.
+     * For fixed-dimension properties, the returned array is a copy.
+     */
     public long[] longArrayValue(String key, long nodeId) {
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.LONG_ARRAY);
+            return ((LongVectorStore) vectorStore).copyOf(nodeId);
+        }
         HugeObjectArray<long[]> arrayProperties = longArrayProperties(key);
         return arrayProperties.get(nodeId);
     }
 
+    /**
+     * Returns the node value for the given key.
+     * For fixed-dimension properties, the returned array is a copy.
+     */
     public double[] doubleArrayValue(String key, long nodeId) {
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.DOUBLE_ARRAY);
+            return ((DoubleVectorStore) vectorStore).copyOf(nodeId);
+        }
         HugeObjectArray<double[]> arrayProperties = doubleArrayProperties(key);
         return arrayProperties.get(nodeId);
     }
 
+    /**
+     * Returns the long array values for the given key, independent
+     * of whether the property has a fixed dimension or not.
+     */
+    public LongArrayNodeProperties longArrayNodeProperties(String key) {
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.LONG_ARRAY);
+            return ((LongVectorStore) vectorStore)::copyOf;
+        }
+        return longArrayProperties(key)::get;
+    }
+
+    /**
+     * Returns the double array values for the given key, independent
+     * of whether the property has a fixed dimension or not.
+     */
+    public DoubleArrayNodeProperties doubleArrayNodeProperties(String key) {
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.DOUBLE_ARRAY);
+            return ((DoubleVectorStore) vectorStore)::copyOf;
+        }
+        return doubleArrayProperties(key)::get;
+    }
+
     public void set(String key, long nodeId, double value) {
         doubleProperties(key).set(nodeId, value);
     }
@@ -147,17 +264,115 @@ public abstract class NodeValue {
     }
 
     public void set(String key, long nodeId, long[] value) {
-        longArrayProperties(key).set(nodeId, value);
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.LONG_ARRAY);
+            ((LongVectorStore) vectorStore).set(nodeId, value);
+        } else {
+            longArrayProperties(key).set(nodeId, value);
+        }
     }
 
     public void set(String key, long nodeId, double[] value) {
-        doubleArrayProperties(key).set(nodeId, value);
+        var vectorStore = vectorStores.get(key);
+        if (vectorStore != null) {
+            checkProperty(key, ValueType.DOUBLE_ARRAY);
+            ((DoubleVectorStore) vectorStore).set(nodeId, value);
+        } else {
+            doubleArrayProperties(key).set(nodeId, value);
+        }
+    }
+
+    public double doubleValue(PregelSchema.DoubleSlot slot, long nodeId) {
+        return doubleSlots[index(slot)].get(nodeId);
+    }
+
+    public long longValue(PregelSchema.LongSlot slot, long nodeId) {
+        return longSlots[index(slot)].get(nodeId);
+    }
+
+    public double[] doubleArrayValue(PregelSchema.DoubleArraySlot slot, long nodeId) {
+        return doubleArraySlots[index(slot)].get(nodeId);
+    }
+
+    public long[] longArrayValue(PregelSchema.LongArraySlot slot, long nodeId) {
+        return longArraySlots[index(slot)].get(nodeId);
+    }
+
+    /**
+     * Returns a view on the node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     */
+    public DoubleVector doubleVector(PregelSchema.DoubleVectorSlot slot, long nodeId) {
+        return doubleVectorSlots[index(slot)].vector(nodeId);
+    }
+
+    /**
+     * Returns a view on the node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     */
+    public LongVector longVector(PregelSchema.LongVectorSlot slot, long nodeId) {
+        return longVectorSlots[index(slot)].vector(nodeId);
+    }
+
+    /**
+     * Points the given view, which must have been returned for the same slot, to the node value of the given node.
+     * Creates a new view if none is given.
+     */
+    DoubleVector doubleVector(PregelSchema.DoubleVectorSlot slot, long nodeId, @Nullable DoubleVector view) {
+        return doubleVectorSlots[index(slot)].vector(nodeId, view);
+    }
+
+    /**
+     * Points the given view, which must have been returned for the same slot, to the node value of the given node.
+     * Creates a new view if none is given.
+     */
+    LongVector longVector(PregelSchema.LongVectorSlot slot, long nodeId, @Nullable LongVector view) {
+        return longVectorSlots[index(slot)].vector(nodeId, view);
+    }
+
+    int slotCount() {
+        return doubleSlots.length;
+    }
+
+    private int index(PregelSchema.Slot slot) {
+        assert slot.isResolvedIn(pregelSchema) : formatWithLocale(
+            "Slot for key %s was resolved in a different schema than %s.",
+            slot.propertyKey(),
+            pregelSchema
+        );
+        return slot.index();
+    }
+
+    public void set(PregelSchema.DoubleSlot slot, long nodeId, double value) {
+        doubleSlots[index(slot)].set(nodeId, value);
+    }
+
+    public void set(PregelSchema.LongSlot slot, long nodeId, long value) {
+        longSlots[index(slot)].set(nodeId, value);
+    }
+
+    public void set(PregelSchema.DoubleArraySlot slot, long nodeId, double[] value) {
+        doubleArraySlots[index(slot)].set(nodeId, value);
+    }
+
+    public void set(PregelSchema.LongArraySlot slot, long nodeId, long[] value) {
+        longArraySlots[index(slot)].set(nodeId, value);
     }
 
     void checkProperty(String key, ValueType expectedType) {
         checkProperty(key, propertyTypes.get(key), expectedType);
     }
 
+    void checkVariableDimension(String key) {
+        if (vectorStores.containsKey(key)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Property with key %s has a fixed dimension and is not stored as an array per node.",
+                key
+            ));
+        }
+    }
+
     private void checkProperty(String key, @Nullable ValueType actualType, ValueType expectedType) {
         if (actualType == null) {
             throw new IllegalArgumentException(formatWithLocale(
@@ -179,6 +394,83 @@ public abstract class NodeValue {
         }
     }
 
+    /**
+     * Writes the values of all properties in slot order.
+     * Variable-length arrays are prefixed by their length,
+     * missing arrays are written as length {@code -1}.
+     */
+    void writeTo(CheckpointWriter writer) {
+        for (int index = 0; index < doubleSlots.length; index++) {
+            if (doubleSlots[index] != null) {
+                writer.writeDoubles(doubleSlots[index]);
+            } else if (longSlots[index] != null) {
+                writer.writeLongs(longSlots[index]);
+            } else if (doubleVectorSlots[index] != null) {
+                doubleVectorSlots[index].writeTo(writer);
+            } else if (longVectorSlots[index] != null) {
+                longVectorSlots[index].writeTo(writer);
+            } else if (doubleArraySlots[index] != null) {
+                var arrays = doubleArraySlots[index];
+                for (long nodeId = 0; nodeId < arrays.size(); nodeId++) {
+                    var array = arrays.get(nodeId);
+                    writer.writeLong(array == null ? -1 : array.length);
+                    if (array != null) {
+                        writer.writeDoubles(array, 0, array.length);
+                    }
+                }
+            } else {
+                var arrays = longArraySlots[index];
+                for (long nodeId = 0; nodeId < arrays.size(); nodeId++) {
+                    var array = arrays.get(nodeId);
+                    writer.writeLong(array == null ? -1 : array.length);
+                    if (array != null) {
+                        writer.writeLongs(array, 0, array.length);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the values of all properties with the values
+     * written by {@link #writeTo(CheckpointWriter)}.
+     */
+    void readFrom(CheckpointReader reader) {
+        for (int index = 0; index < doubleSlots.length; index++) {
+            if (doubleSlots[index] != null) {
+                reader.readDoubles(doubleSlots[index]);
+            } else if (longSlots[index] != null) {
+                reader.readLongs(longSlots[index]);
+            } else if (doubleVectorSlots[index] != null) {
+                doubleVectorSlots[index].readFrom(reader);
+            } else if (longVectorSlots[index] != null) {
+                longVectorSlots[index].readFrom(reader);
+            } else if (doubleArraySlots[index] != null) {
+                var arrays = doubleArraySlots[index];
+                for (long nodeId = 0; nodeId < arrays.size(); nodeId++) {
+                    int length = (int) reader.readLong();
+                    double[] array = null;
+                    if (length >= 0) {
+                        array = new double[length];
+                        reader.readDoubles(array, 0, length);
+                    }
+                    arrays.set(nodeId, array);
+                }
+            } else {
+                var arrays = longArraySlots[index];
+                for (long nodeId = 0; nodeId < arrays.size(); nodeId++) {
+                    int length = (int) reader.readLong();
+                    long[] array = null;
+                    if (length >= 0) {
+                        array = new long[length];
+                        reader.readLongs(array, 0, length);
+                    }
+                    arrays.set(nodeId, array);
+                }
+            }
+        }
+    }
+
     private static Object initArray(Element element, long nodeCount, int concurrency, AllocationTracker tracker) {
         switch (element.propertyType()) {
             case DOUBLE:
@@ -204,9 +496,13 @@ public abstract class NodeValue {
                 );
                 return longNodeValues;
             case LONG_ARRAY:
-                return HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                return element.isFixedDimension()
+                    ? LongVectorStore.of(nodeCount, element.dimension(), tracker)
+                    : HugeObjectArray.newArray(long[].class, nodeCount, tracker);
             case DOUBLE_ARRAY:
-                return HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                return element.isFixedDimension()
+                    ? DoubleVectorStore.of(nodeCount, element.dimension(), tracker)
+                    : HugeObjectArray.newArray(double[].class, nodeCount, tracker);
             default:
                 throw new IllegalArgumentException(formatWithLocale(
                     "Unsupported value type: %s",
@@ -221,7 +517,7 @@ public abstract class NodeValue {
         private final Object property;
 
         SingleNodeValue(PregelSchema pregelSchema, Element element, Object property) {
-            super(pregelSchema);
+            super(pregelSchema, Map.of(element.propertyKey(), property));
             this.element = element;
             this.property = property;
         }
@@ -241,6 +537,7 @@ public abstract class NodeValue {
         @Override
         public HugeObjectArray<long[]> longArrayProperties(String propertyKey) {
             checkProperty(propertyKey, ValueType.LONG_ARRAY);
+            checkVariableDimension(propertyKey);
             //noinspection unchecked
             return (HugeObjectArray<long[]>) property;
         }
@@ -248,6 +545,7 @@ public abstract class NodeValue {
         @Override
         public HugeObjectArray<double[]> doubleArrayProperties(String propertyKey) {
             checkProperty(propertyKey, ValueType.DOUBLE_ARRAY);
+            checkVariableDimension(propertyKey);
             //noinspection unchecked
             return (HugeObjectArray<double[]>) property;
         }
@@ -264,7 +562,7 @@ public abstract class NodeValue {
         private final Map<String, Object> properties;
 
         CompositeNodeValue(PregelSchema pregelSchema, Map<String, Object> properties) {
-            super(pregelSchema);
+            super(pregelSchema, properties);
             this.properties = properties;
         }
 
@@ -283,6 +581,7 @@ public abstract class NodeValue {
         @Override
         public HugeObjectArray<long[]> longArrayProperties(String propertyKey) {
             checkProperty(propertyKey, ValueType.LONG_ARRAY);
+            checkVariableDimension(propertyKey);
             //noinspection unchecked
             return (HugeObjectArray<long[]>) properties.get(propertyKey);
         }
@@ -290,6 +589,7 @@ public abstract class NodeValue {
         @Override
         public HugeObjectArray<double[]> doubleArrayProperties(String propertyKey) {
             checkProperty(propertyKey, ValueType.DOUBLE_ARRAY);
+            checkVariableDimension(propertyKey);
             //noinspection unchecked
             return (HugeObjectArray<double[]>) properties.get(propertyKey);
         }
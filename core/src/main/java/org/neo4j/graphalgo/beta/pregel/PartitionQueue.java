@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out the partitions of a superstep to the compute steps.
+ *
+ * The node range is split into many more partitions than there are
+ * compute steps, each covering roughly the same number of nodes plus
+ * relationships. Compute steps claim the next unprocessed partition
+ * until all partitions are done, so a compute step that hits a few
+ * high-degree nodes does not hold up the others.
+ */
+final class PartitionQueue {
+
+    static final int NO_PARTITION = -1;
+
+    // Target number of partitions per compute step.
+    static final int PARTITIONS_PER_THREAD = 16;
+
+    private final List<Partition> partitions;
+    private final AtomicInteger nextPartition;
+
+    // reused across supersteps, copied into each superstep timing
+    private final long[] partitionNanos;
+
+    PartitionQueue(Graph graph, int concurrency) {
+        this(degreeBalancedPartitions(graph, concurrency));
+    }
+
+    PartitionQueue(List<Partition> partitions) {
+        this.partitions = partitions;
+        this.nextPartition = new AtomicInteger(partitions.size());
+        this.partitionNanos = new long[partitions.size()];
+    }
+
+    /**
+     * Splits the node range into consecutive partitions where each
+     * partition has a cost of about {@code (nodeCount + relationshipCount) / (concurrency * PARTITIONS_PER_THREAD)}.
+     * The cost of a single node is its degree plus one.
+     */
+    static List<Partition> degreeBalancedPartitions(Graph graph, int concurrency) {
+        long nodeCount = graph.nodeCount();
+        long partitionCost = Math.max(
+            ParallelUtil.DEFAULT_BATCH_SIZE,
+            BitUtil.ceilDiv(nodeCount + graph.relationshipCount(), (long) concurrency * PARTITIONS_PER_THREAD)
+        );
+
+        var partitions = new ArrayList<Partition>();
+        long startNode = 0;
+        long cost = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            cost += graph.degree(nodeId) + 1;
+            if (cost >= partitionCost || nodeId + 1 - startNode == Partition.MAX_NODE_COUNT) {
+                partitions.add(Partition.of(startNode, nodeId + 1 - startNode));
+                startNode = nodeId + 1;
+                cost = 0;
+            }
+        }
+        if (startNode < nodeCount) {
+            partitions.add(Partition.of(startNode, nodeCount - startNode));
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Makes all partitions available again. Must be called
+     * before the compute steps of a superstep are started.
+     */
+    void reset() {
+        Arrays.fill(partitionNanos, 0L);
+        nextPartition.set(0);
+    }
+
+    /**
+     * Claims the next unprocessed partition.
+     *
+     * @return the index of the partition or {@link #NO_PARTITION} if all partitions have been claimed
+     */
+    int next() {
+        int partitionIndex = nextPartition.getAndIncrement();
+        return partitionIndex < partitions.size() ? partitionIndex : NO_PARTITION;
+    }
+
+    Partition partition(int partitionIndex) {
+        return partitions.get(partitionIndex);
+    }
+
+    int partitionCount() {
+        return partitions.size();
+    }
+
+    void recordNanos(int partitionIndex, long nanos) {
+        partitionNanos[partitionIndex] = nanos;
+    }
+
+    /**
+     * Returns a copy of the time spent on each partition during the
+     * superstep that was started by the last call to {@link #reset()}.
+     */
+    long[] partitionNanos() {
+        return Arrays.copyOf(partitionNanos, partitionNanos.length);
+    }
+}
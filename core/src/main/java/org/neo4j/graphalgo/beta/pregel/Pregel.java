@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.pregel.context.MasterComputeContext;
@@ -29,14 +30,17 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
-import org.neo4j.graphalgo.core.utils.partition.Partition;
-import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
@@ -50,6 +54,11 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final Messenger<?> messenger;
 
+    private final PartitionQueue partitionQueue;
+
+    @Nullable
+    private final Frontier frontier;
+
     private final int concurrency;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
@@ -66,6 +75,8 @@ public final class Pregel<CONFIG extends PregelConfig> {
         // Creating a copy of the user config triggers the
         // concurrency validations.
         ImmutablePregelConfig.copyOf(config);
+        validateMessageSchema(computation.messageSchema(), config, computation.reducer().isPresent());
+        validateCheckpointing(config, computation.reducer().isPresent());
 
         return new Pregel<>(
             graph,
@@ -77,16 +88,33 @@ public final class Pregel<CONFIG extends PregelConfig> {
         );
     }
 
-    public static MemoryEstimation memoryEstimation(PregelSchema pregelSchema, boolean isQueueBased) {
+    /**
+     * Estimates the memory of running the given computation, the messenger is chosen
+     * from the reducer and the config in the same way as when the computation is run.
+     */
+    public static <CONFIG extends PregelConfig> MemoryEstimation memoryEstimation(
+        PregelComputation<CONFIG> computation,
+        CONFIG config
+    ) {
+        var messageSchema = computation.messageSchema();
         var estimationBuilder = MemoryEstimations.builder(Pregel.class)
             .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perThread("compute steps", MemoryEstimations.builder(ComputeStep.class).build())
-            .add("node value", NodeValue.memoryEstimation(pregelSchema));
-
-        if (isQueueBased) {
+            .add("node value", NodeValue.memoryEstimation(computation.schema()));
+
+        if (computation.reducer().isPresent()) {
+            estimationBuilder.add(
+                "message arrays",
+                ReducingMessenger.memoryEstimation(config.isAsynchronous(), messageSchema.width())
+            );
+        } else if (config.isAsynchronous()) {
             estimationBuilder.add("message queues", QueueMessenger.memoryEstimation());
         } else {
-            estimationBuilder.add("message arrays", ReducingMessenger.memoryEstimation());
+            estimationBuilder.add("message buffers", CompactingMessenger.memoryEstimation(messageSchema.width()));
+        }
+
+        if (config.useActiveFrontier()) {
+            estimationBuilder.add("active frontier", Frontier.memoryEstimation());
         }
 
         return estimationBuilder.build();
@@ -109,10 +137,45 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.tracker = tracker;
 
         var reducer = computation.reducer();
+        var messageSchema = computation.messageSchema();
+
+        if (reducer.isPresent()) {
+            this.messenger = new ReducingMessenger(graph, config, reducer.get(), messageSchema.width(), tracker);
+        } else if (config.isAsynchronous()) {
+            this.messenger = new QueueMessenger(graph, config, tracker);
+        } else {
+            this.messenger = new CompactingMessenger(graph, config, executor, tracker);
+        }
+
+        this.partitionQueue = new PartitionQueue(graph, concurrency);
+
+        this.frontier = config.useActiveFrontier()
+            ? new Frontier(graph.nodeCount(), concurrency, executor, tracker)
+            : null;
+    }
+
+    private static void validateMessageSchema(MessageSchema messageSchema, PregelConfig config, boolean hasReducer) {
+        if (messageSchema.width() > 1 && config.isAsynchronous()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Messages with multiple lanes are only supported in synchronous mode, got %s.",
+                messageSchema
+            ));
+        }
+        if (hasReducer && !messageSchema.hasOnlyDoubleLanes()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Reducers can only be applied to messages with double lanes, got %s.",
+                messageSchema
+            ));
+        }
+    }
 
-        this.messenger = reducer.isPresent()
-            ? new ReducingMessenger(graph, config, reducer.get(), tracker)
-            : new QueueMessenger(graph, config, tracker);
+    private static void validateCheckpointing(PregelConfig config, boolean hasReducer) {
+        boolean usesCheckpoints = config.checkpointInterval() > 0 || config.resumeFromCheckpoint();
+        if (usesCheckpoints && config.isAsynchronous() && !hasReducer) {
+            throw new IllegalArgumentException(
+                "Checkpoints are not supported for asynchronous computations without a reducer."
+            );
+        }
     }
 
     public PregelResult run() {
@@ -121,9 +184,18 @@ public final class Pregel<CONFIG extends PregelConfig> {
         HugeAtomicBitSet voteBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
 
         var computeSteps = createComputeSteps(voteBits);
+        var superstepTimings = new ArrayList<SuperstepTiming>();
+
+        int iterations = 0;
+        if (config.resumeFromCheckpoint()) {
+            iterations = PregelCheckpoint.read(checkpointDirectory(), computation.schema(), nodeValues, voteBits, messenger);
+            if (frontier != null) {
+                // The frontier is not part of the checkpoint, visit all nodes once.
+                frontier.activateAll();
+            }
+        }
 
-        int iterations;
-        for (iterations = 0; iterations < config.maxIterations(); iterations++) {
+        for (; iterations < config.maxIterations(); iterations++) {
             // Init compute steps with the updated state
             for (var computeStep : computeSteps) {
                 computeStep.init(iterations);
@@ -132,8 +204,20 @@ public final class Pregel<CONFIG extends PregelConfig> {
             // Init messenger with the updated state
             messenger.initIteration(iterations);
 
+            // Determine the nodes to visit in this superstep
+            if (frontier != null && iterations > 0) {
+                frontier.advance();
+            }
+
             // Run the computation
+            partitionQueue.reset();
+            long start = System.nanoTime();
             runComputeSteps(computeSteps);
+            superstepTimings.add(ImmutableSuperstepTiming.of(
+                iterations,
+                System.nanoTime() - start,
+                partitionQueue.partitionNanos()
+            ));
             runMasterComputeStep(iterations);
 
 
@@ -146,12 +230,27 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 didConverge = true;
                 break;
             }
+
+            int nextIteration = iterations + 1;
+            if (config.checkpointInterval() > 0 &&
+                nextIteration % config.checkpointInterval() == 0 &&
+                nextIteration < config.maxIterations()) {
+                PregelCheckpoint.write(
+                    checkpointDirectory(),
+                    nextIteration,
+                    computation.schema(),
+                    nodeValues,
+                    voteBits,
+                    messenger
+                );
+            }
         }
 
         return ImmutablePregelResult.builder()
             .nodeValues(nodeValues)
             .didConverge(didConverge)
             .ranIterations(iterations)
+            .superstepTimings(superstepTimings)
             .build();
     }
 
@@ -159,22 +258,29 @@ public final class Pregel<CONFIG extends PregelConfig> {
         messenger.release();
     }
 
+    private Path checkpointDirectory() {
+        return Path.of(Objects.requireNonNull(config.checkpointDirectory()));
+    }
+
     private List<ComputeStep<CONFIG, ?>> createComputeSteps(HugeAtomicBitSet voteBits) {
-        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, graph.nodeCount());
+        // Partitions are claimed dynamically, more compute steps than partitions would idle.
+        int computeStepCount = Math.min(concurrency, partitionQueue.partitionCount());
 
-        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(concurrency);
+        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(computeStepCount);
 
-        for (Partition partition : partitions) {
+        for (int i = 0; i < computeStepCount; i++) {
             computeSteps.add(new ComputeStep<>(
                 graph,
                 computation,
                 config,
                 0,
-                partition,
+                partitionQueue,
                 nodeValues,
                 messenger,
+                messenger.sender(i),
                 voteBits,
-                graph
+                graph,
+                frontier
             ));
         }
         return computeSteps;
@@ -197,5 +303,30 @@ public final class Pregel<CONFIG extends PregelConfig> {
         int ranIterations();
 
         boolean didConverge();
+
+        /**
+         * Timings of the compute phase of each superstep.
+         */
+        List<SuperstepTiming> superstepTimings();
+    }
+
+    /**
+     * Time spent in the compute phase of a superstep, in total and for
+     * each partition of the node space. Partitions are processed by all
+     * compute steps, a large spread between the partitions indicates
+     * that few partitions dominate the superstep.
+     */
+    @ValueClass
+    public interface SuperstepTiming {
+
+        int superstep();
+
+        long totalNanos();
+
+        long[] partitionNanos();
+
+        default long maxPartitionNanos() {
+            return Arrays.stream(partitionNanos()).max().orElse(0L);
+        }
     }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Saves and restores the state of a Pregel computation at a superstep barrier:
+ * the node values, the vote bits and the messages that are received in the
+ * next superstep. Resuming from a checkpoint continues with that superstep.
+ *
+ * A checkpoint is written to a temporary file that replaces the previous
+ * checkpoint only once it is complete, so a failure while writing never
+ * destroys the last valid checkpoint.
+ */
+final class PregelCheckpoint {
+
+    static final String FILE_NAME = "pregel.checkpoint";
+
+    // "PREGELCP"
+    private static final long MAGIC = 0x5052_4547_454C_4350L;
+    private static final long VERSION = 1L;
+
+    private PregelCheckpoint() {}
+
+    static void write(
+        Path directory,
+        int nextSuperstep,
+        PregelSchema schema,
+        NodeValue nodeValues,
+        HugeAtomicBitSet voteBits,
+        Messenger<?> messenger
+    ) {
+        var file = directory.resolve(FILE_NAME);
+        var tempFile = directory.resolve(FILE_NAME + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+            try (var writer = new CheckpointWriter(tempFile)) {
+                writer.writeLong(MAGIC);
+                writer.writeLong(VERSION);
+                writer.writeLong(schemaFingerprint(schema));
+                writer.writeLong(voteBits.size());
+                writer.writeLong(nextSuperstep);
+
+                nodeValues.writeTo(writer);
+                writeBits(writer, voteBits);
+                messenger.writeCheckpoint(writer);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restores the state from the checkpoint in the given directory.
+     *
+     * @return the superstep to continue with
+     */
+    static int read(
+        Path directory,
+        PregelSchema schema,
+        NodeValue nodeValues,
+        HugeAtomicBitSet voteBits,
+        Messenger<?> messenger
+    ) {
+        var file = directory.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException(formatWithLocale("No checkpoint found at `%s`.", file));
+        }
+
+        try (var reader = new CheckpointReader(file)) {
+            if (reader.readLong() != MAGIC || reader.readLong() != VERSION) {
+                throw new IllegalArgumentException(formatWithLocale("`%s` is not a Pregel checkpoint.", file));
+            }
+            if (reader.readLong() != schemaFingerprint(schema)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The checkpoint at `%s` has been written for a different node schema.",
+                    file
+                ));
+            }
+            long nodeCount = reader.readLong();
+            if (nodeCount != voteBits.size()) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The checkpoint at `%s` has been written for %d nodes, but the graph has %d nodes.",
+                    file,
+                    nodeCount,
+                    voteBits.size()
+                ));
+            }
+            int nextSuperstep = (int) reader.readLong();
+
+            nodeValues.readFrom(reader);
+            readBits(reader, voteBits);
+            messenger.readCheckpoint(reader);
+
+            return nextSuperstep;
+        }
+    }
+
+    private static void writeBits(CheckpointWriter writer, HugeAtomicBitSet bits) {
+        long size = bits.size();
+        for (long wordStart = 0; wordStart < size; wordStart += Long.SIZE) {
+            long wordEnd = Math.min(size, wordStart + Long.SIZE);
+            long word = 0L;
+            for (long index = wordStart; index < wordEnd; index++) {
+                if (bits.get(index)) {
+                    word |= 1L << index;
+                }
+            }
+            writer.writeLong(word);
+        }
+    }
+
+    private static void readBits(CheckpointReader reader, HugeAtomicBitSet bits) {
+        bits.clear();
+        long size = bits.size();
+        for (long wordStart = 0; wordStart < size; wordStart += Long.SIZE) {
+            long word = reader.readLong();
+            while (word != 0L) {
+                bits.set(wordStart + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static long schemaFingerprint(PregelSchema schema) {
+        return PregelSchema.slots(schema)
+            .stream()
+            .map(element -> element.propertyKey() + ':' + element.propertyType() + ':' + element.dimension())
+            .collect(Collectors.joining(","))
+            .hashCode();
+    }
+}
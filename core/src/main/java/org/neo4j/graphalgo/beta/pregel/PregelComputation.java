@@ -99,13 +99,31 @@ public interface PregelComputation<C extends PregelConfig> {
         return Optional.empty();
     }
 
+    /**
+     * The message schema describes the layout of the messages sent
+     * by the computation. By default, a message is a single double.
+     * Wider messages, e.g. a node id together with a distance, avoid
+     * encoding multiple values into a single double or spreading them
+     * over multiple supersteps.
+     * <br>
+     * Messages with more than one lane are only supported in
+     * synchronous mode. If a reducer is used, all lanes must be
+     * doubles and the reducer is applied to each lane individually.
+     *
+     * @see org.neo4j.graphalgo.beta.pregel.MessageSchema
+     */
+    default MessageSchema messageSchema() {
+        return MessageSchema.DOUBLE;
+    }
+
     /**
      * If the input graph is weighted, i.e. relationships have a
      * property, this method can be overridden to apply that weight
      * on a message before it is read by the receiving node.
      * <br>
      * If the input graph has no relationship properties, i.e. is
-     * unweighted, the method is skipped.
+     * unweighted, the method is skipped. The weight is not applied
+     * to messages with more than one lane.
      */
     default double applyRelationshipWeight(double nodeValue, double relationshipWeight) {
         return nodeValue;
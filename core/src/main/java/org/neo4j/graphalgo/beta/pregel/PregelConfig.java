@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -44,11 +45,70 @@ public interface PregelConfig extends
     MutatePropertyConfig,
     ConcurrencyConfig {
 
+    String CHECKPOINT_DIRECTORY_KEY = "checkpointDirectory";
+
+    /**
+     * If enabled, messages are visible to their target node as soon
+     * as they have been sent instead of only after the next barrier.
+     * This often reduces the number of supersteps to convergence.
+     */
     @Value.Default
     default boolean isAsynchronous() {
         return false;
     }
 
+    /**
+     * If enabled, supersteps only visit nodes that received
+     * messages or did not vote to halt in the previous superstep.
+     */
+    @Value.Default
+    default boolean useActiveFrontier() {
+        return false;
+    }
+
+    /**
+     * Writes a checkpoint into the {@link #checkpointDirectory()} every given
+     * number of supersteps. A checkpoint replaces the previous one and holds
+     * the node values, the vote bits and the pending messages. Use {@code 0}
+     * to disable checkpointing.
+     */
+    @Value.Default
+    default int checkpointInterval() {
+        return 0;
+    }
+
+    /**
+     * Directory for the checkpoint files. Procedures resolve it relative
+     * to the configured {@code gds.export.location}.
+     */
+    @Value.Default
+    @Configuration.Key(CHECKPOINT_DIRECTORY_KEY)
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String checkpointDirectory() {
+        return null;
+    }
+
+    /**
+     * If enabled, the computation continues with the superstep following
+     * the checkpoint in the {@link #checkpointDirectory()}. State that a
+     * computation keeps outside of its node values, e.g. in fields updated
+     * by masterCompute, is not restored.
+     */
+    @Value.Default
+    default boolean resumeFromCheckpoint() {
+        return false;
+    }
+
+    @Value.Check
+    default void validateCheckpointing() {
+        if (checkpointInterval() < 0) {
+            throw new IllegalArgumentException("`checkpointInterval` must not be negative");
+        }
+        if ((checkpointInterval() > 0 || resumeFromCheckpoint()) && checkpointDirectory() == null) {
+            throw new IllegalArgumentException("Checkpointing requires a `checkpointDirectory`");
+        }
+    }
+
     @Value.Default
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     default String writeProperty() {
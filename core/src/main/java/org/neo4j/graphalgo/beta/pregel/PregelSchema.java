@@ -23,8 +23,13 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @ValueClass
 public interface PregelSchema {
@@ -35,6 +40,175 @@ public interface PregelSchema {
 
     Set<Element> elements();
 
+    /**
+     * Returns a handle to the double node value for the given key.
+     * Accessing node values via handles avoids resolving the key
+     * for each access and should be preferred in compute methods.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double
+     */
+    default DoubleSlot doubleSlot(String propertyKey) {
+        return new DoubleSlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.DOUBLE));
+    }
+
+    /**
+     * Returns a handle to the long node value for the given key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long
+     */
+    default LongSlot longSlot(String propertyKey) {
+        return new LongSlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.LONG));
+    }
+
+    /**
+     * Returns a handle to the double array node value for the given key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a double array
+     */
+    default DoubleArraySlot doubleArraySlot(String propertyKey) {
+        return new DoubleArraySlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.DOUBLE_ARRAY, false));
+    }
+
+    /**
+     * Returns a handle to the long array node value for the given key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a long array
+     */
+    default LongArraySlot longArraySlot(String propertyKey) {
+        return new LongArraySlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.LONG_ARRAY, false));
+    }
+
+    /**
+     * Returns a handle to the fixed-dimension double array node value for the given key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a fixed-dimension double array
+     */
+    default DoubleVectorSlot doubleVectorSlot(String propertyKey) {
+        return new DoubleVectorSlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.DOUBLE_ARRAY, true));
+    }
+
+    /**
+     * Returns a handle to the fixed-dimension long array node value for the given key.
+     *
+     * @throws IllegalArgumentException if the key does not exist or the value is not a fixed-dimension long array
+     */
+    default LongVectorSlot longVectorSlot(String propertyKey) {
+        return new LongVectorSlot(this, propertyKey, slotIndex(this, propertyKey, ValueType.LONG_ARRAY, true));
+    }
+
+    /**
+     * The schema elements ordered by their slot index.
+     * Slot indexes only depend on the property keys, so
+     * equal schemas always assign the same slots.
+     */
+    static List<Element> slots(PregelSchema schema) {
+        return schema.elements()
+            .stream()
+            .sorted(Comparator.comparing(Element::propertyKey))
+            .collect(Collectors.toList());
+    }
+
+    private static int slotIndex(PregelSchema schema, String propertyKey, ValueType expectedType) {
+        return slotIndex(schema, propertyKey, expectedType, false);
+    }
+
+    private static int slotIndex(
+        PregelSchema schema,
+        String propertyKey,
+        ValueType expectedType,
+        boolean expectFixedDimension
+    ) {
+        var slots = slots(schema);
+        for (int index = 0; index < slots.size(); index++) {
+            var element = slots.get(index);
+            if (element.propertyKey().equals(propertyKey)) {
+                if (element.propertyType() != expectedType) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Requested property type %s is not compatible with available property type %s for key %s.",
+                        expectedType,
+                        element.propertyType(),
+                        propertyKey
+                    ));
+                }
+                if (element.isFixedDimension() != expectFixedDimension) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Property with key %s %s a fixed dimension, use a %s slot instead.",
+                        propertyKey,
+                        element.isFixedDimension() ? "has" : "does not have",
+                        element.isFixedDimension() ? "vector" : "array"
+                    ));
+                }
+                return index;
+            }
+        }
+        throw new IllegalArgumentException(formatWithLocale(
+            "Property with key %s does not exist. Available properties are: %s",
+            propertyKey,
+            slots.stream().map(Element::propertyKey).collect(Collectors.toList())
+        ));
+    }
+
+    abstract class Slot {
+        // the schema the index was resolved in, slots must only be used with node values of an equal schema
+        private final PregelSchema schema;
+        private final String propertyKey;
+        private final int index;
+
+        Slot(PregelSchema schema, String propertyKey, int index) {
+            this.schema = schema;
+            this.propertyKey = propertyKey;
+            this.index = index;
+        }
+
+        public String propertyKey() {
+            return propertyKey;
+        }
+
+        int index() {
+            return index;
+        }
+
+        boolean isResolvedIn(PregelSchema other) {
+            return schema == other || schema.equals(other);
+        }
+    }
+
+    final class DoubleSlot extends Slot {
+        DoubleSlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
+    final class LongSlot extends Slot {
+        LongSlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
+    final class DoubleArraySlot extends Slot {
+        DoubleArraySlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
+    final class LongArraySlot extends Slot {
+        LongArraySlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
+    final class DoubleVectorSlot extends Slot {
+        DoubleVectorSlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
+    final class LongVectorSlot extends Slot {
+        LongVectorSlot(PregelSchema schema, String propertyKey, int index) {
+            super(schema, propertyKey, index);
+        }
+    }
+
     class Builder {
 
         private final Set<Element> elements = new HashSet<>();
@@ -44,7 +218,41 @@ public interface PregelSchema {
         }
 
         public PregelSchema.Builder add(String propertyKey, ValueType propertyType, Visibility visibility) {
-            elements.add(ImmutableElement.of(propertyKey, propertyType, visibility));
+            elements.add(ImmutableElement.of(propertyKey, propertyType, visibility, Element.VARIABLE_DIMENSION));
+            return this;
+        }
+
+        /**
+         * Adds an array property where all node values have the given dimension.
+         * The values of all nodes are stored in a single flat array instead of
+         * one array per node and can be accessed without copying via
+         * {@link DoubleVectorSlot} and {@link LongVectorSlot}.
+         */
+        public PregelSchema.Builder add(String propertyKey, ValueType propertyType, int dimension) {
+            return add(propertyKey, propertyType, dimension, Visibility.PUBLIC);
+        }
+
+        public PregelSchema.Builder add(
+            String propertyKey,
+            ValueType propertyType,
+            int dimension,
+            Visibility visibility
+        ) {
+            if (propertyType != ValueType.DOUBLE_ARRAY && propertyType != ValueType.LONG_ARRAY) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "A fixed dimension is only supported for array properties, got %s for key %s.",
+                    propertyType,
+                    propertyKey
+                ));
+            }
+            if (dimension <= 0) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The dimension for key %s must be positive, got %d.",
+                    propertyKey,
+                    dimension
+                ));
+            }
+            elements.add(ImmutableElement.of(propertyKey, propertyType, visibility, dimension));
             return this;
         }
 
@@ -61,5 +269,18 @@ interface Element {
     ValueType propertyType();
     @Value.Auxiliary
     PregelSchema.Visibility visibility();
+
+    int VARIABLE_DIMENSION = 0;
+
+    /**
+     * The dimension of fixed-dimension array properties
+     * or {@link #VARIABLE_DIMENSION} for all other properties.
+     */
+    @Value.Auxiliary
+    int dimension();
+
+    default boolean isFixedDimension() {
+        return dimension() != VARIABLE_DIMENSION;
+    }
 }
 
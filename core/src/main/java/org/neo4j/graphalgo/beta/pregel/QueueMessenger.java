@@ -36,8 +36,11 @@ import java.util.stream.LongStream;
 /**
  * A messenger implementation that is backed by an MPSC queue
  * for each node in the graph. The queue acts as message inbox.
+ *
+ * Pregel uses this messenger for asynchronous computations only,
+ * synchronous computations use the {@link CompactingMessenger}.
  */
-class QueueMessenger implements Messenger<QueueMessenger.QueueIterator> {
+class QueueMessenger implements Messenger<QueueMessenger.QueueIterator>, MessageSender {
 
     // Marks the end of messages from the previous iteration in synchronous mode.
     private static final Double TERMINATION_SYMBOL = Double.NaN;
@@ -108,11 +111,24 @@ class QueueMessenger implements Messenger<QueueMessenger.QueueIterator> {
         }
     }
 
+    @Override
+    public MessageSender sender(int computeStepId) {
+        return this;
+    }
+
     @Override
     public void sendTo(long targetNodeId, double message) {
         messageQueues.get(targetNodeId).add(message);
     }
 
+    @Override
+    public void sendTo(long targetNodeId, double[] message) {
+        var queue = messageQueues.get(targetNodeId);
+        for (double lane : message) {
+            queue.add(lane);
+        }
+    }
+
     @Override
     public QueueMessenger.QueueIterator messageIterator() {
         return config.isAsynchronous()
@@ -143,7 +159,7 @@ class QueueMessenger implements Messenger<QueueMessenger.QueueIterator> {
         }
 
         @Override
-        public Double next() {
+        public double nextDouble() {
             return queue.poll();
         }
 
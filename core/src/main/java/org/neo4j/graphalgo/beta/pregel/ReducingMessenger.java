@@ -20,68 +20,132 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.DoublePageCreator;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 
+import java.util.function.LongUnaryOperator;
+
 /**
  * A messenger implementation that is backed by two double arrays used
  * to send and receive messages. The messenger can only be applied in
  * combination with a {@link org.neo4j.graphalgo.beta.pregel.Reducer}
  * which atomically reduces all incoming messages into a single one.
+ *
+ * Reading the message of a node resets its slot to the empty value.
+ * Every node that received a message is visited in the following
+ * superstep, so the receive array is entirely empty once a superstep
+ * has finished and can be reused as send array without resetting it.
+ *
+ * In asynchronous mode, send and receive array are the same array.
+ * Messages are visible to the target node as soon as they have been
+ * sent, either within the same superstep or in the next one.
+ *
+ * Messages with multiple lanes are reduced lane by lane, every node
+ * owns one slot per lane.
  */
-public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIterator> {
+public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIterator>, MessageSender {
+
+    // Number of slots copied at once when writing or reading checkpoints.
+    private static final int CHECKPOINT_BUFFER_SIZE = 1 << 12;
 
-    private final Graph graph;
-    private final PregelConfig config;
     private final Reducer reducer;
+    private final int messageWidth;
 
     private HugeAtomicDoubleArray sendArray;
     private HugeAtomicDoubleArray receiveArray;
 
     ReducingMessenger(Graph graph, PregelConfig config, Reducer reducer, AllocationTracker tracker) {
-        this.graph = graph;
-        this.config = config;
+        this(graph, config, reducer, 1, tracker);
+    }
+
+    ReducingMessenger(
+        Graph graph,
+        PregelConfig config,
+        Reducer reducer,
+        int messageWidth,
+        AllocationTracker tracker
+    ) {
         this.reducer = reducer;
+        this.messageWidth = messageWidth;
 
-        this.receiveArray = HugeAtomicDoubleArray.newArray(graph.nodeCount(), tracker);
-        this.sendArray = HugeAtomicDoubleArray.newArray(graph.nodeCount(), tracker);
+        long slotCount = graph.nodeCount() * messageWidth;
+        this.receiveArray = emptyArray(slotCount, config.concurrency(), reducer, tracker);
+        this.sendArray = config.isAsynchronous()
+            ? receiveArray
+            : emptyArray(slotCount, config.concurrency(), reducer, tracker);
+    }
+
+    private static HugeAtomicDoubleArray emptyArray(
+        long size,
+        int concurrency,
+        Reducer reducer,
+        AllocationTracker tracker
+    ) {
+        var emptyValue = reducer.emptyValue();
+        return HugeAtomicDoubleArray.newArray(size, DoublePageCreator.of(concurrency, ignore -> emptyValue), tracker);
     }
 
     static MemoryEstimation memoryEstimation() {
+        return memoryEstimation(false);
+    }
+
+    static MemoryEstimation memoryEstimation(boolean isAsynchronous) {
+        return memoryEstimation(isAsynchronous, 1);
+    }
+
+    static MemoryEstimation memoryEstimation(boolean isAsynchronous, int messageWidth) {
+        LongUnaryOperator arrayEstimation = nodeCount -> HugeAtomicDoubleArray.memoryEstimation(nodeCount * messageWidth);
+        if (isAsynchronous) {
+            return MemoryEstimations.builder(ReducingMessenger.class)
+                .perNode("message array", arrayEstimation)
+                .build();
+        }
         return MemoryEstimations.builder(ReducingMessenger.class)
-            .perNode("send array", HugeAtomicDoubleArray::memoryEstimation)
-            .perNode("receive array", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("send array", arrayEstimation)
+            .perNode("receive array", arrayEstimation)
             .build();
     }
 
     @Override
     public void initIteration(int iteration) {
-        // Swap arrays
+        // Swap arrays, the arrays are identical in asynchronous mode.
+        // Receiving a message empties the slot, so no reset is needed.
         var tmp = receiveArray;
         this.receiveArray = sendArray;
         this.sendArray = tmp;
+    }
 
-        ParallelUtil.parallelForEachNode(
-            graph,
-            config.concurrency(),
-            nodeId -> sendArray.set(nodeId, reducer.emptyValue())
-        );
+    @Override
+    public MessageSender sender(int computeStepId) {
+        return this;
     }
 
     @Override
     public void sendTo(long targetNodeId, double message) {
+        reduce(targetNodeId, message);
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double[] message) {
+        long offset = targetNodeId * messageWidth;
+        for (int lane = 0; lane < messageWidth; lane++) {
+            reduce(offset + lane, message[lane]);
+        }
+    }
+
+    private void reduce(long index, double message) {
         sendArray.update(
-            targetNodeId,
+            index,
             current -> reducer.reduce(reducer.isEmptyValue(current) ? reducer.identity() : current, message)
         );
     }
 
     @Override
     public ReducingMessenger.SingleMessageIterator messageIterator() {
-        return new SingleMessageIterator();
+        return new SingleMessageIterator(messageWidth);
     }
 
     @Override
@@ -90,40 +154,81 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
         long nodeId,
         boolean isInitialIteration
     ) {
-        var message = receiveArray.getAndReplace(nodeId, reducer.identity());
-        messageIterator.init(message, !reducer.isEmptyValue(message));
+        if (isInitialIteration) {
+            // Messages sent during the initial superstep are received in the next one.
+            messageIterator.init(false);
+            return;
+        }
+        var message = messageIterator.message;
+        long offset = nodeId * messageWidth;
+        for (int lane = 0; lane < messageWidth; lane++) {
+            message[lane] = receiveArray.getAndReplace(offset + lane, reducer.emptyValue());
+        }
+        messageIterator.init(!reducer.isEmptyValue(message[0]));
+    }
+
+    @Override
+    public void writeCheckpoint(CheckpointWriter writer) {
+        var buffer = new double[CHECKPOINT_BUFFER_SIZE];
+        long size = sendArray.size();
+        for (long start = 0; start < size; start += buffer.length) {
+            int length = (int) Math.min(buffer.length, size - start);
+            for (int i = 0; i < length; i++) {
+                buffer[i] = sendArray.get(start + i);
+            }
+            writer.writeDoubles(buffer, 0, length);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointReader reader) {
+        var buffer = new double[CHECKPOINT_BUFFER_SIZE];
+        long size = sendArray.size();
+        for (long start = 0; start < size; start += buffer.length) {
+            int length = (int) Math.min(buffer.length, size - start);
+            reader.readDoubles(buffer, 0, length);
+            for (int i = 0; i < length; i++) {
+                sendArray.set(start + i, buffer[i]);
+            }
+        }
     }
 
     @Override
     public void release() {
         sendArray.release();
-        receiveArray.release();
+        if (receiveArray != sendArray) {
+            receiveArray.release();
+        }
     }
 
     static class SingleMessageIterator implements Messages.MessageIterator {
 
-        boolean hasNext;
-        double message;
+        final double[] message;
+        boolean hasMessage;
+        int nextLane;
+
+        SingleMessageIterator(int messageWidth) {
+            this.message = new double[messageWidth];
+        }
 
-        void init(double value, boolean hasNext) {
-            this.message = value;
-            this.hasNext = hasNext;
+        void init(boolean hasMessage) {
+            this.hasMessage = hasMessage;
+            this.nextLane = 0;
         }
 
         @Override
         public boolean isEmpty() {
-            return !hasNext;
+            return !hasMessage;
         }
 
         @Override
         public boolean hasNext() {
-            return hasNext;
+            return hasMessage && nextLane < message.length;
         }
 
         @Override
-        public Double next() {
-            hasNext = false;
-            return message;
+        public double nextDouble() {
+            return message[nextLane++];
         }
     }
 }
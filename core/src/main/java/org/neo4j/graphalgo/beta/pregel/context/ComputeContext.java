@@ -20,7 +20,10 @@
 package org.neo4j.graphalgo.beta.pregel.context;
 
 import org.neo4j.graphalgo.beta.pregel.ComputeStep;
+import org.neo4j.graphalgo.beta.pregel.DoubleVector;
+import org.neo4j.graphalgo.beta.pregel.LongVector;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
+import org.neo4j.graphalgo.beta.pregel.PregelSchema;
 
 /**
  * A context that is used during the computation. It allows an implementation
@@ -83,6 +86,57 @@ public final class ComputeContext<CONFIG extends PregelConfig> extends NodeCentr
         return computeStep.doubleArrayNodeValue(key, nodeId);
     }
 
+    /**
+     * Returns the node value for the given slot.
+     */
+    public double doubleNodeValue(PregelSchema.DoubleSlot slot) {
+        return computeStep.doubleNodeValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public long longNodeValue(PregelSchema.LongSlot slot) {
+        return computeStep.longNodeValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public long[] longArrayNodeValue(PregelSchema.LongArraySlot slot) {
+        return computeStep.longArrayNodeValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given node-id and slot.
+     */
+    public long[] longArrayNodeValue(PregelSchema.LongArraySlot slot, long id) {
+        return computeStep.longArrayNodeValue(slot, id);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public double[] doubleArrayNodeValue(PregelSchema.DoubleArraySlot slot) {
+        return computeStep.doubleArrayNodeValue(slot, nodeId);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given node-id and slot.
+     * The view is re-pointed by the next access to the same slot, use {@link DoubleVector#toArray()} to keep the values.
+     */
+    public DoubleVector doubleVector(PregelSchema.DoubleVectorSlot slot, long id) {
+        return computeStep.doubleVector(slot, id);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given node-id and slot.
+     * The view is re-pointed by the next access to the same slot, use {@link LongVector#toArray()} to keep the values.
+     */
+    public LongVector longVector(PregelSchema.LongVectorSlot slot, long id) {
+        return computeStep.longVector(slot, id);
+    }
+
     /**
      * Notify the execution framework that this node intends
      * to stop the computation. If the node voted to halt
@@ -126,6 +180,44 @@ public final class ComputeContext<CONFIG extends PregelConfig> extends NodeCentr
         computeStep.sendTo(targetNodeId, message);
     }
 
+    /**
+     * Sends a message with one value per lane of the {@link org.neo4j.graphalgo.beta.pregel.MessageSchema}
+     * to the target node. The array is copied and can be reused after the call.
+     *
+     * @throws IllegalArgumentException if the message does not match the message schema width
+     */
+    public void sendTo(long targetNodeId, double[] message) {
+        computeStep.sendTo(targetNodeId, message);
+    }
+
+    /**
+     * Sends a message consisting of a long and a double lane to the target node.
+     *
+     * @throws IllegalArgumentException if the message schema does not have two lanes
+     */
+    public void sendTo(long targetNodeId, long first, double second) {
+        computeStep.sendTo(targetNodeId, first, second);
+    }
+
+    /**
+     * Sends a message with one value per lane to all neighbors of the node.
+     * Relationship weights are not applied to messages with multiple lanes.
+     *
+     * @throws IllegalArgumentException if the message does not match the message schema width
+     */
+    public void sendToNeighbors(double[] message) {
+        computeStep.sendToNeighbors(nodeId, message);
+    }
+
+    /**
+     * Sends a message consisting of a long and a double lane to all neighbors of the node.
+     *
+     * @throws IllegalArgumentException if the message schema does not have two lanes
+     */
+    public void sendToNeighbors(long first, double second) {
+        computeStep.sendToNeighbors(nodeId, first, second);
+    }
+
     @FunctionalInterface
     interface SendMessagesFunction {
         void sendToNeighbors(long sourceNodeId, double message);
@@ -20,8 +20,11 @@
 package org.neo4j.graphalgo.beta.pregel.context;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.pregel.DoubleVector;
+import org.neo4j.graphalgo.beta.pregel.LongVector;
 import org.neo4j.graphalgo.beta.pregel.NodeValue;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
+import org.neo4j.graphalgo.beta.pregel.PregelSchema;
 
 import java.util.function.LongPredicate;
 
@@ -157,4 +160,76 @@ public class MasterComputeContext<CONFIG extends PregelConfig> extends PregelCon
     public void setNodeValue(long nodeId, String key, double[] value) {
         nodeValue.set(key, nodeId, value);
     }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public double doubleNodeValue(long nodeId, PregelSchema.DoubleSlot slot) {
+        return nodeValue.doubleValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public long longNodeValue(long nodeId, PregelSchema.LongSlot slot) {
+        return nodeValue.longValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public long[] longArrayNodeValue(long nodeId, PregelSchema.LongArraySlot slot) {
+        return nodeValue.longArrayValue(slot, nodeId);
+    }
+
+    /**
+     * Returns the node value for the given slot.
+     */
+    public double[] doubleArrayNodeValue(long nodeId, PregelSchema.DoubleArraySlot slot) {
+        return nodeValue.doubleArrayValue(slot, nodeId);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     */
+    public DoubleVector doubleVector(long nodeId, PregelSchema.DoubleVectorSlot slot) {
+        return nodeValue.doubleVector(slot, nodeId);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     */
+    public LongVector longVector(long nodeId, PregelSchema.LongVectorSlot slot) {
+        return nodeValue.longVector(slot, nodeId);
+    }
+
+    /**
+     * Sets a node double value for the given slot.
+     */
+    public void setNodeValue(long nodeId, PregelSchema.DoubleSlot slot, double value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node long value for the given slot.
+     */
+    public void setNodeValue(long nodeId, PregelSchema.LongSlot slot, long value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node long array value for the given slot.
+     */
+    public void setNodeValue(long nodeId, PregelSchema.LongArraySlot slot, long[] value) {
+        nodeValue.set(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node double array value for the given slot.
+     */
+    public void setNodeValue(long nodeId, PregelSchema.DoubleArraySlot slot, double[] value) {
+        nodeValue.set(slot, nodeId, value);
+    }
 }
@@ -20,7 +20,10 @@
 package org.neo4j.graphalgo.beta.pregel.context;
 
 import org.neo4j.graphalgo.beta.pregel.ComputeStep;
+import org.neo4j.graphalgo.beta.pregel.DoubleVector;
+import org.neo4j.graphalgo.beta.pregel.LongVector;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
+import org.neo4j.graphalgo.beta.pregel.PregelSchema;
 
 import java.util.stream.LongStream;
 
@@ -104,6 +107,68 @@ public abstract class NodeCentricContext<CONFIG extends PregelConfig> extends Pr
         computeStep.setNodeValue(key, nodeId, value);
     }
 
+    /**
+     * Sets a node double value for the given slot.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#doubleSlot(String)}
+     * @param value property value
+     */
+    public void setNodeValue(PregelSchema.DoubleSlot slot, double value) {
+        computeStep.setNodeValue(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node long value for the given slot.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#longSlot(String)}
+     * @param value property value
+     */
+    public void setNodeValue(PregelSchema.LongSlot slot, long value) {
+        computeStep.setNodeValue(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node long array value for the given slot.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#longArraySlot(String)}
+     * @param value property value
+     */
+    public void setNodeValue(PregelSchema.LongArraySlot slot, long[] value) {
+        computeStep.setNodeValue(slot, nodeId, value);
+    }
+
+    /**
+     * Sets a node double array value for the given slot.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#doubleArraySlot(String)}
+     * @param value property value
+     */
+    public void setNodeValue(PregelSchema.DoubleArraySlot slot, double[] value) {
+        computeStep.setNodeValue(slot, nodeId, value);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     * The view is re-pointed by the next access to the same slot, use {@link DoubleVector#toArray()} to keep the values.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#doubleVectorSlot(String)}
+     */
+    public DoubleVector doubleVector(PregelSchema.DoubleVectorSlot slot) {
+        return computeStep.doubleVector(slot, nodeId);
+    }
+
+    /**
+     * Returns a view on the fixed-dimension node value for the given slot.
+     * Changes to the view are written to the node value directly.
+     * The view is re-pointed by the next access to the same slot, use {@link LongVector#toArray()} to keep the values.
+     *
+     * @param slot node schema slot, see {@link PregelSchema#longVectorSlot(String)}
+     */
+    public LongVector longVector(PregelSchema.LongVectorSlot slot) {
+        return computeStep.longVector(slot, nodeId);
+    }
+
     /**
      * Returns the degree (number of relationships) of the currently processed node.
      */
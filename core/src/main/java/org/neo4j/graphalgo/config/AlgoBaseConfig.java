@@ -64,6 +64,15 @@ public interface AlgoBaseConfig extends BaseConfig, ConcurrencyConfig {
             : nodeLabels().stream().map(NodeLabel::of).collect(Collectors.toList());
     }
 
+    /**
+     * Copies the nodes that pass the node label filter and their relationships into a compact graph,
+     * see {@link GraphStore#getGraph(Collection, Collection, Optional, boolean)}.
+     */
+    @Value.Default
+    default boolean materializeNodeFilter() {
+        return false;
+    }
+
     @Configuration.Parameter
     Optional<GraphCreateConfig> implicitCreateConfig();
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.config;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration
+@SuppressWarnings("immutables:subtype")
+public interface GraphAddRelationshipsConfig extends BaseConfig, ConcurrencyConfig {
+
+    /**
+     * The ratio of appended to imported relationships above which
+     * the relationship type is compacted before the procedure returns.
+     */
+    @Value.Default
+    default double compactionRatio() {
+        return 0.1;
+    }
+
+    @Value.Check
+    default void validateCompactionRatio() {
+        if (compactionRatio() <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`compactionRatio` must be greater than 0, got %s.",
+                compactionRatio()
+            ));
+        }
+    }
+
+    static GraphAddRelationshipsConfig of(String username, CypherMapWrapper config) {
+        return new GraphAddRelationshipsConfigImpl(username, config);
+    }
+}
@@ -20,17 +20,24 @@
 package org.neo4j.graphalgo.config;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
 import org.neo4j.graphalgo.core.utils.TimeUtil;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.NODE_QUERY_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.RELATIONSHIP_QUERY_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROJECTION_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.RELATIONSHIP_PROJECTION_KEY;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public interface GraphCreateConfig extends BaseConfig {
 
@@ -38,6 +45,7 @@ public interface GraphCreateConfig extends BaseConfig {
     String NODE_COUNT_KEY = "nodeCount";
     String RELATIONSHIP_COUNT_KEY = "relationshipCount";
     String READ_CONCURRENCY_KEY = "readConcurrency";
+    String SPILL_DIRECTORY_KEY = "spillDirectory";
 
     @Configuration.Parameter
     String graphName();
@@ -81,6 +89,51 @@ public interface GraphCreateConfig extends BaseConfig {
         return false;
     }
 
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.loading.AdjacencyStorage#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.core.loading.AdjacencyStorage#toString")
+    default AdjacencyStorage adjacencyStorage() {
+        return AdjacencyStorage.HEAP;
+    }
+
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.loading.AdjacencyEncoding#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.core.loading.AdjacencyEncoding#toString")
+    default AdjacencyEncoding adjacencyEncoding() {
+        return AdjacencyEncoding.VAR_LONG;
+    }
+
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.loading.NodeOrdering#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.core.loading.NodeOrdering#toString")
+    default NodeOrdering nodeOrdering() {
+        return NodeOrdering.NONE;
+    }
+
+    /**
+     * Compresses the relationship properties of each node with the smallest lossless encoding
+     * chosen by {@link org.neo4j.graphalgo.core.loading.PropertyCompression}, instead of storing them as plain doubles.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    default boolean compressRelationshipProperties() {
+        return false;
+    }
+
+    /**
+     * Directory for the files of a {@link AdjacencyStorage#MEMORY_MAPPED memory-mapped} graph.
+     * Defaults to {@code java.io.tmpdir}.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String spillDirectory() {
+        return null;
+    }
+
     @Configuration.Ignore
     GraphStoreFactory.Supplier graphStoreFactory();
 
@@ -89,6 +142,39 @@ public interface GraphCreateConfig extends BaseConfig {
         ConcurrencyConfig.validateConcurrency(readConcurrency(), READ_CONCURRENCY_KEY);
     }
 
+    @Value.Check
+    default void validateSpillDirectory() {
+        String spillDirectory = spillDirectory();
+        if (spillDirectory == null) {
+            return;
+        }
+        if (adjacencyStorage() != AdjacencyStorage.MEMORY_MAPPED) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`spillDirectory` can only be used with `adjacencyStorage` %s, got %s.",
+                AdjacencyStorage.MEMORY_MAPPED,
+                adjacencyStorage()
+            ));
+        }
+        if (!Files.isDirectory(Path.of(spillDirectory))) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`spillDirectory` must be an existing directory, got `%s`.",
+                spillDirectory
+            ));
+        }
+    }
+
+    @Value.Check
+    default void validateAdjacencyEncoding() {
+        if (adjacencyEncoding() == AdjacencyEncoding.BIT_PACKED && adjacencyStorage() != AdjacencyStorage.HEAP) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`adjacencyEncoding` %s can only be used with `adjacencyStorage` %s, got %s.",
+                AdjacencyEncoding.BIT_PACKED,
+                AdjacencyStorage.HEAP,
+                adjacencyStorage()
+            ));
+        }
+    }
+
     @Configuration.Ignore
     <R> R accept(Cases<R> visitor);
 
@@ -52,6 +52,8 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
     String ALL_NODES_QUERY = "MATCH (n) RETURN id(n) AS id";
     String ALL_RELATIONSHIPS_QUERY = "MATCH (a)-->(b) RETURN id(a) AS source, id(b) AS target";
     String ALL_RELATIONSHIPS_UNDIRECTED_QUERY = "MATCH (a)--(b) RETURN id(a) AS source, id(b) AS target";
+    String LOW_ID_PARAMETER = "lowId";
+    String HIGH_ID_PARAMETER = "highId";
 
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     String nodeQuery();
@@ -71,6 +73,48 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
         return true;
     }
 
+    /**
+     * Whether the rows of the relationship query are imported by
+     * {@link #readConcurrency()} threads while the query result is
+     * being streamed by the calling thread.
+     */
+    @Value.Default
+    default boolean parallelRelationshipLoading() {
+        return false;
+    }
+
+    /**
+     * If positive, the relationship query is executed once per range of
+     * {@code relationshipBatchSize} node ids, using up to {@link #readConcurrency()}
+     * transactions in parallel. The bounds of each range are passed as
+     * {@code $lowId} (inclusive) and {@code $highId} (exclusive) parameters.
+     */
+    @Value.Default
+    default long relationshipBatchSize() {
+        return 0;
+    }
+
+    @Value.Check
+    default void validateRelationshipBatching() {
+        if (relationshipBatchSize() < 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`relationshipBatchSize` must not be negative, got %d.",
+                relationshipBatchSize()
+            ));
+        }
+        if (relationshipBatchSize() > 0 && relationshipQuery() != null) {
+            for (String parameter : List.of(LOW_ID_PARAMETER, HIGH_ID_PARAMETER)) {
+                if (!relationshipQuery().contains("$" + parameter)) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "A batched relationship query must use the `$%s` and `$%s` parameters.",
+                        LOW_ID_PARAMETER,
+                        HIGH_ID_PARAMETER
+                    ));
+                }
+            }
+        }
+    }
+
     @Configuration.Ignore
     @Override
     default GraphStoreFactory.Supplier graphStoreFactory() {
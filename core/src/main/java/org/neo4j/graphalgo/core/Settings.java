@@ -25,7 +25,9 @@ import org.neo4j.configuration.connectors.BoltConnector;
 import org.neo4j.configuration.connectors.HttpConnector;
 import org.neo4j.configuration.connectors.HttpsConnector;
 import org.neo4j.configuration.helpers.SocketAddress;
+import org.neo4j.graphalgo.compat.AdjacencyStorageSettings;
 import org.neo4j.graphalgo.compat.EnterpriseLicensingSettings;
+import org.neo4j.graphalgo.compat.GraphStoreCatalogSettings;
 import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphdb.config.Setting;
 
@@ -49,6 +51,18 @@ public final class Settings {
         return EnterpriseLicensingSettings.enterpriseLicenseFile;
     }
 
+    public static Setting<Long> catalogMemoryBudget() {
+        return GraphStoreCatalogSettings.catalog_memory_budget;
+    }
+
+    public static Setting<Path> catalogSpillLocation() {
+        return GraphStoreCatalogSettings.catalog_spill_location;
+    }
+
+    public static Setting<Path> adjacencySpillLocation() {
+        return AdjacencyStorageSettings.spill_location_setting;
+    }
+
     public static Setting<Boolean> boltEnabled() {
         return BoltConnector.enabled;
     }
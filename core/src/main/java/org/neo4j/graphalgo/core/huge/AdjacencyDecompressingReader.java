@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.core.huge;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
@@ -33,6 +34,8 @@ final class AdjacencyDecompressingReader {
     private final long[] block;
     private int pos;
     private byte[] array;
+    // set instead of the array when decoding from off-heap pages
+    private ByteBuffer buffer;
     private int offset;
 
     private boolean blockAlreadyDecoded;
@@ -68,17 +71,31 @@ final class AdjacencyDecompressingReader {
         System.arraycopy(other.block, 0, block, 0, CHUNK_SIZE);
         pos = other.pos;
         array = other.array;
+        buffer = other.buffer;
         offset = other.offset;
     }
 
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
+        this.buffer = null;
         int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
         this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
         pos = 0;
         return numAdjacencies;
     }
 
+    /**
+     * Decodes directly from a little endian {@code adjacencyPage}, using only absolute reads.
+     */
+    int reset(ByteBuffer adjacencyPage, int offset) {
+        this.array = null;
+        this.buffer = adjacencyPage;
+        int numAdjacencies = adjacencyPage.getInt(offset);
+        this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
+        pos = 0;
+        return numAdjacencies;
+    }
+
     long next(int remaining) {
         int pos = this.pos++;
         if (pos < CHUNK_SIZE) {
@@ -102,7 +119,7 @@ final class AdjacencyDecompressingReader {
 
     private long readNextBlock(int remaining) {
         if (!blockAlreadyDecoded) {
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
+            decodeBlock(Math.min(remaining, CHUNK_SIZE));
             return block[0];
         }
         blockAlreadyDecoded = false;
@@ -118,7 +135,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            decodeBlock(needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -145,7 +162,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            decodeBlock(needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -159,6 +176,12 @@ final class AdjacencyDecompressingReader {
         return block[targetPos];
     }
 
+    private void decodeBlock(int limit) {
+        offset = array != null
+            ? decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, limit, block)
+            : decodeDeltaVLongs(block[CHUNK_SIZE - 1], buffer, offset, limit, block);
+    }
+
     private int findPosStrictlyGreaterInBlock(long target, int pos, int limit, long[] block) {
         return findPosInBlock(1L + target, pos, limit, block);
     }
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.BitPackedEncoding;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.loading.BitPackedEncoding.BLOCK_SHIFT;
+import static org.neo4j.graphalgo.core.loading.BitPackedEncoding.BLOCK_SIZE;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * Adjacency list in the layout written by {@link BitPackedEncoding}.
+ * Cursors decode one block of targets at a time and use the last target
+ * of each block to skip over blocks without decoding them.
+ */
+public final class BitPackedAdjacencyList implements AdjacencyList {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[][] pages;
+
+    public static MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations.setup("", dimensions -> {
+            long nodeCount = dimensions.nodeCount();
+            long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+            long relCount = undirected ? relCountForType * 2 : relCountForType;
+            long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
+            return memoryEstimation(avgDegree, nodeCount);
+        });
+    }
+
+    /**
+     * Uses the same best and worst case deltas as {@link TransientAdjacencyList#compressedMemoryEstimation(long, long)}.
+     */
+    public static MemoryEstimation memoryEstimation(long avgDegree, long nodeCount) {
+        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, 1L);
+        long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
+        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase);
+
+        int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+
+        long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+        long minMemoryReqs = minPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(minPages);
+        long maxMemoryReqs = maxPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(maxPages);
+
+        return MemoryEstimations
+            .builder(BitPackedAdjacencyList.class)
+            .fixed("pages", MemoryRange.of(minMemoryReqs, maxMemoryReqs))
+            .build();
+    }
+
+    /* test private */
+    static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
+        if (avgDegree <= 0) {
+            return Integer.BYTES * nodeCount;
+        }
+        long firstTargetByteSize = ceilDiv(encodedVLongSize(nodeCount), 2);
+        long blockCount = ceilDiv(avgDegree, BLOCK_SIZE);
+        long skipByteSize = blockCount + (blockCount - 1) * Long.BYTES;
+
+        // every block is packed with the width of its largest delta and starts at a byte boundary
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(delta);
+        long deltas = avgDegree - 1;
+        int deltasInFirstBlock = (int) Math.min(deltas, BLOCK_SIZE - 1);
+        long fullBlocks = (deltas - deltasInFirstBlock) >>> BLOCK_SHIFT;
+        int deltasInLastBlock = (int) ((deltas - deltasInFirstBlock) & (BLOCK_SIZE - 1));
+        long packedByteSize = BitPackedEncoding.packedBlockSize(deltasInFirstBlock, bits) +
+                              fullBlocks * BitPackedEncoding.packedBlockSize(BLOCK_SIZE, bits) +
+                              BitPackedEncoding.packedBlockSize(deltasInLastBlock, bits);
+
+        return (Integer.BYTES + firstTargetByteSize + skipByteSize + packedByteSize) * nodeCount;
+    }
+
+    public BitPackedAdjacencyList(byte[][] pages) {
+        this.pages = pages;
+    }
+
+    @Override
+    public int degree(long index) {
+        return AdjacencyDecompressingReader.readInt(
+            pages[pageIndex(index, PAGE_SHIFT)],
+            indexInPage(index, PAGE_MASK)
+        );
+    }
+
+    @Override
+    public void close() {
+        pages = null;
+    }
+
+    /**
+     * Returns a cursor that reads the decoded targets as plain values.
+     */
+    @Override
+    public TargetCursor rawCursor() {
+        return new TargetCursor(new DecompressingCursor(pages));
+    }
+
+    @Override
+    public AdjacencyCursor rawDecompressingCursor() {
+        return new DecompressingCursor(pages);
+    }
+
+    /**
+     * Unpacks {@code count} values of {@code bits} bits each, starting at {@code offset}.
+     */
+    static void unpack(byte[] array, int offset, int bits, int count, long[] out, int outOffset) {
+        long mask = (1L << bits) - 1L;
+        int packedSize = BitPackedEncoding.packedBlockSize(count, bits);
+        if (offset + packedSize + Long.BYTES - 1 <= array.length) {
+            for (int i = 0, bitOffset = 0; i < count; i++, bitOffset += bits) {
+                long word = (long) LONGS.get(array, offset + (bitOffset >>> 3));
+                out[outOffset + i] = (word >>> (bitOffset & 7)) & mask;
+            }
+        } else {
+            // close to the end of the page, we cannot read whole longs
+            long buffer = 0L;
+            int bitsInBuffer = 0;
+            for (int i = 0; i < count; i++) {
+                while (bitsInBuffer < bits) {
+                    buffer |= (array[offset++] & 0xFFL) << bitsInBuffer;
+                    bitsInBuffer += Byte.SIZE;
+                }
+                out[outOffset + i] = buffer & mask;
+                buffer >>>= bits;
+                bitsInBuffer -= bits;
+            }
+        }
+    }
+
+    public static final class TargetCursor implements PropertyCursor {
+
+        private final DecompressingCursor adjacencyCursor;
+
+        private TargetCursor(DecompressingCursor adjacencyCursor) {
+            this.adjacencyCursor = adjacencyCursor;
+        }
+
+        @Override
+        public TargetCursor init(long index) {
+            adjacencyCursor.init(index);
+            return this;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return adjacencyCursor.hasNextVLong();
+        }
+
+        @Override
+        public long nextLong() {
+            return adjacencyCursor.nextVLong();
+        }
+
+        @Override
+        public void close() {
+            adjacencyCursor.close();
+        }
+    }
+
+    public static final class DecompressingCursor implements AdjacencyCursor {
+
+        private byte[][] pages;
+        private final long[] block;
+
+        private byte[] page;
+        private int degree;
+        private int blockCount;
+        private long firstTarget;
+        private int widthsOffset;
+        private int lastTargetsOffset;
+
+        // the block at dataOffset, blocks are only ever visited in ascending order
+        private int dataBlock;
+        private int dataOffset;
+        private int decodedBlock;
+        private int position;
+
+        private DecompressingCursor(byte[][] pages) {
+            this.pages = pages;
+            this.block = new long[BLOCK_SIZE];
+        }
+
+        @Override
+        public void init(long fromIndex) {
+            page = pages[pageIndex(fromIndex, PAGE_SHIFT)];
+            int offset = indexInPage(fromIndex, PAGE_MASK);
+            degree = AdjacencyDecompressingReader.readInt(page, offset);
+            offset += Integer.BYTES;
+            blockCount = BitPackedEncoding.blockCount(degree);
+            position = 0;
+            decodedBlock = -1;
+            if (degree == 0) {
+                return;
+            }
+
+            long value = 0L;
+            int shift = 0;
+            byte input;
+            do {
+                input = page[offset++];
+                value += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128) == 0);
+            firstTarget = value;
+
+            widthsOffset = offset;
+            lastTargetsOffset = widthsOffset + blockCount;
+            dataBlock = 0;
+            dataOffset = lastTargetsOffset + (blockCount - 1) * Long.BYTES;
+        }
+
+        @Override
+        public void copyFrom(AdjacencyCursor other) {
+            assert(other instanceof DecompressingCursor);
+            var theOther = (DecompressingCursor) other;
+            System.arraycopy(theOther.block, 0, block, 0, BLOCK_SIZE);
+            page = theOther.page;
+            degree = theOther.degree;
+            blockCount = theOther.blockCount;
+            firstTarget = theOther.firstTarget;
+            widthsOffset = theOther.widthsOffset;
+            lastTargetsOffset = theOther.lastTargetsOffset;
+            dataBlock = theOther.dataBlock;
+            dataOffset = theOther.dataOffset;
+            decodedBlock = theOther.decodedBlock;
+            position = theOther.position;
+        }
+
+        @Override
+        public int size() {
+            return degree;
+        }
+
+        @Override
+        public int remaining() {
+            return degree - position;
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return position < degree;
+        }
+
+        @Override
+        public long nextVLong() {
+            int position = this.position++;
+            decodeBlock(position >>> BLOCK_SHIFT);
+            return block[position & (BLOCK_SIZE - 1)];
+        }
+
+        @Override
+        public long peekVLong() {
+            decodeBlock(position >>> BLOCK_SHIFT);
+            return block[position & (BLOCK_SIZE - 1)];
+        }
+
+        @Override
+        public long skipUntil(long target) {
+            if (position >= degree) {
+                return AdjacencyCursor.NOT_FOUND;
+            }
+            int blockIndex = position >>> BLOCK_SHIFT;
+            int lastBlock = blockCount - 1;
+            while (blockIndex < lastBlock && lastTarget(blockIndex) <= target) {
+                blockIndex++;
+            }
+            return findInBlock(blockIndex, 1L + target);
+        }
+
+        @Override
+        public long advance(long target) {
+            if (position >= degree) {
+                return AdjacencyCursor.NOT_FOUND;
+            }
+            int blockIndex = position >>> BLOCK_SHIFT;
+            int lastBlock = blockCount - 1;
+            while (blockIndex < lastBlock && lastTarget(blockIndex) < target) {
+                blockIndex++;
+            }
+            return findInBlock(blockIndex, target);
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+
+        /**
+         * Consumes all targets up to and including the first target in the block that is
+         * at least {@code target}, or all targets of the block if there is no such target.
+         */
+        private long findInBlock(int blockIndex, long target) {
+            decodeBlock(blockIndex);
+            int blockStart = blockIndex << BLOCK_SHIFT;
+            int from = Math.max(position, blockStart) - blockStart;
+            int limit = Math.min(BLOCK_SIZE, degree - blockStart);
+            int targetPos = Math.min(lowerBound(from, limit, target), limit - 1);
+            position = blockStart + targetPos + 1;
+            return block[targetPos];
+        }
+
+        /**
+         * Returns the first position in {@code [from, limit)} whose target is at least {@code target},
+         * or {@code limit} if there is none. Unlike a binary search for any match,
+         * this finds the first of several equal targets.
+         */
+        private int lowerBound(int from, int limit, long target) {
+            int low = from;
+            int high = limit;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (block[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private long lastTarget(int blockIndex) {
+            return (long) LONGS.get(page, lastTargetsOffset + blockIndex * Long.BYTES);
+        }
+
+        private void decodeBlock(int blockIndex) {
+            if (blockIndex == decodedBlock) {
+                return;
+            }
+            // move the data offset past all blocks before the requested one
+            while (dataBlock < blockIndex) {
+                dataOffset += BitPackedEncoding.packedBlockSize(deltasInBlock(dataBlock), page[widthsOffset + dataBlock]);
+                dataBlock++;
+            }
+
+            int deltas = deltasInBlock(blockIndex);
+            long target;
+            int from;
+            if (blockIndex == 0) {
+                block[0] = firstTarget;
+                target = firstTarget;
+                from = 1;
+            } else {
+                target = lastTarget(blockIndex - 1);
+                from = 0;
+            }
+            unpack(page, dataOffset, page[widthsOffset + blockIndex], deltas, block, from);
+            for (int i = from, end = from + deltas; i < end; i++) {
+                target += block[i];
+                block[i] = target;
+            }
+            decodedBlock = blockIndex;
+        }
+
+        private int deltasInBlock(int blockIndex) {
+            int targets = Math.min(BLOCK_SIZE, degree - (blockIndex << BLOCK_SHIFT));
+            // the first target of the first block is stored separately
+            return blockIndex == 0 ? targets - 1 : targets;
+        }
+    }
+}
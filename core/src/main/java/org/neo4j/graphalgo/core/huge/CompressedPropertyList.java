@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.PropertyCompression;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * Relationship properties, where the properties of each node are
+ * compressed with the encoding chosen by {@link PropertyCompression}.
+ * The cursor decompresses the properties of a node on initialization.
+ */
+public final class CompressedPropertyList implements AdjacencyList {
+
+    // degree + encoding + dictionary size + single dictionary entry
+    private static final long MIN_BYTES_PER_NODE = Integer.BYTES + 1 + 1 + Long.BYTES;
+    // degree + encoding
+    private static final long RAW_BYTES_PER_NODE = Integer.BYTES + 1;
+
+    private byte[][] pages;
+
+    public static MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations
+            .builder(CompressedPropertyList.class)
+            .perGraphDimension("pages", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                // Best case: all properties of a node have the same value.
+                long bestCaseSize = Math.min(nodeCount, relCount) * MIN_BYTES_PER_NODE;
+                // Worst case: no encoding beats storing the raw values.
+                long worstCaseSize = relCount * Long.BYTES + nodeCount * RAW_BYTES_PER_NODE;
+
+                return MemoryRange.of(pagesSize(bestCaseSize), pagesSize(worstCaseSize));
+            })
+            .build();
+    }
+
+    private static long pagesSize(long byteSize) {
+        int pages = PageUtil.numPagesFor(byteSize, PAGE_SHIFT, PAGE_MASK);
+        return pages * MemoryUsage.sizeOfByteArray(PAGE_SIZE) + MemoryUsage.sizeOfObjectArray(pages);
+    }
+
+    public CompressedPropertyList(byte[][] pages) {
+        this.pages = pages;
+    }
+
+    @Override
+    public int degree(long index) {
+        return AdjacencyDecompressingReader.readInt(
+            pages[pageIndex(index, PAGE_SHIFT)],
+            indexInPage(index, PAGE_MASK)
+        );
+    }
+
+    @Override
+    public void close() {
+        pages = null;
+    }
+
+    @Override
+    public Cursor rawCursor() {
+        return new Cursor(pages);
+    }
+
+    @Override
+    public PropertyValueCursor rawDecompressingCursor() {
+        return new PropertyValueCursor(this, rawCursor());
+    }
+
+    public static final class Cursor implements PropertyCursor {
+
+        private byte[][] pages;
+
+        private long[] values;
+        private int degree;
+        private int position;
+
+        private Cursor(byte[][] pages) {
+            this.pages = pages;
+            this.values = new long[0];
+        }
+
+        @Override
+        public Cursor init(long fromIndex) {
+            byte[] page = pages[pageIndex(fromIndex, PAGE_SHIFT)];
+            int offset = indexInPage(fromIndex, PAGE_MASK);
+            this.degree = AdjacencyDecompressingReader.readInt(page, offset);
+            if (values.length < degree) {
+                values = new long[degree];
+            }
+            PropertyCompression.decompress(page, offset + Integer.BYTES, degree, values);
+            this.position = 0;
+            return this;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return position < degree;
+        }
+
+        @Override
+        public long nextLong() {
+            return values[position++];
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+    }
+}
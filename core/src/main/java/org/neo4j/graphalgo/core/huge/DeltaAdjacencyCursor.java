@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+
+/**
+ * Merges the targets of a base cursor with the targets of a {@link RelationshipDelta}.
+ * Targets of the base cursor are returned first if both contain the same target.
+ */
+public final class DeltaAdjacencyCursor implements AdjacencyCursor {
+
+    private final AdjacencyCursor baseCursor;
+    private final AdjacencyOffsets baseOffsets;
+    private final RelationshipDelta delta;
+
+    private boolean hasBase;
+    private int baseSize;
+    private RelationshipDelta.NodeDelta nodeDelta;
+    private long[] deltaTargets;
+    private int deltaIndex;
+
+    DeltaAdjacencyCursor(AdjacencyCursor baseCursor, AdjacencyOffsets baseOffsets, RelationshipDelta delta) {
+        this.baseCursor = baseCursor;
+        this.baseOffsets = baseOffsets;
+        this.delta = delta;
+    }
+
+    @Override
+    public void init(long index) {
+        long nodeId = DeltaAdjacencyOffsets.nodeId(index);
+        long baseOffset = baseOffsets.get(nodeId);
+        hasBase = baseOffset != 0L;
+        if (hasBase) {
+            baseCursor.init(baseOffset);
+            baseSize = baseCursor.size();
+        } else {
+            baseSize = 0;
+        }
+        nodeDelta = delta.node(nodeId);
+        deltaTargets = nodeDelta.targets;
+        deltaIndex = 0;
+    }
+
+    @Override
+    public int size() {
+        return baseSize + deltaTargets.length;
+    }
+
+    @Override
+    public boolean hasNextVLong() {
+        return baseHasNext() || deltaIndex < deltaTargets.length;
+    }
+
+    @Override
+    public long nextVLong() {
+        return nextFromBase() ? baseCursor.nextVLong() : deltaTargets[deltaIndex++];
+    }
+
+    @Override
+    public long peekVLong() {
+        return nextFromBase() ? baseCursor.peekVLong() : deltaTargets[deltaIndex];
+    }
+
+    @Override
+    public int remaining() {
+        return (hasBase ? baseCursor.remaining() : 0) + deltaTargets.length - deltaIndex;
+    }
+
+    @Override
+    public long skipUntil(long target) {
+        while (hasNextVLong()) {
+            long next = nextVLong();
+            if (next > target) {
+                return next;
+            }
+        }
+        return AdjacencyCursor.NOT_FOUND;
+    }
+
+    @Override
+    public long advance(long target) {
+        while (hasNextVLong()) {
+            long next = nextVLong();
+            if (next >= target) {
+                return next;
+            }
+        }
+        return AdjacencyCursor.NOT_FOUND;
+    }
+
+    @Override
+    public void copyFrom(AdjacencyCursor sourceCursor) {
+        assert sourceCursor instanceof DeltaAdjacencyCursor;
+        var other = (DeltaAdjacencyCursor) sourceCursor;
+        hasBase = other.hasBase;
+        if (hasBase) {
+            baseCursor.copyFrom(other.baseCursor);
+        }
+        baseSize = other.baseSize;
+        nodeDelta = other.nodeDelta;
+        deltaTargets = other.deltaTargets;
+        deltaIndex = other.deltaIndex;
+    }
+
+    @Override
+    public void close() {
+        baseCursor.close();
+    }
+
+    /**
+     * Returns true iff the next target is read from the base cursor.
+     * Must only be called if {@link #hasNextVLong()} returns {@code true}.
+     */
+    boolean nextFromBase() {
+        return baseHasNext() && (deltaIndex == deltaTargets.length || baseCursor.peekVLong() <= deltaTargets[deltaIndex]);
+    }
+
+    /**
+     * Reads the next target from the delta and returns its value of the given property.
+     * Must only be called if {@link #nextFromBase()} returns {@code false}.
+     */
+    double nextDeltaProperty(int propertyIndex) {
+        return nodeDelta.property(propertyIndex, deltaIndex++);
+    }
+
+    private boolean baseHasNext() {
+        return hasBase && baseCursor.hasNextVLong();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.PropertyCursor;
+
+/**
+ * An adjacency list that merges an immutable base list with the targets of a {@link RelationshipDelta}.
+ * The list is bound to the delta it has been created with, later appends are not visible.
+ * Lists of this type are addressed with {@link DeltaAdjacencyOffsets}.
+ */
+public final class DeltaAdjacencyList implements AdjacencyList {
+
+    private final AdjacencyList baseList;
+    private final AdjacencyOffsets baseOffsets;
+    private final RelationshipDelta delta;
+
+    public DeltaAdjacencyList(AdjacencyList baseList, AdjacencyOffsets baseOffsets, RelationshipDelta delta) {
+        this.baseList = baseList;
+        this.baseOffsets = baseOffsets;
+        this.delta = delta;
+    }
+
+    RelationshipDelta delta() {
+        return delta;
+    }
+
+    @Override
+    public int degree(long index) {
+        long nodeId = DeltaAdjacencyOffsets.nodeId(index);
+        long baseOffset = baseOffsets.get(nodeId);
+        int baseDegree = baseOffset == 0L ? 0 : baseList.degree(baseOffset);
+        return baseDegree + delta.degree(nodeId);
+    }
+
+    /**
+     * Returns a cursor that reads the merged targets as plain values.
+     */
+    @Override
+    public TargetCursor rawCursor() {
+        return new TargetCursor(rawDecompressingCursor());
+    }
+
+    @Override
+    public DeltaAdjacencyCursor rawDecompressingCursor() {
+        return new DeltaAdjacencyCursor(baseList.rawDecompressingCursor(), baseOffsets, delta);
+    }
+
+    @Override
+    public void close() {
+        baseList.close();
+    }
+
+    public static final class TargetCursor implements PropertyCursor {
+
+        private final DeltaAdjacencyCursor adjacencyCursor;
+
+        private TargetCursor(DeltaAdjacencyCursor adjacencyCursor) {
+            this.adjacencyCursor = adjacencyCursor;
+        }
+
+        @Override
+        public TargetCursor init(long index) {
+            adjacencyCursor.init(index);
+            return this;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return adjacencyCursor.hasNextVLong();
+        }
+
+        @Override
+        public long nextLong() {
+            return adjacencyCursor.nextVLong();
+        }
+
+        @Override
+        public void close() {
+            adjacencyCursor.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+
+/**
+ * Offsets of the lists that are layered with a {@link RelationshipDelta}.
+ * Those lists are addressed by node id, which is shifted by one,
+ * since an offset of {@code 0} denotes a node without relationships.
+ */
+public final class DeltaAdjacencyOffsets implements AdjacencyOffsets {
+
+    private final AdjacencyOffsets baseOffsets;
+
+    public DeltaAdjacencyOffsets(AdjacencyOffsets baseOffsets) {
+        this.baseOffsets = baseOffsets;
+    }
+
+    static long nodeId(long offset) {
+        return offset - 1;
+    }
+
+    @Override
+    public long get(long index) {
+        return index + 1;
+    }
+
+    @Override
+    public void close() {
+        baseOffsets.close();
+    }
+}
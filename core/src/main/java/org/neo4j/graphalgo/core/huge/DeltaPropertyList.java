@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.PropertyCursor;
+
+/**
+ * The property values that belong to a {@link DeltaAdjacencyList}.
+ * Values are returned in the order of the merged targets, which is why
+ * a cursor replays the merge of the base and delta targets of a node.
+ * Targets and values are read from the delta of the given adjacency list,
+ * so both always belong to the same appended relationships.
+ * Lists of this type are addressed with {@link DeltaAdjacencyOffsets}.
+ */
+public final class DeltaPropertyList implements AdjacencyList {
+
+    private final DeltaAdjacencyList adjacencyList;
+    private final AdjacencyList basePropertyList;
+    private final AdjacencyOffsets basePropertyOffsets;
+    private final int propertyIndex;
+
+    public DeltaPropertyList(
+        DeltaAdjacencyList adjacencyList,
+        AdjacencyList basePropertyList,
+        AdjacencyOffsets basePropertyOffsets,
+        int propertyIndex
+    ) {
+        this.adjacencyList = adjacencyList;
+        this.basePropertyList = basePropertyList;
+        this.basePropertyOffsets = basePropertyOffsets;
+        this.propertyIndex = propertyIndex;
+    }
+
+    @Override
+    public int degree(long index) {
+        return adjacencyList.degree(index);
+    }
+
+    @Override
+    public Cursor rawCursor() {
+        return new Cursor(adjacencyList.rawDecompressingCursor(), basePropertyList.rawCursor());
+    }
+
+    @Override
+    public PropertyValueCursor rawDecompressingCursor() {
+        return new PropertyValueCursor(this, rawCursor());
+    }
+
+    @Override
+    public void close() {
+        basePropertyList.close();
+    }
+
+    public final class Cursor implements PropertyCursor {
+
+        private final DeltaAdjacencyCursor adjacencyCursor;
+        private final PropertyCursor baseCursor;
+
+        private boolean hasBase;
+        private boolean hasDelta;
+
+        private Cursor(DeltaAdjacencyCursor adjacencyCursor, PropertyCursor baseCursor) {
+            this.adjacencyCursor = adjacencyCursor;
+            this.baseCursor = baseCursor;
+        }
+
+        @Override
+        public Cursor init(long index) {
+            long nodeId = DeltaAdjacencyOffsets.nodeId(index);
+            long baseOffset = basePropertyOffsets.get(nodeId);
+            hasBase = baseOffset != 0L;
+            if (hasBase) {
+                baseCursor.init(baseOffset);
+            }
+            // the merge only needs to be replayed if the node has appended relationships
+            hasDelta = adjacencyList.delta().degree(nodeId) > 0;
+            if (hasDelta) {
+                adjacencyCursor.init(index);
+            }
+            return this;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return hasDelta
+                ? adjacencyCursor.hasNextVLong()
+                : hasBase && baseCursor.hasNextLong();
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasDelta) {
+                return baseCursor.nextLong();
+            }
+            if (adjacencyCursor.nextFromBase()) {
+                adjacencyCursor.nextVLong();
+                return baseCursor.nextLong();
+            }
+            return Double.doubleToLongBits(adjacencyCursor.nextDeltaProperty(propertyIndex));
+        }
+
+        @Override
+        public void close() {
+            adjacencyCursor.close();
+            baseCursor.close();
+        }
+    }
+}
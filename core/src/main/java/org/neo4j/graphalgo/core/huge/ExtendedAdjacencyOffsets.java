@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+
+/**
+ * Offsets of an adjacency list that has been imported for fewer nodes than the graph contains.
+ * Nodes that have been appended after the import have no relationships in that list.
+ */
+public final class ExtendedAdjacencyOffsets implements AdjacencyOffsets {
+
+    private final AdjacencyOffsets offsets;
+    private final long importedNodeCount;
+
+    public static AdjacencyOffsets of(AdjacencyOffsets offsets, long importedNodeCount, long nodeCount) {
+        return nodeCount > importedNodeCount ? new ExtendedAdjacencyOffsets(offsets, importedNodeCount) : offsets;
+    }
+
+    private ExtendedAdjacencyOffsets(AdjacencyOffsets offsets, long importedNodeCount) {
+        this.offsets = offsets;
+        this.importedNodeCount = importedNodeCount;
+    }
+
+    @Override
+    public long get(long index) {
+        return index < importedNodeCount ? offsets.get(index) : 0L;
+    }
+
+    @Override
+    public void close() {
+        offsets.close();
+    }
+}
@@ -145,7 +145,7 @@ public class NodeFilteredGraph extends CSRFilterGraph {
     }
 
     @Override
-    public CSRGraph concurrentCopy() {
+    public NodeFilteredGraph concurrentCopy() {
         return new NodeFilteredGraph(graph.concurrentCopy(), filteredIdMap);
     }
 
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.MutableIntValue;
+import org.neo4j.graphalgo.core.loading.PropertyCompression;
+
+import java.nio.ByteBuffer;
+
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * Adjacency list or relationship properties with the same layout as
+ * {@link TransientAdjacencyList} and {@link CompressedPropertyList},
+ * but stored in {@link OffHeapPages}.
+ *
+ * Cursors decode directly from the pages using absolute reads,
+ * no bytes are copied to the heap.
+ */
+public final class OffHeapAdjacencyList implements AdjacencyList {
+
+    private OffHeapPages pages;
+    private final boolean compressedProperties;
+
+    public OffHeapAdjacencyList(OffHeapPages pages, boolean compressedProperties) {
+        this.pages = pages;
+        this.compressedProperties = compressedProperties;
+    }
+
+    @Override
+    public int degree(long index) {
+        return pages.page(pageIndex(index, PAGE_SHIFT)).getInt(indexInPage(index, PAGE_MASK));
+    }
+
+    @Override
+    public void close() {
+        // the graph store and its graphs may both close the same list
+        if (pages != null) {
+            pages.close();
+            pages = null;
+        }
+    }
+
+    // Cursors
+
+    @Override
+    public PropertyCursor rawCursor() {
+        return compressedProperties
+            ? new CompressedPropertyCursor(pages)
+            : new Cursor(pages);
+    }
+
+    @Override
+    public AdjacencyCursor rawDecompressingCursor() {
+        return compressedProperties
+            ? new PropertyValueCursor(this, rawCursor())
+            : new DecompressingCursor(pages);
+    }
+
+    public static final class Cursor extends MutableIntValue implements PropertyCursor {
+
+        private OffHeapPages pages;
+
+        private ByteBuffer currentPage;
+        private int degree;
+        private int offset;
+        private int limit;
+
+        private Cursor(OffHeapPages pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return offset < limit;
+        }
+
+        @Override
+        public long nextLong() {
+            long value = currentPage.getLong(offset);
+            offset += Long.BYTES;
+            return value;
+        }
+
+        @Override
+        public Cursor init(long fromIndex) {
+            this.currentPage = pages.page(pageIndex(fromIndex, PAGE_SHIFT));
+            this.offset = indexInPage(fromIndex, PAGE_MASK);
+            this.degree = currentPage.getInt(offset);
+            this.offset += Integer.BYTES;
+            this.limit = offset + degree * Long.BYTES;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+    }
+
+    public static final class CompressedPropertyCursor implements PropertyCursor {
+
+        private OffHeapPages pages;
+
+        private long[] values;
+        private int degree;
+        private int position;
+
+        private CompressedPropertyCursor(OffHeapPages pages) {
+            this.pages = pages;
+            this.values = new long[0];
+        }
+
+        @Override
+        public CompressedPropertyCursor init(long fromIndex) {
+            ByteBuffer page = pages.page(pageIndex(fromIndex, PAGE_SHIFT));
+            int offset = indexInPage(fromIndex, PAGE_MASK);
+            this.degree = page.getInt(offset);
+            if (values.length < degree) {
+                values = new long[degree];
+            }
+            PropertyCompression.decompress(page, offset + Integer.BYTES, degree, values);
+            this.position = 0;
+            return this;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return position < degree;
+        }
+
+        @Override
+        public long nextLong() {
+            return values[position++];
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+    }
+
+    public static final class DecompressingCursor extends MutableIntValue implements AdjacencyCursor {
+
+        private OffHeapPages pages;
+        private final AdjacencyDecompressingReader decompress;
+
+        private int maxTargets;
+        private int currentPosition;
+
+        private DecompressingCursor(OffHeapPages pages) {
+            this.pages = pages;
+            this.decompress = new AdjacencyDecompressingReader();
+        }
+
+        @Override
+        public void init(long fromIndex) {
+            maxTargets = decompress.reset(
+                pages.page(pageIndex(fromIndex, PAGE_SHIFT)),
+                indexInPage(fromIndex, PAGE_MASK)
+            );
+            currentPosition = 0;
+        }
+
+        /**
+         * Copy iteration state from another cursor without changing {@code other}.
+         */
+        @Override
+        public void copyFrom(AdjacencyCursor other) {
+            assert(other instanceof DecompressingCursor);
+            var theOther = ((DecompressingCursor) other);
+            decompress.copyFrom(theOther.decompress);
+            currentPosition = theOther.currentPosition;
+            maxTargets = theOther.maxTargets;
+        }
+
+        @Override
+        public int size() {
+            return maxTargets;
+        }
+
+        @Override
+        public int remaining() {
+            return maxTargets - currentPosition;
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return currentPosition < maxTargets;
+        }
+
+        @Override
+        public long nextVLong() {
+            int current = currentPosition++;
+            int remaining = maxTargets - current;
+            return decompress.next(remaining);
+        }
+
+        @Override
+        public long peekVLong() {
+            int remaining = maxTargets - currentPosition;
+            return decompress.peek(remaining);
+        }
+
+        @Override
+        public long skipUntil(long target) {
+            long value = decompress.skipUntil(target, remaining(), this);
+            this.currentPosition += this.value;
+            return value;
+        }
+
+        @Override
+        public long advance(long target) {
+            int targetsLeftToBeDecoded = remaining();
+            if(targetsLeftToBeDecoded <= 0) {
+                return AdjacencyCursor.NOT_FOUND;
+            }
+            long value = decompress.advance(target, targetsLeftToBeDecoded, this);
+            this.currentPosition += this.value;
+            return value;
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.AdjacencyOffsetsFactory;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+/**
+ * Adjacency offsets stored in {@link OffHeapPages}.
+ * The imported pages are split into pages of at most {@link #MAX_PAGE_SIZE}
+ * offsets, so that every page fits into a single off-heap chunk.
+ */
+public final class OffHeapAdjacencyOffsets implements AdjacencyOffsets {
+
+    private static final int MAX_PAGE_SHIFT = Integer.numberOfTrailingZeros(OffHeapPages.MAX_CHUNK_SIZE / Long.BYTES);
+    static final int MAX_PAGE_SIZE = 1 << MAX_PAGE_SHIFT;
+
+    private final int pageShift;
+    private final long pageMask;
+    private OffHeapPages pages;
+
+    public static AdjacencyOffsetsFactory forPageSize(int pageSize, OffHeapPages.Target target) {
+        return pages -> of(pages, pageSize, target);
+    }
+
+    static OffHeapAdjacencyOffsets of(long[][] sourcePages, int sourcePageSize, OffHeapPages.Target target) {
+        assert sourcePages.length <= 1 || BitUtil.isPowerOfTwo(sourcePageSize);
+        // a single page is addressed directly and may have any size
+        int pageShift = sourcePages.length == 1
+            ? MAX_PAGE_SHIFT
+            : Math.min(MAX_PAGE_SHIFT, Integer.numberOfTrailingZeros(sourcePageSize));
+        int pageSize = 1 << pageShift;
+
+        int pageCount = 0;
+        for (int i = 0; i < sourcePages.length; i++) {
+            pageCount += pagesInSource(sourcePages, i, sourcePageSize, pageShift);
+        }
+
+        int[] sourcePageIndex = new int[pageCount];
+        int[] sourceOffset = new int[pageCount];
+        int[] pageSizes = new int[pageCount];
+        int page = 0;
+        for (int i = 0; i < sourcePages.length; i++) {
+            int pagesInSource = pagesInSource(sourcePages, i, sourcePageSize, pageShift);
+            for (int j = 0; j < pagesInSource; j++, page++) {
+                int start = j << pageShift;
+                sourcePageIndex[page] = i;
+                sourceOffset[page] = start;
+                pageSizes[page] = Math.max(0, Math.min(pageSize, sourcePages[i].length - start)) * Long.BYTES;
+            }
+        }
+
+        OffHeapPages offHeapPages = OffHeapPages.copyOf(
+            pageSizes,
+            (pageIndex, buffer) -> buffer.asLongBuffer().put(
+                sourcePages[sourcePageIndex[pageIndex]],
+                sourceOffset[pageIndex],
+                pageSizes[pageIndex] / Long.BYTES
+            ),
+            target
+        );
+        return new OffHeapAdjacencyOffsets(offHeapPages, pageShift);
+    }
+
+    /**
+     * Returns the sizes in bytes of the pages that {@link #of(OffHeapPages)} expects
+     * for {@code offsetCount} offsets stored back to back.
+     */
+    public static int[] pageSizes(long offsetCount) {
+        int pageCount = (int) ((offsetCount + MAX_PAGE_SIZE - 1) >>> MAX_PAGE_SHIFT);
+        int[] pageSizes = new int[pageCount];
+        for (int page = 0; page < pageCount; page++) {
+            long offsetsInPage = Math.min(MAX_PAGE_SIZE, offsetCount - ((long) page << MAX_PAGE_SHIFT));
+            pageSizes[page] = (int) offsetsInPage * Long.BYTES;
+        }
+        return pageSizes;
+    }
+
+    /**
+     * Wraps pages that are laid out according to {@link #pageSizes(long)}.
+     */
+    public static OffHeapAdjacencyOffsets of(OffHeapPages pages) {
+        return new OffHeapAdjacencyOffsets(pages, MAX_PAGE_SHIFT);
+    }
+
+    /**
+     * All but the last imported page are full, so they are split into the same number of pages.
+     */
+    private static int pagesInSource(long[][] sourcePages, int sourcePageIndex, int sourcePageSize, int pageShift) {
+        int offsetCount = sourcePageIndex == sourcePages.length - 1
+            ? sourcePages[sourcePageIndex].length
+            : sourcePageSize;
+        return (int) (((long) offsetCount + (1L << pageShift) - 1) >>> pageShift);
+    }
+
+    private OffHeapAdjacencyOffsets(OffHeapPages pages, int pageShift) {
+        this.pages = pages;
+        this.pageShift = pageShift;
+        this.pageMask = (1L << pageShift) - 1;
+    }
+
+    @Override
+    public long get(long index) {
+        final int pageIndex = (int) (index >>> pageShift);
+        final int indexInPage = (int) (index & pageMask);
+        return pages.page(pageIndex).getLong(indexInPage << 3);
+    }
+
+    @Override
+    public void close() {
+        if (pages != null) {
+            pages.close();
+            pages = null;
+        }
+    }
+}
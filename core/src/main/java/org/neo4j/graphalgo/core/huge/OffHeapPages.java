@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Pages stored outside of the Java heap, either in direct byte buffers,
+ * in a memory-mapped file within a spill directory or in a read-only
+ * mapping of an existing file, such as a graph snapshot.
+ * Pages are grouped into chunks of at most {@link #MAX_CHUNK_SIZE} bytes,
+ * so that a graph does not require one buffer or mapping per page.
+ *
+ * All pages are little endian and must only be accessed with absolute reads,
+ * which makes them safe to share between threads. Cursors that need relative
+ * reads have to work on a {@link ByteBuffer#duplicate() duplicate}.
+ *
+ * The chunks are registered with an {@link AllocationTracker} until {@link #close()}.
+ * They are freed or unmapped by garbage collection once neither the pages nor a
+ * cursor over them are reachable, so that cursors which are still open when a
+ * graph is dropped keep reading valid memory. Pages that become unreachable
+ * without being closed, e.g. of a graph store that has been spilled by the
+ * catalog, are closed by a {@link Cleaner}.
+ */
+public final class OffHeapPages implements AutoCloseable {
+
+    static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private static final ByteBuffer EMPTY_PAGE = ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final ByteBuffer[] pages;
+    private final long sizeInBytes;
+    private final Cleaner.Cleanable release;
+
+    @FunctionalInterface
+    public interface PageWriter {
+        void write(int pageIndex, ByteBuffer page);
+    }
+
+    public static OffHeapPages copyOf(byte[][] pages, Target target) {
+        int[] pageSizes = new int[pages.length];
+        Arrays.setAll(pageSizes, i -> pages[i] == null ? 0 : pages[i].length);
+        return copyOf(pageSizes, (pageIndex, page) -> page.put(pages[pageIndex]), target);
+    }
+
+    public static OffHeapPages copyOf(int[] pageSizes, PageWriter writer, Target target) {
+        ChunkLayout layout = new ChunkLayout(pageSizes);
+        Allocation allocation = target.allocate(layout.chunkSizes);
+
+        var pages = new OffHeapPages(layout, allocation.chunks, target.tracker, allocation.file);
+        for (int i = 0; i < pageSizes.length; i++) {
+            if (pageSizes[i] > 0) {
+                writer.write(i, pages.page(i).duplicate().order(ByteOrder.LITTLE_ENDIAN));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Maps pages that are stored back to back in {@code file}, starting at {@code position}.
+     * The pages are mapped read-only and the file is not deleted when the pages are closed.
+     */
+    public static OffHeapPages map(Path file, long position, int[] pageSizes, AllocationTracker tracker) {
+        ChunkLayout layout = new ChunkLayout(pageSizes);
+        ByteBuffer[] chunks = new ByteBuffer[layout.chunkSizes.length];
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, layout.chunkSizes[i]);
+                position += layout.chunkSizes[i];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new OffHeapPages(layout, chunks, tracker, null);
+    }
+
+    private OffHeapPages(
+        ChunkLayout layout,
+        ByteBuffer[] chunks,
+        AllocationTracker tracker,
+        @Nullable Path spillFile
+    ) {
+        // the slices reference their chunk, which keeps it from being freed
+        this.pages = layout.slice(chunks);
+        this.sizeInBytes = Arrays.stream(layout.chunkSizes).asLongStream().sum();
+        this.release = CLEANER.register(this, new Release(tracker, sizeInBytes, spillFile));
+        tracker.add(sizeInBytes);
+    }
+
+    public int pageCount() {
+        return pages.length;
+    }
+
+    public ByteBuffer page(int pageIndex) {
+        return pages[pageIndex];
+    }
+
+    public long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Releases the chunks from the allocation tracker and deletes the spill file, if any.
+     * The memory itself is not freed eagerly, as concurrent readers may still hold pages.
+     * Closing the pages more than once has no effect.
+     */
+    @Override
+    public void close() {
+        release.clean();
+    }
+
+    /**
+     * Must not reference the pages, otherwise they never become unreachable.
+     */
+    private static final class Release implements Runnable {
+        private final AllocationTracker tracker;
+        private final long sizeInBytes;
+        private final @Nullable Path spillFile;
+
+        Release(AllocationTracker tracker, long sizeInBytes, @Nullable Path spillFile) {
+            this.tracker = tracker;
+            this.sizeInBytes = sizeInBytes;
+            this.spillFile = spillFile;
+        }
+
+        @Override
+        public void run() {
+            tracker.remove(sizeInBytes);
+            if (spillFile != null) {
+                try {
+                    // an existing mapping stays valid after its file has been unlinked
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    // some platforms refuse to delete mapped files, the file is then deleted on exit
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocates the chunks that back {@link OffHeapPages}.
+     */
+    public abstract static class Target {
+
+        private final AllocationTracker tracker;
+
+        Target(AllocationTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        public static Target direct(AllocationTracker tracker) {
+            return new Target(tracker) {
+                @Override
+                Allocation allocate(int[] chunkSizes) {
+                    ByteBuffer[] chunks = new ByteBuffer[chunkSizes.length];
+                    Arrays.setAll(chunks, i -> ByteBuffer.allocateDirect(chunkSizes[i]));
+                    return new Allocation(chunks, null);
+                }
+            };
+        }
+
+        /**
+         * @param spillDirectory directory for the spill files, defaults to {@code java.io.tmpdir}
+         */
+        public static Target mapped(@Nullable Path spillDirectory, AllocationTracker tracker) {
+            return new Target(tracker) {
+                @Override
+                Allocation allocate(int[] chunkSizes) {
+                    Path directory = spillDirectory == null
+                        ? Path.of(System.getProperty("java.io.tmpdir"))
+                        : spillDirectory;
+                    try {
+                        Path file = Files.createTempFile(directory, "gds-pages-", ".bin");
+                        file.toFile().deleteOnExit();
+                        ByteBuffer[] chunks = new ByteBuffer[chunkSizes.length];
+                        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                            long position = 0;
+                            for (int i = 0; i < chunkSizes.length; i++) {
+                                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkSizes[i]);
+                                position += chunkSizes[i];
+                            }
+                        }
+                        return new Allocation(chunks, file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        abstract Allocation allocate(int[] chunkSizes);
+    }
+
+    /**
+     * Groups consecutive pages into chunks of at most {@link #MAX_CHUNK_SIZE} bytes.
+     */
+    private static final class ChunkLayout {
+        final int[] pageSizes;
+        final int[] chunkOfPage;
+        final int[] offsetInChunk;
+        final int[] chunkSizes;
+
+        ChunkLayout(int[] pageSizes) {
+            this.pageSizes = pageSizes;
+            this.chunkOfPage = new int[pageSizes.length];
+            this.offsetInChunk = new int[pageSizes.length];
+            int[] chunkSizes = new int[pageSizes.length];
+            int chunkCount = 0;
+            long chunkSize = 0;
+
+            for (int i = 0; i < pageSizes.length; i++) {
+                int pageSize = pageSizes[i];
+                if (chunkSize > 0 && chunkSize + pageSize > MAX_CHUNK_SIZE) {
+                    chunkSizes[chunkCount++] = (int) chunkSize;
+                    chunkSize = 0;
+                }
+                chunkOfPage[i] = chunkCount;
+                offsetInChunk[i] = (int) chunkSize;
+                chunkSize += pageSize;
+            }
+            if (chunkSize > 0) {
+                chunkSizes[chunkCount++] = (int) chunkSize;
+            }
+            this.chunkSizes = Arrays.copyOf(chunkSizes, chunkCount);
+        }
+
+        ByteBuffer[] slice(ByteBuffer[] chunks) {
+            ByteBuffer[] pages = new ByteBuffer[pageSizes.length];
+            for (int i = 0; i < pageSizes.length; i++) {
+                if (pageSizes[i] == 0) {
+                    pages[i] = EMPTY_PAGE;
+                    continue;
+                }
+                int offset = offsetInChunk[i];
+                pages[i] = chunks[chunkOfPage[i]]
+                    .duplicate()
+                    .position(offset)
+                    .limit(offset + pageSizes[i])
+                    .slice()
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return pages;
+        }
+    }
+
+    static final class Allocation {
+        final ByteBuffer[] chunks;
+        final @Nullable Path file;
+
+        Allocation(ByteBuffer[] chunks, @Nullable Path file) {
+            this.chunks = chunks;
+            this.file = file;
+        }
+    }
+}
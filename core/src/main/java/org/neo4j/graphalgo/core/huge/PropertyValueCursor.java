@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.PropertyCursor;
+
+/**
+ * An adjacency cursor over the property values of a relationship property list, which are not sorted.
+ * Searching methods, such as {@link AdjacencyCursor#advance(long)}, scan the values in order.
+ */
+public final class PropertyValueCursor implements AdjacencyCursor {
+
+    private final AdjacencyList propertyList;
+    private final PropertyCursor cursor;
+
+    private long index;
+    private int size;
+    private int position;
+    private long next;
+
+    PropertyValueCursor(AdjacencyList propertyList, PropertyCursor cursor) {
+        this.propertyList = propertyList;
+        this.cursor = cursor;
+    }
+
+    @Override
+    public void init(long index) {
+        this.index = index;
+        this.size = propertyList.degree(index);
+        this.position = 0;
+        cursor.init(index);
+        readNext();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasNextVLong() {
+        return position < size;
+    }
+
+    @Override
+    public long nextVLong() {
+        long value = next;
+        position++;
+        readNext();
+        return value;
+    }
+
+    @Override
+    public long peekVLong() {
+        return next;
+    }
+
+    @Override
+    public int remaining() {
+        return size - position;
+    }
+
+    @Override
+    public long skipUntil(long target) {
+        while (hasNextVLong()) {
+            long value = nextVLong();
+            if (value > target) {
+                return value;
+            }
+        }
+        return AdjacencyCursor.NOT_FOUND;
+    }
+
+    @Override
+    public long advance(long target) {
+        while (hasNextVLong()) {
+            long value = nextVLong();
+            if (value >= target) {
+                return value;
+            }
+        }
+        return AdjacencyCursor.NOT_FOUND;
+    }
+
+    /**
+     * The state of the underlying cursor cannot be copied, the values are replayed up to the position of the source cursor.
+     */
+    @Override
+    public void copyFrom(AdjacencyCursor sourceCursor) {
+        assert sourceCursor instanceof PropertyValueCursor;
+        var other = (PropertyValueCursor) sourceCursor;
+        init(other.index);
+        while (position < other.position) {
+            nextVLong();
+        }
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+    private void readNext() {
+        if (position < size) {
+            next = cursor.nextLong();
+        }
+    }
+}
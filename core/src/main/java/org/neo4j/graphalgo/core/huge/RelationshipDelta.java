@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only overflow adjacency that is layered on top of an immutable adjacency list.
+ * Every node owns a sorted array of targets and the matching property values.
+ * <p>
+ * A delta is immutable, appending creates a new delta through a {@link Builder}.
+ * The new delta shares all pages with the previous one, apart from the pages
+ * that contain appended nodes. Lists that have been created from the previous
+ * delta keep seeing its relationships.
+ */
+public final class RelationshipDelta {
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final NodeDelta[][] pages;
+    private final int propertyCount;
+    private final long relationshipCount;
+    private final boolean hasParallelRelationships;
+
+    public static RelationshipDelta empty(long nodeCount, int propertyCount) {
+        var pages = new NodeDelta[PageUtil.numPagesFor(nodeCount, PAGE_SHIFT, PAGE_MASK)][];
+        return new RelationshipDelta(pages, propertyCount, 0L, false);
+    }
+
+    private RelationshipDelta(
+        NodeDelta[][] pages,
+        int propertyCount,
+        long relationshipCount,
+        boolean hasParallelRelationships
+    ) {
+        this.pages = pages;
+        this.propertyCount = propertyCount;
+        this.relationshipCount = relationshipCount;
+        this.hasParallelRelationships = hasParallelRelationships;
+    }
+
+    /**
+     * Returns a delta with the relationships of this delta that can hold appends to the given number of nodes.
+     */
+    public RelationshipDelta withNodeCount(long nodeCount, AllocationTracker tracker) {
+        int pageCount = PageUtil.numPagesFor(nodeCount, PAGE_SHIFT, PAGE_MASK);
+        if (pageCount <= pages.length) {
+            return this;
+        }
+        tracker.add(MemoryUsage.sizeOfObjectArray(pageCount));
+        return new RelationshipDelta(Arrays.copyOf(pages, pageCount), propertyCount, relationshipCount, hasParallelRelationships);
+    }
+
+    public int propertyCount() {
+        return propertyCount;
+    }
+
+    public long relationshipCount() {
+        return relationshipCount;
+    }
+
+    /**
+     * Returns true iff an appended relationship has the same source and target
+     * as another appended relationship or as a relationship of the base list.
+     */
+    public boolean hasParallelRelationships() {
+        return hasParallelRelationships;
+    }
+
+    public int degree(long nodeId) {
+        return node(nodeId).targets.length;
+    }
+
+    /**
+     * Returns the targets and property values of the given node.
+     */
+    NodeDelta node(long nodeId) {
+        var page = pages[PageUtil.pageIndex(nodeId, PAGE_SHIFT)];
+        if (page == null) {
+            return NodeDelta.EMPTY;
+        }
+        var delta = page[PageUtil.indexInPage(nodeId, PAGE_MASK)];
+        return delta == null ? NodeDelta.EMPTY : delta;
+    }
+
+    /**
+     * Returns a builder for a delta that contains the relationships of this delta
+     * and the ones that are appended to the builder.
+     */
+    public Builder builder(AllocationTracker tracker) {
+        return new Builder(this, tracker);
+    }
+
+    /**
+     * Collects appended relationships for a new delta.
+     * Pages need to be prepared by a single thread, appends to different nodes
+     * of prepared pages may then happen concurrently.
+     */
+    public static final class Builder {
+
+        private final RelationshipDelta previous;
+        private final NodeDelta[][] pages;
+        private final boolean[] copiedPages;
+        private final AllocationTracker tracker;
+        private final LongAdder appendedRelationshipCount;
+        private boolean hasParallelRelationships;
+
+        private Builder(RelationshipDelta previous, AllocationTracker tracker) {
+            this.previous = previous;
+            this.pages = Arrays.copyOf(previous.pages, previous.pages.length);
+            this.copiedPages = new boolean[pages.length];
+            this.tracker = tracker;
+            this.appendedRelationshipCount = new LongAdder();
+            this.hasParallelRelationships = previous.hasParallelRelationships;
+            tracker.add(MemoryUsage.sizeOfObjectArray(pages.length));
+        }
+
+        /**
+         * Makes the page of the given node writable for this builder.
+         * Must not be called concurrently.
+         */
+        public void preparePage(long nodeId) {
+            int pageIndex = PageUtil.pageIndex(nodeId, PAGE_SHIFT);
+            if (!copiedPages[pageIndex]) {
+                var page = pages[pageIndex];
+                pages[pageIndex] = page == null ? new NodeDelta[PAGE_SIZE] : Arrays.copyOf(page, PAGE_SIZE);
+                copiedPages[pageIndex] = true;
+                tracker.add(MemoryUsage.sizeOfObjectArray(PAGE_SIZE));
+            }
+        }
+
+        /**
+         * Merges {@code count} sorted targets into the targets of the given node.
+         * Targets that are already present are ordered before equal appended targets.
+         * The page of the node must have been prepared.
+         *
+         * @param properties the property values of the appended targets, one block of {@code count} values per property
+         * @return true iff at least one of the appended targets was already present in the delta of the node
+         */
+        public boolean append(long nodeId, long[] targets, double[] properties, int count) {
+            int pageIndex = PageUtil.pageIndex(nodeId, PAGE_SHIFT);
+            assert copiedPages[pageIndex] : "page of node " + nodeId + " has not been prepared";
+            var page = pages[pageIndex];
+            int indexInPage = PageUtil.indexInPage(nodeId, PAGE_MASK);
+            NodeDelta current = page[indexInPage] == null ? NodeDelta.EMPTY : page[indexInPage];
+
+            int propertyCount = previous.propertyCount;
+            long[] currentTargets = current.targets;
+            double[] currentProperties = current.properties;
+            int currentDegree = currentTargets.length;
+            int degree = currentDegree + count;
+
+            long[] mergedTargets = new long[degree];
+            double[] mergedProperties = new double[propertyCount * degree];
+            boolean hasDuplicates = false;
+
+            int left = 0;
+            int right = 0;
+            for (int i = 0; i < degree; i++) {
+                boolean fromCurrent = right == count || (left < currentDegree && currentTargets[left] <= targets[right]);
+                if (fromCurrent) {
+                    mergedTargets[i] = currentTargets[left];
+                    for (int p = 0; p < propertyCount; p++) {
+                        mergedProperties[p * degree + i] = currentProperties[p * currentDegree + left];
+                    }
+                    left++;
+                } else {
+                    hasDuplicates |= i > 0 && mergedTargets[i - 1] == targets[right];
+                    mergedTargets[i] = targets[right];
+                    for (int p = 0; p < propertyCount; p++) {
+                        mergedProperties[p * degree + i] = properties[p * count + right];
+                    }
+                    right++;
+                }
+            }
+
+            page[indexInPage] = new NodeDelta(mergedTargets, mergedProperties);
+            appendedRelationshipCount.add(count);
+            return hasDuplicates;
+        }
+
+        /**
+         * Marks the built delta as containing parallel relationships.
+         */
+        public void foundParallelRelationships() {
+            this.hasParallelRelationships = true;
+        }
+
+        public RelationshipDelta build() {
+            return new RelationshipDelta(
+                pages,
+                previous.propertyCount,
+                previous.relationshipCount + appendedRelationshipCount.sum(),
+                hasParallelRelationships
+            );
+        }
+    }
+
+    static final class NodeDelta {
+        static final NodeDelta EMPTY = new NodeDelta(new long[0], new double[0]);
+
+        final long[] targets;
+        private final double[] properties;
+
+        private NodeDelta(long[] targets, double[] properties) {
+            this.targets = targets;
+            this.properties = properties;
+        }
+
+        /**
+         * Returns the value of the given property for the {@code index}-th target.
+         */
+        double property(int propertyIndex, int index) {
+            return properties[propertyIndex * targets.length + index];
+        }
+    }
+}
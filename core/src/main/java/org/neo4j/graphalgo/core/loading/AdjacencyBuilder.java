@@ -232,6 +232,7 @@ public final class AdjacencyBuilder {
                     allTargets[localId] = null;
                 }
             }
+            globalBuilder.addCompressedAdjacency(builder.compressedAdjacencyBytes(), importedRelationships);
             builder.release();
             relationshipCounter.add(importedRelationships);
         });
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines how the targets of each node are encoded in an adjacency list.
+ */
+public enum AdjacencyEncoding {
+
+    /**
+     * Every delta between consecutive targets is encoded by {@link VarLongEncoding}.
+     */
+    VAR_LONG {
+        @Override
+        public MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+            return TransientAdjacencyList.compressedMemoryEstimation(relationshipType, undirected);
+        }
+    },
+    /**
+     * Deltas are bit-packed in blocks by {@link BitPackedEncoding},
+     * which allows cursors to skip over whole blocks.
+     */
+    BIT_PACKED {
+        @Override
+        public MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+            return BitPackedAdjacencyList.memoryEstimation(relationshipType, undirected);
+        }
+    };
+
+    /**
+     * Estimates the adjacency list of a single relationship type in this encoding.
+     */
+    public abstract MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected);
+
+    public static AdjacencyEncoding of(String value) {
+        try {
+            return AdjacencyEncoding.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableEncodings = Arrays
+                .stream(AdjacencyEncoding.values())
+                .map(AdjacencyEncoding::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Adjacency encoding `%s` is not supported. Must be one of: %s.",
+                value,
+                availableEncodings
+            ));
+        }
+    }
+
+    public static AdjacencyEncoding parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof AdjacencyEncoding) {
+            return (AdjacencyEncoding) object;
+        }
+        return null;
+    }
+
+    public static String toString(AdjacencyEncoding encoding) {
+        return encoding.name();
+    }
+}
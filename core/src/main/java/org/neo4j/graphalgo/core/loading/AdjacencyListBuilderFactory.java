@@ -19,8 +19,19 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-@FunctionalInterface
 public interface AdjacencyListBuilderFactory {
 
     AdjacencyListBuilder newAdjacencyListBuilder();
+
+    /**
+     * Returns a builder for relationship properties where the
+     * properties of each node are compressed by {@link PropertyCompression}.
+     */
+    AdjacencyListBuilder newCompressedPropertiesBuilder();
+
+    /**
+     * Returns a builder for adjacency lists where the targets of
+     * each node are encoded by {@link BitPackedEncoding}.
+     */
+    AdjacencyListBuilder newBitPackedAdjacencyListBuilder();
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.OffHeapPages;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines where the pages of adjacency lists, relationship properties
+ * and their offsets are stored once the import has finished.
+ * Import always happens on the heap, the pages are moved to their
+ * final storage when the graph is built.
+ */
+public enum AdjacencyStorage {
+
+    HEAP {
+        @Override
+        @Nullable OffHeapPages.Target target(@Nullable Path spillDirectory, AllocationTracker tracker) {
+            return null;
+        }
+    },
+    OFF_HEAP {
+        @Override
+        OffHeapPages.Target target(@Nullable Path spillDirectory, AllocationTracker tracker) {
+            return OffHeapPages.Target.direct(tracker);
+        }
+    },
+    MEMORY_MAPPED {
+        @Override
+        OffHeapPages.Target target(@Nullable Path spillDirectory, AllocationTracker tracker) {
+            return OffHeapPages.Target.mapped(spillDirectory, tracker);
+        }
+    };
+
+    abstract @Nullable OffHeapPages.Target target(@Nullable Path spillDirectory, AllocationTracker tracker);
+
+    public AdjacencyListBuilderFactory builderFactory(AllocationTracker tracker, @Nullable String spillDirectory) {
+        return TransientAdjacencyListBuilder.builderFactory(tracker, target(spillPath(spillDirectory), tracker));
+    }
+
+    public AdjacencyOffsetsFactory offsetsFactory(
+        AllocationTracker tracker,
+        int pageSize,
+        @Nullable String spillDirectory
+    ) {
+        OffHeapPages.Target target = target(spillPath(spillDirectory), tracker);
+        return target == null
+            ? TransientAdjacencyOffsets.forPageSize(pageSize)
+            : OffHeapAdjacencyOffsets.forPageSize(pageSize, target);
+    }
+
+    private static @Nullable Path spillPath(@Nullable String spillDirectory) {
+        return spillDirectory == null ? null : Path.of(spillDirectory);
+    }
+
+    public static AdjacencyStorage of(String value) {
+        try {
+            return AdjacencyStorage.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableStorages = Arrays
+                .stream(AdjacencyStorage.values())
+                .map(AdjacencyStorage::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Adjacency storage `%s` is not supported. Must be one of: %s.",
+                value,
+                availableStorages
+            ));
+        }
+    }
+
+    public static AdjacencyStorage parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof AdjacencyStorage) {
+            return (AdjacencyStorage) object;
+        }
+        return null;
+    }
+
+    public static String toString(AdjacencyStorage storage) {
+        return storage.name();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.utils.ValueConversion;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Node properties of a graph that nodes have been appended to.
+ * Nodes that have been imported read the imported values,
+ * appended nodes read the values they have been appended with.
+ * Appending to appended properties does not nest, the appended values are copied into a single array.
+ */
+final class AppendedNodeProperties {
+
+    /**
+     * Appends {@code count} values to the given property.
+     * Values that are {@code NaN} or not given at all are replaced by the default value of the property.
+     * Only numeric properties can be appended with values, array properties use their default value.
+     */
+    static NodeProperties append(NodeProperty property, long nodeCount, int count, @Nullable double[] values) {
+        NodeProperties properties = property.values();
+        DefaultValue defaultValue = property.defaultValue();
+        ValueType valueType = property.valueType();
+        if (valueType == ValueType.LONG) {
+            long[] appended = new long[count];
+            for (int i = 0; i < count; i++) {
+                appended[i] = values == null || Double.isNaN(values[i])
+                    ? defaultValue.longValue()
+                    : ValueConversion.exactDoubleToLong(values[i]);
+            }
+            if (properties instanceof AppendedLongProperties) {
+                var previous = (AppendedLongProperties) properties;
+                return new AppendedLongProperties(previous.base, previous.baseNodeCount, concat(previous.appended, appended));
+            }
+            return new AppendedLongProperties(properties, nodeCount, appended);
+        }
+        if (valueType == ValueType.DOUBLE) {
+            double[] appended = new double[count];
+            for (int i = 0; i < count; i++) {
+                appended[i] = values == null || Double.isNaN(values[i])
+                    ? defaultValue.doubleValue()
+                    : values[i];
+            }
+            if (properties instanceof AppendedDoubleProperties) {
+                var previous = (AppendedDoubleProperties) properties;
+                return new AppendedDoubleProperties(previous.base, previous.baseNodeCount, concat(previous.appended, appended));
+            }
+            return new AppendedDoubleProperties(properties, nodeCount, appended);
+        }
+        if (values != null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Only numeric node properties can be appended, but `%s` is of type %s.",
+                property.key(),
+                valueType
+            ));
+        }
+        if (properties instanceof AppendedArrayProperties) {
+            var previous = (AppendedArrayProperties) properties;
+            return new AppendedArrayProperties(previous.base, previous.baseNodeCount, nodeCount + count, defaultValue);
+        }
+        return new AppendedArrayProperties(properties, nodeCount, nodeCount + count, defaultValue);
+    }
+
+    private static long[] concat(long[] left, long[] right) {
+        long[] values = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, values, left.length, right.length);
+        return values;
+    }
+
+    private static double[] concat(double[] left, double[] right) {
+        double[] values = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, values, left.length, right.length);
+        return values;
+    }
+
+    private AppendedNodeProperties() {}
+
+    private static final class AppendedLongProperties implements LongNodeProperties {
+
+        private final NodeProperties base;
+        private final long baseNodeCount;
+        private final long[] appended;
+
+        AppendedLongProperties(NodeProperties base, long baseNodeCount, long[] appended) {
+            this.base = base;
+            this.baseNodeCount = baseNodeCount;
+            this.appended = appended;
+        }
+
+        @Override
+        public long longValue(long nodeId) {
+            return nodeId < baseNodeCount ? base.longValue(nodeId) : appended[(int) (nodeId - baseNodeCount)];
+        }
+
+        @Override
+        public long size() {
+            return baseNodeCount + appended.length;
+        }
+    }
+
+    private static final class AppendedDoubleProperties implements DoubleNodeProperties {
+
+        private final NodeProperties base;
+        private final long baseNodeCount;
+        private final double[] appended;
+
+        AppendedDoubleProperties(NodeProperties base, long baseNodeCount, double[] appended) {
+            this.base = base;
+            this.baseNodeCount = baseNodeCount;
+            this.appended = appended;
+        }
+
+        @Override
+        public double doubleValue(long nodeId) {
+            return nodeId < baseNodeCount ? base.doubleValue(nodeId) : appended[(int) (nodeId - baseNodeCount)];
+        }
+
+        @Override
+        public long size() {
+            return baseNodeCount + appended.length;
+        }
+    }
+
+    private static final class AppendedArrayProperties implements NodeProperties {
+
+        private final NodeProperties base;
+        private final long baseNodeCount;
+        private final long nodeCount;
+        private final DefaultValue defaultValue;
+
+        AppendedArrayProperties(NodeProperties base, long baseNodeCount, long nodeCount, DefaultValue defaultValue) {
+            this.base = base;
+            this.baseNodeCount = baseNodeCount;
+            this.nodeCount = nodeCount;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public double[] doubleArrayValue(long nodeId) {
+            return nodeId < baseNodeCount ? base.doubleArrayValue(nodeId) : defaultValue.doubleArrayValue();
+        }
+
+        @Override
+        public float[] floatArrayValue(long nodeId) {
+            return nodeId < baseNodeCount ? base.floatArrayValue(nodeId) : defaultValue.floatArrayValue();
+        }
+
+        @Override
+        public long[] longArrayValue(long nodeId) {
+            return nodeId < baseNodeCount ? base.longArrayValue(nodeId) : defaultValue.longArrayValue();
+        }
+
+        @Override
+        public Object getObject(long nodeId) {
+            return nodeId < baseNodeCount ? base.getObject(nodeId) : defaultValue.getObject();
+        }
+
+        @Override
+        public ValueType valueType() {
+            return base.valueType();
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            if (nodeId < baseNodeCount) {
+                return base.value(nodeId);
+            }
+            Object value = defaultValue.getObject();
+            return value == null ? null : Values.of(value);
+        }
+
+        @Override
+        public long size() {
+            return nodeCount;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Encodes the delta-encoded targets of a single node in blocks of {@link #BLOCK_SIZE} targets.
+ * All deltas within a block are bit-packed with the bit width of the largest delta in that block.
+ *
+ * The layout after the degree is:
+ * <ol>
+ *     <li>the first target as a VarLong</li>
+ *     <li>one byte per block, holding the bit width of that block</li>
+ *     <li>the last target of every block but the last as a little endian long, used to skip blocks</li>
+ *     <li>the bit-packed deltas, block by block, starting at a byte boundary for every block</li>
+ * </ol>
+ * The first block packs the deltas of the second up to the {@link #BLOCK_SIZE}th target,
+ * all other blocks pack {@link #BLOCK_SIZE} deltas relative to the last target of the previous block.
+ */
+public final class BitPackedEncoding {
+
+    public static final int BLOCK_SHIFT = 6;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    // a value and its offset within a byte must fit into a single long
+    public static final int MAX_BITS = Long.SIZE - Byte.SIZE + 1;
+
+    public static int blockCount(int degree) {
+        return (degree + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    }
+
+    /**
+     * Returns the number of bytes required to encode {@code length} targets, excluding the degree.
+     *
+     * @param deltas the first target followed by the deltas between consecutive targets
+     */
+    public static int packedSize(long[] deltas, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int blockCount = blockCount(length);
+        int size = encodedVLongSize(deltas[0]) + blockCount + (blockCount - 1) * Long.BYTES;
+        for (int block = 0; block < blockCount; block++) {
+            int start = blockStart(block);
+            int end = blockEnd(block, length);
+            size += packedBlockSize(end - start, bitWidth(deltas, start, end));
+        }
+        return size;
+    }
+
+    /**
+     * Encodes {@code length} targets into {@code out}, starting at {@code offset}.
+     *
+     * @param deltas the first target followed by the deltas between consecutive targets
+     * @return the offset after the last written byte
+     */
+    public static int pack(long[] deltas, int length, byte[] out, int offset) {
+        if (length == 0) {
+            return offset;
+        }
+        offset = VarLongEncoding.encodeVLongs(deltas, 0, 1, out, offset);
+
+        int blockCount = blockCount(length);
+        int widthsOffset = offset;
+        int lastTargetsOffset = widthsOffset + blockCount;
+        offset = lastTargetsOffset + (blockCount - 1) * Long.BYTES;
+
+        long target = deltas[0];
+        for (int block = 0; block < blockCount; block++) {
+            int start = blockStart(block);
+            int end = blockEnd(block, length);
+            int bits = bitWidth(deltas, start, end);
+            out[widthsOffset + block] = (byte) bits;
+            offset = packBlock(deltas, start, end, bits, out, offset);
+
+            for (int i = start; i < end; i++) {
+                target += deltas[i];
+            }
+            if (block < blockCount - 1) {
+                writeLong(out, lastTargetsOffset + block * Long.BYTES, target);
+            }
+        }
+        return offset;
+    }
+
+    public static int packedBlockSize(int count, int bits) {
+        return (count * bits + Byte.SIZE - 1) >>> 3;
+    }
+
+    private static int blockStart(int block) {
+        // the first target is stored separately
+        return block == 0 ? 1 : block << BLOCK_SHIFT;
+    }
+
+    private static int blockEnd(int block, int length) {
+        return Math.min((block + 1) << BLOCK_SHIFT, length);
+    }
+
+    private static int bitWidth(long[] deltas, int start, int end) {
+        long max = 0L;
+        for (int i = start; i < end; i++) {
+            max |= deltas[i];
+        }
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(max);
+        if (bits > MAX_BITS) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Bit-packed adjacency encoding supports deltas of up to %d bits, got %d bits.",
+                MAX_BITS,
+                bits
+            ));
+        }
+        return bits;
+    }
+
+    private static int packBlock(long[] deltas, int start, int end, int bits, byte[] out, int offset) {
+        long buffer = 0L;
+        int bitsInBuffer = 0;
+        for (int i = start; i < end; i++) {
+            buffer |= deltas[i] << bitsInBuffer;
+            bitsInBuffer += bits;
+            while (bitsInBuffer >= Byte.SIZE) {
+                out[offset++] = (byte) buffer;
+                buffer >>>= Byte.SIZE;
+                bitsInBuffer -= Byte.SIZE;
+            }
+        }
+        if (bitsInBuffer > 0) {
+            out[offset++] = (byte) buffer;
+        }
+        return offset;
+    }
+
+    //@formatter:off
+    private static void writeLong(byte[] out, int offset, long value) {
+        out[    offset] = (byte) (value);
+        out[1 + offset] = (byte) (value >>>  8);
+        out[2 + offset] = (byte) (value >>> 16);
+        out[3 + offset] = (byte) (value >>> 24);
+        out[4 + offset] = (byte) (value >>> 32);
+        out[5 + offset] = (byte) (value >>> 40);
+        out[6 + offset] = (byte) (value >>> 48);
+        out[7 + offset] = (byte) (value >>> 56);
+    }
+    //@formatter:on
+
+    private BitPackedEncoding() {
+    }
+}
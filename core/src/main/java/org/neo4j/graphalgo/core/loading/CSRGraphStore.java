@@ -19,9 +19,11 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.LongHashSet;
 import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.CSRGraph;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
@@ -38,6 +40,7 @@ import org.neo4j.graphalgo.api.schema.GraphSchema;
 import org.neo4j.graphalgo.api.schema.NodeSchema;
 import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
 import org.neo4j.graphalgo.api.schema.RelationshipSchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.ProcedureConstants;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
@@ -55,11 +58,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -72,11 +77,15 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class CSRGraphStore implements GraphStore {
 
+    // bound the memory of the materialized copies, evicted copies remain valid for the graphs that use them
+    private static final int MAX_MATERIALIZED_NODES = 4;
+    private static final int MAX_MATERIALIZED_GRAPHS = 16;
+
     private final int concurrency;
 
     private final NamedDatabaseId databaseId;
 
-    private final NodeMapping nodes;
+    private NodeMapping nodes;
 
     private final Map<NodeLabel, NodePropertyStore> nodeProperties;
 
@@ -84,12 +93,24 @@ public class CSRGraphStore implements GraphStore {
 
     private final Map<RelationshipType, RelationshipPropertyStore> relationshipProperties;
 
+    private final Map<RelationshipType, RelationshipDeltaLayer> deltaLayers;
+
+    private final Set<String> indexNodeProperties;
+
+    private final Set<RelationshipType> indexRelationshipTypes;
+
     private final Set<Graph> createdGraphs;
 
+    private final Map<Set<NodeLabel>, MaterializedNodes> materializedNodes;
+
+    private final Map<MaterializedGraphKey, HugeGraph> materializedGraphs;
+
     private final AllocationTracker tracker;
 
     private ZonedDateTime modificationTime;
 
+    private final List<Runnable> modificationListeners;
+
     public interface CSRGraphStoreConstructor<T> {
         T construct(
             NamedDatabaseId databaseId,
@@ -253,10 +274,16 @@ public class CSRGraphStore implements GraphStore {
         this.nodeProperties = new HashMap<>(nodeProperties);
         this.relationships = new HashMap<>(relationships);
         this.relationshipProperties = new HashMap<>(relationshipProperties);
+        this.deltaLayers = new HashMap<>();
+        this.indexNodeProperties = new HashSet<>();
+        this.indexRelationshipTypes = new HashSet<>();
 
         this.concurrency = concurrency;
         this.createdGraphs = new HashSet<>();
+        this.materializedNodes = leastRecentlyUsed(MAX_MATERIALIZED_NODES);
+        this.materializedGraphs = leastRecentlyUsed(MAX_MATERIALIZED_GRAPHS);
         this.modificationTime = TimeUtil.now();
+        this.modificationListeners = new CopyOnWriteArrayList<>();
         this.tracker = tracker;
     }
 
@@ -459,10 +486,217 @@ public class CSRGraphStore implements GraphStore {
                     .forEach(property -> builder.putDeletedProperty(property.key(), property.values().elementCount()));
                 graphStore.relationships.remove(relationshipType);
                 graphStore.relationshipProperties.remove(relationshipType);
+                graphStore.deltaLayers.remove(relationshipType);
             })
         );
     }
 
+    @Override
+    public long addRelationships(
+        RelationshipType relationshipType,
+        long[] sourceNodeIds,
+        long[] targetNodeIds,
+        Map<String, double[]> relationshipProperties,
+        int concurrency
+    ) {
+        long[] addedRelationships = {0L};
+        updateGraphStore(graphStore -> {
+            if (!graphStore.relationships.containsKey(relationshipType)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Adding relationships to the graph store failed. Relationship type '%s' does not exist in the store. Available relationship types: %s",
+                    relationshipType.name,
+                    StringJoining.join(relationshipTypes().stream().map(RelationshipType::name))
+                ));
+            }
+            if (graphStore.indexRelationshipTypes.contains(relationshipType)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationships cannot be appended to relationship type '%s', since it is an index of the graph.",
+                    relationshipType.name
+                ));
+            }
+            graphStore.removeIndexes();
+            RelationshipDeltaLayer layer = graphStore.deltaLayer(relationshipType);
+            addedRelationships[0] = layer.append(sourceNodeIds, targetNodeIds, relationshipProperties, concurrency);
+            graphStore.putMergedRelationships(relationshipType, layer);
+        });
+        return addedRelationships[0];
+    }
+
+    @Override
+    public long addNodes(
+        long[] originalNodeIds,
+        List<Set<NodeLabel>> nodeLabels,
+        Map<String, double[]> nodeProperties,
+        int concurrency
+    ) {
+        updateGraphStore(graphStore -> {
+            graphStore.validateAppendedNodes(originalNodeIds, nodeLabels, nodeProperties);
+            graphStore.removeIndexes();
+
+            long baseNodeCount = graphStore.nodes.nodeCount();
+            int count = originalNodeIds.length;
+            graphStore.nodes = IdMapBuilder.append(
+                graphStore.nodes,
+                originalNodeIds,
+                nodeLabels,
+                concurrency,
+                graphStore.tracker
+            );
+            graphStore.nodeProperties.replaceAll((nodeLabel, propertyStore) -> {
+                NodePropertyStore.Builder builder = NodePropertyStore.builder();
+                propertyStore.nodeProperties().forEach((propertyKey, property) -> builder.putIfAbsent(
+                    propertyKey,
+                    NodeProperty.of(
+                        propertyKey,
+                        property.propertyState(),
+                        AppendedNodeProperties.append(property, baseNodeCount, count, nodeProperties.get(propertyKey)),
+                        property.defaultValue()
+                    )
+                ));
+                return builder.build();
+            });
+            // every relationship type is layered, so that appended nodes have no relationships
+            // and relationships can be appended to them
+            for (RelationshipType relationshipType : graphStore.relationships.keySet()) {
+                RelationshipDeltaLayer layer = graphStore.deltaLayer(relationshipType);
+                layer.growNodes(graphStore.nodes.nodeCount());
+                graphStore.putMergedRelationships(relationshipType, layer);
+            }
+        });
+        return originalNodeIds.length;
+    }
+
+    @Override
+    public synchronized void addIndex(Collection<String> nodePropertyKeys, Collection<RelationshipType> relationshipTypes) {
+        indexNodeProperties.addAll(nodePropertyKeys);
+        indexRelationshipTypes.addAll(relationshipTypes);
+    }
+
+    private void removeIndexes() {
+        for (String propertyKey : indexNodeProperties) {
+            nodeProperties.replaceAll((nodeLabel, propertyStore) -> NodePropertyStore.builder()
+                .from(propertyStore)
+                .removeProperty(propertyKey)
+                .build());
+        }
+        nodeProperties.values().removeIf(NodePropertyStore::isEmpty);
+        for (RelationshipType relationshipType : indexRelationshipTypes) {
+            relationships.remove(relationshipType);
+            relationshipProperties.remove(relationshipType);
+            deltaLayers.remove(relationshipType);
+        }
+        indexNodeProperties.clear();
+        indexRelationshipTypes.clear();
+    }
+
+    private RelationshipDeltaLayer deltaLayer(RelationshipType relationshipType) {
+        return deltaLayers.computeIfAbsent(
+            relationshipType,
+            type -> RelationshipDeltaLayer.of(
+                type,
+                relationships.get(type),
+                relationshipProperties.getOrDefault(type, RelationshipPropertyStore.empty()),
+                nodes.nodeCount(),
+                tracker
+            )
+        );
+    }
+
+    private void putMergedRelationships(RelationshipType relationshipType, RelationshipDeltaLayer layer) {
+        var merged = layer.relationships();
+        relationships.put(relationshipType, merged.topology());
+        if (!merged.properties().isEmpty()) {
+            relationshipProperties.put(relationshipType, merged.properties());
+        }
+    }
+
+    private void validateAppendedNodes(
+        long[] originalNodeIds,
+        List<Set<NodeLabel>> nodeLabels,
+        Map<String, double[]> nodeProperties
+    ) {
+        if (nodeLabels.size() != originalNodeIds.length) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected labels for %d nodes, but got labels for %d nodes.",
+                originalNodeIds.length,
+                nodeLabels.size()
+            ));
+        }
+        var appendedNodeIds = new LongHashSet(originalNodeIds.length);
+        for (int i = 0; i < originalNodeIds.length; i++) {
+            long nodeId = originalNodeIds[i];
+            if (nodeId < 0 || nodes.contains(nodeId) || !appendedNodeIds.add(nodeId)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node %d cannot be appended, node ids must be non-negative and must not be contained in the graph.",
+                    nodeId
+                ));
+            }
+            Set<NodeLabel> labels = nodeLabels.get(i);
+            if (!nodes.containsOnlyAllNodesLabel() && (labels.isEmpty() || !nodeLabels().containsAll(labels))) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node %d must have at least one of the node labels of the graph. Available node labels: %s",
+                    nodeId,
+                    StringJoining.join(nodeLabels().stream().map(NodeLabel::name))
+                ));
+            }
+        }
+        nodeProperties.forEach((propertyKey, values) -> {
+            var valueType = this.nodeProperties
+                .values()
+                .stream()
+                .filter(propertyStore -> propertyStore.containsKey(propertyKey))
+                .map(propertyStore -> propertyStore.get(propertyKey).valueType())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(formatWithLocale(
+                    "Node property `%s` does not exist in the graph.",
+                    propertyKey
+                )));
+            if (valueType != ValueType.LONG && valueType != ValueType.DOUBLE) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Only numeric node properties can be appended, but `%s` is of type %s.",
+                    propertyKey,
+                    valueType
+                ));
+            }
+            if (values.length != originalNodeIds.length) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected %d values for node property `%s`, but got %d.",
+                    originalNodeIds.length,
+                    propertyKey,
+                    values.length
+                ));
+            }
+        });
+    }
+
+    @Override
+    public synchronized double appendedRelationshipRatio(RelationshipType relationshipType) {
+        RelationshipDeltaLayer layer = deltaLayers.get(relationshipType);
+        return layer == null ? 0.0 : layer.appendedRatio();
+    }
+
+    @Override
+    public void compactRelationships(
+        RelationshipType relationshipType,
+        GraphCreateConfig createConfig,
+        int concurrency
+    ) {
+        updateGraphStore(graphStore -> {
+            RelationshipDeltaLayer layer = graphStore.deltaLayers.get(relationshipType);
+            if (layer == null) {
+                return;
+            }
+            // graphs that have been created before keep using the previous adjacency lists,
+            // which is why they are not released here
+            var compacted = layer.compact(graphStore.nodes, createConfig, concurrency, graphStore.tracker);
+            graphStore.relationships.put(relationshipType, compacted.topology());
+            if (!compacted.properties().isEmpty()) {
+                graphStore.relationshipProperties.put(relationshipType, compacted.properties());
+            }
+            graphStore.deltaLayers.remove(relationshipType);
+        });
+    }
+
     @Override
     public CSRGraph getGraph(
         Collection<NodeLabel> nodeLabels,
@@ -473,6 +707,24 @@ public class CSRGraphStore implements GraphStore {
         return createGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty);
     }
 
+    /**
+     * Graphs that filter out nodes are materialized once per node label filter, relationship type and property.
+     * The least recently used materialized graphs are cached until the graph store is modified.
+     */
+    @Override
+    public CSRGraph getGraph(
+        Collection<NodeLabel> nodeLabels,
+        Collection<RelationshipType> relationshipTypes,
+        Optional<String> maybeRelationshipProperty,
+        boolean materializeNodeFilter
+    ) {
+        validateInput(relationshipTypes, maybeRelationshipProperty);
+        if (!materializeNodeFilter || nodeLabels.containsAll(nodeLabels()) || nodes.containsOnlyAllNodesLabel()) {
+            return createGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty);
+        }
+        return createMaterializedGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty);
+    }
+
     @Override
     public CSRGraph getUnion() {
         return UnionGraph.of(relationships
@@ -493,13 +745,20 @@ public class CSRGraphStore implements GraphStore {
     }
 
     @Override
-    public void canRelease(boolean canRelease) {
+    public void addModificationListener(Runnable listener) {
+        modificationListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void canRelease(boolean canRelease) {
         createdGraphs.forEach(graph -> graph.canRelease(canRelease));
+        materializedGraphs.values().forEach(graph -> graph.canRelease(canRelease));
     }
 
     @Override
-    public void release() {
+    public synchronized void release() {
         createdGraphs.forEach(Graph::release);
+        materializedGraphs.values().forEach(Graph::release);
         releaseInternals();
     }
 
@@ -532,9 +791,16 @@ public class CSRGraphStore implements GraphStore {
         return nodes.nodeCount();
     }
 
-    private synchronized void updateGraphStore(Consumer<CSRGraphStore> updateFunction) {
-        updateFunction.accept(this);
-        this.modificationTime = TimeUtil.now();
+    private void updateGraphStore(Consumer<CSRGraphStore> updateFunction) {
+        synchronized (this) {
+            updateFunction.accept(this);
+            // graphs that have been handed out keep using their copy
+            this.materializedNodes.clear();
+            this.materializedGraphs.clear();
+            this.modificationTime = TimeUtil.now();
+        }
+        // listeners may take locks that are held while waiting for this graph store
+        modificationListeners.forEach(Runnable::run);
     }
 
     private NodeProperty nodeProperty(NodeLabel label, String propertyKey) {
@@ -600,7 +866,7 @@ public class CSRGraphStore implements GraphStore {
         return createGraph(nodeLabels, singletonList(relationshipType), maybeRelationshipProperty);
     }
 
-    private CSRGraph createGraph(
+    private synchronized CSRGraph createGraph(
         Collection<NodeLabel> filteredLabels,
         Collection<RelationshipType> relationshipTypes,
         Optional<String> maybeRelationshipProperty
@@ -611,29 +877,10 @@ public class CSRGraphStore implements GraphStore {
             ? Optional.empty()
             : Optional.of(nodes.withFilteredLabels(filteredLabels, concurrency));
 
-        List<CSRGraph> filteredGraphs = relationships.entrySet().stream()
-            .filter(relTypeAndCSR -> relationshipTypes.contains(relTypeAndCSR.getKey()))
-            .map(relTypeAndCSR -> {
-                Map<String, NodeProperties> filteredNodeProperties = filterNodeProperties(filteredLabels);
-
-                RelationshipType relType = relTypeAndCSR.getKey();
-                var graphSchema = GraphSchema.of(
-                    schema().nodeSchema(),
-                    schema()
-                        .relationshipSchema()
-                        .singleTypeAndProperty(relTypeAndCSR.getKey(), maybeRelationshipProperty)
-                );
-
-                HugeGraph initialGraph = HugeGraph.create(
-                    nodes,
-                    graphSchema,
-                    filteredNodeProperties,
-                    relTypeAndCSR.getValue(),
-                    maybeRelationshipProperty.map(propertyKey -> relationshipProperties
-                        .get(relType)
-                        .get(propertyKey).values()),
-                    tracker
-                );
+        List<CSRGraph> filteredGraphs = relationships.keySet().stream()
+            .filter(relationshipTypes::contains)
+            .map(relationshipType -> {
+                HugeGraph initialGraph = createHugeGraph(filteredLabels, relationshipType, maybeRelationshipProperty);
 
                 if (filteredNodes.isPresent()) {
                     return new NodeFilteredGraph(initialGraph, filteredNodes.get());
@@ -648,6 +895,78 @@ public class CSRGraphStore implements GraphStore {
         return UnionGraph.of(filteredGraphs);
     }
 
+    private synchronized CSRGraph createMaterializedGraph(
+        Collection<NodeLabel> filteredLabels,
+        Collection<RelationshipType> relationshipTypes,
+        Optional<String> maybeRelationshipProperty
+    ) {
+        Set<NodeLabel> nodeLabels = Set.copyOf(filteredLabels);
+        MaterializedNodes materializedNodes = this.materializedNodes.computeIfAbsent(nodeLabels, labels -> {
+            NodeMapping filteredNodes = nodes.withFilteredLabels(labels, concurrency);
+            return ImmutableMaterializedNodes.of(
+                filteredNodes,
+                FilteredGraphMaterializer.materializeNodes(nodes, filteredNodes, concurrency, tracker)
+            );
+        });
+
+        List<CSRGraph> materializedGraphs = relationships.keySet().stream()
+            .filter(relationshipTypes::contains)
+            .map(relationshipType -> this.materializedGraphs.computeIfAbsent(
+                ImmutableMaterializedGraphKey.of(nodeLabels, relationshipType, maybeRelationshipProperty),
+                key -> materializeGraph(key, materializedNodes)
+            ))
+            .collect(Collectors.toList());
+
+        return UnionGraph.of(materializedGraphs);
+    }
+
+    private HugeGraph materializeGraph(MaterializedGraphKey key, MaterializedNodes materializedNodes) {
+        HugeGraph initialGraph = createHugeGraph(key.nodeLabels(), key.relationshipType(), key.relationshipProperty());
+        NodeFilteredGraph filteredGraph = new NodeFilteredGraph(initialGraph, materializedNodes.filteredNodes());
+
+        HugeGraph graph = FilteredGraphMaterializer.materialize(
+            filteredGraph,
+            materializedNodes.nodes(),
+            filteredGraph.schema(),
+            FilteredGraphMaterializer.filterNodeProperties(filterNodeProperties(key.nodeLabels()), filteredGraph),
+            key.relationshipType(),
+            relationships.get(key.relationshipType()),
+            key.relationshipProperty().map(propertyKey -> relationshipProperties
+                .get(key.relationshipType())
+                .get(propertyKey).values()),
+            concurrency,
+            tracker
+        );
+        graph.canRelease(false);
+        return graph;
+    }
+
+    private HugeGraph createHugeGraph(
+        Collection<NodeLabel> filteredLabels,
+        RelationshipType relationshipType,
+        Optional<String> maybeRelationshipProperty
+    ) {
+        Map<String, NodeProperties> filteredNodeProperties = filterNodeProperties(filteredLabels);
+
+        var graphSchema = GraphSchema.of(
+            schema().nodeSchema(),
+            schema()
+                .relationshipSchema()
+                .singleTypeAndProperty(relationshipType, maybeRelationshipProperty)
+        );
+
+        return HugeGraph.create(
+            nodes,
+            graphSchema,
+            filteredNodeProperties,
+            relationships.get(relationshipType),
+            maybeRelationshipProperty.map(propertyKey -> relationshipProperties
+                .get(relationshipType)
+                .get(propertyKey).values()),
+            tracker
+        );
+    }
+
     private Map<String, NodeProperties> filterNodeProperties(Collection<NodeLabel> labels) {
         if (this.nodeProperties.isEmpty()) {
             return Collections.emptyMap();
@@ -743,7 +1062,28 @@ public class CSRGraphStore implements GraphStore {
         return relationshipPropsBuilder.build();
     }
 
-}
+    private static <K, V> Map<K, V> leastRecentlyUsed(int capacity) {
+        return new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @ValueClass
+    interface MaterializedNodes {
+        NodeMapping filteredNodes();
 
+        IdMap nodes();
+    }
+
+    @ValueClass
+    interface MaterializedGraphKey {
+        Set<NodeLabel> nodeLabels();
 
+        RelationshipType relationshipType();
 
+        Optional<String> relationshipProperty();
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.NodeProjection;
+import org.neo4j.graphalgo.NodeProjections;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.CSRGraphStoreFactory;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphLoaderContext;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.progress.EmptyProgressEventTracker;
+import org.neo4j.kernel.database.NamedDatabaseId;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.ElementProjection.PROJECT_ALL;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
+
+/**
+ * Creates a graph store from the CSV files written by
+ * {@link org.neo4j.graphalgo.core.utils.export.file.GraphStoreToFileExporter}.
+ * The data files of every label combination and relationship type are parsed and
+ * imported in parallel, with up to {@code readConcurrency} files at the same time.
+ */
+public final class CsvFactory extends CSRGraphStoreFactory<GraphCreateConfig> {
+
+    private final CsvFileInput input;
+    private final NamedDatabaseId databaseId;
+
+    public static CsvFactory of(
+        GraphCreateConfig graphCreateConfig,
+        Path importPath,
+        NamedDatabaseId databaseId,
+        AllocationTracker tracker,
+        Log log
+    ) {
+        var input = CsvFileInput.of(importPath);
+        var loadingContext = new CsvLoaderContext(tracker, log);
+
+        // The row counts are needed upfront to size the id map and the node properties.
+        var nodeCount = new LongAdder();
+        var relationshipCount = new LongAdder();
+        var countTasks = new ArrayList<Runnable>();
+        input.nodeFiles().stream().flatMap(files -> files.dataFiles().stream())
+            .forEach(dataFile -> countTasks.add(() -> nodeCount.add(CsvFileInput.countRows(dataFile))));
+        input.relationshipFiles().stream().flatMap(files -> files.dataFiles().stream())
+            .forEach(dataFile -> countTasks.add(() -> relationshipCount.add(CsvFileInput.countRows(dataFile))));
+        ParallelUtil.runWithConcurrency(graphCreateConfig.readConcurrency(), countTasks, loadingContext.executor());
+
+        var relationshipTypeTokens = new LongHashSet();
+        for (int i = 0; i < Math.max(1, input.relationshipFiles().size()); i++) {
+            relationshipTypeTokens.add(i);
+        }
+
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount.sum())
+            .maxRelCount(relationshipCount.sum())
+            .relationshipTypeTokens(relationshipTypeTokens)
+            .nodePropertyTokens(propertyTokens(input.nodeFiles().stream().flatMap(files -> files.columns().stream())))
+            .relationshipPropertyTokens(propertyTokens(input.relationshipFiles().stream().flatMap(files -> files.columns().stream())))
+            .build();
+
+        return new CsvFactory(graphCreateConfig, loadingContext, dimensions, input, databaseId);
+    }
+
+    private CsvFactory(
+        GraphCreateConfig graphCreateConfig,
+        GraphLoaderContext loadingContext,
+        GraphDimensions dimensions,
+        CsvFileInput input,
+        NamedDatabaseId databaseId
+    ) {
+        super(graphCreateConfig, loadingContext, dimensions);
+        this.input = input;
+        this.databaseId = databaseId;
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation() {
+        var nodeProjection = NodeProjection
+            .builder()
+            .label(PROJECT_ALL)
+            .addAllProperties(propertyMappings(input.nodeFiles().stream().flatMap(files -> files.columns().stream())))
+            .build();
+
+        var relationshipProjection = RelationshipProjection
+            .builder()
+            .type(PROJECT_ALL)
+            .addAllProperties(propertyMappings(input.relationshipFiles().stream().flatMap(files -> files.columns().stream())))
+            .build();
+
+        return NativeFactory.getMemoryEstimation(
+            NodeProjections.single(NodeLabel.ALL_NODES, nodeProjection),
+            RelationshipProjections.single(RelationshipType.ALL_RELATIONSHIPS, relationshipProjection),
+            graphCreateConfig.adjacencyEncoding(),
+            graphCreateConfig.compressRelationshipProperties(),
+            graphCreateConfig.nodeOrdering()
+        );
+    }
+
+    @Override
+    public ImportResult<CSRGraphStore> build() {
+        progressLogger.logStart();
+
+        var idsAndProperties = new CsvNodeLoader(
+            input.nodeFiles(),
+            dimensions.nodeCount(),
+            graphCreateConfig.readConcurrency(),
+            loadingContext,
+            progressLogger
+        ).load();
+
+        // Like an empty projection, a graph without relationship files has a single empty relationship type.
+        var relationshipFiles = input.relationshipFiles().isEmpty()
+            ? List.<CsvFileInput.RelationshipFiles>of(ImmutableCsvFileInput.RelationshipFiles.builder().relationshipType(RelationshipType.ALL_RELATIONSHIPS).build())
+            : input.relationshipFiles();
+
+        var relationships = new CsvRelationshipLoader(
+            relationshipFiles,
+            idsAndProperties.idMap(),
+            graphCreateConfig,
+            loadingContext,
+            progressLogger
+        ).load(dimensions);
+
+        ImportResult<CSRGraphStore> importResult = createGraphStore(
+            idsAndProperties,
+            relationships,
+            loadingContext.tracker(),
+            dimensions
+        );
+
+        progressLogger.logFinish();
+        logLoadingSummary(importResult.graphStore(), Optional.of(loadingContext.tracker()));
+
+        return importResult;
+    }
+
+    @Override
+    protected ProgressLogger initProgressLogger() {
+        return new BatchingProgressLogger(
+            loadingContext.log(),
+            dimensions.nodeCount() + dimensions.maxRelCount(),
+            TASK_LOADING,
+            graphCreateConfig.readConcurrency(),
+            EmptyProgressEventTracker.INSTANCE
+        );
+    }
+
+    @Override
+    protected NamedDatabaseId databaseId() {
+        return databaseId;
+    }
+
+    private static Map<String, Integer> propertyTokens(Stream<CsvFileInput.Column> columns) {
+        return columns.collect(Collectors.toMap(
+            CsvFileInput.Column::key,
+            ignore -> NO_SUCH_PROPERTY_KEY,
+            (left, right) -> left
+        ));
+    }
+
+    private static Collection<PropertyMapping> propertyMappings(Stream<CsvFileInput.Column> columns) {
+        return columns
+            .map(CsvFileInput.Column::key)
+            .distinct()
+            .map(key -> PropertyMapping.of(key, DefaultValue.DEFAULT))
+            .collect(Collectors.toList());
+    }
+
+    private static final class CsvLoaderContext implements GraphLoaderContext {
+
+        private final AllocationTracker tracker;
+        private final Log log;
+
+        CsvLoaderContext(AllocationTracker tracker, Log log) {
+            this.tracker = tracker;
+            this.log = log;
+        }
+
+        @Override
+        public GraphDatabaseAPI api() {
+            return null;
+        }
+
+        @Override
+        public Log log() {
+            return log;
+        }
+
+        @Override
+        public AllocationTracker tracker() {
+            return tracker;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvNodeVisitor.ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipVisitor.END_ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipVisitor.START_ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The CSV files written by {@link org.neo4j.graphalgo.core.utils.export.file.GraphStoreToFileExporter}.
+ * Every label combination and relationship type has a header file and one data file per export thread,
+ * e.g. {@code nodes_A_B_header.csv}, {@code nodes_A_B_0.csv} and {@code relationships_REL_header.csv}.
+ */
+@org.immutables.value.Value.Enclosing
+final class CsvFileInput {
+
+    private static final Pattern NODE_HEADER_FILE = Pattern.compile("^(nodes(?:_(.+))?)_header\\.csv$");
+    private static final Pattern RELATIONSHIP_HEADER_FILE = Pattern.compile("^(relationships_(.+))_header\\.csv$");
+    private static final String LABEL_SEPARATOR = "_";
+    private static final String ARRAY_SEPARATOR = ";";
+
+    private final List<NodeFiles> nodeFiles;
+    private final List<RelationshipFiles> relationshipFiles;
+
+    static CsvFileInput of(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The import directory `%s` does not exist.",
+                directory
+            ));
+        }
+
+        List<Path> files;
+        try (var fileStream = Files.list(directory)) {
+            files = fileStream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var nodeFiles = new ArrayList<NodeFiles>();
+        var relationshipFiles = new ArrayList<RelationshipFiles>();
+        for (Path file : files) {
+            var fileName = file.getFileName().toString();
+
+            Matcher nodeHeader = NODE_HEADER_FILE.matcher(fileName);
+            if (nodeHeader.matches()) {
+                var labels = nodeHeader.group(2) == null
+                    ? List.<NodeLabel>of()
+                    : Arrays.stream(nodeHeader.group(2).split(LABEL_SEPARATOR)).map(NodeLabel::of).collect(Collectors.toList());
+                var header = readHeader(file);
+                validateIdColumns(file, header, ID_COLUMN_NAME);
+                nodeFiles.add(ImmutableCsvFileInput.NodeFiles.builder()
+                    .labels(labels)
+                    .columns(parseColumns(file, header.subList(1, header.size())))
+                    .dataFiles(dataFiles(files, nodeHeader.group(1)))
+                    .build());
+                continue;
+            }
+
+            Matcher relationshipHeader = RELATIONSHIP_HEADER_FILE.matcher(fileName);
+            if (relationshipHeader.matches()) {
+                var header = readHeader(file);
+                validateIdColumns(file, header, START_ID_COLUMN_NAME, END_ID_COLUMN_NAME);
+                relationshipFiles.add(ImmutableCsvFileInput.RelationshipFiles.builder()
+                    .relationshipType(RelationshipType.of(relationshipHeader.group(2)))
+                    .columns(parseColumns(file, header.subList(2, header.size())))
+                    .dataFiles(dataFiles(files, relationshipHeader.group(1)))
+                    .build());
+            }
+        }
+
+        if (nodeFiles.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The import directory `%s` does not contain any node header files.",
+                directory
+            ));
+        }
+
+        return new CsvFileInput(nodeFiles, relationshipFiles);
+    }
+
+    private CsvFileInput(List<NodeFiles> nodeFiles, List<RelationshipFiles> relationshipFiles) {
+        this.nodeFiles = nodeFiles;
+        this.relationshipFiles = relationshipFiles;
+    }
+
+    List<NodeFiles> nodeFiles() {
+        return nodeFiles;
+    }
+
+    List<RelationshipFiles> relationshipFiles() {
+        return relationshipFiles;
+    }
+
+    long dataFileBytes() {
+        return nodeFiles.stream().mapToLong(NodeFiles::dataFileBytes).sum() +
+               relationshipFiles.stream().mapToLong(RelationshipFiles::dataFileBytes).sum();
+    }
+
+    /**
+     * Counts the rows of a data file.
+     * Exported values never contain line breaks, so every line is a row.
+     */
+    static long countRows(Path dataFile) {
+        try (InputStream in = Files.newInputStream(dataFile)) {
+            var buffer = new byte[1 << 16];
+            long rows = 0;
+            int read;
+            byte last = '\n';
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        rows++;
+                    }
+                }
+                if (read > 0) {
+                    last = buffer[read - 1];
+                }
+            }
+            return last == '\n' ? rows : rows + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a single field, an empty field is a missing value.
+     */
+    static Value parseValue(String field, ValueType valueType) {
+        if (field.isEmpty()) {
+            return null;
+        }
+        switch (valueType) {
+            case LONG:
+                return Values.longValue(Long.parseLong(field));
+            case DOUBLE:
+                return Values.doubleValue(Double.parseDouble(field));
+            case LONG_ARRAY:
+                return Values.longArray(Arrays.stream(field.split(ARRAY_SEPARATOR)).mapToLong(Long::parseLong).toArray());
+            case DOUBLE_ARRAY:
+                return Values.doubleArray(Arrays.stream(field.split(ARRAY_SEPARATOR)).mapToDouble(Double::parseDouble).toArray());
+            case FLOAT_ARRAY:
+                var elements = field.split(ARRAY_SEPARATOR);
+                var floats = new float[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    floats[i] = Float.parseFloat(elements[i]);
+                }
+                return Values.floatArray(floats);
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Unsupported value type %s", valueType));
+        }
+    }
+
+    private static List<String> readHeader(Path headerFile) {
+        try (var parser = new CsvReader().parse(headerFile, StandardCharsets.UTF_8)) {
+            CsvRow row = parser.nextRow();
+            if (row == null) {
+                throw new IllegalArgumentException(formatWithLocale("The header file `%s` is empty.", headerFile));
+            }
+            return row.getFields();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void validateIdColumns(Path headerFile, List<String> header, String... idColumns) {
+        for (int i = 0; i < idColumns.length; i++) {
+            if (header.size() <= i || !header.get(i).equals(idColumns[i])) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The header file `%s` must start with the columns %s, got %s.",
+                    headerFile.getFileName(),
+                    Arrays.toString(idColumns),
+                    header
+                ));
+            }
+        }
+    }
+
+    private static List<Column> parseColumns(Path headerFile, List<String> propertyColumns) {
+        var columns = new ArrayList<Column>(propertyColumns.size());
+        for (String propertyColumn : propertyColumns) {
+            int separator = propertyColumn.lastIndexOf(':');
+            var typeName = separator == -1 ? "" : propertyColumn.substring(separator + 1);
+            var valueType = Arrays.stream(ValueType.values())
+                .filter(type -> type != ValueType.UNKNOWN && type.csvName().equals(typeName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(formatWithLocale(
+                    "The column `%s` in header file `%s` does not declare a supported type.",
+                    propertyColumn,
+                    headerFile.getFileName()
+                )));
+            columns.add(ImmutableCsvFileInput.Column.builder()
+                .key(propertyColumn.substring(0, separator))
+                .valueType(valueType)
+                .build());
+        }
+        return columns;
+    }
+
+    private static List<Path> dataFiles(List<Path> files, String prefix) {
+        var dataFile = Pattern.compile("^" + Pattern.quote(prefix) + "_(\\d+)\\.csv$");
+        return files.stream()
+            .filter(file -> dataFile.matcher(file.getFileName().toString()).matches())
+            .sorted(Comparator.comparing(file -> {
+                Matcher matcher = dataFile.matcher(file.getFileName().toString());
+                matcher.matches();
+                return Integer.parseInt(matcher.group(1));
+            }))
+            .collect(Collectors.toList());
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @ValueClass
+    interface Column {
+        String key();
+
+        ValueType valueType();
+    }
+
+    @ValueClass
+    interface NodeFiles {
+        List<NodeLabel> labels();
+
+        List<Column> columns();
+
+        List<Path> dataFiles();
+
+        @org.immutables.value.Value.Derived
+        default long dataFileBytes() {
+            return dataFiles().stream().mapToLong(CsvFileInput::size).sum();
+        }
+    }
+
+    @ValueClass
+    interface RelationshipFiles {
+        RelationshipType relationshipType();
+
+        List<Column> columns();
+
+        List<Path> dataFiles();
+
+        @org.immutables.value.Value.Derived
+        default long dataFileBytes() {
+            return dataFiles().stream().mapToLong(CsvFileInput::size).sum();
+        }
+    }
+}
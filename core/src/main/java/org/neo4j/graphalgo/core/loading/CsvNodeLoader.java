@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+import com.carrotsearch.hppc.IntObjectMap;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.api.GraphLoaderContext;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.values.storable.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Imports the node files of a {@link CsvFileInput} using one task per data file.
+ * Nodes without labels are imported with {@link NodeLabel#ALL_NODES}, the same
+ * way a store without label information is exported.
+ */
+final class CsvNodeLoader {
+
+    private final List<CsvFileInput.NodeFiles> nodeFiles;
+    private final long nodeCount;
+    private final int concurrency;
+    private final GraphLoaderContext loadingContext;
+    private final ProgressLogger progressLogger;
+
+    CsvNodeLoader(
+        List<CsvFileInput.NodeFiles> nodeFiles,
+        long nodeCount,
+        int concurrency,
+        GraphLoaderContext loadingContext,
+        ProgressLogger progressLogger
+    ) {
+        this.nodeFiles = nodeFiles;
+        this.nodeCount = nodeCount;
+        this.concurrency = concurrency;
+        this.loadingContext = loadingContext;
+        this.progressLogger = progressLogger;
+    }
+
+    IdsAndProperties load() {
+        var tracker = loadingContext.tracker();
+        var idMapBuilder = InternalHugeIdMappingBuilder.of(nodeCount, tracker);
+
+        IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping = new IntObjectHashMap<>();
+        Map<NodeLabel, Integer> labelTokens = new HashMap<>();
+        for (var files : nodeFiles) {
+            for (var label : labels(files)) {
+                labelTokens.computeIfAbsent(label, ignore -> {
+                    int token = labelTokens.size();
+                    labelTokenNodeLabelMapping.put(token, List.of(label));
+                    return token;
+                });
+            }
+        }
+
+        var propertyBuilders = propertyBuilders();
+        var importer = new NodeImporter(
+            idMapBuilder,
+            new ConcurrentHashMap<>(),
+            labelTokenNodeLabelMapping,
+            !propertyBuilders.isEmpty(),
+            tracker
+        );
+
+        var highestNodeId = new LongAccumulator(Math::max, 0L);
+        var tasks = new ArrayList<Runnable>();
+        for (var files : nodeFiles) {
+            long[] labelIds = labels(files).stream().mapToLong(labelTokens::get).toArray();
+            var columnBuilders = files.columns().stream()
+                .map(column -> propertyBuilders.get(column.key()))
+                .toArray(NodePropertiesFromStoreBuilder[]::new);
+            for (Path dataFile : files.dataFiles()) {
+                tasks.add(new ImportTask(dataFile, files.columns(), columnBuilders, labelIds, importer, highestNodeId));
+            }
+        }
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, loadingContext.executor());
+
+        IdMap idMap;
+        try {
+            idMap = IdMapBuilder.buildChecked(
+                idMapBuilder,
+                importer.nodeLabelBitSetMapping,
+                highestNodeId.get(),
+                concurrency,
+                tracker
+            );
+        } catch (DuplicateNodeIdException e) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node(%d) was added multiple times. Please make sure that the node files contain distinct ids.",
+                e.nodeId
+            ));
+        }
+
+        return IdsAndProperties.of(idMap, nodeProperties(propertyBuilders));
+    }
+
+    private Map<String, NodePropertiesFromStoreBuilder> propertyBuilders() {
+        Map<String, CsvFileInput.Column> columnsByKey = new HashMap<>();
+        Map<String, NodePropertiesFromStoreBuilder> builders = new HashMap<>();
+        for (var files : nodeFiles) {
+            for (var column : files.columns()) {
+                var previous = columnsByKey.putIfAbsent(column.key(), column);
+                if (previous == null) {
+                    builders.put(column.key(), NodePropertiesFromStoreBuilder.of(
+                        nodeCount,
+                        loadingContext.tracker(),
+                        column.valueType().fallbackValue()
+                    ));
+                } else if (previous.valueType() != column.valueType()) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "The node property `%s` is declared with the types %s and %s.",
+                        column.key(),
+                        previous.valueType().csvName(),
+                        column.valueType().csvName()
+                    ));
+                }
+            }
+        }
+        return builders;
+    }
+
+    /**
+     * A label owns the properties that are present in every file that contains the label.
+     * Properties that are not owned by any label of a file are added to all labels of that file.
+     */
+    private Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties(
+        Map<String, NodePropertiesFromStoreBuilder> propertyBuilders
+    ) {
+        Map<NodeLabel, Set<String>> keysByLabel = new HashMap<>();
+        for (var files : nodeFiles) {
+            var keys = files.columns().stream().map(CsvFileInput.Column::key).collect(Collectors.toSet());
+            for (var label : labels(files)) {
+                keysByLabel.computeIfAbsent(label, ignore -> new LinkedHashSet<>(keys)).retainAll(keys);
+            }
+        }
+        for (var files : nodeFiles) {
+            var labels = labels(files);
+            var ownedKeys = new HashSet<String>();
+            labels.forEach(label -> ownedKeys.addAll(keysByLabel.get(label)));
+            for (var column : files.columns()) {
+                if (!ownedKeys.contains(column.key())) {
+                    labels.forEach(label -> keysByLabel.get(label).add(column.key()));
+                }
+            }
+        }
+
+        Map<String, NodeProperties> properties = new HashMap<>();
+        propertyBuilders.forEach((key, builder) -> properties.put(key, builder.build()));
+
+        Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties = new HashMap<>();
+        keysByLabel.forEach((label, keys) -> {
+            Map<PropertyMapping, NodeProperties> labelProperties = new HashMap<>();
+            for (String key : keys) {
+                var nodePropertyValues = properties.get(key);
+                labelProperties.put(
+                    PropertyMapping.of(key, nodePropertyValues.valueType().fallbackValue()),
+                    nodePropertyValues
+                );
+            }
+            nodeProperties.put(label, labelProperties);
+        });
+        return nodeProperties;
+    }
+
+    private static List<NodeLabel> labels(CsvFileInput.NodeFiles files) {
+        return files.labels().isEmpty() ? List.of(NodeLabel.ALL_NODES) : files.labels();
+    }
+
+    private final class ImportTask implements Runnable {
+
+        private final Path dataFile;
+        private final List<CsvFileInput.Column> columns;
+        private final NodePropertiesFromStoreBuilder[] columnBuilders;
+        private final long[] labelIds;
+        private final NodeImporter importer;
+        private final LongAccumulator highestNodeId;
+        private final NodesBatchBuffer buffer;
+        private final List<Value[]> rowProperties;
+
+        ImportTask(
+            Path dataFile,
+            List<CsvFileInput.Column> columns,
+            NodePropertiesFromStoreBuilder[] columnBuilders,
+            long[] labelIds,
+            NodeImporter importer,
+            LongAccumulator highestNodeId
+        ) {
+            this.dataFile = dataFile;
+            this.columns = columns;
+            this.columnBuilders = columnBuilders;
+            this.labelIds = labelIds;
+            this.importer = importer;
+            this.highestNodeId = highestNodeId;
+            this.buffer = new NodesBatchBufferBuilder()
+                .capacity(ParallelUtil.DEFAULT_BATCH_SIZE)
+                .hasLabelInformation(true)
+                .readProperty(!columns.isEmpty())
+                .build();
+            this.rowProperties = new ArrayList<>(buffer.capacity());
+        }
+
+        @Override
+        public void run() {
+            long highestId = 0L;
+            long line = 0L;
+            try (var parser = new CsvReader().parse(dataFile, StandardCharsets.UTF_8)) {
+                CsvRow row;
+                while ((row = parser.nextRow()) != null) {
+                    line++;
+                    if (row.getFieldCount() != columns.size() + 1) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Line %d of `%s` has %d fields, expected %d.",
+                            line,
+                            dataFile.getFileName(),
+                            row.getFieldCount(),
+                            columns.size() + 1
+                        ));
+                    }
+                    long nodeId;
+                    var properties = new Value[columns.size()];
+                    try {
+                        nodeId = Long.parseLong(row.getField(0));
+                        for (int i = 0; i < properties.length; i++) {
+                            properties[i] = CsvFileInput.parseValue(row.getField(i + 1), columns.get(i).valueType());
+                        }
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Line %d of `%s` could not be parsed: %s",
+                            line,
+                            dataFile.getFileName(),
+                            e.getMessage()
+                        ), e);
+                    }
+                    highestId = Math.max(highestId, nodeId);
+
+                    buffer.add(nodeId, rowProperties.size(), labelIds);
+                    rowProperties.add(properties);
+                    if (buffer.isFull()) {
+                        flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            flush();
+            highestNodeId.accumulate(highestId);
+        }
+
+        private void flush() {
+            importer.importNodes(buffer, this::readProperties);
+            progressLogger.logProgress(buffer.length());
+            buffer.reset();
+            rowProperties.clear();
+        }
+
+        private int readProperties(long nodeReference, long[] labelIds, long propertiesReference, long internalId) {
+            var properties = rowProperties.get((int) propertiesReference);
+            int importedProperties = 0;
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i] != null) {
+                    columnBuilders[i].set(internalId, properties[i]);
+                    importedProperties++;
+                }
+            }
+            return importedProperties;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.ObjectLongHashMap;
+import com.carrotsearch.hppc.ObjectLongMap;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphLoaderContext;
+import org.neo4j.graphalgo.api.GraphStoreFactory.RelationshipImportResult;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Imports the relationship files of a {@link CsvFileInput} using one task per data file.
+ * The files do not record the orientation of the exported relationships,
+ * every relationship type is imported with {@link Orientation#NATURAL}.
+ */
+final class CsvRelationshipLoader {
+
+    private static final long NO_RELATIONSHIP_REFERENCE = -1L;
+
+    private final List<CsvFileInput.RelationshipFiles> relationshipFiles;
+    private final IdMapping idMap;
+    private final GraphCreateConfig config;
+    private final GraphLoaderContext loadingContext;
+    private final ProgressLogger progressLogger;
+
+    CsvRelationshipLoader(
+        List<CsvFileInput.RelationshipFiles> relationshipFiles,
+        IdMapping idMap,
+        GraphCreateConfig config,
+        GraphLoaderContext loadingContext,
+        ProgressLogger progressLogger
+    ) {
+        this.relationshipFiles = relationshipFiles;
+        this.idMap = idMap;
+        this.config = config;
+        this.loadingContext = loadingContext;
+        this.progressLogger = progressLogger;
+    }
+
+    RelationshipImportResult load(GraphDimensions dimensions) {
+        var importSizing = ImportSizing.of(config.readConcurrency(), idMap.nodeCount());
+
+        Map<RelationshipType, RelationshipsBuilder> builders = new HashMap<>();
+        Map<RelationshipType, SingleTypeRelationshipImporter.Builder> importerBuilders = new HashMap<>();
+        var flushTasks = new ArrayList<Runnable>();
+        var tasks = new ArrayList<Runnable>();
+
+        for (var files : relationshipFiles) {
+            var relationshipType = files.relationshipType();
+            var projection = RelationshipProjection
+                .builder()
+                .type(relationshipType.name)
+                .orientation(Orientation.NATURAL)
+                .properties(PropertyMappings.of(files.columns().stream()
+                    .map(column -> PropertyMapping.of(column.key(), DefaultValue.DEFAULT, Aggregation.NONE))
+                    .collect(Collectors.toList())))
+                .build();
+
+            var builder = new RelationshipsBuilder(
+                projection,
+                config.adjacencyStorage().builderFactory(loadingContext.tracker(), config.spillDirectory()),
+                config.adjacencyStorage().offsetsFactory(loadingContext.tracker(), importSizing.pageSize(), config.spillDirectory()),
+                config.adjacencyEncoding(),
+                config.compressRelationshipProperties()
+            );
+            builders.put(relationshipType, builder);
+
+            var importerBuilder = SingleTypeRelationshipImporter.mappedIdsBuilder(
+                relationshipType,
+                projection,
+                builder,
+                importSizing,
+                loadingContext.tracker()
+            );
+            importerBuilders.put(relationshipType, importerBuilder);
+
+            var importer = importerBuilder.loadImporter(!files.columns().isEmpty());
+            importer.flushTasks().forEach(flushTasks::add);
+            for (Path dataFile : files.dataFiles()) {
+                tasks.add(new ImportTask(dataFile, files.columns().size(), importer));
+            }
+        }
+
+        ParallelUtil.runWithConcurrency(config.readConcurrency(), tasks, loadingContext.executor());
+        ParallelUtil.run(flushTasks, loadingContext.executor());
+
+        ObjectLongMap<RelationshipType> counts = new ObjectLongHashMap<>(importerBuilders.size());
+        importerBuilders.forEach((type, importerBuilder) -> counts.put(type, importerBuilder.relationshipCounter().sum()));
+
+        return RelationshipImportResult.of(builders, counts, dimensions);
+    }
+
+    private final class ImportTask implements Runnable {
+
+        private final Path dataFile;
+        private final int propertyCount;
+        private final IdMapping localIdMap;
+        private final SingleTypeRelationshipImporter importer;
+        private final RelationshipPropertiesBatchBuffer propertiesBuffer;
+        private int nextRelationshipId;
+
+        ImportTask(Path dataFile, int propertyCount, SingleTypeRelationshipImporter.Builder.WithImporter importerBuilder) {
+            this.dataFile = dataFile;
+            this.propertyCount = propertyCount;
+            this.localIdMap = idMap.cloneIdMapping();
+            int bufferSize = ParallelUtil.DEFAULT_BATCH_SIZE;
+            if (propertyCount > 1) {
+                // Multiple properties are written to a separate
+                // buffer and referenced by the relationship batch.
+                this.propertiesBuffer = new RelationshipPropertiesBatchBuffer(bufferSize, propertyCount);
+                this.importer = importerBuilder.withBuffer(localIdMap, bufferSize, propertiesBuffer);
+            } else {
+                // Single properties can be in-lined in the relationship batch
+                this.propertiesBuffer = null;
+                this.importer = importerBuilder.withBuffer(
+                    localIdMap,
+                    bufferSize,
+                    RelationshipImporter.preLoadedPropertyReader()
+                );
+            }
+        }
+
+        @Override
+        public void run() {
+            long line = 0L;
+            try (var parser = new CsvReader().parse(dataFile, StandardCharsets.UTF_8)) {
+                CsvRow row;
+                while ((row = parser.nextRow()) != null) {
+                    line++;
+                    if (row.getFieldCount() != propertyCount + 2) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Line %d of `%s` has %d fields, expected %d.",
+                            line,
+                            dataFile.getFileName(),
+                            row.getFieldCount(),
+                            propertyCount + 2
+                        ));
+                    }
+                    try {
+                        add(row, line);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Line %d of `%s` could not be parsed: %s",
+                            line,
+                            dataFile.getFileName(),
+                            e.getMessage()
+                        ), e);
+                    }
+                    if (importer.buffer().isFull()) {
+                        flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            flush();
+        }
+
+        private void add(CsvRow row, long line) {
+            long sourceId = mappedNodeId(row.getField(0), line);
+            long targetId = mappedNodeId(row.getField(1), line);
+
+            if (propertyCount == 0) {
+                importer.buffer().add(sourceId, targetId, NO_RELATIONSHIP_REFERENCE);
+            } else if (propertyCount == 1) {
+                importer.buffer().add(
+                    sourceId,
+                    targetId,
+                    NO_RELATIONSHIP_REFERENCE,
+                    Double.doubleToLongBits(property(row.getField(2)))
+                );
+            } else {
+                importer.buffer().add(sourceId, targetId, NO_RELATIONSHIP_REFERENCE, nextRelationshipId);
+                for (int propertyKeyId = 0; propertyKeyId < propertyCount; propertyKeyId++) {
+                    propertiesBuffer.add(nextRelationshipId, propertyKeyId, property(row.getField(propertyKeyId + 2)));
+                }
+                nextRelationshipId++;
+            }
+        }
+
+        private long mappedNodeId(String field, long line) {
+            long nodeId = Long.parseLong(field);
+            long mappedNodeId = localIdMap.toMappedNodeId(nodeId);
+            if (mappedNodeId == -1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Line %d of `%s` references the node %d that is not contained in the node files.",
+                    line,
+                    dataFile.getFileName(),
+                    nodeId
+                ));
+            }
+            return mappedNodeId;
+        }
+
+        private double property(String field) {
+            return field.isEmpty() ? DefaultValue.DEFAULT.doubleValue() : Double.parseDouble(field);
+        }
+
+        private void flush() {
+            importer.importRelationships();
+            progressLogger.logProgress(importer.buffer().length());
+            importer.buffer().reset();
+            nextRelationshipId = 0;
+        }
+    }
+}
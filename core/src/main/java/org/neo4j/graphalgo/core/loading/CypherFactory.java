@@ -114,7 +114,13 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
             relationshipProjection
         );
 
-        return NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections);
+        return NativeFactory.getMemoryEstimation(
+            nodeProjections,
+            relationshipProjections,
+            graphCreateConfig.adjacencyEncoding(),
+            graphCreateConfig.compressRelationshipProperties(),
+            graphCreateConfig.nodeOrdering()
+        );
     }
 
     @Override
@@ -155,16 +161,16 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
                 tx
             );
 
-            CSRGraphStore graphStore = createGraphStore(
+            ImportResult<CSRGraphStore> importResult = createGraphStore(
                 nodes.idsAndProperties(),
                 relationships,
                 loadingContext.tracker(),
                 relationships.dimensions()
             );
 
-            logLoadingSummary(graphStore, Optional.empty());
+            logLoadingSummary(importResult.graphStore(), Optional.empty());
 
-            return ImportResult.of(relationships.dimensions(), graphStore);
+            return importResult;
         });
     }
 
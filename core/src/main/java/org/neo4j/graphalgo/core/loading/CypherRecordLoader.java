@@ -31,6 +31,7 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -55,8 +56,9 @@ abstract class CypherRecordLoader<R> {
 
     protected final GraphDatabaseAPI api;
 
+    final String loadQuery;
+
     private final long recordCount;
-    private final String loadQuery;
 
     CypherRecordLoader(
         String loadQuery,
@@ -75,7 +77,7 @@ abstract class CypherRecordLoader<R> {
     final R load(Transaction transaction) {
         try {
             int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-            BatchLoadResult result = loadSingleBatch(transaction, bufferSize);
+            BatchLoadResult result = loadBatches(transaction, bufferSize);
             updateCounts(result);
             return result();
         } catch (AuthorizationViolationException ex) {
@@ -90,6 +92,14 @@ abstract class CypherRecordLoader<R> {
         int bufferSize
     );
 
+    /**
+     * Loads all records of the query. Loaders that can spread
+     * the import over multiple threads override this method.
+     */
+    BatchLoadResult loadBatches(Transaction tx, int bufferSize) {
+        return loadSingleBatch(tx, bufferSize);
+    }
+
     abstract void updateCounts(BatchLoadResult result);
 
     abstract R result();
@@ -108,7 +118,11 @@ abstract class CypherRecordLoader<R> {
     }
 
     Result runLoadingQuery(Transaction tx) {
-        Result result = runQueryWithoutClosingTheResult(tx, loadQuery, cypherConfig.parameters());
+        return runLoadingQuery(tx, loadQuery, cypherConfig.parameters());
+    }
+
+    Result runLoadingQuery(Transaction tx, String query, Map<String, Object> parameters) {
+        Result result = runQueryWithoutClosingTheResult(tx, query, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
     }
@@ -37,8 +37,8 @@ import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
@@ -52,10 +52,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.HIGH_ID_PARAMETER;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.LOW_ID_PARAMETER;
 import static org.neo4j.graphalgo.core.loading.CypherNodePropertyImporter.NO_PROPERTY_VALUE;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PRE_AGGREGATION;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.internal.kernel.api.security.AccessMode.Static.READ;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
 
 @Value.Enclosing
@@ -77,6 +83,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     private double[] propertyDefaultValues;
     private Aggregation[] aggregations;
     private boolean initializedFromResult;
+    private boolean isAnyRelTypeQuery;
 
     private GraphDimensions resultDimensions;
 
@@ -136,17 +143,120 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         resultDimensions = newDimensions;
     }
 
+    @Override
+    BatchLoadResult loadBatches(Transaction tx, int bufferSize) {
+        if (cypherConfig.relationshipBatchSize() > 0) {
+            return loadIdRangeBatches(tx, bufferSize);
+        }
+        if (cypherConfig.parallelRelationshipLoading()
+            && cypherConfig.readConcurrency() > 1
+            && ParallelUtil.canRunInParallel(loadingContext.executor())) {
+            return loadPipelined(tx, bufferSize);
+        }
+        return loadSingleBatch(tx, bufferSize);
+    }
+
     @Override
     BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
         Result queryResult = runLoadingQuery(tx);
+        initFromResult(queryResult);
+
+        RelationshipRowVisitor visitor = newVisitor(bufferSize);
+
+        queryResult.accept(visitor);
+        visitor.flushAll();
+        return new BatchLoadResult(visitor.rows(), -1L);
+    }
+
+    /**
+     * Streams the query result on the calling thread and imports
+     * the rows using {@code readConcurrency} importer threads.
+     */
+    private BatchLoadResult loadPipelined(Transaction tx, int bufferSize) {
+        Result queryResult = runLoadingQuery(tx);
+        initFromResult(queryResult);
+
+        List<RelationshipRowVisitor> visitors = IntStream
+            .range(0, cypherConfig.readConcurrency())
+            .mapToObj(ignore -> newVisitor(bufferSize))
+            .collect(Collectors.toList());
+
+        RelationshipRowPipeline pipeline = new RelationshipRowPipeline(
+            newRowReader(),
+            visitors,
+            loadingContext.executor()
+        );
+        try {
+            queryResult.accept(pipeline);
+        } finally {
+            pipeline.finish();
+        }
+        return new BatchLoadResult(pipeline.rows(), -1L);
+    }
+
+    /**
+     * Executes the query once per range of {@code relationshipBatchSize} node ids,
+     * each in its own read-only transaction and with up to {@code readConcurrency}
+     * queries running at the same time.
+     */
+    private BatchLoadResult loadIdRangeBatches(Transaction tx, int bufferSize) {
+        // All batches return the same columns, we only
+        // need to look at them once before we start.
+        try (Result explainResult = runLoadingQuery(
+            tx,
+            formatWithLocale("EXPLAIN %s", loadQuery),
+            idRangeParameters(0, 0)
+        )) {
+            initFromResult(explainResult);
+        }
+
+        long batchSize = cypherConfig.relationshipBatchSize();
+        long idUpperBound = highestNeoId() + 1;
+        SecureTransaction readOnlyTransaction = loadingContext.transaction().withRestrictedAccess(READ);
+        LongAdder rows = new LongAdder();
+
+        List<Runnable> tasks = LongStream
+            .range(0, ParallelUtil.threadCount(batchSize, idUpperBound))
+            .mapToObj(batch -> (Runnable) () -> readOnlyTransaction.accept((batchTx, ktx) -> {
+                long lowId = batch * batchSize;
+                Result queryResult = runLoadingQuery(
+                    batchTx,
+                    loadQuery,
+                    idRangeParameters(lowId, lowId + batchSize)
+                );
+                RelationshipRowVisitor visitor = newVisitor(bufferSize);
+                queryResult.accept(visitor);
+                visitor.flushAll();
+                rows.add(visitor.rows());
+            }))
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(cypherConfig.readConcurrency(), tasks, loadingContext.executor());
+
+        return new BatchLoadResult(rows.sum(), -1L);
+    }
 
-        List<String> allColumns = queryResult.columns();
+    private Map<String, Object> idRangeParameters(long lowId, long highId) {
+        Map<String, Object> parameters = new HashMap<>(cypherConfig.parameters());
+        parameters.put(LOW_ID_PARAMETER, lowId);
+        parameters.put(HIGH_ID_PARAMETER, highId);
+        return parameters;
+    }
 
+    private long highestNeoId() {
+        long highestNeoId = -1L;
+        for (long nodeId = 0; nodeId < nodeMapping.nodeCount(); nodeId++) {
+            highestNeoId = Math.max(highestNeoId, nodeMapping.toOriginalNodeId(nodeId));
+        }
+        return highestNeoId;
+    }
+
+    private void initFromResult(Result queryResult) {
         // If the user specifies property mappings, we use those.
         // Otherwise, we create new property mappings from the result columns.
         // We do that only once, as each batch has the same columns.
-        Collection<String> propertyColumns = getPropertyColumns(queryResult);
         if (!initializedFromResult) {
+            Collection<String> propertyColumns = getPropertyColumns(queryResult);
 
             List<PropertyMapping> propertyMappings = propertyColumns
                 .stream()
@@ -160,28 +270,31 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
 
             initFromPropertyMappings(PropertyMappings.of(propertyMappings));
 
+            isAnyRelTypeQuery = !queryResult.columns().contains(RelationshipRowVisitor.TYPE_COLUMN);
+            if (isAnyRelTypeQuery) {
+                loaderContext.getOrCreateImporterBuilder(ALL_RELATIONSHIPS);
+            }
+
             initializedFromResult = true;
         }
+    }
 
-        boolean isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
-
-        if (isAnyRelTypeQuery) {
-            loaderContext.getOrCreateImporterBuilder(ALL_RELATIONSHIPS);
-        }
+    private RelationshipRowReader newRowReader() {
+        return new RelationshipRowReader(
+            propertyKeyIdsByName,
+            propertyDefaultValueByName,
+            isAnyRelTypeQuery
+        );
+    }
 
-        RelationshipRowVisitor visitor = new RelationshipRowVisitor(
+    private RelationshipRowVisitor newVisitor(int bufferSize) {
+        return new RelationshipRowVisitor(
             nodeMapping,
             loaderContext,
-            propertyKeyIdsByName,
-            propertyDefaultValueByName,
+            newRowReader(),
             bufferSize,
-            isAnyRelTypeQuery,
             cypherConfig.validateRelationships()
         );
-
-        queryResult.accept(visitor);
-        visitor.flushAll();
-        return new BatchLoadResult(visitor.rows(), -1L);
     }
 
     @Override
@@ -261,8 +374,10 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
 
             RelationshipsBuilder builder = new RelationshipsBuilder(
                 projection,
-                TransientAdjacencyListBuilder.builderFactory(loadingContext.tracker()),
-                TransientAdjacencyOffsets.forPageSize(pageSize)
+                cypherConfig.adjacencyStorage().builderFactory(loadingContext.tracker(), cypherConfig.spillDirectory()),
+                cypherConfig.adjacencyStorage().offsetsFactory(loadingContext.tracker(), pageSize, cypherConfig.spillDirectory()),
+                cypherConfig.adjacencyEncoding(),
+                cypherConfig.compressRelationshipProperties()
             );
 
             allBuilders.put(relationshipType, builder);
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.FilteredNodeProperties;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Copies the nodes and relationships of a {@link NodeFilteredGraph} into a new {@link HugeGraph}.
+ * The copy addresses the filtered nodes by their filtered ids, which avoids translating
+ * node ids and filtering relationships on every access.
+ */
+final class FilteredGraphMaterializer {
+
+    private static final long NO_RELATIONSHIP_REFERENCE = -1L;
+
+    private FilteredGraphMaterializer() {}
+
+    /**
+     * Creates an id map for the filtered nodes that maps them directly to their original node ids.
+     */
+    static IdMap materializeNodes(
+        NodeMapping nodes,
+        NodeMapping filteredNodes,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = filteredNodes.nodeCount();
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        var highestNodeId = new LongAccumulator(Math::max, -1L);
+        ParallelUtil.parallelForEachNode(nodeCount, concurrency, nodeId -> {
+            long originalNodeId = nodes.toOriginalNodeId(filteredNodes.toOriginalNodeId(nodeId));
+            graphIds.set(nodeId, originalNodeId);
+            highestNodeId.accumulate(originalNodeId);
+        });
+
+        HugeSparseLongArray nodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+            nodeCount,
+            highestNodeId.get() + 1,
+            concurrency,
+            IdMapBuilder.add(graphIds),
+            tracker
+        );
+
+        // every label is copied by a single task, as the bit sets are not thread-safe
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        var tasks = new ArrayList<Runnable>();
+        for (NodeLabel nodeLabel : filteredNodes.availableNodeLabels()) {
+            BitSet bitSet = new BitSet(nodeCount);
+            labelInformation.put(nodeLabel, bitSet);
+            tasks.add(() -> filteredNodes.forEachNode(nodeId -> {
+                if (filteredNodes.hasLabel(nodeId, nodeLabel)) {
+                    bitSet.set(nodeId);
+                }
+                return true;
+            }));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        return new IdMap(graphIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+    }
+
+    /**
+     * Imports the relationships of the filtered graph into a new on-heap adjacency list
+     * and creates a graph on the materialized nodes.
+     *
+     * @param filteredGraph the graph to copy, with a relationship property if {@code maybeRelationshipProperty} is present
+     * @param nodes         the materialized nodes of the filtered graph, see {@link #materializeNodes}
+     */
+    static HugeGraph materialize(
+        NodeFilteredGraph filteredGraph,
+        IdMap nodes,
+        GraphSchema schema,
+        Map<String, NodeProperties> nodeProperties,
+        RelationshipType relationshipType,
+        Relationships.Topology topology,
+        Optional<Relationships.Properties> maybeRelationshipProperty,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = nodes.nodeCount();
+        boolean hasProperty = maybeRelationshipProperty.isPresent();
+        // the property key does not end up in the graph, the builder only needs to know the aggregation
+        var projection = RelationshipProjection
+            .builder()
+            .type(relationshipType.name)
+            .orientation(Orientation.NATURAL)
+            .properties(hasProperty
+                ? PropertyMappings.of(PropertyMapping.of("property", DefaultValue.DEFAULT, Aggregation.NONE))
+                : PropertyMappings.of())
+            .build();
+        var importSizing = ImportSizing.of(concurrency, nodeCount);
+        var builder = new RelationshipsBuilder(
+            projection,
+            AdjacencyStorage.HEAP.builderFactory(tracker, null),
+            AdjacencyStorage.HEAP.offsetsFactory(tracker, importSizing.pageSize(), null),
+            AdjacencyEncoding.VAR_LONG
+        );
+        var importer = SingleTypeRelationshipImporter
+            .mappedIdsBuilder(relationshipType, projection, builder, importSizing, tracker)
+            .loadImporter(hasProperty);
+
+        double fallbackValue = maybeRelationshipProperty
+            .map(Relationships.Properties::defaultPropertyValue)
+            .orElse(Double.NaN);
+        var relationshipCount = new LongAdder();
+        var tasks = new ArrayList<Runnable>();
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE);
+        for (long start = 0; start < nodeCount; start += batchSize) {
+            tasks.add(new CopyTask(
+                start,
+                Math.min(nodeCount, start + batchSize),
+                filteredGraph.concurrentCopy(),
+                importer.withBuffer(nodes, ParallelUtil.DEFAULT_BATCH_SIZE, RelationshipImporter.preLoadedPropertyReader()),
+                hasProperty,
+                fallbackValue,
+                relationshipCount
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        ParallelUtil.run(importer.flushTasks().collect(Collectors.toList()), Pools.DEFAULT);
+
+        long elementCount = relationshipCount.sum();
+        Relationships.Topology filteredTopology = ImmutableTopology.of(
+            builder.adjacencyList(),
+            builder.globalAdjacencyOffsets(),
+            elementCount,
+            topology.orientation(),
+            topology.isMultiGraph()
+        );
+        Optional<Relationships.Properties> filteredProperties = maybeRelationshipProperty.map(properties -> ImmutableProperties.of(
+            builder.properties(0),
+            builder.globalPropertyOffsets(0),
+            elementCount,
+            topology.orientation(),
+            topology.isMultiGraph(),
+            properties.defaultPropertyValue()
+        ));
+
+        return HugeGraph.create(
+            nodes,
+            schema,
+            nodeProperties,
+            filteredTopology,
+            filteredProperties,
+            tracker
+        );
+    }
+
+    /**
+     * Wraps the node properties of the graph store so that they are accessed by filtered node ids.
+     */
+    static Map<String, NodeProperties> filterNodeProperties(
+        Map<String, NodeProperties> nodeProperties,
+        NodeFilteredGraph filteredGraph
+    ) {
+        return nodeProperties.entrySet().stream().collect(Collectors.toMap(
+            Map.Entry::getKey,
+            entry -> new FilteredNodeProperties(entry.getValue(), filteredGraph)
+        ));
+    }
+
+    private static final class CopyTask implements Runnable {
+
+        private final long startNode;
+        private final long endNode;
+        private final NodeFilteredGraph graph;
+        private final SingleTypeRelationshipImporter importer;
+        private final boolean hasProperty;
+        private final double fallbackValue;
+        private final LongAdder relationshipCount;
+
+        CopyTask(
+            long startNode,
+            long endNode,
+            NodeFilteredGraph graph,
+            SingleTypeRelationshipImporter importer,
+            boolean hasProperty,
+            double fallbackValue,
+            LongAdder relationshipCount
+        ) {
+            this.startNode = startNode;
+            this.endNode = endNode;
+            this.graph = graph;
+            this.importer = importer;
+            this.hasProperty = hasProperty;
+            this.fallbackValue = fallbackValue;
+            this.relationshipCount = relationshipCount;
+        }
+
+        @Override
+        public void run() {
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                if (hasProperty) {
+                    graph.forEachRelationship(nodeId, fallbackValue, (source, target, property) -> {
+                        importer.buffer().add(source, target, NO_RELATIONSHIP_REFERENCE, Double.doubleToLongBits(property));
+                        onAdded();
+                        return true;
+                    });
+                } else {
+                    graph.forEachRelationship(nodeId, (source, target) -> {
+                        importer.buffer().add(source, target, NO_RELATIONSHIP_REFERENCE);
+                        onAdded();
+                        return true;
+                    });
+                }
+            }
+            flush();
+        }
+
+        private void onAdded() {
+            relationshipCount.increment();
+            if (importer.buffer().isFull()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            importer.importRelationships();
+            importer.buffer().reset();
+        }
+    }
+}
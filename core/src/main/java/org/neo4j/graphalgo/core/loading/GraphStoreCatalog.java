@@ -22,53 +22,140 @@ package org.neo4j.graphalgo.core.loading;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.config.ConcurrencyConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.utils.TimeUtil;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotReader;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotWriter;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.internal.helpers.NamedThreadFactory;
 import org.neo4j.kernel.database.NamedDatabaseId;
-
+import org.neo4j.logging.Log;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.core.StringSimilarity.prettySuggestions;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
+/**
+ * Keeps the named graphs of all users.
+ *
+ * If a memory budget is configured, the catalog spills the least recently used graphs
+ * as binary snapshots into the spill location whenever the graphs that are resident
+ * in memory exceed the budget. A spilled graph is loaded back on the next {@link #get}.
+ * The budget is enforced on a background thread, so that lookups do not measure or spill graphs.
+ */
 public final class GraphStoreCatalog {
 
+    private static final long UNKNOWN_SIZE = -1L;
+
     private static final ConcurrentHashMap<String, UserCatalog> userCatalogs = new ConcurrentHashMap<>();
 
+    // orders accesses across all users, a larger value means a more recent access
+    private static final AtomicLong accessClock = new AtomicLong();
+
+    private static volatile @Nullable SpillSettings spillSettings = null;
+
+    private static final ExecutorService spillExecutor = Executors.newSingleThreadExecutor(NamedThreadFactory.daemon("gds-catalog"));
+
+    // coalesces the enforcements that are requested while one is pending
+    private static final AtomicBoolean memoryBudgetEnforcementPending = new AtomicBoolean();
+
     private GraphStoreCatalog() { }
 
+    /**
+     * Enables spilling of the least recently used graphs once the resident graphs
+     * occupy more than {@code memoryBudget} bytes of heap. Graphs that exceed the budget already are spilled before returning.
+     */
+    public static void enableSpilling(long memoryBudget, Path spillLocation, Log log) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The catalog memory budget must be positive, got %d.",
+                memoryBudget
+            ));
+        }
+        spillSettings = ImmutableSpillSettings.of(memoryBudget, spillLocation, log);
+        enforceMemoryBudget();
+    }
+
+    /**
+     * Disables spilling, a spill that is in progress is completed before returning.
+     */
+    public static void disableSpilling() {
+        spillSettings = null;
+        awaitMemoryBudgetEnforcement();
+    }
+
+    public static boolean isSpillingEnabled() {
+        return spillSettings != null;
+    }
+
     public static GraphStoreWithConfig get(String username, NamedDatabaseId databaseId, String graphName) {
-        return getUserCatalog(username).get(UserCatalog.UserCatalogKey.of(databaseId, graphName));
+        var entry = getUserCatalog(username).get(UserCatalog.UserCatalogKey.of(databaseId, graphName));
+        var graphStoreWithConfig = entry.access();
+        scheduleMemoryBudgetEnforcement();
+        return graphStoreWithConfig;
+    }
+
+    /**
+     * Adds the graph with the number of bytes that the tracker has recorded while the graph was created.
+     * If the tracker does not track allocations, the graph is measured once it counts towards the memory budget.
+     */
+    public static void set(GraphCreateConfig config, GraphStore graphStore, AllocationTracker tracker) {
+        set(config, graphStore, AllocationTracker.isTracking(tracker) ? tracker.trackedBytes() : UNKNOWN_SIZE);
     }
 
     public static void set(GraphCreateConfig config, GraphStore graphStore) {
+        set(config, graphStore, UNKNOWN_SIZE);
+    }
+
+    private static void set(GraphCreateConfig config, GraphStore graphStore, long sizeInBytes) {
         graphStore.canRelease(false);
-        userCatalogs.compute(config.username(), (user, userCatalog) -> {
-            if (userCatalog == null) {
-                userCatalog = new UserCatalog();
+        var key = UserCatalog.UserCatalogKey.of(graphStore.databaseId(), config.graphName());
+        userCatalogs.compute(config.username(), (user, existingCatalog) -> {
+            if (existingCatalog == null) {
+                existingCatalog = new UserCatalog();
             }
-            userCatalog.set(
-                UserCatalog.UserCatalogKey.of(graphStore.databaseId(), config.graphName()),
-                config,
-                graphStore
-            );
-            return userCatalog;
+            existingCatalog.set(key, config, graphStore, sizeInBytes);
+            return existingCatalog;
         });
+        scheduleMemoryBudgetEnforcement();
     }
 
     public static boolean exists(String username, NamedDatabaseId databaseId, String graphName) {
         return getUserCatalog(username).exists(UserCatalog.UserCatalogKey.of(databaseId, graphName));
     }
 
+    /**
+     * Removes the graph and passes its description to the consumer before it is released.
+     * A spilled graph is described without loading it back into memory.
+     */
     public static void remove(
         String username,
         NamedDatabaseId databaseId,
         String graphName,
-        Consumer<GraphStoreWithConfig> removedGraphConsumer,
+        Consumer<GraphStoreCatalogEntry> removedGraphConsumer,
         boolean failOnMissing
     ) {
         getUserCatalog(username).remove(
@@ -82,7 +169,7 @@ public final class GraphStoreCatalog {
         return userCatalogs
             .values()
             .stream()
-            .mapToInt(userCatalog -> userCatalog.getGraphStores().values().size())
+            .mapToInt(userCatalog -> userCatalog.graphsByName.size())
             .sum();
     }
 
@@ -90,7 +177,7 @@ public final class GraphStoreCatalog {
         return userCatalogs
             .values()
             .stream()
-            .mapToInt(userCatalog -> userCatalog.getGraphStores(databaseId).values().size())
+            .mapToInt(userCatalog -> userCatalog.getEntries(databaseId).size())
             .sum();
     }
 
@@ -115,21 +202,353 @@ public final class GraphStoreCatalog {
     }
 
     public static void removeAllLoadedGraphs() {
+        userCatalogs.values().forEach(userCatalog -> userCatalog.graphsByName.values().forEach(CatalogEntry::deleteSnapshot));
         userCatalogs.clear();
     }
 
+    /**
+     * Returns the graph stores of the user, spilled graphs are loaded back into memory.
+     * The loaded graphs are spilled again once the returned graph stores are no longer used,
+     * use {@link #getEntries} to inspect the graphs without loading them.
+     */
     public static Map<GraphCreateConfig, GraphStore> getGraphStores(String username) {
-        return getUserCatalog(username).getGraphStores();
+        var graphStores = getUserCatalog(username).getGraphStores();
+        scheduleMemoryBudgetEnforcement();
+        return graphStores;
     }
 
+    /**
+     * Returns the graph stores of the user on the given database, spilled graphs are loaded back into memory.
+     * The loaded graphs are spilled again once the returned graph stores are no longer used.
+     */
     public static Map<GraphCreateConfig, GraphStore> getGraphStores(String username, NamedDatabaseId databaseId) {
-        return getUserCatalog(username).getGraphStores(databaseId);
+        var graphStores = getUserCatalog(username).getGraphStores(databaseId);
+        scheduleMemoryBudgetEnforcement();
+        return graphStores;
+    }
+
+    /**
+     * Describes the graphs of the user without loading spilled graphs back into memory.
+     */
+    public static List<GraphStoreCatalogEntry> getEntries(String username) {
+        return getUserCatalog(username)
+            .graphsByName
+            .values()
+            .stream()
+            .map(CatalogEntry::describe)
+            .collect(Collectors.toList());
     }
 
     private static UserCatalog getUserCatalog(String username) {
         return userCatalogs.getOrDefault(username, UserCatalog.EMPTY);
     }
 
+    private static void scheduleMemoryBudgetEnforcement() {
+        if (spillSettings != null && memoryBudgetEnforcementPending.compareAndSet(false, true)) {
+            spillExecutor.execute(() -> {
+                memoryBudgetEnforcementPending.set(false);
+                enforceMemoryBudget();
+            });
+        }
+    }
+
+    /**
+     * Waits until the memory budget enforcements that have been scheduled so far are done.
+     */
+    static void awaitMemoryBudgetEnforcement() {
+        try {
+            spillExecutor.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Spills the least recently used resident graphs until the resident graphs fit into the memory budget.
+     * The most recently accessed graph is never spilled.
+     */
+    private static synchronized void enforceMemoryBudget() {
+        var settings = spillSettings;
+        if (settings == null) {
+            return;
+        }
+
+        var residentEntries = userCatalogs
+            .values()
+            .stream()
+            .flatMap(userCatalog -> userCatalog.graphsByName.values().stream())
+            .filter(CatalogEntry::isResident)
+            .sorted(Comparator.comparingLong(entry -> entry.lastAccess))
+            .collect(Collectors.toList());
+        if (residentEntries.isEmpty()) {
+            return;
+        }
+
+        try {
+            long residentBytes = 0L;
+            long[] sizes = new long[residentEntries.size()];
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = residentEntries.get(i).residentSize();
+                residentBytes += sizes[i];
+            }
+
+            for (int i = 0; i < sizes.length - 1 && residentBytes > settings.memoryBudget(); i++) {
+                if (residentEntries.get(i).spill(settings)) {
+                    residentBytes -= sizes[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            settings.log().warn("Could not enforce the catalog memory budget.", e);
+        }
+    }
+
+    @ValueClass
+    interface SpillSettings {
+        long memoryBudget();
+
+        Path spillLocation();
+
+        Log log();
+    }
+
+    /**
+     * A graph in the catalog that is either resident in memory or spilled to disk.
+     * Spilling does not release the graph store, procedures that still use it keep working on it.
+     * While such a procedure holds on to the graph store, it is reused instead of being read from disk.
+     * If such a procedure modifies the graph store, it becomes resident again, as its snapshot is outdated.
+     */
+    static final class CatalogEntry {
+
+        private final GraphCreateConfig config;
+        private final NamedDatabaseId databaseId;
+        private final LongAdder accessCount;
+        private volatile long lastAccess;
+        private volatile ZonedDateTime lastAccessTime;
+
+        private @Nullable GraphStore graphStore;
+        private WeakReference<GraphStore> spilledGraphStore;
+        private @Nullable Path snapshot;
+        private @Nullable ZonedDateTime snapshotModificationTime;
+        private long sizeInBytes;
+        private @Nullable ZonedDateTime sizeModificationTime;
+        private @Nullable GraphStoreCatalogEntry spilledDescription;
+
+        CatalogEntry(GraphCreateConfig config, GraphStore graphStore, long sizeInBytes) {
+            this.config = config;
+            this.databaseId = graphStore.databaseId();
+            this.graphStore = graphStore;
+            this.spilledGraphStore = new WeakReference<>(null);
+            this.accessCount = new LongAdder();
+            if (sizeInBytes != UNKNOWN_SIZE) {
+                this.sizeInBytes = sizeInBytes;
+                this.sizeModificationTime = graphStore.modificationTime();
+            }
+            touch();
+            listenForModifications(graphStore);
+        }
+
+        GraphCreateConfig config() {
+            return config;
+        }
+
+        synchronized boolean isResident() {
+            return graphStore != null;
+        }
+
+        synchronized GraphStoreWithConfig access() {
+            touch();
+            accessCount.increment();
+            return GraphStoreWithConfig.of(graphStore(), config);
+        }
+
+        private void touch() {
+            lastAccess = accessClock.incrementAndGet();
+            lastAccessTime = TimeUtil.now();
+        }
+
+        synchronized GraphStore graphStore() {
+            if (graphStore == null) {
+                restore();
+            }
+            return graphStore;
+        }
+
+        synchronized GraphStoreCatalogEntry describe() {
+            if (graphStore == null) {
+                return ImmutableGraphStoreCatalogEntry
+                    .builder()
+                    .from(spilledDescription)
+                    .accessCount(accessCount.sum())
+                    .lastAccessTime(lastAccessTime)
+                    .build();
+            }
+            return describe(graphStore, GraphStoreCatalogEntry.State.RESIDENT);
+        }
+
+        private GraphStoreCatalogEntry describe(GraphStore graphStore, GraphStoreCatalogEntry.State state) {
+            GraphSchema schema = graphStore.schema();
+            return ImmutableGraphStoreCatalogEntry
+                .builder()
+                .config(config)
+                .databaseId(databaseId)
+                .state(state)
+                .graphStore(state == GraphStoreCatalogEntry.State.RESIDENT ? Optional.of(graphStore) : Optional.empty())
+                .nodeCount(graphStore.nodeCount())
+                .relationshipCount(graphStore.relationshipCount())
+                .schema(schema)
+                .modificationTime(graphStore.modificationTime())
+                .sizeInBytes(sizeInBytes)
+                .accessCount(accessCount.sum())
+                .lastAccessTime(lastAccessTime)
+                .build();
+        }
+
+        /**
+         * Returns the heap size of a resident graph, which is measured if it is unknown or the graph has been modified since.
+         * The measurement walks the whole graph, lookups of the graph do not wait for it.
+         */
+        long residentSize() {
+            GraphStore measuredGraphStore;
+            ZonedDateTime modificationTime;
+            synchronized (this) {
+                if (graphStore == null) {
+                    return 0L;
+                }
+                if (graphStore.modificationTime().equals(sizeModificationTime)) {
+                    return sizeInBytes;
+                }
+                measuredGraphStore = graphStore;
+                modificationTime = graphStore.modificationTime();
+            }
+
+            long size = Math.max(0L, MemoryUsage.sizeOf(measuredGraphStore));
+            synchronized (this) {
+                sizeInBytes = size;
+                sizeModificationTime = modificationTime;
+            }
+            return size;
+        }
+
+        synchronized boolean spill(SpillSettings settings) {
+            if (graphStore == null) {
+                return false;
+            }
+            // an unmodified graph that has been spilled before is still up to date on disk
+            if (snapshot == null || !graphStore.modificationTime().equals(snapshotModificationTime)) {
+                deleteSnapshot();
+                var directory = settings.spillLocation().resolve(UUID.randomUUID().toString());
+                ZonedDateTime modificationTime;
+                try {
+                    Files.createDirectories(directory);
+                    // the graph store cannot be modified between reading its modification time and writing it
+                    synchronized (graphStore) {
+                        modificationTime = graphStore.modificationTime();
+                        GraphSnapshotWriter
+                            .of(graphStore, config, directory, ConcurrencyConfig.DEFAULT_CONCURRENCY)
+                            .run();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    settings.log().warn(
+                        formatWithLocale("Could not spill graph `%s` to `%s`.", config.graphName(), directory),
+                        e
+                    );
+                    deleteDirectory(directory);
+                    return false;
+                }
+                snapshot = directory;
+                snapshotModificationTime = modificationTime;
+            }
+
+            spilledDescription = describe(graphStore, GraphStoreCatalogEntry.State.SPILLED);
+            spilledGraphStore = new WeakReference<>(graphStore);
+            graphStore = null;
+            return true;
+        }
+
+        private void restore() {
+            assert snapshot != null;
+            var restored = spilledGraphStore.get();
+            if (restored == null) {
+                restored = readSnapshot(GraphSnapshotReader.of(
+                    snapshot,
+                    ConcurrencyConfig.DEFAULT_CONCURRENCY,
+                    AllocationTracker.empty()
+                ));
+                listenForModifications(restored);
+            }
+            if (!restored.modificationTime().equals(snapshotModificationTime)) {
+                // the graph has been mutated by a procedure that started before it was spilled
+                deleteSnapshot();
+            }
+            restored.canRelease(false);
+            graphStore = restored;
+            spilledGraphStore = new WeakReference<>(null);
+            spilledDescription = null;
+        }
+
+        private GraphStore readSnapshot(GraphSnapshotReader reader) {
+            var graphStore = reader
+                .read(config.username(), config.graphName(), databaseId)
+                .graphStore();
+            snapshotModificationTime = graphStore.modificationTime();
+            return graphStore;
+        }
+
+        private void listenForModifications(GraphStore listenedGraphStore) {
+            listenedGraphStore.addModificationListener(() -> onModification(listenedGraphStore));
+        }
+
+        private synchronized void onModification(GraphStore modifiedGraphStore) {
+            if (graphStore == null && spilledGraphStore.get() == modifiedGraphStore) {
+                graphStore = modifiedGraphStore;
+                spilledGraphStore = new WeakReference<>(null);
+                spilledDescription = null;
+                deleteSnapshot();
+            }
+        }
+
+        /**
+         * Releases the graph and removes its snapshot.
+         * A spilled graph is described by its state at the time it was spilled.
+         */
+        synchronized void remove(Consumer<GraphStoreCatalogEntry> removedGraphConsumer) {
+            removedGraphConsumer.accept(describe());
+            var removed = graphStore;
+            if (removed == null) {
+                removed = spilledGraphStore.get();
+            }
+            if (removed != null) {
+                removed.canRelease(true);
+                removed.release();
+            }
+            graphStore = null;
+            spilledGraphStore = new WeakReference<>(null);
+            deleteSnapshot();
+        }
+
+        synchronized void deleteSnapshot() {
+            if (snapshot != null) {
+                deleteDirectory(snapshot);
+                snapshot = null;
+                snapshotModificationTime = null;
+            }
+        }
+
+        // snapshots are flat directories
+        private static void deleteDirectory(Path directory) {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(directory);
+            } catch (IOException ignore) {
+                // a leftover snapshot only occupies disk space
+            }
+        }
+    }
+
     static class UserCatalog {
 
         @ValueClass
@@ -150,17 +569,17 @@ public final class GraphStoreCatalog {
 
         private static final UserCatalog EMPTY = new UserCatalog();
 
-        private final Map<UserCatalogKey, GraphStoreWithConfig> graphsByName = new ConcurrentHashMap<>();
+        private final Map<UserCatalogKey, CatalogEntry> graphsByName = new ConcurrentHashMap<>();
 
         private final Map<UserCatalogKey, Map<String, Object>> degreeDistributionByName = new ConcurrentHashMap<>();
 
-        private void set(UserCatalogKey userCatalogKey, GraphCreateConfig config, GraphStore graphStore) {
+        private void set(UserCatalogKey userCatalogKey, GraphCreateConfig config, GraphStore graphStore, long sizeInBytes) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
             }
-            GraphStoreWithConfig graphStoreWithConfig = GraphStoreWithConfig.of(graphStore, config);
+            CatalogEntry catalogEntry = new CatalogEntry(config, graphStore, sizeInBytes);
 
-            if (graphsByName.putIfAbsent(userCatalogKey, graphStoreWithConfig) != null) {
+            if (graphsByName.putIfAbsent(userCatalogKey, catalogEntry) != null) {
                 throw new IllegalStateException(formatWithLocale(
                     "Graph name %s already loaded",
                     config.graphName()
@@ -187,15 +606,15 @@ public final class GraphStoreCatalog {
             degreeDistributionByName.remove(userCatalogKey);
         }
 
-        private GraphStoreWithConfig get(UserCatalogKey userCatalogKey) {
+        private CatalogEntry get(UserCatalogKey userCatalogKey) {
             //noinspection ConstantConditions
             return get(userCatalogKey, true);
         }
 
-        private @Nullable GraphStoreWithConfig get(UserCatalogKey userCatalogKey, boolean failOnMissing) {
-            var graphStoreWithConfig = graphsByName.get(userCatalogKey);
+        private @Nullable CatalogEntry get(UserCatalogKey userCatalogKey, boolean failOnMissing) {
+            var catalogEntry = graphsByName.get(userCatalogKey);
 
-            if (graphStoreWithConfig == null && failOnMissing) {
+            if (catalogEntry == null && failOnMissing) {
                 var graphName = userCatalogKey.graphName();
 
                 var availableGraphNames = graphsByName
@@ -211,7 +630,7 @@ public final class GraphStoreCatalog {
                 ));
             }
 
-            return graphStoreWithConfig;
+            return catalogEntry;
         }
 
         private Optional<Map<String, Object>> getDegreeDistribution(UserCatalogKey userCatalogKey) {
@@ -227,33 +646,37 @@ public final class GraphStoreCatalog {
 
         private void remove(
             UserCatalogKey userCatalogKey,
-            Consumer<GraphStoreWithConfig> removedGraphConsumer,
+            Consumer<GraphStoreCatalogEntry> removedGraphConsumer,
             boolean failOnMissing
         ) {
-            Optional.ofNullable(get(userCatalogKey, failOnMissing)).ifPresent(graphStoreWithConfig -> {
-                removedGraphConsumer.accept(graphStoreWithConfig);
-                graphStoreWithConfig.graphStore().canRelease(true);
-                graphStoreWithConfig.graphStore().release();
+            Optional.ofNullable(get(userCatalogKey, failOnMissing)).ifPresent(catalogEntry -> {
+                catalogEntry.remove(removedGraphConsumer);
                 removeDegreeDistribution(userCatalogKey);
                 graphsByName.remove(userCatalogKey);
             });
         }
 
+        private List<CatalogEntry> getEntries(NamedDatabaseId databaseId) {
+            return graphsByName.entrySet().stream()
+                .filter(entry -> entry.getKey().namedDatabaseId().equals(databaseId))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+        }
+
         private Map<GraphCreateConfig, GraphStore> getGraphStores() {
             return graphsByName.values().stream()
                 .collect(Collectors.toMap(
-                    GraphStoreWithConfig::config,
-                    GraphStoreWithConfig::graphStore
+                    CatalogEntry::config,
+                    CatalogEntry::graphStore
                     )
                 );
         }
 
         private Map<GraphCreateConfig, GraphStore> getGraphStores(NamedDatabaseId databaseId) {
-            return graphsByName.entrySet().stream()
-                .filter(entry -> entry.getKey().namedDatabaseId().equals(databaseId))
+            return getEntries(databaseId).stream()
                 .collect(Collectors.toMap(
-                    entry -> entry.getValue().config(),
-                    entry -> entry.getValue().graphStore()
+                    CatalogEntry::config,
+                    CatalogEntry::graphStore
                     )
                 );
         }
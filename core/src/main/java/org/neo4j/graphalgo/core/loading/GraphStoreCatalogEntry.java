@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Describes a graph in the {@link GraphStoreCatalog} without loading it back into memory if it has been spilled.
+ */
+@ValueClass
+public interface GraphStoreCatalogEntry {
+
+    enum State {
+        RESIDENT,
+        SPILLED
+    }
+
+    GraphCreateConfig config();
+
+    NamedDatabaseId databaseId();
+
+    State state();
+
+    /**
+     * The graph store, if it is resident in memory.
+     */
+    Optional<GraphStore> graphStore();
+
+    long nodeCount();
+
+    long relationshipCount();
+
+    GraphSchema schema();
+
+    ZonedDateTime modificationTime();
+
+    /**
+     * The heap size of the graph when it was last resident, or 0 if spilling is disabled.
+     */
+    long sizeInBytes();
+
+    long accessCount();
+
+    ZonedDateTime lastAccessTime();
+}
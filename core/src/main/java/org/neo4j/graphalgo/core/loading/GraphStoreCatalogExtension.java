@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.Config;
+import org.neo4j.graphalgo.core.Settings;
+import org.neo4j.kernel.extension.ExtensionFactory;
+import org.neo4j.kernel.extension.context.ExtensionContext;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.internal.LogService;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Applies the memory budget of the {@link GraphStoreCatalog} from the Neo4j configuration.
+ */
+@ServiceProvider
+public final class GraphStoreCatalogExtension extends ExtensionFactory<GraphStoreCatalogExtension.Dependencies> {
+
+    public GraphStoreCatalogExtension() {
+        super("gds.catalog");
+    }
+
+    @Override
+    public Lifecycle newInstance(ExtensionContext context, Dependencies dependencies) {
+        return new LifecycleAdapter() {
+            @Override
+            public void init() {
+                var config = dependencies.config();
+                long memoryBudget = config.get(Settings.catalogMemoryBudget());
+                if (memoryBudget <= 0) {
+                    return;
+                }
+
+                var log = dependencies.logService().getInternalLog(GraphStoreCatalog.class);
+                var spillLocation = config.get(Settings.catalogSpillLocation());
+                if (spillLocation == null) {
+                    log.warn(formatWithLocale(
+                        "The catalog memory budget is ignored because the configuration option '%s' is not set.",
+                        Settings.catalogSpillLocation().name()
+                    ));
+                    return;
+                }
+
+                GraphStoreCatalog.enableSpilling(memoryBudget, spillLocation, log);
+            }
+
+            @Override
+            public void shutdown() {
+                GraphStoreCatalog.disableSpilling();
+            }
+        };
+    }
+
+    interface Dependencies {
+        Config config();
+
+        LogService logService();
+    }
+}
@@ -19,8 +19,10 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
 import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BiLongConsumer;
@@ -31,7 +33,10 @@ import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
 import org.neo4j.graphalgo.core.utils.paged.SparseLongArray;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -127,8 +132,60 @@ public final class IdMapBuilder {
         return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, idMapBuilder.size(), tracker);
     }
 
+    /**
+     * Builds an id map that contains the nodes of the given node mapping followed by the appended nodes.
+     * Appended nodes are mapped to consecutive ids, starting at the node count of the given node mapping.
+     * The labels of the appended nodes are ignored if the given node mapping contains only the all nodes label.
+     */
+    public static IdMap append(
+        NodeMapping nodes,
+        long[] appendedNodeIds,
+        List<Set<NodeLabel>> appendedNodeLabels,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long baseNodeCount = nodes.nodeCount();
+        long nodeCount = baseNodeCount + appendedNodeIds.length;
+
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        graphIds.setAll(nodeId -> nodeId < baseNodeCount
+            ? nodes.toOriginalNodeId(nodeId)
+            : appendedNodeIds[(int) (nodeId - baseNodeCount)]);
+        long highestNodeId = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            highestNodeId = Math.max(highestNodeId, graphIds.get(nodeId));
+        }
+        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
+            nodeCount,
+            highestNodeId,
+            concurrency,
+            add(graphIds),
+            tracker
+        );
+
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        if (!nodes.containsOnlyAllNodesLabel()) {
+            for (NodeLabel nodeLabel : nodes.availableNodeLabels()) {
+                BitSet bitSet = new BitSet(nodeCount);
+                for (long nodeId = 0L; nodeId < baseNodeCount; nodeId++) {
+                    if (nodes.hasLabel(nodeId, nodeLabel)) {
+                        bitSet.set(nodeId);
+                    }
+                }
+                for (int i = 0; i < appendedNodeIds.length; i++) {
+                    if (appendedNodeLabels.get(i).contains(nodeLabel)) {
+                        bitSet.set(baseNodeCount + i);
+                    }
+                }
+                labelInformation.put(nodeLabel, bitSet);
+            }
+        }
+
+        return new IdMap(graphIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+    }
+
     @NotNull
-    static HugeSparseLongArray buildSparseNodeMapping(
+    public static HugeSparseLongArray buildSparseNodeMapping(
         long nodeCount,
         long highestNodeId,
         int concurrency,
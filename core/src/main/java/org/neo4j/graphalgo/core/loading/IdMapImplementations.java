@@ -20,6 +20,9 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 public final class IdMapImplementations {
@@ -28,6 +31,32 @@ public final class IdMapImplementations {
         return GdsEdition.instance().isOnEnterpriseEdition() && GdsFeatureToggles.USE_BIT_ID_MAP.isEnabled();
     }
 
+    /**
+     * The {@link BitIdMap} needs about one bit per possible Neo4j id, independent of the number of nodes,
+     * while the {@link IdMap} needs at least two longs per node.
+     * The bit id map is only used if the original ids are dense enough for it to need less memory.
+     */
+    public static boolean useBitIdMap(GraphDimensions dimensions) {
+        if (!useBitIdMap()) {
+            return false;
+        }
+        long bitIdMapBytes = BitIdMap.memoryEstimation().estimate(dimensions, 1).memoryUsage().max;
+        long idMapBytes = IdMap.memoryEstimation().estimate(dimensions, 1).memoryUsage().min;
+        return bitIdMapBytes < idMapBytes;
+    }
+
+    /**
+     * Estimates the id map that {@link #useBitIdMap(GraphDimensions)} chooses for the given dimensions.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.setup(
+            "id map",
+            (GraphDimensions dimensions) -> useBitIdMap(dimensions)
+                ? BitIdMap.memoryEstimation()
+                : IdMap.memoryEstimation()
+        );
+    }
+
     public static NodeMappingBuilder<InternalBitIdMappingBuilder> bitIdMapBuilder() {
         return (idMapBuilder, labelInformation, graphDimensions, concurrency, tracker) -> IdMapBuilder.build(
             idMapBuilder,
@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.ObjectLongMap;
 import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.NodeProjections;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.CSRGraphStoreFactory;
@@ -30,6 +31,7 @@ import org.neo4j.graphalgo.api.GraphLoaderContext;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphDimensionsStoreReader;
+import org.neo4j.graphalgo.core.huge.CompressedPropertyList;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
@@ -41,6 +43,8 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.progress.EmptyProgressEventTracker;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -74,50 +78,106 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
 
     @Override
     public MemoryEstimation memoryEstimation() {
-        return getMemoryEstimation(storeConfig.nodeProjections(), storeConfig.relationshipProjections());
+        return getMemoryEstimation(
+            storeConfig.nodeProjections(),
+            storeConfig.relationshipProjections(),
+            storeConfig.adjacencyEncoding(),
+            storeConfig.compressRelationshipProperties(),
+            storeConfig.nodeOrdering()
+        );
     }
 
     public static MemoryEstimation getMemoryEstimation(
         NodeProjections nodeProjections,
         RelationshipProjections relationshipProjections
+    ) {
+        return getMemoryEstimation(
+            nodeProjections,
+            relationshipProjections,
+            AdjacencyEncoding.VAR_LONG,
+            false,
+            NodeOrdering.NONE
+        );
+    }
+
+    public static MemoryEstimation getMemoryEstimation(
+        NodeProjections nodeProjections,
+        RelationshipProjections relationshipProjections,
+        AdjacencyEncoding adjacencyEncoding,
+        boolean compressRelationshipProperties,
+        NodeOrdering nodeOrdering
     ) {
         MemoryEstimations.Builder builder = MemoryEstimations.builder(HugeGraph.class);
 
         // node information
-        builder.add("nodeIdMap", IdMap.memoryEstimation());
+        builder.add("nodeIdMap", IdMapImplementations.memoryEstimation());
 
         // nodeProperties
         nodeProjections.allProperties()
             .forEach(property -> builder.add(property, NodePropertiesFromStoreBuilder.memoryEstimation()));
 
         // relationships
-        relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> {
+        relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> addRelationships(
+            builder,
+            relationshipType,
+            relationshipProjection,
+            adjacencyEncoding,
+            compressRelationshipProperties
+        ));
 
-            boolean undirected = relationshipProjection.orientation() == Orientation.UNDIRECTED;
+        if (nodeOrdering != NodeOrdering.NONE) {
+            List<MemoryEstimation> relabeledRelationships = new ArrayList<>();
+            relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> {
+                MemoryEstimations.Builder relationshipsBuilder = MemoryEstimations.builder(relationshipType.name);
+                addRelationships(
+                    relationshipsBuilder,
+                    relationshipType,
+                    relationshipProjection,
+                    adjacencyEncoding,
+                    compressRelationshipProperties
+                );
+                relabeledRelationships.add(relationshipsBuilder.build());
+            });
+            builder.add(
+                "node reordering",
+                NodeReordering.memoryEstimation(nodeProjections.allProperties(), relabeledRelationships)
+            );
+        }
 
-            // adjacency list
+        return builder.build();
+    }
+
+    private static void addRelationships(
+        MemoryEstimations.Builder builder,
+        RelationshipType relationshipType,
+        RelationshipProjection relationshipProjection,
+        AdjacencyEncoding adjacencyEncoding,
+        boolean compressRelationshipProperties
+    ) {
+        boolean undirected = relationshipProjection.orientation() == Orientation.UNDIRECTED;
+
+        // adjacency list
+        builder.add(
+            formatWithLocale("adjacency list for '%s'", relationshipType),
+            adjacencyEncoding.memoryEstimation(relationshipType, undirected)
+        );
+        builder.add(
+            formatWithLocale("adjacency offsets for '%s'", relationshipType),
+            TransientAdjacencyOffsets.memoryEstimation()
+        );
+        // all properties per projection
+        relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
             builder.add(
-                formatWithLocale("adjacency list for '%s'", relationshipType),
-                TransientAdjacencyList.compressedMemoryEstimation(relationshipType, undirected)
+                formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
+                compressRelationshipProperties
+                    ? CompressedPropertyList.memoryEstimation(relationshipType, undirected)
+                    : TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
             );
             builder.add(
-                formatWithLocale("adjacency offsets for '%s'", relationshipType),
+                formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
                 TransientAdjacencyOffsets.memoryEstimation()
             );
-            // all properties per projection
-            relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
-                builder.add(
-                    formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
-                );
-                builder.add(
-                    formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyOffsets.memoryEstimation()
-                );
-            });
         });
-
-        return builder.build();
     }
 
     @Override
@@ -155,11 +215,11 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
         AllocationTracker tracker = loadingContext.tracker();
         IdsAndProperties nodes = loadNodes(concurrency);
         RelationshipImportResult relationships = loadRelationships(tracker, nodes, concurrency);
-        CSRGraphStore graphStore = createGraphStore(nodes, relationships, tracker, dimensions);
+        ImportResult<CSRGraphStore> importResult = createGraphStore(nodes, relationships, tracker, dimensions);
 
-        logLoadingSummary(graphStore, Optional.of(tracker));
+        logLoadingSummary(importResult.graphStore(), Optional.of(tracker));
 
-        return ImportResult.of(dimensions, graphStore);
+        return importResult;
     }
 
     private IdsAndProperties loadNodes(int concurrency) {
@@ -169,7 +229,7 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             loadingContext.transaction()
         );
 
-        var scanningNodesImporter = IdMapImplementations.useBitIdMap()
+        var scanningNodesImporter = IdMapImplementations.useBitIdMap(dimensions)
             ? new ScanningNodesImporter<>(graphCreateConfig, loadingContext, dimensions, progressLogger, concurrency, properties, bitIdMappingBuilderFactory(), IdMapImplementations.bitIdMapBuilder())
             : new ScanningNodesImporter<>(graphCreateConfig, loadingContext, dimensions, progressLogger, concurrency, properties, hugeIdMappingBuilderFactory(), IdMapImplementations.hugeIdMapBuilder());
 
@@ -201,8 +261,10 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
                 Map.Entry::getKey,
                 projectionEntry -> new RelationshipsBuilder(
                     projectionEntry.getValue(),
-                    TransientAdjacencyListBuilder.builderFactory(tracker),
-                    TransientAdjacencyOffsets.forPageSize(pageSize)
+                    graphCreateConfig.adjacencyStorage().builderFactory(tracker, graphCreateConfig.spillDirectory()),
+                    graphCreateConfig.adjacencyStorage().offsetsFactory(tracker, pageSize, graphCreateConfig.spillDirectory()),
+                    graphCreateConfig.adjacencyEncoding(),
+                    graphCreateConfig.compressRelationshipProperties()
                 )
             ));
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines how the nodes of a projected graph are relabeled after the import.
+ *
+ * @see NodeReordering
+ */
+public enum NodeOrdering {
+
+    /**
+     * Nodes keep the order in which they were imported.
+     */
+    NONE,
+    /**
+     * Nodes are sorted by descending degree, which places the hubs of the graph next to each other.
+     */
+    DEGREE,
+    /**
+     * Nodes are numbered in breadth-first order, visiting the neighbours of each node by ascending degree.
+     */
+    CUTHILL_MCKEE;
+
+    public static NodeOrdering of(String value) {
+        try {
+            return NodeOrdering.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableOrderings = Arrays
+                .stream(NodeOrdering.values())
+                .map(NodeOrdering::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node ordering `%s` is not supported. Must be one of: %s.",
+                value,
+                availableOrderings
+            ));
+        }
+    }
+
+    public static NodeOrdering parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof NodeOrdering) {
+            return (NodeOrdering) object;
+        }
+        return null;
+    }
+
+    public static String toString(NodeOrdering ordering) {
+        return ordering.name();
+    }
+}
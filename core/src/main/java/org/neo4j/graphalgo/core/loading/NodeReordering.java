@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.NodePropertyStore;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.api.RelationshipProperty;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.BATCH_ENTRY_SHIFT_SIZE;
+import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.BATCH_ENTRY_SIZE;
+import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.RELATIONSHIP_REFERENCE_OFFSET;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
+
+/**
+ * Relabels the nodes of a projected graph, such that adjacent nodes receive nearby ids.
+ * This shrinks the deltas between the targets of an adjacency list and improves the cache hit rate of traversals.
+ * The original node ids remain available through {@link NodeMapping#toOriginalNodeId(long)}.
+ */
+public final class NodeReordering {
+
+    // marks relationship properties that are passed along with the batch
+    private static final int PRELOADED_PROPERTY_KEY = -2;
+
+    private final GraphCreateConfig config;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+    // both are null if the node ids are kept
+    private final @Nullable HugeLongArray newToOld;
+    private final @Nullable HugeLongArray oldToNew;
+    private final IdMap nodes;
+    private final List<RelationshipsBuilder> relationshipsBuilders = new ArrayList<>();
+
+    public static NodeReordering of(
+        GraphCreateConfig config,
+        NodeMapping nodes,
+        Collection<Relationships.Topology> topologies,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = nodes.nodeCount();
+        HugeIntArray degrees = degrees(nodeCount, topologies, config.readConcurrency(), tracker);
+        HugeLongArray newToOld;
+        switch (config.nodeOrdering()) {
+            case DEGREE:
+                newToOld = byDescendingDegree(degrees, tracker);
+                break;
+            case CUTHILL_MCKEE:
+                newToOld = cuthillMcKee(degrees, topologies, tracker);
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Cannot reorder nodes with node ordering %s.",
+                    config.nodeOrdering()
+                ));
+        }
+        degrees.release();
+
+        HugeLongArray oldToNew = HugeLongArray.newArray(nodeCount, tracker);
+        for (long newId = 0; newId < nodeCount; newId++) {
+            oldToNew.set(newToOld.get(newId), newId);
+        }
+        return new NodeReordering(config, tracker, nodes, newToOld, oldToNew);
+    }
+
+    /**
+     * Estimates the memory that reordering needs on top of the imported graph.
+     * The relabeled id map, node properties and permutations exist next to the original ones,
+     * while the relationships are copied one type at a time.
+     *
+     * @param relationshipTypes the estimations of the adjacency lists and relationship properties of each type
+     */
+    public static MemoryEstimation memoryEstimation(
+        Collection<String> nodeProperties,
+        Collection<MemoryEstimation> relationshipTypes
+    ) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeReordering.class)
+            .perNode("new to old node ids", HugeLongArray::memoryEstimation)
+            .perNode("old to new node ids", HugeLongArray::memoryEstimation)
+            .add("relabeled nodeIdMap", IdMapImplementations.memoryEstimation());
+        nodeProperties.forEach(property -> builder.add(
+            formatWithLocale("relabeled %s", property),
+            NodePropertiesFromStoreBuilder.memoryEstimation()
+        ));
+        builder.add(MemoryEstimations.setup(
+            "largest relabeled relationship type",
+            (dimensions, concurrency) -> relationshipTypes
+                .stream()
+                .max(Comparator.comparingLong(estimation -> estimation
+                    .estimate(dimensions, concurrency)
+                    .memoryUsage().max))
+                .orElse(MemoryEstimations.empty())
+        ));
+        return builder.build();
+    }
+
+    /**
+     * Rebuilds the adjacency lists and relationship properties of every relationship type
+     * in the adjacency storage and encoding of the config, without relabeling the nodes.
+     */
+    public static void reencode(
+        GraphCreateConfig config,
+        IdMap nodes,
+        Map<RelationshipType, Relationships.Topology> topologies,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipPropertyStores,
+        AllocationTracker tracker
+    ) {
+        new NodeReordering(config, tracker, nodes).relabel(topologies, relationshipPropertyStores);
+    }
+
+    private NodeReordering(
+        GraphCreateConfig config,
+        AllocationTracker tracker,
+        NodeMapping nodes,
+        HugeLongArray newToOld,
+        HugeLongArray oldToNew
+    ) {
+        this.config = config;
+        this.tracker = tracker;
+        this.nodeCount = nodes.nodeCount();
+        this.newToOld = newToOld;
+        this.oldToNew = oldToNew;
+        this.nodes = relabel(nodes);
+    }
+
+    private NodeReordering(GraphCreateConfig config, AllocationTracker tracker, IdMap nodes) {
+        this.config = config;
+        this.tracker = tracker;
+        this.nodeCount = nodes.nodeCount();
+        this.newToOld = null;
+        this.oldToNew = null;
+        this.nodes = nodes;
+    }
+
+    public NodeMapping nodes() {
+        return nodes;
+    }
+
+    /**
+     * The builders of the relabeled relationship types, they report the compressed size of the relabeled adjacency lists.
+     */
+    public List<RelationshipsBuilder> relationshipsBuilders() {
+        return relationshipsBuilders;
+    }
+
+    public Map<NodeLabel, NodePropertyStore> relabel(Map<NodeLabel, NodePropertyStore> nodePropertyStores) {
+        Map<NodeLabel, NodePropertyStore> relabeledStores = new HashMap<>(nodePropertyStores.size());
+        nodePropertyStores.forEach((nodeLabel, propertyStore) -> {
+            NodePropertyStore.Builder builder = NodePropertyStore.builder();
+            propertyStore.nodeProperties().forEach((propertyKey, nodeProperty) -> builder.putNodeProperty(
+                propertyKey,
+                NodeProperty.of(
+                    propertyKey,
+                    nodeProperty.propertyState(),
+                    relabel(nodeProperty.values(), nodeProperty.defaultValue()),
+                    nodeProperty.defaultValue()
+                )
+            ));
+            relabeledStores.put(nodeLabel, builder.build());
+        });
+        return relabeledStores;
+    }
+
+    /**
+     * Replaces the adjacency lists and relationship properties of every relationship type
+     * with relabeled copies and releases the original ones.
+     */
+    public void relabel(
+        Map<RelationshipType, Relationships.Topology> topologies,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipPropertyStores
+    ) {
+        topologies.replaceAll((relationshipType, topology) -> relabel(
+            relationshipType,
+            topology,
+            relationshipPropertyStores
+        ));
+    }
+
+    private IdMap relabel(NodeMapping nodes) {
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        long highestNodeId = 0L;
+        for (long newId = 0; newId < nodeCount; newId++) {
+            long originalId = nodes.toOriginalNodeId(newToOld.get(newId));
+            graphIds.set(newId, originalId);
+            highestNodeId = Math.max(highestNodeId, originalId);
+        }
+        HugeSparseLongArray nodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+            nodeCount,
+            highestNodeId,
+            config.readConcurrency(),
+            IdMapBuilder.add(graphIds),
+            tracker
+        );
+
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        if (!nodes.availableNodeLabels().equals(Set.of(NodeLabel.ALL_NODES))) {
+            for (NodeLabel nodeLabel : nodes.availableNodeLabels()) {
+                BitSet bitSet = new BitSet(nodeCount);
+                for (long newId = 0; newId < nodeCount; newId++) {
+                    if (nodes.hasLabel(newToOld.get(newId), nodeLabel)) {
+                        bitSet.set(newId);
+                    }
+                }
+                labelInformation.put(nodeLabel, bitSet);
+            }
+        }
+
+        return new IdMap(graphIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+    }
+
+    private NodeProperties relabel(NodeProperties properties, DefaultValue defaultValue) {
+        NodePropertiesFromStoreBuilder builder = NodePropertiesFromStoreBuilder.of(nodeCount, tracker, defaultValue);
+        ParallelUtil.readParallel(config.readConcurrency(), nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long newId = start; newId < end; newId++) {
+                builder.set(newId, properties.value(newToOld.get(newId)));
+            }
+        });
+        return builder.build();
+    }
+
+    private Relationships.Topology relabel(
+        RelationshipType relationshipType,
+        Relationships.Topology topology,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipPropertyStores
+    ) {
+        RelationshipPropertyStore propertyStore = relationshipPropertyStores.get(relationshipType);
+        List<RelationshipProperty> properties = propertyStore == null
+            ? List.of()
+            : new ArrayList<>(propertyStore.values());
+        int propertyCount = properties.size();
+
+        // the adjacency lists are copied as they are stored, hence no further aggregation or inverse relationships
+        var projectionBuilder = RelationshipProjection
+            .builder()
+            .type(relationshipType.name)
+            .orientation(Orientation.NATURAL);
+        properties.forEach(property -> projectionBuilder.addProperty(
+            property.key(),
+            property.key(),
+            DefaultValue.DEFAULT,
+            Aggregation.NONE
+        ));
+
+        ImportSizing importSizing = ImportSizing.of(config.readConcurrency(), nodeCount);
+        RelationshipsBuilder relationshipsBuilder = new RelationshipsBuilder(
+            projectionBuilder.build(),
+            config.adjacencyStorage().builderFactory(tracker, config.spillDirectory()),
+            config.adjacencyStorage().offsetsFactory(tracker, importSizing.pageSize(), config.spillDirectory()),
+            config.adjacencyEncoding(),
+            config.compressRelationshipProperties()
+        );
+        relationshipsBuilders.add(relationshipsBuilder);
+
+        int[] propertyKeyIds = new int[propertyCount];
+        Arrays.fill(propertyKeyIds, PRELOADED_PROPERTY_KEY);
+        double[] defaultValues = new double[propertyCount];
+        Arrays.fill(defaultValues, Double.NaN);
+        Aggregation[] aggregations = new Aggregation[Math.max(1, propertyCount)];
+        Arrays.fill(aggregations, Aggregation.NONE);
+
+        AdjacencyBuilder adjacencyBuilder = AdjacencyBuilder.compressing(
+            relationshipsBuilder,
+            importSizing.numberOfPages(),
+            importSizing.pageSize(),
+            tracker,
+            new LongAdder(),
+            propertyKeyIds,
+            defaultValues,
+            aggregations,
+            false
+        );
+        RelationshipImporter relationshipImporter = new RelationshipImporter(tracker, adjacencyBuilder);
+        RelationshipImporter.Imports imports = relationshipImporter.imports(Orientation.NATURAL, propertyCount > 0);
+
+        ParallelUtil.readParallel(
+            config.readConcurrency(),
+            nodeCount,
+            Pools.DEFAULT,
+            (start, end) -> relabelRelationships(start, end, topology, properties, imports)
+        );
+        ParallelUtil.runWithConcurrency(config.readConcurrency(), relationshipImporter.flushTasks(), Pools.DEFAULT);
+
+        topology.list().close();
+        topology.offsets().close();
+
+        if (propertyStore != null) {
+            RelationshipPropertyStore.Builder propertyStoreBuilder = RelationshipPropertyStore.builder();
+            for (int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+                RelationshipProperty property = properties.get(propertyIndex);
+                Relationships.Properties values = property.values();
+                propertyStoreBuilder.putIfAbsent(
+                    property.key(),
+                    ImmutableRelationshipProperty.of(
+                        ImmutableProperties.of(
+                            relationshipsBuilder.properties(propertyIndex),
+                            relationshipsBuilder.globalPropertyOffsets(propertyIndex),
+                            values.elementCount(),
+                            values.orientation(),
+                            values.isMultiGraph(),
+                            values.defaultPropertyValue()
+                        ),
+                        property.propertySchema()
+                    )
+                );
+                values.list().close();
+                values.offsets().close();
+            }
+            relationshipPropertyStores.put(relationshipType, propertyStoreBuilder.build());
+        }
+
+        return ImmutableTopology.of(
+            relationshipsBuilder.adjacencyList(),
+            relationshipsBuilder.globalAdjacencyOffsets(),
+            topology.elementCount(),
+            topology.orientation(),
+            topology.isMultiGraph()
+        );
+    }
+
+    private void relabelRelationships(
+        long start,
+        long end,
+        Relationships.Topology topology,
+        List<RelationshipProperty> properties,
+        RelationshipImporter.Imports imports
+    ) {
+        int propertyCount = properties.size();
+        RelationshipsBatchBuffer buffer = new RelationshipsBatchBuffer(
+            nodes,
+            NO_SUCH_RELATIONSHIP_TYPE,
+            ParallelUtil.DEFAULT_BATCH_SIZE
+        );
+        // the relationship reference of each buffered relationship is its index in this array
+        long[][] propertyValues = new long[propertyCount][ParallelUtil.DEFAULT_BATCH_SIZE];
+        RelationshipImporter.PropertyReader propertyReader = propertyCount == 0
+            ? null
+            : (batch, batchLength, propertyKeyIds, defaultValues, aggregations, atLeastOnePropertyToLoad) -> {
+                long[][] values = new long[propertyCount][batchLength >>> BATCH_ENTRY_SHIFT_SIZE];
+                for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
+                    int index = (int) batch[RELATIONSHIP_REFERENCE_OFFSET + i];
+                    for (int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+                        values[propertyIndex][i >>> BATCH_ENTRY_SHIFT_SIZE] = propertyValues[propertyIndex][index];
+                    }
+                }
+                return values;
+            };
+
+        AdjacencyCursor adjacencyCursor = topology.list().rawDecompressingCursor();
+        PropertyCursor[] propertyCursors = new PropertyCursor[propertyCount];
+        Arrays.setAll(propertyCursors, i -> properties.get(i).values().list().rawCursor());
+
+        for (long newSource = start; newSource < end; newSource++) {
+            long oldSource = newToOld == null ? newSource : newToOld.get(newSource);
+            long offset = topology.offsets().get(oldSource);
+            if (offset == 0L) {
+                continue;
+            }
+            adjacencyCursor.init(offset);
+            for (int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+                long propertyOffset = properties.get(propertyIndex).values().offsets().get(oldSource);
+                propertyCursors[propertyIndex].init(propertyOffset);
+            }
+            while (adjacencyCursor.hasNextVLong()) {
+                int index = buffer.length() >>> BATCH_ENTRY_SHIFT_SIZE;
+                for (int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+                    propertyValues[propertyIndex][index] = propertyCursors[propertyIndex].nextLong();
+                }
+                long oldTarget = adjacencyCursor.nextVLong();
+                buffer.add(newSource, oldToNew == null ? oldTarget : oldToNew.get(oldTarget), index);
+                if (buffer.isFull()) {
+                    imports.importRelationships(buffer, propertyReader);
+                    buffer.reset();
+                }
+            }
+        }
+        if (buffer.length() > 0) {
+            imports.importRelationships(buffer, propertyReader);
+        }
+    }
+
+    private static HugeIntArray degrees(
+        long nodeCount,
+        Collection<Relationships.Topology> topologies,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        HugeIntArray degrees = HugeIntArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long degree = 0L;
+                for (Relationships.Topology topology : topologies) {
+                    long offset = topology.offsets().get(nodeId);
+                    if (offset != 0L) {
+                        degree += topology.list().degree(offset);
+                    }
+                }
+                degrees.set(nodeId, (int) Math.min(degree, Integer.MAX_VALUE));
+            }
+        });
+        return degrees;
+    }
+
+    /**
+     * Counting sort of all nodes by descending degree. Nodes with the same degree keep their relative order.
+     */
+    private static HugeLongArray byDescendingDegree(HugeIntArray degrees, AllocationTracker tracker) {
+        long nodeCount = degrees.size();
+        int maxDegree = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            maxDegree = Math.max(maxDegree, degrees.get(nodeId));
+        }
+        long[] degreeOffsets = new long[maxDegree + 1];
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            degreeOffsets[degrees.get(nodeId)]++;
+        }
+        long offset = 0L;
+        for (int degree = maxDegree; degree >= 0; degree--) {
+            long count = degreeOffsets[degree];
+            degreeOffsets[degree] = offset;
+            offset += count;
+        }
+        HugeLongArray order = HugeLongArray.newArray(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            order.set(degreeOffsets[degrees.get(nodeId)]++, nodeId);
+        }
+        return order;
+    }
+
+    /**
+     * Breadth-first numbering that starts every component at its node with the lowest degree
+     * and visits the unvisited neighbours of a node by ascending degree.
+     */
+    private static HugeLongArray cuthillMcKee(
+        HugeIntArray degrees,
+        Collection<Relationships.Topology> topologies,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = degrees.size();
+        HugeLongArray byDescendingDegree = byDescendingDegree(degrees, tracker);
+        // the order doubles as the queue of the breadth-first search
+        HugeLongArray order = HugeLongArray.newArray(nodeCount, tracker);
+        BitSet visited = new BitSet(nodeCount);
+        AdjacencyCursor[] cursors = topologies
+            .stream()
+            .map(topology -> topology.list().rawDecompressingCursor())
+            .toArray(AdjacencyCursor[]::new);
+        Relationships.Topology[] topologyArray = topologies.toArray(Relationships.Topology[]::new);
+
+        long[] neighbours = new long[64];
+        long head = 0L;
+        long tail = 0L;
+        for (long candidate = nodeCount - 1; candidate >= 0; candidate--) {
+            long startNode = byDescendingDegree.get(candidate);
+            if (visited.get(startNode)) {
+                continue;
+            }
+            visited.set(startNode);
+            order.set(tail++, startNode);
+
+            while (head < tail) {
+                long nodeId = order.get(head++);
+                int neighbourCount = 0;
+                for (int i = 0; i < topologyArray.length; i++) {
+                    long offset = topologyArray[i].offsets().get(nodeId);
+                    if (offset == 0L) {
+                        continue;
+                    }
+                    AdjacencyCursor cursor = cursors[i];
+                    cursor.init(offset);
+                    while (cursor.hasNextVLong()) {
+                        long neighbour = cursor.nextVLong();
+                        if (!visited.getAndSet(neighbour)) {
+                            if (neighbourCount == neighbours.length) {
+                                neighbours = Arrays.copyOf(neighbours, neighbourCount * 2);
+                            }
+                            neighbours[neighbourCount++] = neighbour;
+                        }
+                    }
+                }
+                long[] candidates = neighbours;
+                int[] byDegree = IndirectSort.mergesort(
+                    0,
+                    neighbourCount,
+                    (a, b) -> Integer.compare(degrees.get(candidates[a]), degrees.get(candidates[b]))
+                );
+                for (int index : byDegree) {
+                    order.set(tail++, candidates[index]);
+                }
+            }
+        }
+        byDescendingDegree.release();
+        return order;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses the relationship properties of a single node.
+ *
+ * For each node, the encoding that results in the fewest bytes is chosen
+ * out of {@link Encoding}. The first byte of a compressed run identifies
+ * the encoding, the payload follows. All encodings are lossless.
+ *
+ * Instances keep scratch state between {@link #compressedSize(long[], int)}
+ * and {@link #compress(long[], int, byte[], int)} and must not be shared
+ * between threads.
+ */
+public final class PropertyCompression {
+
+    public static final int MAX_DICTIONARY_SIZE = 256;
+
+    enum Encoding {
+        /**
+         * Eight bytes per value.
+         */
+        RAW,
+        /**
+         * Four bytes per value, only applicable if all values can be
+         * represented as {@code float} without losing precision.
+         */
+        FLOAT,
+        /**
+         * Each value is XOR-ed with its predecessor. The bit-reversed
+         * result is written as a variable-length long, so that values
+         * sharing sign, exponent and leading significand bits take
+         * only a few bytes.
+         */
+        XOR_DELTA,
+        /**
+         * Up to {@link #MAX_DICTIONARY_SIZE} distinct values are stored once,
+         * followed by bit-packed indices into that dictionary.
+         */
+        DICTIONARY;
+
+        private static final Encoding[] VALUES = values();
+    }
+
+    private final LongIntHashMap dictionaryIndices;
+    private long[] dictionary;
+    private int dictionarySize;
+    private Encoding encoding;
+
+    public PropertyCompression() {
+        this.dictionaryIndices = new LongIntHashMap();
+        this.dictionary = new long[MAX_DICTIONARY_SIZE];
+    }
+
+    /**
+     * Chooses the encoding for the given values and
+     * returns the number of bytes the compressed run takes.
+     */
+    public int compressedSize(long[] values, int length) {
+        encoding = Encoding.RAW;
+        int bestSize = length * Long.BYTES;
+
+        if (allFloats(values, length)) {
+            encoding = Encoding.FLOAT;
+            bestSize = length * Float.BYTES;
+        }
+
+        int dictionarySize = dictionarySize(values, length);
+        if (dictionarySize < bestSize) {
+            encoding = Encoding.DICTIONARY;
+            bestSize = dictionarySize;
+        }
+
+        int xorDeltaSize = xorDeltaSize(values, length);
+        if (xorDeltaSize < bestSize) {
+            encoding = Encoding.XOR_DELTA;
+            bestSize = xorDeltaSize;
+        }
+
+        return 1 + bestSize;
+    }
+
+    /**
+     * Writes the values with the encoding that has been chosen
+     * by the previous call to {@link #compressedSize(long[], int)}.
+     *
+     * @return the position after the last written byte
+     */
+    public int compress(long[] values, int length, byte[] out, int offset) {
+        assert encoding != null : "compressedSize must be called before compress";
+        out[offset++] = (byte) encoding.ordinal();
+        switch (encoding) {
+            case RAW:
+                for (int i = 0; i < length; i++) {
+                    offset = writeLong(values[i], out, offset);
+                }
+                break;
+            case FLOAT:
+                for (int i = 0; i < length; i++) {
+                    offset = writeInt(Float.floatToRawIntBits((float) Double.longBitsToDouble(values[i])), out, offset);
+                }
+                break;
+            case XOR_DELTA:
+                long previous = 0L;
+                for (int i = 0; i < length; i++) {
+                    offset = writeVLong(Long.reverse(values[i] ^ previous), out, offset);
+                    previous = values[i];
+                }
+                break;
+            case DICTIONARY:
+                offset = writeDictionary(values, length, out, offset);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected encoding: " + encoding);
+        }
+        encoding = null;
+        return offset;
+    }
+
+    /**
+     * Decompresses {@code length} values starting at {@code offset} into {@code out}.
+     */
+    public static void decompress(byte[] data, int offset, int length, long[] out) {
+        var encoding = Encoding.VALUES[data[offset++]];
+        switch (encoding) {
+            case RAW:
+                for (int i = 0; i < length; i++, offset += Long.BYTES) {
+                    out[i] = readLong(data, offset);
+                }
+                break;
+            case FLOAT:
+                for (int i = 0; i < length; i++, offset += Float.BYTES) {
+                    out[i] = Double.doubleToRawLongBits(Float.intBitsToFloat(readInt(data, offset)));
+                }
+                break;
+            case XOR_DELTA:
+                long previous = 0L;
+                for (int i = 0; i < length; i++) {
+                    long value = 0L;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data[offset++];
+                        value |= (b & 0x7FL) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    previous ^= Long.reverse(value);
+                    out[i] = previous;
+                }
+                break;
+            case DICTIONARY:
+                readDictionary(data, offset, length, out);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Decompresses {@code length} values starting at {@code offset} of a little endian {@code data} buffer
+     * into {@code out}. Only absolute reads are used, so the buffer may be shared between threads.
+     */
+    public static void decompress(ByteBuffer data, int offset, int length, long[] out) {
+        var encoding = Encoding.VALUES[data.get(offset++)];
+        switch (encoding) {
+            case RAW:
+                for (int i = 0; i < length; i++, offset += Long.BYTES) {
+                    out[i] = data.getLong(offset);
+                }
+                break;
+            case FLOAT:
+                for (int i = 0; i < length; i++, offset += Float.BYTES) {
+                    out[i] = Double.doubleToRawLongBits(Float.intBitsToFloat(data.getInt(offset)));
+                }
+                break;
+            case XOR_DELTA:
+                long previous = 0L;
+                for (int i = 0; i < length; i++) {
+                    long value = 0L;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data.get(offset++);
+                        value |= (b & 0x7FL) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    previous ^= Long.reverse(value);
+                    out[i] = previous;
+                }
+                break;
+            case DICTIONARY:
+                readDictionary(data, offset, length, out);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected encoding: " + encoding);
+        }
+    }
+
+    private static boolean allFloats(long[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            double value = Double.longBitsToDouble(values[i]);
+            if (Double.doubleToRawLongBits((float) value) != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int dictionarySize(long[] values, int length) {
+        dictionaryIndices.clear();
+        dictionarySize = 0;
+        for (int i = 0; i < length; i++) {
+            long value = values[i];
+            if (!dictionaryIndices.containsKey(value)) {
+                if (dictionarySize == MAX_DICTIONARY_SIZE) {
+                    return Integer.MAX_VALUE;
+                }
+                dictionaryIndices.put(value, dictionarySize);
+                dictionary[dictionarySize++] = value;
+            }
+        }
+        long indexBits = (long) length * bitsPerIndex(dictionarySize);
+        return 1 + dictionarySize * Long.BYTES + (int) ((indexBits + Byte.SIZE - 1) / Byte.SIZE);
+    }
+
+    private static int xorDeltaSize(long[] values, int length) {
+        int size = 0;
+        long previous = 0L;
+        for (int i = 0; i < length; i++) {
+            size += vLongSize(Long.reverse(values[i] ^ previous));
+            previous = values[i];
+        }
+        return size;
+    }
+
+    private int writeDictionary(long[] values, int length, byte[] out, int offset) {
+        out[offset++] = (byte) (dictionarySize - 1);
+        for (int i = 0; i < dictionarySize; i++) {
+            offset = writeLong(dictionary[i], out, offset);
+        }
+        int bitsPerIndex = bitsPerIndex(dictionarySize);
+        long buffer = 0L;
+        int bufferedBits = 0;
+        for (int i = 0; i < length; i++) {
+            buffer |= ((long) dictionaryIndices.get(values[i])) << bufferedBits;
+            bufferedBits += bitsPerIndex;
+            while (bufferedBits >= Byte.SIZE) {
+                out[offset++] = (byte) buffer;
+                buffer >>>= Byte.SIZE;
+                bufferedBits -= Byte.SIZE;
+            }
+        }
+        if (bufferedBits > 0) {
+            out[offset++] = (byte) buffer;
+        }
+        return offset;
+    }
+
+    private static void readDictionary(byte[] data, int offset, int length, long[] out) {
+        int dictionarySize = (data[offset++] & 0xFF) + 1;
+        int dictionaryOffset = offset;
+        offset += dictionarySize * Long.BYTES;
+        int bitsPerIndex = bitsPerIndex(dictionarySize);
+        long mask = (1L << bitsPerIndex) - 1;
+        long buffer = 0L;
+        int bufferedBits = 0;
+        for (int i = 0; i < length; i++) {
+            while (bufferedBits < bitsPerIndex) {
+                buffer |= (data[offset++] & 0xFFL) << bufferedBits;
+                bufferedBits += Byte.SIZE;
+            }
+            int index = (int) (buffer & mask);
+            buffer >>>= bitsPerIndex;
+            bufferedBits -= bitsPerIndex;
+            out[i] = readLong(data, dictionaryOffset + index * Long.BYTES);
+        }
+    }
+
+    private static void readDictionary(ByteBuffer data, int offset, int length, long[] out) {
+        int dictionarySize = (data.get(offset++) & 0xFF) + 1;
+        int dictionaryOffset = offset;
+        offset += dictionarySize * Long.BYTES;
+        int bitsPerIndex = bitsPerIndex(dictionarySize);
+        long mask = (1L << bitsPerIndex) - 1;
+        long buffer = 0L;
+        int bufferedBits = 0;
+        for (int i = 0; i < length; i++) {
+            while (bufferedBits < bitsPerIndex) {
+                buffer |= (data.get(offset++) & 0xFFL) << bufferedBits;
+                bufferedBits += Byte.SIZE;
+            }
+            int index = (int) (buffer & mask);
+            buffer >>>= bitsPerIndex;
+            bufferedBits -= bitsPerIndex;
+            out[i] = data.getLong(dictionaryOffset + index * Long.BYTES);
+        }
+    }
+
+    private static int bitsPerIndex(int dictionarySize) {
+        return dictionarySize <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(dictionarySize - 1);
+    }
+
+    private static int vLongSize(long value) {
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        return Math.max(1, (bits + 6) / 7);
+    }
+
+    private static int writeVLong(long value, byte[] out, int offset) {
+        while ((value & ~0x7FL) != 0L) {
+            out[offset++] = (byte) ((value & 0x7FL) | 0x80L);
+            value >>>= 7;
+        }
+        out[offset++] = (byte) value;
+        return offset;
+    }
+
+    //@formatter:off
+    private static int writeInt(int value, byte[] out, int offset) {
+        out[    offset] = (byte) (value);
+        out[1 + offset] = (byte) (value >>> 8);
+        out[2 + offset] = (byte) (value >>> 16);
+        out[3 + offset] = (byte) (value >>> 24);
+        return 4 + offset;
+    }
+
+    private static int writeLong(long value, byte[] out, int offset) {
+        out[    offset] = (byte) (value);
+        out[1 + offset] = (byte) (value >>> 8);
+        out[2 + offset] = (byte) (value >>> 16);
+        out[3 + offset] = (byte) (value >>> 24);
+        out[4 + offset] = (byte) (value >>> 32);
+        out[5 + offset] = (byte) (value >>> 40);
+        out[6 + offset] = (byte) (value >>> 48);
+        out[7 + offset] = (byte) (value >>> 56);
+        return 8 + offset;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return   data[    offset] & 255        |
+                (data[1 + offset] & 255) <<  8 |
+                (data[2 + offset] & 255) << 16 |
+                (data[3 + offset] & 255) << 24;
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return   data[    offset] & 255L        |
+                (data[1 + offset] & 255L) <<  8 |
+                (data[2 + offset] & 255L) << 16 |
+                (data[3 + offset] & 255L) << 24 |
+                (data[4 + offset] & 255L) << 32 |
+                (data[5 + offset] & 255L) << 40 |
+                (data[6 + offset] & 255L) << 48 |
+                (data[7 + offset] & 255L) << 56;
+    }
+    //@formatter:on
+}
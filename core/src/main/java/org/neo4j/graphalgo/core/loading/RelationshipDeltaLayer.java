@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.api.RelationshipProperty;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.DeltaAdjacencyList;
+import org.neo4j.graphalgo.core.huge.DeltaAdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.DeltaPropertyList;
+import org.neo4j.graphalgo.core.huge.ExtendedAdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.RelationshipDelta;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.utils.StringJoining;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Appends relationships to an imported relationship type without re-importing it.
+ * Appended relationships are stored in a {@link RelationshipDelta} and merged with
+ * the imported relationships on read.
+ * {@link #compact(IdMapping, GraphCreateConfig, int, AllocationTracker)} imports both into a new adjacency list.
+ * <p>
+ * Every append publishes a new delta. The relationships returned by {@link #relationships()}
+ * are bound to the delta that was current at the time of the call, so graphs that have been
+ * created before an append neither see the appended relationships nor a changed relationship count.
+ * <p>
+ * Appended relationships are not aggregated with existing relationships,
+ * a parallel relationship turns the relationship type into a multi graph.
+ */
+final class RelationshipDeltaLayer {
+
+    private static final long NO_RELATIONSHIP_REFERENCE = -1L;
+
+    private final RelationshipType relationshipType;
+    private final Relationships.Topology baseTopology;
+    private final RelationshipPropertyStore baseProperties;
+    private final List<String> propertyKeys;
+    private final long baseNodeCount;
+    private final AllocationTracker tracker;
+    private long nodeCount;
+    private volatile RelationshipDelta delta;
+
+    static RelationshipDeltaLayer of(
+        RelationshipType relationshipType,
+        Relationships.Topology topology,
+        RelationshipPropertyStore properties,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        return new RelationshipDeltaLayer(relationshipType, topology, properties, nodeCount, tracker);
+    }
+
+    private RelationshipDeltaLayer(
+        RelationshipType relationshipType,
+        Relationships.Topology baseTopology,
+        RelationshipPropertyStore baseProperties,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        this.relationshipType = relationshipType;
+        this.baseTopology = baseTopology;
+        this.baseProperties = baseProperties;
+        this.propertyKeys = new ArrayList<>(baseProperties.keySet());
+        this.baseNodeCount = nodeCount;
+        this.nodeCount = nodeCount;
+        this.tracker = tracker;
+        this.delta = RelationshipDelta.empty(nodeCount, propertyKeys.size());
+    }
+
+    /**
+     * The number of relationships that have been appended since the relationship type was imported or compacted.
+     */
+    long appendedRelationshipCount() {
+        return delta.relationshipCount();
+    }
+
+    /**
+     * The ratio of appended to imported relationships.
+     */
+    double appendedRatio() {
+        return (double) delta.relationshipCount() / Math.max(1L, baseTopology.elementCount());
+    }
+
+    /**
+     * Grows the layer to the given number of nodes, so that relationships can be appended to appended nodes.
+     * Nodes that have been appended after the relationship type was imported have no imported relationships.
+     */
+    void growNodes(long nodeCount) {
+        this.nodeCount = nodeCount;
+        this.delta = delta.withNodeCount(nodeCount, tracker);
+    }
+
+    /**
+     * Returns the merged topology and properties of the current delta.
+     */
+    TopologyAndProperties relationships() {
+        return relationships(delta);
+    }
+
+    private TopologyAndProperties relationships(RelationshipDelta snapshot) {
+        var baseOffsets = baseOffsets(baseTopology.offsets());
+        var adjacencyList = new DeltaAdjacencyList(baseTopology.list(), baseOffsets, snapshot);
+        long relationshipCount = relationshipCount(snapshot);
+        boolean isMultiGraph = isMultiGraph(snapshot);
+        var topology = ImmutableTopology.of(
+            adjacencyList,
+            new DeltaAdjacencyOffsets(baseOffsets),
+            relationshipCount,
+            baseTopology.orientation(),
+            isMultiGraph
+        );
+
+        RelationshipPropertyStore.Builder builder = RelationshipPropertyStore.builder();
+        for (int propertyIndex = 0; propertyIndex < propertyKeys.size(); propertyIndex++) {
+            RelationshipProperty property = baseProperties.get(propertyKeys.get(propertyIndex));
+            Relationships.Properties values = property.values();
+            builder.putIfAbsent(property.key(), ImmutableRelationshipProperty.of(
+                ImmutableProperties.of(
+                    new DeltaPropertyList(adjacencyList, values.list(), baseOffsets(values.offsets()), propertyIndex),
+                    new DeltaAdjacencyOffsets(baseOffsets(values.offsets())),
+                    relationshipCount,
+                    values.orientation(),
+                    isMultiGraph,
+                    values.defaultPropertyValue()
+                ),
+                property.propertySchema()
+            ));
+        }
+        return ImmutableTopologyAndProperties.of(topology, builder.build());
+    }
+
+    /**
+     * Appends the given relationships, which are identified by mapped node ids.
+     * Properties that are not given are set to the default value of the property.
+     * Relationships of an undirected relationship type are stored in both directions.
+     * Appends must not happen concurrently.
+     *
+     * @return the number of stored relationships
+     */
+    long append(
+        long[] sourceNodeIds,
+        long[] targetNodeIds,
+        Map<String, double[]> properties,
+        int concurrency
+    ) {
+        validate(sourceNodeIds, targetNodeIds, properties);
+
+        Orientation orientation = baseTopology.orientation();
+        int count = sourceNodeIds.length;
+        int entryCount = orientation == Orientation.UNDIRECTED ? count * 2 : count;
+        long[] sources = new long[entryCount];
+        long[] targets = new long[entryCount];
+        double[][] values = new double[propertyKeys.size()][];
+        for (int propertyIndex = 0; propertyIndex < values.length; propertyIndex++) {
+            String propertyKey = propertyKeys.get(propertyIndex);
+            double[] given = properties.get(propertyKey);
+            double defaultValue = baseProperties.get(propertyKey).values().defaultPropertyValue();
+            values[propertyIndex] = new double[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                values[propertyIndex][i] = given == null ? defaultValue : given[i % count];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            boolean reverse = orientation == Orientation.REVERSE;
+            sources[i] = reverse ? targetNodeIds[i] : sourceNodeIds[i];
+            targets[i] = reverse ? sourceNodeIds[i] : targetNodeIds[i];
+            if (orientation == Orientation.UNDIRECTED) {
+                sources[count + i] = targetNodeIds[i];
+                targets[count + i] = sourceNodeIds[i];
+            }
+        }
+
+        int[] order = IndirectSort.mergesort(0, entryCount, (left, right) -> {
+            int bySource = Long.compare(sources[left], sources[right]);
+            return bySource != 0 ? bySource : Long.compare(targets[left], targets[right]);
+        });
+
+        var current = delta;
+        var builder = current.builder(tracker);
+        for (int i = 0; i < entryCount; i++) {
+            builder.preparePage(sources[order[i]]);
+        }
+
+        // every node is appended to by exactly one task
+        var foundParallelRelationships = new AtomicBoolean();
+        var tasks = new ArrayList<Runnable>();
+        int batchSize = Math.max(1, (entryCount + concurrency - 1) / concurrency);
+        for (int start = 0, end; start < entryCount; start = end) {
+            end = Math.min(entryCount, start + batchSize);
+            while (end < entryCount && sources[order[end]] == sources[order[end - 1]]) {
+                end++;
+            }
+            tasks.add(new AppendTask(
+                builder,
+                isMultiGraph(current),
+                sources,
+                targets,
+                values,
+                order,
+                start,
+                end,
+                foundParallelRelationships
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        if (foundParallelRelationships.get()) {
+            builder.foundParallelRelationships();
+        }
+        delta = builder.build();
+        return entryCount;
+    }
+
+    /**
+     * Imports the imported and appended relationships into a new adjacency list,
+     * which is stored and encoded as configured when the graph was created.
+     */
+    TopologyAndProperties compact(
+        IdMapping idMapping,
+        GraphCreateConfig createConfig,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        var importSizing = ImportSizing.of(concurrency, nodeCount);
+        var projection = RelationshipProjection
+            .builder()
+            .type(relationshipType.name)
+            .orientation(Orientation.NATURAL)
+            .properties(PropertyMappings.of(propertyKeys.stream()
+                .map(propertyKey -> PropertyMapping.of(propertyKey, DefaultValue.DEFAULT, Aggregation.NONE))
+                .collect(Collectors.toList())))
+            .build();
+        var storage = createConfig.adjacencyStorage();
+        var builder = new RelationshipsBuilder(
+            projection,
+            storage.builderFactory(tracker, createConfig.spillDirectory()),
+            storage.offsetsFactory(tracker, importSizing.pageSize(), createConfig.spillDirectory()),
+            createConfig.adjacencyEncoding(),
+            createConfig.compressRelationshipProperties()
+        );
+        var importer = SingleTypeRelationshipImporter
+            .mappedIdsBuilder(relationshipType, projection, builder, importSizing, tracker)
+            .loadImporter(!propertyKeys.isEmpty());
+
+        var snapshot = delta;
+        var merged = relationships(snapshot);
+        var tasks = new ArrayList<Runnable>();
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE);
+        for (long start = 0; start < nodeCount; start += batchSize) {
+            tasks.add(new CompactionTask(
+                start,
+                Math.min(nodeCount, start + batchSize),
+                idMapping,
+                importer,
+                merged
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        ParallelUtil.run(importer.flushTasks().collect(Collectors.toList()), Pools.DEFAULT);
+
+        long relationshipCount = relationshipCount(snapshot);
+        boolean isMultiGraph = isMultiGraph(snapshot);
+        Orientation orientation = baseTopology.orientation();
+        var topology = ImmutableTopology.of(
+            builder.adjacencyList(),
+            builder.globalAdjacencyOffsets(),
+            relationshipCount,
+            orientation,
+            isMultiGraph
+        );
+        var propertyStore = RelationshipPropertyStore.builder();
+        for (int propertyIndex = 0; propertyIndex < propertyKeys.size(); propertyIndex++) {
+            RelationshipProperty property = baseProperties.get(propertyKeys.get(propertyIndex));
+            propertyStore.putIfAbsent(property.key(), ImmutableRelationshipProperty.of(
+                ImmutableProperties.of(
+                    builder.properties(propertyIndex),
+                    builder.globalPropertyOffsets(propertyIndex),
+                    relationshipCount,
+                    orientation,
+                    isMultiGraph,
+                    property.values().defaultPropertyValue()
+                ),
+                property.propertySchema()
+            ));
+        }
+        return ImmutableTopologyAndProperties.of(topology, propertyStore.build());
+    }
+
+    private AdjacencyOffsets baseOffsets(AdjacencyOffsets offsets) {
+        return ExtendedAdjacencyOffsets.of(offsets, baseNodeCount, nodeCount);
+    }
+
+    private long relationshipCount(RelationshipDelta snapshot) {
+        return baseTopology.elementCount() + snapshot.relationshipCount();
+    }
+
+    private boolean isMultiGraph(RelationshipDelta snapshot) {
+        return baseTopology.isMultiGraph() || snapshot.hasParallelRelationships();
+    }
+
+    private void validate(long[] sourceNodeIds, long[] targetNodeIds, Map<String, double[]> properties) {
+        if (sourceNodeIds.length != targetNodeIds.length) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected as many target nodes as source nodes, but got %d source nodes and %d target nodes.",
+                sourceNodeIds.length,
+                targetNodeIds.length
+            ));
+        }
+        properties.forEach((propertyKey, values) -> {
+            if (!baseProperties.containsKey(propertyKey)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship property `%s` does not exist for relationship type `%s`. Available properties: %s",
+                    propertyKey,
+                    relationshipType.name,
+                    StringJoining.join(propertyKeys)
+                ));
+            }
+            if (values.length != sourceNodeIds.length) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected %d values for relationship property `%s`, but got %d.",
+                    sourceNodeIds.length,
+                    propertyKey,
+                    values.length
+                ));
+            }
+        });
+        validateNodeIds(sourceNodeIds);
+        validateNodeIds(targetNodeIds);
+    }
+
+    private void validateNodeIds(long[] nodeIds) {
+        for (long nodeId : nodeIds) {
+            if (nodeId < 0 || nodeId >= nodeCount) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node id %d is not contained in the graph, expected an id between 0 and %d.",
+                    nodeId,
+                    nodeCount - 1
+                ));
+            }
+        }
+    }
+
+    @ValueClass
+    interface TopologyAndProperties {
+        Relationships.Topology topology();
+
+        RelationshipPropertyStore properties();
+    }
+
+    private final class AppendTask implements Runnable {
+
+        private final RelationshipDelta.Builder builder;
+        private final boolean isMultiGraph;
+        private final long[] sources;
+        private final long[] targets;
+        private final double[][] values;
+        private final int[] order;
+        private final int start;
+        private final int end;
+        private final AtomicBoolean foundParallelRelationships;
+        private final AdjacencyCursor baseCursor;
+
+        AppendTask(
+            RelationshipDelta.Builder builder,
+            boolean isMultiGraph,
+            long[] sources,
+            long[] targets,
+            double[][] values,
+            int[] order,
+            int start,
+            int end,
+            AtomicBoolean foundParallelRelationships
+        ) {
+            this.builder = builder;
+            this.isMultiGraph = isMultiGraph;
+            this.sources = sources;
+            this.targets = targets;
+            this.values = values;
+            this.order = order;
+            this.start = start;
+            this.end = end;
+            this.foundParallelRelationships = foundParallelRelationships;
+            this.baseCursor = baseTopology.list().rawDecompressingCursor();
+        }
+
+        @Override
+        public void run() {
+            int propertyCount = values.length;
+            boolean checkForParallelRelationships = !isMultiGraph;
+            boolean foundParallel = false;
+
+            for (int groupStart = start, groupEnd; groupStart < end; groupStart = groupEnd) {
+                long sourceNodeId = sources[order[groupStart]];
+                groupEnd = groupStart + 1;
+                while (groupEnd < end && sources[order[groupEnd]] == sourceNodeId) {
+                    groupEnd++;
+                }
+
+                int count = groupEnd - groupStart;
+                long[] groupTargets = new long[count];
+                double[] groupValues = new double[propertyCount * count];
+                for (int i = 0; i < count; i++) {
+                    int entry = order[groupStart + i];
+                    groupTargets[i] = targets[entry];
+                    for (int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+                        groupValues[propertyIndex * count + i] = values[propertyIndex][entry];
+                    }
+                }
+
+                if (checkForParallelRelationships && !foundParallel) {
+                    foundParallel = containsBaseTarget(sourceNodeId, groupTargets);
+                }
+                foundParallel |= builder.append(sourceNodeId, groupTargets, groupValues, count);
+            }
+
+            if (foundParallel) {
+                foundParallelRelationships.set(true);
+            }
+        }
+
+        private boolean containsBaseTarget(long sourceNodeId, long[] sortedTargets) {
+            if (sourceNodeId >= baseNodeCount) {
+                return false;
+            }
+            long offset = baseTopology.offsets().get(sourceNodeId);
+            if (offset == 0L) {
+                return false;
+            }
+            baseCursor.init(offset);
+            for (long target : sortedTargets) {
+                while (baseCursor.hasNextVLong() && baseCursor.peekVLong() < target) {
+                    baseCursor.nextVLong();
+                }
+                if (!baseCursor.hasNextVLong()) {
+                    return false;
+                }
+                if (baseCursor.peekVLong() == target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final class CompactionTask implements Runnable {
+
+        private final long startNode;
+        private final long endNode;
+        private final SingleTypeRelationshipImporter importer;
+        private final RelationshipPropertiesBatchBuffer propertiesBuffer;
+        private final AdjacencyCursor adjacencyCursor;
+        private final PropertyCursor[] propertyCursors;
+        private int nextRelationshipId;
+
+        CompactionTask(
+            long startNode,
+            long endNode,
+            IdMapping idMapping,
+            SingleTypeRelationshipImporter.Builder.WithImporter importerBuilder,
+            TopologyAndProperties merged
+        ) {
+            this.startNode = startNode;
+            this.endNode = endNode;
+            int bufferSize = ParallelUtil.DEFAULT_BATCH_SIZE;
+            if (propertyKeys.size() > 1) {
+                // Multiple properties are written to a separate
+                // buffer and referenced by the relationship batch.
+                this.propertiesBuffer = new RelationshipPropertiesBatchBuffer(bufferSize, propertyKeys.size());
+                this.importer = importerBuilder.withBuffer(idMapping, bufferSize, propertiesBuffer);
+            } else {
+                // Single properties can be in-lined in the relationship batch
+                this.propertiesBuffer = null;
+                this.importer = importerBuilder.withBuffer(
+                    idMapping,
+                    bufferSize,
+                    RelationshipImporter.preLoadedPropertyReader()
+                );
+            }
+            this.adjacencyCursor = merged.topology().list().rawDecompressingCursor();
+            this.propertyCursors = propertyKeys.stream()
+                .map(propertyKey -> merged.properties().get(propertyKey).values().list().rawCursor())
+                .toArray(PropertyCursor[]::new);
+        }
+
+        @Override
+        public void run() {
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                long offset = nodeId + 1;
+                adjacencyCursor.init(offset);
+                for (PropertyCursor propertyCursor : propertyCursors) {
+                    propertyCursor.init(offset);
+                }
+                while (adjacencyCursor.hasNextVLong()) {
+                    add(nodeId, adjacencyCursor.nextVLong());
+                    if (importer.buffer().isFull()) {
+                        flush();
+                    }
+                }
+            }
+            flush();
+        }
+
+        private void add(long sourceNodeId, long targetNodeId) {
+            if (propertyCursors.length == 0) {
+                importer.buffer().add(sourceNodeId, targetNodeId, NO_RELATIONSHIP_REFERENCE);
+            } else if (propertyCursors.length == 1) {
+                importer.buffer().add(sourceNodeId, targetNodeId, NO_RELATIONSHIP_REFERENCE, propertyCursors[0].nextLong());
+            } else {
+                importer.buffer().add(sourceNodeId, targetNodeId, NO_RELATIONSHIP_REFERENCE, nextRelationshipId);
+                for (int propertyIndex = 0; propertyIndex < propertyCursors.length; propertyIndex++) {
+                    propertiesBuffer.add(
+                        nextRelationshipId,
+                        propertyIndex,
+                        Double.longBitsToDouble(propertyCursors[propertyIndex].nextLong())
+                    );
+                }
+                nextRelationshipId++;
+            }
+        }
+
+        private void flush() {
+            importer.importRelationships();
+            importer.buffer().reset();
+            nextRelationshipId = 0;
+        }
+    }
+}
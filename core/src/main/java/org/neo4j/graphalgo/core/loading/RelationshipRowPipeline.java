@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphdb.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams the rows of a relationship query on the calling thread into
+ * bounded batches which are drained by one importer thread per
+ * {@link RelationshipRowVisitor}. The query is still executed by a single
+ * thread, but id mapping, buffering and compressing the adjacency lists
+ * happens in parallel.
+ * <p>
+ * Batches are taken from a fixed pool and returned after they have been
+ * imported, so memory usage does not depend on the number of rows.
+ * <p>
+ * The importers are submitted to a shared executor which might be busy
+ * with other work. Instead of waiting for an importer that has not been
+ * started yet, the reading thread takes over its visitor and imports
+ * the pending batches itself.
+ */
+final class RelationshipRowPipeline implements Result.ResultVisitor<RuntimeException> {
+
+    static final int BATCH_SIZE = 10_000;
+    private static final RowBatch END_OF_ROWS = new RowBatch(0, 0);
+
+    private final RelationshipRowReader rowReader;
+    private final BlockingQueue<RowBatch> fullBatches;
+    private final BlockingQueue<RowBatch> batchPool;
+    private final AtomicReference<RuntimeException> error;
+    private final List<Worker> workers;
+    private final List<Future<?>> futures;
+
+    private RowBatch currentBatch;
+    private Worker ownWorker;
+    private long rows;
+
+    RelationshipRowPipeline(
+        RelationshipRowReader rowReader,
+        List<RelationshipRowVisitor> visitors,
+        ExecutorService executor
+    ) {
+        this.rowReader = rowReader;
+        this.error = new AtomicReference<>();
+
+        int poolSize = 2 * visitors.size();
+        this.fullBatches = new ArrayBlockingQueue<>(poolSize + visitors.size());
+        this.batchPool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            batchPool.add(new RowBatch(BATCH_SIZE, rowReader.propertyCount()));
+        }
+
+        this.workers = new ArrayList<>(visitors.size());
+        for (RelationshipRowVisitor visitor : visitors) {
+            workers.add(new Worker(visitor));
+        }
+        this.futures = new ArrayList<>(ParallelUtil.run(workers, false, executor, null));
+        this.currentBatch = takeBatch();
+    }
+
+    @Override
+    public boolean visit(Result.ResultRow row) throws RuntimeException {
+        rows++;
+        currentBatch.add(row, rowReader);
+        if (currentBatch.isFull()) {
+            putBatch(currentBatch);
+            currentBatch = takeBatch();
+        }
+        // stop streaming the query result once an importer has failed
+        return error.get() == null;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Hands over the remaining rows and waits until all importer
+     * threads have flushed their buffers. Must be called even if
+     * reading the query result failed, otherwise the importer
+     * threads would wait for more rows forever.
+     * <p>
+     * Importers that have not been started by now are run
+     * on the calling thread instead.
+     */
+    void finish() {
+        if (currentBatch.size > 0) {
+            putBatch(currentBatch);
+        }
+
+        var ownWorkers = new ArrayList<Worker>();
+        var runningWorkers = new ArrayList<Future<?>>();
+        for (int i = 0; i < workers.size(); i++) {
+            Worker worker = workers.get(i);
+            if (worker == ownWorker || worker.claim()) {
+                ownWorkers.add(worker);
+                futures.get(i).cancel(false);
+            } else {
+                runningWorkers.add(futures.get(i));
+            }
+        }
+
+        if (!ownWorkers.isEmpty()) {
+            Worker worker = ownWorkers.get(0);
+            RowBatch batch;
+            while ((batch = fullBatches.poll()) != null) {
+                worker.importAndReset(batch);
+            }
+        }
+        for (int i = 0; i < runningWorkers.size(); i++) {
+            putBatch(END_OF_ROWS);
+        }
+        try {
+            ownWorkers.forEach(Worker::flush);
+        } finally {
+            ParallelUtil.awaitTermination(runningWorkers);
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    private RowBatch takeBatch() {
+        RowBatch batch = batchPool.poll();
+        if (batch != null) {
+            return batch;
+        }
+        // All batches are taken. If there is an importer that has not
+        // been started yet, we cannot rely on it to return the batches
+        // and import the oldest one on this thread instead.
+        for (int i = 0; ownWorker == null && i < workers.size(); i++) {
+            if (workers.get(i).claim()) {
+                ownWorker = workers.get(i);
+            }
+        }
+        if (ownWorker != null) {
+            batch = fullBatches.poll();
+            if (batch != null) {
+                ownWorker.importAndReset(batch);
+                return batch;
+            }
+        }
+        // The remaining batches are held by running importers.
+        try {
+            return batchPool.take();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void putBatch(RowBatch batch) {
+        try {
+            fullBatches.put(batch);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final RelationshipRowVisitor visitor;
+        private final AtomicBoolean claimed;
+
+        Worker(RelationshipRowVisitor visitor) {
+            this.visitor = visitor;
+            this.claimed = new AtomicBoolean();
+        }
+
+        /**
+         * Makes sure the visitor is used by a single thread, either
+         * by the importer thread or by the reading thread.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!claim()) {
+                return;
+            }
+            try {
+                RowBatch batch;
+                while ((batch = fullBatches.take()) != END_OF_ROWS) {
+                    importAndReset(batch);
+                    batchPool.put(batch);
+                }
+                flush();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        void importAndReset(RowBatch batch) {
+            // keep draining after a failure so the reading thread never blocks
+            if (error.get() == null) {
+                importBatch(batch);
+            }
+            batch.reset();
+        }
+
+        void flush() {
+            if (error.get() == null) {
+                visitor.flushAll();
+            }
+        }
+
+        private void importBatch(RowBatch batch) {
+            try {
+                int propertyCount = batch.propertyCount;
+                for (int i = 0; i < batch.size; i++) {
+                    visitor.visit(
+                        batch.types[i],
+                        batch.sourceIds[i],
+                        batch.targetIds[i],
+                        batch.properties,
+                        i * propertyCount
+                    );
+                }
+            } catch (RuntimeException e) {
+                error.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private static final class RowBatch {
+        private final RelationshipType[] types;
+        private final long[] sourceIds;
+        private final long[] targetIds;
+        private final double[] properties;
+        private final int propertyCount;
+        private int size;
+
+        RowBatch(int capacity, int propertyCount) {
+            this.types = new RelationshipType[capacity];
+            this.sourceIds = new long[capacity];
+            this.targetIds = new long[capacity];
+            this.properties = new double[capacity * propertyCount];
+            this.propertyCount = propertyCount;
+        }
+
+        void add(Result.ResultRow row, RelationshipRowReader rowReader) {
+            types[size] = rowReader.relationshipType(row);
+            sourceIds[size] = rowReader.sourceId(row);
+            targetIds[size] = rowReader.targetId(row);
+            if (propertyCount > 0) {
+                rowReader.readProperties(row, properties, size * propertyCount);
+            }
+            size++;
+        }
+
+        boolean isFull() {
+            return size == types.length;
+        }
+
+        void reset() {
+            size = 0;
+        }
+    }
+}
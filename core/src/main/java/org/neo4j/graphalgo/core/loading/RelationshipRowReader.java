@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphdb.Result;
+
+import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+
+/**
+ * Reads the columns of a single relationship query row.
+ * Property values are written into a dense array where
+ * each property is located at its property key id.
+ */
+final class RelationshipRowReader {
+
+    static final String SOURCE_COLUMN = "source";
+    static final String TARGET_COLUMN = "target";
+    static final String TYPE_COLUMN = "type";
+
+    private final ObjectIntHashMap<String> propertyKeyIdsByName;
+    private final ObjectDoubleHashMap<String> propertyDefaultValueByName;
+    private final boolean isAnyRelTypeQuery;
+
+    private String lastTypeName;
+    private RelationshipType lastType = ALL_RELATIONSHIPS;
+
+    RelationshipRowReader(
+        ObjectIntHashMap<String> propertyKeyIdsByName,
+        ObjectDoubleHashMap<String> propertyDefaultValueByName,
+        boolean isAnyRelTypeQuery
+    ) {
+        this.propertyKeyIdsByName = propertyKeyIdsByName;
+        this.propertyDefaultValueByName = propertyDefaultValueByName;
+        this.isAnyRelTypeQuery = isAnyRelTypeQuery;
+    }
+
+    int propertyCount() {
+        return propertyKeyIdsByName.size();
+    }
+
+    RelationshipType relationshipType(Result.ResultRow row) {
+        if (isAnyRelTypeQuery) {
+            return ALL_RELATIONSHIPS;
+        }
+        String typeName = row.getString(TYPE_COLUMN);
+        if (!typeName.equals(lastTypeName)) {
+            lastType = RelationshipType.of(typeName);
+            lastTypeName = typeName;
+        }
+        return lastType;
+    }
+
+    long sourceId(Result.ResultRow row) {
+        return row.getNumber(SOURCE_COLUMN).longValue();
+    }
+
+    long targetId(Result.ResultRow row) {
+        return row.getNumber(TARGET_COLUMN).longValue();
+    }
+
+    void readProperties(Result.ResultRow row, double[] properties, int offset) {
+        propertyKeyIdsByName.forEachKeyValue((propertyKey, propertyKeyId) ->
+            properties[offset + propertyKeyId] = readPropertyValue(row, propertyKey)
+        );
+    }
+
+    private double readPropertyValue(Result.ResultRow row, String propertyKey) {
+        Object property = CypherLoadingUtils.getProperty(row, propertyKey);
+        return property instanceof Number
+            ? ((Number) property).doubleValue()
+            : propertyDefaultValueByName.get(propertyKey);
+    }
+}
@@ -20,7 +20,6 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.apache.commons.compress.utils.Sets;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
 import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.NodeMapping;
@@ -31,34 +30,31 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.core.loading.RelationshipRowReader.SOURCE_COLUMN;
+import static org.neo4j.graphalgo.core.loading.RelationshipRowReader.TARGET_COLUMN;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.validateSourceNodeIsLoaded;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.validateTargetNodeIsLoaded;
 
 class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
 
     private static final long NO_RELATIONSHIP_REFERENCE = -1L;
-    private static final String SOURCE_COLUMN = "source";
-    private static final String TARGET_COLUMN = "target";
-    static final String TYPE_COLUMN = "type";
+    static final String TYPE_COLUMN = RelationshipRowReader.TYPE_COLUMN;
     static final Set<String> REQUIRED_COLUMNS = Sets.newHashSet(SOURCE_COLUMN, TARGET_COLUMN);
     static final Set<String> RESERVED_COLUMNS = Sets.newHashSet(SOURCE_COLUMN, TARGET_COLUMN, TYPE_COLUMN);
 
     private final NodeMapping nodeMapping;
-    private final ObjectIntHashMap<String> propertyKeyIdsByName;
-    private final ObjectDoubleHashMap<String> propertyDefaultValueByName;
+    private final RelationshipRowReader rowReader;
     private final CypherRelationshipLoader.Context loaderContext;
     private final int bufferSize;
     private final int propertyCount;
     private final boolean noProperties;
     private final boolean singleProperty;
     private final boolean multipleProperties;
-    private final String singlePropertyKey;
+    private final double[] rowProperties;
 
     private final Map<RelationshipType, SingleTypeRelationshipImporter> localImporters;
     private final Map<RelationshipType, RelationshipPropertiesBatchBuffer> localPropertiesBuffers;
     private final ObjectIntHashMap<RelationshipType> localRelationshipIds;
-    private final boolean isAnyRelTypeQuery;
 
     private long lastNeoSourceId = -1, lastNeoTargetId = -1;
     private long sourceId = -1, targetId = -1;
@@ -69,26 +65,22 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
     RelationshipRowVisitor(
         NodeMapping nodeMapping,
         CypherRelationshipLoader.Context loaderContext,
-        ObjectIntHashMap<String> propertyKeyIdsByName,
-        ObjectDoubleHashMap<String> propertyDefaultValueByName,
+        RelationshipRowReader rowReader,
         int bufferSize,
-        boolean isAnyRelTypeQuery,
         boolean throwOnUnMappedNodeIds
     ) {
         this.nodeMapping = nodeMapping;
-        this.propertyKeyIdsByName = propertyKeyIdsByName;
-        this.propertyDefaultValueByName = propertyDefaultValueByName;
-        this.propertyCount = propertyKeyIdsByName.size();
+        this.rowReader = rowReader;
+        this.propertyCount = rowReader.propertyCount();
         this.noProperties = propertyCount == 0;
         this.singleProperty = propertyCount == 1;
         this.multipleProperties = propertyCount > 1;
-        this.singlePropertyKey = propertyKeyIdsByName.keySet().stream().findFirst().orElse("");
+        this.rowProperties = new double[propertyCount];
         this.loaderContext = loaderContext;
         this.bufferSize = bufferSize;
         this.localImporters = new HashMap<>();
         this.localPropertiesBuffers = new HashMap<>();
         this.localRelationshipIds = new ObjectIntHashMap<>();
-        this.isAnyRelTypeQuery = isAnyRelTypeQuery;
         this.throwOnUnMappedNodeIds = throwOnUnMappedNodeIds;
     }
 
@@ -102,54 +94,41 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
 
     @Override
     public boolean visit(Result.ResultRow row) throws RuntimeException {
-        rows++;
-
-        String relationshipTypeName = isAnyRelTypeQuery
-            ? ALL_RELATIONSHIPS.name
-            : row.getString(TYPE_COLUMN);
-
-        RelationshipType relationshipType = RelationshipType.of(relationshipTypeName);
-
-        if (!localImporters.containsKey(relationshipType)) {
-            // Lazily init relationship importer builder
-            SingleTypeRelationshipImporter.Builder.WithImporter importerBuilder =
-                loaderContext.getOrCreateImporterBuilder(relationshipType);
-
-            RelationshipImporter.PropertyReader propertyReader;
-
-            if (multipleProperties) {
-                // Create thread-local buffer for relationship properties
-                RelationshipPropertiesBatchBuffer propertiesBuffer = new RelationshipPropertiesBatchBuffer(
-                    bufferSize,
-                    propertyCount
-                );
-                propertyReader = propertiesBuffer;
-                localPropertiesBuffers.put(relationshipType, propertiesBuffer);
-            } else {
-                // Single properties can be in-lined in the relationship batch
-                propertyReader = RelationshipImporter.preLoadedPropertyReader();
-            }
-            // Create thread-local relationship importer
-            SingleTypeRelationshipImporter importer = importerBuilder.withBuffer(nodeMapping, bufferSize, propertyReader);
-
-            localImporters.put(relationshipType, importer);
-            localRelationshipIds.put(relationshipType, 0);
+        RelationshipType relationshipType = rowReader.relationshipType(row);
+        long neoSourceId = rowReader.sourceId(row);
+        long neoTargetId = rowReader.targetId(row);
+        if (!noProperties) {
+            rowReader.readProperties(row, rowProperties, 0);
         }
-
-        return visit(row, relationshipType);
+        visit(relationshipType, neoSourceId, neoTargetId, rowProperties, 0);
+        return true;
     }
 
-    private boolean visit(Result.ResultRow row, RelationshipType relationshipType) {
+    /**
+     * Imports a single relationship that has already been read from a result row.
+     * The property values are expected at {@code properties[offset + propertyKeyId]}.
+     */
+    void visit(
+        RelationshipType relationshipType,
+        long neoSourceId,
+        long neoTargetId,
+        double[] properties,
+        int offset
+    ) {
+        rows++;
+
+        SingleTypeRelationshipImporter importer = localImporters.get(relationshipType);
+        if (importer == null) {
+            importer = createLocalImporter(relationshipType);
+        }
 
-        readSourceId(row);
-        readTargetId(row);
+        mapSourceId(neoSourceId);
+        mapTargetId(neoTargetId);
 
         if (!throwOnUnMappedNodeIds && (sourceId == -1 || targetId == -1)) {
-            return true;
+            return;
         }
 
-        SingleTypeRelationshipImporter importer = localImporters.get(relationshipType);
-
         if (noProperties) {
             importer.buffer().add(
                 sourceId,
@@ -161,7 +140,7 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
                 sourceId,
                 targetId,
                 NO_RELATIONSHIP_REFERENCE,
-                Double.doubleToLongBits(readPropertyValue(row, singlePropertyKey))
+                Double.doubleToLongBits(properties[offset])
             );
         } else {
             // Instead of inlining the property
@@ -174,7 +153,10 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
                 NO_RELATIONSHIP_REFERENCE,
                 nextRelationshipId
             );
-            readPropertyValues(row, nextRelationshipId, localPropertiesBuffers.get(relationshipType));
+            RelationshipPropertiesBatchBuffer propertiesBuffer = localPropertiesBuffers.get(relationshipType);
+            for (int propertyKeyId = 0; propertyKeyId < propertyCount; propertyKeyId++) {
+                propertiesBuffer.add(nextRelationshipId, propertyKeyId, properties[offset + propertyKeyId]);
+            }
             localRelationshipIds.put(relationshipType, nextRelationshipId + 1);
         }
 
@@ -182,12 +164,36 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
             flush(importer);
             reset(relationshipType, importer);
         }
+    }
 
-        return true;
+    private SingleTypeRelationshipImporter createLocalImporter(RelationshipType relationshipType) {
+        // Lazily init relationship importer builder
+        SingleTypeRelationshipImporter.Builder.WithImporter importerBuilder =
+            loaderContext.getOrCreateImporterBuilder(relationshipType);
+
+        RelationshipImporter.PropertyReader propertyReader;
+
+        if (multipleProperties) {
+            // Create thread-local buffer for relationship properties
+            RelationshipPropertiesBatchBuffer propertiesBuffer = new RelationshipPropertiesBatchBuffer(
+                bufferSize,
+                propertyCount
+            );
+            propertyReader = propertiesBuffer;
+            localPropertiesBuffers.put(relationshipType, propertiesBuffer);
+        } else {
+            // Single properties can be in-lined in the relationship batch
+            propertyReader = RelationshipImporter.preLoadedPropertyReader();
+        }
+        // Create thread-local relationship importer
+        SingleTypeRelationshipImporter importer = importerBuilder.withBuffer(nodeMapping, bufferSize, propertyReader);
+
+        localImporters.put(relationshipType, importer);
+        localRelationshipIds.put(relationshipType, 0);
+        return importer;
     }
 
-    private void readTargetId(Result.ResultRow row) {
-        long neoTargetId = row.getNumber(TARGET_COLUMN).longValue();
+    private void mapTargetId(long neoTargetId) {
         if (neoTargetId != lastNeoTargetId) {
             targetId = nodeMapping.toMappedNodeId(neoTargetId);
             if (throwOnUnMappedNodeIds) {
@@ -197,8 +203,7 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
         }
     }
 
-    private void readSourceId(Result.ResultRow row) {
-        long neoSourceId = row.getNumber(SOURCE_COLUMN).longValue();
+    private void mapSourceId(long neoSourceId) {
         if (neoSourceId != lastNeoSourceId) {
             sourceId = nodeMapping.toMappedNodeId(neoSourceId);
             if (throwOnUnMappedNodeIds) {
@@ -208,19 +213,6 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
         }
     }
 
-    private void readPropertyValues(Result.ResultRow row, int relationshipId, RelationshipPropertiesBatchBuffer propertiesBuffer) {
-        propertyKeyIdsByName.forEachKeyValue((propertyKey, propertyKeyId) ->
-            propertiesBuffer.add(relationshipId, propertyKeyId, readPropertyValue(row, propertyKey))
-        );
-    }
-
-    private double readPropertyValue(Result.ResultRow row, String propertyKey) {
-        Object property = CypherLoadingUtils.getProperty(row, propertyKey);
-        return property instanceof Number
-            ? ((Number) property).doubleValue()
-            : propertyDefaultValueByName.get(propertyKey);
-    }
-
     private void flush(SingleTypeRelationshipImporter importer) {
         long imported = importer.importRelationships();
         relationshipCount += RawValues.getHead(imported);
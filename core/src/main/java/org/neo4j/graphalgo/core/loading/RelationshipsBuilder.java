@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.api.AdjacencyOffsets;
 import org.neo4j.graphalgo.core.Aggregation;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
@@ -38,25 +39,54 @@ public class RelationshipsBuilder {
     private final AdjacencyListBuilder adjacencyListBuilder;
     private final AdjacencyOffsetsFactory offsetsFactory;
     private final AdjacencyListBuilder[] propertyBuilders;
+    private final boolean compressProperties;
+    private final boolean bitPacked;
     private long[][] globalAdjacencyOffsetsPages;
     private AdjacencyOffsets globalAdjacencyOffsets;
     private long[][][] globalPropertyOffsetsPages;
     private AdjacencyOffsets[] globalPropertyOffsets;
+    private final LongAdder compressedAdjacencyBytes = new LongAdder();
+    private final LongAdder compressedRelationships = new LongAdder();
 
     public RelationshipsBuilder(
         RelationshipProjection projection,
         AdjacencyListBuilderFactory listBuilderFactory,
         AdjacencyOffsetsFactory offsetsFactory
+    ) {
+        this(projection, listBuilderFactory, offsetsFactory, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public RelationshipsBuilder(
+        RelationshipProjection projection,
+        AdjacencyListBuilderFactory listBuilderFactory,
+        AdjacencyOffsetsFactory offsetsFactory,
+        AdjacencyEncoding adjacencyEncoding
+    ) {
+        this(projection, listBuilderFactory, offsetsFactory, adjacencyEncoding, false);
+    }
+
+    public RelationshipsBuilder(
+        RelationshipProjection projection,
+        AdjacencyListBuilderFactory listBuilderFactory,
+        AdjacencyOffsetsFactory offsetsFactory,
+        AdjacencyEncoding adjacencyEncoding,
+        boolean compressProperties
     ) {
         this.projection = projection;
-        this.adjacencyListBuilder = listBuilderFactory.newAdjacencyListBuilder();
+        this.bitPacked = adjacencyEncoding == AdjacencyEncoding.BIT_PACKED;
+        this.adjacencyListBuilder = bitPacked
+            ? listBuilderFactory.newBitPackedAdjacencyListBuilder()
+            : listBuilderFactory.newAdjacencyListBuilder();
         this.offsetsFactory = offsetsFactory;
+        this.compressProperties = compressProperties;
 
         if (projection.properties().isEmpty()) {
             this.propertyBuilders = EMPTY_PROPERTY_BUILDERS;
         } else {
             this.propertyBuilders = new AdjacencyListBuilder[projection.properties().numberOfMappings()];
-            Arrays.setAll(propertyBuilders, i -> listBuilderFactory.newAdjacencyListBuilder());
+            Arrays.setAll(propertyBuilders, i -> compressProperties
+                ? listBuilderFactory.newCompressedPropertiesBuilder()
+                : listBuilderFactory.newAdjacencyListBuilder());
         }
     }
 
@@ -72,7 +102,9 @@ public class RelationshipsBuilder {
                 .toArray(AdjacencyListAllocator[]::new),
             adjacencyOffsets,
             propertyOffsets,
-            aggregations
+            aggregations,
+            compressProperties,
+            bitPacked
         );
     }
 
@@ -134,6 +166,25 @@ public class RelationshipsBuilder {
         return globalPropertyOffsets[propertyIndex];
     }
 
+    /**
+     * The number of bytes that the encoded target ids of all adjacency lists take, without their degrees.
+     */
+    public long compressedAdjacencyBytes() {
+        return compressedAdjacencyBytes.sum();
+    }
+
+    /**
+     * The number of relationships stored in the adjacency lists, after aggregation.
+     */
+    public long compressedRelationshipCount() {
+        return compressedRelationships.sum();
+    }
+
+    final void addCompressedAdjacency(long bytes, long relationships) {
+        compressedAdjacencyBytes.add(bytes);
+        compressedRelationships.add(relationships);
+    }
+
     void flush() {
         adjacencyListBuilder.flush();
         for (AdjacencyListBuilder propertyBuilder : propertyBuilders) {
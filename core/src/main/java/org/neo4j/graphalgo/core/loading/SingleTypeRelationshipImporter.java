@@ -19,17 +19,26 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.memory.MemoryTracker;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PRE_AGGREGATION;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
+
 final class SingleTypeRelationshipImporter {
 
     private final RelationshipImporter.Imports imports;
@@ -53,6 +62,52 @@ final class SingleTypeRelationshipImporter {
         return imports.importRelationships(buffer, propertyReader);
     }
 
+    /**
+     * Creates an importer for relationships whose endpoints are already mapped node ids,
+     * e.g. relationships that are read from a file or from an existing adjacency list.
+     * Properties are read positionally, the i-th property of a relationship belongs to the i-th property mapping.
+     */
+    static Builder mappedIdsBuilder(
+        RelationshipType relationshipType,
+        RelationshipProjection projection,
+        RelationshipsBuilder builder,
+        ImportSizing importSizing,
+        AllocationTracker tracker
+    ) {
+        int propertyCount = projection.properties().numberOfMappings();
+        var relationshipCounter = new LongAdder();
+        var aggregations = propertyCount == 0
+            ? new Aggregation[]{Aggregation.NONE}
+            : projection.properties().mappings().stream()
+                .map(PropertyMapping::aggregation)
+                .map(Aggregation::resolve)
+                .toArray(Aggregation[]::new);
+        var defaultValues = new double[propertyCount];
+        Arrays.fill(defaultValues, DefaultValue.DEFAULT.doubleValue());
+
+        var adjacencyBuilder = AdjacencyBuilder.compressing(
+            builder,
+            importSizing.numberOfPages(),
+            importSizing.pageSize(),
+            tracker,
+            relationshipCounter,
+            IntStream.range(0, propertyCount).toArray(),
+            defaultValues,
+            aggregations,
+            USE_PRE_AGGREGATION.isEnabled()
+        );
+
+        return new Builder(
+            relationshipType,
+            projection,
+            adjacencyBuilder.supportsProperties(),
+            NO_SUCH_RELATIONSHIP_TYPE,
+            new RelationshipImporter(tracker, adjacencyBuilder),
+            relationshipCounter,
+            true
+        );
+    }
+
     static class Builder {
 
         private final RelationshipType relationshipType;
@@ -36,19 +36,28 @@ class ThreadLocalRelationshipsBuilder {
     private final long[][] propertyOffsets;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private final boolean compressProperties;
+    private final boolean bitPacked;
+    private PropertyCompression propertyCompression;
+    // bytes of the encoded target ids, without the degree of each list
+    private long compressedAdjacencyBytes;
 
     ThreadLocalRelationshipsBuilder(
         AdjacencyListAllocator adjacencyAllocator,
         AdjacencyListAllocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
-        Aggregation[] aggregations
+        Aggregation[] aggregations,
+        boolean compressProperties,
+        boolean bitPacked
     ) {
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.propertyOffsets = propertyOffsets;
         this.aggregations = aggregations;
+        this.compressProperties = compressProperties;
+        this.bitPacked = bitPacked;
         this.lock = new ReentrantLock();
         this.noAggregation = Stream.of(aggregations).allMatch(aggregation -> aggregation == Aggregation.NONE);
     }
@@ -81,6 +90,11 @@ class ThreadLocalRelationshipsBuilder {
                 propertiesAllocator.close();
             }
         }
+        propertyCompression = null;
+    }
+
+    long compressedAdjacencyBytes() {
+        return compressedAdjacencyBytes;
     }
 
     int applyVariableDeltaEncoding(
@@ -103,9 +117,7 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        long address = copyIds(storage, requiredBytes, degree);
-        adjacencyOffsets[localId] = address;
+        adjacencyOffsets[localId] = copyIds(buffer, storage, degree);
         array.release();
         return degree;
     }
@@ -119,15 +131,23 @@ class ThreadLocalRelationshipsBuilder {
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
+        adjacencyOffsets[localId] = copyIds(buffer, storage, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
 
         array.release();
         return degree;
     }
 
+    private long copyIds(LongsRef buffer, byte[] storage, int degree) {
+        if (bitPacked) {
+            return copyPackedIds(buffer.longs, degree);
+        }
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        return copyIds(storage, requiredBytes, degree);
+    }
+
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
+        compressedAdjacencyBytes += requiredBytes;
         // sizeOf(degree) + compression bytes
         var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
         slice.writeInt(degree);
@@ -135,6 +155,16 @@ class ThreadLocalRelationshipsBuilder {
         return slice.address();
     }
 
+    private long copyPackedIds(long[] deltas, int degree) {
+        int requiredBytes = BitPackedEncoding.packedSize(deltas, degree);
+        compressedAdjacencyBytes += requiredBytes;
+        var slice = adjacencyAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        slice.writeInt(degree);
+        BitPackedEncoding.pack(deltas, degree, slice.page(), slice.offset());
+        slice.bytesWritten(requiredBytes);
+        return slice.address();
+    }
+
     private void copyProperties(long[][] properties, int degree, int localId, long[][] offsets) {
         for (int i = 0; i < properties.length; i++) {
             long[] property = properties[i];
@@ -145,6 +175,9 @@ class ThreadLocalRelationshipsBuilder {
     }
 
     private long copyProperties(long[] properties, int degree, AdjacencyListAllocator propertiesAllocator) {
+        if (compressProperties) {
+            return copyCompressedProperties(properties, degree, propertiesAllocator);
+        }
         int requiredBytes = degree * Long.BYTES;
         var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
         slice.writeInt(degree);
@@ -157,4 +190,17 @@ class ThreadLocalRelationshipsBuilder {
         slice.bytesWritten(requiredBytes);
         return slice.address();
     }
+
+    private long copyCompressedProperties(long[] properties, int degree, AdjacencyListAllocator propertiesAllocator) {
+        if (propertyCompression == null) {
+            propertyCompression = new PropertyCompression();
+        }
+        int requiredBytes = propertyCompression.compressedSize(properties, degree);
+        var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        slice.writeInt(degree);
+        int offset = slice.offset();
+        propertyCompression.compress(properties, degree, slice.page(), offset);
+        slice.bytesWritten(requiredBytes);
+        return slice.address();
+    }
 }
@@ -19,6 +19,12 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.CompressedPropertyList;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyList;
+import org.neo4j.graphalgo.core.huge.OffHeapPages;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
@@ -45,16 +51,55 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     private final AllocationTracker tracker;
     private final ReentrantLock growLock;
     private final AtomicInteger allocatedPages;
+    private final Layout layout;
+    private final @Nullable OffHeapPages.Target offHeapTarget;
 
     @SuppressWarnings("FieldMayBeFinal")
     private volatile byte[][] pages;
 
+    private AdjacencyList adjacencyList;
+
     public static AdjacencyListBuilderFactory builderFactory(AllocationTracker tracker){
-        return () -> new TransientAdjacencyListBuilder(tracker);
+        return builderFactory(tracker, null);
+    }
+
+    /**
+     * Returns a factory for builders that move their pages to {@code offHeapTarget} when built.
+     * The pages stay on heap, if {@code offHeapTarget} is {@code null}.
+     */
+    public static AdjacencyListBuilderFactory builderFactory(
+        AllocationTracker tracker,
+        @Nullable OffHeapPages.Target offHeapTarget
+    ) {
+        return new AdjacencyListBuilderFactory() {
+            @Override
+            public AdjacencyListBuilder newAdjacencyListBuilder() {
+                return new TransientAdjacencyListBuilder(tracker, Layout.VAR_LONG, offHeapTarget);
+            }
+
+            @Override
+            public AdjacencyListBuilder newCompressedPropertiesBuilder() {
+                return new TransientAdjacencyListBuilder(tracker, Layout.COMPRESSED_PROPERTIES, offHeapTarget);
+            }
+
+            @Override
+            public AdjacencyListBuilder newBitPackedAdjacencyListBuilder() {
+                if (offHeapTarget != null) {
+                    throw new UnsupportedOperationException("Bit-packed adjacency lists can only be stored on heap.");
+                }
+                return new TransientAdjacencyListBuilder(tracker, Layout.BIT_PACKED, null);
+            }
+        };
     }
 
-    private TransientAdjacencyListBuilder(AllocationTracker tracker) {
+    private TransientAdjacencyListBuilder(
+        AllocationTracker tracker,
+        Layout layout,
+        @Nullable OffHeapPages.Target offHeapTarget
+    ) {
         this.tracker = tracker;
+        this.layout = layout;
+        this.offHeapTarget = offHeapTarget;
         growLock = new ReentrantLock(true);
         allocatedPages = new AtomicInteger();
         pages = new byte[0][];
@@ -65,8 +110,34 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
         return new Allocator(this);
     }
 
-    public TransientAdjacencyList build() {
-        return new TransientAdjacencyList(pages);
+    public AdjacencyList build() {
+        if (offHeapTarget == null) {
+            switch (layout) {
+                case COMPRESSED_PROPERTIES:
+                    return new CompressedPropertyList(pages);
+                case BIT_PACKED:
+                    return new BitPackedAdjacencyList(pages);
+                default:
+                    return new TransientAdjacencyList(pages);
+            }
+        }
+        // moving the pages is expensive, so we only do it once
+        if (adjacencyList == null) {
+            adjacencyList = new OffHeapAdjacencyList(
+                OffHeapPages.copyOf(pages, offHeapTarget),
+                layout == Layout.COMPRESSED_PROPERTIES
+            );
+            // the off-heap pages track themselves, the heap pages are dropped
+            long heapPagesSize = sizeOfObjectArrayElements(pages.length);
+            for (byte[] page : pages) {
+                if (page != null) {
+                    heapPagesSize += sizeOfByteArray(page.length);
+                }
+            }
+            tracker.remove(heapPagesSize);
+            pages = new byte[0][];
+        }
+        return adjacencyList;
     }
 
     @Override
@@ -146,6 +217,16 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
         PAGES_UPDATER.set(this, newPages);
     }
 
+    /**
+     * The layout of the data written into the pages.
+     * Uncompressed relationship properties share the layout with VarLong encoded adjacency lists.
+     */
+    private enum Layout {
+        VAR_LONG,
+        COMPRESSED_PROPERTIES,
+        BIT_PACKED
+    }
+
     static final class Allocator implements AdjacencyListAllocator, AdjacencyListPageSlice {
 
         private final TransientAdjacencyListBuilder builder;
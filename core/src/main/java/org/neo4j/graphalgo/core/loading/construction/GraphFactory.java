@@ -82,6 +82,7 @@ public final class GraphFactory {
         Optional<Boolean> loadRelationshipProperty,
         Optional<Aggregation> aggregation,
         Optional<Boolean> preAggregate,
+        Optional<Boolean> compressProperties,
         Optional<Integer> concurrency,
         Optional<ExecutorService> executorService,
         Optional<AllocationTracker> tracker
@@ -92,6 +93,7 @@ public final class GraphFactory {
             loadRelationshipProperty.orElse(false),
             aggregation.orElse(Aggregation.NONE),
             preAggregate.orElse(false),
+            compressProperties.orElse(false),
             concurrency.orElse(1),
             executorService.orElse(Pools.DEFAULT),
             tracker.orElse(AllocationTracker.empty())
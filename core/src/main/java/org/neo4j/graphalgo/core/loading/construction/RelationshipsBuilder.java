@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.loading.AdjacencyBuilder;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.loading.ImportSizing;
 import org.neo4j.graphalgo.core.loading.RelationshipImporter;
 import org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer;
@@ -66,6 +67,7 @@ public class RelationshipsBuilder {
         boolean loadRelationshipProperty,
         Aggregation aggregation,
         boolean preAggregate,
+        boolean compressProperties,
         int concurrency,
         ExecutorService executorService,
         AllocationTracker tracker
@@ -98,7 +100,9 @@ public class RelationshipsBuilder {
         this.relationshipsBuilder = new org.neo4j.graphalgo.core.loading.RelationshipsBuilder(
             projectionBuilder.build(),
             TransientAdjacencyListBuilder.builderFactory(tracker),
-            TransientAdjacencyOffsets.forPageSize(pageSize)
+            TransientAdjacencyOffsets.forPageSize(pageSize),
+            AdjacencyEncoding.VAR_LONG,
+            compressProperties
         );
 
         AdjacencyBuilder adjacencyBuilder = AdjacencyBuilder.compressing(
@@ -23,8 +23,6 @@ import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
-import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
-import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -100,15 +98,15 @@ public class RelationshipStore {
 
         // for each relationship type, merge its Topology list and all associated Property lists
         topologies.forEach((relationshipType, topology) -> {
-            var adjacencyList = (TransientAdjacencyList) topology.list();
-            var adjacencyOffsets = (TransientAdjacencyOffsets) topology.offsets();
+            var adjacencyList = topology.list();
+            var adjacencyOffsets = topology.offsets();
 
             var propertyLists = properties.getOrDefault(relationshipType, Map.of())
                 .entrySet()
                 .stream()
                 .collect(Collectors.toMap(
                     Map.Entry::getKey,
-                    entry -> (TransientAdjacencyList) entry.getValue().list()
+                    entry -> entry.getValue().list()
                 ));
 
             var propertyOffsets = properties.getOrDefault(relationshipType, Map.of())
@@ -116,7 +114,7 @@ public class RelationshipStore {
                 .stream()
                 .collect(Collectors.toMap(
                     Map.Entry::getKey,
-                    entry -> (TransientAdjacencyOffsets) entry.getValue().offsets()
+                    entry -> entry.getValue().offsets()
                 ));
 
             // iff relationshipType is '*', change it the given default
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.binary;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * File names and encodings shared by {@link GraphSnapshotWriter} and {@link GraphSnapshotReader}.
+ *
+ * A snapshot is a directory with a metadata file, which is written last,
+ * and one file per column: the original node ids followed by the label bitsets,
+ * one file per node property, and a pages and an offsets file per adjacency list
+ * and relationship property. Column files are little endian, so that pages can
+ * be mapped and read without conversion.
+ */
+final class GraphSnapshotFormat {
+
+    static final int MAGIC = 0x47445353; // GDSS
+    static final int VERSION = 1;
+
+    static final String META_FILE = "graph.meta";
+    static final String NODES_FILE = "nodes.bin";
+
+    static final int NULL_ARRAY = -1;
+
+    // the kind of graph create config a snapshot was created from
+    static final String STORE_CONFIG = "store";
+    static final String CYPHER_CONFIG = "cypher";
+    static final String RANDOM_CONFIG = "random";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private GraphSnapshotFormat() {}
+
+    static String nodePropertyFile(int column) {
+        return formatWithLocale("node-property-%d.bin", column);
+    }
+
+    static String adjacencyPagesFile(int relationshipType) {
+        return formatWithLocale("relationships-%d.pages", relationshipType);
+    }
+
+    static String adjacencyOffsetsFile(int relationshipType) {
+        return formatWithLocale("relationships-%d.offsets", relationshipType);
+    }
+
+    static String propertyPagesFile(int relationshipType, int property) {
+        return formatWithLocale("relationship-property-%d-%d.pages", relationshipType, property);
+    }
+
+    static String propertyOffsetsFile(int relationshipType, int property) {
+        return formatWithLocale("relationship-property-%d-%d.offsets", relationshipType, property);
+    }
+
+    // values of the metadata file, such as default values and the graph create config
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte LONG_ARRAY = 5;
+    private static final byte DOUBLE_ARRAY = 6;
+    private static final byte FLOAT_ARRAY = 7;
+    private static final byte LIST = 8;
+    private static final byte MAP = 9;
+
+    static void writeValue(DataOutput out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String || value instanceof Enum) {
+            out.writeByte(STRING);
+            out.writeUTF(value instanceof Enum ? ((Enum<?>) value).name() : (String) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof long[]) {
+            long[] array = (long[]) value;
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(array.length);
+            for (long element : array) {
+                out.writeLong(element);
+            }
+        } else if (value instanceof double[]) {
+            double[] array = (double[]) value;
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (double element : array) {
+                out.writeDouble(element);
+            }
+        } else if (value instanceof float[]) {
+            float[] array = (float[]) value;
+            out.writeByte(FLOAT_ARRAY);
+            out.writeInt(array.length);
+            for (float element : array) {
+                out.writeFloat(element);
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeUTF(String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Values of type %s cannot be stored in a graph snapshot.",
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    static @Nullable Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case LONG_ARRAY: {
+                long[] array = new long[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return array;
+            }
+            case DOUBLE_ARRAY: {
+                double[] array = new double[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readDouble();
+                }
+                return array;
+            }
+            case FLOAT_ARRAY: {
+                float[] array = new float[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readFloat();
+                }
+                return array;
+            }
+            case LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case MAP: {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(in.readUTF(), readValue(in));
+                }
+                return map;
+            }
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown value type %d in graph snapshot.", type));
+        }
+    }
+
+    static void writeIntArray(DataOutput out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    static int[] readIntArray(DataInput in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Reads {@code buffer.remaining()} bytes, starting at {@code position}.
+     * Positional reads do not change the position of the channel, so one channel can be shared between threads.
+     */
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException(formatWithLocale("Graph snapshot file ended unexpectedly at %d.", position));
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Buffered, little endian writes into a new file.
+     */
+    static final class ColumnWriter implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        ColumnWriter(Path file) throws IOException {
+            this.channel = FileChannel.open(file, CREATE_NEW, WRITE);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void writeInt(int value) throws IOException {
+            ensureCapacity(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            ensureCapacity(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                ensureCapacity(1);
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        private void ensureCapacity(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
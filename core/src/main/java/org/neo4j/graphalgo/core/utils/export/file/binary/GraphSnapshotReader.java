@@ -0,0 +1,679 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.binary;
+
+import com.carrotsearch.hppc.BitSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.NodePropertyStore;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.PropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyList;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.OffHeapPages;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.IdMapBuilder;
+import org.neo4j.graphalgo.core.loading.ImportSizing;
+import org.neo4j.graphalgo.core.loading.NodeReordering;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.CYPHER_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.MAGIC;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.META_FILE;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.NODES_FILE;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.NULL_ARRAY;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.RANDOM_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.STORE_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.VERSION;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.readFully;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.readIntArray;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.readValue;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfByteArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Loads a snapshot that was written by {@link GraphSnapshotWriter} into a {@link CSRGraphStore}.
+ *
+ * Pages of adjacency lists, relationship properties and offsets are either mapped
+ * from the snapshot files or bulk-read in parallel into the given {@link AdjacencyStorage},
+ * which defaults to the storage of the graph that the snapshot was written from.
+ * Bit-packed adjacency lists are re-encoded after reading, if they are restored on heap.
+ * Node ids and properties are always read onto the heap.
+ */
+public final class GraphSnapshotReader {
+
+    // number of bytes that a single task reads at once into a temporary buffer
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final @Nullable AdjacencyStorage requestedStorage;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    // reads that are collected while the graph store is assembled and run in parallel afterwards
+    private final List<Runnable> reads;
+    private final List<FileChannel> channels;
+
+    // resolved when the metadata is read
+    private AdjacencyStorage storage;
+
+    /**
+     * Reads the snapshot into the adjacency storage and encoding of the graph that it was written from.
+     */
+    public static GraphSnapshotReader of(Path directory, int concurrency, AllocationTracker tracker) {
+        return new GraphSnapshotReader(directory, null, concurrency, tracker);
+    }
+
+    public static GraphSnapshotReader of(
+        Path directory,
+        AdjacencyStorage storage,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        return new GraphSnapshotReader(directory, storage, concurrency, tracker);
+    }
+
+    private GraphSnapshotReader(
+        Path directory,
+        @Nullable AdjacencyStorage requestedStorage,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        this.directory = directory;
+        this.requestedStorage = requestedStorage;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+        this.reads = new ArrayList<>();
+        this.channels = new ArrayList<>();
+    }
+
+    public GraphStoreWithConfig read(String username, String graphName, NamedDatabaseId databaseId) {
+        try {
+            return read(username, graphName, databaseId, directory.resolve(META_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeChannels();
+        }
+    }
+
+    private GraphStoreWithConfig read(
+        String username,
+        String graphName,
+        NamedDatabaseId databaseId,
+        Path metaFile
+    ) throws IOException {
+        if (!Files.exists(metaFile)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The directory `%s` does not contain a complete graph snapshot.",
+                directory.getFileName()
+            ));
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(metaFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The file `%s` is not a graph snapshot.",
+                    metaFile.getFileName()
+                ));
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Graph snapshot version %d is not supported, expected version %d.",
+                    version,
+                    VERSION
+                ));
+            }
+
+            String configKind = in.readUTF();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> configMap = (Map<String, Object>) readValue(in);
+            storage = Objects.requireNonNullElse(
+                requestedStorage,
+                Objects.requireNonNullElse(AdjacencyStorage.parse(configMap.get("adjacencyStorage")), AdjacencyStorage.HEAP)
+            );
+            GraphCreateConfig createConfig = createConfig(configKind, configMap, username, graphName);
+
+            long nodeCount = in.readLong();
+            long highestOriginalId = in.readLong();
+            List<NodeLabel> labels = new ArrayList<>();
+            for (int i = 0, labelCount = in.readInt(); i < labelCount; i++) {
+                labels.add(NodeLabel.of(in.readUTF()));
+            }
+            HugeLongArray originalIds = HugeLongArray.newArray(nodeCount, tracker);
+            Map<NodeLabel, BitSet> labelInformation = readNodes(nodeCount, originalIds, labels);
+
+            List<NodeProperties> columns = new ArrayList<>();
+            for (int column = 0, columnCount = in.readInt(); column < columnCount; column++) {
+                columns.add(readNodeProperty(ValueType.valueOf(in.readUTF()), column, nodeCount));
+            }
+            Map<NodeLabel, NodePropertyStore.Builder> nodePropertyStores = new HashMap<>();
+            for (int i = 0, propertyCount = in.readInt(); i < propertyCount; i++) {
+                NodeLabel label = NodeLabel.of(in.readUTF());
+                PropertySchema propertySchema = readPropertySchema(in);
+                NodeProperties values = columns.get(in.readInt());
+                nodePropertyStores
+                    .computeIfAbsent(label, ignore -> NodePropertyStore.builder())
+                    .putNodeProperty(
+                        propertySchema.key(),
+                        NodeProperty.of(propertySchema.key(), propertySchema.state(), values, propertySchema.defaultValue())
+                    );
+            }
+
+            Map<RelationshipType, Relationships.Topology> topologies = new HashMap<>();
+            Map<RelationshipType, RelationshipPropertyStore> relationshipPropertyStores = new HashMap<>();
+            for (int type = 0, typeCount = in.readInt(); type < typeCount; type++) {
+                RelationshipType relationshipType = RelationshipType.of(in.readUTF());
+                Orientation orientation = Orientation.valueOf(in.readUTF());
+                boolean isMultiGraph = in.readBoolean();
+                long elementCount = in.readLong();
+                topologies.put(relationshipType, ImmutableTopology.of(
+                    readList(GraphSnapshotFormat.adjacencyPagesFile(type), readIntArray(in)),
+                    readOffsets(GraphSnapshotFormat.adjacencyOffsetsFile(type), nodeCount),
+                    elementCount,
+                    orientation,
+                    isMultiGraph
+                ));
+
+                int propertyCount = in.readInt();
+                if (propertyCount == 0) {
+                    continue;
+                }
+                RelationshipPropertyStore.Builder propertyStore = RelationshipPropertyStore.builder();
+                for (int property = 0; property < propertyCount; property++) {
+                    PropertySchema propertySchema = readPropertySchema(in);
+                    Aggregation aggregation = Aggregation.valueOf(in.readUTF());
+                    double defaultPropertyValue = in.readDouble();
+                    Relationships.Properties values = ImmutableProperties.of(
+                        readList(GraphSnapshotFormat.propertyPagesFile(type, property), readIntArray(in)),
+                        readOffsets(GraphSnapshotFormat.propertyOffsetsFile(type, property), nodeCount),
+                        elementCount,
+                        orientation,
+                        isMultiGraph,
+                        defaultPropertyValue
+                    );
+                    propertyStore.putIfAbsent(propertySchema.key(), ImmutableRelationshipProperty.of(
+                        values,
+                        RelationshipPropertySchema.of(
+                            propertySchema.key(),
+                            propertySchema.valueType(),
+                            propertySchema.defaultValue(),
+                            propertySchema.state(),
+                            aggregation
+                        )
+                    ));
+                }
+                relationshipPropertyStores.put(relationshipType, propertyStore.build());
+            }
+
+            ParallelUtil.runWithConcurrency(concurrency, reads, Pools.DEFAULT);
+
+            HugeSparseLongArray nodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+                nodeCount,
+                highestOriginalId,
+                concurrency,
+                IdMapBuilder.add(originalIds),
+                tracker
+            );
+            IdMap nodes = new IdMap(originalIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+
+            Map<NodeLabel, NodePropertyStore> nodeProperties = new HashMap<>();
+            nodePropertyStores.forEach((label, builder) -> nodeProperties.put(label, builder.build()));
+
+            if (createConfig.adjacencyEncoding() != AdjacencyEncoding.VAR_LONG || createConfig.compressRelationshipProperties()) {
+                NodeReordering.reencode(createConfig, nodes, topologies, relationshipPropertyStores, tracker);
+            }
+
+            GraphStore graphStore = CSRGraphStore.of(
+                databaseId,
+                nodes,
+                nodeProperties,
+                topologies,
+                relationshipPropertyStores,
+                concurrency,
+                tracker
+            );
+            return GraphStoreWithConfig.of(graphStore, createConfig);
+        }
+    }
+
+    private GraphCreateConfig createConfig(
+        String configKind,
+        Map<String, Object> configMap,
+        String username,
+        String graphName
+    ) {
+        CypherMapWrapper config = CypherMapWrapper
+            .create(configMap)
+            .withString("adjacencyStorage", storage.name());
+        // the pages of a snapshot are VarLong encoded, they can only be re-encoded on heap
+        if (storage != AdjacencyStorage.HEAP) {
+            config = config
+                .withString("adjacencyEncoding", AdjacencyEncoding.VAR_LONG.name())
+                .withBoolean("compressRelationshipProperties", false);
+        }
+        switch (configKind) {
+            case STORE_CONFIG:
+                return GraphCreateFromStoreConfig.of(username, graphName, null, null, config);
+            case CYPHER_CONFIG:
+                return GraphCreateFromCypherConfig.of(username, graphName, null, null, config);
+            case RANDOM_CONFIG:
+                return RandomGraphGeneratorConfig.of(
+                    username,
+                    graphName,
+                    config.requireLong(GraphCreateConfig.NODE_COUNT_KEY),
+                    config.requireLong("averageDegree"),
+                    config.withoutAny(List.of(GraphCreateConfig.NODE_COUNT_KEY, "averageDegree"))
+                );
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown graph create config `%s`.", configKind));
+        }
+    }
+
+    private static PropertySchema readPropertySchema(DataInputStream in) throws IOException {
+        String key = in.readUTF();
+        ValueType valueType = ValueType.valueOf(in.readUTF());
+        GraphStore.PropertyState state = GraphStore.PropertyState.valueOf(in.readUTF());
+        boolean isUserDefined = in.readBoolean();
+        DefaultValue defaultValue = DefaultValue.of(readValue(in), isUserDefined);
+        return PropertySchema.of(key, valueType, defaultValue, state);
+    }
+
+    private Map<NodeLabel, BitSet> readNodes(
+        long nodeCount,
+        HugeLongArray originalIds,
+        List<NodeLabel> labels
+    ) throws IOException {
+        FileChannel channel = open(NODES_FILE);
+        addParallelReads(channel, nodeCount, originalIds::set);
+
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        int wordCount = BitSet.bits2words(nodeCount);
+        long position = nodeCount * Long.BYTES;
+        for (NodeLabel label : labels) {
+            long[] words = new long[wordCount];
+            long labelPosition = position;
+            reads.add(() -> readLongs(channel, labelPosition, wordCount, (index, value) -> words[(int) index] = value));
+            labelInformation.put(label, new BitSet(words, wordCount));
+            tracker.add(sizeOfLongArray(wordCount));
+            position += (long) wordCount * Long.BYTES;
+        }
+        return labelInformation;
+    }
+
+    private NodeProperties readNodeProperty(ValueType valueType, int column, long nodeCount) throws IOException {
+        FileChannel channel = open(GraphSnapshotFormat.nodePropertyFile(column));
+        switch (valueType) {
+            case LONG: {
+                HugeLongArray values = HugeLongArray.newArray(nodeCount, tracker);
+                addParallelReads(channel, nodeCount, values::set);
+                return new LongColumn(values);
+            }
+            case DOUBLE: {
+                HugeDoubleArray values = HugeDoubleArray.newArray(nodeCount, tracker);
+                addParallelReads(channel, nodeCount, (nodeId, value) -> values.set(nodeId, Double.longBitsToDouble(value)));
+                return values.asNodeProperties();
+            }
+            case LONG_ARRAY: {
+                HugeObjectArray<long[]> values = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                reads.add(() -> readArrays(channel, nodeCount, Long.BYTES, (nodeId, in, length) -> {
+                    long[] array = new long[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = in.getLong();
+                    }
+                    values.set(nodeId, array);
+                }));
+                return new LongArrayNodeProperties() {
+                    @Override
+                    public long[] longArrayValue(long nodeId) {
+                        return values.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return values.size();
+                    }
+                };
+            }
+            case DOUBLE_ARRAY: {
+                HugeObjectArray<double[]> values = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                reads.add(() -> readArrays(channel, nodeCount, Long.BYTES, (nodeId, in, length) -> {
+                    double[] array = new double[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = Double.longBitsToDouble(in.getLong());
+                    }
+                    values.set(nodeId, array);
+                }));
+                return new DoubleArrayNodeProperties() {
+                    @Override
+                    public double[] doubleArrayValue(long nodeId) {
+                        return values.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return values.size();
+                    }
+                };
+            }
+            case FLOAT_ARRAY: {
+                HugeObjectArray<float[]> values = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                reads.add(() -> readArrays(channel, nodeCount, Float.BYTES, (nodeId, in, length) -> {
+                    float[] array = new float[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = Float.intBitsToFloat(in.getInt());
+                    }
+                    values.set(nodeId, array);
+                }));
+                return new FloatArrayNodeProperties() {
+                    @Override
+                    public float[] floatArrayValue(long nodeId) {
+                        return values.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return values.size();
+                    }
+                };
+            }
+            default:
+                throw new IllegalStateException(formatWithLocale("Unexpected node property type %s.", valueType));
+        }
+    }
+
+    private AdjacencyList readList(String fileName, int[] pageSizes) throws IOException {
+        Path file = directory.resolve(fileName);
+        switch (storage) {
+            case MEMORY_MAPPED:
+                return new OffHeapAdjacencyList(OffHeapPages.map(file, 0L, pageSizes, tracker), false);
+            case OFF_HEAP:
+                return new OffHeapAdjacencyList(readDirectPages(fileName, pageSizes), false);
+            default:
+                FileChannel channel = open(fileName);
+                byte[][] pages = new byte[pageSizes.length][];
+                long position = 0L;
+                for (int pageIndex = 0; pageIndex < pageSizes.length; pageIndex++) {
+                    byte[] page = new byte[pageSizes[pageIndex]];
+                    long pagePosition = position;
+                    reads.add(io(() -> readFully(channel, ByteBuffer.wrap(page), pagePosition)));
+                    tracker.add(sizeOfByteArray(page.length));
+                    pages[pageIndex] = page;
+                    position += page.length;
+                }
+                return new TransientAdjacencyList(pages);
+        }
+    }
+
+    private AdjacencyOffsets readOffsets(String fileName, long nodeCount) throws IOException {
+        switch (storage) {
+            case MEMORY_MAPPED:
+                return OffHeapAdjacencyOffsets.of(OffHeapPages.map(
+                    directory.resolve(fileName),
+                    0L,
+                    OffHeapAdjacencyOffsets.pageSizes(nodeCount),
+                    tracker
+                ));
+            case OFF_HEAP:
+                return OffHeapAdjacencyOffsets.of(readDirectPages(fileName, OffHeapAdjacencyOffsets.pageSizes(nodeCount)));
+            default:
+                FileChannel channel = open(fileName);
+                ImportSizing sizing = ImportSizing.of(concurrency, nodeCount);
+                int pageSize = sizing.pageSize();
+                long[][] pages = new long[sizing.numberOfPages()][];
+                for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+                    long start = (long) pageIndex * pageSize;
+                    long[] page = new long[(int) Math.min(pageSize, nodeCount - start)];
+                    reads.add(() -> readLongs(channel, start * Long.BYTES, page.length, (index, value) -> page[(int) index] = value));
+                    tracker.add(sizeOfLongArray(page.length));
+                    pages[pageIndex] = page;
+                }
+                return TransientAdjacencyOffsets.forPageSize(pageSize).newOffsets(pages);
+        }
+    }
+
+    private OffHeapPages readDirectPages(String fileName, int[] pageSizes) throws IOException {
+        FileChannel channel = open(fileName);
+        OffHeapPages pages = OffHeapPages.copyOf(pageSizes, (pageIndex, page) -> {}, OffHeapPages.Target.direct(tracker));
+        long position = 0L;
+        for (int pageIndex = 0; pageIndex < pageSizes.length; pageIndex++) {
+            ByteBuffer page = pages.page(pageIndex).duplicate();
+            long pagePosition = position;
+            reads.add(io(() -> readFully(channel, page, pagePosition)));
+            position += pageSizes[pageIndex];
+        }
+        return pages;
+    }
+
+    /**
+     * Splits reading {@code count} longs from the start of the file into one read per thread.
+     */
+    private void addParallelReads(FileChannel channel, long count, LongSink sink) {
+        long batchSize = ParallelUtil.threadCount(concurrency, count);
+        for (long start = 0L; start < count; start += batchSize) {
+            long batchStart = start;
+            long batchCount = Math.min(batchSize, count - start);
+            reads.add(() -> readLongs(
+                channel,
+                batchStart * Long.BYTES,
+                batchCount,
+                (index, value) -> sink.accept(batchStart + index, value)
+            ));
+        }
+    }
+
+    /**
+     * Reads {@code count} little endian longs, starting at {@code position}, in chunks of {@link #READ_BUFFER_SIZE} bytes.
+     */
+    private static void readLongs(FileChannel channel, long position, long count, LongSink sink) {
+        ByteBuffer buffer = ByteBuffer
+            .allocate((int) Math.min(READ_BUFFER_SIZE, count * Long.BYTES))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            long index = 0L;
+            while (index < count) {
+                int chunk = (int) Math.min(buffer.capacity() / Long.BYTES, count - index);
+                buffer.clear().limit(chunk * Long.BYTES);
+                readFully(channel, buffer, position + index * Long.BYTES);
+                buffer.flip();
+                for (int i = 0; i < chunk; i++, index++) {
+                    sink.accept(index, buffer.getLong());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads one length prefixed array per node. The arrays have a variable length, so they are read sequentially.
+     */
+    private static void readArrays(FileChannel channel, long nodeCount, int elementSize, ArraySink sink) {
+        try {
+            SequentialReader in = new SequentialReader(channel);
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                int length = in.require(Integer.BYTES).getInt();
+                if (length != NULL_ARRAY) {
+                    sink.accept(nodeId, in.require(length * elementSize), length);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel open(String fileName) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName), READ);
+        channels.add(channel);
+        return channel;
+    }
+
+    private void closeChannels() {
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        channels.clear();
+    }
+
+    private static Runnable io(IOAction action) {
+        return () -> {
+            try {
+                action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface LongSink {
+        void accept(long index, long value);
+    }
+
+    @FunctionalInterface
+    private interface ArraySink {
+        void accept(long nodeId, ByteBuffer in, int length);
+    }
+
+    /**
+     * Reads a file from start to end through a buffer that grows with the largest requested read.
+     */
+    private static final class SequentialReader {
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private long position;
+
+        SequentialReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN).limit(0);
+        }
+
+        /**
+         * @return the buffer, with at least {@code bytes} bytes remaining
+         */
+        ByteBuffer require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return buffer;
+            }
+            if (buffer.capacity() < bytes) {
+                buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN).put(buffer).flip();
+            }
+            buffer.compact();
+            int toRead = (int) Math.min(buffer.remaining(), channel.size() - position);
+            buffer.limit(buffer.position() + toRead);
+            readFully(channel, buffer, position);
+            position += toRead;
+            return buffer.flip();
+        }
+    }
+
+    private static final class LongColumn implements LongNodeProperties {
+        private final HugeLongArray values;
+        private OptionalLong maxValue;
+
+        LongColumn(HugeLongArray values) {
+            this.values = values;
+        }
+
+        @Override
+        public long longValue(long nodeId) {
+            return values.get(nodeId);
+        }
+
+        @Override
+        public OptionalLong getMaxLongPropertyValue() {
+            if (maxValue == null) {
+                maxValue = LongStream.range(0, values.size()).map(values::get).max();
+            }
+            return maxValue;
+        }
+
+        @Override
+        public long size() {
+            return values.size();
+        }
+    }
+}
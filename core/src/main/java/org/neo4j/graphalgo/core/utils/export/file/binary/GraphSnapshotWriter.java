@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.binary;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.schema.PropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.loading.VarLongEncoding;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.CYPHER_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.MAGIC;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.META_FILE;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.NODES_FILE;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.NULL_ARRAY;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.RANDOM_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.STORE_CONFIG;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.VERSION;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.writeIntArray;
+import static org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotFormat.writeValue;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a {@link GraphStore} into a binary snapshot that can be loaded by {@link GraphSnapshotReader}.
+ *
+ * Adjacency lists are written in the VarLong encoded page layout of
+ * {@link org.neo4j.graphalgo.core.huge.TransientAdjacencyList} and relationship
+ * properties uncompressed, independent of how they are stored in the graph store.
+ * This allows the reader to use the pages as they are, without decoding them.
+ */
+public final class GraphSnapshotWriter {
+
+    // upper bound of the encoded size of a single target id
+    private static final int MAX_VLONG_SIZE = (Long.SIZE + 6) / 7;
+
+    private final GraphStore graphStore;
+    private final GraphCreateConfig createConfig;
+    private final Path directory;
+    private final int concurrency;
+
+    public static GraphSnapshotWriter of(
+        GraphStore graphStore,
+        GraphCreateConfig createConfig,
+        Path directory,
+        int concurrency
+    ) {
+        return new GraphSnapshotWriter(graphStore, createConfig, directory, concurrency);
+    }
+
+    private GraphSnapshotWriter(GraphStore graphStore, GraphCreateConfig createConfig, Path directory, int concurrency) {
+        this.graphStore = graphStore;
+        this.createConfig = createConfig;
+        this.directory = directory;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Writes the snapshot while holding the lock of the graph store, which blocks modifications of the graph store.
+     */
+    public void run() {
+        synchronized (graphStore) {
+            write();
+        }
+    }
+
+    private void write() {
+        Map.Entry<String, Map<String, Object>> configEntry = createConfig.accept(new ConfigToMap());
+
+        NodeMapping nodes = graphStore.nodes();
+        List<NodeLabel> labels = nodes.containsOnlyAllNodesLabel()
+            ? List.of()
+            : new ArrayList<>(nodes.availableNodeLabels());
+
+        // the same values may be stored for several labels, they are written once
+        Map<NodeProperties, Integer> columnOfValues = new IdentityHashMap<>();
+        List<NodeProperties> columns = new ArrayList<>();
+        List<NodePropertyEntry> nodeProperties = new ArrayList<>();
+        graphStore.schema().nodeSchema().properties().forEach((label, propertySchemas) ->
+            propertySchemas.forEach((propertyKey, propertySchema) -> {
+                NodeProperties values = graphStore.nodePropertyValues(label, propertyKey);
+                int column = columnOfValues.computeIfAbsent(values, ignore -> {
+                    columns.add(values);
+                    return columns.size() - 1;
+                });
+                nodeProperties.add(new NodePropertyEntry(label, propertySchema, column));
+            })
+        );
+
+        List<RelationshipTypeEntry> relationshipTypes = new ArrayList<>();
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            HugeGraph graph = (HugeGraph) graphStore.getGraph(relationshipType);
+            Map<String, RelationshipPropertySchema> propertySchemas = graphStore
+                .schema()
+                .relationshipSchema()
+                .properties()
+                .getOrDefault(relationshipType, Map.of());
+            List<RelationshipPropertyEntry> properties = new ArrayList<>();
+            propertySchemas.forEach((propertyKey, propertySchema) -> {
+                HugeGraph propertyGraph = (HugeGraph) graphStore.getGraph(relationshipType, Optional.of(propertyKey));
+                properties.add(new RelationshipPropertyEntry(
+                    propertySchema,
+                    propertyGraph.relationships().properties().orElseThrow()
+                ));
+            });
+            relationshipTypes.add(new RelationshipTypeEntry(relationshipType, graph.relationshipTopology(), properties));
+        }
+
+        long[] highestOriginalId = new long[1];
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(io(() -> highestOriginalId[0] = writeNodes(nodes, labels)));
+        for (int column = 0; column < columns.size(); column++) {
+            int finalColumn = column;
+            tasks.add(io(() -> writeNodeProperty(columns.get(finalColumn), finalColumn)));
+        }
+        for (int type = 0; type < relationshipTypes.size(); type++) {
+            RelationshipTypeEntry entry = relationshipTypes.get(type);
+            Relationships.Topology topology = entry.topology;
+            int finalType = type;
+            tasks.add(io(() -> entry.pageSizes = writeAdjacency(
+                topology.list(),
+                topology.offsets(),
+                GraphSnapshotFormat.adjacencyPagesFile(finalType),
+                GraphSnapshotFormat.adjacencyOffsetsFile(finalType)
+            )));
+            for (int property = 0; property < entry.properties.size(); property++) {
+                RelationshipPropertyEntry propertyEntry = entry.properties.get(property);
+                int finalProperty = property;
+                tasks.add(io(() -> propertyEntry.pageSizes = writeProperties(
+                    propertyEntry.values.list(),
+                    propertyEntry.values.offsets(),
+                    GraphSnapshotFormat.propertyPagesFile(finalType, finalProperty),
+                    GraphSnapshotFormat.propertyOffsetsFile(finalType, finalProperty)
+                )));
+            }
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        // the metadata file is written last, so that incomplete snapshots cannot be loaded
+        io(() -> writeMetadata(
+            configEntry,
+            labels,
+            highestOriginalId[0],
+            columns,
+            nodeProperties,
+            relationshipTypes
+        )).run();
+    }
+
+    private void writeMetadata(
+        Map.Entry<String, Map<String, Object>> configEntry,
+        List<NodeLabel> labels,
+        long highestOriginalId,
+        List<NodeProperties> columns,
+        List<NodePropertyEntry> nodeProperties,
+        List<RelationshipTypeEntry> relationshipTypes
+    ) throws IOException {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+            directory.resolve(META_FILE),
+            CREATE_NEW,
+            WRITE
+        )))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(configEntry.getKey());
+            writeValue(out, configEntry.getValue());
+
+            out.writeLong(graphStore.nodeCount());
+            out.writeLong(highestOriginalId);
+            out.writeInt(labels.size());
+            for (NodeLabel label : labels) {
+                out.writeUTF(label.name);
+            }
+
+            out.writeInt(columns.size());
+            for (NodeProperties column : columns) {
+                out.writeUTF(column.valueType().name());
+            }
+            out.writeInt(nodeProperties.size());
+            for (NodePropertyEntry entry : nodeProperties) {
+                out.writeUTF(entry.label.name);
+                writePropertySchema(out, entry.propertySchema);
+                out.writeInt(entry.column);
+            }
+
+            out.writeInt(relationshipTypes.size());
+            for (RelationshipTypeEntry entry : relationshipTypes) {
+                out.writeUTF(entry.relationshipType.name);
+                out.writeUTF(entry.topology.orientation().name());
+                out.writeBoolean(entry.topology.isMultiGraph());
+                out.writeLong(entry.topology.elementCount());
+                writeIntArray(out, entry.pageSizes);
+                out.writeInt(entry.properties.size());
+                for (RelationshipPropertyEntry propertyEntry : entry.properties) {
+                    writePropertySchema(out, propertyEntry.propertySchema);
+                    out.writeUTF(propertyEntry.propertySchema.aggregation().name());
+                    out.writeDouble(propertyEntry.values.defaultPropertyValue());
+                    writeIntArray(out, propertyEntry.pageSizes);
+                }
+            }
+        }
+    }
+
+    private static void writePropertySchema(DataOutputStream out, PropertySchema propertySchema) throws IOException {
+        out.writeUTF(propertySchema.key());
+        out.writeUTF(propertySchema.valueType().name());
+        out.writeUTF(propertySchema.state().name());
+        out.writeBoolean(propertySchema.defaultValue().isUserDefined());
+        writeValue(out, propertySchema.defaultValue().getObject());
+    }
+
+    /**
+     * Writes the original ids, followed by one bitset per label.
+     *
+     * @return the highest original id
+     */
+    private long writeNodes(NodeMapping nodes, List<NodeLabel> labels) throws IOException {
+        long nodeCount = nodes.nodeCount();
+        long highestOriginalId = 0L;
+        try (var out = new GraphSnapshotFormat.ColumnWriter(directory.resolve(NODES_FILE))) {
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                long originalId = nodes.toOriginalNodeId(nodeId);
+                highestOriginalId = Math.max(highestOriginalId, originalId);
+                out.writeLong(originalId);
+            }
+            for (NodeLabel label : labels) {
+                for (long wordStart = 0; wordStart < nodeCount; wordStart += Long.SIZE) {
+                    long word = 0L;
+                    long wordEnd = Math.min(nodeCount, wordStart + Long.SIZE);
+                    for (long nodeId = wordStart; nodeId < wordEnd; nodeId++) {
+                        if (nodes.hasLabel(nodeId, label)) {
+                            word |= 1L << (nodeId - wordStart);
+                        }
+                    }
+                    out.writeLong(word);
+                }
+            }
+        }
+        return highestOriginalId;
+    }
+
+    private void writeNodeProperty(NodeProperties values, int column) throws IOException {
+        long nodeCount = graphStore.nodeCount();
+        try (var out = new GraphSnapshotFormat.ColumnWriter(directory.resolve(GraphSnapshotFormat.nodePropertyFile(column)))) {
+            switch (values.valueType()) {
+                case LONG:
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        out.writeLong(values.longValue(nodeId));
+                    }
+                    break;
+                case DOUBLE:
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        out.writeLong(Double.doubleToRawLongBits(values.doubleValue(nodeId)));
+                    }
+                    break;
+                case LONG_ARRAY:
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        long[] array = values.longArrayValue(nodeId);
+                        out.writeInt(array == null ? NULL_ARRAY : array.length);
+                        if (array != null) {
+                            for (long element : array) {
+                                out.writeLong(element);
+                            }
+                        }
+                    }
+                    break;
+                case DOUBLE_ARRAY:
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        double[] array = values.doubleArrayValue(nodeId);
+                        out.writeInt(array == null ? NULL_ARRAY : array.length);
+                        if (array != null) {
+                            for (double element : array) {
+                                out.writeLong(Double.doubleToRawLongBits(element));
+                            }
+                        }
+                    }
+                    break;
+                case FLOAT_ARRAY:
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        float[] array = values.floatArrayValue(nodeId);
+                        out.writeInt(array == null ? NULL_ARRAY : array.length);
+                        if (array != null) {
+                            for (float element : array) {
+                                out.writeInt(Float.floatToRawIntBits(element));
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Node properties of type %s cannot be stored in a graph snapshot.",
+                        values.valueType()
+                    ));
+            }
+        }
+    }
+
+    private int[] writeAdjacency(
+        AdjacencyList list,
+        AdjacencyOffsets offsets,
+        String pagesFile,
+        String offsetsFile
+    ) throws IOException {
+        AdjacencyCursor cursor = list.rawDecompressingCursor();
+        byte[] buffer = new byte[0];
+        long[] delta = new long[1];
+        try (var out = new PagedColumnWriter(directory.resolve(pagesFile), directory.resolve(offsetsFile))) {
+            for (long nodeId = 0, nodeCount = graphStore.nodeCount(); nodeId < nodeCount; nodeId++) {
+                long offset = offsets.get(nodeId);
+                int degree = offset == 0L ? 0 : list.degree(offset);
+                if (degree == 0) {
+                    out.addEmpty();
+                    continue;
+                }
+                int maxLength = Integer.BYTES + degree * MAX_VLONG_SIZE;
+                if (buffer.length < maxLength) {
+                    buffer = new byte[maxLength];
+                }
+                writeDegree(buffer, degree);
+                int length = Integer.BYTES;
+                long previous = 0L;
+                cursor.init(offset);
+                for (int i = 0; i < degree; i++) {
+                    long target = cursor.nextVLong();
+                    delta[0] = target - previous;
+                    previous = target;
+                    length = VarLongEncoding.encodeVLongs(delta, 1, buffer, length);
+                }
+                out.add(buffer, length);
+            }
+            return out.pageSizes();
+        }
+    }
+
+    private int[] writeProperties(
+        AdjacencyList list,
+        AdjacencyOffsets offsets,
+        String pagesFile,
+        String offsetsFile
+    ) throws IOException {
+        PropertyCursor cursor = list.rawCursor();
+        byte[] buffer = new byte[0];
+        try (var out = new PagedColumnWriter(directory.resolve(pagesFile), directory.resolve(offsetsFile))) {
+            for (long nodeId = 0, nodeCount = graphStore.nodeCount(); nodeId < nodeCount; nodeId++) {
+                long offset = offsets.get(nodeId);
+                int degree = offset == 0L ? 0 : list.degree(offset);
+                if (degree == 0) {
+                    out.addEmpty();
+                    continue;
+                }
+                int length = Integer.BYTES + degree * Long.BYTES;
+                if (buffer.length < length) {
+                    buffer = new byte[length];
+                }
+                writeDegree(buffer, degree);
+                cursor.init(offset);
+                for (int i = 0, position = Integer.BYTES; i < degree; i++, position += Long.BYTES) {
+                    long value = cursor.nextLong();
+                    for (int b = 0; b < Long.BYTES; b++) {
+                        buffer[position + b] = (byte) (value >>> (b << 3));
+                    }
+                }
+                out.add(buffer, length);
+            }
+            return out.pageSizes();
+        }
+    }
+
+    private static void writeDegree(byte[] buffer, int degree) {
+        buffer[0] = (byte) degree;
+        buffer[1] = (byte) (degree >>> 8);
+        buffer[2] = (byte) (degree >>> 16);
+        buffer[3] = (byte) (degree >>> 24);
+    }
+
+    private static Runnable io(IOAction action) {
+        return () -> {
+            try {
+                action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Places the runs of all nodes into pages of {@link org.neo4j.graphalgo.core.huge.TransientAdjacencyList#PAGE_SIZE}
+     * bytes, in the same way as the import does, and writes their addresses into the offsets file.
+     * Runs that are larger than a page get a page of their own.
+     */
+    private static final class PagedColumnWriter implements AutoCloseable {
+
+        private final GraphSnapshotFormat.ColumnWriter pages;
+        private final GraphSnapshotFormat.ColumnWriter offsets;
+        private final IntArrayList pageSizes;
+        private final byte[] page;
+
+        private int pageIndex;
+        private int pageOffset;
+
+        PagedColumnWriter(Path pagesFile, Path offsetsFile) throws IOException {
+            this.pages = new GraphSnapshotFormat.ColumnWriter(pagesFile);
+            this.offsets = new GraphSnapshotFormat.ColumnWriter(offsetsFile);
+            this.pageSizes = new IntArrayList();
+            this.page = new byte[PAGE_SIZE];
+            // address 0 marks nodes without relationships
+            this.pageOffset = 1;
+        }
+
+        void addEmpty() throws IOException {
+            offsets.writeLong(0L);
+        }
+
+        void add(byte[] bytes, int length) throws IOException {
+            long address;
+            if (length > PAGE_SIZE) {
+                flushPage();
+                pages.write(bytes, 0, length);
+                pageSizes.add(length);
+                address = (long) pageIndex++ << PAGE_SHIFT;
+            } else {
+                if (pageOffset + length > PAGE_SIZE) {
+                    flushPage();
+                }
+                address = ((long) pageIndex << PAGE_SHIFT) | pageOffset;
+                System.arraycopy(bytes, 0, page, pageOffset, length);
+                pageOffset += length;
+            }
+            offsets.writeLong(address);
+        }
+
+        int[] pageSizes() throws IOException {
+            flushPage();
+            return pageSizes.toArray();
+        }
+
+        private void flushPage() throws IOException {
+            if (pageOffset > 0) {
+                pages.write(page, 0, pageOffset);
+                pageSizes.add(pageOffset);
+                pageIndex++;
+                pageOffset = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                pages.close();
+            } finally {
+                offsets.close();
+            }
+        }
+    }
+
+    /**
+     * Extracts the settings that are needed to re-create the graph create config of a loaded snapshot.
+     */
+    private static final class ConfigToMap implements GraphCreateConfig.Cases<Map.Entry<String, Map<String, Object>>> {
+
+        @Override
+        public Map.Entry<String, Map<String, Object>> store(GraphCreateFromStoreConfig storeConfig) {
+            Map<String, Object> map = common(storeConfig);
+            map.put(GraphCreateFromStoreConfig.NODE_PROJECTION_KEY, storeConfig.nodeProjections().toObject());
+            map.put(GraphCreateFromStoreConfig.RELATIONSHIP_PROJECTION_KEY, storeConfig.relationshipProjections().toObject());
+            return Map.entry(STORE_CONFIG, map);
+        }
+
+        @Override
+        public Map.Entry<String, Map<String, Object>> cypher(GraphCreateFromCypherConfig cypherConfig) {
+            Map<String, Object> map = common(cypherConfig);
+            map.put(GraphCreateFromCypherConfig.NODE_QUERY_KEY, cypherConfig.nodeQuery());
+            map.put(GraphCreateFromCypherConfig.RELATIONSHIP_QUERY_KEY, cypherConfig.relationshipQuery());
+            map.put("parameters", cypherConfig.parameters());
+            return Map.entry(CYPHER_CONFIG, map);
+        }
+
+        @Override
+        public Map.Entry<String, Map<String, Object>> random(RandomGraphGeneratorConfig randomConfig) {
+            Map<String, Object> map = common(randomConfig);
+            map.put(GraphCreateConfig.NODE_COUNT_KEY, randomConfig.nodeCount());
+            map.put("averageDegree", randomConfig.averageDegree());
+            map.put("aggregation", randomConfig.aggregation());
+            map.put("orientation", randomConfig.orientation());
+            map.put("allowSelfLoops", randomConfig.allowSelfLoops());
+            map.put(RandomGraphGeneratorConfig.RELATIONSHIP_DISTRIBUTION_KEY, randomConfig.relationshipDistribution());
+            map.put(RandomGraphGeneratorConfig.RELATIONSHIP_SEED_KEY, randomConfig.relationshipSeed());
+            map.put(RandomGraphGeneratorConfig.RELATIONSHIP_PROPERTY_KEY, randomConfig.relationshipProperty());
+            return Map.entry(RANDOM_CONFIG, map);
+        }
+
+        private static Map<String, Object> common(GraphCreateConfig config) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put(GraphCreateConfig.READ_CONCURRENCY_KEY, config.readConcurrency());
+            map.put("nodeOrdering", config.nodeOrdering());
+            // the pages are written VarLong encoded, the reader restores the storage and encoding of the graph
+            map.put("adjacencyStorage", config.adjacencyStorage());
+            map.put("adjacencyEncoding", config.adjacencyEncoding());
+            map.put("compressRelationshipProperties", config.compressRelationshipProperties());
+            return map;
+        }
+    }
+
+    private static final class NodePropertyEntry {
+        final NodeLabel label;
+        final PropertySchema propertySchema;
+        final int column;
+
+        NodePropertyEntry(NodeLabel label, PropertySchema propertySchema, int column) {
+            this.label = label;
+            this.propertySchema = propertySchema;
+            this.column = column;
+        }
+    }
+
+    private static final class RelationshipTypeEntry {
+        final RelationshipType relationshipType;
+        final Relationships.Topology topology;
+        final List<RelationshipPropertyEntry> properties;
+        int[] pageSizes;
+
+        RelationshipTypeEntry(
+            RelationshipType relationshipType,
+            Relationships.Topology topology,
+            List<RelationshipPropertyEntry> properties
+        ) {
+            this.relationshipType = relationshipType;
+            this.topology = topology;
+            this.properties = properties;
+        }
+    }
+
+    private static final class RelationshipPropertyEntry {
+        final RelationshipPropertySchema propertySchema;
+        final Relationships.Properties values;
+        int[] pageSizes;
+
+        RelationshipPropertyEntry(RelationshipPropertySchema propertySchema, Relationships.Properties values) {
+            this.propertySchema = propertySchema;
+            this.values = values;
+        }
+    }
+}
@@ -317,6 +317,8 @@ public final class MemoryUsage {
 
     private static final Pattern ADJ_LIST = Pattern.compile("^.relationships.table\\[\\d+].value.list.*$");
     private static final Pattern ADJ_OFFSETS = Pattern.compile("^.relationships.table\\[\\d+].value.offsets.*$");
+    private static final Pattern PROPERTY_LIST = Pattern.compile("^.relationshipProperties\\..*\\.values\\.list.*$");
+    private static final Pattern PROPERTY_OFFSETS = Pattern.compile("^.relationshipProperties\\..*\\.values\\.offsets.*$");
     private static final Pattern DOT = Pattern.compile("\\.");
 
     @ValueClass
@@ -345,6 +347,7 @@ public final class MemoryUsage {
         long total();
         IdMapMem idMap();
         AdjacencyMem adjacencies();
+        AdjacencyMem relationshipProperties();
         Map<String, Long> fields();
     }
 
@@ -360,6 +363,8 @@ public final class MemoryUsage {
         var backwardMapping = new MutableLong();
         var adjOffsets = new MutableLong();
         var adjLists = new MutableLong();
+        var propertyOffsets = new MutableLong();
+        var propertyLists = new MutableLong();
 
         var byField = new HashMap<String, MutableLong>();
 
@@ -387,6 +392,12 @@ public final class MemoryUsage {
             if (ADJ_OFFSETS.matcher(path).matches()) {
                 adjOffsets.add(size);
             }
+            if (PROPERTY_LIST.matcher(path).matches()) {
+                propertyLists.add(size);
+            }
+            if (PROPERTY_OFFSETS.matcher(path).matches()) {
+                propertyOffsets.add(size);
+            }
             totalSize.add(size);
         });
         graphWalker.walk();
@@ -403,6 +414,11 @@ public final class MemoryUsage {
                 .offsets(adjOffsets.longValue())
                 .list(adjLists.longValue())
                 .build()
+            )
+            .relationshipProperties(ImmutableAdjacencyMem.builder()
+                .offsets(propertyOffsets.longValue())
+                .list(propertyLists.longValue())
+                .build()
             );
         byField.forEach((field, size) -> builder.putField(field, size.longValue()));
         return builder.build();
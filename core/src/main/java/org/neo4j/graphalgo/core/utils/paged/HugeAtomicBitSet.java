@@ -23,6 +23,8 @@ import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.util.function.LongConsumer;
+
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.MAX_ARRAY_LENGTH;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -190,6 +192,63 @@ public final class HugeAtomicBitSet {
         return setBitCount;
     }
 
+    /**
+     * Returns the number of set bits in the given range.
+     * The start index must be a multiple of 64.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public long cardinality(long startIndex, long endIndex) {
+        assert startIndex % NUM_BITS == 0 : "start index must be word-aligned";
+        assert endIndex <= numBits;
+
+        long setBitCount = 0;
+        long wordIndex = startIndex / NUM_BITS;
+        long lastWordIndex = (endIndex - 1) / NUM_BITS;
+
+        for (; wordIndex < lastWordIndex; wordIndex++) {
+            setBitCount += Long.bitCount(bits.get(wordIndex));
+        }
+        if (startIndex < endIndex) {
+            setBitCount += Long.bitCount(bits.get(lastWordIndex) & lastWordMask(endIndex));
+        }
+
+        return setBitCount;
+    }
+
+    /**
+     * Calls the given consumer with the index of each set bit in the given range, in ascending order.
+     * The start index must be a multiple of 64.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public void forEachSetBit(long startIndex, long endIndex, LongConsumer consumer) {
+        assert startIndex % NUM_BITS == 0 : "start index must be word-aligned";
+        assert endIndex <= numBits;
+
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        long lastWordIndex = (endIndex - 1) / NUM_BITS;
+        for (long wordIndex = startIndex / NUM_BITS; wordIndex <= lastWordIndex; wordIndex++) {
+            long word = bits.get(wordIndex);
+            if (wordIndex == lastWordIndex) {
+                word &= lastWordMask(endIndex);
+            }
+            long base = wordIndex * NUM_BITS;
+            while (word != 0) {
+                consumer.accept(base + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static long lastWordMask(long endIndex) {
+        int endBit = (int) (endIndex % NUM_BITS);
+        return endBit == 0 ? -1L : (1L << endBit) - 1;
+    }
+
     /**
      * Returns true iff no bit is set.
      * <p>
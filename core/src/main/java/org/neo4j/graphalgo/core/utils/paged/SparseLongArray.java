@@ -21,7 +21,6 @@ package org.neo4j.graphalgo.core.utils.paged;
 
 import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.jetbrains.annotations.TestOnly;
-import org.neo4j.graphalgo.core.utils.ArrayLayout;
 import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -43,6 +42,14 @@ public final class SparseLongArray {
     private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_SIZE);
     private static final int BLOCK_MASK = BLOCK_SIZE - 1;
 
+    private static final int SUB_BLOCK_SIZE = 8;
+    private static final int SUB_BLOCK_SHIFT = Integer.numberOfTrailingZeros(SUB_BLOCK_SIZE);
+    private static final int SUB_BLOCK_MASK = SUB_BLOCK_SIZE - 1;
+    private static final int SUB_BLOCKS_PER_BLOCK = BLOCK_SIZE / SUB_BLOCK_SIZE;
+    private static final int SUB_BLOCKS_PER_BLOCK_SHIFT = Integer.numberOfTrailingZeros(SUB_BLOCKS_PER_BLOCK);
+
+    private static final int SELECT_SAMPLE_SHIFT = 12;
+
     // Number of mapped ids.
     private final long idCount;
 
@@ -50,18 +57,25 @@ public final class SparseLongArray {
     // Each page represents 64 possible ids.
     private final long[] array;
 
-
     // Each block represents BLOCK_SIZE pages.
     // Each value represents the id offset for all ids stored in the block.
     // Id ranges within a block to not overlap with id ranges in other blocks.
     // Block offsets are unordered as their insertion depends on the user of
     // the SLA (e.g. node loading does not insert blocks in a sequential order).
     private final long[] blockOffsets;
-    // Sorted representation of block offsets to speed up the lookup for the
-    // correct block using binary search using the Eytzinger search layout.
+    // Each sub block represents SUB_BLOCK_SIZE pages.
+    // Each value represents the number of ids that are stored in the block
+    // before the sub block, so that computing the rank of an id needs to
+    // count the bits of at most SUB_BLOCK_SIZE pages.
+    private final char[] subBlockCounts;
+    // Sorted representation of block offsets to find the block of a mapped id.
     private final long[] sortedBlockOffsets;
     // Maps block indices from the sorted offsets to the unsorted offsets.
     private final int[] blockMapping;
+    // For every 2^SELECT_SAMPLE_SHIFT-th mapped id, the index into the sorted
+    // block offsets from which the block of that id is searched. For dense ids,
+    // the search only needs to look at the next few blocks.
+    private final int[] selectSamples;
 
     public static int toValidBatchSize(int batchSize) {
         // We need to make sure that we scan aligned to the super block size, as we are not
@@ -86,29 +100,86 @@ public final class SparseLongArray {
             var capacity = dimensions.highestNeoId() + 1;
             var arraySize = (int) BitUtil.ceilDiv(capacity, BLOCK_SIZE);
             var offsetSize = (arraySize >>> BLOCK_SHIFT) + 1;
+            var subBlockCountSize = (int) BitUtil.ceilDiv(arraySize, SUB_BLOCK_SIZE);
+            var selectSampleSize = (int) (dimensions.nodeCount() >>> SELECT_SAMPLE_SHIFT) + 1;
 
             return MemoryEstimations
                 .builder(SparseLongArray.class)
                 .fixed("id array", MemoryUsage.sizeOfLongArray(arraySize))
                 .fixed("block offsets", MemoryUsage.sizeOfLongArray(offsetSize))
+                .fixed("sub block counts", MemoryUsage.sizeOfCharArray(subBlockCountSize))
                 .fixed("sorted block offsets", MemoryUsage.sizeOfLongArray(offsetSize))
                 .fixed("block mapping", MemoryUsage.sizeOfIntArray(offsetSize))
+                .fixed("select samples", MemoryUsage.sizeOfIntArray(selectSampleSize))
                 .build();
         });
     }
 
+    /**
+     * Computes the rank and select structures on top of the given pages.
+     * Unused entries in {@code blockOffsets} must be {@link Long#MAX_VALUE}.
+     */
+    private static SparseLongArray of(long[] array, long[] blockOffsets) {
+        var subBlockCounts = new char[(int) BitUtil.ceilDiv(array.length, SUB_BLOCK_SIZE)];
+        long idCount = 0;
+        int countInBlock = 0;
+        for (int subBlock = 0; subBlock < subBlockCounts.length; subBlock++) {
+            if ((subBlock & (SUB_BLOCKS_PER_BLOCK - 1)) == 0) {
+                countInBlock = 0;
+            }
+            subBlockCounts[subBlock] = (char) countInBlock;
+            var pageStart = subBlock << SUB_BLOCK_SHIFT;
+            var pageEnd = Math.min(pageStart + SUB_BLOCK_SIZE, array.length);
+            for (int page = pageStart; page < pageEnd; page++) {
+                countInBlock += Long.bitCount(array[page]);
+                idCount += Long.bitCount(array[page]);
+            }
+        }
+
+        // The merge sort is stable, so an empty block is ordered
+        // before the non-empty block that has the same offset.
+        var blockMapping = IndirectSort.mergesort(
+            0,
+            blockOffsets.length,
+            new AscendingLongComparator(blockOffsets)
+        );
+        var sortedBlockOffsets = new long[blockOffsets.length];
+        Arrays.setAll(sortedBlockOffsets, i -> blockOffsets[blockMapping[i]]);
+
+        var selectSamples = new int[(int) (idCount >>> SELECT_SAMPLE_SHIFT) + 1];
+        int sortedIndex = 0;
+        for (int sample = 0; sample < selectSamples.length; sample++) {
+            sortedIndex = lastBlockBefore(sortedBlockOffsets, sortedIndex, (long) sample << SELECT_SAMPLE_SHIFT);
+            selectSamples[sample] = sortedIndex;
+        }
+
+        return new SparseLongArray(
+            idCount,
+            array,
+            blockOffsets,
+            subBlockCounts,
+            sortedBlockOffsets,
+            blockMapping,
+            selectSamples
+        );
+    }
+
     private SparseLongArray(
         long idCount,
         long[] array,
         long[] blockOffsets,
+        char[] subBlockCounts,
         long[] sortedBlockOffsets,
-        int[] blockMapping
+        int[] blockMapping,
+        int[] selectSamples
     ) {
         this.idCount = idCount;
         this.array = array;
         this.blockOffsets = blockOffsets;
+        this.subBlockCounts = subBlockCounts;
         this.sortedBlockOffsets = sortedBlockOffsets;
         this.blockMapping = blockMapping;
+        this.selectSamples = selectSamples;
     }
 
     public long idCount() {
@@ -126,12 +197,12 @@ public final class SparseLongArray {
         }
 
         var block = page >>> BLOCK_SHIFT;
-        // Get the id offset for that block
-        var mappedId = blockOffsets[block];
+        // Get the id offset for that block and sub block
+        var mappedId = blockOffsets[block] + subBlockCounts[page >>> SUB_BLOCK_SHIFT];
         // Count set bits up to original id
         var a = array;
-        // Get count within current block
-        for (int pageIdx = page & ~BLOCK_MASK; pageIdx < page; pageIdx++) {
+        // Get count within current sub block
+        for (int pageIdx = page & ~SUB_BLOCK_MASK; pageIdx < page; pageIdx++) {
             mappedId += Long.bitCount(a[pageIdx]);
         }
         // tail (long at offset)
@@ -150,47 +221,73 @@ public final class SparseLongArray {
     }
 
     public long toOriginalNodeId(long mappedId) {
-        var startBlockIndex = ArrayLayout.searchEytzinger(sortedBlockOffsets, mappedId);
-        // since the eytzinger layout is 1-based and reserves the index 0 for the 'lower-than-lower-bound' case
-        // and we know that we won't trigger that case, as our lower bound is 0
-        // we subtract 1 to get to the actual index in the block mapping array.
-        startBlockIndex = blockMapping[startBlockIndex - 1];
+        var sample = (int) Math.min(mappedId >>> SELECT_SAMPLE_SHIFT, selectSamples.length - 1);
+        var sortedIndex = lastBlockBefore(sortedBlockOffsets, selectSamples[sample], mappedId);
+        var block = blockMapping[sortedIndex];
+
+        var subBlockCounts = this.subBlockCounts;
+        var subBlock = block << SUB_BLOCKS_PER_BLOCK_SHIFT;
+        var subBlockEnd = Math.min(subBlock + SUB_BLOCKS_PER_BLOCK, subBlockCounts.length);
+        var rank = mappedId - blockOffsets[block];
+        if (subBlock >= subBlockEnd || rank < 0) {
+            // Returning 0, since this is what the current
+            // IdMap implementation returns in that case.
+            return 0;
+        }
+        while (subBlock + 1 < subBlockEnd && subBlockCounts[subBlock + 1] <= rank) {
+            subBlock++;
+        }
+        rank -= subBlockCounts[subBlock];
+
         var array = this.array;
-        var blockStart = startBlockIndex << BLOCK_SHIFT;
-        var blockEnd = Math.min((startBlockIndex + 1) << BLOCK_SHIFT, array.length);
-        var originalId = blockOffsets[startBlockIndex];
-        for (int blockIndex = blockStart; blockIndex < blockEnd; blockIndex++) {
-            var page = array[blockIndex];
+        var pageStart = subBlock << SUB_BLOCK_SHIFT;
+        var pageEnd = Math.min(pageStart + SUB_BLOCK_SIZE, array.length);
+        for (int pageIdx = pageStart; pageIdx < pageEnd; pageIdx++) {
+            var page = array[pageIdx];
             var idsInPage = Long.bitCount(page);
-            if (originalId + idsInPage > mappedId) {
-                // Perform binary search within the page
-                // to find the correct original id.
-                var pos = 0;
-                long mask = 0xFFFF_FFFFL;
-                int shift = 32;
-
-                while (shift > 0) {
-                    var idsInLowerPage = Long.bitCount(page & mask);
-
-                    if (originalId + idsInLowerPage > mappedId) {
-                        page = page & mask;
-                    } else {
-                        pos += shift;
-                        originalId += idsInLowerPage;
-                        page = page >>> shift;
-                    }
+            if (rank < idsInPage) {
+                return (((long) pageIdx) << BLOCK_SHIFT) + select(page, rank);
+            }
+            rank -= idsInPage;
+        }
+        return 0;
+    }
 
-                    shift >>= 1;
-                    mask >>= shift;
-                }
+    /**
+     * Returns the index of the last sorted block offset, starting at {@code sortedIndex},
+     * that is not larger than {@code mappedId}.
+     */
+    private static int lastBlockBefore(long[] sortedBlockOffsets, int sortedIndex, long mappedId) {
+        while (sortedIndex + 1 < sortedBlockOffsets.length && sortedBlockOffsets[sortedIndex + 1] <= mappedId) {
+            sortedIndex++;
+        }
+        return sortedIndex;
+    }
 
-                return (((long) blockIndex) << BLOCK_SHIFT) + pos;
+    /**
+     * Returns the position of the set bit with the given rank, using a binary search within the page.
+     */
+    private static int select(long page, long rank) {
+        var pos = 0;
+        long mask = 0xFFFF_FFFFL;
+        int shift = 32;
+
+        while (shift > 0) {
+            var idsInLowerPage = Long.bitCount(page & mask);
+
+            if (rank < idsInLowerPage) {
+                page = page & mask;
+            } else {
+                pos += shift;
+                rank -= idsInLowerPage;
+                page = page >>> shift;
             }
-            originalId += idsInPage;
+
+            shift >>= 1;
+            mask >>= shift;
         }
-        // Returning 0, since this is what the current
-        // IdMap implementation returns in that case.
-        return 0;
+
+        return pos;
     }
 
     private static int pageId(long originalId) {
@@ -261,39 +358,7 @@ public final class SparseLongArray {
         }
 
         private SparseLongArray computeCounts() {
-            long[] array = this.array;
-            int size = array.length;
-
-            var blockOffsets = this.blockOffsets;
-            var blockMapping = IndirectSort.mergesort(
-                0,
-                blockOffsets.length,
-                new AscendingLongComparator(blockOffsets)
-            );
-            var sortedBlockOffsets = new long[blockOffsets.length];
-            Arrays.setAll(sortedBlockOffsets, i -> blockOffsets[blockMapping[i]]);
-
-            int lastSortedBlockOffset = sortedBlockOffsets.length - 1;
-            long idCount = 0;
-            while (lastSortedBlockOffset > 0) {
-                var lastCount = sortedBlockOffsets[lastSortedBlockOffset];
-                if (lastCount != Long.MAX_VALUE) {
-                    idCount = lastCount;
-                    break;
-                }
-                --lastSortedBlockOffset;
-            }
-
-            var lastSortedBlock = blockMapping[lastSortedBlockOffset];
-            // Count the remaining ids in the last block.
-            var lastBlockBegin = lastSortedBlock << BLOCK_SHIFT;
-            var lastBlockEnd = Math.min(size, lastBlockBegin + BLOCK_SIZE);
-            for (int page = lastBlockBegin; page < lastBlockEnd; page++) {
-                idCount += Long.bitCount(array[page]);
-            }
-
-            var layouts = ArrayLayout.constructEytzinger(sortedBlockOffsets, blockMapping);
-            return new SparseLongArray(idCount, array, blockOffsets, layouts.layout(), layouts.secondary());
+            return of(array, blockOffsets);
         }
     }
 
@@ -328,31 +393,21 @@ public final class SparseLongArray {
 
         protected SparseLongArray computeCounts(long[] array) {
             int size = array.length;
-            int cappedSize = size - BLOCK_SIZE;
-            // blockOffsets[0] is always 0, hence + 1
+            int blockCount = (int) BitUtil.ceilDiv(size, BLOCK_SIZE);
             long[] blockOffsets = new long[(size >>> BLOCK_SHIFT) + 1];
+            // there is no block behind the last page if the pages fill all blocks
+            Arrays.fill(blockOffsets, blockCount, blockOffsets.length, Long.MAX_VALUE);
 
             long count = 0;
-            int block;
-            for (block = 0; block < cappedSize; block += BLOCK_SIZE) {
-                for (int page = block; page < block + BLOCK_SIZE; page++) {
+            for (int block = 0; block < blockCount; block++) {
+                blockOffsets[block] = count;
+                var pageEnd = Math.min((block + 1) << BLOCK_SHIFT, size);
+                for (int page = block << BLOCK_SHIFT; page < pageEnd; page++) {
                     count += Long.bitCount(array[page]);
                 }
-                blockOffsets[(block >>> BLOCK_SHIFT) + 1] = count;
-            }
-
-            // Count the remaining ids in the tail.
-            var lastBlockBegin = size - (size & BLOCK_MASK);
-            for (int page = lastBlockBegin; page < size; page++) {
-                count += Long.bitCount(array[page]);
             }
 
-            // No need to sort as the blocks are already sorted.
-            var blockMapping = new int[blockOffsets.length];
-            Arrays.setAll(blockMapping, i -> i);
-            var layouts = ArrayLayout.constructEytzinger(blockOffsets, blockMapping);
-
-            return new SparseLongArray(count, array, blockOffsets, layouts.layout(), layouts.secondary());
+            return of(array, blockOffsets);
         }
 
         private static class ThreadLocalBuilder implements AutoCloseable {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import com.carrotsearch.hppc.ArraySizingStrategy;
+import com.carrotsearch.hppc.BoundedProportionalArraySizingStrategy;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of long elements with double priorities that grows on demand,
+ * so that its size depends on the number of added elements and not on the largest element.
+ * <p>
+ * The priority of an element cannot be decreased. Instead, the element is added again
+ * and callers skip outdated entries when they reach the top (lazy deletion).
+ */
+public final class LazyLongPriorityQueue {
+    private static final ArraySizingStrategy SIZING = new BoundedProportionalArraySizingStrategy();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] elements;
+    private double[] priorities;
+    private int size;
+
+    public LazyLongPriorityQueue() {
+        this.elements = new long[INITIAL_CAPACITY];
+        this.priorities = new double[INITIAL_CAPACITY];
+    }
+
+    public void add(long element, double priority) {
+        if (size == elements.length) {
+            var newSize = SIZING.grow(elements.length, size, 1);
+            elements = Arrays.copyOf(elements, newSize);
+            priorities = Arrays.copyOf(priorities, newSize);
+        }
+        var i = size++;
+        while (i > 0) {
+            var parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            elements[i] = elements[parent];
+            priorities[i] = priorities[parent];
+            i = parent;
+        }
+        elements[i] = element;
+        priorities[i] = priority;
+    }
+
+    public long top() {
+        return elements[0];
+    }
+
+    public double topPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the element with the smallest priority and returns it.
+     */
+    public long pop() {
+        var top = elements[0];
+        var last = --size;
+        var element = elements[last];
+        var priority = priorities[last];
+        var i = 0;
+        while (true) {
+            var child = (i << 1) + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            elements[i] = elements[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        elements[i] = element;
+        priorities[i] = priority;
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void release() {
+        elements = null;
+        priorities = null;
+        size = 0;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactingMessengerTest {
+
+    private static final int CONCURRENCY = 4;
+
+    private static Graph graph(AllocationTracker tracker) {
+        return RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(tracker)
+            .build()
+            .generate();
+    }
+
+    @Test
+    void deliversMessagesFromAllComputeSteps() {
+        var graph = graph(AllocationTracker.empty());
+        var config = ImmutablePregelConfig.builder().maxIterations(2).concurrency(CONCURRENCY).build();
+        var messenger = new CompactingMessenger(graph, config, Pools.DEFAULT, AllocationTracker.empty());
+
+        var first = messenger.sender(0);
+        var second = messenger.sender(1);
+
+        messenger.initIteration(0);
+        for (long nodeId = graph.nodeCount() - 1; nodeId >= 0; nodeId--) {
+            first.sendTo(nodeId, nodeId);
+            if (nodeId % 2 == 0) {
+                second.sendTo(nodeId, 2 * nodeId);
+            }
+        }
+
+        var iterator = messenger.messageIterator();
+        messenger.initMessageIterator(iterator, 42, true);
+        assertTrue(iterator.isEmpty());
+
+        messenger.initIteration(1);
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            messenger.initMessageIterator(iterator, nodeId, false);
+            var messageCount = 0;
+            var messageSum = 0.0D;
+            while (iterator.hasNext()) {
+                messageSum += iterator.nextDouble();
+                messageCount++;
+            }
+
+            assertEquals(nodeId % 2 == 0 ? 2 : 1, messageCount);
+            assertEquals(nodeId % 2 == 0 ? 3 * nodeId : nodeId, messageSum);
+        }
+
+        messenger.release();
+    }
+
+    @Test
+    void discardsMessagesAfterTheFollowingSuperstep() {
+        var graph = graph(AllocationTracker.empty());
+        var config = ImmutablePregelConfig.builder().maxIterations(3).concurrency(CONCURRENCY).build();
+        var messenger = new CompactingMessenger(graph, config, Pools.DEFAULT, AllocationTracker.empty());
+        var sender = messenger.sender(0);
+
+        messenger.initIteration(0);
+        sender.sendTo(1337, 42.0D);
+        messenger.initIteration(1);
+
+        var iterator = messenger.messageIterator();
+        messenger.initMessageIterator(iterator, 1337, false);
+        assertFalse(iterator.isEmpty());
+
+        messenger.initIteration(2);
+        messenger.initMessageIterator(iterator, 1337, false);
+        assertTrue(iterator.isEmpty());
+
+        messenger.release();
+    }
+
+    @Test
+    void memoryEstimationCoversAllocatedBuffers() {
+        var graph = graph(AllocationTracker.empty());
+        var config = ImmutablePregelConfig.builder().maxIterations(2).concurrency(CONCURRENCY).build();
+        var tracker = AllocationTracker.create();
+        var messenger = new CompactingMessenger(graph, config, Pools.DEFAULT, tracker);
+
+        messenger.initIteration(0);
+        for (int computeStep = 0; computeStep < CONCURRENCY; computeStep++) {
+            var sender = messenger.sender(computeStep);
+            var computeStepGraph = graph.concurrentCopy();
+            for (long nodeId = computeStep; nodeId < graph.nodeCount(); nodeId += CONCURRENCY) {
+                computeStepGraph.forEachRelationship(nodeId, (source, target) -> {
+                    sender.sendTo(target, source);
+                    return true;
+                });
+            }
+        }
+        messenger.initIteration(1);
+
+        var dimensions = GraphDimensions.of(graph.nodeCount(), graph.relationshipCount());
+        var estimation = CompactingMessenger.memoryEstimation().estimate(dimensions, CONCURRENCY).memoryUsage();
+
+        assertThat(tracker.trackedBytes()).isLessThanOrEqualTo(estimation.max);
+
+        messenger.release();
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.function.BiConsumer;
@@ -85,6 +86,194 @@ class NodeValueTest {
             .hasMessageContaining("is not compatible with available property type");
     }
 
+    @Test
+    void slotsAccessTheSameValuesAsKeys() {
+        var schema = new PregelSchema.Builder()
+            .add("double", ValueType.DOUBLE)
+            .add("long", ValueType.LONG)
+            .add("doubleArray", ValueType.DOUBLE_ARRAY)
+            .add("longArray", ValueType.LONG_ARRAY)
+            .build();
+        var nodeValues = NodeValue.of(schema, 10, 4, AllocationTracker.empty());
+
+        var doubleSlot = schema.doubleSlot("double");
+        var longSlot = schema.longSlot("long");
+        var doubleArraySlot = schema.doubleArraySlot("doubleArray");
+        var longArraySlot = schema.longArraySlot("longArray");
+
+        nodeValues.set(doubleSlot, 1, 42.0);
+        nodeValues.set(longSlot, 2, 1337L);
+        nodeValues.set(doubleArraySlot, 3, new double[]{1.0, 2.0});
+        nodeValues.set(longArraySlot, 4, new long[]{3L, 4L});
+
+        assertEquals(42.0, nodeValues.doubleValue("double", 1), 0.0);
+        assertEquals(1337L, nodeValues.longValue("long", 2));
+        assertThat(nodeValues.doubleArrayValue("doubleArray", 3)).containsExactly(1.0, 2.0);
+        assertThat(nodeValues.longArrayValue("longArray", 4)).containsExactly(3L, 4L);
+
+        nodeValues.set("double", 5, 23.0);
+        assertEquals(23.0, nodeValues.doubleValue(doubleSlot, 5), 0.0);
+        assertEquals(1337L, nodeValues.longValue(longSlot, 2));
+        assertThat(nodeValues.doubleArrayValue(doubleArraySlot, 3)).containsExactly(1.0, 2.0);
+        assertThat(nodeValues.longArrayValue(longArraySlot, 4)).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void slotsDependOnlyOnPropertyKeys() {
+        var schema = new PregelSchema.Builder()
+            .add("b", ValueType.DOUBLE)
+            .add("a", ValueType.LONG)
+            .build();
+        var otherSchema = new PregelSchema.Builder()
+            .add("a", ValueType.LONG)
+            .add("b", ValueType.DOUBLE)
+            .build();
+
+        assertEquals(schema.doubleSlot("b").index(), otherSchema.doubleSlot("b").index());
+        assertEquals(schema.longSlot("a").index(), otherSchema.longSlot("a").index());
+    }
+
+    @Test
+    void testAssertWhenUsingSlotOfDifferentSchema() {
+        var schema = new PregelSchema.Builder()
+            .add("a", ValueType.DOUBLE)
+            .add("b", ValueType.DOUBLE)
+            .build();
+        var otherSchema = new PregelSchema.Builder()
+            .add("a", ValueType.DOUBLE)
+            .add("b", ValueType.DOUBLE)
+            .add("c", ValueType.LONG)
+            .build();
+        var nodeValues = NodeValue.of(schema, 10, 4, AllocationTracker.empty());
+        nodeValues.set(schema.doubleSlot("b"), 0, 42.0);
+
+        var equalSchema = new PregelSchema.Builder()
+            .add("b", ValueType.DOUBLE)
+            .add("a", ValueType.DOUBLE)
+            .build();
+        assertThat(nodeValues.doubleValue(equalSchema.doubleSlot("b"), 0)).isEqualTo(42.0);
+
+        assertThatThrownBy(() -> nodeValues.doubleValue(otherSchema.doubleSlot("b"), 0))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("Slot for key b was resolved in a different schema");
+    }
+
+    @Test
+    void testThrowWhenResolvingInvalidSlot() {
+        var schema = new PregelSchema.Builder().add("KEY", ValueType.LONG).build();
+
+        assertThatThrownBy(() -> schema.doubleSlot("DOES_NOT_EXIST"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Property with key DOES_NOT_EXIST does not exist. Available properties are: [KEY]");
+
+        assertThatThrownBy(() -> schema.doubleSlot("KEY"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("is not compatible with available property type");
+    }
+
+    @Test
+    void fixedDimensionVectorsAreViewsOnTheNodeValues() {
+        int dimension = 3;
+        // more than one page of vectors
+        long nodeCount = 10_000;
+        var schema = new PregelSchema.Builder()
+            .add("embedding", ValueType.DOUBLE_ARRAY, dimension)
+            .add("ids", ValueType.LONG_ARRAY, dimension)
+            .build();
+        var nodeValues = NodeValue.of(schema, nodeCount, 4, AllocationTracker.empty());
+        var embeddingSlot = schema.doubleVectorSlot("embedding");
+        var idsSlot = schema.longVectorSlot("ids");
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            var embedding = nodeValues.doubleVector(embeddingSlot, nodeId);
+            var ids = nodeValues.longVector(idsSlot, nodeId);
+            assertEquals(dimension, embedding.dimension());
+            for (int i = 0; i < dimension; i++) {
+                embedding.set(i, nodeId + i / 10.0);
+                ids.set(i, nodeId * dimension + i);
+            }
+        }
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertThat(nodeValues.doubleArrayValue("embedding", nodeId))
+                .containsExactly(nodeId, nodeId + 0.1, nodeId + 0.2);
+            assertThat(nodeValues.longVector(idsSlot, nodeId).toArray())
+                .containsExactly(nodeId * dimension, nodeId * dimension + 1, nodeId * dimension + 2);
+        }
+
+        nodeValues.set("embedding", 42, new double[]{1.0, 2.0, 3.0});
+        assertThat(nodeValues.doubleVector(embeddingSlot, 42).toArray()).containsExactly(1.0, 2.0, 3.0);
+        assertThat(nodeValues.doubleArrayNodeProperties("embedding").doubleArrayValue(42)).containsExactly(1.0, 2.0, 3.0);
+        assertThat(nodeValues.longArrayNodeProperties("ids").longArrayValue(1)).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void fixedDimensionVectorViewsCanBeRepointed() {
+        var schema = new PregelSchema.Builder()
+            .add("embedding", ValueType.DOUBLE_ARRAY, 2)
+            .add("ids", ValueType.LONG_ARRAY, 2)
+            .build();
+        var nodeValues = NodeValue.of(schema, 10_000, 4, AllocationTracker.empty());
+        var embeddingSlot = schema.doubleVectorSlot("embedding");
+        var idsSlot = schema.longVectorSlot("ids");
+
+        nodeValues.set("embedding", 1, new double[]{1.0, 2.0});
+        nodeValues.set("embedding", 9_000, new double[]{3.0, 4.0});
+        nodeValues.set("ids", 1, new long[]{1L, 2L});
+        nodeValues.set("ids", 9_000, new long[]{3L, 4L});
+
+        var embedding = nodeValues.doubleVector(embeddingSlot, 1, null);
+        assertThat(embedding.toArray()).containsExactly(1.0, 2.0);
+        assertThat(nodeValues.doubleVector(embeddingSlot, 9_000, embedding)).isSameAs(embedding);
+        assertThat(embedding.toArray()).containsExactly(3.0, 4.0);
+
+        var ids = nodeValues.longVector(idsSlot, 1, null);
+        assertThat(ids.toArray()).containsExactly(1L, 2L);
+        assertThat(nodeValues.longVector(idsSlot, 9_000, ids)).isSameAs(ids);
+        assertThat(ids.toArray()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void testThrowWhenAccessingFixedDimensionPropertyAsArrays() {
+        var schema = new PregelSchema.Builder()
+            .add("embedding", ValueType.DOUBLE_ARRAY, 4)
+            .add("other", ValueType.DOUBLE_ARRAY)
+            .build();
+        var nodeValues = NodeValue.of(schema, 10, 4, AllocationTracker.empty());
+
+        assertThatThrownBy(() -> nodeValues.doubleArrayProperties("embedding"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("has a fixed dimension");
+        assertThatThrownBy(() -> schema.doubleArraySlot("embedding"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("use a vector slot instead");
+        assertThatThrownBy(() -> schema.doubleVectorSlot("other"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("use a array slot instead");
+        assertThatThrownBy(() -> nodeValues.set("embedding", 0, new double[]{1.0}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Expected an array of length 4 but got length 1");
+        assertThatThrownBy(() -> new PregelSchema.Builder().add("key", ValueType.DOUBLE, 4))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("only supported for array properties");
+    }
+
+    @Test
+    void fixedDimensionEstimation() {
+        var dimensions = GraphDimensions.of(10_000);
+        var fixed = new PregelSchema.Builder().add("embedding", ValueType.DOUBLE_ARRAY, 10).build();
+        var variable = new PregelSchema.Builder().add("embedding", ValueType.DOUBLE_ARRAY).build();
+
+        var tracker = AllocationTracker.create();
+        NodeValue.of(fixed, 10_000, 4, tracker);
+
+        var fixedEstimation = NodeValue.memoryEstimation(fixed).estimate(dimensions, 4).memoryUsage();
+        var variableEstimation = NodeValue.memoryEstimation(variable).estimate(dimensions, 4).memoryUsage();
+
+        assertThat(fixedEstimation.max).isLessThan(variableEstimation.max);
+        assertThat(tracker.trackedBytes()).isLessThanOrEqualTo(fixedEstimation.max);
+    }
+
     static Stream<Arguments> validPropertyTypeAndGetters() {
         BiConsumer<NodeValue, String> longGetter = NodeValue::longProperties;
         BiConsumer<NodeValue, String> doubleGetter = NodeValue::doubleProperties;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitionQueueTest {
+
+    @Test
+    void partitionsCoverAllNodesByCumulativeDegree() {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(100_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        int concurrency = 4;
+        var partitions = PartitionQueue.degreeBalancedPartitions(graph, concurrency);
+
+        long partitionCost = (graph.nodeCount() + graph.relationshipCount()) /
+                             ((long) concurrency * PartitionQueue.PARTITIONS_PER_THREAD);
+        long maxDegree = 0;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            maxDegree = Math.max(maxDegree, graph.degree(nodeId));
+        }
+
+        long expectedStart = 0;
+        for (Partition partition : partitions) {
+            assertEquals(expectedStart, partition.startNode());
+            expectedStart += partition.nodeCount();
+
+            long cost = 0;
+            for (long nodeId = partition.startNode(); nodeId < expectedStart; nodeId++) {
+                cost += graph.degree(nodeId) + 1;
+            }
+            // a partition is closed as soon as it reaches the target cost
+            assertThat(cost).isLessThanOrEqualTo(partitionCost + maxDegree + 1);
+        }
+        assertEquals(graph.nodeCount(), expectedStart);
+        assertThat(partitions.size()).isGreaterThan(concurrency);
+    }
+
+    @Test
+    void handsOutEachPartitionOncePerSuperstep() {
+        var queue = new PartitionQueue(List.of(
+            Partition.of(0, 10),
+            Partition.of(10, 10),
+            Partition.of(20, 5)
+        ));
+
+        assertEquals(PartitionQueue.NO_PARTITION, queue.next());
+
+        long[] previousNanos = null;
+        for (int superstep = 0; superstep < 2; superstep++) {
+            queue.reset();
+            assertThat(queue.partitionNanos()).containsExactly(0L, 0L, 0L);
+            if (previousNanos != null) {
+                // the snapshot of the previous superstep is not cleared by the reset
+                assertThat(previousNanos).containsExactly(42L, 84L, 126L);
+            }
+            var claimed = new HashSet<Integer>();
+            int partitionIndex;
+            while ((partitionIndex = queue.next()) != PartitionQueue.NO_PARTITION) {
+                assertThat(claimed.add(partitionIndex)).isTrue();
+                queue.recordNanos(partitionIndex, 42L * (partitionIndex + 1));
+            }
+            assertThat(claimed).containsExactlyInAnyOrder(0, 1, 2);
+            previousNanos = queue.partitionNanos();
+            assertThat(previousNanos).containsExactly(42L, 84L, 126L);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.pregel.context.ComputeContext;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PregelCheckpointTest {
+
+    @TempDir
+    Path checkpointDirectory;
+
+    static Stream<Arguments> computations() {
+        return Stream.of(
+            Arguments.of(new TestRankComputation(), TestRankComputation.KEY, false),
+            Arguments.of(new TestReducibleRankComputation(), TestRankComputation.KEY, false),
+            Arguments.of(new PregelTest.TestBfsComputation(), PregelTest.TestBfsComputation.KEY, true),
+            Arguments.of(new PregelTest.TestReducibleBfsComputation(), PregelTest.TestBfsComputation.KEY, true)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("computations")
+    void resumedComputationProducesSameResult(
+        PregelComputation<PregelConfig> computation,
+        String key,
+        boolean useActiveFrontier
+    ) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .concurrency(1)
+            .useActiveFrontier(useActiveFrontier)
+            .checkpointDirectory(checkpointDirectory.toString());
+
+        var expected = run(graph, configBuilder.maxIterations(10).build(), computation);
+
+        // the interrupted run leaves the checkpoint of superstep 4 behind
+        run(graph, configBuilder.maxIterations(6).checkpointInterval(4).build(), computation);
+        assertThat(checkpointDirectory.resolve(PregelCheckpoint.FILE_NAME)).exists();
+
+        var resumed = run(
+            graph,
+            configBuilder.maxIterations(10).checkpointInterval(0).resumeFromCheckpoint(true).build(),
+            computation
+        );
+
+        assertEquals(expected.ranIterations(), resumed.ranIterations());
+        assertEquals(expected.didConverge(), resumed.didConverge());
+        assertArrayEquals(
+            expected.nodeValues().doubleProperties(key).toArray(),
+            resumed.nodeValues().doubleProperties(key).toArray()
+        );
+        assertThat(resumed.superstepTimings()).hasSize(expected.superstepTimings().size() - 4);
+    }
+
+    @Test
+    void restoresAllNodeValueTypes() {
+        var schema = new PregelSchema.Builder()
+            .add("double", ValueType.DOUBLE)
+            .add("long", ValueType.LONG)
+            .add("longArray", ValueType.LONG_ARRAY)
+            .add("doubleVector", ValueType.DOUBLE_ARRAY, 3)
+            .build();
+
+        var nodeValues = NodeValue.of(schema, 3, 1, AllocationTracker.empty());
+        for (long nodeId = 0; nodeId < 3; nodeId++) {
+            nodeValues.set("double", nodeId, nodeId * 0.5);
+            nodeValues.set("long", nodeId, -nodeId);
+            nodeValues.set("doubleVector", nodeId, new double[]{nodeId, nodeId + 1, nodeId + 2});
+        }
+        nodeValues.set("longArray", 0, new long[]{4, 2});
+        nodeValues.set("longArray", 2, new long[0]);
+
+        var file = checkpointDirectory.resolve("nodeValues");
+        try (var writer = new CheckpointWriter(file)) {
+            nodeValues.writeTo(writer);
+        }
+
+        var restored = NodeValue.of(schema, 3, 1, AllocationTracker.empty());
+        try (var reader = new CheckpointReader(file)) {
+            restored.readFrom(reader);
+        }
+
+        for (long nodeId = 0; nodeId < 3; nodeId++) {
+            assertEquals(nodeId * 0.5, restored.doubleValue("double", nodeId));
+            assertEquals(-nodeId, restored.longValue("long", nodeId));
+            assertArrayEquals(
+                new double[]{nodeId, nodeId + 1, nodeId + 2},
+                restored.doubleArrayNodeProperties("doubleVector").doubleArrayValue(nodeId)
+            );
+        }
+        assertArrayEquals(new long[]{4, 2}, restored.longArrayValue("longArray", 0));
+        assertNull(restored.longArrayValue("longArray", 1));
+        assertArrayEquals(new long[0], restored.longArrayValue("longArray", 2));
+    }
+
+    @Test
+    void rejectsCheckpointOfDifferentSchema() {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(100)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .concurrency(1)
+            .maxIterations(4)
+            .checkpointDirectory(checkpointDirectory.toString());
+
+        run(graph, configBuilder.checkpointInterval(2).build(), new TestRankComputation());
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> run(
+                graph,
+                configBuilder.checkpointInterval(0).resumeFromCheckpoint(true).build(),
+                new PregelTest.TestBfsComputation()
+            )
+        );
+        assertThat(exception).hasMessageContaining("different node schema");
+    }
+
+    @Test
+    void requiresCheckpointDirectory() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> PregelConfig.of(
+                "",
+                Optional.empty(),
+                Optional.empty(),
+                CypherMapWrapper.create(Map.of("maxIterations", 4, "checkpointInterval", 2))
+            )
+        );
+        assertThat(exception).hasMessage("Checkpointing requires a `checkpointDirectory`");
+    }
+
+    private static Pregel.PregelResult run(Graph graph, PregelConfig config, PregelComputation<PregelConfig> computation) {
+        var pregelJob = Pregel.create(graph, config, computation, Pools.DEFAULT, AllocationTracker.empty());
+        var result = pregelJob.run();
+        pregelJob.release();
+        return result;
+    }
+
+    static class TestRankComputation implements PregelComputation<PregelConfig> {
+
+        static final String KEY = "rank";
+
+        @Override
+        public PregelSchema schema() {
+            return new PregelSchema.Builder().add(KEY, ValueType.DOUBLE).build();
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            double rank = 1.0;
+            if (!context.isInitialSuperstep()) {
+                double sum = 0.0;
+                for (Double message : messages) {
+                    sum += message;
+                }
+                rank = 0.15 + 0.85 * sum;
+            }
+            context.setNodeValue(KEY, rank);
+            if (context.degree() > 0) {
+                context.sendToNeighbors(rank / context.degree());
+            }
+        }
+    }
+
+    static class TestReducibleRankComputation extends TestRankComputation {
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Sum());
+        }
+    }
+}
@@ -127,6 +127,120 @@ class PregelTest {
         }
     }
 
+    @Test
+    void reportsSuperstepTimings() {
+        var result = Pregel.create(
+            graph,
+            ImmutablePregelConfig.builder().maxIterations(2).build(),
+            new TestPregelComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        assertEquals(2, result.superstepTimings().size());
+        for (int superstep = 0; superstep < 2; superstep++) {
+            var timing = result.superstepTimings().get(superstep);
+            assertEquals(superstep, timing.superstep());
+            assertEquals(1, timing.partitionNanos().length);
+            assertTrue(timing.totalNanos() >= timing.maxPartitionNanos());
+        }
+    }
+
+    static Stream<Arguments> frontierComputations() {
+        return Stream.of(
+            Arguments.of(false, new TestBfsComputation()),
+            Arguments.of(true, new TestBfsComputation()),
+            Arguments.of(false, new TestReducibleBfsComputation()),
+            Arguments.of(true, new TestReducibleBfsComputation())
+        );
+    }
+
+    @Test
+    void asynchronousReducingComputationNeedsNoMoreSupersteps() {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(100_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .maxIterations(100)
+            .concurrency(4);
+
+        var sync = Pregel.create(
+            graph,
+            configBuilder.isAsynchronous(false).build(),
+            new TestReducibleBfsComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        var async = Pregel.create(
+            graph,
+            configBuilder.isAsynchronous(true).build(),
+            new TestReducibleBfsComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        assertTrue(sync.didConverge());
+        assertTrue(async.didConverge());
+        assertThat(async.ranIterations()).isLessThanOrEqualTo(sync.ranIterations());
+        assertArrayEquals(
+            sync.nodeValues().doubleProperties(TestBfsComputation.KEY).toArray(),
+            async.nodeValues().doubleProperties(TestBfsComputation.KEY).toArray()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("frontierComputations")
+    void activeFrontierProducesSameResult(boolean isAsynchronous, PregelComputation<PregelConfig> computation) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(100_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .maxIterations(100)
+            .concurrency(4)
+            .isAsynchronous(isAsynchronous);
+
+        var expected = Pregel.create(
+            graph,
+            configBuilder.useActiveFrontier(false).build(),
+            computation,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        var actual = Pregel.create(
+            graph,
+            configBuilder.useActiveFrontier(true).build(),
+            computation,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        assertTrue(expected.didConverge());
+        assertEquals(expected.didConverge(), actual.didConverge());
+        // asynchronous runs may need more supersteps as nodes that received
+        // a message in the current superstep are only visited in the next one
+        if (!isAsynchronous) {
+            assertEquals(expected.ranIterations(), actual.ranIterations());
+        }
+        assertArrayEquals(
+            expected.nodeValues().doubleProperties(TestBfsComputation.KEY).toArray(),
+            actual.nodeValues().doubleProperties(TestBfsComputation.KEY).toArray()
+        );
+    }
+
     @NotNull
     private HugeDoubleArray run(Graph graph, PregelConfig config, PregelComputation<PregelConfig> computation) {
         var pregelJob = Pregel.create(
@@ -161,6 +275,88 @@ class PregelTest {
         assertEquals(Double.NaN, nodeValues.doubleProperties(KEY).get(2L));
     }
 
+    @Test
+    void sendsLongAndDoubleMessages() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var nodeValues = Pregel.create(
+            graph,
+            config,
+            new TestLongDoubleMessages(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run().nodeValues();
+
+        // long lanes keep their bits, even if they look like NaN as a double
+        assertEquals(-3L, nodeValues.longProperties(TestLongDoubleMessages.SOURCES).get(0L));
+        assertEquals(1.5D, nodeValues.doubleProperties(TestLongDoubleMessages.DISTANCES).get(0L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendsDoubleArrayMessages(boolean withReducer) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var computation = withReducer ? new TestReducibleDoubleArrayMessages() : new TestDoubleArrayMessages();
+        var nodeValues = Pregel.create(
+            graph,
+            config,
+            computation,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run().nodeValues();
+
+        var expected = withReducer
+            ? new double[]{2, 3}
+            : new double[]{1, 1, 1, 2};
+        assertArrayEquals(expected, nodeValues.doubleArrayProperties(TestDoubleArrayMessages.MESSAGES).get(0L));
+    }
+
+    @Test
+    void preventMultiValueMessagesInAsynchronousMode() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .isAsynchronous(true)
+            .build();
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> Pregel.create(
+            graph,
+            config,
+            new TestDoubleArrayMessages(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ));
+        assertThat(exception).hasMessageContaining("only supported in synchronous mode");
+    }
+
+    @Test
+    void preventMessagesThatDoNotMatchTheMessageSchema() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> Pregel.create(
+            graph,
+            config,
+            new TestSendTo() {
+                @Override
+                public MessageSchema messageSchema() {
+                    return MessageSchema.doubleArray(2);
+                }
+            },
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run());
+        assertThat(exception).hasMessage("The message schema expects messages with 2 lanes, got 1.");
+    }
+
     @Test
     void compositeNodeValueTest() {
         var config = ImmutableCompositeTestComputationConfig.builder()
@@ -221,9 +417,32 @@ class PregelTest {
 
     static Stream<Arguments> estimations() {
         return Stream.of(
-            // queue based
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, 4_881_504L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, 4_882_152L),
+            // queue based, asynchronous
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 4_881_536L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 4_882_400L),
+            Arguments.of(1, new PregelSchema.Builder()
+                    .add("key1", ValueType.LONG)
+                    .add("key2", ValueType.DOUBLE)
+                    .add("key3", ValueType.LONG_ARRAY)
+                    .add("key4", ValueType.DOUBLE_ARRAY)
+                    .build(),
+                true,
+                true,
+                6_881_608L
+            ),
+            Arguments.of(10, new PregelSchema.Builder()
+                    .add("key1", ValueType.LONG)
+                    .add("key2", ValueType.DOUBLE)
+                    .add("key3", ValueType.LONG_ARRAY)
+                    .add("key4", ValueType.DOUBLE_ARRAY)
+                    .build(),
+                true,
+                true,
+                6_882_472L
+            ),
+            // queue based, synchronous
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 2_281_448L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 3_506_848L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
@@ -231,7 +450,8 @@ class PregelTest {
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
                 true,
-                6_881_576L
+                false,
+                4_281_520L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -240,11 +460,12 @@ class PregelTest {
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
                 true,
-                6_882_224L
+                false,
+                5_506_920L
             ),
             // array based
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, 241_576L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, 242_224L),
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 241_608L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 242_472L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
@@ -252,7 +473,8 @@ class PregelTest {
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
                 false,
-                2_241_648L
+                false,
+                2_241_680L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -261,14 +483,21 @@ class PregelTest {
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
                 false,
-                2_242_296L
+                false,
+                2_242_544L
             )
         );
     }
 
     @ParameterizedTest
     @MethodSource("estimations")
-    void memoryEstimation(int concurrency, PregelSchema pregelSchema, boolean isQueueBased, long expectedBytes) {
+    void memoryEstimation(
+        int concurrency,
+        PregelSchema pregelSchema,
+        boolean isQueueBased,
+        boolean isAsynchronous,
+        long expectedBytes
+    ) {
         var dimensions = ImmutableGraphDimensions.builder()
             .nodeCount(10_000)
             .maxRelCount(100_000)
@@ -276,10 +505,61 @@ class PregelTest {
 
         assertEquals(
             MemoryRange.of(expectedBytes).max,
-            Pregel.memoryEstimation(pregelSchema, isQueueBased).estimate(dimensions, concurrency).memoryUsage().max
+            Pregel
+                .memoryEstimation(
+                    estimationComputation(pregelSchema, !isQueueBased),
+                    ImmutablePregelConfig.builder().maxIterations(1).isAsynchronous(isAsynchronous).build()
+                )
+                .estimate(dimensions, concurrency)
+                .memoryUsage()
+                .max
         );
     }
 
+    @Test
+    void memoryEstimationWithActiveFrontier() {
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(10_000)
+            .maxRelCount(100_000)
+            .build();
+        var schema = new PregelSchema.Builder().add("key", ValueType.LONG).build();
+
+        var computation = estimationComputation(schema, true);
+
+        var withoutFrontier = Pregel
+            .memoryEstimation(computation, ImmutablePregelConfig.builder().maxIterations(1).build())
+            .estimate(dimensions, 4)
+            .memoryUsage();
+        var withFrontier = Pregel
+            .memoryEstimation(
+                computation,
+                ImmutablePregelConfig.builder().maxIterations(1).useActiveFrontier(true).build()
+            )
+            .estimate(dimensions, 4)
+            .memoryUsage();
+        var frontier = Frontier.memoryEstimation().estimate(dimensions, 4).memoryUsage();
+
+        assertEquals(withoutFrontier.add(frontier), withFrontier);
+    }
+
+    private static PregelComputation<PregelConfig> estimationComputation(PregelSchema schema, boolean hasReducer) {
+        return new PregelComputation<>() {
+            @Override
+            public PregelSchema schema() {
+                return schema;
+            }
+
+            @Override
+            public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            }
+
+            @Override
+            public Optional<Reducer> reducer() {
+                return hasReducer ? Optional.of(new Reducer.Sum()) : Optional.empty();
+            }
+        };
+    }
+
     static Stream<Arguments> configAndResult() {
         return Stream.of(
             Arguments.of(
@@ -392,6 +672,48 @@ class PregelTest {
         }
     }
 
+    public static class TestBfsComputation implements PregelComputation<PregelConfig> {
+
+        static final String KEY = "depth";
+
+        @Override
+        public PregelSchema schema() {
+            return new PregelSchema.Builder().add(KEY, ValueType.DOUBLE).build();
+        }
+
+        @Override
+        public void init(InitContext<PregelConfig> context) {
+            context.setNodeValue(KEY, context.nodeId() == 0 ? 0.0 : Double.MAX_VALUE);
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.isInitialSuperstep()) {
+                if (context.nodeId() == 0) {
+                    context.sendToNeighbors(1.0);
+                }
+            } else {
+                double depth = Double.MAX_VALUE;
+                for (Double message : messages) {
+                    depth = Math.min(depth, message);
+                }
+                if (depth < context.doubleNodeValue(KEY)) {
+                    context.setNodeValue(KEY, depth);
+                    context.sendToNeighbors(depth + 1);
+                }
+            }
+            context.voteToHalt();
+        }
+    }
+
+    public static class TestReducibleBfsComputation extends TestBfsComputation {
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Min());
+        }
+    }
+
     public static class TestSendTo implements PregelComputation<PregelConfig> {
 
         static final String KEY = "value";
@@ -412,6 +734,74 @@ class PregelTest {
         }
     }
 
+    public static class TestLongDoubleMessages implements PregelComputation<PregelConfig> {
+
+        static final String SOURCES = "sources";
+        static final String DISTANCES = "distances";
+
+        @Override
+        public PregelSchema schema() {
+            return new PregelSchema.Builder()
+                .add(SOURCES, ValueType.LONG)
+                .add(DISTANCES, ValueType.DOUBLE)
+                .build();
+        }
+
+        @Override
+        public MessageSchema messageSchema() {
+            return MessageSchema.of(ValueType.LONG, ValueType.DOUBLE);
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.nodeId() == 0) {
+                long sources = 0;
+                double distances = 0;
+                while (messages.next()) {
+                    sources += messages.longValue(0);
+                    distances += messages.doubleValue(1);
+                }
+                context.setNodeValue(SOURCES, sources);
+                context.setNodeValue(DISTANCES, distances);
+            } else {
+                context.sendTo(0L, -context.nodeId(), context.nodeId() * 0.5);
+            }
+        }
+    }
+
+    public static class TestDoubleArrayMessages implements PregelComputation<PregelConfig> {
+
+        static final String MESSAGES = "messages";
+
+        @Override
+        public PregelSchema schema() {
+            return new PregelSchema.Builder().add(MESSAGES, ValueType.DOUBLE_ARRAY).build();
+        }
+
+        @Override
+        public MessageSchema messageSchema() {
+            return MessageSchema.doubleArray(2);
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.nodeId() == 0) {
+                var received = StreamSupport.stream(messages.spliterator(), false).mapToDouble(d -> d).toArray();
+                context.setNodeValue(MESSAGES, received);
+            } else {
+                context.sendTo(0L, new double[]{1, context.nodeId()});
+            }
+        }
+    }
+
+    public static class TestReducibleDoubleArrayMessages extends TestDoubleArrayMessages {
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Sum());
+        }
+    }
+
     @ValueClass
     @Configuration
     @SuppressWarnings("immutables:subtype")
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@GdlExtension
+class ReducingMessengerTest {
+
+    @GdlGraph
+    private static final String TEST_GRAPH =
+        "CREATE" +
+        "  (a)" +
+        ", (b)" +
+        ", (c)";
+
+    @Inject
+    private TestGraph graph;
+
+    @Test
+    void receivesMessagesInTheNextSuperstep() {
+        var config = ImmutablePregelConfig.builder().maxIterations(3).build();
+        var messenger = new ReducingMessenger(graph, config, new Reducer.Sum(), AllocationTracker.empty());
+        var iterator = messenger.messageIterator();
+
+        messenger.initIteration(0);
+        messenger.sendTo(1, 21.0);
+        messenger.sendTo(1, 21.0);
+        messenger.initMessageIterator(iterator, 1, true);
+        assertTrue(iterator.isEmpty());
+
+        messenger.initIteration(1);
+        messenger.initMessageIterator(iterator, 0, false);
+        assertTrue(iterator.isEmpty());
+        messenger.initMessageIterator(iterator, 1, false);
+        assertFalse(iterator.isEmpty());
+        assertEquals(42.0, iterator.next());
+        messenger.sendTo(2, 1.0);
+
+        messenger.initIteration(2);
+        // the received message has been reset when it was read
+        messenger.initMessageIterator(iterator, 1, false);
+        assertTrue(iterator.isEmpty());
+        messenger.initMessageIterator(iterator, 2, false);
+        assertEquals(1.0, iterator.next());
+
+        messenger.release();
+    }
+
+    @Test
+    void receivesMessagesWithinTheSameSuperstepWhenAsynchronous() {
+        var config = ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).build();
+        var messenger = new ReducingMessenger(graph, config, new Reducer.Min(), AllocationTracker.empty());
+        var iterator = messenger.messageIterator();
+
+        messenger.initIteration(0);
+        messenger.sendTo(2, 42.0);
+
+        messenger.initIteration(1);
+        messenger.sendTo(2, 1337.0);
+        messenger.initMessageIterator(iterator, 2, false);
+        assertEquals(42.0, iterator.next());
+
+        messenger.sendTo(2, 23.0);
+        messenger.initMessageIterator(iterator, 2, false);
+        assertEquals(23.0, iterator.next());
+
+        messenger.initMessageIterator(iterator, 2, false);
+        assertTrue(iterator.isEmpty());
+
+        messenger.release();
+    }
+
+    @Test
+    void asynchronousModeUsesASingleArray() {
+        var dimensions = GraphDimensions.of(10_000);
+        var sync = ReducingMessenger.memoryEstimation(false).estimate(dimensions, 4).memoryUsage();
+        var async = ReducingMessenger.memoryEstimation(true).estimate(dimensions, 4).memoryUsage();
+
+        assertThat(async.max).isLessThan(sync.max);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.config;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.NodeProjection;
 import org.neo4j.graphalgo.NodeProjections;
@@ -30,8 +31,14 @@ import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
 
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -150,4 +157,123 @@ class GraphCreateConfigFromStoreTest {
         assertTrue(allProperties.contains("bar"));
         assertEquals(0, graphCreateConfig.relationshipProperties().numberOfMappings());
     }
+
+    @Test
+    void testAdjacencyStorage(@TempDir Path spillDirectory) {
+        GraphCreateFromStoreConfig graphCreateConfig = GraphCreateFromStoreConfig.fromProcedureConfig(
+            "",
+            CypherMapWrapper.create(Map.of(
+                "adjacencyStorage", "memory_mapped",
+                "spillDirectory", spillDirectory.toString()
+            ))
+        );
+
+        assertEquals(AdjacencyStorage.MEMORY_MAPPED, graphCreateConfig.adjacencyStorage());
+        assertEquals(spillDirectory.toString(), graphCreateConfig.spillDirectory());
+        assertEquals("MEMORY_MAPPED", graphCreateConfig.toMap().get("adjacencyStorage"));
+    }
+
+    @Test
+    void testThrowOnInvalidAdjacencyStorage() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of("adjacencyStorage", "cloud"))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("Adjacency storage `cloud` is not supported"));
+    }
+
+    @Test
+    void testThrowOnSpillDirectoryWithoutMemoryMapping(@TempDir Path spillDirectory) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of(
+                    "adjacencyStorage", "off_heap",
+                    "spillDirectory", spillDirectory.toString()
+                ))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("`spillDirectory` can only be used with `adjacencyStorage` MEMORY_MAPPED"));
+    }
+
+    @Test
+    void testThrowOnMissingSpillDirectory(@TempDir Path tempDir) {
+        String spillDirectory = tempDir.resolve("missing").toString();
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of(
+                    "adjacencyStorage", "memory_mapped",
+                    "spillDirectory", spillDirectory
+                ))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("`spillDirectory` must be an existing directory"));
+    }
+
+    @Test
+    void testAdjacencyEncoding() {
+        GraphCreateFromStoreConfig graphCreateConfig = GraphCreateFromStoreConfig.fromProcedureConfig(
+            "",
+            CypherMapWrapper.create(Map.of("adjacencyEncoding", "bit_packed"))
+        );
+
+        assertEquals(AdjacencyEncoding.BIT_PACKED, graphCreateConfig.adjacencyEncoding());
+        assertEquals("BIT_PACKED", graphCreateConfig.toMap().get("adjacencyEncoding"));
+    }
+
+    @Test
+    void testThrowOnInvalidAdjacencyEncoding() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of("adjacencyEncoding", "gzip"))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("Adjacency encoding `gzip` is not supported"));
+    }
+
+    @Test
+    void testThrowOnBitPackedEncodingOffHeap() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of(
+                    "adjacencyEncoding", "bit_packed",
+                    "adjacencyStorage", "off_heap"
+                ))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("`adjacencyEncoding` BIT_PACKED can only be used with `adjacencyStorage` HEAP"));
+    }
+
+    @Test
+    void testNodeOrdering() {
+        GraphCreateFromStoreConfig graphCreateConfig = GraphCreateFromStoreConfig.fromProcedureConfig(
+            "",
+            CypherMapWrapper.create(Map.of("nodeOrdering", "cuthill_mckee"))
+        );
+
+        assertEquals(NodeOrdering.CUTHILL_MCKEE, graphCreateConfig.nodeOrdering());
+        assertEquals("CUTHILL_MCKEE", graphCreateConfig.toMap().get("nodeOrdering"));
+    }
+
+    @Test
+    void testThrowOnInvalidNodeOrdering() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(Map.of("nodeOrdering", "random"))
+            )
+        );
+
+        assertThat(ex.getMessage(), containsString("Node ordering `random` is not supported"));
+    }
 }
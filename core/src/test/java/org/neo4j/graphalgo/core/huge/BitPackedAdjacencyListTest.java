@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.CypherLoaderBuilder;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.BitPackedEncoding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class BitPackedAdjacencyListTest extends BaseTest {
+
+    private static final int NODE_COUNT = 300;
+
+    @BeforeEach
+    void setup() {
+        runQuery("UNWIND range(0, " + (NODE_COUNT - 1) + ") AS id CREATE (:Node {id: id})");
+        // node 0 has neighbours in several blocks
+        runQuery("MATCH (a:Node {id: 0}), (b:Node) WHERE b.id > 0 CREATE (a)-[:REL {weight: b.id / 10}]->(b)");
+        runQuery("MATCH (a:Node), (b:Node) WHERE a.id > 0 AND (a.id * 31 + b.id * 17) % 23 = 0 CREATE (a)-[:REL {weight: a.id + b.id}]->(b)");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 63, 64, 65, 127, 128, 129, 1000})
+    void shouldDecodeAllTargets(int degree) {
+        long[] targets = randomTargets(degree, 1000, 42L);
+        AdjacencyCursor cursor = cursorFromTargets(targets);
+
+        assertEquals(degree, cursor.size());
+        long[] actual = new long[degree];
+        for (int i = 0; i < degree; i++) {
+            assertEquals(degree - i, cursor.remaining());
+            long peeked = cursor.peekVLong();
+            actual[i] = cursor.nextVLong();
+            assertEquals(peeked, actual[i]);
+        }
+        assertFalse(cursor.hasNextVLong());
+        assertArrayEquals(targets, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 9, 31, 32, 33, 56, 57})
+    void shouldDecodeAllBitWidths(int bits) {
+        long[] targets = new long[150];
+        long maxDelta = bits == 0 ? 0L : (1L << bits) - 1L;
+        for (int i = 1; i < targets.length; i++) {
+            targets[i] = targets[i - 1] + (i % 2 == 0 ? maxDelta : maxDelta >>> 1);
+        }
+        AdjacencyCursor cursor = cursorFromTargets(targets);
+
+        for (long target : targets) {
+            assertEquals(target, cursor.nextVLong());
+        }
+        assertFalse(cursor.hasNextVLong());
+    }
+
+    @Test
+    void shouldFailForTooLargeDeltas() {
+        long[] deltas = {0L, 1L << BitPackedEncoding.MAX_BITS};
+        assertThrows(IllegalArgumentException.class, () -> BitPackedEncoding.packedSize(deltas, deltas.length));
+    }
+
+    @Test
+    void shouldSkipUntilLargerValue() {
+        AdjacencyCursor cursor = cursorFromTargets(new long[]{0, 1, 1, 2});
+        assertEquals(2, cursor.skipUntil(1));
+        assertFalse(cursor.hasNextVLong());
+        assertEquals(AdjacencyCursor.NOT_FOUND, cursor.skipUntil(1));
+    }
+
+    @Test
+    void shouldAdvanceUntilEqualValue() {
+        AdjacencyCursor cursor = cursorFromTargets(new long[]{0, 1, 1, 2});
+        assertEquals(1, cursor.advance(1));
+        assertEquals(1, cursor.nextVLong());
+        assertEquals(2, cursor.nextVLong());
+        assertFalse(cursor.hasNextVLong());
+        assertEquals(AdjacencyCursor.NOT_FOUND, cursor.advance(1));
+    }
+
+    @Test
+    void shouldStopAtFirstOfDuplicateTargets() {
+        long[] targets = new long[200];
+        for (int i = 0; i < targets.length; i++) {
+            // 150 duplicates of 42 that span the first three blocks
+            targets[i] = i < 10 ? i : i < 160 ? 42 : i;
+        }
+
+        AdjacencyCursor cursor = cursorFromTargets(targets);
+        assertEquals(42, cursor.advance(42));
+        assertEquals(targets.length - 11, cursor.remaining());
+
+        cursor = cursorFromTargets(targets);
+        assertEquals(42, cursor.skipUntil(41));
+        assertEquals(targets.length - 11, cursor.remaining());
+
+        cursor = cursorFromTargets(targets);
+        assertEquals(160, cursor.skipUntil(42));
+        assertEquals(targets.length - 161, cursor.remaining());
+    }
+
+    @Test
+    void shouldReadTargetsThroughRawCursor() {
+        long[] targets = randomTargets(150, 1000, 5L);
+        long[] deltas = deltas(targets);
+        byte[] page = new byte[Integer.BYTES + BitPackedEncoding.packedSize(deltas, deltas.length)];
+        writeDegree(page, targets.length);
+        BitPackedEncoding.pack(deltas, deltas.length, page, Integer.BYTES);
+
+        PropertyCursor cursor = new BitPackedAdjacencyList(new byte[][]{page}).cursor(0);
+        for (long target : targets) {
+            assertTrue(cursor.hasNextLong());
+            assertEquals(target, cursor.nextLong());
+        }
+        assertFalse(cursor.hasNextLong());
+    }
+
+    @Test
+    void shouldEstimatePackedSizeOfConsecutiveTargets() {
+        long[] targets = new long[100];
+        Arrays.setAll(targets, i -> i);
+        long[] deltas = deltas(targets);
+
+        assertEquals(
+            Integer.BYTES + BitPackedEncoding.packedSize(deltas, deltas.length),
+            BitPackedAdjacencyList.computeAdjacencyByteSize(targets.length, 1, 1)
+        );
+    }
+
+    @Test
+    void shouldSkipAndAdvanceAcrossBlocks() {
+        long[] targets = randomTargets(500, 10_000, 1337L);
+        Random random = new Random(7L);
+        for (int run = 0; run < 200; run++) {
+            AdjacencyCursor cursor = cursorFromTargets(targets);
+            int position = 0;
+            long target = -1L;
+            while (cursor.hasNextVLong()) {
+                target += random.nextInt(200);
+                boolean skip = random.nextBoolean();
+                // consume up to the first matching target or everything if there is none
+                while (position < targets.length - 1 && (skip ? targets[position] <= target : targets[position] < target)) {
+                    position++;
+                }
+                long expected = targets[position++];
+                assertEquals(expected, skip ? cursor.skipUntil(target) : cursor.advance(target));
+                assertEquals(targets.length - position, cursor.remaining());
+            }
+        }
+    }
+
+    @Test
+    void shouldCopyFromOtherCursor() {
+        long[] targets = randomTargets(200, 1000, 99L);
+        AdjacencyCursor cursor = cursorFromTargets(targets);
+        cursor.advance(targets[100]);
+
+        AdjacencyCursor copy = cursorFromTargets(new long[]{42});
+        copy.copyFrom(cursor);
+
+        assertEquals(cursor.remaining(), copy.remaining());
+        while (cursor.hasNextVLong()) {
+            assertEquals(cursor.nextVLong(), copy.nextVLong());
+        }
+        assertFalse(copy.hasNextVLong());
+    }
+
+    @Test
+    void shouldLoadSameGraphFromStore() {
+        Graph varLongGraph = storeGraph(AdjacencyEncoding.VAR_LONG, Orientation.NATURAL);
+        Graph bitPackedGraph = storeGraph(AdjacencyEncoding.BIT_PACKED, Orientation.NATURAL);
+
+        assertGraphEquals(varLongGraph, bitPackedGraph);
+    }
+
+    @Test
+    void shouldLoadSameGraphFromCypher() {
+        Graph varLongGraph = cypherGraph(AdjacencyEncoding.VAR_LONG);
+        Graph bitPackedGraph = cypherGraph(AdjacencyEncoding.BIT_PACKED);
+
+        assertGraphEquals(varLongGraph, bitPackedGraph);
+    }
+
+    @Test
+    void shouldIntersectLikeVarLongGraph() {
+        Graph varLongGraph = storeGraph(AdjacencyEncoding.VAR_LONG, Orientation.UNDIRECTED);
+        Graph bitPackedGraph = storeGraph(AdjacencyEncoding.BIT_PACKED, Orientation.UNDIRECTED);
+
+        assertEquals(triangles(varLongGraph), triangles(bitPackedGraph));
+    }
+
+    private Graph storeGraph(AdjacencyEncoding adjacencyEncoding, Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .globalOrientation(orientation)
+            .adjacencyEncoding(adjacencyEncoding)
+            .addRelationshipProperty(PropertyMapping.of("weight", 0.0))
+            .build()
+            .graph();
+    }
+
+    private Graph cypherGraph(AdjacencyEncoding adjacencyEncoding) {
+        return new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery("MATCH (n:Node) RETURN id(n) AS id")
+            .relationshipQuery("MATCH (a)-[r:REL]->(b) RETURN id(a) AS source, id(b) AS target, r.weight AS weight")
+            .adjacencyEncoding(adjacencyEncoding)
+            .build()
+            .graph();
+    }
+
+    private static List<List<Long>> triangles(Graph graph) {
+        List<List<Long>> triangles = new ArrayList<>();
+        var intersect = graph.intersection();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            intersect.intersectAll(nodeId, (a, b, c) -> triangles.add(List.of(a, b, c)));
+        }
+        return triangles;
+    }
+
+    private static long[] randomTargets(int degree, int maxDelta, long seed) {
+        Random random = new Random(seed);
+        long[] targets = new long[degree];
+        targets[0] = random.nextInt(maxDelta);
+        for (int i = 1; i < degree; i++) {
+            targets[i] = targets[i - 1] + random.nextInt(maxDelta);
+        }
+        return targets;
+    }
+
+    private static AdjacencyCursor cursorFromTargets(long[] targets) {
+        long[] deltas = deltas(targets);
+        byte[] page = new byte[Integer.BYTES + BitPackedEncoding.packedSize(deltas, deltas.length)];
+        writeDegree(page, targets.length);
+        BitPackedEncoding.pack(deltas, deltas.length, page, Integer.BYTES);
+
+        AdjacencyCursor cursor = new BitPackedAdjacencyList(new byte[][]{page}).rawDecompressingCursor();
+        cursor.init(0);
+        return cursor;
+    }
+
+    private static long[] deltas(long[] targets) {
+        long[] deltas = new long[targets.length];
+        deltas[0] = targets[0];
+        for (int i = 1; i < targets.length; i++) {
+            deltas[i] = targets[i] - targets[i - 1];
+        }
+        return deltas;
+    }
+
+    private static void writeDegree(byte[] page, int degree) {
+        page[0] = (byte) degree;
+        page[1] = (byte) (degree >>> 8);
+    }
+}
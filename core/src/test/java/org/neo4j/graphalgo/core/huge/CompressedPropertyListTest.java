@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+
+class CompressedPropertyListTest {
+
+    static Stream<PropertyProducer> propertyProducers() {
+        return Stream.of(
+            PropertyProducer.fixed("weight", 1.0),
+            PropertyProducer.random("weight", 0, 1),
+            new PropertyProducer() {
+                @Override
+                public String getPropertyName() {
+                    return "weight";
+                }
+
+                @Override
+                public double getPropertyValue(java.util.Random random) {
+                    return random.nextInt(1000);
+                }
+            }
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("propertyProducers")
+    void shouldReadSamePropertiesAsUncompressedList(PropertyProducer propertyProducer) {
+        var uncompressed = generate(propertyProducer);
+        var compressed = compress(uncompressed);
+
+        assertThat(compressed.relationships().properties().orElseThrow().list())
+            .isInstanceOf(CompressedPropertyList.class);
+        assertThat(uncompressed.relationships().properties().orElseThrow().list())
+            .isInstanceOf(TransientAdjacencyList.class);
+
+        assertEquals(uncompressed.relationshipCount(), compressed.relationshipCount());
+        for (long nodeId = 0; nodeId < uncompressed.nodeCount(); nodeId++) {
+            assertEquals(relationships(uncompressed, nodeId), relationships(compressed, nodeId));
+        }
+
+        var source = 0L;
+        while (compressed.degree(source) == 0) {
+            source++;
+        }
+        var target = compressed.getTarget(source, 0);
+        assertEquals(
+            uncompressed.relationshipProperty(source, target, Double.NaN),
+            compressed.relationshipProperty(source, target, Double.NaN)
+        );
+    }
+
+    @Test
+    void shouldReadPropertiesThroughDecompressingCursor() {
+        var compressed = compress(generate(PropertyProducer.random("weight", 0, 1)));
+        var properties = compressed.relationships().properties().orElseThrow();
+
+        for (long nodeId = 0; nodeId < compressed.nodeCount(); nodeId++) {
+            long offset = properties.offsets().get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            var expected = properties.list().cursor(offset);
+            var cursor = properties.list().decompressingCursor(offset);
+            assertEquals(compressed.degree(nodeId), cursor.size());
+            while (cursor.hasNextVLong()) {
+                assertEquals(expected.nextLong(), cursor.nextVLong());
+            }
+            assertThat(expected.hasNextLong()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldComputeMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100)
+            .maxRelCount(1000)
+            .build();
+
+        var memoryRange = CompressedPropertyList
+            .memoryEstimation(RelationshipType.ALL_RELATIONSHIPS, false)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+
+        long classSize = 16;
+        long bestCaseSize = 100 * (Integer.BYTES + 1 + 1 + Long.BYTES);
+        long worstCaseSize = 1000 * Long.BYTES + 100 * (Integer.BYTES + 1);
+        assertEquals(pagesSize(bestCaseSize) + classSize, memoryRange.min);
+        assertEquals(pagesSize(worstCaseSize) + classSize, memoryRange.max);
+    }
+
+    private static long pagesSize(long byteSize) {
+        int pages = PageUtil.numPagesFor(byteSize, PAGE_SHIFT, PAGE_MASK);
+        return pages * MemoryUsage.sizeOfByteArray(PAGE_SIZE) + MemoryUsage.sizeOfObjectArray(pages);
+    }
+
+    private static HugeGraph generate(PropertyProducer propertyProducer) {
+        return RandomGraphGenerator.builder()
+            .nodeCount(1000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .relationshipPropertyProducer(propertyProducer)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+    }
+
+    private static HugeGraph compress(HugeGraph graph) {
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(graph)
+            .loadRelationshipProperty(true)
+            .compressProperties(true)
+            .build();
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                relationshipsBuilder.addFromInternal(source, target, property);
+                return true;
+            });
+            return true;
+        });
+        return GraphFactory.create(graph.idMap(), relationshipsBuilder.build(), AllocationTracker.empty());
+    }
+
+    private static List<String> relationships(HugeGraph graph, long nodeId) {
+        var relationships = new ArrayList<String>();
+        graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+            relationships.add(target + ":" + property);
+            return true;
+        });
+        return relationships;
+    }
+}
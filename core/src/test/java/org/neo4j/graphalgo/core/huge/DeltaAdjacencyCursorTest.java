@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.CSRGraph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@GdlExtension
+class DeltaAdjacencyCursorTest {
+
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE " +
+        "  (a)" +
+        ", (b)" +
+        ", (c)" +
+        ", (d)" +
+        ", (a)-[:REL]->(b)" +
+        ", (a)-[:REL]->(d)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    private long a;
+    private long b;
+    private long c;
+    private long d;
+    private AdjacencyCursor adjacencyCursor;
+
+    @BeforeEach
+    void setup() {
+        a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        b = graphStore.nodes().toMappedNodeId(idFunction.of("b"));
+        c = graphStore.nodes().toMappedNodeId(idFunction.of("c"));
+        d = graphStore.nodes().toMappedNodeId(idFunction.of("d"));
+        graphStore.addRelationships(RelationshipType.of("REL"), new long[]{a, a}, new long[]{c, b}, Map.of(), 1);
+
+        var topology = ((CSRGraph) graphStore.getGraph(RelationshipType.of("REL"))).relationshipTopology();
+        adjacencyCursor = topology.list().decompressingCursor(topology.offsets().get(a));
+    }
+
+    @Test
+    void shouldIterateInOrder() {
+        assertThat(adjacencyCursor).isInstanceOf(DeltaAdjacencyCursor.class);
+        assertThat(adjacencyCursor.size()).isEqualTo(4);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(b);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(b);
+        assertThat(adjacencyCursor.remaining()).isEqualTo(2);
+        assertThat(adjacencyCursor.peekVLong()).isEqualTo(c);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(c);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(d);
+        assertThat(adjacencyCursor.hasNextVLong()).isFalse();
+    }
+
+    @Test
+    void shouldSkipUntilLargerValue() {
+        assertThat(adjacencyCursor.skipUntil(b)).isEqualTo(c);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(d);
+        assertThat(adjacencyCursor.skipUntil(d)).isEqualTo(AdjacencyCursor.NOT_FOUND);
+    }
+
+    @Test
+    void shouldAdvanceUntilEqualValue() {
+        assertThat(adjacencyCursor.advance(c)).isEqualTo(c);
+        assertThat(adjacencyCursor.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCopyFromOtherCursor() {
+        adjacencyCursor.nextVLong();
+        adjacencyCursor.nextVLong();
+
+        var topology = ((CSRGraph) graphStore.getGraph(RelationshipType.of("REL"))).relationshipTopology();
+        var copy = topology.list().rawDecompressingCursor();
+        copy.copyFrom(adjacencyCursor);
+
+        assertThat(copy.nextVLong()).isEqualTo(c);
+        assertThat(copy.nextVLong()).isEqualTo(d);
+        assertThat(adjacencyCursor.nextVLong()).isEqualTo(c);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.CypherLoaderBuilder;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class OffHeapAdjacencyListTest extends BaseTest {
+
+    private static final int NODE_COUNT = 300;
+
+    @BeforeEach
+    void setup() {
+        runQuery("UNWIND range(0, " + (NODE_COUNT - 1) + ") AS id CREATE (:Node {id: id})");
+        // node 0 has more neighbours than fit into a single decoded block
+        runQuery("MATCH (a:Node {id: 0}), (b:Node) WHERE b.id > 0 CREATE (a)-[:REL {weight: b.id / 10}]->(b)");
+        runQuery("MATCH (a:Node), (b:Node) WHERE a.id > 0 AND (a.id * 31 + b.id * 17) % 23 = 0 CREATE (a)-[:REL {weight: a.id + b.id}]->(b)");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldLoadSameGraphFromStore(AdjacencyStorage adjacencyStorage, @TempDir Path tempDir) {
+        String spillDirectory = spillDirectory(adjacencyStorage, tempDir);
+
+        Graph heapGraph = storeGraph(AdjacencyStorage.HEAP, null, Orientation.NATURAL);
+        Graph offHeapGraph = storeGraph(adjacencyStorage, spillDirectory, Orientation.NATURAL);
+
+        assertGraphEquals(heapGraph, offHeapGraph);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldLoadSameGraphWithCompressedProperties(AdjacencyStorage adjacencyStorage, @TempDir Path tempDir) {
+        String spillDirectory = spillDirectory(adjacencyStorage, tempDir);
+
+        Graph heapGraph = storeGraph(AdjacencyStorage.HEAP, null, Orientation.NATURAL);
+        Graph offHeapGraph = storeGraph(adjacencyStorage, spillDirectory, Orientation.NATURAL, true);
+
+        assertGraphEquals(heapGraph, offHeapGraph);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldReadCompressedPropertiesThroughDecompressingCursor(
+        AdjacencyStorage adjacencyStorage,
+        @TempDir Path tempDir
+    ) {
+        String spillDirectory = spillDirectory(adjacencyStorage, tempDir);
+
+        var graph = (HugeGraph) storeGraph(adjacencyStorage, spillDirectory, Orientation.NATURAL, true);
+        var properties = graph.relationships().properties().orElseThrow();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long offset = properties.offsets().get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            var expected = properties.list().cursor(offset);
+            var cursor = properties.list().decompressingCursor(offset);
+            assertEquals(graph.degree(nodeId), cursor.size());
+            while (cursor.hasNextVLong()) {
+                assertEquals(expected.nextLong(), cursor.nextVLong());
+            }
+            assertFalse(expected.hasNextLong());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldLoadSameGraphFromCypher(AdjacencyStorage adjacencyStorage, @TempDir Path tempDir) {
+        String spillDirectory = spillDirectory(adjacencyStorage, tempDir);
+
+        Graph heapGraph = cypherGraph(AdjacencyStorage.HEAP, null);
+        Graph offHeapGraph = cypherGraph(adjacencyStorage, spillDirectory);
+
+        assertGraphEquals(heapGraph, offHeapGraph);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldIntersectLikeHeapGraph(AdjacencyStorage adjacencyStorage, @TempDir Path tempDir) {
+        String spillDirectory = spillDirectory(adjacencyStorage, tempDir);
+
+        Graph heapGraph = storeGraph(AdjacencyStorage.HEAP, null, Orientation.UNDIRECTED);
+        Graph offHeapGraph = storeGraph(adjacencyStorage, spillDirectory, Orientation.UNDIRECTED);
+
+        assertEquals(triangles(heapGraph), triangles(offHeapGraph));
+    }
+
+    @Test
+    void shouldDeleteSpillFilesOnRelease(@TempDir Path spillDirectory) throws IOException {
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .addRelationshipProperty(PropertyMapping.of("weight", 0.0))
+            .adjacencyStorage(AdjacencyStorage.MEMORY_MAPPED)
+            .spillDirectory(spillDirectory.toString())
+            .build()
+            .graphStore();
+
+        try (var spillFiles = Files.list(spillDirectory)) {
+            assertEquals(4, spillFiles.count());
+        }
+
+        graphStore.release();
+
+        try (var spillFiles = Files.list(spillDirectory)) {
+            assertEquals(0, spillFiles.count());
+        }
+    }
+
+    @Test
+    void shouldDeleteSpillFilesOfUnreachableGraphs(@TempDir Path spillDirectory) throws Exception {
+        new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .adjacencyStorage(AdjacencyStorage.MEMORY_MAPPED)
+            .spillDirectory(spillDirectory.toString())
+            .build()
+            .graphStore();
+
+        for (int attempt = 0; attempt < 100 && spillFileCount(spillDirectory) > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, spillFileCount(spillDirectory));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AdjacencyStorage.class, names = {"OFF_HEAP", "MEMORY_MAPPED"})
+    void shouldKeepOpenCursorsReadableAfterRelease(AdjacencyStorage adjacencyStorage, @TempDir Path tempDir) {
+        var heapGraph = (HugeGraph) storeGraph(AdjacencyStorage.HEAP, null, Orientation.NATURAL);
+        StoreLoaderBuilder builder = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .adjacencyStorage(adjacencyStorage);
+        if (adjacencyStorage == AdjacencyStorage.MEMORY_MAPPED) {
+            builder.spillDirectory(tempDir.toString());
+        }
+        GraphStore graphStore = builder.build().graphStore();
+        var topology = ((HugeGraph) graphStore.getUnion()).relationships().topology();
+
+        var expected = heapGraph.relationships().topology();
+        var expectedCursor = expected.list().decompressingCursor(expected.offsets().get(0));
+        var cursor = topology.list().decompressingCursor(topology.offsets().get(0));
+        assertEquals(expectedCursor.nextVLong(), cursor.nextVLong());
+
+        graphStore.release();
+        System.gc();
+
+        while (expectedCursor.hasNextVLong()) {
+            assertEquals(expectedCursor.nextVLong(), cursor.nextVLong());
+        }
+        assertFalse(cursor.hasNextVLong());
+    }
+
+    private static long spillFileCount(Path spillDirectory) throws IOException {
+        try (var spillFiles = Files.list(spillDirectory)) {
+            return spillFiles.count();
+        }
+    }
+
+    private static String spillDirectory(AdjacencyStorage adjacencyStorage, Path tempDir) {
+        return adjacencyStorage == AdjacencyStorage.MEMORY_MAPPED ? tempDir.toString() : null;
+    }
+
+    private Graph storeGraph(AdjacencyStorage adjacencyStorage, String spillDirectory, Orientation orientation) {
+        return storeGraph(adjacencyStorage, spillDirectory, orientation, false);
+    }
+
+    private Graph storeGraph(
+        AdjacencyStorage adjacencyStorage,
+        String spillDirectory,
+        Orientation orientation,
+        boolean compressRelationshipProperties
+    ) {
+        StoreLoaderBuilder builder = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .globalOrientation(orientation)
+            .adjacencyStorage(adjacencyStorage)
+            .compressRelationshipProperties(compressRelationshipProperties)
+            .addRelationshipProperty(PropertyMapping.of("weight", 0.0));
+        if (spillDirectory != null) {
+            builder.spillDirectory(spillDirectory);
+        }
+        return builder.build().graph();
+    }
+
+    private Graph cypherGraph(AdjacencyStorage adjacencyStorage, String spillDirectory) {
+        CypherLoaderBuilder builder = new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery("MATCH (n:Node) RETURN id(n) AS id")
+            .relationshipQuery("MATCH (a)-[r:REL]->(b) RETURN id(a) AS source, id(b) AS target, r.weight AS weight")
+            .adjacencyStorage(adjacencyStorage);
+        if (spillDirectory != null) {
+            builder.spillDirectory(spillDirectory);
+        }
+        return builder.build().graph();
+    }
+
+    private static List<List<Long>> triangles(Graph graph) {
+        List<List<Long>> triangles = new ArrayList<>();
+        var intersect = graph.intersection();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            intersect.intersectAll(nodeId, (a, b, c) -> triangles.add(List.of(a, b, c)));
+        }
+        return triangles;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffHeapAdjacencyOffsetsTest {
+
+    @Test
+    void shouldReadSinglePage() {
+        long[] page = new long[1000];
+        Arrays.setAll(page, i -> i * 42L);
+
+        var tracker = AllocationTracker.create();
+        try (var offsets = OffHeapAdjacencyOffsets.of(new long[][]{page}, 4096, OffHeapPages.Target.direct(tracker))) {
+            assertEquals(page.length * Long.BYTES, tracker.trackedBytes());
+            for (int i = 0; i < page.length; i++) {
+                assertEquals(page[i], offsets.get(i));
+            }
+        }
+        assertEquals(0, tracker.trackedBytes());
+    }
+
+    @Test
+    void shouldReadMultiplePages(@TempDir Path spillDirectory) {
+        int pageSize = 128;
+        long[][] pages = new long[3][];
+        pages[0] = new long[pageSize];
+        pages[1] = new long[pageSize];
+        // the last page may be shorter than the others
+        pages[2] = new long[17];
+        for (int page = 0; page < pages.length; page++) {
+            int pageIndex = page;
+            Arrays.setAll(pages[page], i -> Long.MAX_VALUE - pageIndex * pageSize - i);
+        }
+
+        var tracker = AllocationTracker.create();
+        try (var offsets = OffHeapAdjacencyOffsets.of(pages, pageSize, OffHeapPages.Target.mapped(spillDirectory, tracker))) {
+            assertEquals((2 * pageSize + 17) * Long.BYTES, tracker.trackedBytes());
+            for (int page = 0; page < pages.length; page++) {
+                for (int i = 0; i < pages[page].length; i++) {
+                    assertEquals(pages[page][i], offsets.get((long) page * pageSize + i));
+                }
+            }
+        }
+        assertEquals(0, tracker.trackedBytes());
+    }
+}
@@ -229,6 +229,7 @@ class TransientAdjacencyListTest {
             false,
             Aggregation.NONE,
             false,
+            false,
             1,
             Pools.DEFAULT,
             AllocationTracker.empty()
@@ -39,9 +39,9 @@ class BitIdMapTest {
 
     @ParameterizedTest
     @CsvSource({
-        "0,160,200,240",
-        "100,168,208,248",
-        "100000000000,12988281400,12988281440,12988281480"
+        "0,216,256,296",
+        "100,224,264,304",
+        "100000000000,13378906456,13378906496,13378906536"
     })
     void shouldComputeMemoryEstimation(
         long highestNeoId,
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.NodeProjections;
+import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.utils.export.file.GraphStoreToFileExporter;
+import org.neo4j.graphalgo.core.utils.export.file.ImmutableGraphStoreToFileExporterConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.logging.NullLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.extension.GdlSupportExtension.DATABASE_ID;
+
+@GdlExtension
+class CsvFactoryTest {
+
+    @GdlGraph
+    private static final String GDL =
+        "CREATE" +
+        "  (a:A:B { prop1: 0, prop2: 42, prop3: [1L, 3L, 3L, 7L]})" +
+        ", (b:A:B { prop1: 1, prop2: 43})" +
+        ", (c:A:C { prop1: 2, prop2: 44, prop3: [1L, 9L, 8L, 4L] })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { prop1: 0, prop2: 42 }]->(a)" +
+        ", (a)-[:REL1 { prop1: 1, prop2: 43 }]->(b)" +
+        ", (b)-[:REL1 { prop1: 2, prop2: 44 }]->(a)" +
+        ", (b)-[:REL2 { prop3: 3 }]->(c)" +
+        ", (c)-[:REL2 { prop3: 4 }]->(d)" +
+        ", (d)-[:REL2 { prop3: 5 }]->(a)" +
+        ", (d)-[:REL3]->(c)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @GdlGraph(graphNamePrefix = "unlabelled")
+    private static final String UNLABELLED_GDL =
+        "CREATE" +
+        "  (a { score: 0.5 })" +
+        ", (b { score: 1.5 })" +
+        ", (c { score: 2.5 })" +
+        ", (d { score: 3.5 })" +
+        ", (a)-[:REL]->(b)" +
+        ", (b)-[:REL]->(c)" +
+        ", (c)-[:REL]->(d)" +
+        ", (d)-[:REL]->(a)";
+
+    @Inject
+    private GraphStore unlabelledGraphStore;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void importExportedGraph(int concurrency) {
+        export(graphStore, concurrency);
+
+        var importedGraphStore = importGraphStore(concurrency);
+
+        assertThat(importedGraphStore.nodeCount()).isEqualTo(graphStore.nodeCount());
+        assertThat(importedGraphStore.relationshipCount()).isEqualTo(graphStore.relationshipCount());
+        assertThat(importedGraphStore.nodeLabels()).isEqualTo(graphStore.nodeLabels());
+        assertThat(importedGraphStore.relationshipTypes()).isEqualTo(graphStore.relationshipTypes());
+        assertThat(importedGraphStore.nodePropertyKeys()).isEqualTo(graphStore.nodePropertyKeys());
+        assertThat(importedGraphStore.relationshipPropertyKeys()).isEqualTo(graphStore.relationshipPropertyKeys());
+
+        for (var relationshipType : graphStore.relationshipTypes()) {
+            var propertyKeys = graphStore.relationshipPropertyKeys(relationshipType);
+            if (propertyKeys.isEmpty()) {
+                assertGraphEquals(graphStore.getGraph(relationshipType), importedGraphStore.getGraph(relationshipType));
+            }
+            for (var propertyKey : propertyKeys) {
+                assertGraphEquals(
+                    graphStore.getGraph(relationshipType, Optional.of(propertyKey)),
+                    importedGraphStore.getGraph(relationshipType, Optional.of(propertyKey))
+                );
+            }
+        }
+        assertGraphEquals(
+            graphStore.getGraph(NodeLabel.of("C"), RelationshipType.of("REL2"), Optional.empty()),
+            importedGraphStore.getGraph(NodeLabel.of("C"), RelationshipType.of("REL2"), Optional.empty())
+        );
+    }
+
+    @Test
+    void importGraphWithoutLabels() {
+        export(unlabelledGraphStore, 4);
+
+        var importedGraphStore = importGraphStore(4);
+
+        assertThat(importedGraphStore.nodeLabels()).containsExactly(NodeLabel.ALL_NODES);
+        assertGraphEquals(unlabelledGraphStore.getUnion(), importedGraphStore.getUnion());
+    }
+
+    @Test
+    void importGraphWithoutRelationships() throws IOException {
+        Files.writeString(tempDir.resolve("nodes_header.csv"), ":ID");
+        Files.writeString(tempDir.resolve("nodes_0.csv"), "0\n1\n2\n");
+
+        var importedGraphStore = importGraphStore(1);
+
+        assertThat(importedGraphStore.nodeCount()).isEqualTo(3);
+        assertThat(importedGraphStore.relationshipCount()).isEqualTo(0);
+        assertThat(importedGraphStore.relationshipTypes()).containsExactly(RelationshipType.ALL_RELATIONSHIPS);
+    }
+
+    @Test
+    void failOnMissingDirectory() {
+        assertThatThrownBy(() -> CsvFactory.of(
+            GraphCreateFromStoreConfig.emptyWithName("", "csv"),
+            tempDir.resolve("missing"),
+            DATABASE_ID,
+            AllocationTracker.empty(),
+            NullLog.getInstance()
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not exist");
+    }
+
+    @Test
+    void failOnUnsupportedColumnType() throws IOException {
+        Files.writeString(tempDir.resolve("nodes_header.csv"), ":ID,name:string");
+
+        assertThatThrownBy(() -> importGraphStore(1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("The column `name:string` in header file `nodes_header.csv` does not declare a supported type.");
+    }
+
+    @Test
+    void failOnDuplicateNodes() throws IOException {
+        Files.writeString(tempDir.resolve("nodes_header.csv"), ":ID");
+        Files.writeString(tempDir.resolve("nodes_0.csv"), "0\n1\n0\n");
+
+        assertThatThrownBy(() -> importGraphStore(1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Node(0) was added multiple times");
+    }
+
+    @Test
+    void failOnUnknownNodes() throws IOException {
+        Files.writeString(tempDir.resolve("nodes_header.csv"), ":ID");
+        Files.writeString(tempDir.resolve("nodes_0.csv"), "0\n1\n");
+        Files.writeString(tempDir.resolve("relationships_REL_header.csv"), ":START_ID,:END_ID");
+        Files.writeString(tempDir.resolve("relationships_REL_0.csv"), "0,1\n1,2\n");
+
+        assertThatThrownBy(() -> importGraphStore(1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Line 2 of `relationships_REL_0.csv` references the node 2 that is not contained in the node files.");
+    }
+
+    private void export(GraphStore graphStore, int concurrency) {
+        var config = ImmutableGraphStoreToFileExporterConfig
+            .builder()
+            .exportName(tempDir.toString())
+            .writeConcurrency(concurrency)
+            .build();
+        GraphStoreToFileExporter.csv(graphStore, config, tempDir).run(AllocationTracker.empty());
+    }
+
+    private GraphStore importGraphStore(int concurrency) {
+        var config = ImmutableGraphCreateFromStoreConfig.builder()
+            .graphName("csv")
+            .nodeProjections(NodeProjections.all())
+            .relationshipProjections(RelationshipProjections.all())
+            .readConcurrency(concurrency)
+            .build();
+        return CsvFactory
+            .of(config, tempDir, DATABASE_ID, AllocationTracker.empty(), NullLog.getInstance())
+            .build()
+            .graphStore();
+    }
+}
@@ -32,6 +32,7 @@ import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.TestGraphLoader;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
@@ -211,6 +212,86 @@ class CypherFactoryTest extends BaseTest {
         assertGraphEquals(fromGdl("(a { nodeProp: 42 })-[{ w: 21 }]->(a)"), graph);
     }
 
+    static Stream<Arguments> parallelRelationshipLoadingVariants() {
+        return Stream.of(
+            Arguments.of(
+                "pipelined",
+                "MATCH (n)-[r]->(m) RETURN id(n) AS source, id(m) AS target, type(r) AS type, r.prop AS prop, r.weight AS weight",
+                true,
+                0L
+            ),
+            Arguments.of(
+                "id ranges",
+                "MATCH (n)-[r]->(m) WHERE $lowId <= id(n) AND id(n) < $highId " +
+                "RETURN id(n) AS source, id(m) AS target, type(r) AS type, r.prop AS prop, r.weight AS weight",
+                false,
+                1_000L
+            )
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("parallelRelationshipLoadingVariants")
+    void loadsRelationshipsInParallel(
+        String description,
+        String relationshipQuery,
+        boolean parallelRelationshipLoading,
+        long relationshipBatchSize
+    ) {
+        runQuery(
+            "MATCH (n) WITH collect(n) AS nodes " +
+            "UNWIND range(0, size(nodes) - 1) AS i " +
+            "WITH i, nodes[i] AS a, nodes[(i * 7 + 1) % size(nodes)] AS b " +
+            "CREATE (a)-[:OTHER {prop: i % 3, weight: i * 0.5}]->(b)"
+        );
+        String nodeQuery = "MATCH (n) RETURN id(n) AS id";
+        String sequentialQuery = "MATCH (n)-[r]->(m) " +
+                                 "RETURN id(n) AS source, id(m) AS target, type(r) AS type, r.prop AS prop, r.weight AS weight";
+
+        GraphStore expected = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeQuery)
+            .relationshipQuery(sequentialQuery)
+            .build()
+            .graphStore());
+
+        GraphStore actual = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeQuery)
+            .relationshipQuery(relationshipQuery)
+            .concurrency(4)
+            .parallelRelationshipLoading(parallelRelationshipLoading)
+            .relationshipBatchSize(relationshipBatchSize)
+            .build()
+            .graphStore());
+
+        assertEquals(2 * COUNT, actual.relationshipCount());
+        assertEquals(expected.relationshipTypes(), actual.relationshipTypes());
+        for (RelationshipType type : expected.relationshipTypes()) {
+            for (String property : List.of("prop", "weight")) {
+                assertGraphEquals(
+                    expected.getGraph(type, Optional.of(property)),
+                    actual.getGraph(type, Optional.of(property))
+                );
+            }
+        }
+    }
+
+    @Test
+    void failsOnBatchedRelationshipQueryWithoutIdRangeParameters() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new CypherLoaderBuilder()
+                .api(db)
+                .nodeQuery("MATCH (n) RETURN id(n) AS id")
+                .relationshipQuery("MATCH (n)-->(m) WHERE id(n) >= $lowId RETURN id(n) AS source, id(m) AS target")
+                .relationshipBatchSize(1_000L)
+                .build()
+        );
+
+        assertThat(exception).hasMessage("A batched relationship query must use the `$lowId` and `$highId` parameters.");
+    }
+
     @Test
     void testLoadingGraphWithLabelInformation() {
         clearDb();
@@ -19,28 +19,40 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.gdl.GdlFactory;
 import org.neo4j.kernel.database.DatabaseIdFactory;
 import org.neo4j.kernel.database.NamedDatabaseId;
+import org.neo4j.logging.NullLog;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.extension.GdlSupportExtension.DATABASE_ID;
 
 @GdlExtension
@@ -56,6 +68,15 @@ class GraphStoreCatalogTest {
     @Inject
     private GraphStore graphStore;
 
+    @TempDir
+    Path spillLocation;
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.disableSpilling();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
     @Test
     void set() {
         assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
@@ -75,7 +96,7 @@ class GraphStoreCatalogTest {
     void remove() {
         GraphStoreCatalog.set(CONFIG, graphStore);
         assertTrue(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
-        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, graphStoreWithConfig -> {}, true);
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, catalogEntry -> {}, true);
         assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
     }
 
@@ -84,7 +105,7 @@ class GraphStoreCatalogTest {
         assertEquals(0, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
         GraphStoreCatalog.set(CONFIG, graphStore);
         assertEquals(1, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
-        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, graphStoreWithConfig -> {}, true);
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, catalogEntry -> {}, true);
         assertEquals(0, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
     }
 
@@ -144,7 +165,170 @@ class GraphStoreCatalogTest {
 
         // test the drop code path
         assertThatExceptionOfType(NoSuchElementException.class)
-            .isThrownBy(() -> GraphStoreCatalog.remove(USER_NAME, dummyDatabaseId, searchGraphName, graphStoreWithConfig -> {}, true))
+            .isThrownBy(() -> GraphStoreCatalog.remove(USER_NAME, dummyDatabaseId, searchGraphName, catalogEntry -> {}, true))
             .withMessage(expectedMessage);
     }
+
+    @Test
+    void shouldNotSpillGraphsWithinMemoryBudget() {
+        GraphStoreCatalog.enableSpilling(Long.MAX_VALUE, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-->(b)");
+        setGraph("graph1", "(a)-->(b)-->(c)");
+
+        assertThat(GraphStoreCatalog.getEntries(USER_NAME))
+            .extracting(GraphStoreCatalogEntry::state)
+            .containsOnly(GraphStoreCatalogEntry.State.RESIDENT);
+    }
+
+    @Test
+    void shouldSpillLeastRecentlyUsedGraph() throws IOException {
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-->(b)");
+        setGraph("graph1", "(a)-->(b)-->(c)");
+
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph1").state());
+        assertEquals(1, snapshotCount());
+
+        var spilledEntry = entry("graph0");
+        assertTrue(spilledEntry.graphStore().isEmpty());
+        assertEquals(2L, spilledEntry.nodeCount());
+        assertEquals(1L, spilledEntry.relationshipCount());
+        assertThat(spilledEntry.sizeInBytes()).isPositive();
+
+        GraphStoreCatalog.get(USER_NAME, DATABASE_ID, "graph1");
+        GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph1").state());
+    }
+
+    @Test
+    void shouldReloadSpilledGraphOnGet() {
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-[:T {p: 4.2}]->(b)");
+        setGraph("graph1", "(a)-->(b)-->(c)");
+
+        var graphStore0 = GraphStoreCatalog.get(USER_NAME, DATABASE_ID, "graph0").graphStore();
+        GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+        assertGraphEquals(fromGdl("(a)-[:T {p: 4.2}]->(b)"), graphStore0.getUnion());
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph0").state());
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph1").state());
+
+        var graphStore1 = GraphStoreCatalog.get(USER_NAME, DATABASE_ID, "graph1").graphStore();
+        GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+        assertGraphEquals(fromGdl("(a)-->(b)-->(c)"), graphStore1.getUnion());
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+    }
+
+    @Test
+    void shouldKeepModificationsOfGraphStoresThatAreHeldWhileSpilled() throws IOException {
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-[:T]->(b)");
+        var heldGraphStore = GraphStoreCatalog.get(USER_NAME, DATABASE_ID, "graph0").graphStore();
+        setGraph("graph1", "(a)-->(b)-->(c)");
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+
+        heldGraphStore.deleteRelationships(RelationshipType.of("T"));
+
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph0").state());
+        assertEquals(0, snapshotCount());
+        heldGraphStore = null;
+        System.gc();
+        assertEquals(0L, GraphStoreCatalog.get(USER_NAME, DATABASE_ID, "graph0").graphStore().relationshipCount());
+    }
+
+    @Test
+    void shouldSizeGraphsByTrackedAllocations() {
+        GraphStoreCatalog.enableSpilling(1500L, spillLocation, NullLog.getInstance());
+        for (String graphName : List.of("graph0", "graph1")) {
+            var tracker = AllocationTracker.create();
+            tracker.add(1000L);
+            GraphStoreCatalog.set(
+                GraphCreateFromStoreConfig.emptyWithName(USER_NAME, graphName),
+                GdlFactory.of("(a)-->(b)", DATABASE_ID).build().graphStore(),
+                tracker
+            );
+            GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+        }
+
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+        assertEquals(1000L, entry("graph0").sizeInBytes());
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph1").state());
+    }
+
+    @Test
+    void shouldSpillGraphsAgainAfterGettingAllGraphStores() {
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-->(b)");
+        setGraph("graph1", "(a)-->(b)-->(c)");
+
+        var graphStores = GraphStoreCatalog.getGraphStores(USER_NAME);
+        GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+
+        assertEquals(2, graphStores.size());
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, entry("graph0").state());
+        assertEquals(GraphStoreCatalogEntry.State.RESIDENT, entry("graph1").state());
+    }
+
+    @Test
+    void shouldTrackAccesses() {
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        var createdEntry = entry(GRAPH_NAME);
+        assertEquals(0L, createdEntry.accessCount());
+
+        GraphStoreCatalog.get(USER_NAME, DATABASE_ID, GRAPH_NAME);
+        GraphStoreCatalog.get(USER_NAME, DATABASE_ID, GRAPH_NAME);
+
+        var accessedEntry = entry(GRAPH_NAME);
+        assertEquals(2L, accessedEntry.accessCount());
+        assertFalse(accessedEntry.lastAccessTime().isBefore(createdEntry.lastAccessTime()));
+    }
+
+    @Test
+    void shouldRemoveSpilledGraph() throws IOException {
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        setGraph("graph0", "(a)-->(b)");
+        setGraph("graph1", "(a)-->(b)-->(c)");
+        assertEquals(1, snapshotCount());
+
+        var removedGraphs = new ArrayList<GraphStoreCatalogEntry>();
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, "graph0", removedGraphs::add, true);
+
+        assertEquals(1, removedGraphs.size());
+        assertEquals("graph0", removedGraphs.get(0).config().graphName());
+        assertEquals(GraphStoreCatalogEntry.State.SPILLED, removedGraphs.get(0).state());
+        assertEquals(2L, removedGraphs.get(0).nodeCount());
+        assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, "graph0"));
+        assertEquals(0, snapshotCount());
+    }
+
+    @Test
+    void shouldRejectNonPositiveMemoryBudget() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> GraphStoreCatalog.enableSpilling(0L, spillLocation, NullLog.getInstance()))
+            .withMessage("The catalog memory budget must be positive, got 0.");
+    }
+
+    private static void setGraph(String graphName, String gdl) {
+        GraphStoreCatalog.set(
+            GraphCreateFromStoreConfig.emptyWithName(USER_NAME, graphName),
+            GdlFactory.of(gdl, DATABASE_ID).build().graphStore()
+        );
+        GraphStoreCatalog.awaitMemoryBudgetEnforcement();
+    }
+
+    private static GraphStoreCatalogEntry entry(String graphName) {
+        return GraphStoreCatalog
+            .getEntries(USER_NAME)
+            .stream()
+            .filter(entry -> entry.config().graphName().equals(graphName))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private long snapshotCount() throws IOException {
+        try (var snapshots = Files.list(spillLocation)) {
+            return snapshots.count();
+        }
+    }
 }
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -40,22 +42,32 @@ import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.api.schema.RelationshipSchema;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.loading.NullPropertyMap.DoubleNullPropertyMap;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.Neo4jGraph;
+import org.neo4j.kernel.database.DatabaseIdFactory;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -131,6 +143,159 @@ class GraphStoreTest extends BaseTest {
         assertEquals(graphStore.schema().filterNodeLabels(new HashSet<>(labels)), filteredGraph.schema());
     }
 
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("validNodeFilterParameters")
+    void testMaterializingGraphsByNodeLabels(String desc, List<NodeLabel> labels, String expectedGraph) {
+        GraphLoader graphLoader = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("myGraph")
+            .nodeProjections(nodeProjections())
+            .addRelationshipProjection(RelationshipProjection.of("T1", Orientation.NATURAL))
+            .build();
+
+        GraphStore graphStore = graphLoader.graphStore();
+
+        Graph materializedGraph = graphStore.getGraph(labels, graphStore.relationshipTypes(), Optional.empty(), true);
+
+        assertGraphEquals(fromGdl(expectedGraph), materializedGraph);
+
+        assertEquals(graphStore.schema().filterNodeLabels(new HashSet<>(labels)), materializedGraph.schema());
+    }
+
+    @Test
+    void materializedGraphsAreCachedUntilTheGraphStoreIsModified() {
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .nodeProjections(nodeProjections())
+            .relationshipProjections(relationshipProjections())
+            .build()
+            .graphStore();
+
+        var labels = singletonList(NodeLabel.of("A"));
+        var relationshipTypes = singletonList(RelationshipType.of("T1"));
+        var relationshipProperty = Optional.of("property1");
+
+        Graph materializedGraph = graphStore.getGraph(labels, relationshipTypes, relationshipProperty, true);
+        assertThat(graphStore.getGraph(labels, relationshipTypes, relationshipProperty, true)).isSameAs(materializedGraph);
+        assertThat(graphStore.getGraph(labels, relationshipTypes, Optional.empty(), true)).isNotSameAs(materializedGraph);
+        assertThat(graphStore.getGraph(labels, relationshipTypes, relationshipProperty, false)).isNotSameAs(materializedGraph);
+
+        graphStore.addNodeProperty(NodeLabel.of("A"), "foo", new DoubleNullPropertyMap(42.0));
+
+        Graph modifiedGraph = graphStore.getGraph(labels, relationshipTypes, relationshipProperty, true);
+        assertThat(modifiedGraph).isNotSameAs(materializedGraph);
+        assertThat(modifiedGraph.nodeProperties("foo").doubleValue(0)).isEqualTo(42.0);
+    }
+
+    @Test
+    void materializedGraphEqualsNodeFilteredGraph() {
+        NodeLabel[] labelA = {NodeLabel.of("A")};
+        NodeLabel[] labelsAB = {NodeLabel.of("A"), NodeLabel.of("B")};
+        NodeLabel[] labelB = {NodeLabel.of("B")};
+        HugeGraph graph = RandomGraphGenerator.builder()
+            .nodeCount(50_000)
+            .averageDegree(5)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .nodeLabelProducer(nodeId -> nodeId % 3 == 0 ? labelA : nodeId % 3 == 1 ? labelsAB : labelB)
+            .relationshipPropertyProducer(PropertyProducer.random("property", 0, 1))
+            .seed(42L)
+            .build()
+            .generate();
+        GraphStore graphStore = CSRGraphStore.of(
+            DatabaseIdFactory.from("neo4j", UUID.randomUUID()),
+            graph,
+            "REL",
+            Optional.of("property"),
+            4,
+            AllocationTracker.empty()
+        );
+
+        var labels = singletonList(NodeLabel.of("A"));
+        var relationshipTypes = singletonList(RelationshipType.of("REL"));
+        Graph filteredGraph = graphStore.getGraph(labels, relationshipTypes, Optional.of("property"));
+        Graph materializedGraph = graphStore.getGraph(labels, relationshipTypes, Optional.of("property"), true);
+
+        assertThat(materializedGraph.nodeCount()).isEqualTo(filteredGraph.nodeCount());
+        assertThat(materializedGraph.relationshipCount()).isGreaterThan(10_000L);
+        filteredGraph.forEachNode(nodeId -> {
+            assertThat(materializedGraph.toOriginalNodeId(nodeId)).isEqualTo(filteredGraph.toOriginalNodeId(nodeId));
+            assertThat(materializedGraph.toMappedNodeId(filteredGraph.toOriginalNodeId(nodeId))).isEqualTo(nodeId);
+            assertThat(materializedGraph.nodeLabels(nodeId)).isEqualTo(filteredGraph.nodeLabels(nodeId));
+
+            var expected = new ArrayList<Pair<Long, Double>>();
+            filteredGraph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                expected.add(Tuples.pair(target, property));
+                return true;
+            });
+            var actual = new ArrayList<Pair<Long, Double>>();
+            materializedGraph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                actual.add(Tuples.pair(target, property));
+                return true;
+            });
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+            // unlike the node filtered graph, the materialized graph does not count relationships to filtered out nodes
+            assertThat(materializedGraph.degree(nodeId)).isEqualTo(expected.size());
+            return true;
+        });
+    }
+
+    @Test
+    void addNodesWithoutChangingExistingGraphs() {
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeProjection(NodeProjection.of("A"))
+            .addNodeProjection(NodeProjection.of("B"))
+            .addNodeProperty(PropertyMapping.of("nodeProperty", 0D))
+            .addRelationshipProjection(RelationshipProjection.of("T2", Orientation.NATURAL))
+            .build()
+            .graphStore();
+        var relationshipTypes = singletonList(RelationshipType.of("T2"));
+        Graph graphBefore = graphStore.getGraph(relationshipTypes, Optional.empty());
+
+        graphStore.addNodes(
+            new long[]{100L, 101L},
+            List.of(Set.of(NodeLabel.of("A")), Set.of(NodeLabel.of("B"))),
+            Map.of("nodeProperty", new double[]{1.0, Double.NaN}),
+            4
+        );
+        long c = graphStore.nodes().toMappedNodeId(100L);
+        long d = graphStore.nodes().toMappedNodeId(101L);
+        graphStore.addRelationships(RelationshipType.of("T2"), new long[]{c}, new long[]{d}, Map.of(), 4);
+
+        assertThat(graphBefore.nodeCount()).isEqualTo(2L);
+        assertThat(graphBefore.relationshipCount()).isEqualTo(1L);
+
+        Graph graph = graphStore.getGraph(relationshipTypes, Optional.empty());
+        assertThat(graph.nodeCount()).isEqualTo(4L);
+        assertThat(graph.relationshipCount()).isEqualTo(2L);
+        assertThat(graph.nodeLabels(c)).containsExactly(NodeLabel.of("A"));
+        assertThat(graph.nodeLabels(d)).containsExactly(NodeLabel.of("B"));
+        assertThat(graph.degree(d)).isEqualTo(0);
+        var targets = new ArrayList<Long>();
+        graph.forEachRelationship(c, (source, target) -> targets.add(target));
+        assertThat(targets).containsExactly(d);
+        assertThat(graph.nodeProperties("nodeProperty").doubleValue(c)).isEqualTo(1.0);
+        assertThat(graph.nodeProperties("nodeProperty").doubleValue(d)).isEqualTo(0.0);
+
+        Graph graphA = graphStore.getGraph(singletonList(NodeLabel.of("A")), relationshipTypes, Optional.empty());
+        assertThat(graphA.nodeCount()).isEqualTo(2L);
+        assertThat(graphA.toOriginalNodeId(graphA.toMappedNodeId(100L))).isEqualTo(100L);
+        assertThat(graphA.toMappedNodeId(101L)).isEqualTo(-1L);
+    }
+
+    @Test
+    void failsOnAppendingExistingNodes() {
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .build()
+            .graphStore();
+        long existingNodeId = graphStore.nodes().toOriginalNodeId(0L);
+
+        assertThatThrownBy(() -> graphStore.addNodes(new long[]{existingNodeId}, List.of(Set.of()), Map.of(), 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("must not be contained in the graph");
+    }
+
     @Test
     void testModificationDate() throws InterruptedException {
         GraphStore graphStore = new StoreLoaderBuilder()
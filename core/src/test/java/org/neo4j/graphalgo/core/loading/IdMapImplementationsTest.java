@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdMapImplementationsTest {
+
+    private static final GraphDimensions DENSE = ImmutableGraphDimensions.builder()
+        .nodeCount(90_000_000L)
+        .highestNeoId(100_000_000L)
+        .build();
+
+    private static final GraphDimensions SPARSE = ImmutableGraphDimensions.builder()
+        .nodeCount(1_000_000L)
+        .highestNeoId(10_000_000_000L)
+        .build();
+
+    @BeforeEach
+    void setup() {
+        GdsEdition.instance().setToEnterpriseEdition();
+    }
+
+    @AfterEach
+    void teardown() {
+        GdsEdition.instance().setToCommunityEdition();
+    }
+
+    @Test
+    void shouldUseBitIdMapForDenseIds() {
+        assertTrue(IdMapImplementations.useBitIdMap(DENSE));
+        assertFalse(IdMapImplementations.useBitIdMap(SPARSE));
+    }
+
+    @Test
+    void shouldNotUseBitIdMapOnCommunityEdition() {
+        GdsEdition.instance().setToCommunityEdition();
+        assertFalse(IdMapImplementations.useBitIdMap(DENSE));
+    }
+
+    @Test
+    void shouldEstimateTheChosenIdMap() {
+        var denseEstimate = IdMapImplementations.memoryEstimation().estimate(DENSE, 1).memoryUsage();
+        assertEquals(BitIdMap.memoryEstimation().estimate(DENSE, 1).memoryUsage(), denseEstimate);
+        // about one bit per possible id instead of at least two longs per node
+        assertThat(denseEstimate.max).isLessThan(DENSE.highestNeoId() / 7);
+        assertThat(denseEstimate.max).isLessThan(IdMap.memoryEstimation().estimate(DENSE, 1).memoryUsage().min / 100);
+
+        var sparseEstimate = IdMapImplementations.memoryEstimation().estimate(SPARSE, 1).memoryUsage();
+        assertEquals(IdMap.memoryEstimation().estimate(SPARSE, 1).memoryUsage(), sparseEstimate);
+    }
+}
@@ -25,12 +25,15 @@ import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NativeFactoryTest {
 
@@ -73,4 +76,72 @@ class NativeFactoryTest {
         assertEquals(3_205_950_324L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
         assertEquals(6_011_568_224L, estimate.memoryUsage().max);
     }
+
+    @Test
+    void memoryEstimationForCompressedRelationshipProperties() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+
+        RelationshipProjections relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.builder().type("*").addProperty("weight", "weight", DefaultValue.DEFAULT).build()
+        );
+
+        MemoryTree uncompressed = NativeFactory
+            .getMemoryEstimation(NodeProjections.all(), relationshipProjections, AdjacencyEncoding.VAR_LONG, false, NodeOrdering.NONE)
+            .estimate(dimensions, 1);
+        MemoryTree compressed = NativeFactory
+            .getMemoryEstimation(NodeProjections.all(), relationshipProjections, AdjacencyEncoding.VAR_LONG, true, NodeOrdering.NONE)
+            .estimate(dimensions, 1);
+
+        assertTrue(compressed.memoryUsage().min < uncompressed.memoryUsage().min);
+    }
+
+    @Test
+    void memoryEstimationForNodeReordering() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .putRelationshipCount(RelationshipType.of("TYPE1"), 100_000_000L)
+            .putRelationshipCount(RelationshipType.of("TYPE2"), 400_000_000L)
+            .build();
+
+        RelationshipProjections relationshipProjections = RelationshipProjections
+            .builder()
+            .putProjection(RelationshipType.of("TYPE1"), RelationshipProjection.of("TYPE1", Orientation.NATURAL))
+            .putProjection(RelationshipType.of("TYPE2"), RelationshipProjection.of("TYPE2", Orientation.NATURAL))
+            .build();
+
+        MemoryTree withoutReordering = NativeFactory
+            .getMemoryEstimation(NodeProjections.all(), relationshipProjections, AdjacencyEncoding.VAR_LONG, false, NodeOrdering.NONE)
+            .estimate(dimensions, 1);
+        MemoryTree withReordering = NativeFactory
+            .getMemoryEstimation(NodeProjections.all(), relationshipProjections, AdjacencyEncoding.VAR_LONG, false, NodeOrdering.DEGREE)
+            .estimate(dimensions, 1);
+
+        MemoryTree reordering = component(withReordering, "node reordering");
+        assertEquals(withoutReordering.memoryUsage().add(reordering.memoryUsage()), withReordering.memoryUsage());
+
+        // relationship types are relabeled one at a time, so only the largest one is copied at once
+        MemoryRange largestType = withoutReordering
+            .components()
+            .stream()
+            .filter(component -> component.description().contains("'TYPE2'"))
+            .map(MemoryTree::memoryUsage)
+            .reduce(MemoryRange.empty(), MemoryRange::add);
+        assertEquals(largestType, component(reordering, "TYPE2").memoryUsage());
+
+        MemoryRange idMap = component(withoutReordering, "nodeIdMap").memoryUsage();
+        assertEquals(idMap, component(reordering, "relabeled nodeIdMap").memoryUsage());
+    }
+
+    private static MemoryTree component(MemoryTree tree, String description) {
+        return tree
+            .components()
+            .stream()
+            .filter(component -> component.description().equals(description))
+            .findFirst()
+            .orElseThrow();
+    }
 }
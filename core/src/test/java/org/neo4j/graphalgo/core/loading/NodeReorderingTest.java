@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.CypherLoaderBuilder;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestLog;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.GraphStoreFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodeReorderingTest extends BaseTest {
+
+    private static final int NODE_COUNT = 200;
+
+    @BeforeEach
+    void setup() {
+        runQuery("UNWIND range(0, " + (NODE_COUNT - 1) + ") AS id CREATE (:Node {id: id, score: id * 0.5})");
+        runQuery("MATCH (n:Node) WHERE n.id % 3 = 0 SET n:Special");
+        // node 100 is a hub, all other nodes are connected pseudo-randomly
+        runQuery("MATCH (a:Node {id: 100}), (b:Node) WHERE b.id % 2 = 0 AND b.id <> 100 CREATE (a)-[:REL {weight: b.id, cost: 1.0}]->(b)");
+        runQuery("MATCH (a:Node), (b:Node) WHERE (a.id * 37 + b.id * 11) % 97 = 0 CREATE (a)-[:REL {weight: a.id + b.id, cost: 2.0}]->(b)");
+        runQuery("MATCH (a:Node), (b:Node) WHERE b.id = a.id + 1 CREATE (a)-[:NEXT]->(b)");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = NodeOrdering.class, names = {"DEGREE", "CUTHILL_MCKEE"})
+    void shouldKeepGraphFromStore(NodeOrdering nodeOrdering) {
+        GraphStore expected = storeGraph(NodeOrdering.NONE, Orientation.NATURAL);
+        GraphStore actual = storeGraph(nodeOrdering, Orientation.NATURAL);
+
+        assertSameGraph(expected, actual);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = NodeOrdering.class, names = {"DEGREE", "CUTHILL_MCKEE"})
+    void shouldKeepUndirectedGraph(NodeOrdering nodeOrdering) {
+        GraphStore expected = storeGraph(NodeOrdering.NONE, Orientation.UNDIRECTED);
+        GraphStore actual = storeGraph(nodeOrdering, Orientation.UNDIRECTED);
+
+        assertSameGraph(expected, actual);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = NodeOrdering.class, names = {"DEGREE", "CUTHILL_MCKEE"})
+    void shouldKeepGraphFromCypher(NodeOrdering nodeOrdering) {
+        Graph expected = cypherGraph(NodeOrdering.NONE);
+        Graph actual = cypherGraph(nodeOrdering);
+
+        assertEquals(snapshot(expected, false), snapshot(actual, false));
+    }
+
+    @Test
+    void shouldOrderByDescendingDegree() {
+        Graph graph = storeGraph(NodeOrdering.DEGREE, Orientation.NATURAL).getUnion();
+
+        assertEquals(100, graph.toOriginalNodeId(0));
+        for (long nodeId = 1; nodeId < graph.nodeCount(); nodeId++) {
+            assertTrue(graph.degree(nodeId - 1) >= graph.degree(nodeId));
+        }
+    }
+
+    @Test
+    void shouldNumberPathConsecutively() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("NEXT")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .nodeOrdering(NodeOrdering.CUTHILL_MCKEE)
+            .build()
+            .graph();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                assertEquals(1, Math.abs(source - target));
+                return true;
+            });
+        }
+    }
+
+    @Test
+    void shouldReportCompressedSizeOfImportedAdjacencyLists() {
+        GraphStoreFactory.ImportResult<?> importResult = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("NEXT")
+            .build()
+            .graphStoreFactory()
+            .build();
+
+        // every node links to its successor, the targets 1 to 127 take one byte and the targets 128 to 199 take two
+        double expected = (127 + 72 * 2) / 199D;
+        assertEquals(expected, importResult.bytesPerRelationshipBeforeReordering());
+        assertEquals(expected, importResult.bytesPerRelationshipAfterReordering());
+    }
+
+    @Test
+    void shouldReportCompressedSizeBeforeAndAfterReordering() {
+        TestLog log = new TestLog();
+        GraphStoreFactory.ImportResult<?> importResult = new StoreLoaderBuilder()
+            .api(db)
+            .log(log)
+            .addNodeLabel("Node")
+            .addRelationshipType("NEXT")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .nodeOrdering(NodeOrdering.DEGREE)
+            .build()
+            .graphStoreFactory()
+            .build();
+
+        // the size before reordering is the one of the imported graph
+        assertEquals(
+            importResult.bytesPerRelationshipBeforeReordering(),
+            new StoreLoaderBuilder()
+                .api(db)
+                .addNodeLabel("Node")
+                .addRelationshipType("NEXT")
+                .globalOrientation(Orientation.UNDIRECTED)
+                .build()
+                .graphStoreFactory()
+                .build()
+                .bytesPerRelationshipBeforeReordering()
+        );
+        assertTrue(importResult.bytesPerRelationshipAfterReordering() > 0D);
+        assertTrue(log.containsMessage(TestLog.INFO, "Reordered nodes by DEGREE, compressed relationships take"));
+    }
+
+    private GraphStore storeGraph(NodeOrdering nodeOrdering, Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addNodeLabel("Special")
+            .addNodeProperty(PropertyMapping.of("score", 0.0))
+            .addRelationshipType("REL")
+            .addRelationshipType("NEXT")
+            .globalOrientation(orientation)
+            .addRelationshipProperty(PropertyMapping.of("weight", 0.0))
+            .addRelationshipProperty(PropertyMapping.of("cost", 0.0))
+            .nodeOrdering(nodeOrdering)
+            .build()
+            .graphStore();
+    }
+
+    private Graph cypherGraph(NodeOrdering nodeOrdering) {
+        return new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery("MATCH (n:Node) RETURN id(n) AS id, n.score AS score")
+            .relationshipQuery("MATCH (a)-[r:REL]->(b) RETURN id(a) AS source, id(b) AS target, r.weight AS weight")
+            .nodeOrdering(nodeOrdering)
+            .build()
+            .graph();
+    }
+
+    private static void assertSameGraph(GraphStore expected, GraphStore actual) {
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.relationshipCount(), actual.relationshipCount());
+        for (String property : List.of("weight", "cost")) {
+            assertEquals(
+                snapshot(expected.getGraph(RelationshipType.of("REL"), Optional.of(property)), true),
+                snapshot(actual.getGraph(RelationshipType.of("REL"), Optional.of(property)), true)
+            );
+        }
+        assertEquals(
+            snapshot(expected.getGraph(RelationshipType.of("NEXT")), true),
+            snapshot(actual.getGraph(RelationshipType.of("NEXT")), true)
+        );
+    }
+
+    /**
+     * Describes every node and its relationships by original node ids.
+     */
+    private static Map<Long, String> snapshot(Graph graph, boolean withLabels) {
+        Map<Long, String> snapshot = new TreeMap<>();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            List<String> relationships = new ArrayList<>();
+            graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                relationships.add(graph.toOriginalNodeId(target) + ":" + property);
+                return true;
+            });
+            relationships.sort(String::compareTo);
+            String labels = withLabels
+                ? graph.nodeLabels(nodeId).stream().map(label -> label.name).sorted().collect(Collectors.joining(","))
+                : "";
+            snapshot.put(
+                graph.toOriginalNodeId(nodeId),
+                labels + graph.nodeProperties("score").doubleValue(nodeId) + relationships
+            );
+        }
+        return snapshot;
+    }
+}
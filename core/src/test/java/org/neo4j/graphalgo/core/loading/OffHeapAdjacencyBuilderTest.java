@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffHeapAdjacencyBuilderTest extends AdjacencyBuilderBaseTest {
+
+    @Test
+    void testOffHeap() {
+        testAdjacencyList(
+            AdjacencyStorage.OFF_HEAP.builderFactory(AllocationTracker.empty(), null),
+            AdjacencyStorage.OFF_HEAP.offsetsFactory(AllocationTracker.empty(), 8, null)
+        );
+    }
+
+    @Test
+    void testMemoryMapped(@TempDir Path spillDirectory) throws IOException {
+        testAdjacencyList(
+            AdjacencyStorage.MEMORY_MAPPED.builderFactory(AllocationTracker.empty(), spillDirectory.toString()),
+            AdjacencyStorage.MEMORY_MAPPED.offsetsFactory(AllocationTracker.empty(), 8, spillDirectory.toString())
+        );
+        try (var spillFiles = Files.list(spillDirectory)) {
+            assertEquals(0, spillFiles.count(), "spill files should be deleted when the graph is closed");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class PropertyCompressionTest {
+
+    static Stream<Arguments> runs() {
+        var random = new Random(42L);
+        return Stream.of(
+            arguments(PropertyCompression.Encoding.XOR_DELTA, new double[]{1.0, 1.0, 1.0, 1.0}),
+            arguments(PropertyCompression.Encoding.DICTIONARY, DoubleStream.generate(() -> 1.0).limit(100).toArray()),
+            arguments(PropertyCompression.Encoding.DICTIONARY, new double[]{0.15, 0.3, 0.15, 0.3, 0.15, 0.3}),
+            arguments(PropertyCompression.Encoding.FLOAT, random.doubles(42).map(value -> (float) value).toArray()),
+            arguments(PropertyCompression.Encoding.XOR_DELTA, new double[]{1.0, 2.0, 3.0, 4.0, 5.0, 6.0}),
+            arguments(PropertyCompression.Encoding.RAW, random.doubles(42).toArray()),
+            arguments(PropertyCompression.Encoding.DICTIONARY, random.ints(1000, 0, 7).mapToDouble(i -> i / 3D).toArray()),
+            arguments(PropertyCompression.Encoding.XOR_DELTA, new double[]{Double.NaN, -0.1, Double.MAX_VALUE, Double.MIN_VALUE})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("runs")
+    void roundTripsRuns(PropertyCompression.Encoding expectedEncoding, double[] run) {
+        var values = Arrays.stream(run).mapToLong(Double::doubleToRawLongBits).toArray();
+        var compression = new PropertyCompression();
+
+        int compressedSize = compression.compressedSize(values, values.length);
+        var out = new byte[compressedSize + 1];
+        int end = compression.compress(values, values.length, out, 1);
+
+        assertEquals(1 + compressedSize, end);
+        assertEquals(expectedEncoding.ordinal(), out[1]);
+
+        var decompressed = new long[values.length];
+        PropertyCompression.decompress(out, 1, values.length, decompressed);
+        assertArrayEquals(values, decompressed);
+    }
+
+    @Test
+    void fallsBackWhenDictionaryIsFull() {
+        var values = new long[PropertyCompression.MAX_DICTIONARY_SIZE + 1];
+        Arrays.setAll(values, i -> Double.doubleToRawLongBits(Math.sqrt(i)));
+        var compression = new PropertyCompression();
+
+        var out = new byte[compression.compressedSize(values, values.length)];
+        compression.compress(values, values.length, out, 0);
+
+        assertEquals(PropertyCompression.Encoding.RAW.ordinal(), out[0]);
+        var decompressed = new long[values.length];
+        PropertyCompression.decompress(out, 0, values.length, decompressed);
+        assertArrayEquals(values, decompressed);
+    }
+
+    @Test
+    void packsDictionaryIndices() {
+        var values = new long[100];
+        Arrays.setAll(values, i -> Double.doubleToRawLongBits(i % 3));
+        var compression = new PropertyCompression();
+
+        // encoding + dictionary size + 3 dictionary entries + 100 indices with 2 bits each
+        assertEquals(1 + 1 + 3 * Long.BYTES + 25, compression.compressedSize(values, values.length));
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.CompressedPropertyList;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyList;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.GdlSupportExtension;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.gdl.GraphCreateFromGdlConfig;
+import org.neo4j.graphalgo.gdl.ImmutableGraphCreateFromGdlConfig;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+@GdlExtension
+class RelationshipDeltaLayerTest {
+
+    private static final RelationshipType REL = RelationshipType.of("REL");
+
+    private static final GraphCreateFromGdlConfig CREATE_CONFIG = ImmutableGraphCreateFromGdlConfig
+        .builder()
+        .gdlGraph("")
+        .graphName("graph")
+        .build();
+
+    @GdlGraph
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String GDL =
+        "CREATE" +
+        "  (a), (b), (c), (d)" +
+        ", (a)-[:REL { w: 1.0 }]->(b)" +
+        ", (b)-[:REL { w: 2.0 }]->(c)" +
+        ", (c)-[:REL { w: 3.0 }]->(a)";
+
+    @GdlGraph(graphNamePrefix = "single", aggregation = Aggregation.SINGLE)
+    private static final String SINGLE_GDL =
+        "CREATE" +
+        "  (a), (b)" +
+        ", (a)-[:REL { w: 1.0 }]->(b)";
+
+    @GdlGraph(graphNamePrefix = "expected")
+    @GdlGraph(graphNamePrefix = "expectedUndirected", orientation = Orientation.UNDIRECTED)
+    private static final String EXPECTED_GDL =
+        "CREATE" +
+        "  (a), (b), (c), (d)" +
+        ", (a)-[:REL { w: 1.0 }]->(b)" +
+        ", (b)-[:REL { w: 2.0 }]->(c)" +
+        ", (c)-[:REL { w: 3.0 }]->(a)" +
+        ", (a)-[:REL { w: 4.0 }]->(c)" +
+        ", (d)-[:REL { w: 5.0 }]->(a)" +
+        ", (d)-[:REL { w: 6.0 }]->(c)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Inject
+    private GraphStore undirectedGraphStore;
+
+    @Inject
+    private IdFunction undirectedIdFunction;
+
+    @Inject
+    private GraphStore singleGraphStore;
+
+    @Inject
+    private IdFunction singleIdFunction;
+
+    @Inject
+    private GraphStore expectedGraphStore;
+
+    @Inject
+    private GraphStore expectedUndirectedGraphStore;
+
+    @Test
+    void shouldMergeAppendedRelationships() {
+        addRelationships(graphStore, idFunction);
+
+        assertThat(graphStore.relationshipCount(REL)).isEqualTo(6);
+        assertThat(graphStore.appendedRelationshipRatio(REL)).isEqualTo(1.0);
+        assertSameGraph(expectedGraphStore, graphStore);
+    }
+
+    @Test
+    void shouldMergeAppendedUndirectedRelationships() {
+        addRelationships(undirectedGraphStore, undirectedIdFunction);
+
+        assertThat(undirectedGraphStore.relationshipCount(REL)).isEqualTo(12);
+        assertSameGraph(expectedUndirectedGraphStore, undirectedGraphStore);
+    }
+
+    @Test
+    void shouldNotChangeGraphsCreatedBeforeAnAppend() {
+        var a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        var b = graphStore.nodes().toMappedNodeId(idFunction.of("b"));
+        var c = graphStore.nodes().toMappedNodeId(idFunction.of("c"));
+        var d = graphStore.nodes().toMappedNodeId(idFunction.of("d"));
+
+        graphStore.addRelationships(REL, new long[]{a}, new long[]{c}, Map.of("w", new double[]{4.0}), 1);
+        Graph firstGraph = graphStore.getGraph(REL, Optional.of("w"));
+        var expectedFirstGraph = fromGdl(
+            "CREATE" +
+            "  (a), (b), (c), (d)" +
+            ", (a)-[:REL { w: 1.0 }]->(b)" +
+            ", (b)-[:REL { w: 2.0 }]->(c)" +
+            ", (c)-[:REL { w: 3.0 }]->(a)" +
+            ", (a)-[:REL { w: 4.0 }]->(c)"
+        );
+
+        // the second append replaces the delta of `a` and `d`
+        graphStore.addRelationships(
+            REL,
+            new long[]{d, a, d},
+            new long[]{a, b, c},
+            Map.of("w", new double[]{5.0, 7.0, 6.0}),
+            4
+        );
+
+        assertThat(firstGraph.relationshipCount()).isEqualTo(4);
+        assertThat(firstGraph.degree(a)).isEqualTo(2);
+        assertThat(firstGraph.degree(d)).isEqualTo(0);
+        assertGraphEquals(expectedFirstGraph, firstGraph);
+        assertThat(graphStore.getGraph(REL, Optional.of("w")).relationshipCount()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldReadMergedListsThroughRawCursors() {
+        addRelationships(graphStore, idFunction);
+        var a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        var b = graphStore.nodes().toMappedNodeId(idFunction.of("b"));
+        var c = graphStore.nodes().toMappedNodeId(idFunction.of("c"));
+
+        var relationships = ((HugeGraph) graphStore.getGraph(REL, Optional.of("w"))).relationships();
+        var offset = relationships.topology().offsets().get(a);
+
+        PropertyCursor targets = relationships.topology().list().cursor(offset);
+        assertThat(targets.nextLong()).isEqualTo(b);
+        assertThat(targets.nextLong()).isEqualTo(c);
+        assertThat(targets.hasNextLong()).isFalse();
+
+        AdjacencyCursor values = relationships.properties().orElseThrow().list().decompressingCursor(offset);
+        assertThat(values.size()).isEqualTo(2);
+        assertThat(Double.longBitsToDouble(values.peekVLong())).isEqualTo(1.0);
+        assertThat(Double.longBitsToDouble(values.nextVLong())).isEqualTo(1.0);
+        assertThat(values.remaining()).isEqualTo(1);
+        assertThat(Double.longBitsToDouble(values.nextVLong())).isEqualTo(4.0);
+        assertThat(values.hasNextVLong()).isFalse();
+    }
+
+    @Test
+    void shouldCompactAppendedRelationships() {
+        addRelationships(graphStore, idFunction);
+        Graph graphBeforeCompaction = graphStore.getGraph(REL, Optional.of("w"));
+
+        graphStore.compactRelationships(REL, CREATE_CONFIG, 4);
+
+        assertThat(graphStore.relationshipCount(REL)).isEqualTo(6);
+        assertThat(graphStore.appendedRelationshipRatio(REL)).isEqualTo(0.0);
+        assertSameGraph(expectedGraphStore, graphStore);
+        assertGraphEquals(expectedGraphStore.getGraph(REL, Optional.of("w")), graphBeforeCompaction);
+    }
+
+    @Test
+    void shouldCompactWithTheStorageOfTheCreateConfig() {
+        addRelationships(graphStore, idFunction);
+        var createConfig = ImmutableGraphCreateFromGdlConfig
+            .builder()
+            .from(CREATE_CONFIG)
+            .adjacencyStorage(AdjacencyStorage.OFF_HEAP)
+            .build();
+
+        graphStore.compactRelationships(REL, createConfig, 4);
+
+        var relationships = ((HugeGraph) graphStore.getGraph(REL, Optional.of("w"))).relationships();
+        assertThat(relationships.topology().list()).isInstanceOf(OffHeapAdjacencyList.class);
+        assertThat(relationships.properties().orElseThrow().list()).isInstanceOf(OffHeapAdjacencyList.class);
+        assertSameGraph(expectedGraphStore, graphStore);
+    }
+
+    @Test
+    void shouldCompactWithThePropertyCompressionOfTheCreateConfig() {
+        addRelationships(graphStore, idFunction);
+        var createConfig = ImmutableGraphCreateFromGdlConfig
+            .builder()
+            .from(CREATE_CONFIG)
+            .compressRelationshipProperties(true)
+            .build();
+
+        graphStore.compactRelationships(REL, createConfig, 4);
+
+        var relationships = ((HugeGraph) graphStore.getGraph(REL, Optional.of("w"))).relationships();
+        assertThat(relationships.properties().orElseThrow().list()).isInstanceOf(CompressedPropertyList.class);
+        assertSameGraph(expectedGraphStore, graphStore);
+    }
+
+    @Test
+    void shouldAppendAfterCompaction() {
+        var a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        var c = graphStore.nodes().toMappedNodeId(idFunction.of("c"));
+        var d = graphStore.nodes().toMappedNodeId(idFunction.of("d"));
+
+        graphStore.addRelationships(REL, new long[]{a}, new long[]{c}, Map.of("w", new double[]{4.0}), 1);
+        graphStore.compactRelationships(REL, CREATE_CONFIG, 1);
+        graphStore.addRelationships(REL, new long[]{d, d}, new long[]{c, a}, Map.of("w", new double[]{6.0, 5.0}), 1);
+
+        assertSameGraph(expectedGraphStore, graphStore);
+    }
+
+    @Test
+    void shouldDetectParallelRelationships() {
+        var a = singleGraphStore.nodes().toMappedNodeId(singleIdFunction.of("a"));
+        var b = singleGraphStore.nodes().toMappedNodeId(singleIdFunction.of("b"));
+
+        singleGraphStore.addRelationships(REL, new long[]{b}, new long[]{a}, Map.of(), 1);
+        assertThat(singleGraphStore.getGraph(REL).isMultiGraph()).isFalse();
+
+        singleGraphStore.addRelationships(REL, new long[]{a}, new long[]{b}, Map.of(), 1);
+
+        Graph graph = singleGraphStore.getGraph(REL, Optional.of("w"));
+        assertThat(graph.isMultiGraph()).isTrue();
+        assertThat(graph.degree(a)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUseDefaultValueForMissingProperties() {
+        var a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        var d = graphStore.nodes().toMappedNodeId(idFunction.of("d"));
+
+        graphStore.addRelationships(REL, new long[]{d}, new long[]{a}, Map.of(), 1);
+
+        Graph graph = graphStore.getGraph(REL, Optional.of("w"));
+        assertThat(graph.relationshipProperty(d, a, 42.0)).isNaN();
+    }
+
+    @Test
+    void shouldFailForUnknownRelationshipType() {
+        assertThatThrownBy(() -> graphStore.addRelationships(
+            RelationshipType.of("UNKNOWN"),
+            new long[]{0},
+            new long[]{1},
+            Map.of(),
+            1
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Relationship type 'UNKNOWN' does not exist");
+    }
+
+    @Test
+    void shouldFailForUnknownProperty() {
+        assertThatThrownBy(() -> graphStore.addRelationships(
+            REL,
+            new long[]{0},
+            new long[]{1},
+            Map.of("cost", new double[]{1.0}),
+            1
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Relationship property `cost` does not exist");
+    }
+
+    @Test
+    void shouldFailForUnknownNode() {
+        assertThatThrownBy(() -> graphStore.addRelationships(REL, new long[]{0}, new long[]{4}, Map.of(), 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Node id 4 is not contained in the graph, expected an id between 0 and 3.");
+        assertThat(graphStore.relationshipCount(REL)).isEqualTo(3);
+    }
+
+    private static Graph fromGdl(String gdl) {
+        return GdlFactory.of(
+            ImmutableGraphCreateFromGdlConfig.builder().gdlGraph(gdl).graphName("graph").build(),
+            GdlSupportExtension.DATABASE_ID
+        ).build().graphStore().getGraph(REL, Optional.of("w"));
+    }
+
+    private static void addRelationships(GraphStore graphStore, IdFunction idFunction) {
+        var a = graphStore.nodes().toMappedNodeId(idFunction.of("a"));
+        var c = graphStore.nodes().toMappedNodeId(idFunction.of("c"));
+        var d = graphStore.nodes().toMappedNodeId(idFunction.of("d"));
+
+        graphStore.addRelationships(
+            REL,
+            new long[]{d, a, d},
+            new long[]{c, c, a},
+            Map.of("w", new double[]{6.0, 4.0, 5.0}),
+            4
+        );
+    }
+
+    private static void assertSameGraph(GraphStore expected, GraphStore actual) {
+        assertGraphEquals(expected.getGraph(REL, Optional.of("w")), actual.getGraph(REL, Optional.of("w")));
+        assertGraphEquals(expected.getGraph(REL), actual.getGraph(REL));
+    }
+}
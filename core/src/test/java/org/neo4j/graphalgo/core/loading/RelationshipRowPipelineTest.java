@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.compat.MapUtil;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class RelationshipRowPipelineTest extends BaseTest {
+
+    private static final int READ_CONCURRENCY = 4;
+    private static final int ROW_COUNT = 10 * RelationshipRowPipeline.BATCH_SIZE + 42;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, READ_CONCURRENCY / 2, READ_CONCURRENCY})
+    void importsAllRowsWhenThePoolIsBusy(int busyThreads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(READ_CONCURRENCY);
+        var started = new CountDownLatch(busyThreads);
+        var release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < busyThreads; i++) {
+                pool.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            started.await();
+
+            var rowReader = new RelationshipRowReader(new ObjectIntHashMap<>(), new ObjectDoubleHashMap<>(), true);
+            List<CountingVisitor> visitors = IntStream
+                .range(0, READ_CONCURRENCY)
+                .mapToObj(ignore -> new CountingVisitor(rowReader))
+                .collect(Collectors.toList());
+            var pipeline = new RelationshipRowPipeline(rowReader, List.copyOf(visitors), pool);
+
+            assertTimeoutPreemptively(Duration.ofMinutes(1), () -> runQuery(
+                "UNWIND range(0, $count - 1) AS id RETURN id AS source, id + 1 AS target",
+                MapUtil.map("count", ROW_COUNT),
+                result -> {
+                    try {
+                        result.accept(pipeline);
+                    } finally {
+                        pipeline.finish();
+                    }
+                    return null;
+                }
+            ));
+
+            assertEquals(ROW_COUNT, pipeline.rows());
+            assertEquals(ROW_COUNT, visitors.stream().mapToLong(visitor -> visitor.rows).sum());
+            assertEquals(
+                (long) ROW_COUNT * (ROW_COUNT - 1) / 2,
+                visitors.stream().mapToLong(visitor -> visitor.sourceIdSum).sum()
+            );
+            visitors.forEach(visitor -> assertEquals(1, visitor.flushes));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    private static final class CountingVisitor extends RelationshipRowVisitor {
+        private long rows;
+        private long sourceIdSum;
+        private int flushes;
+
+        CountingVisitor(RelationshipRowReader rowReader) {
+            super(null, null, rowReader, 0, false);
+        }
+
+        @Override
+        void visit(
+            RelationshipType relationshipType,
+            long neoSourceId,
+            long neoTargetId,
+            double[] properties,
+            int offset
+        ) {
+            rows++;
+            sourceIdSum += neoSourceId;
+        }
+
+        @Override
+        void flushAll() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.binary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.OffHeapAdjacencyList;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.kernel.database.DatabaseIdFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+@GdlExtension
+class GraphSnapshotTest {
+
+    @GdlGraph
+    private static final String GDL =
+        "CREATE" +
+        "  (a:A:B { prop1: 0, prop2: 42.0, prop3: [1L, 3L, 3L, 7L]})" +
+        ", (b:A:B { prop1: 1, prop2: 43.0})" +
+        ", (c:A:C { prop1: 2, prop2: 44.0, prop3: [1L, 9L, 8L, 4L] })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { prop1: 0.5, prop2: 42 }]->(a)" +
+        ", (a)-[:REL1 { prop1: 1.5, prop2: 43 }]->(b)" +
+        ", (b)-[:REL1 { prop1: 2.5, prop2: 44 }]->(a)" +
+        ", (b)-[:REL2 { prop3: 3 }]->(c)" +
+        ", (c)-[:REL2 { prop3: 4 }]->(d)" +
+        ", (d)-[:REL2 { prop3: 5 }]->(a)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(AdjacencyStorage.class)
+    void shouldRoundTripGraphStore(AdjacencyStorage storage) {
+        var loaded = saveAndLoad(graphStore, storage);
+
+        assertThat(loaded.schema()).isEqualTo(graphStore.schema());
+        assertThat(loaded.nodeLabels()).isEqualTo(graphStore.nodeLabels());
+        assertThat(loaded.relationshipTypes()).isEqualTo(graphStore.relationshipTypes());
+        assertThat(loaded.relationshipCount()).isEqualTo(graphStore.relationshipCount());
+        assertGraphEquals(graphStore.getUnion(), loaded.getUnion());
+
+        for (var relationshipType : graphStore.relationshipTypes()) {
+            for (var propertyKey : graphStore.relationshipPropertyKeys(relationshipType)) {
+                assertGraphEquals(
+                    graphStore.getGraph(relationshipType, Optional.of(propertyKey)),
+                    loaded.getGraph(relationshipType, Optional.of(propertyKey))
+                );
+            }
+        }
+
+        var labelA = NodeLabel.of("A");
+        assertGraphEquals(
+            graphStore.getGraph(List.of(labelA), List.of(RelationshipType.of("REL1")), Optional.of("prop1")),
+            loaded.getGraph(List.of(labelA), List.of(RelationshipType.of("REL1")), Optional.of("prop1"))
+        );
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertThat(loaded.nodes().toOriginalNodeId(nodeId)).isEqualTo(graphStore.nodes().toOriginalNodeId(nodeId));
+            assertThat(loaded.nodes().nodeLabels(nodeId)).isEqualTo(graphStore.nodes().nodeLabels(nodeId));
+            assertThat(loaded.nodePropertyValues(labelA, "prop3").longArrayValue(nodeId))
+                .isEqualTo(graphStore.nodePropertyValues(labelA, "prop3").longArrayValue(nodeId));
+        }
+        assertThat(loaded.nodePropertyValues(labelA, "prop1").getMaxLongPropertyValue())
+            .isEqualTo(graphStore.nodePropertyValues(labelA, "prop1").getMaxLongPropertyValue());
+
+        loaded.release();
+    }
+
+    @ParameterizedTest
+    @EnumSource(AdjacencyStorage.class)
+    void shouldRoundTripNodesWithMoreRelationshipsThanFitIntoAPage(AdjacencyStorage storage) {
+        var nodeCount = 300_000;
+        var nodesBuilder = GraphFactory.initNodesBuilder().maxOriginalId(nodeCount).build();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            nodesBuilder.addNode(nodeId);
+        }
+        var nodes = nodesBuilder.build();
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(nodes)
+            .loadRelationshipProperty(true)
+            .build();
+        // a star larger than a page, followed by small lists
+        for (long target = 1; target < nodeCount; target++) {
+            relationshipsBuilder.addFromInternal(0, target, target / 2.0);
+            relationshipsBuilder.addFromInternal(target, (target * 7) % nodeCount, target);
+        }
+        var graph = GraphFactory.create(nodes, relationshipsBuilder.build(), AllocationTracker.empty());
+        var store = CSRGraphStore.of(
+            DatabaseIdFactory.from("neo4j", UUID.randomUUID()),
+            graph,
+            "REL",
+            Optional.of("property"),
+            1,
+            AllocationTracker.empty()
+        );
+
+        var loaded = saveAndLoad(store, storage);
+
+        var loadedGraph = loaded.getGraph(RelationshipType.of("REL"), Optional.of("property"));
+        assertThat(loadedGraph.degree(0)).isEqualTo(nodeCount - 1);
+        long[] expectedTarget = {1};
+        loadedGraph.forEachRelationship(0, Double.NaN, (source, target, property) -> {
+            assertThat(target).isEqualTo(expectedTarget[0]);
+            assertThat(property).isEqualTo(target / 2.0);
+            expectedTarget[0]++;
+            return true;
+        });
+        for (long nodeId = 1; nodeId < nodeCount; nodeId += 997) {
+            assertThat(loadedGraph.degree(nodeId)).isEqualTo(1);
+            long source = nodeId;
+            loadedGraph.forEachRelationship(nodeId, Double.NaN, (s, target, property) -> {
+                assertThat(target).isEqualTo((source * 7) % nodeCount);
+                assertThat(property).isEqualTo((double) source);
+                return true;
+            });
+        }
+
+        loaded.release();
+    }
+
+    @Test
+    void shouldSaveAppendedRelationships() {
+        var rel1 = RelationshipType.of("REL1");
+        graphStore.addRelationships(
+            rel1,
+            new long[]{3, 0, 1},
+            new long[]{1, 2, 0},
+            Map.of("prop1", new double[]{3.5, 4.5, 5.5}),
+            1
+        );
+
+        var loaded = saveAndLoad(graphStore, AdjacencyStorage.HEAP);
+
+        assertThat(loaded.relationshipCount(rel1)).isEqualTo(6L);
+        for (var propertyKey : graphStore.relationshipPropertyKeys(rel1)) {
+            assertGraphEquals(
+                graphStore.getGraph(rel1, Optional.of(propertyKey)),
+                loaded.getGraph(rel1, Optional.of(propertyKey))
+            );
+        }
+
+        loaded.release();
+    }
+
+    @Test
+    void shouldRestoreGraphCreateConfig() {
+        var createConfig = GraphCreateFromStoreConfig.all("user", "saved");
+        GraphSnapshotWriter.of(graphStore, createConfig, tempDir, 1).run();
+
+        var loaded = GraphSnapshotReader
+            .of(tempDir, AdjacencyStorage.HEAP, 1, AllocationTracker.empty())
+            .read("user", "loaded", graphStore.databaseId());
+
+        assertThat(loaded.config()).isInstanceOf(GraphCreateFromStoreConfig.class);
+        var loadedConfig = (GraphCreateFromStoreConfig) loaded.config();
+        assertThat(loadedConfig.graphName()).isEqualTo("loaded");
+        assertThat(loadedConfig.username()).isEqualTo("user");
+        assertThat(loadedConfig.adjacencyStorage()).isEqualTo(AdjacencyStorage.HEAP);
+        assertThat(loadedConfig.nodeProjections()).isEqualTo(createConfig.nodeProjections());
+        assertThat(loadedConfig.relationshipProjections()).isEqualTo(createConfig.relationshipProjections());
+    }
+
+    static Stream<Arguments> storagesAndEncodings() {
+        return Stream.of(
+            arguments(AdjacencyStorage.OFF_HEAP, AdjacencyEncoding.VAR_LONG, OffHeapAdjacencyList.class),
+            arguments(AdjacencyStorage.HEAP, AdjacencyEncoding.BIT_PACKED, BitPackedAdjacencyList.class)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("storagesAndEncodings")
+    void shouldRestoreAdjacencyStorageAndEncoding(
+        AdjacencyStorage storage,
+        AdjacencyEncoding encoding,
+        Class<?> expectedAdjacencyList
+    ) {
+        var createConfig = GraphCreateFromStoreConfig.of("", "g", "*", "*", CypherMapWrapper.create(Map.of(
+            "adjacencyStorage", storage.name(),
+            "adjacencyEncoding", encoding.name()
+        )));
+        GraphSnapshotWriter.of(graphStore, createConfig, tempDir, 1).run();
+
+        var loaded = GraphSnapshotReader
+            .of(tempDir, 1, AllocationTracker.empty())
+            .read("", "g", graphStore.databaseId());
+
+        assertThat(loaded.config().adjacencyStorage()).isEqualTo(storage);
+        assertThat(loaded.config().adjacencyEncoding()).isEqualTo(encoding);
+        var relationshipType = RelationshipType.of("REL1");
+        var loadedGraph = (HugeGraph) loaded.graphStore().getGraph(relationshipType, Optional.of("prop1"));
+        assertThat(loadedGraph.relationshipTopology().list()).isInstanceOf(expectedAdjacencyList);
+        assertGraphEquals(graphStore.getGraph(relationshipType, Optional.of("prop1")), loadedGraph);
+
+        loaded.graphStore().release();
+    }
+
+    @Test
+    void shouldFailOnIncompleteSnapshot() throws IOException {
+        GraphSnapshotWriter.of(graphStore, GraphCreateFromStoreConfig.all("", "g"), tempDir, 1).run();
+        Files.delete(tempDir.resolve(GraphSnapshotFormat.META_FILE));
+
+        assertThatThrownBy(() -> GraphSnapshotReader
+            .of(tempDir, AdjacencyStorage.HEAP, 1, AllocationTracker.empty())
+            .read("", "g", graphStore.databaseId())
+        )
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not contain a complete graph snapshot");
+    }
+
+    private GraphStore saveAndLoad(GraphStore store, AdjacencyStorage storage) {
+        GraphSnapshotWriter.of(store, GraphCreateFromStoreConfig.all("", "g"), tempDir, 4).run();
+        return GraphSnapshotReader
+            .of(tempDir, storage, 4, AllocationTracker.empty())
+            .read("", "g", store.databaseId())
+            .graphStore();
+    }
+}
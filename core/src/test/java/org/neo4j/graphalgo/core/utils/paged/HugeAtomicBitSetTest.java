@@ -24,6 +24,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 
@@ -149,6 +151,40 @@ class HugeAtomicBitSetTest {
         assertEquals(42L, bitSet.cardinality());
     }
 
+    @Test
+    void testRangeCardinality() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(3);
+        bitSet.set(64);
+        bitSet.set(127);
+        bitSet.set(128);
+        bitSet.set(199);
+
+        assertEquals(5L, bitSet.cardinality(0, 200));
+        assertEquals(2L, bitSet.cardinality(64, 128));
+        assertEquals(3L, bitSet.cardinality(64, 129));
+        assertEquals(1L, bitSet.cardinality(128, 199));
+        assertEquals(0L, bitSet.cardinality(128, 128));
+    }
+
+    @Test
+    void testForEachSetBit() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(3);
+        bitSet.set(64);
+        bitSet.set(127);
+        bitSet.set(128);
+        bitSet.set(199);
+
+        var allBits = new ArrayList<Long>();
+        bitSet.forEachSetBit(0, 200, allBits::add);
+        assertEquals(List.of(3L, 64L, 127L, 128L, 199L), allBits);
+
+        var someBits = new ArrayList<Long>();
+        bitSet.forEachSetBit(64, 128, someBits::add);
+        assertEquals(List.of(64L, 127L), someBits);
+    }
+
     @Test
     void testClearAll() {
         var bitSet = HugeAtomicBitSet.create(100, AllocationTracker.empty());
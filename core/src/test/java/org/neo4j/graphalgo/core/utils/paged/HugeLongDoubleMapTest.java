@@ -60,6 +60,26 @@ final class HugeLongDoubleMapTest {
         assertEquals(0L, actual);
     }
 
+    @Test
+    void put() {
+        HugeLongDoubleMap map = new HugeLongDoubleMap(AllocationTracker.empty());
+        assertEquals(42D, map.getOrDefault(1, 42D));
+        map.put(1L, 1D);
+        assertEquals(1D, map.getOrDefault(1, 42D));
+        map.put(1L, 2D);
+        assertEquals(2D, map.getOrDefault(1, 42D));
+        map.put(1L, 3D);
+        assertEquals(3D, map.getOrDefault(1, 42D));
+    }
+
+    @Test
+    void containsKey() {
+        HugeLongDoubleMap map = new HugeLongDoubleMap(AllocationTracker.empty());
+        assertFalse(map.containsKey(1));
+        map.put(1, 0D);
+        assertTrue(map.containsKey(1));
+    }
+
     @Test
     void addToAddsValues() {
         HugeLongDoubleMap map = new HugeLongDoubleMap(AllocationTracker.empty());
@@ -26,6 +26,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.SplittableRandom;
 import java.util.stream.Collectors;
@@ -75,6 +76,30 @@ class SequentialSparseLongArrayTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {4096, 8192, 100_000})
+    void testReverseMappingAcrossBlocksAndGaps(int capacity) {
+        var builder = SparseLongArray.sequentialBuilder(capacity);
+        var random = new SplittableRandom(42);
+        var expectedOriginalIds = new ArrayList<Long>();
+        for (long originalId = 0; originalId < capacity; originalId++) {
+            // leave whole blocks and sub blocks empty
+            var inGap = (originalId / 5000) % 3 == 1 || (originalId / 512) % 5 == 3;
+            if (!inGap && random.nextInt(4) != 0) {
+                builder.set(originalId);
+                expectedOriginalIds.add(originalId);
+            }
+        }
+
+        var array = builder.build();
+        assertEquals(expectedOriginalIds.size(), array.idCount());
+        for (int mappedId = 0; mappedId < expectedOriginalIds.size(); mappedId++) {
+            long originalId = expectedOriginalIds.get(mappedId);
+            assertEquals(mappedId, array.toMappedNodeId(originalId));
+            assertEquals(originalId, array.toOriginalNodeId(mappedId));
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {0, 1024, 4096, 5000, 9999})
     void testIdCount(int expectedIdCount) {
@@ -281,9 +281,9 @@ class SparseLongArrayTest {
 
     @ParameterizedTest
     @CsvSource({
-        "10000,1424",
-        "100000,13112",
-        "1000000,130016",
+        "10000,1512",
+        "100000,13552",
+        "1000000,133976",
     })
     void memoryEstimation(long highestNeoId, long expectedBytes) {
         var dimensions = ImmutableGraphDimensions.builder().nodeCount(0).highestNeoId(highestNeoId).build();
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyLongPriorityQueueTest {
+
+    @Test
+    void shouldPopInPriorityOrder() {
+        var queue = new LazyLongPriorityQueue();
+
+        queue.add(3, 3.0);
+        queue.add(0, 0.5);
+        queue.add(2, 2.0);
+        queue.add(1, 1.0);
+
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.top());
+        assertEquals(0.5, queue.topPriority());
+        assertEquals(0, queue.pop());
+        assertEquals(1, queue.pop());
+        assertEquals(2, queue.pop());
+        assertEquals(3, queue.pop());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldKeepOutdatedEntries() {
+        var queue = new LazyLongPriorityQueue();
+
+        queue.add(42, 4.0);
+        queue.add(42, 2.0);
+
+        assertEquals(2, queue.size());
+        assertEquals(2.0, queue.topPriority());
+        assertEquals(42, queue.pop());
+        assertEquals(4.0, queue.topPriority());
+        assertEquals(42, queue.pop());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldGrow() {
+        var random = new Random(42);
+        var queue = new LazyLongPriorityQueue();
+        var priorities = new ArrayList<Double>();
+        for (long element = 0; element < 1000; element++) {
+            var priority = random.nextDouble();
+            queue.add(element, priority);
+            priorities.add(priority);
+        }
+        priorities.sort(Double::compare);
+
+        List<Double> actual = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            actual.add(queue.topPriority());
+            queue.pop();
+        }
+        assertEquals(priorities, actual);
+    }
+
+    @Test
+    void shouldClear() {
+        var queue = new LazyLongPriorityQueue();
+        queue.add(1, 1.0);
+        queue.add(2, 2.0);
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+
+        queue.add(3, 3.0);
+        assertFalse(queue.isEmpty());
+        assertEquals(3, queue.pop());
+    }
+}
@@ -71,7 +71,7 @@ class AppendixAProcedureListingTest extends BaseProcTest {
         registeredProcedures.add("gds.list");
 
         // If you find yourself updating this count, please also update the count in SmokeTest.kt
-        int expectedCount = 241;
+        int expectedCount = 255;
         assertEquals(
             expectedCount,
             registeredProcedures.size(),
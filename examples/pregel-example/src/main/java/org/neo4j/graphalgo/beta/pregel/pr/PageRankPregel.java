@@ -43,11 +43,14 @@ public class PageRankPregel implements PregelComputation<PageRankPregel.PageRank
 
     static final String PAGE_RANK = "pagerank";
 
+    private static final PregelSchema SCHEMA = new PregelSchema.Builder().add(PAGE_RANK, ValueType.DOUBLE).build();
+    private static final PregelSchema.DoubleSlot PAGE_RANK_SLOT = SCHEMA.doubleSlot(PAGE_RANK);
+
     private static boolean weighted;
 
     @Override
     public PregelSchema schema() {
-        return new PregelSchema.Builder().add(PAGE_RANK, ValueType.DOUBLE).build();
+        return SCHEMA;
     }
 
     @Override
@@ -55,20 +58,21 @@ public class PageRankPregel implements PregelComputation<PageRankPregel.PageRank
         var initialValue = context.config().seedProperty() != null
             ? context.nodeProperties(context.config().seedProperty()).doubleValue(context.nodeId())
             : 1.0 / context.nodeCount();
-        context.setNodeValue(PAGE_RANK, initialValue);
+        context.setNodeValue(PAGE_RANK_SLOT, initialValue);
 
         weighted = context.config().relationshipWeightProperty() != null;
     }
 
     @Override
     public void compute(ComputeContext<PageRankPregelConfig> context, Messages messages) {
-        double newRank = context.doubleNodeValue(PAGE_RANK);
+        double newRank = context.doubleNodeValue(PAGE_RANK_SLOT);
 
         // compute new rank based on neighbor ranks
         if (!context.isInitialSuperstep()) {
             double sum = 0;
-            for (var message : messages) {
-                sum += message;
+            var iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                sum += iterator.nextDouble();
             }
 
             var dampingFactor = context.config().dampingFactor();
@@ -76,7 +80,7 @@ public class PageRankPregel implements PregelComputation<PageRankPregel.PageRank
 
             newRank = (jumpProbability / context.nodeCount()) + dampingFactor * sum;
 
-            context.setNodeValue(PAGE_RANK, newRank);
+            context.setNodeValue(PAGE_RANK_SLOT, newRank);
         }
 
         // send new rank to neighbors
@@ -21,13 +21,20 @@ package org.neo4j.graphalgo.beta.pregel.pr;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.GdsCypher;
 import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.beta.pregel.pr.PageRankPregel.PAGE_RANK;
 
 class PageRankPregelProcTest extends BaseProcTest {
@@ -79,6 +86,16 @@ class PageRankPregelProcTest extends BaseProcTest {
         EXPECTED_RANKS.put(10L, 0.0136D);
     }
 
+    @TempDir
+    Path exportLocation;
+
+    @Override
+    @ExtensionCallback
+    protected void configuration(TestDatabaseManagementServiceBuilder builder) {
+        super.configuration(builder);
+        builder.setConfig(GraphStoreExportSettings.export_location_setting, exportLocation);
+    }
+
     @BeforeEach
     void setup() throws Exception {
         runQuery(TEST_GRAPH);
@@ -106,6 +123,43 @@ class PageRankPregelProcTest extends BaseProcTest {
         assertMapEqualsWithTolerance(EXPECTED_RANKS, actual, 0.001);
     }
 
+    @Test
+    void streamWithCheckpoints() {
+        var query = GdsCypher.call()
+            .loadEverything()
+            .algo("example", "pregel", "pr")
+            .streamMode()
+            .addParameter("maxIterations", 10)
+            .addParameter("checkpointInterval", 3)
+            .addParameter("checkpointDirectory", "pr")
+            .yields("nodeId", "values");
+
+        HashMap<Long, Double> actual = new HashMap<>();
+        runQueryWithRowConsumer(query, r -> {
+            actual.put(
+                r.getNumber("nodeId").longValue(),
+                ((Map<String, Double>) r.get("values")).get(PAGE_RANK)
+            );
+        });
+
+        assertMapEqualsWithTolerance(EXPECTED_RANKS, actual, 0.001);
+        assertTrue(Files.isDirectory(exportLocation.resolve("pr")));
+    }
+
+    @Test
+    void failOnCheckpointDirectoryOutsideExportLocation() {
+        var query = GdsCypher.call()
+            .loadEverything()
+            .algo("example", "pregel", "pr")
+            .streamMode()
+            .addParameter("maxIterations", 10)
+            .addParameter("checkpointInterval", 3)
+            .addParameter("checkpointDirectory", "../pr")
+            .yields("nodeId", "values");
+
+        assertError(query, "It attempts to access forbidden directory");
+    }
+
     @Test
     void streamSeeded() {
         var createGraphQuery = GdsCypher.call()
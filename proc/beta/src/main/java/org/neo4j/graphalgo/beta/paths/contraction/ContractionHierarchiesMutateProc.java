@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.beta.paths.contraction.config.ContractionHierarchiesMutateConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class ContractionHierarchiesMutateProc extends MutatePropertyProc<ContractionHierarchies, ContractionHierarchies.ContractionResult, ContractionHierarchiesMutateProc.MutateResult, ContractionHierarchiesMutateConfig> {
+
+    static final String DESCRIPTION =
+        "Contracts the nodes of the graph in order of importance, stores the contraction order as a node property " +
+        "and the added shortcuts as a new relationship type, which can be used by contraction hierarchy queries.";
+
+    @Procedure(name = "gds.alpha.shortestPath.contractionHierarchies.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return mutate(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(name = "gds.alpha.shortestPath.contractionHierarchies.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> mutateEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<ContractionHierarchies, ContractionHierarchies.ContractionResult, ContractionHierarchiesMutateConfig> computationResult) {
+        var ranks = computationResult.result().ranks();
+        return (LongNodeProperties) ranks::get;
+    }
+
+    @Override
+    protected void updateGraphStore(
+        AbstractResultBuilder<?> resultBuilder,
+        ComputationResult<ContractionHierarchies, ContractionHierarchies.ContractionResult, ContractionHierarchiesMutateConfig> computationResult
+    ) {
+        var graph = computationResult.graph();
+        var config = computationResult.config();
+
+        // the outer timer stops last and covers both the node property and the shortcut mutation
+        try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withMutateMillis)) {
+            super.updateGraphStore(resultBuilder, computationResult);
+
+            var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+                .nodes(graph)
+                .orientation(graph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL)
+                .loadRelationshipProperty(true)
+                .build();
+            computationResult.result().forEachShortcut(relationshipsBuilder::addFromInternal);
+            var relationships = relationshipsBuilder.build();
+
+            computationResult.graphStore().addRelationshipType(
+                RelationshipType.of(config.mutateRelationshipType()),
+                Optional.of(config.relationshipWeightProperty()),
+                Optional.of(NumberType.FLOATING_POINT),
+                relationships
+            );
+            resultBuilder.withRelationshipsWritten(relationships.topology().elementCount());
+            // the ranks and shortcuts are removed once nodes or relationships are appended to the graph
+            computationResult.graphStore().addIndex(
+                List.of(config.mutateProperty()),
+                List.of(RelationshipType.of(config.mutateRelationshipType()))
+            );
+        }
+    }
+
+    @Override
+    protected AbstractResultBuilder<MutateResult> resultBuilder(ComputationResult<ContractionHierarchies, ContractionHierarchies.ContractionResult, ContractionHierarchiesMutateConfig> computeResult) {
+        return new MutateResult.Builder();
+    }
+
+    @Override
+    protected ContractionHierarchiesMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return ContractionHierarchiesMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<ContractionHierarchies, ContractionHierarchiesMutateConfig> algorithmFactory() {
+        return new ContractionHierarchiesFactory<>();
+    }
+
+    @SuppressWarnings("unused")
+    public static final class MutateResult {
+
+        public final long nodePropertiesWritten;
+        public final long relationshipsWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long nodePropertiesWritten,
+            long relationshipsWritten,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            Map<String, Object> configuration
+        ) {
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.relationshipsWritten = relationshipsWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.configuration = configuration;
+        }
+
+        static final class Builder extends AbstractResultBuilder<MutateResult> {
+
+            @Override
+            public MutateResult build() {
+                return new MutateResult(
+                    nodePropertiesWritten,
+                    relationshipsWritten,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.landmarks;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.beta.paths.landmarks.config.LandmarksMutateConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class LandmarksMutateProc extends MutatePropertyProc<Landmarks, Landmarks.LandmarksResult, LandmarksMutateProc.MutateResult, LandmarksMutateConfig> {
+
+    static final String DESCRIPTION =
+        "Selects landmark nodes and stores the distances from every landmark as a node property, " +
+        "which can be used as an A* heuristic by repeated shortest path queries.";
+
+    @Procedure(name = "gds.alpha.shortestPath.landmarks.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return mutate(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(name = "gds.alpha.shortestPath.landmarks.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> mutateEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<Landmarks, Landmarks.LandmarksResult, LandmarksMutateConfig> computationResult) {
+        var distances = computationResult.result().distances();
+        return (DoubleArrayNodeProperties) distances::get;
+    }
+
+    @Override
+    protected void updateGraphStore(
+        AbstractResultBuilder<?> resultBuilder,
+        ComputationResult<Landmarks, Landmarks.LandmarksResult, LandmarksMutateConfig> computationResult
+    ) {
+        super.updateGraphStore(resultBuilder, computationResult);
+        // the distances are removed once nodes or relationships are appended to the graph
+        computationResult.graphStore().addIndex(List.of(computationResult.config().mutateProperty()), List.of());
+    }
+
+    @Override
+    protected AbstractResultBuilder<MutateResult> resultBuilder(ComputationResult<Landmarks, Landmarks.LandmarksResult, LandmarksMutateConfig> computeResult) {
+        var graph = computeResult.graph();
+        var landmarks = computeResult.isGraphEmpty()
+            ? List.<Long>of()
+            : Arrays.stream(computeResult.result().landmarks())
+                .map(graph::toOriginalNodeId)
+                .boxed()
+                .collect(Collectors.toList());
+        return new MutateResult.Builder().withLandmarks(landmarks);
+    }
+
+    @Override
+    protected LandmarksMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return LandmarksMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Landmarks, LandmarksMutateConfig> algorithmFactory() {
+        return new LandmarksFactory<>();
+    }
+
+    @SuppressWarnings("unused")
+    public static final class MutateResult {
+
+        public final long nodePropertiesWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final List<Long> landmarks;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long nodePropertiesWritten,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            List<Long> landmarks,
+            Map<String, Object> configuration
+        ) {
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.landmarks = landmarks;
+            this.configuration = configuration;
+        }
+
+        static final class Builder extends AbstractResultBuilder<MutateResult> {
+
+            private List<Long> landmarks = List.of();
+
+            Builder withLandmarks(List<Long> landmarks) {
+                this.landmarks = landmarks;
+                return this;
+            }
+
+            @Override
+            public MutateResult build() {
+                return new MutateResult(
+                    nodePropertiesWritten,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    landmarks,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.contraction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class ContractionHierarchiesProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label { name: 'a' })" +
+        ", (b:Label { name: 'b' })" +
+        ", (c:Label { name: 'c' })" +
+        ", (d:Label { name: 'd' })" +
+        ", (e:Label { name: 'e' })" +
+        ", (f:Label { name: 'f' })" +
+        ", (a)-[:TYPE { cost: 4 }]->(b)" +
+        ", (a)-[:TYPE { cost: 2 }]->(c)" +
+        ", (b)-[:TYPE { cost: 5 }]->(c)" +
+        ", (b)-[:TYPE { cost: 10 }]->(d)" +
+        ", (c)-[:TYPE { cost: 3 }]->(e)" +
+        ", (d)-[:TYPE { cost: 11 }]->(f)" +
+        ", (e)-[:TYPE { cost: 4 }]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            ContractionHierarchiesMutateProc.class,
+            ContractionHierarchiesStreamProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Label', { TYPE: { properties: 'cost', orientation: 'UNDIRECTED' } })");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldMutateRanksAndShortcuts() {
+        var query = "CALL gds.alpha.shortestPath.contractionHierarchies.mutate('graph', {" +
+                    "  relationshipWeightProperty: 'cost', mutateProperty: 'rank', mutateRelationshipType: 'SHORTCUT'" +
+                    "}) YIELD nodePropertiesWritten, relationshipsWritten";
+
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "graph").graphStore();
+        var relationshipCount = graphStore.relationshipCount();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(6L, row.getNumber("nodePropertiesWritten"));
+            assertEquals(
+                graphStore.relationshipCount() - relationshipCount,
+                row.getNumber("relationshipsWritten").longValue()
+            );
+        });
+
+        assertThat(graphStore.hasNodeProperty(List.of(NodeLabel.of("Label")), "rank")).isTrue();
+        assertThat(graphStore.hasRelationshipType(RelationshipType.of("SHORTCUT"))).isTrue();
+        assertThat(graphStore.hasRelationshipProperty(List.of(RelationshipType.of("SHORTCUT")), "cost")).isTrue();
+    }
+
+    @Test
+    void shouldStreamShortestPath() {
+        runQuery("CALL gds.alpha.shortestPath.contractionHierarchies.mutate('graph', {" +
+                 "  relationshipWeightProperty: 'cost', mutateProperty: 'rank', mutateRelationshipType: 'SHORTCUT'" +
+                 "})");
+
+        var query = "MATCH (source { name: 'a' }), (target { name: 'f' })" +
+                    " CALL gds.alpha.shortestPath.contractionHierarchies.stream('graph', {" +
+                    "   sourceNode: id(source), targetNode: id(target)," +
+                    "   relationshipWeightProperty: 'cost', nodeRankProperty: 'rank'" +
+                    " }) YIELD totalCost, costs RETURN totalCost, costs";
+
+        assertCypherResult(query, List.of(map(
+            "totalCost", 20.0,
+            "costs", List.of(0.0, 2.0, 5.0, 9.0, 20.0)
+        )));
+    }
+
+    @Test
+    void shouldRemoveRanksAndShortcutsWhenNodesAreAppended() {
+        runQuery("CALL gds.alpha.shortestPath.contractionHierarchies.mutate('graph', {" +
+                 "  relationshipWeightProperty: 'cost', mutateProperty: 'rank', mutateRelationshipType: 'SHORTCUT'" +
+                 "})");
+
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "graph").graphStore();
+        graphStore.addNodes(new long[]{100L}, List.of(Set.of(NodeLabel.of("Label"))), Map.of(), 1);
+
+        assertThat(graphStore.hasNodeProperty(List.of(NodeLabel.of("Label")), "rank")).isFalse();
+        assertThat(graphStore.hasRelationshipType(RelationshipType.of("SHORTCUT"))).isFalse();
+        assertThat(graphStore.hasRelationshipType(RelationshipType.of("TYPE"))).isTrue();
+    }
+
+    @Test
+    void shouldRejectDirectedGraphs() {
+        runQuery("CALL gds.graph.create('directed', 'Label', { TYPE: { properties: 'cost' } })");
+        runQuery("CALL gds.alpha.shortestPath.contractionHierarchies.mutate('directed', {" +
+                 "  relationshipWeightProperty: 'cost', mutateProperty: 'rank', mutateRelationshipType: 'SHORTCUT'" +
+                 "})");
+
+        var query = "MATCH (source { name: 'a' }), (target { name: 'f' })" +
+                    " CALL gds.alpha.shortestPath.contractionHierarchies.stream('directed', {" +
+                    "   sourceNode: id(source), targetNode: id(target)," +
+                    "   relationshipWeightProperty: 'cost', nodeRankProperty: 'rank'" +
+                    " }) YIELD totalCost RETURN totalCost";
+
+        assertError(query, "Contraction hierarchy queries require an undirected graph");
+    }
+}
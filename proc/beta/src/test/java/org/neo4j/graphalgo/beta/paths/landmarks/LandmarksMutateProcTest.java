@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.landmarks;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathDijkstraStreamProc;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class LandmarksMutateProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label { name: 'a' })" +
+        ", (b:Label { name: 'b' })" +
+        ", (c:Label { name: 'c' })" +
+        ", (d:Label { name: 'd' })" +
+        ", (e:Label { name: 'e' })" +
+        ", (f:Label { name: 'f' })" +
+        ", (a)-[:TYPE { cost: 4 }]->(b)" +
+        ", (a)-[:TYPE { cost: 2 }]->(c)" +
+        ", (b)-[:TYPE { cost: 5 }]->(c)" +
+        ", (b)-[:TYPE { cost: 10 }]->(d)" +
+        ", (c)-[:TYPE { cost: 3 }]->(e)" +
+        ", (d)-[:TYPE { cost: 11 }]->(f)" +
+        ", (e)-[:TYPE { cost: 4 }]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, LandmarksMutateProc.class, ShortestPathDijkstraStreamProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Label', { TYPE: { properties: 'cost' } })");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldMutateLandmarkDistances() {
+        var query = "CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+                    "  landmarkCount: 2, relationshipWeightProperty: 'cost', mutateProperty: 'landmarks'" +
+                    "}) YIELD nodePropertiesWritten, landmarks";
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(6L, row.getNumber("nodePropertiesWritten"));
+            assertEquals(List.of(idOf("f"), idOf("a")), row.get("landmarks"));
+        });
+
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "graph").graphStore();
+        assertThat(graphStore.hasNodeProperty(List.of(NodeLabel.of("Label")), "landmarks")).isTrue();
+        var distances = graphStore.nodePropertyValues("landmarks");
+        assertThat(distances.doubleArrayValue(graphStore.nodes().toMappedNodeId(idOf("d"))))
+            .containsExactly(Double.POSITIVE_INFINITY, 9.0);
+    }
+
+    @Test
+    void shouldUseLandmarksInDijkstra() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+                 "  landmarkCount: 3, relationshipWeightProperty: 'cost', mutateProperty: 'landmarks'" +
+                 "})");
+
+        var query = "MATCH (source { name: 'a' }), (target { name: 'f' })" +
+                    " CALL gds.beta.shortestPath.dijkstra.stream('graph', {" +
+                    "   sourceNode: id(source), targetNode: id(target)," +
+                    "   relationshipWeightProperty: 'cost', landmarkProperty: 'landmarks'" +
+                    " }) YIELD totalCost, costs RETURN totalCost, costs";
+
+        assertCypherResult(query, List.of(map(
+            "totalCost", 20.0,
+            "costs", List.of(0.0, 2.0, 5.0, 9.0, 20.0)
+        )));
+    }
+
+    @Test
+    void shouldRemoveLandmarkDistancesWhenRelationshipsAreAppended() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+                 "  landmarkCount: 2, relationshipWeightProperty: 'cost', mutateProperty: 'landmarks'" +
+                 "})");
+
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "graph").graphStore();
+        var nodes = graphStore.nodes();
+        graphStore.addRelationships(
+            RelationshipType.of("TYPE"),
+            new long[]{nodes.toMappedNodeId(idOf("a"))},
+            new long[]{nodes.toMappedNodeId(idOf("f"))},
+            Map.of("cost", new double[]{1.0}),
+            1
+        );
+
+        assertThat(graphStore.hasNodeProperty(List.of(NodeLabel.of("Label")), "landmarks")).isFalse();
+    }
+
+    private long idOf(String name) {
+        return runQuery(
+            "MATCH (n { name: $name }) RETURN id(n) AS id",
+            map("name", name),
+            result -> (long) result.next().get("id")
+        );
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class AllShortestPathsDeltaStreamProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label { name: 'a' })" +
+        ", (b:Label { name: 'b' })" +
+        ", (c:Label { name: 'c' })" +
+        ", (d:Label { name: 'd' })" +
+        ", (e:Label { name: 'e' })" +
+        ", (f:Label { name: 'f' })" +
+        ", (a)-[:TYPE { cost: 4 }]->(b)" +
+        ", (a)-[:TYPE { cost: 2 }]->(c)" +
+        ", (b)-[:TYPE { cost: 5 }]->(c)" +
+        ", (b)-[:TYPE { cost: 10 }]->(d)" +
+        ", (c)-[:TYPE { cost: 3 }]->(e)" +
+        ", (d)-[:TYPE { cost: 11 }]->(f)" +
+        ", (e)-[:TYPE { cost: 4 }]->(d)" +
+        ", (f)-[:NEGATIVE { cost: -1 }]->(a)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            AllShortestPathsDeltaStreamProc.class
+        );
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldStreamShortestPaths() {
+        runQuery("CALL gds.graph.create('graph', 'Label', 'TYPE', { relationshipProperties: 'cost' })");
+
+        var query = "MATCH (source { name: 'a' })" +
+                    " CALL gds.beta.allShortestPaths.delta.stream('graph', {" +
+                    "   sourceNode: id(source), relationshipWeightProperty: 'cost', delta: 3.0, concurrency: 2" +
+                    " }) YIELD targetNode, totalCost, costs" +
+                    " MATCH (target) WHERE id(target) = targetNode" +
+                    " RETURN target.name AS target, totalCost, costs" +
+                    " ORDER BY target";
+
+        assertCypherResult(query, List.of(
+            map("target", "a", "totalCost", 0.0, "costs", List.of(0.0)),
+            map("target", "b", "totalCost", 4.0, "costs", List.of(0.0, 4.0)),
+            map("target", "c", "totalCost", 2.0, "costs", List.of(0.0, 2.0)),
+            map("target", "d", "totalCost", 9.0, "costs", List.of(0.0, 2.0, 5.0, 9.0)),
+            map("target", "e", "totalCost", 5.0, "costs", List.of(0.0, 2.0, 5.0)),
+            map("target", "f", "totalCost", 20.0, "costs", List.of(0.0, 2.0, 5.0, 9.0, 20.0))
+        ));
+    }
+
+    @Test
+    void shouldRejectNegativeWeights() {
+        runQuery("CALL gds.graph.create('graph', 'Label', '*', { relationshipProperties: 'cost' })");
+
+        var query = "MATCH (source { name: 'a' })" +
+                    " CALL gds.beta.allShortestPaths.delta.stream('graph', {" +
+                    "   sourceNode: id(source), relationshipWeightProperty: 'cost'" +
+                    " }) YIELD totalCost RETURN totalCost";
+
+        assertError(query, "Delta-stepping requires non-negative relationship weights");
+    }
+}
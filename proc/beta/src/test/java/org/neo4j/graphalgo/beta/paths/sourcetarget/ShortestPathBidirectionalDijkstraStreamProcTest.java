@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.sourcetarget;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class ShortestPathBidirectionalDijkstraStreamProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label { name: 'a' })" +
+        ", (b:Label { name: 'b' })" +
+        ", (c:Label { name: 'c' })" +
+        ", (d:Label { name: 'd' })" +
+        ", (e:Label { name: 'e' })" +
+        ", (f:Label { name: 'f' })" +
+        ", (a)-[:TYPE { cost: 4 }]->(b)" +
+        ", (a)-[:TYPE { cost: 2 }]->(c)" +
+        ", (b)-[:TYPE { cost: 5 }]->(c)" +
+        ", (b)-[:TYPE { cost: 10 }]->(d)" +
+        ", (c)-[:TYPE { cost: 3 }]->(e)" +
+        ", (d)-[:TYPE { cost: 11 }]->(f)" +
+        ", (e)-[:TYPE { cost: 4 }]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            ShortestPathBidirectionalDijkstraStreamProc.class
+        );
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldStreamShortestPath() {
+        runQuery("CALL gds.graph.create('graph', 'Label', { TYPE: { properties: 'cost', orientation: 'UNDIRECTED' } })");
+
+        var query = "MATCH (source { name: 'f' }), (target { name: 'a' })" +
+                    " CALL gds.beta.shortestPath.bidirectional.stream('graph', {" +
+                    "   sourceNode: id(source), targetNode: id(target), relationshipWeightProperty: 'cost'" +
+                    " }) YIELD totalCost, costs RETURN totalCost, costs";
+
+        assertCypherResult(query, List.of(map(
+            "totalCost", 20.0,
+            "costs", List.of(0.0, 11.0, 15.0, 18.0, 20.0)
+        )));
+    }
+
+    @Test
+    void shouldRejectDirectedGraphs() {
+        runQuery("CALL gds.graph.create('graph', 'Label', { TYPE: { properties: 'cost' } })");
+
+        var query = "MATCH (source { name: 'a' }), (target { name: 'f' })" +
+                    " CALL gds.beta.shortestPath.bidirectional.stream('graph', {" +
+                    "   sourceNode: id(source), targetNode: id(target), relationshipWeightProperty: 'cost'" +
+                    " }) YIELD totalCost RETURN totalCost";
+
+        assertError(query, "Bidirectional Dijkstra requires an undirected graph");
+    }
+}
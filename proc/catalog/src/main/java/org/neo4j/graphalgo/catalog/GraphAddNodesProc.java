@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphAddNodesConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphAddNodesProc extends CatalogProc {
+
+    private static final String ID_KEY = "id";
+    private static final String LABELS_KEY = "labels";
+
+    @Procedure(name = "gds.alpha.graph.nodes.add", mode = READ)
+    @Description("Appends nodes to an in-memory graph without re-projecting the graph.")
+    public Stream<Result> add(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "nodes") List<Map<String, Object>> nodes,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(graphName);
+
+        // input
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        GraphAddNodesConfig config = GraphAddNodesConfig.of(username(), cypherConfig);
+        // validation
+        validateConfig(cypherConfig, config);
+        GraphStore graphStore = GraphStoreCatalog.get(username(), databaseId(), graphName).graphStore();
+        // adding
+        long nodesAdded = runWithExceptionLogging(
+            "Adding nodes failed",
+            () -> addNodes(graphStore, nodes, config)
+        );
+        // result
+        return Stream.of(new Result(graphName, nodesAdded));
+    }
+
+    private long addNodes(GraphStore graphStore, List<Map<String, Object>> nodes, GraphAddNodesConfig config) {
+        Set<String> propertyKeys = graphStore
+            .nodePropertyKeys()
+            .values()
+            .stream()
+            .flatMap(Collection::stream)
+            .collect(Collectors.toSet());
+
+        int count = nodes.size();
+        long[] nodeIds = new long[count];
+        List<Set<NodeLabel>> nodeLabels = new ArrayList<>(count);
+        Map<String, double[]> properties = new HashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> node = nodes.get(i);
+            nodeIds[i] = number(node.get(ID_KEY), ID_KEY).longValue();
+            nodeLabels.add(labels(node.get(LABELS_KEY)));
+            for (Map.Entry<String, Object> entry : node.entrySet()) {
+                String key = entry.getKey();
+                if (key.equals(ID_KEY) || key.equals(LABELS_KEY)) {
+                    continue;
+                }
+                if (!propertyKeys.contains(key)) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Node property `%s` does not exist in the graph.",
+                        key
+                    ));
+                }
+                double[] values = properties.computeIfAbsent(key, ignored -> {
+                    // missing values are replaced by the default value of the property
+                    double[] missing = new double[count];
+                    Arrays.fill(missing, Double.NaN);
+                    return missing;
+                });
+                values[i] = number(entry.getValue(), key).doubleValue();
+            }
+        }
+
+        return graphStore.addNodes(nodeIds, nodeLabels, properties, config.concurrency());
+    }
+
+    private static Set<NodeLabel> labels(Object labels) {
+        if (labels == null) {
+            return Set.of();
+        }
+        if (!(labels instanceof List)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected `%s` to be a list of strings, but got `%s`.",
+                LABELS_KEY,
+                labels
+            ));
+        }
+        Set<NodeLabel> nodeLabels = new HashSet<>();
+        for (Object label : (List<?>) labels) {
+            nodeLabels.add(NodeLabel.of(String.valueOf(label)));
+        }
+        return nodeLabels;
+    }
+
+    private static Number number(Object value, String key) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected `%s` to be a number, but got `%s`.",
+                key,
+                value
+            ));
+        }
+        return (Number) value;
+    }
+
+    @SuppressWarnings("unused")
+    public static class Result {
+        public final String graphName;
+        public final long nodesAdded;
+
+        Result(String graphName, long nodesAdded) {
+            this.graphName = graphName;
+            this.nodesAdded = nodesAdded;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphAddRelationshipsConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.utils.StringJoining;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphAddRelationshipsProc extends CatalogProc {
+
+    private static final String SOURCE_KEY = "source";
+    private static final String TARGET_KEY = "target";
+
+    @Procedure(name = "gds.alpha.graph.relationships.add", mode = READ)
+    @Description("Appends relationships to a relationship type of an in-memory graph without re-projecting the graph.")
+    public Stream<Result> add(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "relationshipType") String relationshipType,
+        @Name(value = "relationships") List<Map<String, Object>> relationships,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(graphName);
+
+        // input
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        GraphAddRelationshipsConfig config = GraphAddRelationshipsConfig.of(username(), cypherConfig);
+        // validation
+        validateConfig(cypherConfig, config);
+        GraphStoreWithConfig graphStoreWithConfig = GraphStoreCatalog.get(username(), databaseId(), graphName);
+        GraphStore graphStore = graphStoreWithConfig.graphStore();
+        RelationshipType type = RelationshipType.of(relationshipType);
+        // adding
+        long relationshipsAdded = runWithExceptionLogging(
+            "Adding relationships failed",
+            () -> addRelationships(graphStore, type, relationships, config)
+        );
+        // Compaction runs on the procedure thread, its import tasks are distributed over the default pool.
+        // A failed compaction keeps the appended relationships in the delta layer.
+        boolean compactionTriggered = graphStore.appendedRelationshipRatio(type) > config.compactionRatio();
+        if (compactionTriggered) {
+            try {
+                graphStore.compactRelationships(type, graphStoreWithConfig.config(), config.concurrency());
+            } catch (RuntimeException e) {
+                log.warn(formatWithLocale("Compacting relationship type `%s` failed", relationshipType), e);
+            }
+        }
+        // result
+        return Stream.of(new Result(graphName, relationshipType, relationshipsAdded, compactionTriggered));
+    }
+
+    private long addRelationships(
+        GraphStore graphStore,
+        RelationshipType relationshipType,
+        List<Map<String, Object>> relationships,
+        GraphAddRelationshipsConfig config
+    ) {
+        if (!graphStore.hasRelationshipType(relationshipType)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Relationship type `%s` does not exist in the graph. Available relationship types: %s",
+                relationshipType.name,
+                StringJoining.join(graphStore.relationshipTypes().stream().map(RelationshipType::name))
+            ));
+        }
+        Map<String, RelationshipPropertySchema> propertySchemas = graphStore
+            .schema()
+            .relationshipSchema()
+            .properties()
+            .getOrDefault(relationshipType, Map.of());
+
+        int count = relationships.size();
+        long[] sourceNodeIds = new long[count];
+        long[] targetNodeIds = new long[count];
+        Map<String, double[]> properties = new HashMap<>();
+        propertySchemas.forEach((propertyKey, schema) -> properties.put(propertyKey, new double[count]));
+
+        IdMapping nodes = graphStore.nodes();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> relationship = relationships.get(i);
+            sourceNodeIds[i] = mappedNodeId(nodes, relationship, SOURCE_KEY);
+            targetNodeIds[i] = mappedNodeId(nodes, relationship, TARGET_KEY);
+            for (String key : relationship.keySet()) {
+                if (!key.equals(SOURCE_KEY) && !key.equals(TARGET_KEY) && !propertySchemas.containsKey(key)) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Relationship property `%s` does not exist for relationship type `%s`.",
+                        key,
+                        relationshipType.name
+                    ));
+                }
+            }
+            int index = i;
+            propertySchemas.forEach((propertyKey, schema) -> {
+                Object value = relationship.get(propertyKey);
+                properties.get(propertyKey)[index] = value == null
+                    ? schema.defaultValue().doubleValue()
+                    : number(value, propertyKey).doubleValue();
+            });
+        }
+
+        return graphStore.addRelationships(
+            relationshipType,
+            sourceNodeIds,
+            targetNodeIds,
+            properties,
+            config.concurrency()
+        );
+    }
+
+    private static long mappedNodeId(IdMapping nodes, Map<String, Object> relationship, String key) {
+        long nodeId = number(relationship.get(key), key).longValue();
+        long mappedNodeId = nodes.toMappedNodeId(nodeId);
+        if (mappedNodeId == -1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The %s node %d is not contained in the graph.",
+                key,
+                nodeId
+            ));
+        }
+        return mappedNodeId;
+    }
+
+    private static Number number(Object value, String key) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected `%s` to be a number, but got `%s`.",
+                key,
+                value
+            ));
+        }
+        return (Number) value;
+    }
+
+    @SuppressWarnings("unused")
+    public static class Result {
+        public final String graphName;
+        public final String relationshipType;
+        public final long relationshipsAdded;
+        public final boolean compactionTriggered;
+
+        Result(String graphName, String relationshipType, long relationshipsAdded, boolean compactionTriggered) {
+            this.graphName = graphName;
+            this.relationshipType = relationshipType;
+            this.relationshipsAdded = relationshipsAdded;
+            this.compactionTriggered = compactionTriggered;
+        }
+    }
+}
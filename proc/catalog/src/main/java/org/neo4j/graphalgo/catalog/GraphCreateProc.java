@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeProjections;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
@@ -68,7 +69,7 @@ public class GraphCreateProc extends CatalogProc {
         validateGraphName(username(), graphName);
 
         // input
-        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        CypherMapWrapper cypherConfig = withResolvedSpillDirectory(CypherMapWrapper.create(configuration));
         GraphCreateFromStoreConfig config = GraphCreateFromStoreConfig.of(
             username(),
             graphName,
@@ -94,7 +95,7 @@ public class GraphCreateProc extends CatalogProc {
         @Name(value = "relationshipProjection") @Nullable Object relationshipProjection,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        CypherMapWrapper cypherConfig = withResolvedSpillDirectory(CypherMapWrapper.create(configuration));
         GraphCreateConfig config = GraphCreateFromStoreConfig.of(
             username(),
             NO_GRAPH_NAME,
@@ -117,7 +118,7 @@ public class GraphCreateProc extends CatalogProc {
         validateGraphName(username(), graphName);
 
         // input
-        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        CypherMapWrapper cypherConfig = withResolvedSpillDirectory(CypherMapWrapper.create(configuration));
         GraphCreateFromCypherConfig config = GraphCreateFromCypherConfig.of(
             username(),
             graphName,
@@ -143,7 +144,7 @@ public class GraphCreateProc extends CatalogProc {
         @Name(value = "relationshipQuery") String relationshipQuery,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        CypherMapWrapper cypherConfig = withResolvedSpillDirectory(CypherMapWrapper.create(configuration));
         GraphCreateFromCypherConfig config = GraphCreateFromCypherConfig.of(
             username(),
             NO_GRAPH_NAME,
@@ -184,14 +185,23 @@ public class GraphCreateProc extends CatalogProc {
             : new GraphCreateNativeResult.Builder((GraphCreateFromStoreConfig) config);
 
         try (ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)) {
-            GraphLoader loader = newLoader(config, allocationTracker());
-            GraphStore graphStore = loader.graphStore();
+            // the catalog sizes the graph for its memory budget by the tracked allocations
+            AllocationTracker tracker = GraphStoreCatalog.isSpillingEnabled()
+                ? AllocationTracker.create()
+                : allocationTracker();
+            GraphLoader loader = newLoader(config, tracker);
+            GraphStoreFactory.ImportResult<? extends GraphStore> importResult = loader.graphStoreFactory().build();
+            GraphStore graphStore = importResult.graphStore();
 
             builder
                 .withNodeCount(graphStore.nodeCount())
-                .withRelationshipCount(graphStore.relationshipCount());
+                .withRelationshipCount(graphStore.relationshipCount())
+                .withBytesPerRelationship(
+                    importResult.bytesPerRelationshipBeforeReordering(),
+                    importResult.bytesPerRelationshipAfterReordering()
+                );
 
-            GraphStoreCatalog.set(config, graphStore);
+            GraphStoreCatalog.set(config, graphStore, tracker);
         }
 
         return builder.build();
@@ -212,17 +222,23 @@ public class GraphCreateProc extends CatalogProc {
         public final String graphName;
         public final long nodeCount;
         public final long relationshipCount;
+        public final double bytesPerRelationshipBeforeReordering;
+        public final double bytesPerRelationshipAfterReordering;
         public final long createMillis;
 
         GraphCreateResult(
             String graphName,
             long nodeCount,
             long relationshipCount,
+            double bytesPerRelationshipBeforeReordering,
+            double bytesPerRelationshipAfterReordering,
             long createMillis
         ) {
             this.graphName = graphName;
             this.nodeCount = nodeCount;
             this.relationshipCount = relationshipCount;
+            this.bytesPerRelationshipBeforeReordering = bytesPerRelationshipBeforeReordering;
+            this.bytesPerRelationshipAfterReordering = bytesPerRelationshipAfterReordering;
             this.createMillis = createMillis;
         }
 
@@ -230,6 +246,8 @@ public class GraphCreateProc extends CatalogProc {
             final String graphName;
             long nodeCount;
             long relationshipCount;
+            double bytesPerRelationshipBeforeReordering;
+            double bytesPerRelationshipAfterReordering;
             long createMillis;
 
             Builder(GraphCreateConfig config) {
@@ -246,6 +264,12 @@ public class GraphCreateProc extends CatalogProc {
                 return this;
             }
 
+            Builder withBytesPerRelationship(double beforeReordering, double afterReordering) {
+                this.bytesPerRelationshipBeforeReordering = beforeReordering;
+                this.bytesPerRelationshipAfterReordering = afterReordering;
+                return this;
+            }
+
             Builder withCreateMillis(long createMillis) {
                 this.createMillis = createMillis;
                 return this;
@@ -267,9 +291,18 @@ public class GraphCreateProc extends CatalogProc {
             Map<String, Object> relationshipProjection,
             long nodeCount,
             long relationshipCount,
+            double bytesPerRelationshipBeforeReordering,
+            double bytesPerRelationshipAfterReordering,
             long createMillis
         ) {
-            super(graphName, nodeCount, relationshipCount, createMillis);
+            super(
+                graphName,
+                nodeCount,
+                relationshipCount,
+                bytesPerRelationshipBeforeReordering,
+                bytesPerRelationshipAfterReordering,
+                createMillis
+            );
             this.nodeProjection = nodeProjection;
             this.relationshipProjection = relationshipProjection;
         }
@@ -291,6 +324,8 @@ public class GraphCreateProc extends CatalogProc {
                     relationshipProjections.toObject(),
                     nodeCount,
                     relationshipCount,
+                    bytesPerRelationshipBeforeReordering,
+                    bytesPerRelationshipAfterReordering,
                     createMillis
                 );
             }
@@ -308,9 +343,18 @@ public class GraphCreateProc extends CatalogProc {
             String relationshipQuery,
             long nodeCount,
             long relationshipCount,
+            double bytesPerRelationshipBeforeReordering,
+            double bytesPerRelationshipAfterReordering,
             long createMillis
         ) {
-            super(graphName, nodeCount, relationshipCount, createMillis);
+            super(
+                graphName,
+                nodeCount,
+                relationshipCount,
+                bytesPerRelationshipBeforeReordering,
+                bytesPerRelationshipAfterReordering,
+                createMillis
+            );
             this.nodeQuery = nodeQuery;
             this.relationshipQuery = relationshipQuery;
         }
@@ -332,6 +376,8 @@ public class GraphCreateProc extends CatalogProc {
                     relationshipQuery,
                     nodeCount,
                     relationshipCount,
+                    bytesPerRelationshipBeforeReordering,
+                    bytesPerRelationshipAfterReordering,
                     createMillis
                 );
             }
@@ -42,8 +42,10 @@ public class GraphDropProc extends CatalogProc {
         validateGraphName(graphName);
 
         AtomicReference<GraphInfo> result = new AtomicReference<>();
-        GraphStoreCatalog.remove(username(), databaseId(), graphName, (graphStoreWithConfig) ->
-            result.set(GraphInfo.of(graphStoreWithConfig.config(), graphStoreWithConfig.graphStore())), failIfMissing
+        GraphStoreCatalog.remove(username(), databaseId(), graphName, (catalogEntry) ->
+            result.set(catalogEntry.graphStore()
+                .map(graphStore -> GraphInfo.of(catalogEntry.config(), graphStore))
+                .orElseGet(() -> GraphInfo.of(catalogEntry))), failIfMissing
         );
 
         return Stream.ofNullable(result.get());
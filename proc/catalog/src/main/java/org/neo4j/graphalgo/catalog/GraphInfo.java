@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalogEntry;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
 import java.time.ZonedDateTime;
@@ -104,6 +105,12 @@ public class GraphInfo {
                 "adjacencyList", memory.adjacencies().list(),
                 "total", memory.adjacencies().total(),
                 "everything", Optional.ofNullable(memory.fields().get("relationships")).orElse(0L)
+            ),
+            "relationshipProperties", Map.of(
+                "offsets", memory.relationshipProperties().offsets(),
+                "propertyLists", memory.relationshipProperties().list(),
+                "total", memory.relationshipProperties().total(),
+                "everything", Optional.ofNullable(memory.fields().get("relationshipProperties")).orElse(0L)
             )
         );
         var memoryUsage = MemoryUsage.humanReadable(memory.total());
@@ -129,6 +136,34 @@ public class GraphInfo {
         );
     }
 
+    /**
+     * Describes a graph that has been spilled to disk, without loading it back into memory.
+     * Its size is the heap size the graph occupied before it was spilled.
+     */
+    static GraphInfo of(GraphStoreCatalogEntry spilledEntry) {
+        var graphCreateConfig = spilledEntry.config();
+
+        var configVisitor = new Visitor();
+        graphCreateConfig.accept(configVisitor);
+
+        return new GraphInfo(
+            graphCreateConfig.graphName(),
+            spilledEntry.databaseId().name(),
+            MemoryUsage.humanReadable(spilledEntry.sizeInBytes()),
+            spilledEntry.sizeInBytes(),
+            Map.of(),
+            configVisitor.nodeProjection,
+            configVisitor.relationshipProjection,
+            configVisitor.nodeQuery,
+            configVisitor.relationshipQuery,
+            spilledEntry.nodeCount(),
+            spilledEntry.relationshipCount(),
+            graphCreateConfig.creationTime(),
+            spilledEntry.modificationTime(),
+            spilledEntry.schema().toMap()
+        );
+    }
+
     static final class Visitor implements GraphCreateConfig.Visitor {
 
         String nodeQuery, relationshipQuery = null;
@@ -23,7 +23,10 @@ import org.neo4j.graphalgo.api.GraphStatistics;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalogEntry;
 
+import java.time.ZonedDateTime;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,10 +34,16 @@ import java.util.Optional;
 public class GraphInfoWithHistogram extends GraphInfo {
 
     public final Map<String, Object> degreeDistribution;
+    public final String catalogState;
+    public final long accessCount;
+    public final ZonedDateTime lastAccessTime;
 
     public GraphInfoWithHistogram(
         GraphInfo graphInfo,
-        Map<String, Object> degreeDistribution
+        Map<String, Object> degreeDistribution,
+        String catalogState,
+        long accessCount,
+        ZonedDateTime lastAccessTime
     ) {
         super(
             graphInfo.graphName,
@@ -53,18 +62,42 @@ public class GraphInfoWithHistogram extends GraphInfo {
             graphInfo.schema
         );
         this.degreeDistribution = degreeDistribution;
+        this.catalogState = catalogState;
+        this.accessCount = accessCount;
+        this.lastAccessTime = lastAccessTime;
     }
 
-    static GraphInfoWithHistogram of(GraphCreateConfig graphCreateConfig, GraphStore graphStore) {
-        var graphInfo = GraphInfo.of(graphCreateConfig, graphStore);
+    static GraphInfoWithHistogram of(GraphStoreCatalogEntry catalogEntry) {
+        var graphCreateConfig = catalogEntry.config();
+        var catalogState = catalogEntry.state().name().toLowerCase(Locale.ENGLISH);
 
+        // a spilled graph is not loaded back only to compute its degree distribution
+        var graphInfo = catalogEntry.graphStore()
+            .map(graphStore -> GraphInfo.of(graphCreateConfig, graphStore))
+            .orElseGet(() -> GraphInfo.of(catalogEntry));
+        var degreeDistribution = catalogEntry.graphStore()
+            .map(graphStore -> degreeDistribution(graphCreateConfig, graphStore))
+            .orElseGet(() -> GraphStoreCatalog
+                .getDegreeDistribution(graphCreateConfig.username(), catalogEntry.databaseId(), graphCreateConfig.graphName())
+                .orElse(Map.of()));
+
+        return new GraphInfoWithHistogram(
+            graphInfo,
+            degreeDistribution,
+            catalogState,
+            catalogEntry.accessCount(),
+            catalogEntry.lastAccessTime()
+        );
+    }
+
+    private static Map<String, Object> degreeDistribution(GraphCreateConfig graphCreateConfig, GraphStore graphStore) {
         Optional<Map<String, Object>> maybeDegreeDistribution = GraphStoreCatalog.getDegreeDistribution(
             graphCreateConfig.username(),
             graphStore.databaseId(),
             graphCreateConfig.graphName()
         );
 
-        var degreeDistribution = maybeDegreeDistribution.orElseGet(() -> {
+        return maybeDegreeDistribution.orElseGet(() -> {
             var newHistogram = GraphStatistics.degreeDistribution(graphStore.getUnion());
             // Cache the computed degree distribution in the Catalog
             GraphStoreCatalog.setDegreeDistribution(
@@ -75,7 +108,5 @@ public class GraphInfoWithHistogram extends GraphInfo {
             );
             return newHistogram;
         });
-
-        return new GraphInfoWithHistogram(graphInfo, degreeDistribution);
     }
 }
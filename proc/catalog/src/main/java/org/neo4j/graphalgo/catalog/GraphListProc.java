@@ -19,14 +19,12 @@
  */
 package org.neo4j.graphalgo.catalog;
 
-import org.neo4j.graphalgo.api.GraphStore;
-import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalogEntry;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.neo4j.procedure.Mode.READ;
@@ -39,23 +37,18 @@ public class GraphListProc extends CatalogProc {
     @Procedure(name = "gds.graph.list", mode = READ)
     @Description(DESCRIPTION)
     public Stream<GraphInfoWithHistogram> list(@Name(value = "graphName", defaultValue = NO_VALUE) String graphName) {
-        Stream<Map.Entry<GraphCreateConfig, GraphStore>> graphEntries = GraphStoreCatalog
-            .getGraphStores(username())
-            .entrySet()
+        Stream<GraphStoreCatalogEntry> graphEntries = GraphStoreCatalog
+            .getEntries(username())
             .stream();
 
         if (graphName != null && !graphName.equals(NO_VALUE)) {
             validateGraphName(graphName);
 
             // we should only list the provided graph
-            graphEntries = graphEntries.filter(e -> e.getKey().graphName().equals(graphName));
+            graphEntries = graphEntries.filter(e -> e.config().graphName().equals(graphName));
         }
 
-        return graphEntries.map(e -> {
-            GraphCreateConfig graphCreateConfig = e.getKey();
-            GraphStore graphStore = e.getValue();
-            return GraphInfoWithHistogram.of(graphCreateConfig, graphStore);
-        });
+        return graphEntries.map(GraphInfoWithHistogram::of);
     }
 
 }
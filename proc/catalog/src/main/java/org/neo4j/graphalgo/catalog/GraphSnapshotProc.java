@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.compat.GraphDatabaseApiProxy;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotLoadConfig;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotReader;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotSaveConfig;
+import org.neo4j.graphalgo.core.utils.export.file.binary.GraphSnapshotWriter;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreExporter.DIRECTORY_IS_WRITABLE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphSnapshotProc extends BaseProc {
+
+    @Procedure(name = "gds.alpha.graph.snapshot.save", mode = READ)
+    @Description("Saves a named graph as a binary snapshot that can be loaded back into the catalog.")
+    public Stream<SnapshotResult> save(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        var cypherConfig = CypherMapWrapper.create(configuration);
+        var saveConfig = GraphSnapshotSaveConfig.of(username(), cypherConfig);
+        validateConfig(cypherConfig, saveConfig);
+
+        var result = runWithExceptionLogging(
+            "Graph snapshot failed", () -> {
+                var graphStoreWithConfig = GraphStoreCatalog.get(username(), databaseId(), graphName);
+                var graphStore = graphStoreWithConfig.graphStore();
+                var snapshotPath = snapshotPath(saveConfig.snapshotName(), true);
+
+                var start = System.nanoTime();
+                GraphSnapshotWriter
+                    .of(graphStore, graphStoreWithConfig.config(), snapshotPath, saveConfig.writeConcurrency())
+                    .run();
+                var end = System.nanoTime();
+
+                return new SnapshotResult(
+                    graphName,
+                    saveConfig.snapshotName(),
+                    graphStore.nodeCount(),
+                    graphStore.relationshipCount(),
+                    TimeUnit.NANOSECONDS.toMillis(end - start)
+                );
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    @Procedure(name = "gds.alpha.graph.snapshot.load", mode = READ)
+    @Description("Loads a binary graph snapshot into the catalog under the given graph name.")
+    public Stream<SnapshotResult> load(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        var cypherConfig = CypherMapWrapper.create(configuration);
+        var loadConfig = GraphSnapshotLoadConfig.of(username(), cypherConfig);
+        validateConfig(cypherConfig, loadConfig);
+
+        var result = runWithExceptionLogging(
+            "Graph snapshot loading failed", () -> {
+                if (GraphStoreCatalog.exists(username(), databaseId(), graphName)) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "A graph with name '%s' already exists.",
+                        graphName
+                    ));
+                }
+                var snapshotPath = snapshotPath(loadConfig.snapshotName(), false);
+
+                var start = System.nanoTime();
+                var graphStoreWithConfig = GraphSnapshotReader
+                    .of(snapshotPath, loadConfig.adjacencyStorage(), loadConfig.readConcurrency(), allocationTracker())
+                    .read(username(), graphName, databaseId());
+                var end = System.nanoTime();
+
+                var graphStore = graphStoreWithConfig.graphStore();
+                GraphStoreCatalog.set(graphStoreWithConfig.config(), graphStore, allocationTracker());
+
+                return new SnapshotResult(
+                    graphName,
+                    loadConfig.snapshotName(),
+                    graphStore.nodeCount(),
+                    graphStore.relationshipCount(),
+                    TimeUnit.NANOSECONDS.toMillis(end - start)
+                );
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    private Path snapshotPath(String snapshotName, boolean create) {
+        var neo4jConfig = GraphDatabaseApiProxy.resolveDependency(api, Config.class);
+        var exportLocation = neo4jConfig.get(GraphStoreExportSettings.export_location_setting);
+
+        if (exportLocation == null) {
+            throw new RuntimeException(formatWithLocale(
+                "The configuration option '%s' must be set.",
+                GraphStoreExportSettings.export_location_setting.name()
+            ));
+        }
+
+        DIRECTORY_IS_WRITABLE.validate(exportLocation);
+
+        var resolvedPath = exportLocation.resolve(snapshotName).normalize();
+
+        if (!resolvedPath.startsWith(exportLocation)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Illegal parameter value for parameter snapshotName=%s. It attempts to access forbidden directory %s.",
+                snapshotName,
+                resolvedPath
+            ));
+        }
+
+        if (!create) {
+            if (!Files.isDirectory(resolvedPath)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The snapshot directory `%s` does not exist.",
+                    snapshotName
+                ));
+            }
+            return resolvedPath;
+        }
+
+        if (resolvedPath.toFile().exists()) {
+            throw new IllegalArgumentException("The specified snapshot directory already exists.");
+        }
+
+        try {
+            Files.createDirectories(resolvedPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create snapshot directory", e);
+        }
+
+        return resolvedPath;
+    }
+
+    @SuppressWarnings("unused")
+    public static class SnapshotResult {
+        public final String graphName;
+        public final String snapshotName;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long millis;
+
+        public SnapshotResult(
+            String graphName,
+            String snapshotName,
+            long nodeCount,
+            long relationshipCount,
+            long millis
+        ) {
+            this.graphName = graphName;
+            this.snapshotName = snapshotName;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.millis = millis;
+        }
+    }
+}
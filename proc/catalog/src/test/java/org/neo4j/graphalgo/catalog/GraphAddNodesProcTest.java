@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class GraphAddNodesProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { age: 1 })" +
+        ", (b:A { age: 2 })" +
+        ", (c:B { age: 3 })" +
+        ", (a)-[:REL]->(b)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphAddNodesProc.class, GraphAddRelationshipsProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', ['A', 'B'], 'REL', { nodeProperties: { age: { defaultValue: 0 } } })");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldAddNodes() {
+        assertCypherResult(
+            "CALL gds.alpha.graph.nodes.add('g', [{ id: 100, labels: ['A'], age: 42 }, { id: 101, labels: ['B'] }])" +
+            " YIELD graphName, nodesAdded",
+            List.of(map("graphName", "g", "nodesAdded", 2L))
+        );
+        runQuery("MATCH (a { age: 1 }) CALL gds.alpha.graph.relationships.add('g', 'REL', [{ source: 100, target: id(a) }]) YIELD relationshipsAdded RETURN relationshipsAdded");
+
+        GraphStore graphStore = graphStore();
+        Graph graph = graphStore.getGraph(RelationshipType.of("REL"), Optional.empty());
+        long d = graph.toMappedNodeId(100L);
+        long e = graph.toMappedNodeId(101L);
+
+        assertThat(graph.nodeCount()).isEqualTo(5L);
+        assertThat(graph.relationshipCount()).isEqualTo(2L);
+        assertThat(graph.degree(d)).isEqualTo(1);
+        assertThat(graph.nodeLabels(d)).containsExactly(NodeLabel.of("A"));
+        assertThat(graph.nodeLabels(e)).containsExactly(NodeLabel.of("B"));
+        assertThat(graph.nodeProperties("age").longValue(d)).isEqualTo(42L);
+        assertThat(graph.nodeProperties("age").longValue(e)).isEqualTo(0L);
+    }
+
+    @Test
+    void failsOnExistingNode() {
+        assertError(
+            "MATCH (a { age: 1 }) CALL gds.alpha.graph.nodes.add('g', [{ id: id(a), labels: ['A'] }]) YIELD nodesAdded RETURN nodesAdded",
+            "must not be contained in the graph."
+        );
+    }
+
+    @Test
+    void failsOnUnknownLabel() {
+        assertError(
+            "CALL gds.alpha.graph.nodes.add('g', [{ id: 100, labels: ['C'] }])",
+            "Node 100 must have at least one of the node labels of the graph."
+        );
+    }
+
+    @Test
+    void failsOnUnknownProperty() {
+        assertError(
+            "CALL gds.alpha.graph.nodes.add('g', [{ id: 100, labels: ['A'], weight: 1.0 }])",
+            "Node property `weight` does not exist in the graph."
+        );
+    }
+
+    private GraphStore graphStore() {
+        return GraphStoreCatalog.get(getUsername(), db.databaseId(), "g").graphStore();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class GraphAddRelationshipsProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { name: 'a' })" +
+        ", (b:A { name: 'b' })" +
+        ", (c:A { name: 'c' })" +
+        ", (d:B { name: 'd' })" +
+        ", (a)-[:REL { weight: 1.0 }]->(b)" +
+        ", (b)-[:REL { weight: 2.0 }]->(c)" +
+        ", (c)-[:REL { weight: 3.0 }]->(a)" +
+        ", (a)-[:REL { weight: 4.0 }]->(c)";
+
+    private static final String ADD_QUERY =
+        "MATCH (a { name: 'a' }), (b { name: 'b' }), (c { name: 'c' })" +
+        " CALL gds.alpha.graph.relationships.add(" +
+        "   'g', 'REL', [{ source: id(c), target: id(b), weight: 5.0 }, { source: id(b), target: id(a) }], $config" +
+        " ) YIELD graphName, relationshipType, relationshipsAdded, compactionTriggered" +
+        " RETURN graphName, relationshipType, relationshipsAdded, compactionTriggered";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphAddRelationshipsProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', 'A', { REL: { properties: { weight: { defaultValue: 0.0 } } } })");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldAddRelationships() {
+        assertCypherResult(ADD_QUERY, map("config", map("compactionRatio", 1.0)), List.of(map(
+            "graphName", "g",
+            "relationshipType", "REL",
+            "relationshipsAdded", 2L,
+            "compactionTriggered", false
+        )));
+
+        GraphStore graphStore = graphStore();
+        assertThat(graphStore.relationshipCount()).isEqualTo(6L);
+        assertGraphEquals(
+            fromGdl(
+                "  (a:A), (b:A), (c:A)" +
+                ", (a)-[{ w: 1.0 }]->(b)" +
+                ", (b)-[{ w: 2.0 }]->(c)" +
+                ", (c)-[{ w: 3.0 }]->(a)" +
+                ", (a)-[{ w: 4.0 }]->(c)" +
+                ", (c)-[{ w: 5.0 }]->(b)" +
+                ", (b)-[{ w: 0.0 }]->(a)"
+            ),
+            graphStore.getGraph(RelationshipType.of("REL"), Optional.of("weight"))
+        );
+    }
+
+    @Test
+    void shouldCompactOnceTheRatioIsExceeded() {
+        assertCypherResult(ADD_QUERY, map("config", map()), List.of(map(
+            "graphName", "g",
+            "relationshipType", "REL",
+            "relationshipsAdded", 2L,
+            "compactionTriggered", true
+        )));
+
+        GraphStore graphStore = graphStore();
+        assertThat(graphStore.appendedRelationshipRatio(RelationshipType.of("REL"))).isEqualTo(0.0);
+        assertThat(graphStore.relationshipCount()).isEqualTo(6L);
+    }
+
+    @Test
+    void failsOnUnknownNode() {
+        assertError(
+            "MATCH (d { name: 'd' }), (a { name: 'a' })" +
+            " CALL gds.alpha.graph.relationships.add('g', 'REL', [{ source: id(a), target: id(d) }])" +
+            " YIELD relationshipsAdded RETURN relationshipsAdded",
+            "The target node 3 is not contained in the graph."
+        );
+    }
+
+    @Test
+    void failsOnUnknownProperty() {
+        assertError(
+            "CALL gds.alpha.graph.relationships.add('g', 'REL', [{ source: 0, target: 1, cost: 1.0 }])",
+            "Relationship property `cost` does not exist for relationship type `REL`."
+        );
+    }
+
+    @Test
+    void failsOnUnknownRelationshipType() {
+        assertError(
+            "CALL gds.alpha.graph.relationships.add('g', 'FOO', [{ source: 0, target: 1 }])",
+            "Relationship type `FOO` does not exist in the graph."
+        );
+    }
+
+    @Test
+    void failsOnInvalidCompactionRatio() {
+        assertError(
+            "CALL gds.alpha.graph.relationships.add('g', 'REL', [], { compactionRatio: 0.0 })",
+            "`compactionRatio` must be greater than 0, got 0.0."
+        );
+    }
+
+    private GraphStore graphStore() {
+        return GraphStoreCatalog.get(getUsername(), db.databaseId(), "g").graphStore();
+    }
+}
@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.catalog;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -46,6 +47,7 @@ import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.Settings;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
@@ -53,7 +55,12 @@ import org.neo4j.graphalgo.test.TestProc;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 import org.neo4j.graphalgo.utils.StringJoining;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -103,6 +110,16 @@ class GraphCreateProcTest extends BaseProcTest {
 
     private static final String DB_CYPHER = "CREATE (:A {age: 2})-[:REL {weight: 55}]->(:A)";
 
+    @TempDir
+    Path spillLocation;
+
+    @Override
+    @ExtensionCallback
+    protected void configuration(TestDatabaseManagementServiceBuilder builder) {
+        super.configuration(builder);
+        builder.setConfig(Settings.adjacencySpillLocation(), spillLocation);
+    }
+
     @BeforeEach
     void setup() throws Exception {
         registerProcedures(GraphCreateProc.class, TestProc.class);
@@ -123,6 +140,33 @@ class GraphCreateProcTest extends BaseProcTest {
         assertError(query2, "Graph with name `nope` does not exist.");
     }
 
+    @Test
+    void resolveSpillDirectoryBelowTheSpillLocation() throws IOException {
+        Files.createDirectory(spillLocation.resolve("graphs"));
+
+        runQuery("CALL gds.graph.create('g', 'A', 'REL', { adjacencyStorage: 'MEMORY_MAPPED', spillDirectory: 'graphs' })");
+
+        assertEquals(
+            spillLocation.toAbsolutePath().normalize().resolve("graphs").toString(),
+            GraphStoreCatalog.get("", db.databaseId(), "g").config().spillDirectory()
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"..", "graphs/../../elsewhere", "/tmp"})
+    void failOnSpillDirectoryOutsideTheSpillLocation(String spillDirectory) {
+        assertError(
+            "CALL gds.graph.create('g', 'A', 'REL', { adjacencyStorage: 'MEMORY_MAPPED', spillDirectory: $spillDirectory })",
+            map("spillDirectory", spillDirectory),
+            "It attempts to access forbidden directory"
+        );
+        assertError(
+            "CALL gds.testProc.test({ nodeProjection: 'A', relationshipProjection: 'REL', writeProperty: 'p', adjacencyStorage: 'MEMORY_MAPPED', spillDirectory: $spillDirectory })",
+            map("spillDirectory", spillDirectory),
+            "It attempts to access forbidden directory"
+        );
+    }
+
     @Test
     void createNativeProjection() {
         String graphName = "name";
@@ -148,6 +192,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 ),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -168,6 +214,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, ALL_RELATIONSHIPS_QUERY,
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -190,6 +238,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, relationshipQuery,
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -212,6 +262,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, ALL_RELATIONSHIPS_QUERY,
                 "nodeCount", 1L,
                 "relationshipCount", 0L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -219,6 +271,20 @@ class GraphCreateProcTest extends BaseProcTest {
         assertGraphExists(graphName);
     }
 
+    @Test
+    void reportCompressedSizeBeforeAndAfterReordering() {
+        // all ids are below 128, so every relationship takes a single byte in either order
+        runQuery("MATCH (a:A) CREATE (b:A)-[:REL]->(a)");
+        String query = "CALL gds.graph.create('g', 'A', 'REL', {nodeOrdering: 'DEGREE'})" +
+                       " YIELD relationshipCount, bytesPerRelationshipBeforeReordering, bytesPerRelationshipAfterReordering";
+
+        assertCypherResult(query, singletonList(map(
+            "relationshipCount", 3L,
+            "bytesPerRelationshipBeforeReordering", 1.0,
+            "bytesPerRelationshipAfterReordering", 1.0
+        )));
+    }
+
     @Test
     void nodeProjectionWithAsterisk() {
         String query = "CALL gds.graph.create('g', '*', 'REL') YIELD nodeCount";
@@ -257,6 +323,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_PROJECTION_KEY, isA(Map.class),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -280,6 +348,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_PROJECTION_KEY, isA(Map.class),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -308,6 +378,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, relationshipQuery,
                 "nodeCount", 1L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -332,6 +404,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, ALL_RELATIONSHIPS_QUERY,
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -353,6 +427,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_PROJECTION_KEY, desugaredRelProjection,
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -391,6 +467,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 )),
                 "nodeCount", 2L,
                 "relationshipCount", expectedRelationshipCount,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -427,6 +505,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 ),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -450,6 +530,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 RELATIONSHIP_QUERY_KEY, relationshipQuery,
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -507,6 +589,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 ),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -548,6 +632,8 @@ class GraphCreateProcTest extends BaseProcTest {
                 ),
                 "nodeCount", 2L,
                 "relationshipCount", 1L,
+                "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+                "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
                 "createMillis", instanceOf(Long.class)
             ))
         );
@@ -655,6 +741,8 @@ class GraphCreateProcTest extends BaseProcTest {
             ),
             "nodeCount", 2L,
             "relationshipCount", 1L,
+            "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+            "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
             "createMillis", instanceOf(Long.class)
         )));
     }
@@ -682,6 +770,8 @@ class GraphCreateProcTest extends BaseProcTest {
             RELATIONSHIP_PROJECTION_KEY, isA(Map.class),
             "nodeCount", 2L,
             "relationshipCount", 1L,
+            "bytesPerRelationshipBeforeReordering", instanceOf(Double.class),
+            "bytesPerRelationshipAfterReordering", instanceOf(Double.class),
             "createMillis", instanceOf(Long.class)
         )));
     }
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -31,7 +32,9 @@ import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.beta.generator.GraphGenerateProc;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphdb.Result;
+import org.neo4j.logging.NullLog;
 
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAccessor;
 import java.util.Collections;
@@ -76,6 +79,7 @@ class GraphListProcTest extends BaseProcTest {
 
     @AfterEach
     void tearDown() {
+        GraphStoreCatalog.disableSpilling();
         GraphStoreCatalog.removeAllLoadedGraphs();
     }
 
@@ -127,7 +131,10 @@ class GraphListProcTest extends BaseProcTest {
                 "modificationTime", isA(ZonedDateTime.class),
                 "memoryUsage", instanceOf(String.class),
                 "sizeInBytes", instanceOf(Long.class),
-                "detailSizeInBytes", instanceOf(Map.class)
+                "detailSizeInBytes", instanceOf(Map.class),
+                "catalogState", "resident",
+                "accessCount", 0L,
+                "lastAccessTime", isA(ZonedDateTime.class)
             )
         ));
     }
@@ -209,6 +216,9 @@ class GraphListProcTest extends BaseProcTest {
                 "memoryUsage", instanceOf(String.class),
                 "sizeInBytes", instanceOf(Long.class),
                 "detailSizeInBytes", instanceOf(Map.class),
+                "catalogState", "resident",
+                "accessCount", 0L,
+                "lastAccessTime", isA(ZonedDateTime.class),
                 "density", new Condition<>(Double::isFinite, "a finite double")
             )
         ));
@@ -270,6 +280,9 @@ class GraphListProcTest extends BaseProcTest {
                 "memoryUsage", instanceOf(String.class),
                 "sizeInBytes", instanceOf(Long.class),
                 "detailSizeInBytes", instanceOf(Map.class),
+                "catalogState", "resident",
+                "accessCount", 0L,
+                "lastAccessTime", isA(ZonedDateTime.class),
                 "density", new Condition<>(Double::isFinite, "a finite double")
             )
         ));
@@ -415,6 +428,43 @@ class GraphListProcTest extends BaseProcTest {
         ));
     }
 
+    @Test
+    void listSpilledGraphs(@TempDir Path spillLocation) {
+        runQuery("CALL gds.graph.create('first', 'A', 'REL')");
+        runQuery("CALL gds.graph.create('second', 'A', 'REL')");
+        runQuery("CALL gds.graph.list('first') YIELD degreeDistribution");
+
+        GraphStoreCatalog.enableSpilling(1L, spillLocation, NullLog.getInstance());
+        GraphStoreCatalog.get("", db.databaseId(), "second");
+
+        assertCypherResult(
+            "CALL gds.graph.list() " +
+            "YIELD graphName, catalogState, accessCount, nodeCount, relationshipCount, sizeInBytes, degreeDistribution " +
+            "RETURN graphName, catalogState, accessCount, nodeCount, relationshipCount, sizeInBytes > 0 AS hasSize, degreeDistribution.max AS maxDegree " +
+            "ORDER BY graphName",
+            List.of(
+                map(
+                    "graphName", "first",
+                    "catalogState", "spilled",
+                    "accessCount", 0L,
+                    "nodeCount", 2L,
+                    "relationshipCount", 1L,
+                    "hasSize", true,
+                    "maxDegree", 1L
+                ),
+                map(
+                    "graphName", "second",
+                    "catalogState", "resident",
+                    "accessCount", 1L,
+                    "nodeCount", 2L,
+                    "relationshipCount", 1L,
+                    "hasSize", true,
+                    "maxDegree", 1L
+                )
+            )
+        );
+    }
+
     @Test
     void calculateActualMemoryUsage() {
         runQuery("CALL gds.graph.create('name', 'A', 'REL')");
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphdb.QueryExecutionException;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.utils.ExceptionUtil.rootCause;
+
+class GraphSnapshotProcTest extends BaseProcTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { prop1: 0, prop2: 42 })" +
+        ", (b:A { prop1: 1, prop2: 43 })" +
+        ", (c:B { prop1: 2, prop2: 44 })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { weight1: 42}]->(a)" +
+        ", (a)-[:REL1 { weight1: 43}]->(b)" +
+        ", (b)-[:REL2 { weight1: 44}]->(a)" +
+        ", (b)-[:REL2 { weight1: 45}]->(c)" +
+        ", (c)-[:REL2 { weight1: 46}]->(d)" +
+        ", (d)-[:REL1 { weight1: 47}]->(a)";
+
+    @Override
+    @ExtensionCallback
+    protected void configuration(TestDatabaseManagementServiceBuilder builder) {
+        super.configuration(builder);
+        builder.setConfig(GraphStoreExportSettings.export_location_setting, tempDir);
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphSnapshotProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(
+            "CALL gds.graph.create('test-graph', ['A', 'B'], {" +
+            "  REL1: { properties: 'weight1' }," +
+            "  REL2: { orientation: 'UNDIRECTED', properties: 'weight1' }" +
+            "}, { nodeProperties: ['prop1', 'prop2'] })"
+        );
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off_heap", "memory_mapped"})
+    void saveAndLoad(String adjacencyStorage) {
+        runQueryWithRowConsumer("CALL gds.alpha.graph.snapshot.save('test-graph', { snapshotName: 'snapshot' })", row -> {
+            assertEquals("test-graph", row.getString("graphName"));
+            assertEquals("snapshot", row.getString("snapshotName"));
+            assertEquals(4, row.getNumber("nodeCount").longValue());
+            assertEquals(9, row.getNumber("relationshipCount").longValue());
+        });
+
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.graph.snapshot.load('loaded-graph', { snapshotName: 'snapshot', adjacencyStorage: $storage })",
+            Map.of("storage", adjacencyStorage),
+            row -> {
+                assertEquals("loaded-graph", row.getString("graphName"));
+                assertEquals(4, row.getNumber("nodeCount").longValue());
+                assertEquals(9, row.getNumber("relationshipCount").longValue());
+            }
+        );
+
+        var original = GraphStoreCatalog.get(getUsername(), db.databaseId(), "test-graph");
+        var loaded = GraphStoreCatalog.get(getUsername(), db.databaseId(), "loaded-graph");
+
+        assertThat(loaded.config()).isInstanceOf(GraphCreateFromStoreConfig.class);
+        assertThat(loaded.config().graphName()).isEqualTo("loaded-graph");
+        assertThat(loaded.graphStore().schema()).isEqualTo(original.graphStore().schema());
+        assertGraphEquals(
+            original.graphStore().getGraph(RelationshipType.of("REL1"), Optional.of("weight1")),
+            loaded.graphStore().getGraph(RelationshipType.of("REL1"), Optional.of("weight1"))
+        );
+        assertGraphEquals(
+            original.graphStore().getGraph(RelationshipType.of("REL2"), Optional.of("weight1")),
+            loaded.graphStore().getGraph(RelationshipType.of("REL2"), Optional.of("weight1"))
+        );
+    }
+
+    @Test
+    void failsWhenTheSnapshotDirectoryAlreadyExists() {
+        runQuery("CALL gds.alpha.graph.snapshot.save('test-graph', { snapshotName: 'snapshot' })");
+
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.alpha.graph.snapshot.save('test-graph', { snapshotName: 'snapshot' })")
+        );
+        assertThat(rootCause(exception)).hasMessage("The specified snapshot directory already exists.");
+    }
+
+    @Test
+    void failsWhenLoadingIntoAnExistingGraph() {
+        runQuery("CALL gds.alpha.graph.snapshot.save('test-graph', { snapshotName: 'snapshot' })");
+
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.alpha.graph.snapshot.load('test-graph', { snapshotName: 'snapshot' })")
+        );
+        assertThat(rootCause(exception)).hasMessage("A graph with name 'test-graph' already exists.");
+    }
+
+    @Test
+    void failsWhenTheSnapshotDoesNotExist() {
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.alpha.graph.snapshot.load('loaded-graph', { snapshotName: 'missing' })")
+        );
+        assertThat(rootCause(exception)).hasMessage("The snapshot directory `missing` does not exist.");
+    }
+}
@@ -80,6 +80,7 @@ public abstract class AlgoBaseProc<
             if (!config.containsKey(READ_CONCURRENCY_KEY)) {
                 config = config.withNumber(READ_CONCURRENCY_KEY, config.getInt(CONCURRENCY_KEY, DEFAULT_CONCURRENCY));
             }
+            config = withResolvedSpillDirectory(config);
             GraphCreateConfig createConfig = GraphCreateConfig.createImplicit(username(), config);
             maybeImplicitCreate = Optional.of(createConfig);
             allowedKeys.addAll(createConfig.configKeys());
@@ -300,7 +301,7 @@ public abstract class AlgoBaseProc<
         Collection<NodeLabel> nodeLabels = config.nodeLabelIdentifiers(graphStore);
         Collection<RelationshipType> relationshipTypes = config.internalRelationshipTypes(graphStore);
 
-        return graphStore.getGraph(nodeLabels, relationshipTypes, weightProperty);
+        return graphStore.getGraph(nodeLabels, relationshipTypes, weightProperty, config.materializeNodeFilter());
     }
 
     protected GraphStore getOrCreateGraphStore(Pair<CONFIG, Optional<String>> configAndName) {
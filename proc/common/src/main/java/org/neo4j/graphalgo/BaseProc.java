@@ -19,11 +19,13 @@
  */
 package org.neo4j.graphalgo;
 
+import org.neo4j.configuration.Config;
 import org.neo4j.graphalgo.api.GraphLoaderContext;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.api.ImmutableGraphLoaderContext;
 import org.neo4j.graphalgo.config.BaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.compat.GraphDatabaseApiProxy;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GdsEdition;
@@ -32,6 +34,7 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphLoader;
 import org.neo4j.graphalgo.core.SecureTransaction;
+import org.neo4j.graphalgo.core.Settings;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -43,6 +46,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.progress.ProgressEventTracker;
 import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
 import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.config.Setting;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.kernel.api.security.AuthSubject;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -51,6 +55,7 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Context;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -59,6 +64,7 @@ import java.util.function.Supplier;
 
 import static java.util.function.Predicate.isEqual;
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.config.GraphCreateConfig.SPILL_DIRECTORY_KEY;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public abstract class BaseProc {
@@ -168,6 +174,62 @@ public abstract class BaseProc {
         }
     }
 
+    /**
+     * Resolves a user given {@code spillDirectory} below the configured {@link Settings#adjacencySpillLocation()},
+     * such that memory-mapped graphs cannot create files in arbitrary directories.
+     */
+    protected final CypherMapWrapper withResolvedSpillDirectory(CypherMapWrapper cypherConfig) {
+        return withResolvedPath(cypherConfig, SPILL_DIRECTORY_KEY, Settings.adjacencySpillLocation());
+    }
+
+    /**
+     * Replaces the user given path of the parameter {@code key}, if any, with its
+     * resolution below the directory of the given setting, see {@link #resolveBelow}.
+     */
+    protected final CypherMapWrapper withResolvedPath(
+        CypherMapWrapper cypherConfig,
+        String key,
+        Setting<Path> locationSetting
+    ) {
+        var value = cypherConfig.getString(key, null);
+        if (value == null || value.isBlank()) {
+            return cypherConfig;
+        }
+        var resolvedPath = resolveBelow(locationSetting, key, value.trim());
+        return cypherConfig.withString(key, resolvedPath.toString());
+    }
+
+    /**
+     * Resolves the user given {@code value} of the parameter {@code key} against the directory of the given setting.
+     * Fails if the setting is not configured or if the resolved path would leave that directory.
+     */
+    protected final Path resolveBelow(Setting<Path> locationSetting, String key, String value) {
+        var neo4jConfig = GraphDatabaseApiProxy.resolveDependency(api, Config.class);
+        var location = neo4jConfig.get(locationSetting);
+
+        if (location == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The configuration option '%s' must be set to use `%s`.",
+                locationSetting.name(),
+                key
+            ));
+        }
+
+        var normalizedLocation = location.toAbsolutePath().normalize();
+        var resolvedPath = normalizedLocation.resolve(value).normalize();
+
+        if (!resolvedPath.startsWith(normalizedLocation)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Illegal parameter value for parameter %s=%s. It attempts to access forbidden directory %s.",
+                key,
+                value,
+                resolvedPath
+            ));
+        }
+
+        return resolvedPath;
+    }
+
     protected <C extends BaseConfig> void tryValidateMemoryUsage(C config, Function<C, MemoryTreeWithDimensions> runEstimation) {
         tryValidateMemoryUsage(config, runEstimation, GcListenerExtension::freeMemory);
     }
@@ -22,8 +22,6 @@ package org.neo4j.graphalgo.beta.pregel;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.NodeProperties;
-import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
-import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
 import org.neo4j.graphalgo.core.write.ImmutableNodeProperty;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 
@@ -58,11 +56,10 @@ final class PregelBaseProc {
                         nodeProperties = compositeNodeValue.doubleProperties(propertyKey).asNodeProperties();
                         break;
                     case LONG_ARRAY:
-                        nodeProperties = (LongArrayNodeProperties) compositeNodeValue.longArrayProperties(propertyKey)::get;
+                        nodeProperties = compositeNodeValue.longArrayNodeProperties(propertyKey);
                         break;
                     case DOUBLE_ARRAY:
-                        nodeProperties = (DoubleArrayNodeProperties) compositeNodeValue.doubleArrayProperties(
-                            propertyKey)::get;
+                        nodeProperties = compositeNodeValue.doubleArrayNodeProperties(propertyKey);
                         break;
                     default:
                         throw new IllegalArgumentException("Unsupported property type: " + element.propertyType());
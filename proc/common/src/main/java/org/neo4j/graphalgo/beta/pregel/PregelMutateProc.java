@@ -21,15 +21,26 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 
 import java.util.List;
+import java.util.Optional;
 
 public abstract class PregelMutateProc<
     ALGO extends Algorithm<ALGO, Pregel.PregelResult>,
     CONFIG extends PregelConfig>
     extends MutatePropertyProc<ALGO, Pregel.PregelResult, PregelMutateResult, CONFIG> {
 
+    @Override
+    public CONFIG newConfig(Optional<String> graphName, CypherMapWrapper config) {
+        return super.newConfig(
+            graphName,
+            withResolvedPath(config, PregelConfig.CHECKPOINT_DIRECTORY_KEY, GraphStoreExportSettings.export_location_setting)
+        );
+    }
+
     @Override
     protected List<NodePropertyExporter.NodeProperty> nodePropertyList(ComputationResult<ALGO, Pregel.PregelResult, CONFIG> computationResult) {
         return PregelBaseProc.nodeProperties(computationResult, computationResult.config().mutateProperty());
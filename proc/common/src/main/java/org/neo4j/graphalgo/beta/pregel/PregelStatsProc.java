@@ -21,10 +21,21 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Optional;
 
 public abstract class PregelStatsProc<
     ALGO extends Algorithm<ALGO, Pregel.PregelResult>,
     CONFIG extends PregelConfig>
     extends StatsProc<ALGO, Pregel.PregelResult, PregelStatsResult, CONFIG> {
 
+    @Override
+    public CONFIG newConfig(Optional<String> graphName, CypherMapWrapper config) {
+        return super.newConfig(
+            graphName,
+            withResolvedPath(config, PregelConfig.CHECKPOINT_DIRECTORY_KEY, GraphStoreExportSettings.export_location_setting)
+        );
+    }
 }
@@ -23,8 +23,12 @@ import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.StreamProc;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.compat.GraphStoreExportSettings;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -34,6 +38,14 @@ public abstract class PregelStreamProc<
     CONFIG extends PregelConfig>
     extends StreamProc<ALGO, Pregel.PregelResult, PregelStreamResult, CONFIG> {
 
+    @Override
+    public CONFIG newConfig(Optional<String> graphName, CypherMapWrapper config) {
+        return super.newConfig(
+            graphName,
+            withResolvedPath(config, PregelConfig.CHECKPOINT_DIRECTORY_KEY, GraphStoreExportSettings.export_location_setting)
+        );
+    }
+
     @Override
     protected Stream<PregelStreamResult> stream(
         AlgoBaseProc.ComputationResult<ALGO, Pregel.PregelResult, CONFIG> computationResult
@@ -42,26 +54,33 @@ public abstract class PregelStreamProc<
             return Stream.empty();
         }
         var result = computationResult.result().nodeValues();
+        // resolve the node value arrays once instead of per node
+        Map<String, LongFunction<Object>> propertyValues = result.schema().elements()
+            .stream()
+            .filter(element -> element.visibility() == PregelSchema.Visibility.PUBLIC)
+            .collect(Collectors.toMap(
+                Element::propertyKey,
+                element -> {
+                    switch (element.propertyType()) {
+                        case LONG:
+                            return result.longProperties(element.propertyKey())::get;
+                        case DOUBLE:
+                            return result.doubleProperties(element.propertyKey())::get;
+                        case DOUBLE_ARRAY:
+                            return result.doubleArrayNodeProperties(element.propertyKey())::doubleArrayValue;
+                        case LONG_ARRAY:
+                            return result.longArrayNodeProperties(element.propertyKey())::longArrayValue;
+                        default:
+                            throw new IllegalArgumentException("Unsupported property type: " + element.propertyType());
+                    }
+                }
+            ));
         return LongStream.range(IdMapping.START_NODE_ID, computationResult.graph().nodeCount()).mapToObj(nodeId -> {
-            Map<String, Object> values = result.schema().elements()
+            Map<String, Object> values = propertyValues.entrySet()
                 .stream()
-                .filter(element -> element.visibility() == PregelSchema.Visibility.PUBLIC)
                 .collect(Collectors.toMap(
-                    Element::propertyKey,
-                    element -> {
-                        switch (element.propertyType()) {
-                            case LONG:
-                                return result.longProperties(element.propertyKey()).get(nodeId);
-                            case DOUBLE:
-                                return result.doubleProperties(element.propertyKey()).get(nodeId);
-                            case DOUBLE_ARRAY:
-                                return result.doubleArrayProperties(element.propertyKey()).get(nodeId);
-                            case LONG_ARRAY:
-                                return result.longArrayProperties(element.propertyKey()).get(nodeId);
-                            default:
-                                throw new IllegalArgumentException("Unsupported property type: " + element.propertyType());
-                        }
-                    }
+                    Map.Entry::getKey,
+                    entry -> entry.getValue().apply(nodeId)
                 ));
             return new PregelStreamResult(computationResult.graph().toOriginalNodeId(nodeId), values);
         });
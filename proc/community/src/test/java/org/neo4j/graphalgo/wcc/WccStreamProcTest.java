@@ -21,6 +21,8 @@ package org.neo4j.graphalgo.wcc;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.CommunityHelper;
 import org.neo4j.graphalgo.ConsecutiveIdsConfigTest;
@@ -109,8 +111,9 @@ class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
         CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
     }
 
-    @Test
-    void testStreamRunsOnLoadedGraphWithNodeLabelFilter() {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testStreamRunsOnLoadedGraphWithNodeLabelFilter(boolean materializeNodeFilter) {
         clearDb();
         runQuery("CREATE (nX:Ignore {nodeId: 42}) " + DB_CYPHER + " CREATE (nX)-[:X]->(nA), (nA)-[:X]->(nX), (nX)-[:X]->(nE), (nE)-[:X]->(nX)");
 
@@ -131,6 +134,7 @@ class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
             .algo("wcc")
             .streamMode()
             .addParameter("nodeLabels", Arrays.asList("Label", "Label2"))
+            .addParameter("materializeNodeFilter", materializeNodeFilter)
             .yields("nodeId", "componentId");
 
         Set<Long> actualCommunities = new HashSet<>();
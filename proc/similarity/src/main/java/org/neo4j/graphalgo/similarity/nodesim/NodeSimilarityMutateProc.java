@@ -164,6 +164,7 @@ public class NodeSimilarityMutateProc extends MutatePropertyProc<NodeSimilarity,
                 true,
                 Aggregation.NONE,
                 false,
+                false,
                 1,
                 Pools.DEFAULT,
                 allocationTracker()
@@ -41,7 +41,9 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
+import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDeltaStreamProc;
 import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDijkstraStreamProc;
+import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathBidirectionalDijkstraStreamProc;
 import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathDijkstraStreamProc;
 import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathYensStreamProc;
 import org.neo4j.graphalgo.betweenness.BetweennessCentralityMutateProc;
@@ -103,6 +105,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 class ListProcTest extends BaseProcTest {
 
     private static final List<String> PROCEDURES = asList(
+        "gds.beta.allShortestPaths.delta.stream",
+        "gds.beta.allShortestPaths.delta.stream.estimate",
+
         "gds.beta.allShortestPaths.dijkstra.stream",
         "gds.beta.allShortestPaths.dijkstra.stream.estimate",
 
@@ -153,6 +158,9 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.modularityOptimization.write",
         "gds.beta.modularityOptimization.write.estimate",
 
+        "gds.beta.shortestPath.bidirectional.stream",
+        "gds.beta.shortestPath.bidirectional.stream.estimate",
+
         "gds.beta.shortestPath.dijkstra.stream",
         "gds.beta.shortestPath.dijkstra.stream.estimate",
 
@@ -280,6 +288,7 @@ class ListProcTest extends BaseProcTest {
     @BeforeEach
     void setUp() throws Exception {
         registerProcedures(
+            AllShortestPathsDeltaStreamProc.class,
             AllShortestPathsDijkstraStreamProc.class,
             BetweennessCentralityStreamProc.class,
             BetweennessCentralityWriteProc.class,
@@ -337,6 +346,7 @@ class ListProcTest extends BaseProcTest {
             PageRankStreamProc.class,
             PageRankMutateProc.class,
             PageRankStatsProc.class,
+            ShortestPathBidirectionalDijkstraStreamProc.class,
             ShortestPathDijkstraStreamProc.class,
             ShortestPathYensStreamProc.class,
             TriangleCountStatsProc.class,
@@ -27,6 +27,9 @@ import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -63,7 +66,12 @@ public final class GraphCreateConfigBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalProjection,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<AdjacencyStorage> adjacencyStorage,
+        Optional<String> spillDirectory,
+        Optional<AdjacencyEncoding> adjacencyEncoding,
+        Optional<NodeOrdering> nodeOrdering,
+        Optional<Boolean> compressRelationshipProperties
     ) {
         // Node projections
         Map<String, NodeProjection> tempNP = new LinkedHashMap<>();
@@ -119,6 +127,11 @@ public final class GraphCreateConfigBuilders {
             .relationshipProperties(relationshipPropertyMappings)
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(false))
+            .adjacencyStorage(adjacencyStorage.orElse(AdjacencyStorage.HEAP))
+            .spillDirectory(spillDirectory.orElse(null))
+            .adjacencyEncoding(adjacencyEncoding.orElse(AdjacencyEncoding.VAR_LONG))
+            .nodeOrdering(nodeOrdering.orElse(NodeOrdering.NONE))
+            .compressRelationshipProperties(compressRelationshipProperties.orElse(false))
             .build()
             .withNormalizedPropertyMappings();
     }
@@ -134,7 +147,14 @@ public final class GraphCreateConfigBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Boolean> parallelRelationshipLoading,
+        Optional<Long> relationshipBatchSize,
+        Optional<Map<String, Object>> parameters,
+        Optional<AdjacencyStorage> adjacencyStorage,
+        Optional<String> spillDirectory,
+        Optional<AdjacencyEncoding> adjacencyEncoding,
+        Optional<NodeOrdering> nodeOrdering,
+        Optional<Boolean> compressRelationshipProperties
     ) {
 
         return ImmutableGraphCreateFromCypherConfig.builder()
@@ -144,7 +164,14 @@ public final class GraphCreateConfigBuilders {
             .relationshipQuery(relationshipQuery.orElse(ALL_RELATIONSHIPS_QUERY))
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(true))
+            .parallelRelationshipLoading(parallelRelationshipLoading.orElse(false))
+            .relationshipBatchSize(relationshipBatchSize.orElse(0L))
             .parameters(parameters.orElse(Collections.emptyMap()))
+            .adjacencyStorage(adjacencyStorage.orElse(AdjacencyStorage.HEAP))
+            .spillDirectory(spillDirectory.orElse(null))
+            .adjacencyEncoding(adjacencyEncoding.orElse(AdjacencyEncoding.VAR_LONG))
+            .nodeOrdering(nodeOrdering.orElse(NodeOrdering.NONE))
+            .compressRelationshipProperties(compressRelationshipProperties.orElse(false))
             .build();
     }
 }
@@ -31,6 +31,9 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphLoader;
 import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.loading.AdjacencyStorage;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
@@ -76,7 +79,12 @@ public final class GraphLoaderBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalOrientation,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<AdjacencyStorage> adjacencyStorage,
+        Optional<String> spillDirectory,
+        Optional<AdjacencyEncoding> adjacencyEncoding,
+        Optional<NodeOrdering> nodeOrdering,
+        Optional<Boolean> compressRelationshipProperties
     ) {
 
         GraphCreateFromStoreConfig graphCreateConfig = GraphCreateConfigBuilders.storeConfig(
@@ -93,7 +101,12 @@ public final class GraphLoaderBuilders {
             concurrency,
             globalOrientation,
             globalAggregation,
-            validateRelationships
+            validateRelationships,
+            adjacencyStorage,
+            spillDirectory,
+            adjacencyEncoding,
+            nodeOrdering,
+            compressRelationshipProperties
         );
 
         return createGraphLoader(
@@ -128,7 +141,14 @@ public final class GraphLoaderBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Boolean> parallelRelationshipLoading,
+        Optional<Long> relationshipBatchSize,
+        Optional<Map<String, Object>> parameters,
+        Optional<AdjacencyStorage> adjacencyStorage,
+        Optional<String> spillDirectory,
+        Optional<AdjacencyEncoding> adjacencyEncoding,
+        Optional<NodeOrdering> nodeOrdering,
+        Optional<Boolean> compressRelationshipProperties
     ) {
         GraphCreateFromCypherConfig graphCreateConfig = GraphCreateConfigBuilders.cypherConfig(
             userName.or(() -> securityContext.map(s -> s.subject().username())),
@@ -137,7 +157,14 @@ public final class GraphLoaderBuilders {
             relationshipQuery,
             concurrency,
             validateRelationships,
-            parameters
+            parallelRelationshipLoading,
+            relationshipBatchSize,
+            parameters,
+            adjacencyStorage,
+            spillDirectory,
+            adjacencyEncoding,
+            nodeOrdering,
+            compressRelationshipProperties
         );
 
         return createGraphLoader(